@@ -1,42 +1,210 @@
 package com.xgen.mongot.catalog;
 
 import static com.xgen.mongot.util.Check.checkState;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.xgen.mongot.index.InitializedIndex;
+import com.xgen.mongot.index.ReplicationOpTimeInfo;
+import com.xgen.mongot.index.status.IndexStatus;
 import com.xgen.mongot.index.version.GenerationId;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.bson.BsonTimestamp;
 
 /**
  * A collection of IndexGenerations with unique GenerationId (indexIds may not be unique). This
- * class is not thread-safe.
+ * class is thread-safe.
+ *
+ * <p>Indexes that were unloaded while idle are kept track of along with a way to reopen them, see
+ * {@link #isUnloaded}. A query for an unloaded index starts reopening it, and the reopened index
+ * only serves queries once its replication caught up, see {@link #getIndexForQuery}. Commands wait
+ * a bounded time for that with {@link #awaitIfUnloaded} before failing the query as retryable.
  */
 public class InitializedIndexCatalog {
+  /** How far behind its sync source a reopened index may be to serve queries. */
+  @VisibleForTesting
+  static final Duration REOPENED_INDEX_MAX_REPLICATION_LAG = Duration.ofSeconds(10);
+
+  /** How long a query waits for an unloaded index to be reopened and caught up. */
+  @VisibleForTesting
+  static final Duration REOPENED_INDEX_QUERY_WAIT = Duration.ofSeconds(5);
+
+  /** How often a waiting query checks whether a reopened index caught up. */
+  private static final Duration CATCH_UP_POLL_INTERVAL = Duration.ofMillis(100);
+
   private final Map<GenerationId, InitializedIndex> indexes;
+  private final Map<GenerationId, Unloaded> unloaded;
+  private final Map<GenerationId, Instant> lastAccessed;
+  private final Map<GenerationId, LongAdder> queryCounts;
+  private final Clock clock;
+  private final Duration reopenedIndexQueryWait;
 
   public InitializedIndexCatalog() {
+    this(Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  public InitializedIndexCatalog(Clock clock) {
+    this(clock, REOPENED_INDEX_QUERY_WAIT);
+  }
+
+  @VisibleForTesting
+  public InitializedIndexCatalog(Clock clock, Duration reopenedIndexQueryWait) {
     this.indexes = new ConcurrentHashMap<>();
+    this.unloaded = new ConcurrentHashMap<>();
+    this.lastAccessed = new ConcurrentHashMap<>();
+    this.queryCounts = new ConcurrentHashMap<>();
+    this.clock = clock;
+    this.reopenedIndexQueryWait = reopenedIndexQueryWait;
   }
 
-  /** Adds an index to this collection. */
+  /**
+   * Adds an index to this collection. A reopened index stays unloaded for queries until its
+   * replication caught up.
+   */
   public void addIndex(InitializedIndex initializedIndex) {
     GenerationId generationId = initializedIndex.getGenerationId();
     checkState(
         !this.indexes.containsKey(generationId), "already contains index of id: %s", generationId);
     this.indexes.put(generationId, initializedIndex);
+    this.lastAccessed.put(generationId, this.clock.instant());
   }
 
   /** Remove the index from the collection. */
   public Optional<InitializedIndex> removeIndex(GenerationId generationId) {
+    this.lastAccessed.remove(generationId);
+    this.queryCounts.remove(generationId);
     return Optional.ofNullable(this.indexes.remove(generationId));
   }
 
+  /**
+   * Removes the index from the collection and marks it as unloaded, so that queries for it reopen
+   * it with the supplied function until it is added again and caught up.
+   *
+   * @return the removed index, if it was present.
+   */
+  public Optional<InitializedIndex> markUnloaded(
+      GenerationId generationId, Supplier<CompletableFuture<Void>> reopen) {
+    AtomicReference<Optional<InitializedIndex>> removed = new AtomicReference<>();
+    // Removing the index while computing the entry keeps a concurrent query from finding the index
+    // caught up and clearing the new entry, see clearUnloadedIfCaughtUp.
+    this.unloaded.compute(
+        generationId,
+        (id, previous) -> {
+          removed.set(removeIndex(id));
+          return new Unloaded(this.clock.instant(), reopen);
+        });
+    return removed.get();
+  }
+
+  /** Forgets an unloaded index, so that queries no longer reopen it. */
+  public void clearUnloaded(GenerationId generationId) {
+    this.unloaded.remove(generationId);
+  }
+
   /** Return the initialized index if present. */
   public Optional<InitializedIndex> getIndex(GenerationId indexId) {
     return Optional.ofNullable(this.indexes.get(indexId));
   }
 
+  /**
+   * Returns whether the index was unloaded and does not serve queries, either because it has not
+   * been reopened yet or because the replication of the reopened index has not caught up. Such an
+   * index is not initialized or not up to date, rather than missing.
+   */
+  public boolean isUnloaded(GenerationId generationId) {
+    return this.unloaded.containsKey(generationId) && !clearUnloadedIfCaughtUp(generationId);
+  }
+
+  /**
+   * Waits for an unloaded index to be reopened and to catch up, so that the first queries after
+   * an index was unloaded do not fail right away. Reopening is shared by concurrent queries, and
+   * the wait is bounded by {@link #REOPENED_INDEX_QUERY_WAIT}; the time is measured with {@link
+   * System#nanoTime()} rather than the catalog clock.
+   *
+   * @return whether the index is still unloaded, in which case it is still being reloaded and the
+   *     query should be retried.
+   */
+  public boolean awaitIfUnloaded(GenerationId generationId) {
+    @Nullable Unloaded unloadedIndex = this.unloaded.get(generationId);
+    if (unloadedIndex == null) {
+      return false;
+    }
+
+    long deadlineNanos = System.nanoTime() + this.reopenedIndexQueryWait.toNanos();
+    try {
+      unloadedIndex.reopen().get().get(this.reopenedIndexQueryWait.toNanos(), NANOSECONDS);
+      while (isUnloaded(generationId)) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+          return true;
+        }
+        NANOSECONDS.sleep(Math.min(remainingNanos, CATCH_UP_POLL_INTERVAL.toNanos()));
+      }
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return isUnloaded(generationId);
+    } catch (ExecutionException | TimeoutException e) {
+      // Failures to reopen are handled by the lifecycle of the index.
+      return isUnloaded(generationId);
+    }
+  }
+
+  /**
+   * Returns the initialized index that a query should run against, recording that the index was
+   * queried.
+   *
+   * <p>Empty is returned for an unloaded index, which is reopened in the background, see {@link
+   * #awaitIfUnloaded} to wait for it. The reopened index is returned once its replication lags at
+   * most {@link #REOPENED_INDEX_MAX_REPLICATION_LAG} behind, so that queries do not see the index
+   * as it was when it was unloaded.
+   */
+  public Optional<InitializedIndex> getIndexForQuery(GenerationId indexId) {
+    @Nullable Unloaded unloadedIndex = this.unloaded.get(indexId);
+    if (unloadedIndex != null && !clearUnloadedIfCaughtUp(indexId)) {
+      // Reopening is shared by concurrent queries, and failures are handled by the lifecycle of
+      // the index.
+      CompletableFuture<Void> unusedReopen = unloadedIndex.reopen().get();
+      return Optional.empty();
+    }
+
+    Optional<InitializedIndex> index = getIndex(indexId);
+    if (index.isPresent()) {
+      this.lastAccessed.put(indexId, this.clock.instant());
+      this.queryCounts.computeIfAbsent(indexId, ignored -> new LongAdder()).increment();
+    }
+    return index;
+  }
+
+  /** Returns when the index was last added or returned for a query. */
+  public Optional<Instant> getLastAccessed(GenerationId generationId) {
+    return Optional.ofNullable(this.lastAccessed.get(generationId));
+  }
+
+  /** Returns the number of queries the index was returned for since it was last added. */
+  public long getQueryCount(GenerationId generationId) {
+    @Nullable LongAdder queryCount = this.queryCounts.get(generationId);
+    return queryCount == null ? 0 : queryCount.sum();
+  }
+
+  /** Returns since when the index is unloaded, if it is unloaded. */
+  public Optional<Instant> getUnloadedSince(GenerationId generationId) {
+    return Optional.ofNullable(this.unloaded.get(generationId)).map(Unloaded::since);
+  }
+
   /**
    * Gets the total number of indexes. This method is thread-safe and can be used for reporting or
    * monitoring purposes.
@@ -44,4 +212,42 @@ public class InitializedIndexCatalog {
   int getSize() {
     return this.indexes.size();
   }
+
+  /** Forgets an unloaded index once it was reopened and caught up, returning whether it did. */
+  private boolean clearUnloadedIfCaughtUp(GenerationId generationId) {
+    return this.unloaded.computeIfPresent(
+            generationId,
+            (id, unloadedIndex) -> {
+              @Nullable InitializedIndex index = this.indexes.get(id);
+              return index != null && hasCaughtUp(index, unloadedIndex.since())
+                  ? null
+                  : unloadedIndex;
+            })
+        == null;
+  }
+
+  /**
+   * Returns whether a reopened index is steady and replicating close to its sync source. The lag
+   * must have been observed after the index was unloaded, as replication starts out from the last
+   * optime the index committed.
+   */
+  private static boolean hasCaughtUp(InitializedIndex index, Instant unloadedSince) {
+    if (index.isClosed() || index.getStatus().getStatusCode() != IndexStatus.StatusCode.STEADY) {
+      return false;
+    }
+    return index
+        .getMetricsUpdater()
+        .getIndexingMetricsUpdater()
+        .getReplicationOpTimeInfo()
+        .snapshot()
+        .filter(
+            snapshot ->
+                new BsonTimestamp(snapshot.maxPossibleReplicationOpTime()).getTime()
+                    >= unloadedSince.getEpochSecond())
+        .map(ReplicationOpTimeInfo.Snapshot::replicationLagMs)
+        .map(lagMs -> lagMs <= REOPENED_INDEX_MAX_REPLICATION_LAG.toMillis())
+        .orElse(false);
+  }
+
+  private record Unloaded(Instant since, Supplier<CompletableFuture<Void>> reopen) {}
 }
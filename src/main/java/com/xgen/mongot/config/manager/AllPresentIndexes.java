@@ -76,7 +76,9 @@ class AllPresentIndexes {
             .map(
                 generationId -> {
                   var initializedIndex = configState.initializedIndexCatalog.getIndex(generationId);
-                  if (initializedIndex.isEmpty()) {
+                  // An index unloaded while idle keeps reporting its status, without metrics.
+                  if (initializedIndex.isEmpty()
+                      && !configState.initializedIndexCatalog.isUnloaded(generationId)) {
                     LOG.atWarn()
                         .addKeyValue("indexId", generationId.indexId)
                         .addKeyValue("generationId", generationId)
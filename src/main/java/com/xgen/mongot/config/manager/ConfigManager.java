@@ -5,6 +5,7 @@ import com.xgen.mongot.index.analyzer.definition.OverriddenBaseAnalyzerDefinitio
 import com.xgen.mongot.index.definition.IndexDefinition;
 import com.xgen.mongot.index.definition.SearchIndexDefinition;
 import com.xgen.mongot.index.definition.VectorIndexDefinition;
+import com.xgen.mongot.lifecycle.InitializationProgress;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -34,5 +35,8 @@ public interface ConfigManager extends CachedIndexInfoProvider {
   /** Determine if the replication manager has been initialized after startup. */
   boolean isReplicationInitialized();
 
+  /** Returns the progress of initializing the indexes after startup. */
+  InitializationProgress getInitializationProgress();
+
   void close();
 }
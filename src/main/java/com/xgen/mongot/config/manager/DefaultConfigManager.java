@@ -32,6 +32,7 @@ import com.xgen.mongot.index.definition.SearchIndexDefinition;
 import com.xgen.mongot.index.definition.VectorIndexDefinition;
 import com.xgen.mongot.index.version.GenerationId;
 import com.xgen.mongot.index.version.IndexFormatVersion;
+import com.xgen.mongot.lifecycle.InitializationProgress;
 import com.xgen.mongot.lifecycle.LifecycleManager;
 import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.mongot.monitor.Gate;
@@ -54,6 +55,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -220,13 +222,14 @@ public class DefaultConfigManager implements ConfigManager {
         configState.phasingOut.getSize() == 0,
         "phasingOut indexes should have been dropped on startup, but were present");
 
-    configState.indexCatalog.getIndexes().stream()
-        .filter(indexGeneration -> !isAutoEmbeddingResolutionFailed(indexGeneration))
-        .forEach(indexGeneration -> configState.getLifecycleManager().add(indexGeneration));
-
-    configState.staged.getIndexes().stream()
-        .filter(indexGeneration -> !isAutoEmbeddingResolutionFailed(indexGeneration))
-        .forEach(indexGeneration -> configState.getLifecycleManager().add(indexGeneration));
+    configState
+        .getLifecycleManager()
+        .addInitialIndexes(
+            Stream.concat(
+                    configState.indexCatalog.getIndexes().stream(),
+                    configState.staged.getIndexes().stream())
+                .filter(indexGeneration -> !isAutoEmbeddingResolutionFailed(indexGeneration))
+                .toList());
   }
 
   /**
@@ -369,6 +372,10 @@ public class DefaultConfigManager implements ConfigManager {
                                     indexGen.getGenerationId());
                             if (initializedIndex.isPresent()) {
                               initializedIndex.get().close();
+                            } else if (this.configState.initializedIndexCatalog.isUnloaded(
+                                indexGen.getGenerationId())) {
+                              // The resources of an unloaded index were already released.
+                              indexGen.getIndex().close();
                             } else {
                               GenerationId generationId = indexGen.getGenerationId();
                               LOG.atWarn()
@@ -452,6 +459,11 @@ public class DefaultConfigManager implements ConfigManager {
     return this.replicationInitialized;
   }
 
+  @Override
+  public synchronized InitializationProgress getInitializationProgress() {
+    return this.configState.getLifecycleManager().getInitializationProgress();
+  }
+
   @GuardedBy("this")
   protected final void ensureOpen(String methodName) {
     checkState(
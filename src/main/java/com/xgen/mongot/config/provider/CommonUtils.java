@@ -112,7 +112,8 @@ public class CommonUtils {
       Optional<? extends BlobstoreSnapshotterManager> snapshotterManager,
       AutoEmbeddingMaterializedViewManagerFactory autoEmbeddingMatViewManagerFactory,
       MeterRegistry meterRegistry,
-      Gate replicationGate) {
+      Gate replicationGate,
+      Optional<Path> indexUsageJournalPath) {
     return new DefaultLifecycleManager(
         factory,
         syncConfig,
@@ -122,7 +123,8 @@ public class CommonUtils {
         autoEmbeddingMatViewManagerFactory,
         meterRegistry,
         replicationGate,
-        lifecycleConfig);
+        lifecycleConfig,
+        indexUsageJournalPath);
   }
 
   /**
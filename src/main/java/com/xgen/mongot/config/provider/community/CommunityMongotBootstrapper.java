@@ -35,6 +35,7 @@ import com.xgen.mongot.embedding.providers.configs.EmbeddingServiceConfig.Voyage
 import com.xgen.mongot.featureflag.Feature;
 import com.xgen.mongot.featureflag.FeatureFlags;
 import com.xgen.mongot.featureflag.dynamic.DynamicFeatureFlagRegistry;
+import com.xgen.mongot.index.SlowQueryLog;
 import com.xgen.mongot.index.analyzer.AnalyzerRegistry;
 import com.xgen.mongot.index.definition.config.IndexDefinitionConfig;
 import com.xgen.mongot.index.lucene.LuceneGlobalSettings;
@@ -48,6 +49,7 @@ import com.xgen.mongot.metrics.MeterAndFtdcRegistry;
 import com.xgen.mongot.metrics.ftdc.Ftdc;
 import com.xgen.mongot.metrics.ftdc.FtdcConfig;
 import com.xgen.mongot.metrics.ftdc.FtdcMetadata;
+import com.xgen.mongot.metrics.ftdc.FtdcProfiler;
 import com.xgen.mongot.metrics.ftdc.FtdcScheduledReporter;
 import com.xgen.mongot.metrics.prometheus.PrometheusServer;
 import com.xgen.mongot.metrics.system.SystemMetricsInstrumentation;
@@ -207,7 +209,12 @@ public class CommunityMongotBootstrapper {
             "mongot-community",
             mongoDbMetadataClient,
             mongotConfigs.featureFlags,
-            DynamicFeatureFlagRegistry.empty());
+            DynamicFeatureFlagRegistry.empty(),
+            new SlowQueryLog(
+                config
+                    .loggingConfig()
+                    .map(LoggingConfig::slowQueryThreshold)
+                    .orElse(SlowQueryLog.DEFAULT_THRESHOLD)));
 
     // Initialize the community metadata service
     var metadataService = initializeMetadataService(syncSourceConfig, meterRegistry);
@@ -386,14 +393,31 @@ public class CommunityMongotBootstrapper {
                 serializeBuildInfo(communityConfig.storageConfig().dataPath(), mongotVersion))
             .build();
 
-    var ftdc =
-        Crash.because("failed to initialize ftdc")
-            .ifThrows(() -> Ftdc.initialize(ftdcConfig, metadata));
+    // Profiles are kept within their own limits, a quarter of the metrics' directory size, so that
+    // they do not evict the metrics archives.
+    Bytes profileDirectorySize = Bytes.ofKibi(ftdcCommunityConfig.directorySizeMB() * 1024L / 4);
+    Optional<FtdcProfiler> profiler =
+        ftdcCommunityConfig.profilingEnabled()
+            ? Optional.of(
+                FtdcProfiler.start(
+                    FtdcProfiler.DEFAULT_DUMP_INTERVAL,
+                    profileDirectorySize,
+                    FtdcProfiler.DEFAULT_MAX_FILE_COUNT))
+            : Optional.empty();
     // If feature flag is enabled, use CompositeMeterRegistry so executor metrics are exported to
     // both FTDC itself and Prometheus. Otherwise, use ftdcRegistry to keep executor metrics only
     // in FTDC.
     boolean useCombinedRegistryForExecutorMetrics =
         mongotConfigs.featureFlags.isEnabled(Feature.FTDC_EXECUTOR_METRICS_TO_PROMETHEUS);
+    // Compresses and writes FTDC chunks off the reporting thread, one at a time.
+    var writeExecutor =
+        Executors.fixedSizeThreadPool(
+            "ftdc-writer",
+            1,
+            useCombinedRegistryForExecutorMetrics ? executorRegistry : reportingRegistry);
+    var ftdc =
+        Crash.because("failed to initialize ftdc")
+            .ifThrows(() -> Ftdc.initialize(ftdcConfig, metadata, profiler, writeExecutor));
     var reporter =
         FtdcScheduledReporter.create(
             reportingRegistry, executorRegistry, ftdc, useCombinedRegistryForExecutorMetrics);
@@ -403,7 +427,12 @@ public class CommunityMongotBootstrapper {
             () ->
                 reporter.start(
                     communityConfig.ftdcConfig().collectionPeriodMillis(), TimeUnit.MILLISECONDS),
-            reporter::stop));
+            () -> {
+              reporter.stop();
+              // Finish writing the chunks flushed by the last reports.
+              Executors.shutdownOrFail(writeExecutor);
+              profiler.ifPresent(FtdcProfiler::close);
+            }));
   }
 
   private static HealthCheckServer createHealthCheckServer(
@@ -694,7 +723,8 @@ public class CommunityMongotBootstrapper {
             Optional.empty(),
             autoEmbeddingMaterializedViewManagerFactory,
             meterAndFtdcRegistry.meterRegistry(),
-            replicationStateMonitor.getReplicationGate());
+            replicationStateMonitor.getReplicationGate(),
+            Optional.of(dataPath.resolve("indexUsageJournal.json")));
 
     return DefaultConfigManager.initialize(
         indexCatalog,
@@ -881,6 +911,7 @@ public class CommunityMongotBootstrapper {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
     return new MongotConfigs(
         luceneConfig,
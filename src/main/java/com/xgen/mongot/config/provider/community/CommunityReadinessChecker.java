@@ -13,6 +13,7 @@ import com.xgen.mongot.index.IndexDetailedStatus;
 import com.xgen.mongot.index.IndexInformation;
 import com.xgen.mongot.index.definition.IndexDefinition;
 import com.xgen.mongot.index.status.IndexStatus;
+import com.xgen.mongot.lifecycle.InitializationProgress;
 import com.xgen.mongot.server.CommandServer;
 import com.xgen.mongot.server.http.ReadinessChecker;
 import java.util.Collections;
@@ -31,6 +32,9 @@ public class CommunityReadinessChecker implements ReadinessChecker {
 
   private static final Logger LOG = LoggerFactory.getLogger(CommunityReadinessChecker.class);
 
+  /** How many of the indexes pending initialization are logged, in order of their priority. */
+  private static final int LOGGED_PENDING_INDEXES = 5;
+
   private final CommunityServerInfo serverInfo;
   private final ConfigManager configManager;
   private final CachedIndexInfoProvider indexInfoProvider;
@@ -77,7 +81,17 @@ public class CommunityReadinessChecker implements ReadinessChecker {
     }
 
     if (!this.configManager.isReplicationInitialized()) {
-      LOG.info("Not ready, waiting on replication to be initialized...");
+      InitializationProgress progress = this.configManager.getInitializationProgress();
+      LOG.atInfo()
+          .addKeyValue("queryableIndexes", progress.queryableIndexes())
+          .addKeyValue("pendingIndexes", progress.pendingIndexes().size())
+          .addKeyValue(
+              "nextPendingIndexes",
+              progress.pendingIndexes().stream()
+                  .limit(LOGGED_PENDING_INDEXES)
+                  .map(generationId -> generationId.indexId)
+                  .toList())
+          .log("Not ready, waiting on replication to be initialized...");
       return false;
     }
 
@@ -8,13 +8,18 @@ import com.xgen.mongot.util.bson.parser.Field;
 import org.bson.BsonDocument;
 
 public record FtdcCommunityConfig(
-    Boolean enabled, Integer directorySizeMB, Integer fileSizeMB, Integer collectionPeriodMillis)
+    Boolean enabled,
+    Integer directorySizeMB,
+    Integer fileSizeMB,
+    Integer collectionPeriodMillis,
+    Boolean profilingEnabled)
     implements DocumentEncodable {
 
   private static final Boolean DEFAULT_ENABLED = Boolean.TRUE;
   private static final Integer DEFAULT_DIRECTORY_SIZE_MB = 100;
   private static final Integer DEFAULT_FILE_SIZE_MB = 10;
   private static final Integer DEFAULT_COLLECTION_PERIOD_MILLIS = 1000;
+  private static final Boolean DEFAULT_PROFILING_ENABLED = Boolean.FALSE;
 
   private static class Fields {
 
@@ -35,6 +40,12 @@ public record FtdcCommunityConfig(
             .intField()
             .optional()
             .withDefault(DEFAULT_COLLECTION_PERIOD_MILLIS);
+
+    public static final Field.WithDefault<Boolean> PROFILING_ENABLED =
+        Field.builder("profilingEnabled")
+            .booleanField()
+            .optional()
+            .withDefault(DEFAULT_PROFILING_ENABLED);
   }
 
   private FtdcCommunityConfig() {
@@ -42,7 +53,16 @@ public record FtdcCommunityConfig(
         DEFAULT_ENABLED,
         DEFAULT_DIRECTORY_SIZE_MB,
         DEFAULT_FILE_SIZE_MB,
-        DEFAULT_COLLECTION_PERIOD_MILLIS);
+        DEFAULT_COLLECTION_PERIOD_MILLIS,
+        DEFAULT_PROFILING_ENABLED);
+  }
+
+  public FtdcCommunityConfig(
+      Boolean enabled,
+      Integer directorySizeMB,
+      Integer fileSizeMB,
+      Integer collectionPeriodMillis) {
+    this(enabled, directorySizeMB, fileSizeMB, collectionPeriodMillis, DEFAULT_PROFILING_ENABLED);
   }
 
   public static FtdcCommunityConfig getDefault() {
@@ -55,7 +75,8 @@ public record FtdcCommunityConfig(
             parser.getField(Fields.ENABLED).unwrap(),
             parser.getField(Fields.DIRECTORY_SIZE_MB).unwrap(),
             parser.getField(Fields.FILE_SIZE_MB).unwrap(),
-            parser.getField(Fields.COLLECTION_PERIOD_MILLIS).unwrap());
+            parser.getField(Fields.COLLECTION_PERIOD_MILLIS).unwrap(),
+            parser.getField(Fields.PROFILING_ENABLED).unwrap());
 
     if (config.directorySizeMB() < 10) {
       parser
@@ -87,6 +108,7 @@ public record FtdcCommunityConfig(
         .field(Fields.DIRECTORY_SIZE_MB, this.directorySizeMB)
         .field(Fields.FILE_SIZE_MB, this.fileSizeMB)
         .field(Fields.COLLECTION_PERIOD_MILLIS, this.collectionPeriodMillis)
+        .field(Fields.PROFILING_ENABLED, this.profilingEnabled)
         .build();
   }
 }
@@ -1,16 +1,23 @@
 package com.xgen.mongot.config.provider.community;
 
+import com.xgen.mongot.index.SlowQueryLog;
 import com.xgen.mongot.util.bson.parser.BsonDocumentBuilder;
 import com.xgen.mongot.util.bson.parser.BsonParseException;
 import com.xgen.mongot.util.bson.parser.DocumentEncodable;
 import com.xgen.mongot.util.bson.parser.DocumentParser;
 import com.xgen.mongot.util.bson.parser.Field;
+import java.time.Duration;
 import java.util.Optional;
 import org.bson.BsonDocument;
 import org.slf4j.event.Level;
 
+/**
+ * @param slowQueryThresholdMs queries that take at least this long are logged and kept by the
+ *     slow query log. Defaults to {@link SlowQueryLog#DEFAULT_THRESHOLD}.
+ */
 public record LoggingConfig(
-    String verbosity, Optional<String> logPath) implements DocumentEncodable {
+    String verbosity, Optional<String> logPath, Optional<Long> slowQueryThresholdMs)
+    implements DocumentEncodable {
   private static class Fields {
     public static final Field.WithDefault<String> VERBOSITY =
         Field.builder("verbosity")
@@ -19,12 +26,29 @@ public record LoggingConfig(
             .withDefault(Level.INFO.toString());
     public static final Field.Optional<String> LOG_PATH =
         Field.builder("logPath").stringField().optional().noDefault();
+    public static final Field.Optional<Long> SLOW_QUERY_THRESHOLD_MS =
+        Field.builder("slowQueryThresholdMs")
+            .longField()
+            .mustBeNonNegative()
+            .optional()
+            .noDefault();
+  }
+
+  public LoggingConfig(String verbosity, Optional<String> logPath) {
+    this(verbosity, logPath, Optional.empty());
+  }
+
+  public Duration slowQueryThreshold() {
+    return this.slowQueryThresholdMs
+        .map(Duration::ofMillis)
+        .orElse(SlowQueryLog.DEFAULT_THRESHOLD);
   }
 
   public static LoggingConfig fromBson(DocumentParser parser) throws BsonParseException {
     return new LoggingConfig(
         parser.getField(Fields.VERBOSITY).unwrap(),
-        parser.getField(Fields.LOG_PATH).unwrap());
+        parser.getField(Fields.LOG_PATH).unwrap(),
+        parser.getField(Fields.SLOW_QUERY_THRESHOLD_MS).unwrap());
   }
 
   @Override
@@ -32,6 +56,7 @@ public record LoggingConfig(
     return BsonDocumentBuilder.builder()
         .field(Fields.VERBOSITY, this.verbosity)
         .field(Fields.LOG_PATH, this.logPath)
+        .field(Fields.SLOW_QUERY_THRESHOLD_MS, this.slowQueryThresholdMs)
         .build();
   }
 }
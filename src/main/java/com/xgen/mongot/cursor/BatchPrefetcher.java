@@ -0,0 +1,112 @@
+package com.xgen.mongot.cursor;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.xgen.mongot.metrics.MetricsFactory;
+import com.xgen.mongot.util.Bytes;
+import com.xgen.mongot.util.Check;
+import com.xgen.mongot.util.concurrent.Executors;
+import com.xgen.mongot.util.concurrent.NamedExecutorService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.context.Context;
+import java.util.Optional;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs speculative computations of cursors' next batches on low-priority threads, so that a getMore
+ * only has to hand over a batch that was produced while the cursor was idle.
+ *
+ * <p>Prefetched batches are held under a memory budget shared by all cursors. A prefetch reserves
+ * its whole result size limit before it starts, and shrinks the reservation to the size of the
+ * batch it produced, so the budget bounds both in-flight and held batches.
+ */
+class BatchPrefetcher {
+
+  private static final int NUM_THREADS = 2;
+
+  private final NamedExecutorService executor;
+  private final long budgetBytes;
+  private final AtomicLong reservedBytes;
+
+  private final Counter prefetchedBatches;
+  private final Counter servedBatches;
+  private final Counter budgetRejections;
+
+  @VisibleForTesting
+  BatchPrefetcher(NamedExecutorService executor, Bytes budget, MetricsFactory metrics) {
+    Check.checkArg(budget.toBytes() > 0, "budget must be positive, is %s", budget);
+    this.executor = executor;
+    this.budgetBytes = budget.toBytes();
+    this.reservedBytes = new AtomicLong();
+    this.prefetchedBatches = metrics.counter("prefetchedBatches");
+    this.servedBatches = metrics.counter("servedBatches");
+    this.budgetRejections = metrics.counter("budgetRejections");
+    metrics.objectValueGauge("reservedBytes", this.reservedBytes, AtomicLong::get);
+  }
+
+  /** Returns a prefetcher if the config enables prefetching. */
+  static Optional<BatchPrefetcher> fromConfig(CursorConfig config, MeterRegistry meterRegistry) {
+    return config.prefetchMemoryBudget.map(
+        budget ->
+            new BatchPrefetcher(
+                Executors.fixedSizeThreadScheduledExecutor(
+                    "cursor-prefetch", NUM_THREADS, Thread.MIN_PRIORITY, meterRegistry),
+                budget,
+                new MetricsFactory("cursorPrefetch", meterRegistry)));
+  }
+
+  /**
+   * Reserves the supplied number of bytes and submits the task, or returns empty if the budget is
+   * exhausted. The task owns the reservation, and must {@link #release} it when done with it.
+   */
+  Optional<Future<?>> trySubmit(long bytes, Runnable task) {
+    if (!tryReserve(bytes)) {
+      this.budgetRejections.increment();
+      return Optional.empty();
+    }
+
+    try {
+      // Run the prefetch in the context of the getMore that triggered it, so it is traced with it.
+      return Optional.of(Context.current().wrap(this.executor).submit(task));
+    } catch (RejectedExecutionException e) {
+      // The executor is shutting down.
+      release(bytes);
+      return Optional.empty();
+    }
+  }
+
+  void release(long bytes) {
+    this.reservedBytes.addAndGet(-bytes);
+  }
+
+  void recordPrefetched() {
+    this.prefetchedBatches.increment();
+  }
+
+  void recordServed() {
+    this.servedBatches.increment();
+  }
+
+  @VisibleForTesting
+  long getReservedBytes() {
+    return this.reservedBytes.get();
+  }
+
+  void close() {
+    Executors.shutdownOrFail(this.executor);
+  }
+
+  private boolean tryReserve(long bytes) {
+    while (true) {
+      long reserved = this.reservedBytes.get();
+      if (reserved + bytes > this.budgetBytes) {
+        return false;
+      }
+      if (this.reservedBytes.compareAndSet(reserved, reserved + bytes)) {
+        return true;
+      }
+    }
+  }
+}
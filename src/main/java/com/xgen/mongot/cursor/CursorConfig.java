@@ -67,6 +67,12 @@ public class CursorConfig implements DocumentEncodable {
         Field.builder("bsonSizeSoftLimitBytes").intField().mustBePositive().optional().noDefault();
     private static final Field.Optional<Integer> BSON_SIZE_HARD_LIMIT_BYTES =
         Field.builder("bsonSizeHardLimitBytes").intField().mustBePositive().optional().noDefault();
+    private static final Field.Optional<Integer> PREFETCH_MEMORY_BUDGET_BYTES =
+        Field.builder("prefetchMemoryBudgetBytes")
+            .intField()
+            .mustBePositive()
+            .optional()
+            .noDefault();
 
     private static final Field.Optional<IdRange> ID_RANGE =
         Field.builder("idRange")
@@ -97,19 +103,27 @@ public class CursorConfig implements DocumentEncodable {
 
   final Range<Long> cursorIdRange;
 
+  /**
+   * Memory shared by all cursors for batches computed ahead of the getMore that returns them. Batch
+   * prefetching is disabled if absent.
+   */
+  final Optional<Bytes> prefetchMemoryBudget;
+
   private CursorConfig(
       Optional<Duration> idleCursorHandlingRate,
       Optional<Duration> cursorIdleTime,
       Optional<Bytes> messageSizeLimit,
       Optional<Bytes> bsonSizeSoftLimit,
       Optional<Bytes> bsonSizeHardLimit,
-      Optional<Range<Long>> cursorIdRange) {
+      Optional<Range<Long>> cursorIdRange,
+      Optional<Bytes> prefetchMemoryBudget) {
     this.idleCursorHandlingRate = idleCursorHandlingRate.orElse(DEFAULT_IDLE_CURSOR_HANDLING_RATE);
     this.cursorIdleTime = cursorIdleTime.orElse(DEFAULT_CURSOR_IDLE_TIMEOUT);
     this.messageSizeLimit = messageSizeLimit.orElse(DEFAULT_MESSAGE_SIZE_LIMIT);
     this.bsonSizeSoftLimit = bsonSizeSoftLimit.orElse(DEFAULT_BSON_SIZE_SOFT_LIMIT);
     this.bsonSizeHardLimit = bsonSizeHardLimit.orElse(DEFAULT_BSON_SIZE_HARD_LIMIT);
     this.cursorIdRange = cursorIdRange.orElse(DEFAULT_CURSOR_ID_RANGE);
+    this.prefetchMemoryBudget = prefetchMemoryBudget;
   }
 
   public static CursorConfig create(
@@ -118,14 +132,16 @@ public class CursorConfig implements DocumentEncodable {
       Optional<Bytes> messageSizeLimit,
       Optional<Bytes> bsonSizeSoftLimit,
       Optional<Bytes> bsonSizeHardLimit,
-      Optional<Range<Long>> cursorIdRange) {
+      Optional<Range<Long>> cursorIdRange,
+      Optional<Bytes> prefetchMemoryBudget) {
     return new CursorConfig(
         idleCursorHandlingRate,
         cursorIdleTime,
         messageSizeLimit,
         bsonSizeSoftLimit,
         bsonSizeHardLimit,
-        cursorIdRange);
+        cursorIdRange,
+        prefetchMemoryBudget);
   }
 
   public static CursorConfig getDefault() {
@@ -135,6 +151,7 @@ public class CursorConfig implements DocumentEncodable {
         Optional.empty(),
         Optional.empty(),
         Optional.empty(),
+        Optional.empty(),
         Optional.empty());
   }
 
@@ -160,6 +177,9 @@ public class CursorConfig implements DocumentEncodable {
             Fields.ID_RANGE,
             Optional.of(
                 new IdRange(this.cursorIdRange.getMinimum(), this.cursorIdRange.getMaximum())))
+        .field(
+            Fields.PREFETCH_MEMORY_BUDGET_BYTES,
+            this.prefetchMemoryBudget.map(budget -> Math.toIntExact(budget.toBytes())))
         .build();
   }
 }
@@ -24,6 +24,7 @@ import com.xgen.mongot.trace.Tracing;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import java.io.IOException;
+import java.util.Optional;
 
 /** Creates cursors with unique incrementing id. */
 class CursorFactory {
@@ -49,9 +50,16 @@ class CursorFactory {
   }
 
   private final CursorIdSupplier cursorIdSupplier;
+  private final Optional<BatchPrefetcher> prefetcher;
 
   CursorFactory(CursorIdSupplier cursorIdSupplier) {
+    this(cursorIdSupplier, Optional.empty());
+  }
+
+  /** Creates a factory whose search cursors prefetch their next batch with the prefetcher. */
+  CursorFactory(CursorIdSupplier cursorIdSupplier, Optional<BatchPrefetcher> prefetcher) {
     this.cursorIdSupplier = cursorIdSupplier;
+    this.prefetcher = prefetcher;
   }
 
   CursorAndMetaResults createCursor(
@@ -119,7 +127,9 @@ class CursorFactory {
       }
 
       return new CursorAndMetaResults(
-          new MongotCursor(cursorId, batchProducer, namespace, batchSizeStrategy), metaResults);
+          new MongotCursor(
+              cursorId, batchProducer, namespace, batchSizeStrategy, this.prefetcher),
+          metaResults);
     }
   }
 
@@ -168,7 +178,8 @@ class CursorFactory {
               resultCursorId,
               producerAndMetaProducer.searchBatchProducer,
               namespace,
-              searchBatchSizeStrategy),
+              searchBatchSizeStrategy,
+              this.prefetcher),
           new MongotCursor(
               metaCursorId,
               producerAndMetaProducer.metaBatchProducer,
@@ -1,6 +1,7 @@
 package com.xgen.mongot.cursor;
 
 import com.google.errorprone.annotations.MustBeClosed;
+import com.google.errorprone.annotations.Var;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 import com.xgen.mongot.cursor.batch.BatchCursorOptions;
 import com.xgen.mongot.cursor.batch.BatchSizeStrategy;
@@ -17,22 +18,35 @@ import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.TraceFlags;
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Optional;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
 import org.bson.BsonArray;
+import org.bson.BsonValue;
 
 /** Responsible for returning MongotCursorResultInfo's. Associated with an id. */
 class MongotCursor {
 
+  /** The size of an encoded empty BSON array: its length and terminator. */
+  private static final long EMPTY_ARRAY_SIZE_IN_BYTES = 5;
+
   private final long id;
   private final BatchProducer batchProducer;
   private final String namespace;
   private final BatchSizeStrategy batchSizeStrategy;
   private volatile Instant lastOperationTime;
   private final Optional<ExplainQueryState> explainQueryState;
+  private final Optional<BatchPrefetcher> prefetcher;
 
   @GuardedBy("this")
   private boolean closed;
 
+  /** The prefetch of the next batch, if one is scheduled, or its unserved result. */
+  @GuardedBy("this")
+  @Nullable
+  private Prefetch prefetch;
+
   private int count;
 
   private final String traceId;
@@ -44,6 +58,19 @@ class MongotCursor {
    */
   MongotCursor(
       long id, BatchProducer batchProducer, String namespace, BatchSizeStrategy batchSizeStrategy) {
+    this(id, batchProducer, namespace, batchSizeStrategy, Optional.empty());
+  }
+
+  /**
+   * Constructs a new Cursor which, if a prefetcher is supplied, computes its next batch in the
+   * background after returning each batch.
+   */
+  MongotCursor(
+      long id,
+      BatchProducer batchProducer,
+      String namespace,
+      BatchSizeStrategy batchSizeStrategy,
+      Optional<BatchPrefetcher> prefetcher) {
     this.id = id;
     this.batchProducer = batchProducer;
     this.namespace = namespace;
@@ -51,6 +78,7 @@ class MongotCursor {
     this.lastOperationTime = Instant.now();
     // Initialize with explain state if explain query
     this.explainQueryState = Explain.getExplainQueryState();
+    this.prefetcher = this.explainQueryState.isPresent() ? Optional.empty() : prefetcher;
     this.closed = false;
     this.count = 1;
     this.traceId = Span.current().getSpanContext().getTraceId();
@@ -63,6 +91,11 @@ class MongotCursor {
    *
    * <p>If Explain is enabled on the cursor, sets the ExplainQueryState after the initial call to
    * this method.
+   *
+   * <p>If the next batch was prefetched, it is returned without consulting the batchProducer. A
+   * prefetched batch is computed with the arguments of the previous call, so when the supplied
+   * limits are tighter only its leading documents are returned, and the rest are kept for the
+   * following call.
    */
   synchronized MongotCursorResultInfo getNextBatch(
       Bytes resultsSizeLimit, BatchCursorOptions queryCursorOptions)
@@ -76,17 +109,154 @@ class MongotCursor {
 
       this.lastOperationTime = Instant.now();
       this.count++;
-      this.batchSizeStrategy.adjust(queryCursorOptions);
-      BsonArray nextBatch =
-          Explain.isEnabled()
-              ? getExplainEnabledNextBatch(resultsSizeLimit, queryCursorOptions)
-              : getExplainDisabledNextBatch(resultsSizeLimit, queryCursorOptions);
+      Optional<BsonArray> prefetched = takePrefetchedBatch(resultsSizeLimit, queryCursorOptions);
+      BsonArray nextBatch;
+      if (prefetched.isPresent()) {
+        nextBatch = prefetched.get();
+      } else {
+        this.batchSizeStrategy.adjust(queryCursorOptions);
+        nextBatch =
+            Explain.isEnabled()
+                ? getExplainEnabledNextBatch(resultsSizeLimit, queryCursorOptions)
+                : getExplainDisabledNextBatch(resultsSizeLimit, queryCursorOptions);
+      }
 
-      return new MongotCursorResultInfo(
-          this.batchProducer.isExhausted(), nextBatch, Explain.collect(), this.namespace);
+      boolean exhausted = this.batchProducer.isExhausted() && this.prefetch == null;
+      if (!exhausted) {
+        maybePrefetch(resultsSizeLimit, queryCursorOptions);
+      }
+      return new MongotCursorResultInfo(exhausted, nextBatch, Explain.collect(), this.namespace);
     }
   }
 
+  /**
+   * Returns the prefetched batch, or as many of its leading documents as the supplied limits allow,
+   * if one was prefetched. A prefetch that has not started yet is cancelled instead.
+   */
+  private synchronized Optional<BsonArray> takePrefetchedBatch(
+      Bytes resultsSizeLimit, BatchCursorOptions queryCursorOptions) throws IOException {
+    Prefetch current = this.prefetch;
+    if (current == null) {
+      return Optional.empty();
+    }
+
+    // Prefetches run while holding this cursor's monitor, so one that is not done has not started.
+    if (!current.done) {
+      discardPrefetch();
+      return Optional.empty();
+    }
+
+    if (current.failure != null) {
+      discardPrefetch();
+      if (current.failure instanceof IOException e) {
+        throw new IOException("failed to prefetch the next batch", e);
+      }
+      throw (RuntimeException) current.failure;
+    }
+
+    BsonArray batch = Check.isNotNull(current.batch, "batch");
+    int maxDocs = queryCursorOptions.getBatchSize().orElse(Integer.MAX_VALUE);
+    if (batch.size() <= maxDocs && current.reservedBytes <= resultsSizeLimit.toBytes()) {
+      discardPrefetch();
+      this.prefetcher.ifPresent(BatchPrefetcher::recordServed);
+      return Optional.of(batch);
+    }
+
+    // Return a prefix of the batch that fits within the limits, but at least one document so that
+    // the cursor makes progress, just like the batchProducer would.
+    @Var long prefixBytes = EMPTY_ARRAY_SIZE_IN_BYTES;
+    @Var int prefixSize = 0;
+    while (prefixSize < Math.min(batch.size(), maxDocs)) {
+      long elementBytes = arrayElementSizeInBytes(prefixSize, batch.get(prefixSize));
+      if (prefixSize > 0 && prefixBytes + elementBytes > resultsSizeLimit.toBytes()) {
+        break;
+      }
+      prefixBytes += elementBytes;
+      prefixSize++;
+    }
+
+    if (prefixSize == batch.size()) {
+      discardPrefetch();
+      this.prefetcher.ifPresent(BatchPrefetcher::recordServed);
+      return Optional.of(batch);
+    }
+
+    BsonArray remainder = new BsonArray(new ArrayList<>(batch.subList(prefixSize, batch.size())));
+    long remainderBytes = BsonUtils.bsonValueSerializedBytes(remainder).toBytes();
+    this.prefetcher.ifPresent(p -> p.release(current.reservedBytes - remainderBytes));
+    current.reservedBytes = remainderBytes;
+    current.batch = remainder;
+    return Optional.of(new BsonArray(new ArrayList<>(batch.subList(0, prefixSize))));
+  }
+
+  /**
+   * Schedules the computation of the next batch with the supplied arguments, predicting that the
+   * next call to getNextBatch uses the same ones, if prefetching is enabled and within budget.
+   */
+  private synchronized void maybePrefetch(
+      Bytes resultsSizeLimit, BatchCursorOptions queryCursorOptions) {
+    if (this.prefetcher.isEmpty() || this.prefetch != null) {
+      return;
+    }
+
+    Prefetch next = new Prefetch(resultsSizeLimit, queryCursorOptions);
+    this.prefetcher
+        .get()
+        .trySubmit(next.reservedBytes, () -> runPrefetch(next))
+        .ifPresent(
+            future -> {
+              next.future = future;
+              this.prefetch = next;
+            });
+  }
+
+  private synchronized void runPrefetch(Prefetch scheduled) {
+    if (this.closed || this.prefetch != scheduled) {
+      // The prefetch was discarded before it started, and its reservation released.
+      return;
+    }
+
+    BatchPrefetcher batchPrefetcher = this.prefetcher.get();
+    try {
+      this.batchSizeStrategy.adjust(scheduled.queryCursorOptions);
+      this.batchProducer.execute(scheduled.resultsSizeLimit, scheduled.queryCursorOptions);
+      BsonArray batch = this.batchProducer.getNextBatch(scheduled.resultsSizeLimit);
+      long batchBytes = BsonUtils.bsonValueSerializedBytes(batch).toBytes();
+      batchPrefetcher.release(scheduled.reservedBytes - batchBytes);
+      scheduled.reservedBytes = batchBytes;
+      scheduled.batch = batch;
+      batchPrefetcher.recordPrefetched();
+    } catch (IOException | RuntimeException e) {
+      // Surfaced by the next call to getNextBatch, as if it had computed the batch itself.
+      batchPrefetcher.release(scheduled.reservedBytes);
+      scheduled.reservedBytes = 0;
+      scheduled.failure = e;
+    }
+    scheduled.done = true;
+  }
+
+  /** Cancels or drops the current prefetch, and releases its reservation. */
+  private synchronized void discardPrefetch() {
+    Prefetch current = this.prefetch;
+    if (current == null) {
+      return;
+    }
+
+    if (current.future != null) {
+      // Never interrupt a running prefetch, as interrupts close Lucene's NIO channels.
+      current.future.cancel(false);
+    }
+    this.prefetcher.ifPresent(p -> p.release(current.reservedBytes));
+    this.prefetch = null;
+  }
+
+  /** The size of an element of an encoded BSON array: its type, index key and value. */
+  private static long arrayElementSizeInBytes(int index, BsonValue value) {
+    return 2L
+        + Integer.toString(index).length()
+        + BsonUtils.bsonValueSerializedBytes(value).toBytes();
+  }
+
   private synchronized BsonArray getExplainDisabledNextBatch(
       Bytes resultSizeLimit, BatchCursorOptions queryCursorOptions) throws IOException {
     this.batchProducer.execute(resultSizeLimit, queryCursorOptions);
@@ -148,12 +318,37 @@ class MongotCursor {
     }
   }
 
+  /**
+   * Closes the cursor, cancelling any pending prefetch. A prefetch that is already running is
+   * waited for, as it holds the cursor's monitor.
+   */
   void close() throws IOException {
     synchronized (this) { // https://github.com/mockito/mockito/issues/2970
       if (!this.closed) {
+        discardPrefetch();
         this.batchProducer.close();
         this.closed = true;
       }
     }
   }
+
+  /** The state of a single prefetch, guarded by the monitor of the cursor that scheduled it. */
+  private static final class Prefetch {
+    final Bytes resultsSizeLimit;
+    final BatchCursorOptions queryCursorOptions;
+
+    /** Bytes reserved from the budget: the size limit until done, then the unserved batch size. */
+    long reservedBytes;
+
+    @Nullable Future<?> future;
+    boolean done;
+    @Nullable BsonArray batch;
+    @Nullable Exception failure;
+
+    Prefetch(Bytes resultsSizeLimit, BatchCursorOptions queryCursorOptions) {
+      this.resultsSizeLimit = resultsSizeLimit;
+      this.queryCursorOptions = queryCursorOptions;
+      this.reservedBytes = resultsSizeLimit.toBytes();
+    }
+  }
 }
@@ -6,6 +6,8 @@ import com.xgen.mongot.catalog.IndexCatalog;
 import com.xgen.mongot.catalog.InitializedIndexCatalog;
 import com.xgen.mongot.cursor.batch.BatchCursorOptions;
 import com.xgen.mongot.cursor.batch.QueryCursorOptions;
+import com.xgen.mongot.index.IndexGeneration;
+import com.xgen.mongot.index.IndexReloadingException;
 import com.xgen.mongot.index.IndexUnavailableException;
 import com.xgen.mongot.index.InitializedIndex;
 import com.xgen.mongot.index.ReaderClosedException;
@@ -60,6 +62,7 @@ public class MongotCursorManagerImpl implements MongotCursorManager {
   private final NullIndexCursorManager nullIndexManager;
 
   private final NamedExecutorService idleCursorKiller;
+  private final Optional<BatchPrefetcher> prefetcher;
   private final MetricsFactory metrics;
 
   private boolean closed;
@@ -74,15 +77,32 @@ public class MongotCursorManagerImpl implements MongotCursorManager {
       NamedScheduledExecutorService idleCursorKiller,
       MetricsFactory metrics,
       CursorIdSupplier cursorIdSupplier) {
+    this(
+        indexCatalog,
+        initializedIndexCatalog,
+        idleCursorKiller,
+        Optional.empty(),
+        metrics,
+        cursorIdSupplier);
+  }
+
+  private MongotCursorManagerImpl(
+      IndexCatalog indexCatalog,
+      InitializedIndexCatalog initializedIndexCatalog,
+      NamedScheduledExecutorService idleCursorKiller,
+      Optional<BatchPrefetcher> prefetcher,
+      MetricsFactory metrics,
+      CursorIdSupplier cursorIdSupplier) {
     this.indexManagers = new ConcurrentHashMap<>();
     this.cursorToIndex = new ConcurrentHashMap<>();
 
     this.indexCatalog = indexCatalog;
     this.initializedIndexCatalog = initializedIndexCatalog;
-    this.cursorFactory = new CursorFactory(cursorIdSupplier);
+    this.cursorFactory = new CursorFactory(cursorIdSupplier, prefetcher);
     this.nullIndexManager = new NullIndexCursorManager(this.cursorFactory);
 
     this.idleCursorKiller = idleCursorKiller;
+    this.prefetcher = prefetcher;
     this.metrics = metrics;
     metrics.objectValueGauge("trackedCursors", this.cursorToIndex, ConcurrentHashMap::size);
     this.closed = false;
@@ -106,7 +126,12 @@ public class MongotCursorManagerImpl implements MongotCursorManager {
 
     MongotCursorManagerImpl manager =
         new MongotCursorManagerImpl(
-            indexCatalog, initializedIndexCatalog, executor, metrics, cursorIdSupplier);
+            indexCatalog,
+            initializedIndexCatalog,
+            executor,
+            BatchPrefetcher.fromConfig(config, meterRegistry),
+            metrics,
+            cursorIdSupplier);
 
     executor.scheduleAtFixedRate(
         () ->
@@ -351,6 +376,7 @@ public class MongotCursorManagerImpl implements MongotCursorManager {
       }
 
       this.cursorToIndex.clear();
+      this.prefetcher.ifPresent(BatchPrefetcher::close);
       this.metrics.close();
 
       this.closed = true;
@@ -377,7 +403,7 @@ public class MongotCursorManagerImpl implements MongotCursorManager {
       Optional<String> viewName,
       Query query,
       Optional<SearchEnvoyMetadata> searchEnvoyMetadata)
-      throws InvalidQueryException {
+      throws InvalidQueryException, IndexUnavailableException {
     if (searchEnvoyMetadata.isPresent() && searchEnvoyMetadata.get().getRoutedFromAnotherShard()) {
       LOG.atTrace()
           .addKeyValue("searchEnvoyMetadata", searchEnvoyMetadata.get())
@@ -386,24 +412,33 @@ public class MongotCursorManagerImpl implements MongotCursorManager {
     }
 
     // first find the proper index to service the query
+    Optional<IndexGeneration> optionalIndexGeneration =
+        this.indexCatalog.getIndex(databaseName, collectionUuid, viewName, query.index());
     Optional<InitializedIndex> optionalInitializedIndex =
-        this.indexCatalog
-            .getIndex(databaseName, collectionUuid, viewName, query.index())
-            .flatMap(
-                indexGeneration -> {
-                  var initializedIndex =
-                      this.initializedIndexCatalog.getIndex(indexGeneration.getGenerationId());
-                  if (initializedIndex.isEmpty()) {
-                    this.metrics
-                        .counter(
-                            "uninitializedIndexCursorRequests",
-                            Tags.of(
-                                "indexStatus",
-                                indexGeneration.getIndex().getStatus().getStatusCode().name()))
-                        .increment();
-                  }
-                  return initializedIndex;
-                });
+        optionalIndexGeneration.flatMap(
+            indexGeneration -> {
+              var initializedIndex =
+                  this.initializedIndexCatalog.getIndexForQuery(indexGeneration.getGenerationId());
+              if (initializedIndex.isEmpty()) {
+                this.metrics
+                    .counter(
+                        "uninitializedIndexCursorRequests",
+                        Tags.of(
+                            "indexStatus",
+                            indexGeneration.getIndex().getStatus().getStatusCode().name()))
+                    .increment();
+              }
+              return initializedIndex;
+            });
+
+    if (optionalInitializedIndex.isEmpty()
+        && optionalIndexGeneration.isPresent()
+        && this.initializedIndexCatalog.isUnloaded(
+            optionalIndexGeneration.get().getGenerationId())) {
+      // An unloaded index is being reopened, fail the query as retryable rather than answering it
+      // with empty cursors.
+      throw new IndexReloadingException(optionalIndexGeneration.get().getDefinition().getName());
+    }
 
     if (optionalInitializedIndex.isEmpty()) {
       // the index does not exist, use empty cursors then. The result is not cached, so when this
@@ -0,0 +1,449 @@
+package com.xgen.mongot.embedding;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.flogger.FluentLogger;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.errorprone.annotations.Var;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.xgen.mongot.metrics.MetricsFactory;
+import com.xgen.mongot.util.Check;
+import com.xgen.mongot.util.bson.BsonVectorParser;
+import com.xgen.mongot.util.bson.Vector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import org.bson.BsonBinary;
+
+/**
+ * A node-local, content-addressed store of previously generated embeddings, keyed by (model
+ * configuration hash, source text hash).
+ *
+ * <p>Unlike the per-document reuse performed via the materialized view's {@code _hash} fields, any
+ * document in any index can reuse a vector from this store, so resyncs, index rebuilds and
+ * collections with repeated text only pay for each distinct (model, text) pair once.
+ *
+ * <p>Vectors are kept in a single memory-mapped file that is used as a ring buffer: new records
+ * are appended at the write position, and once the file is full the write position wraps to the
+ * start and the oldest records are evicted as they are overwritten. Only the key to offset index
+ * lives on heap; it is rebuilt by scanning the file when the store is reopened. Each record carries
+ * a CRC32 so that records torn by a crash are ignored rather than returned.
+ *
+ * <p>File layout:
+ *
+ * <pre>
+ *   header:  magic(int) version(int) capacity(long) writePos(long) evictPos(long) tailEnd(long)
+ *   record:  magic(int) crc(int) keyHigh(long) keyLow(long) length(int) vector bytes(length)
+ * </pre>
+ *
+ * <p>Records in {@code [HEADER_SIZE, writePos)} belong to the current lap, records in {@code
+ * [evictPos, tailEnd)} are the not-yet-overwritten remainder of the previous lap.
+ *
+ * <p>Lookups only share a read lock, so that they run concurrently with each other, while writes
+ * to the file take the write lock.
+ */
+public class EmbeddingReuseStore implements Closeable {
+
+  private static final FluentLogger FLOGGER = FluentLogger.forEnclosingClass();
+
+  static final String FILE_NAME = "embeddingReuseStore.bin";
+
+  private static final int FILE_MAGIC = 0x4D455253; // "MERS"
+  private static final int FILE_VERSION = 1;
+  private static final int RECORD_MAGIC = 0x52454331; // "REC1"
+
+  @VisibleForTesting static final int HEADER_SIZE = 64;
+  private static final int RECORD_HEADER_SIZE = Integer.BYTES * 3 + Long.BYTES * 2;
+
+  private static final int CAPACITY_OFFSET = 8;
+  private static final int WRITE_POS_OFFSET = 16;
+  private static final int EVICT_POS_OFFSET = 24;
+  private static final int TAIL_END_OFFSET = 32;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+
+  private final ReentrantReadWriteLock reentrantReadWriteLock = new ReentrantReadWriteLock();
+  private final Lock readLock = this.reentrantReadWriteLock.readLock();
+  private final Lock writeLock = this.reentrantReadWriteLock.writeLock();
+
+  /** The offset of every indexed record, removed from by lookups of corrupt records too. */
+  private final Map<Key, Integer> index;
+
+  @GuardedBy("writeLock")
+  private int writePos;
+
+  @GuardedBy("writeLock")
+  private int evictPos;
+
+  @GuardedBy("writeLock")
+  private int tailEnd;
+
+  private volatile boolean closed;
+
+  private final MetricsFactory metricsFactory;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter puts;
+  private final Counter evictions;
+  private final Counter corruptRecords;
+
+  private EmbeddingReuseStore(
+      FileChannel channel, MappedByteBuffer buffer, int capacity, MeterRegistry meterRegistry) {
+    this.channel = channel;
+    this.buffer = buffer;
+    this.capacity = capacity;
+    this.index = new ConcurrentHashMap<>();
+    this.closed = false;
+    this.metricsFactory = new MetricsFactory("embeddingReuseStore", meterRegistry);
+    this.hits = this.metricsFactory.counter("hits");
+    this.misses = this.metricsFactory.counter("misses");
+    this.puts = this.metricsFactory.counter("puts");
+    this.evictions = this.metricsFactory.counter("evictions");
+    this.corruptRecords = this.metricsFactory.counter("corruptRecords");
+    this.metricsFactory.objectValueGauge("entries", this, EmbeddingReuseStore::size);
+    this.metricsFactory.objectValueGauge("capacityBytes", this, store -> store.capacity);
+  }
+
+  /**
+   * Opens the store in {@code directory}, creating the backing file with {@code capacityBytes} if
+   * it does not exist yet. An existing file is reused, and its entries become available for reuse
+   * immediately. A file with an unexpected header or a different capacity is discarded.
+   */
+  public static EmbeddingReuseStore open(
+      Path directory, long capacityBytes, MeterRegistry meterRegistry) throws IOException {
+    Check.checkArg(
+        capacityBytes > HEADER_SIZE + RECORD_HEADER_SIZE && capacityBytes <= Integer.MAX_VALUE,
+        "capacityBytes must be between %s and %s, got %s",
+        HEADER_SIZE + RECORD_HEADER_SIZE,
+        Integer.MAX_VALUE,
+        capacityBytes);
+    Files.createDirectories(directory);
+    Path file = directory.resolve(FILE_NAME);
+    FileChannel channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      boolean reuseExisting = channel.size() == capacityBytes;
+      if (!reuseExisting) {
+        channel.truncate(0);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+      EmbeddingReuseStore store =
+          new EmbeddingReuseStore(channel, buffer, (int) capacityBytes, meterRegistry);
+      store.initialize(reuseExisting);
+      return store;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Opens the store like {@link #open(Path, long, MeterRegistry)}, returning empty and logging
+   * instead of failing if the backing file cannot be opened. Reuse is an optimization, so failing
+   * to open the store should never prevent indexing.
+   */
+  public static Optional<EmbeddingReuseStore> tryOpen(
+      Path directory, long capacityBytes, MeterRegistry meterRegistry) {
+    try {
+      return Optional.of(open(directory, capacityBytes, meterRegistry));
+    } catch (IOException | RuntimeException e) {
+      FLOGGER.atWarning().withCause(e).log(
+          "Failed to open embedding reuse store in %s, embeddings will not be reused", directory);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Computes the hash identifying a model configuration for the purpose of embedding reuse. Two
+   * configurations that produce the same hash must produce interchangeable vectors, so every input
+   * that affects the generated vector must be part of {@code parts}.
+   */
+  public static String computeModelConfigHash(Object... parts) {
+    var hasher = Hashing.sha256().newHasher();
+    for (Object part : parts) {
+      hasher.putString(String.valueOf(part), StandardCharsets.UTF_8).putByte((byte) 0);
+    }
+    return hasher.hash().toString();
+  }
+
+  /** Returns the stored vector for the given model configuration and text hashes, if present. */
+  public Optional<Vector> get(String modelConfigHash, String textHash) {
+    return get(Key.create(modelConfigHash, textHash));
+  }
+
+  /** Returns the stored vector for the given key, if present. */
+  public Optional<Vector> get(Key key) {
+    Optional<byte[]> payload;
+    this.readLock.lock();
+    try {
+      if (this.closed) {
+        return Optional.empty();
+      }
+      Integer offset = this.index.get(key);
+      if (offset == null) {
+        this.misses.increment();
+        return Optional.empty();
+      }
+      payload = readPayload(offset, key);
+      if (payload.isEmpty()) {
+        this.index.remove(key, offset);
+        this.corruptRecords.increment();
+        this.misses.increment();
+        return Optional.empty();
+      }
+    } finally {
+      this.readLock.unlock();
+    }
+    this.hits.increment();
+    return Optional.of(
+        BsonVectorParser.parse(new BsonBinary(BsonVectorParser.VECTOR_SUB_TYPE, payload.get())));
+  }
+
+  /**
+   * Stores a vector for the given model configuration and text hashes, evicting the oldest records
+   * if the store is full. Vectors that don't fit into the store at all are silently dropped.
+   */
+  public void put(String modelConfigHash, String textHash, Vector vector) {
+    put(Key.create(modelConfigHash, textHash), vector);
+  }
+
+  /** Stores a vector for the given key, like {@link #put(String, String, Vector)}. */
+  public void put(Key key, Vector vector) {
+    if (this.closed || this.index.containsKey(key)) {
+      return;
+    }
+    byte[] payload = BsonVectorParser.encode(vector).getData();
+    int recordSize = RECORD_HEADER_SIZE + payload.length;
+    if (recordSize > this.capacity - HEADER_SIZE) {
+      return;
+    }
+
+    this.writeLock.lock();
+    try {
+      // Checked again, since another thread may have stored the key or closed the store.
+      if (!this.closed && !this.index.containsKey(key)) {
+        writeRecord(key, payload, recordSize);
+      }
+    } finally {
+      this.writeLock.unlock();
+    }
+  }
+
+  @GuardedBy("writeLock")
+  private void writeRecord(Key key, byte[] payload, int recordSize) {
+    if ((long) this.writePos + recordSize > this.capacity) {
+      // Wrap around: everything left over from the previous lap is dropped, and the lap that was
+      // just written becomes the oldest data.
+      evictRange(this.tailEnd);
+      this.tailEnd = this.writePos;
+      this.evictPos = HEADER_SIZE;
+      this.writePos = HEADER_SIZE;
+    }
+    evictRange(Math.min(this.writePos + recordSize, this.tailEnd));
+
+    writeRecord(this.writePos, key, payload);
+    this.index.put(key, this.writePos);
+    this.writePos += recordSize;
+    if (this.writePos >= this.tailEnd) {
+      this.evictPos = this.writePos;
+      this.tailEnd = this.writePos;
+    }
+    writeHeader();
+    this.puts.increment();
+  }
+
+  /** Returns the number of vectors currently held by the store. */
+  public int size() {
+    return this.index.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.writeLock.lock();
+    try {
+      if (this.closed) {
+        return;
+      }
+      this.closed = true;
+      this.index.clear();
+      this.buffer.force();
+      this.channel.close();
+      this.metricsFactory.close();
+    } finally {
+      this.writeLock.unlock();
+    }
+  }
+
+  private void initialize(boolean reuseExisting) {
+    this.writeLock.lock();
+    try {
+      initializeLocked(reuseExisting);
+    } finally {
+      this.writeLock.unlock();
+    }
+  }
+
+  @GuardedBy("writeLock")
+  private void initializeLocked(boolean reuseExisting) {
+    if (reuseExisting
+        && this.buffer.getInt(0) == FILE_MAGIC
+        && this.buffer.getInt(4) == FILE_VERSION
+        && this.buffer.getLong(CAPACITY_OFFSET) == this.capacity) {
+      this.writePos = (int) this.buffer.getLong(WRITE_POS_OFFSET);
+      this.evictPos = (int) this.buffer.getLong(EVICT_POS_OFFSET);
+      this.tailEnd = (int) this.buffer.getLong(TAIL_END_OFFSET);
+      if (isValidHeader()) {
+        // Scan the older lap first so that records in the current lap take precedence.
+        this.tailEnd = scan(this.evictPos, this.tailEnd);
+        this.writePos = scan(HEADER_SIZE, this.writePos);
+        writeHeader();
+        FLOGGER.atInfo().log("Opened embedding reuse store with %d entries", this.index.size());
+        return;
+      }
+      FLOGGER.atWarning().log("Embedding reuse store header is inconsistent, discarding contents");
+      this.index.clear();
+    }
+    this.buffer.putInt(0, FILE_MAGIC);
+    this.buffer.putInt(4, FILE_VERSION);
+    this.buffer.putLong(CAPACITY_OFFSET, this.capacity);
+    this.writePos = HEADER_SIZE;
+    this.evictPos = HEADER_SIZE;
+    this.tailEnd = HEADER_SIZE;
+    writeHeader();
+  }
+
+  @GuardedBy("writeLock")
+  private boolean isValidHeader() {
+    return this.writePos >= HEADER_SIZE
+        && this.writePos <= this.capacity
+        && this.evictPos >= this.writePos
+        && this.tailEnd >= this.evictPos
+        && this.tailEnd <= this.capacity;
+  }
+
+  /**
+   * Indexes all valid records in {@code [from, to)}, stopping at the first invalid record. Returns
+   * the end of the last valid record.
+   */
+  @GuardedBy("writeLock")
+  private int scan(int from, int to) {
+    @Var int position = from;
+    while (position + RECORD_HEADER_SIZE <= to) {
+      if (this.buffer.getInt(position) != RECORD_MAGIC) {
+        break;
+      }
+      Key key = new Key(this.buffer.getLong(position + 8), this.buffer.getLong(position + 16));
+      int length = this.buffer.getInt(position + 24);
+      if (length < 0 || position + RECORD_HEADER_SIZE + length > to) {
+        break;
+      }
+      if (readPayload(position, key).isEmpty()) {
+        this.corruptRecords.increment();
+        break;
+      }
+      this.index.put(key, position);
+      position += RECORD_HEADER_SIZE + length;
+    }
+    return position;
+  }
+
+  /** Evicts records starting at {@code evictPos} until {@code evictPos >= until}. */
+  @GuardedBy("writeLock")
+  private void evictRange(int until) {
+    while (this.evictPos < until) {
+      int length = this.buffer.getInt(this.evictPos + 24);
+      if (this.buffer.getInt(this.evictPos) != RECORD_MAGIC || length < 0) {
+        // Nothing readable is left in this range, so there is nothing left to un-index either.
+        this.evictPos = until;
+        return;
+      }
+      Key key =
+          new Key(this.buffer.getLong(this.evictPos + 8), this.buffer.getLong(this.evictPos + 16));
+      Integer indexed = this.index.get(key);
+      if (indexed != null && indexed == this.evictPos) {
+        this.index.remove(key);
+        this.evictions.increment();
+      }
+      this.evictPos += RECORD_HEADER_SIZE + length;
+    }
+  }
+
+  @GuardedBy("writeLock")
+  private void writeRecord(int position, Key key, byte[] payload) {
+    this.buffer.putInt(position, RECORD_MAGIC);
+    this.buffer.putLong(position + 8, key.high());
+    this.buffer.putLong(position + 16, key.low());
+    this.buffer.putInt(position + 24, payload.length);
+    this.buffer.put(position + RECORD_HEADER_SIZE, payload);
+    this.buffer.putInt(position + 4, checksum(key, payload));
+  }
+
+  /** Reads the payload of a record, which requires either lock. */
+  private Optional<byte[]> readPayload(int position, Key key) {
+    int length = this.buffer.getInt(position + 24);
+    if (this.buffer.getInt(position) != RECORD_MAGIC
+        || this.buffer.getLong(position + 8) != key.high()
+        || this.buffer.getLong(position + 16) != key.low()
+        || length < 0
+        || position + RECORD_HEADER_SIZE + length > this.capacity) {
+      return Optional.empty();
+    }
+    byte[] payload = new byte[length];
+    this.buffer.get(position + RECORD_HEADER_SIZE, payload);
+    if (this.buffer.getInt(position + 4) != checksum(key, payload)) {
+      return Optional.empty();
+    }
+    return Optional.of(payload);
+  }
+
+  @GuardedBy("writeLock")
+  private void writeHeader() {
+    this.buffer.putLong(WRITE_POS_OFFSET, this.writePos);
+    this.buffer.putLong(EVICT_POS_OFFSET, this.evictPos);
+    this.buffer.putLong(TAIL_END_OFFSET, this.tailEnd);
+  }
+
+  private static int checksum(Key key, byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(ByteBuffer.allocate(Long.BYTES * 2).putLong(key.high()).putLong(key.low()).flip());
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  /**
+   * The 128-bit content address of a stored vector. Keeping the on-heap key to two longs keeps the
+   * index small even when the store holds millions of vectors. Callers that look a vector up and
+   * then store it create the key once for both.
+   */
+  public record Key(long high, long low) {
+    /** Hashes the model configuration and text hashes into a key. */
+    public static Key create(String modelConfigHash, String textHash) {
+      HashCode hash =
+          Hashing.sha256()
+              .newHasher()
+              .putString(modelConfigHash, StandardCharsets.UTF_8)
+              .putByte((byte) 0)
+              .putString(textHash, StandardCharsets.UTF_8)
+              .hash();
+      ByteBuffer bytes = ByteBuffer.wrap(hash.asBytes());
+      return new Key(bytes.getLong(), bytes.getLong());
+    }
+  }
+}
@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import net.jodah.failsafe.Failsafe;
@@ -327,7 +328,7 @@ public class EmbeddingProviderManager {
         context.collectionName());
     return this.failsafeExecutors
         .get(serviceTier)
-        .getAsync(
+        .getStageAsync(
             () -> {
               EmbeddingModelConfig.ConsolidatedWorkloadParams params =
                   getWorkloadParamsByTier(serviceTier);
@@ -344,9 +345,7 @@ public class EmbeddingProviderManager {
                 }
               }
               this.batchSizeDistributions.get(serviceTier).record(texts.size());
-              return Timed.supplier(
-                  this.requestTimers.get(serviceTier),
-                  () -> this.clients.get(serviceTier).embed(texts, context));
+              return timedAttempt(serviceTier, texts, context);
             })
         .whenComplete(
             (result, exception) -> {
@@ -369,4 +368,30 @@ public class EmbeddingProviderManager {
             });
   }
 
+  /**
+   * Issues one attempt through the client's asynchronous path, so that no scheduler thread waits on
+   * the provider while the request is in flight. Successful attempts are recorded in the request
+   * timer, and failures are surfaced unwrapped so the retry policy can classify them.
+   */
+  private CompletableFuture<List<VectorOrError>> timedAttempt(
+      ServiceTier serviceTier, List<String> texts, EmbeddingRequestContext context) {
+    Timer.Sample sample = Timer.start();
+    CompletableFuture<List<VectorOrError>> attempt = new CompletableFuture<>();
+    this.clients
+        .get(serviceTier)
+        .embedAsync(texts, context)
+        .whenComplete(
+            (result, failure) -> {
+              if (failure == null) {
+                sample.stop(this.requestTimers.get(serviceTier));
+                attempt.complete(result);
+              } else {
+                attempt.completeExceptionally(
+                    failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause()
+                        : failure);
+              }
+            });
+    return attempt;
+  }
 }
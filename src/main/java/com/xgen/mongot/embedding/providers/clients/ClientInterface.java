@@ -7,6 +7,7 @@ import com.xgen.mongot.embedding.exceptions.EmbeddingProviderTransientException;
 import com.xgen.mongot.embedding.providers.configs.EmbeddingModelConfig;
 import com.xgen.mongot.embedding.providers.congestion.DynamicSemaphore;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 // TODO(CLOUDP-296846): Investigate whether we want to support multiple embedding types other than
 // floats/double
@@ -14,6 +15,23 @@ public interface ClientInterface {
   List<VectorOrError> embed(List<String> inputs, EmbeddingRequestContext context)
       throws EmbeddingProviderTransientException, EmbeddingProviderNonTransientException;
 
+  /**
+   * Embeds the inputs without blocking on the provider's response. Failures complete the returned
+   * future exceptionally with the same exceptions {@link #embed} throws.
+   *
+   * <p>The default implementation calls {@link #embed} on the calling thread; clients that can
+   * issue requests asynchronously override it so that waiting on the provider does not hold a
+   * thread.
+   */
+  default CompletableFuture<List<VectorOrError>> embedAsync(
+      List<String> inputs, EmbeddingRequestContext context) {
+    try {
+      return CompletableFuture.completedFuture(embed(inputs, context));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
   void updateConfig(EmbeddingModelConfig.ConsolidatedWorkloadParams serviceParams);
 
   /** Sets an optional congestion control semaphore. Only VoyageClient overrides this. */
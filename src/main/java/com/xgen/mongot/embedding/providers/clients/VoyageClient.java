@@ -1,6 +1,7 @@
 package com.xgen.mongot.embedding.providers.clients;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
 import com.google.errorprone.annotations.Var;
 import com.xgen.mongot.embedding.EmbeddingRequestContext;
 import com.xgen.mongot.embedding.MongotMetadata;
@@ -13,16 +14,18 @@ import com.xgen.mongot.embedding.providers.configs.EmbeddingModelConfig;
 import com.xgen.mongot.embedding.providers.configs.EmbeddingServiceConfig;
 import com.xgen.mongot.embedding.providers.configs.VoyageApiSchema;
 import com.xgen.mongot.embedding.providers.congestion.DynamicSemaphore;
+import com.xgen.mongot.embedding.providers.congestion.DynamicSemaphorePolicy;
 import com.xgen.mongot.index.definition.quantization.VectorAutoEmbedQuantization;
 import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.mongot.util.Check;
-import com.xgen.mongot.util.bson.JsonCodec;
-import com.xgen.mongot.util.bson.parser.BsonDocumentParser;
-import com.xgen.mongot.util.bson.parser.BsonParseException;
 import com.xgen.mongot.util.concurrent.OneShotSingleThreadExecutor;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.ConnectException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -30,6 +33,7 @@ import java.net.http.HttpConnectTimeoutException;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -37,6 +41,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLException;
 import org.bson.BsonDocument;
@@ -52,6 +61,12 @@ public class VoyageClient implements ClientInterface {
   private static final Logger LOG = LoggerFactory.getLogger(VoyageClient.class);
   private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
 
+  /**
+   * Upper bound on requests issued through {@link #embedAsync} that are awaiting a response when
+   * congestion control is not enabled. Requests beyond it queue without holding a thread.
+   */
+  @VisibleForTesting static final int MAX_IN_FLIGHT_ASYNC_REQUESTS = 256;
+
   /** Wall-clock interval after which the {@link HttpClient} is replaced to refresh connections. */
   private static final Duration HTTP_CLIENT_REFRESH_INTERVAL = Duration.ofMinutes(10);
 
@@ -67,6 +82,8 @@ public class VoyageClient implements ClientInterface {
   private final Counter congestionEventCounter;
   private final Counter aimdSuccessCounter;
   private @Nullable DynamicSemaphore congestionSemaphore;
+  private final DynamicSemaphore inFlightAsyncRequests =
+      new DynamicSemaphore(DynamicSemaphorePolicy.fixed(MAX_IN_FLIGHT_ASYNC_REQUESTS));
 
   private boolean isDedicatedCluster;
   private final boolean attachBillingMetadata;
@@ -154,31 +171,7 @@ public class VoyageClient implements ClientInterface {
         return inputs.stream().map(ignored -> VectorOrError.EMPTY_INPUT_ERROR).toList();
       }
 
-      // Extract tenant ID if needed and select appropriate credentials
-      Optional<String> tenantId = extractTenantIdIfNeeded(context);
-      String apiToken = selectApiToken(tenantId);
-
-      LOG.debug(
-          "Sending Voyage embedding request: model={}, endpoint={},"
-              + " inputCount={}, tier={}, database={}, collection={}",
-          this.modelId,
-          this.endpoint,
-          filteredInput.size(),
-          this.serviceTier,
-          context.database(),
-          context.collectionName());
-
-      HttpRequest request;
-      try {
-        request = buildRequest(filteredInput, apiToken, context);
-      } catch (IllegalArgumentException e) {
-        String message = e.getMessage();
-        String cleanedMessage = message != null ? removeApiKeyFromHttpHeader(message) : null;
-        IllegalArgumentException cleanedException =
-            new IllegalArgumentException(cleanedMessage, e.getCause());
-        LOG.error("HTTP Request Error", cleanedException);
-        throw new EmbeddingProviderTransientException(cleanedException);
-      }
+      HttpRequest request = prepareRequest(filteredInput, context);
       renewHttpClientIfStale();
       HttpClient clientForRequest = this.voyageHttpClient;
       try {
@@ -189,7 +182,13 @@ public class VoyageClient implements ClientInterface {
             this.modelId,
             response.statusCode(),
             filteredInput.size());
-        var vectorResponse = extractVectorsFromResponse(response, inputs, context);
+        var vectorResponse =
+            extractVectorsFromResponse(
+                response.statusCode(),
+                response::body,
+                () -> new StringReader(response.body()),
+                inputs,
+                context);
         isAck = true;
         return vectorResponse;
       } catch (HttpTimeoutException e) {
@@ -219,21 +218,196 @@ public class VoyageClient implements ClientInterface {
       }
     } finally {
       if (this.useFlexTier && this.congestionSemaphore != null) {
-        if (isAck != null) {
-          if (isAck) {
-            this.aimdSuccessCounter.increment();
-          } else {
-            this.congestionEventCounter.increment();
-            LOG.debug("AIMD congestion signal received, reducing window");
-          }
-          this.congestionSemaphore.release(isAck);
-        } else {
-          this.congestionSemaphore.release();
-        }
+        releaseCongestionPermit(this.congestionSemaphore, isAck);
       }
     }
   }
 
+  /**
+   * Issues the request with {@link HttpClient#sendAsync} so that no thread waits on Voyage while it
+   * is in flight.
+   *
+   * <p>A permit is acquired asynchronously before sending: from the congestion control semaphore
+   * when it is enabled, and otherwise from a per-client semaphore that bounds the number of
+   * in-flight requests. Callers that exceed the bound are queued rather than blocked. The response
+   * body is received as bytes and decoded by {@link VoyageEmbedResponseReader} without building a
+   * document.
+   */
+  @Override
+  public CompletableFuture<List<VectorOrError>> embedAsync(
+      List<String> inputs, EmbeddingRequestContext context) {
+    List<String> filteredInput = inputs.stream().filter(text -> !text.isEmpty()).toList();
+    if (filteredInput.isEmpty()) {
+      return CompletableFuture.completedFuture(
+          inputs.stream().map(ignored -> VectorOrError.EMPTY_INPUT_ERROR).toList());
+    }
+
+    HttpRequest request;
+    try {
+      request = prepareRequest(filteredInput, context);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+
+    boolean congestionControlled = this.useFlexTier && this.congestionSemaphore != null;
+    DynamicSemaphore permits =
+        congestionControlled ? this.congestionSemaphore : this.inFlightAsyncRequests;
+    renewHttpClientIfStale();
+    HttpClient clientForRequest = this.voyageHttpClient;
+
+    CompletableFuture<List<VectorOrError>> result = new CompletableFuture<>();
+    permits
+        .acquireAsync()
+        .thenCompose(
+            ignored -> sendAsyncWithTimeout(clientForRequest, request, DEFAULT_TIMEOUT))
+        .whenComplete(
+            (response, failure) -> {
+              @Var Boolean isAck = null;
+              try {
+                isAck =
+                    completeAsyncEmbed(
+                        result, response, failure, clientForRequest, inputs, context);
+              } finally {
+                if (congestionControlled) {
+                  releaseCongestionPermit(permits, isAck);
+                } else {
+                  permits.release();
+                }
+              }
+            });
+    return result;
+  }
+
+  /**
+   * Sends the request asynchronously, failing with a {@link TimeoutException} if no response
+   * arrives within {@code timeout}. The exchange is cancelled when the timeout fires, so that the
+   * connection is not held by a request nobody waits for anymore.
+   */
+  @VisibleForTesting
+  static CompletableFuture<HttpResponse<byte[]>> sendAsyncWithTimeout(
+      HttpClient client, HttpRequest request, Duration timeout) {
+    CompletableFuture<HttpResponse<byte[]>> exchange =
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    // Time out a copy, as completing the exchange's own future does not abort the exchange.
+    return exchange
+        .copy()
+        .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete(
+            (response, failure) -> {
+              if (failure != null) {
+                exchange.cancel(true);
+              }
+            });
+  }
+
+  /**
+   * Completes {@code result} from the outcome of an asynchronous request, mapping failures to the
+   * same exceptions as {@link #embed}.
+   *
+   * @return whether the outcome is a congestion control ack, nack, or neither ({@code null})
+   */
+  private @Nullable Boolean completeAsyncEmbed(
+      CompletableFuture<List<VectorOrError>> result,
+      @Nullable HttpResponse<byte[]> response,
+      @Nullable Throwable failure,
+      HttpClient clientForRequest,
+      List<String> inputs,
+      EmbeddingRequestContext context) {
+    if (failure != null) {
+      Throwable cause =
+          failure instanceof CompletionException && failure.getCause() != null
+              ? failure.getCause()
+              : failure;
+      if (cause instanceof HttpConnectTimeoutException
+          || (cause instanceof IOException && indicatesConnectionLayerFailure(cause))) {
+        renewHttpClientAfterConnectionFailure(cause, clientForRequest);
+      }
+      LOG.error("Got an error when sending voyage API request", cause);
+      result.completeExceptionally(new EmbeddingProviderTransientException(cause));
+      return cause instanceof HttpTimeoutException || cause instanceof TimeoutException
+          ? false
+          : null;
+    }
+
+    LOG.debug(
+        "Received Voyage embedding response: model={}, statusCode={}, inputCount={}",
+        this.modelId,
+        response.statusCode(),
+        inputs.size());
+    byte[] body = response.body();
+    try {
+      result.complete(
+          extractVectorsFromResponse(
+              response.statusCode(),
+              Suppliers.memoize(() -> new String(body, StandardCharsets.UTF_8)),
+              () -> new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8),
+              inputs,
+              context));
+      return true;
+    } catch (HttpTimeoutException e) {
+      LOG.error("Got timeout error when sending voyage API request", e);
+      result.completeExceptionally(new EmbeddingProviderTransientException(e));
+      return false;
+    } catch (EmbeddingProviderRateLimitException e) {
+      LOG.error("Got rate-limit error when sending voyage API request", e);
+      result.completeExceptionally(new EmbeddingProviderTransientException(e));
+      return false;
+    } catch (RuntimeException e) {
+      LOG.error("Got an error when processing voyage API response", e);
+      result.completeExceptionally(e);
+      return null;
+    }
+  }
+
+  /**
+   * Resolves credentials for the request and builds it, redacting the API key from any error.
+   */
+  private HttpRequest prepareRequest(List<String> filteredInput, EmbeddingRequestContext context)
+      throws EmbeddingProviderTransientException {
+    // Extract tenant ID if needed and select appropriate credentials
+    Optional<String> tenantId = extractTenantIdIfNeeded(context);
+    String apiToken = selectApiToken(tenantId);
+
+    LOG.debug(
+        "Sending Voyage embedding request: model={}, endpoint={},"
+            + " inputCount={}, tier={}, database={}, collection={}",
+        this.modelId,
+        this.endpoint,
+        filteredInput.size(),
+        this.serviceTier,
+        context.database(),
+        context.collectionName());
+
+    try {
+      return buildRequest(filteredInput, apiToken, context);
+    } catch (IllegalArgumentException e) {
+      String message = e.getMessage();
+      String cleanedMessage = message != null ? removeApiKeyFromHttpHeader(message) : null;
+      IllegalArgumentException cleanedException =
+          new IllegalArgumentException(cleanedMessage, e.getCause());
+      LOG.error("HTTP Request Error", cleanedException);
+      throw new EmbeddingProviderTransientException(cleanedException);
+    }
+  }
+
+  /**
+   * Releases a congestion control permit, applying the policy when the request produced an ack or
+   * nack.
+   */
+  private void releaseCongestionPermit(DynamicSemaphore semaphore, @Nullable Boolean isAck) {
+    if (isAck != null) {
+      if (isAck) {
+        this.aimdSuccessCounter.increment();
+      } else {
+        this.congestionEventCounter.increment();
+        LOG.debug("AIMD congestion signal received, reducing window");
+      }
+      semaphore.release(isAck);
+    } else {
+      semaphore.release();
+    }
+  }
+
   /**
    * Extract tenant ID from the database name if this is an MTM cluster. For dedicated clusters,
    * returns empty. For MTM clusters, extracts tenant ID from database string.
@@ -567,19 +741,22 @@ public class VoyageClient implements ClientInterface {
   }
 
   private List<VectorOrError> extractVectorsFromResponse(
-      HttpResponse<String> response, List<String> inputs, EmbeddingRequestContext context)
+      int statusCode,
+      Supplier<String> body,
+      Supplier<Reader> json,
+      List<String> inputs,
+      EmbeddingRequestContext context)
       throws EmbeddingProviderTransientException,
           EmbeddingProviderBatchingException,
           HttpTimeoutException {
-    int statusCode = response.statusCode();
     if (statusCode == 400) {
       String errorMessage =
           String.format(
               "Got invalid request, fail fast and give up retries." + " Response body: %s.",
-              response.body());
+              body.get());
       // TODO(CLOUDP-344098): Formalize the voyage response format or error code to avoid
       // miscategorizing the oversized batch request (VOYAGE-471)
-      if (response.body().contains(BATCH_SIZE_TOO_LARGE_ERROR_MESSAGE)) {
+      if (body.get().contains(BATCH_SIZE_TOO_LARGE_ERROR_MESSAGE)) {
         throw new EmbeddingProviderBatchingException(errorMessage);
       } else {
         LOG.warn(errorMessage);
@@ -590,38 +767,31 @@ public class VoyageClient implements ClientInterface {
     }
     if (statusCode == 429) {
       throw new EmbeddingProviderRateLimitException(
-          String.format("Rate limit exceeded (HTTP 429). Response body: %s", response.body()));
+          String.format("Rate limit exceeded (HTTP 429). Response body: %s", body.get()));
     }
     if (statusCode == 408) {
       throw new HttpTimeoutException(
-          String.format("Timeout exception (HTTP 408). Response body: %s", response.body()));
+          String.format("Timeout exception (HTTP 408). Response body: %s", body.get()));
     }
     if (statusCode > 400) {
       throw new EmbeddingProviderTransientException(
           String.format("Got non OK status from response, status code: %s", statusCode));
     }
-    try {
-      String outputDataType = getOutputDataType(context.autoEmbedQuantization());
-      var embedResponse =
-          VoyageApiSchema.EmbedResponse.fromBson(
-              BsonDocumentParser.fromRoot(JsonCodec.fromJson(response.body()))
-                  .allowUnknownFields(true)
-                  .build(),
-              outputDataType);
-      this.inputTokenDistribution.record(embedResponse.embedUsage.totalTokens);
-      List<VectorOrError> results = new ArrayList<>();
-      var iterator = embedResponse.data.iterator();
-      for (String input : inputs) {
-        if (input.isEmpty()) {
-          results.add(VectorOrError.EMPTY_INPUT_ERROR);
-        } else {
-          results.add(new VectorOrError(iterator.next().embedding));
-        }
+    int nonEmptyInputs = (int) inputs.stream().filter(input -> !input.isEmpty()).count();
+    VoyageEmbedResponseReader.Response embedResponse =
+        VoyageEmbedResponseReader.read(
+            json.get(), getOutputDataType(context.autoEmbedQuantization()), nonEmptyInputs);
+    this.inputTokenDistribution.record(embedResponse.totalTokens());
+    List<VectorOrError> results = new ArrayList<>();
+    var iterator = embedResponse.embeddings().iterator();
+    for (String input : inputs) {
+      if (input.isEmpty()) {
+        results.add(VectorOrError.EMPTY_INPUT_ERROR);
+      } else {
+        results.add(new VectorOrError(iterator.next()));
       }
-      return results;
-    } catch (BsonParseException e) {
-      throw new EmbeddingProviderTransientException(e);
     }
+    return results;
   }
 
   public static String getOutputDataType(VectorAutoEmbedQuantization quantization) {
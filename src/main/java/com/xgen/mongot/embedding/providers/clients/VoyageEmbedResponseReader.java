@@ -0,0 +1,111 @@
+package com.xgen.mongot.embedding.providers.clients;
+
+import com.google.errorprone.annotations.Var;
+import com.xgen.mongot.embedding.exceptions.EmbeddingProviderTransientException;
+import com.xgen.mongot.embedding.providers.configs.VoyageApiSchema;
+import com.xgen.mongot.util.bson.Vector;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+import org.bson.BSONException;
+import org.bson.BsonType;
+import org.bson.json.JsonParseException;
+import org.bson.json.JsonReader;
+
+/**
+ * Reads a Voyage embedding response by streaming over its JSON tokens.
+ *
+ * <p>Unlike parsing with {@link VoyageApiSchema.EmbedResponse#fromBson}, no intermediate {@code
+ * BsonDocument} is built: each base64 {@code embedding} string is decoded straight into its vector
+ * as it is read, and fields that are not needed are skipped.
+ */
+final class VoyageEmbedResponseReader {
+
+  record Response(List<Vector> embeddings, int totalTokens) {}
+
+  private VoyageEmbedResponseReader() {}
+
+  /**
+   * Reads a response that is expected to contain exactly {@code expectedEmbeddings} embeddings.
+   * Embeddings are returned ordered by their {@code index} field.
+   */
+  static Response read(Reader json, String outputDataType, int expectedEmbeddings)
+      throws EmbeddingProviderTransientException {
+    Vector[] embeddings = new Vector[expectedEmbeddings];
+    @Var int totalTokens = 0;
+    try (JsonReader reader = new JsonReader(json)) {
+      reader.readStartDocument();
+      while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+        switch (reader.readName()) {
+          case "data" -> readData(reader, outputDataType, embeddings);
+          case "usage" -> totalTokens = readTotalTokens(reader);
+          default -> reader.skipValue();
+        }
+      }
+      reader.readEndDocument();
+    } catch (JsonParseException | BSONException | IllegalArgumentException e) {
+      throw new EmbeddingProviderTransientException(e);
+    }
+
+    for (int i = 0; i < embeddings.length; i++) {
+      if (embeddings[i] == null) {
+        throw new EmbeddingProviderTransientException(
+            String.format(
+                "Voyage response is missing the embedding at index %s of %s",
+                i, expectedEmbeddings));
+      }
+    }
+    return new Response(Arrays.asList(embeddings), totalTokens);
+  }
+
+  private static void readData(JsonReader reader, String outputDataType, Vector[] embeddings) {
+    reader.readStartArray();
+    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+      @Var String embedding = null;
+      @Var int index = -1;
+      reader.readStartDocument();
+      while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+        switch (reader.readName()) {
+          case "embedding" -> embedding = reader.readString();
+          case "index" -> index = readInt(reader);
+          default -> reader.skipValue();
+        }
+      }
+      reader.readEndDocument();
+
+      if (embedding == null || index < 0 || index >= embeddings.length) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Voyage response contains an invalid embedding entry (index: %s, expected: %s)",
+                index, embeddings.length));
+      }
+      embeddings[index] = VoyageApiSchema.decodeBase64Embedding(embedding, outputDataType);
+    }
+    reader.readEndArray();
+  }
+
+  private static int readTotalTokens(JsonReader reader) {
+    @Var int totalTokens = 0;
+    reader.readStartDocument();
+    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+      if (reader.readName().equals("total_tokens")) {
+        totalTokens = readInt(reader);
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.readEndDocument();
+    return totalTokens;
+  }
+
+  private static int readInt(JsonReader reader) {
+    return switch (reader.getCurrentBsonType()) {
+      case INT32 -> reader.readInt32();
+      case INT64 -> (int) reader.readInt64();
+      case DOUBLE -> (int) reader.readDouble();
+      default ->
+          throw new IllegalArgumentException(
+              "Expected a number but found " + reader.getCurrentBsonType());
+    };
+  }
+}
@@ -252,34 +252,13 @@ public class VoyageApiSchema {
       if (!value.isString()) {
         return context.handleUnexpectedType(TypeDescription.STRING, value.getBsonType());
       }
-      String base64Vector = value.asString().getValue();
+      String dtype =
+          Optional.ofNullable(VOYAGE_PARSE_OUTPUT_DTYPE.get())
+              .orElse(VoyageEmbeddingDType.FLOAT.getName());
       try {
-        byte[] decoded = Base64.getDecoder().decode(base64Vector);
-        ByteBuffer byteBuffer = ByteBuffer.wrap(decoded).order(ByteOrder.LITTLE_ENDIAN);
-        String dtype =
-            Optional.ofNullable(VOYAGE_PARSE_OUTPUT_DTYPE.get())
-                .orElse(VoyageEmbeddingDType.FLOAT.getName())
-                .toLowerCase(Locale.ROOT);
-
-        VoyageEmbeddingDType embeddingDType = VoyageEmbeddingDType.fromName(dtype).orElse(null);
-        if (embeddingDType == null) {
-          return context.handleSemanticError(
-              "Unsupported Voyage output_dtype for embedding decode: " + dtype);
-        }
-
-        return switch (embeddingDType) {
-          case FLOAT -> {
-            if (byteBuffer.remaining() % Float.BYTES != 0) {
-              yield context.handleSemanticError(
-                  "float embedding byte length is not a multiple of 4");
-            }
-            yield parseFloatVector(byteBuffer);
-          }
-          case INT8 -> parseInt8Vector(byteBuffer);
-          case BINARY -> parseVoyageBitPackedVector(byteBuffer);
-        };
+        return decodeBase64Embedding(value.asString().getValue(), dtype);
       } catch (IllegalArgumentException e) {
-        return context.handleSemanticError("Invalid base64 for embedding");
+        return context.handleSemanticError(e.getMessage());
       }
     }
   }
@@ -357,6 +336,41 @@ public class VoyageApiSchema {
     }
   }
 
+  /**
+   * Decodes a base64 {@code embedding} string returned by Voyage for the given {@code
+   * output_dtype}, without going through an intermediate {@link BsonValue}.
+   *
+   * @throws IllegalArgumentException if the string is not valid base64, the dtype is not
+   *     supported, or the decoded length does not match the dtype
+   */
+  public static Vector decodeBase64Embedding(String base64Vector, String outputDataType) {
+    String dtype = outputDataType.toLowerCase(Locale.ROOT);
+    VoyageEmbeddingDType embeddingDType =
+        VoyageEmbeddingDType.fromName(dtype)
+            .orElseThrow(
+                () ->
+                    new IllegalArgumentException(
+                        "Unsupported Voyage output_dtype for embedding decode: " + dtype));
+    byte[] decoded;
+    try {
+      decoded = Base64.getDecoder().decode(base64Vector);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid base64 for embedding", e);
+    }
+    ByteBuffer byteBuffer = ByteBuffer.wrap(decoded).order(ByteOrder.LITTLE_ENDIAN);
+    return switch (embeddingDType) {
+      case FLOAT -> {
+        if (byteBuffer.remaining() % Float.BYTES != 0) {
+          throw new IllegalArgumentException(
+              "float embedding byte length is not a multiple of 4");
+        }
+        yield parseFloatVector(byteBuffer);
+      }
+      case INT8 -> parseInt8Vector(byteBuffer);
+      case BINARY -> parseVoyageBitPackedVector(byteBuffer);
+    };
+  }
+
   private static Vector parseFloatVector(ByteBuffer bsonInput) {
     FloatBuffer floatBuffer = bsonInput.asFloatBuffer();
     float[] vector = new float[floatBuffer.remaining()];
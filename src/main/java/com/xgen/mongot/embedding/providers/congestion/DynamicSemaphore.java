@@ -1,6 +1,13 @@
 package com.xgen.mongot.embedding.providers.congestion;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntSupplier;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
@@ -12,6 +19,11 @@ import org.slf4j.LoggerFactory;
  *
  * <p>Unlike a standard Semaphore, the total number of permits can change based on feedback from
  * request outcomes, enabling adaptive flow control that responds to server congestion signals.
+ *
+ * <p>Permits can be acquired either by blocking the calling thread with {@link #acquire()} or
+ * asynchronously with {@link #acquireAsync()}, which queues the caller instead of a thread so that
+ * the number of in-flight requests rather than the number of threads is bounded. Both kinds of
+ * acquirers wait in a single queue, and are granted permits in arrival order.
  */
 @ThreadSafe
 public class DynamicSemaphore {
@@ -44,6 +56,10 @@ public class DynamicSemaphore {
   @GuardedBy("lock")
   private int usedPermits;
 
+  /** Acquirers waiting for a permit, in arrival order. */
+  @GuardedBy("lock")
+  private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
   private final DynamicSemaphorePolicy policy;
 
   /**
@@ -58,19 +74,27 @@ public class DynamicSemaphore {
   }
 
   /**
-   * Acquires a permit. If no permits are available, the thread blocks until one is released.
+   * Acquires a permit. If no permits are available, or other acquirers are already waiting for
+   * one, the thread blocks until it is granted a permit.
    *
    * @return the number of permits currently in use after acquisition
    * @throws InterruptedException if the thread is interrupted while waiting
    */
   public int acquire() throws InterruptedException {
-    synchronized (this.lock) {
-      this.totalPermits = this.policy.onAcquire();
-      while (this.usedPermits >= this.totalPermits) {
-        this.lock.wait();
+    CompletableFuture<Void> permit = acquireAsync();
+    try {
+      permit.get();
+    } catch (InterruptedException e) {
+      if (!permit.cancel(false)) {
+        // The permit was granted before the request could be withdrawn.
+        release();
       }
-      return ++this.usedPermits;
+      throw e;
+    } catch (ExecutionException e) {
+      // Permits are only ever granted, or withdrawn by their acquirer.
+      throw new AssertionError(e);
     }
+    return getUsedPermits();
   }
 
   /**
@@ -79,8 +103,8 @@ public class DynamicSemaphore {
    * @return the number of permits in use if successful, -1 if no permits available
    */
   public int tryAcquire() {
+    updateTotalPermits(this.policy::onAcquire);
     synchronized (this.lock) {
-      this.totalPermits = this.policy.onAcquire();
       if (this.usedPermits < this.totalPermits) {
         return ++this.usedPermits;
       }
@@ -88,6 +112,29 @@ public class DynamicSemaphore {
     }
   }
 
+  /**
+   * Acquires a permit without blocking the calling thread. The returned future completes once a
+   * permit has been granted, which may happen on the thread that releases a permit; the caller
+   * then owns the permit and must release it.
+   *
+   * <p>Cancelling the returned future before it completes withdraws the request; if a permit was
+   * already handed to a cancelled waiter it is returned to the semaphore.
+   *
+   * @return a future that completes when a permit has been acquired
+   */
+  public CompletableFuture<Void> acquireAsync() {
+    updateTotalPermits(this.policy::onAcquire);
+    synchronized (this.lock) {
+      if (this.waiters.isEmpty() && this.usedPermits < this.totalPermits) {
+        this.usedPermits++;
+        return CompletableFuture.completedFuture(null);
+      }
+      CompletableFuture<Void> waiter = new CompletableFuture<>();
+      this.waiters.addLast(waiter);
+      return waiter;
+    }
+  }
+
   /**
    * Releases a permit, returning it to the semaphore and signaling waiting threads.
    *
@@ -96,22 +143,7 @@ public class DynamicSemaphore {
    * @return the result containing the updated permit counts
    */
   public ReleaseResult release(boolean isAck) {
-    synchronized (this.lock) {
-      if (this.usedPermits <= 0) {
-        LOG.warn(
-            "Cannot release permit: no permits are currently in use (usedPermits="
-                + this.usedPermits
-                + ")");
-        return new ReleaseResult(this.totalPermits, this.usedPermits);
-      }
-      this.usedPermits--;
-      this.totalPermits = this.policy.onRelease(isAck);
-
-      if (this.usedPermits < this.totalPermits) {
-        this.lock.notifyAll();
-      }
-      return new ReleaseResult(this.totalPermits, this.usedPermits);
-    }
+    return release(() -> this.policy.onRelease(isAck));
   }
 
   /**
@@ -121,6 +153,12 @@ public class DynamicSemaphore {
    * @return the result containing the updated permit counts
    */
   public ReleaseResult release() {
+    return release(this.policy::getTotalPermits);
+  }
+
+  private ReleaseResult release(IntSupplier updatedTotalPermits) {
+    List<CompletableFuture<Void>> granted;
+    ReleaseResult result;
     synchronized (this.lock) {
       if (this.usedPermits <= 0) {
         LOG.warn(
@@ -130,15 +168,52 @@ public class DynamicSemaphore {
         return new ReleaseResult(this.totalPermits, this.usedPermits);
       }
       this.usedPermits--;
-      this.totalPermits = this.policy.getTotalPermits();
+      this.totalPermits = updatedTotalPermits.getAsInt();
+      granted = grantWaiters();
+      result = new ReleaseResult(this.totalPermits, this.usedPermits);
+    }
 
-      if (this.usedPermits < this.totalPermits) {
-        this.lock.notifyAll();
+    completeGranted(granted);
+    return result;
+  }
+
+  /**
+   * Applies the total number of permits determined by the policy. Queued acquirers are granted the
+   * permits that become available when the limit grows, rather than waiting for the next release.
+   */
+  private void updateTotalPermits(IntSupplier updatedTotalPermits) {
+    List<CompletableFuture<Void>> granted;
+    synchronized (this.lock) {
+      this.totalPermits = updatedTotalPermits.getAsInt();
+      granted = grantWaiters();
+    }
+    completeGranted(granted);
+  }
+
+  /** Completes granted waiters, which must happen outside the lock. */
+  private void completeGranted(List<CompletableFuture<Void>> granted) {
+    // Completing runs the waiters' dependent stages.
+    for (CompletableFuture<Void> waiter : granted) {
+      if (!waiter.complete(null)) {
+        // The waiter was cancelled after being granted a permit, give it back.
+        release();
       }
-      return new ReleaseResult(this.totalPermits, this.usedPermits);
     }
   }
 
+  @GuardedBy("lock")
+  private List<CompletableFuture<Void>> grantWaiters() {
+    List<CompletableFuture<Void>> granted = new ArrayList<>();
+    while (this.usedPermits < this.totalPermits && !this.waiters.isEmpty()) {
+      CompletableFuture<Void> waiter = this.waiters.pollFirst();
+      if (!waiter.isDone()) {
+        this.usedPermits++;
+        granted.add(waiter);
+      }
+    }
+    return granted;
+  }
+
   /**
    * Returns the current total number of permits available.
    *
@@ -161,6 +236,17 @@ public class DynamicSemaphore {
     }
   }
 
+  /**
+   * Returns the number of acquirers waiting for a permit, including blocked threads.
+   *
+   * @return the number of queued acquirers
+   */
+  public int getQueuedAcquirers() {
+    synchronized (this.lock) {
+      return this.waiters.size();
+    }
+  }
+
   /**
    * Returns the number of available permits.
    *
@@ -29,4 +29,32 @@ public interface DynamicSemaphorePolicy {
    * @return the total number of permits
    */
   int getTotalPermits();
+
+  /**
+   * Returns a policy with a constant number of permits, turning a {@link DynamicSemaphore} into a
+   * plain bound on concurrency.
+   *
+   * @param permits the number of permits, must be positive
+   */
+  static DynamicSemaphorePolicy fixed(int permits) {
+    if (permits <= 0) {
+      throw new IllegalArgumentException("permits must be positive, but was " + permits);
+    }
+    return new DynamicSemaphorePolicy() {
+      @Override
+      public int onAcquire() {
+        return permits;
+      }
+
+      @Override
+      public int onRelease(boolean isAck) {
+        return permits;
+      }
+
+      @Override
+      public int getTotalPermits() {
+        return permits;
+      }
+    };
+  }
 }
@@ -75,6 +75,10 @@ public enum Feature {
   CONCURRENT_INDEX_PARTITION_SEARCH("enableConcurrentIndexPartitionSearch", State.DISABLED),
   CANCEL_MERGE("enableCancelMerge", State.DISABLED),
   KNN_FULL_SCAN_HEURISTIC("enableKnnFullScanHeuristic", State.DISABLED),
+  VECTOR_SEARCH_PLANNER("enableVectorSearchPlanner", State.DISABLED),
+  ADAPTIVE_VECTOR_SEARCH_PARALLELISM("enableAdaptiveVectorSearchParallelism", State.DISABLED),
+  MERGE_COORDINATION("enableMergeCoordination", State.DISABLED),
+  GROUP_INDEX_COMMIT("enableGroupIndexCommit", State.DISABLED),
   CUSTOM_VECTOR_ENGINE("customVectorEngine", State.DISABLED);
 
   private final String name;
@@ -22,6 +22,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.CRC32;
+import javax.annotation.Nullable;
 import org.bson.types.ObjectId;
 
 /**
@@ -35,11 +36,38 @@ import org.bson.types.ObjectId;
 public class DynamicFeatureFlagRegistry {
   private static final FluentLogger FLOGGER = FluentLogger.forEnclosingClass();
 
+  /**
+   * The maximum number of entity evaluations that are cached per flag. Entities are usually
+   * indexes, so this is only reached if a flag is evaluated for unbounded entities such as queries.
+   */
+  private static final int MAX_CACHED_ENTITY_EVALUATIONS = 10_000;
+
+  private static final CachedEvaluation ENABLED_BY_PHASE =
+      new CachedEvaluation(true, FeatureFlagEvaluationSpec.DecisiveField.PHASE);
+  private static final CachedEvaluation DISABLED_BY_PHASE =
+      new CachedEvaluation(false, FeatureFlagEvaluationSpec.DecisiveField.PHASE);
+  private static final CachedEvaluation ALLOWED =
+      new CachedEvaluation(true, FeatureFlagEvaluationSpec.DecisiveField.ALLOW_LIST);
+  private static final CachedEvaluation BLOCKED =
+      new CachedEvaluation(false, FeatureFlagEvaluationSpec.DecisiveField.BLOCK_LIST);
+  private static final CachedEvaluation ROLLED_OUT =
+      new CachedEvaluation(true, FeatureFlagEvaluationSpec.DecisiveField.ROLLOUT_PERCENTAGE);
+  private static final CachedEvaluation NOT_ROLLED_OUT =
+      new CachedEvaluation(false, FeatureFlagEvaluationSpec.DecisiveField.ROLLOUT_PERCENTAGE);
+
   private volatile Map<String, DynamicFeatureFlagConfig> registeredDynamicFeatureFlagConfigs =
       new ConcurrentHashMap<>();
   private volatile Map<String, InternalDynamicFeatureFlagConfig> internalConfigs =
       new ConcurrentHashMap<>();
 
+  /**
+   * The internal configs of the {@link DynamicFeatureFlags} indexed by their ordinal, with null for
+   * flags that are not registered. Flags evaluated through their enum constant are thus looked up
+   * with a volatile read and an array access, rather than by hashing their name.
+   */
+  private volatile @Nullable InternalDynamicFeatureFlagConfig[] compiledFlags =
+      new InternalDynamicFeatureFlagConfig[DynamicFeatureFlags.values().length];
+
   private final Map<String, AtomicLong> clusterInvariantGauges = new HashMap<>();
 
   private final Optional<ObjectId> orgId;
@@ -53,6 +81,8 @@ public class DynamicFeatureFlagRegistry {
    * Internal, optimized "domain object" for a feature flag. This is pre-computed for fast
    * evaluation. For cluster-invariant scopes (ORG, GROUP, MONGOT_CLUSTER), the evaluation result is
    * eagerly cached in {@code cachedResult} so that subsequent lookups are a simple field read.
+   * Evaluations for other entities of controlled flags are cached in {@code entityEvaluations} as
+   * they are computed, and are discarded with the config when the flags are updated.
    */
   private record InternalDynamicFeatureFlagConfig(
       Phase phase,
@@ -61,9 +91,10 @@ public class DynamicFeatureFlagRegistry {
       Set<ObjectId> entityIdBlockList,
       int rolloutPercentage,
       Scope scope,
-      Optional<CachedEvaluation> cachedResult) {}
+      Optional<CachedEvaluation> cachedResult,
+      Map<ObjectId, CachedEvaluation> entityEvaluations) {}
 
-  /** Pre-computed evaluation result for a cluster-invariant flag. */
+  /** Pre-computed evaluation result for a cluster-invariant flag or an entity. */
   private record CachedEvaluation(
       boolean result, FeatureFlagEvaluationSpec.DecisiveField decisiveField) {}
 
@@ -123,10 +154,15 @@ public class DynamicFeatureFlagRegistry {
 
   /**
    * Evaluates a dynamic feature flag for a cluster-invariant scope (org, group, or mongot
-   * cluster), using the flag's name and default fallback when the flag is absent.
+   * cluster), using the flag's name and default fallback when the flag is absent. The flag is
+   * looked up by its ordinal rather than its name, so prefer this over {@link
+   * #evaluateClusterInvariant(String, boolean)} on hot paths.
    */
   public boolean evaluateClusterInvariant(DynamicFeatureFlags featureFlag) {
-    return evaluateClusterInvariant(featureFlag.getName(), featureFlag.getFallback());
+    return evaluateClusterInvariant(
+        featureFlag.getName(),
+        this.compiledFlags[featureFlag.ordinal()],
+        featureFlag.getFallback());
   }
 
   /**
@@ -138,7 +174,12 @@ public class DynamicFeatureFlagRegistry {
    * @return {@code true} if the feature is enabled, {@code false} if disabled or not found.
    */
   public boolean evaluateClusterInvariant(String featureFlagName, boolean fallback) {
-    InternalDynamicFeatureFlagConfig config = this.internalConfigs.get(featureFlagName);
+    return evaluateClusterInvariant(
+        featureFlagName, this.internalConfigs.get(featureFlagName), fallback);
+  }
+
+  private boolean evaluateClusterInvariant(
+      String featureFlagName, @Nullable InternalDynamicFeatureFlagConfig config, boolean fallback) {
     if (config == null) {
       FLOGGER.atWarning().atMostEvery(5, TimeUnit.MINUTES).log(
           "Feature flag not present in registry, falling back to provided value");
@@ -164,6 +205,22 @@ public class DynamicFeatureFlagRegistry {
     };
   }
 
+  /**
+   * Evaluates a dynamic feature flag for an entityId (eg. indexId), using the flag's default
+   * fallback when the flag is absent.
+   *
+   * @param featureFlag The feature flag to evaluate.
+   * @param entityId The ObjectId of the entity (e.g., indexId) to check.
+   * @return {@code true} if the feature is enabled, {@code false} if disabled or not found.
+   */
+  public boolean evaluate(DynamicFeatureFlags featureFlag, ObjectId entityId) {
+    return evaluate(
+        featureFlag.getName(),
+        this.compiledFlags[featureFlag.ordinal()],
+        entityId,
+        featureFlag.getFallback());
+  }
+
   /**
    * Evaluates a dynamic feature flag for an entityId (eg. indexId).
    *
@@ -173,19 +230,42 @@ public class DynamicFeatureFlagRegistry {
    * @return {@code true} if the feature is enabled, {@code false} if disabled or not found.
    */
   public boolean evaluate(String featureFlagName, ObjectId entityId, boolean fallback) {
-    InternalDynamicFeatureFlagConfig config = this.internalConfigs.get(featureFlagName);
+    return evaluate(
+        featureFlagName, this.internalConfigs.get(featureFlagName), entityId, fallback);
+  }
 
+  private boolean evaluate(
+      String featureFlagName,
+      @Nullable InternalDynamicFeatureFlagConfig config,
+      ObjectId entityId,
+      boolean fallback) {
     if (config == null) {
       FLOGGER.atWarning().atMostEvery(5, TimeUnit.MINUTES).log(
           "Feature flag not present in registry, falling back to provided value");
       return recordAndReturnFallback(featureFlagName, fallback);
     }
 
-    CachedEvaluation outcome = computeEvaluation(config, entityId);
+    CachedEvaluation outcome = lookupEvaluation(config, entityId);
     recordEvaluation(featureFlagName, outcome.result(), outcome.decisiveField());
     return outcome.result();
   }
 
+  /**
+   * Evaluates a dynamic feature flag for a query, using the flag's default fallback when the flag
+   * is absent.
+   *
+   * @param featureFlag The feature flag to evaluate.
+   * @param query The Query object to check.
+   * @return {@code true} if the feature is enabled, {@code false} if disabled or not found.
+   */
+  public boolean evaluate(DynamicFeatureFlags featureFlag, Query query) {
+    return evaluate(
+        featureFlag.getName(),
+        this.compiledFlags[featureFlag.ordinal()],
+        query,
+        featureFlag.getFallback());
+  }
+
   /**
    * Evaluates a dynamic feature flag for a query.
    *
@@ -195,8 +275,14 @@ public class DynamicFeatureFlagRegistry {
    * @return {@code true} if the feature is enabled, {@code false} if disabled or not found.
    */
   public boolean evaluate(String featureFlagName, Query query, boolean fallback) {
-    InternalDynamicFeatureFlagConfig config = this.internalConfigs.get(featureFlagName);
+    return evaluate(featureFlagName, this.internalConfigs.get(featureFlagName), query, fallback);
+  }
 
+  private boolean evaluate(
+      String featureFlagName,
+      @Nullable InternalDynamicFeatureFlagConfig config,
+      Query query,
+      boolean fallback) {
     if (config == null) {
       FLOGGER.atWarning().atMostEvery(5, TimeUnit.MINUTES).log(
           "Feature flag not present in registry, falling back to provided value");
@@ -204,32 +290,50 @@ public class DynamicFeatureFlagRegistry {
     }
 
     // Check phase first - ENABLED/DISABLED take precedence over everything
-    Optional<Boolean> phaseResult = evaluatePhase(featureFlagName, config);
-    if (phaseResult.isPresent()) {
-      return phaseResult.get();
+    if (config.phase() != Phase.CONTROLLED) {
+      boolean result = config.phase() == Phase.ENABLED;
+      recordEvaluation(featureFlagName, result, FeatureFlagEvaluationSpec.DecisiveField.PHASE);
+      return result;
     }
 
     // CONTROLLED phase: query-scoped flags skip allow/block list; check rollout percentage
-    if (config.rolloutPercentage() == 0) {
-      recordEvaluation(
-          featureFlagName, false, FeatureFlagEvaluationSpec.DecisiveField.ROLLOUT_PERCENTAGE);
-      return false;
-    }
-    if (config.rolloutPercentage() == 100) {
-      recordEvaluation(
-          featureFlagName, true, FeatureFlagEvaluationSpec.DecisiveField.ROLLOUT_PERCENTAGE);
-      return true;
-    }
-
     boolean result =
-        isHashedIdWithinPercentage(
-            config.seed(), System.identityHashCode(query), config.rolloutPercentage());
+        switch (config.rolloutPercentage()) {
+          case 0 -> false;
+          case 100 -> true;
+          default ->
+              isHashedIdWithinPercentage(
+                  config.seed(), System.identityHashCode(query), config.rolloutPercentage());
+        };
 
     recordEvaluation(
         featureFlagName, result, FeatureFlagEvaluationSpec.DecisiveField.ROLLOUT_PERCENTAGE);
     return result;
   }
 
+  /**
+   * Returns the evaluation of a flag for an entity, computing it only on the first evaluation of a
+   * controlled flag for the entity. Later evaluations of the same config are a map lookup rather
+   * than a hash of the entity id, until {@link #MAX_CACHED_ENTITY_EVALUATIONS} entities are cached.
+   */
+  private CachedEvaluation lookupEvaluation(
+      InternalDynamicFeatureFlagConfig config, ObjectId entityId) {
+    if (config.phase() != Phase.CONTROLLED) {
+      return computeEvaluation(config, entityId);
+    }
+
+    @Nullable CachedEvaluation cached = config.entityEvaluations().get(entityId);
+    if (cached != null) {
+      return cached;
+    }
+
+    CachedEvaluation outcome = computeEvaluation(config, entityId);
+    if (config.entityEvaluations().size() < MAX_CACHED_ENTITY_EVALUATIONS) {
+      config.entityEvaluations().put(entityId, outcome);
+    }
+    return outcome;
+  }
+
   /**
    * Pure evaluation logic with no side effects. Returns the evaluation result and the decisive
    * field without recording metrics or explain output. Used for caching cluster-invariant results
@@ -238,55 +342,29 @@ public class DynamicFeatureFlagRegistry {
   private CachedEvaluation computeEvaluation(
       InternalDynamicFeatureFlagConfig config, ObjectId entityId) {
     return switch (config.phase()) {
-      case ENABLED ->
-          new CachedEvaluation(true, FeatureFlagEvaluationSpec.DecisiveField.PHASE);
-      case DISABLED, UNSPECIFIED ->
-          new CachedEvaluation(false, FeatureFlagEvaluationSpec.DecisiveField.PHASE);
+      case ENABLED -> ENABLED_BY_PHASE;
+      case DISABLED, UNSPECIFIED -> DISABLED_BY_PHASE;
       case CONTROLLED -> {
         if (config.entityIdBlockList().contains(entityId)) {
-          yield new CachedEvaluation(
-              false, FeatureFlagEvaluationSpec.DecisiveField.BLOCK_LIST);
+          yield BLOCKED;
         }
         if (config.entityIdAllowList().contains(entityId)) {
-          yield new CachedEvaluation(
-              true, FeatureFlagEvaluationSpec.DecisiveField.ALLOW_LIST);
+          yield ALLOWED;
         }
         if (config.rolloutPercentage() == 0) {
-          yield new CachedEvaluation(
-              false, FeatureFlagEvaluationSpec.DecisiveField.ROLLOUT_PERCENTAGE);
+          yield NOT_ROLLED_OUT;
         }
         if (config.rolloutPercentage() == 100) {
-          yield new CachedEvaluation(
-              true, FeatureFlagEvaluationSpec.DecisiveField.ROLLOUT_PERCENTAGE);
+          yield ROLLED_OUT;
         }
-        boolean result =
-            isHashedIdWithinPercentage(
-                config.seed(), entityId.toByteArray(), config.rolloutPercentage());
-        yield new CachedEvaluation(
-            result, FeatureFlagEvaluationSpec.DecisiveField.ROLLOUT_PERCENTAGE);
+        yield isHashedIdWithinPercentage(
+                config.seed(), entityId.toByteArray(), config.rolloutPercentage())
+            ? ROLLED_OUT
+            : NOT_ROLLED_OUT;
       }
     };
   }
 
-  /**
-   * Evaluates the phase of a feature flag. Returns the result if phase determines the outcome
-   * (ENABLED/DISABLED/UNSPECIFIED), or empty if evaluation should continue (CONTROLLED phase).
-   */
-  private Optional<Boolean> evaluatePhase(
-      String featureFlagName, InternalDynamicFeatureFlagConfig config) {
-    return switch (config.phase()) {
-      case ENABLED -> {
-        recordEvaluation(featureFlagName, true, FeatureFlagEvaluationSpec.DecisiveField.PHASE);
-        yield Optional.of(true);
-      }
-      case DISABLED, UNSPECIFIED -> {
-        recordEvaluation(featureFlagName, false, FeatureFlagEvaluationSpec.DecisiveField.PHASE);
-        yield Optional.of(false);
-      }
-      case CONTROLLED -> Optional.empty();
-    };
-  }
-
   private boolean recordAndReturnFallback(String featureFlagName, boolean fallback) {
     recordEvaluation(featureFlagName, fallback, FeatureFlagEvaluationSpec.DecisiveField.FALLBACK);
     return fallback;
@@ -343,7 +421,8 @@ public class DynamicFeatureFlagRegistry {
    * <p>This method converts each incoming DTO ({@link DynamicFeatureFlagConfig}) into an optimized
    * internal record via {@link #buildInternalConfig(DynamicFeatureFlagConfig)}, which also eagerly
    * caches evaluation results for cluster-invariant scopes (ORG, GROUP, MONGOT_CLUSTER). The new
-   * maps are then published via a volatile write, and cluster-invariant gauges are emitted (or
+   * maps, and the array of the configs of the known {@link DynamicFeatureFlags}, are then published
+   * via volatile writes, and cluster-invariant gauges are emitted (or
    * zeroed out for removed flags).
    *
    * @param dynamicFeatureFlagConfigs The complete list of (DTO) feature flag configurations to
@@ -359,8 +438,16 @@ public class DynamicFeatureFlagRegistry {
       newInternalConfigsMap.put(featureName, buildInternalConfig(dto));
     }
 
+    DynamicFeatureFlags[] flags = DynamicFeatureFlags.values();
+    @Nullable InternalDynamicFeatureFlagConfig[] newCompiledFlags =
+        new InternalDynamicFeatureFlagConfig[flags.length];
+    for (DynamicFeatureFlags flag : flags) {
+      newCompiledFlags[flag.ordinal()] = newInternalConfigsMap.get(flag.getName());
+    }
+
     this.registeredDynamicFeatureFlagConfigs = newFlagsMap;
     this.internalConfigs = newInternalConfigsMap;
+    this.compiledFlags = newCompiledFlags;
     emitClusterInvariantGauges();
   }
 
@@ -390,7 +477,8 @@ public class DynamicFeatureFlagRegistry {
         base.entityIdBlockList(),
         base.rolloutPercentage(),
         base.scope(),
-        cached);
+        cached,
+        base.entityEvaluations());
   }
 
   /**
@@ -443,10 +531,10 @@ public class DynamicFeatureFlagRegistry {
     return switch (dto.phase()) {
       case ENABLED ->
           new InternalDynamicFeatureFlagConfig(
-              Phase.ENABLED, 0, Set.of(), Set.of(), 100, dto.scope(), Optional.empty());
+              Phase.ENABLED, 0, Set.of(), Set.of(), 100, dto.scope(), Optional.empty(), Map.of());
       case UNSPECIFIED, DISABLED ->
           new InternalDynamicFeatureFlagConfig(
-              dto.phase(), 0, Set.of(), Set.of(), 0, dto.scope(), Optional.empty());
+              dto.phase(), 0, Set.of(), Set.of(), 0, dto.scope(), Optional.empty(), Map.of());
       case CONTROLLED -> {
         Set<ObjectId> allowList = new HashSet<>(dto.allowedList());
         Set<ObjectId> blockList = new HashSet<>(dto.blockedList());
@@ -459,7 +547,8 @@ public class DynamicFeatureFlagRegistry {
             blockList,
             dto.sanitizedRolloutPercentage(),
             dto.scope(),
-            Optional.empty());
+            Optional.empty(),
+            new ConcurrentHashMap<>());
       }
     };
   }
@@ -469,22 +558,23 @@ public class DynamicFeatureFlagRegistry {
       boolean evaluationResult,
       FeatureFlagEvaluationSpec.DecisiveField decisiveField) {
     DynamicFeatureFlagsMetricsRecorder.recordEvaluation(featureFlagName, evaluationResult);
-    appendToExplainIfEnabled(
-        new FeatureFlagEvaluationSpec(featureFlagName, evaluationResult, decisiveField));
-  }
-
-  private void appendToExplainIfEnabled(FeatureFlagEvaluationSpec spec) {
+    // The spec is only built when explain is enabled, which it rarely is.
     if (Explain.isEnabled()) {
-      Explain.getQueryInfo()
-          .map(
-              queryInfo ->
-                  queryInfo.getFeatureExplainer(
-                      DynamicFeatureFlagFeatureExplainer.class,
-                      DynamicFeatureFlagFeatureExplainer::new))
-          .ifPresent(explainer -> explainer.addFeatureFlagEvaluationSpec(spec));
+      appendToExplain(
+          new FeatureFlagEvaluationSpec(featureFlagName, evaluationResult, decisiveField));
     }
   }
 
+  private void appendToExplain(FeatureFlagEvaluationSpec spec) {
+    Explain.getQueryInfo()
+        .map(
+            queryInfo ->
+                queryInfo.getFeatureExplainer(
+                    DynamicFeatureFlagFeatureExplainer.class,
+                    DynamicFeatureFlagFeatureExplainer::new))
+        .ifPresent(explainer -> explainer.addFeatureFlagEvaluationSpec(spec));
+  }
+
   /**
    * Check if dynamic feature flag registry is already initialized. This is used when
    * initialConfCallResponse fails and cause {@link DynamicFeatureFlagRegistry} not being
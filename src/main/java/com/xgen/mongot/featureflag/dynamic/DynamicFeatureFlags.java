@@ -22,7 +22,7 @@ package com.xgen.mongot.featureflag.dynamic;
  * boolean isEnabled = registry.evaluateClusterInvariant(flag);
  *
  * // Evaluate a feature flag for a specific entity (index or query)
- * boolean isEnabled = registry.evaluate(flag.getName(), entityId, flag.getFallback());
+ * boolean isEnabled = registry.evaluate(flag, entityId);
  * }</pre>
  *
  * @see DynamicFeatureFlagRegistry
@@ -36,6 +36,11 @@ public class DocumentEvent {
   // Custom vector engine id assigned during write to the native index. Carried through to
   // the Lucene indexing policy so the id-to-_id mapping document can be written.
   private final Optional<Long> customVectorEngineId;
+  // Whether this is an insert of a document that is known not to be in the index yet, so it can be
+  // appended without first deleting any existing document with the same _id. Only set for inserts
+  // read by the collection scan of a fresh initial sync, before any change stream event has been
+  // applied to the index.
+  private final boolean guaranteedNew;
 
   private DocumentEvent(
       DocumentEvent rawDocumentEventWithoutVector,
@@ -46,16 +51,26 @@ public class DocumentEvent {
     this.autoEmbeddings = autoEmbeddings;
     this.filterFieldUpdates = rawDocumentEventWithoutVector.filterFieldUpdates;
     this.customVectorEngineId = rawDocumentEventWithoutVector.customVectorEngineId;
+    this.guaranteedNew = rawDocumentEventWithoutVector.guaranteedNew;
   }
 
   private DocumentEvent(
       EventType eventType, BsonValue documentId, Optional<RawBsonDocument> document) {
+    this(eventType, documentId, document, false);
+  }
+
+  private DocumentEvent(
+      EventType eventType,
+      BsonValue documentId,
+      Optional<RawBsonDocument> document,
+      boolean guaranteedNew) {
     this.eventType = eventType;
     this.documentId = documentId;
     this.document = document;
     this.autoEmbeddings = ImmutableMap.of();
     this.filterFieldUpdates = Optional.empty();
     this.customVectorEngineId = Optional.empty();
+    this.guaranteedNew = guaranteedNew;
   }
 
   private DocumentEvent(
@@ -69,6 +84,7 @@ public class DocumentEvent {
     this.autoEmbeddings = ImmutableMap.of();
     this.filterFieldUpdates = Optional.of(filterFieldUpdates);
     this.customVectorEngineId = Optional.empty();
+    this.guaranteedNew = false;
   }
 
   private DocumentEvent(
@@ -77,13 +93,15 @@ public class DocumentEvent {
       Optional<RawBsonDocument> document,
       ImmutableMap<FieldPath, ImmutableMap<String, Vector>> autoEmbeddings,
       Optional<BsonDocument> filterFieldUpdates,
-      Optional<Long> customVectorEngineId) {
+      Optional<Long> customVectorEngineId,
+      boolean guaranteedNew) {
     this.eventType = eventType;
     this.documentId = documentId;
     this.document = document;
     this.autoEmbeddings = autoEmbeddings;
     this.filterFieldUpdates = filterFieldUpdates;
     this.customVectorEngineId = customVectorEngineId;
+    this.guaranteedNew = guaranteedNew;
   }
 
 
@@ -98,6 +116,16 @@ public class DocumentEvent {
         EventType.INSERT, Check.isPresent(metadata.getId(), "id"), Optional.of(document));
   }
 
+  /**
+   * Creates an INSERT event for a document that the caller guarantees is not in the index yet, see
+   * {@link #isGuaranteedNew()}.
+   */
+  public static DocumentEvent createGuaranteedNewInsert(
+      DocumentMetadata metadata, RawBsonDocument document) {
+    return new DocumentEvent(
+        EventType.INSERT, Check.isPresent(metadata.getId(), "id"), Optional.of(document), true);
+  }
+
   public static DocumentEvent createUpdate(DocumentMetadata metadata, RawBsonDocument document) {
     return new DocumentEvent(
         EventType.UPDATE, Check.isPresent(metadata.getId(), "id"), Optional.of(document));
@@ -139,7 +167,8 @@ public class DocumentEvent {
         this.document,
         this.autoEmbeddings,
         this.filterFieldUpdates,
-        Optional.of(customVectorEngineId));
+        Optional.of(customVectorEngineId),
+        this.guaranteedNew);
   }
 
   public Optional<Long> getCustomVectorEngineId() {
@@ -171,6 +200,14 @@ public class DocumentEvent {
     return this.filterFieldUpdates;
   }
 
+  /**
+   * Returns whether no document with this event's _id can be present in the index, in which case an
+   * INSERT may be appended to the index without deleting a previous version of the document.
+   */
+  public boolean isGuaranteedNew() {
+    return this.guaranteedNew;
+  }
+
 
 
   @Override
@@ -187,7 +224,8 @@ public class DocumentEvent {
         && this.eventType == that.eventType
         && this.autoEmbeddings.equals(that.autoEmbeddings)
         && this.filterFieldUpdates.equals(that.filterFieldUpdates)
-        && this.customVectorEngineId.equals(that.customVectorEngineId);
+        && this.customVectorEngineId.equals(that.customVectorEngineId)
+        && this.guaranteedNew == that.guaranteedNew;
   }
 
   @Override
@@ -198,7 +236,8 @@ public class DocumentEvent {
         this.eventType,
         this.autoEmbeddings,
         this.filterFieldUpdates,
-        this.customVectorEngineId);
+        this.customVectorEngineId,
+        this.guaranteedNew);
   }
 
   @Override
@@ -216,6 +255,8 @@ public class DocumentEvent {
         + this.filterFieldUpdates
         + ", customVectorEngineId="
         + this.customVectorEngineId
+        + ", guaranteedNew="
+        + this.guaranteedNew
         + '}';
   }
 }
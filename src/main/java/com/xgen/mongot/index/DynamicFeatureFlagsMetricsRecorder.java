@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
 
 /**
  * Holds the state of dynamic feature flags evaluated during a single request/query. This allows us
@@ -52,7 +53,11 @@ public class DynamicFeatureFlagsMetricsRecorder {
    * @param evaluationResult The result of evaluating featureFlagName
    */
   public static void recordEvaluation(String featureFlagName, boolean evaluationResult) {
-    getEvaluatedFlagsMap().ifPresent(map -> map.put(featureFlagName, evaluationResult));
+    // Evaluations are recorded on hot paths, so avoid wrapping the map in an Optional here.
+    @Nullable Map<String, Boolean> map = Context.current().get(EVALUATED_FLAGS_KEY);
+    if (map != null) {
+      map.put(featureFlagName, evaluationResult);
+    }
   }
 
   /**
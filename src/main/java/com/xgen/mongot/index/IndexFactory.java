@@ -19,6 +19,14 @@ public interface IndexFactory extends Closeable {
   InitializedIndex getInitializedIndex(Index index, IndexDefinitionGeneration definitionGeneration)
       throws IOException;
 
+  /**
+   * Returns the size of the specified index on disk, or 0 if the index is not on disk. Used to
+   * prioritize the initialization of existing indexes, so it must not open the index.
+   */
+  default long getSizeOnDisk(IndexDefinitionGeneration definitionGeneration) {
+    return 0;
+  }
+
   @Override
   void close();
 }
@@ -498,6 +498,10 @@ public class IndexMetricsUpdater implements Closeable {
     private final Counter vectorRescoringFailureCounter;
 
     private final QueryFeaturesMetricsUpdater queryFeaturesMetricsUpdater;
+
+    /** Per-shape statistics of the queries run against this index. */
+    private final QueryShapeStats queryShapeStats;
+
     private final DistributionSummary batchDocumentCount;
     private final DistributionSummary batchDataSize;
 
@@ -610,6 +614,7 @@ public class IndexMetricsUpdater implements Closeable {
       this.vectorSearchGetMoreTopDocsLatencyTimer =
           metricsFactory.timer("vectorSearchGetMoreTopDocsLatencyTimer");
       this.queryFeaturesMetricsUpdater = new QueryFeaturesMetricsUpdater(metricsFactory);
+      this.queryShapeStats = new QueryShapeStats();
 
       this.orphanedDeletedDocsRatio = metricsFactory.summary("orphanedDeletedDocsRatio");
 
@@ -940,6 +945,10 @@ public class IndexMetricsUpdater implements Closeable {
       return this.queryFeaturesMetricsUpdater;
     }
 
+    public QueryShapeStats getQueryShapeStats() {
+      return this.queryShapeStats;
+    }
+
     @Override
     public void close() {
       this.metricsFactory.close();
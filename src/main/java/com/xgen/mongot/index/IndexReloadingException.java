@@ -0,0 +1,17 @@
+package com.xgen.mongot.index;
+
+import java.util.List;
+
+/**
+ * Thrown when a query targets an index that was unloaded while idle and has not been reopened and
+ * caught up yet. Unlike other unavailable indexes this is transient, so error responses carry the
+ * {@link #ERROR_LABELS} to let clients retry the query.
+ */
+public class IndexReloadingException extends IndexUnavailableException {
+
+  public static final List<String> ERROR_LABELS = List.of("RetryableError");
+
+  public IndexReloadingException(String indexName) {
+    super(String.format("Index %s is being reloaded, retry the query", indexName));
+  }
+}
@@ -39,6 +39,15 @@ public interface IndexWriter extends Closeable {
    */
   void commit(EncodedUserData userData) throws IOException;
 
+  /**
+   * Returns whether a {@link #commit(EncodedUserData)} would persist anything beyond the last
+   * commit, such as indexed or deleted documents or completed merges. Implementations that cannot
+   * tell return true, so that callers never skip a commit that was needed.
+   */
+  default boolean hasUncommittedChanges() {
+    return true;
+  }
+
   /**
    * Returns the last set of user data that was committed, or an empty map if the index has not been
    * committed yet.
@@ -4,6 +4,7 @@ import com.xgen.mongot.index.definition.IndexDefinitionGeneration;
 import com.xgen.mongot.index.version.GenerationId;
 import com.xgen.mongot.util.Check;
 import java.io.Closeable;
+import java.io.IOException;
 
 public sealed interface InitializedIndex extends Index, Closeable
     permits InitializedSearchIndex, InitializedVectorIndex {
@@ -48,6 +49,12 @@ public sealed interface InitializedIndex extends Index, Closeable
    */
   long getIndexSize();
 
+  /**
+   * Releases the writer, readers and directories of this instance, leaving the underlying {@link
+   * Index} open so that it can be initialized again. This instance cannot be used afterwards.
+   */
+  void unload() throws IOException;
+
   /** Clears all the index data on disk, but does not drop the index. */
   void clear(EncodedUserData dropUserData);
 
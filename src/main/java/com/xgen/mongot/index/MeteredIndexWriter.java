@@ -32,6 +32,11 @@ public class MeteredIndexWriter implements IndexWriter {
         this.indexingMetricsUpdater.getCommitTimer(), () -> this.indexWriter.commit(userData));
   }
 
+  @Override
+  public boolean hasUncommittedChanges() {
+    return this.indexWriter.hasUncommittedChanges();
+  }
+
   @Override
   public EncodedUserData getCommitUserData() {
     return this.indexWriter.getCommitUserData();
@@ -10,6 +10,7 @@ import com.xgen.mongot.index.query.SearchQuery;
 import java.io.IOException;
 import java.util.List;
 import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
 import org.apache.lucene.index.FieldInfos;
 
 public class MeteredSearchIndexReader implements SearchIndexReader {
@@ -17,14 +18,32 @@ public class MeteredSearchIndexReader implements SearchIndexReader {
   private final IndexMetricsUpdater.QueryingMetricsUpdater queryingMetricsUpdater;
   private final QueryMetricsRecorder queryMetricsRecorder;
   private final BooleanSupplier recordTotalStringFacetBucketsMetric;
+  private final LongConsumer queryLatencyListener;
 
   public MeteredSearchIndexReader(
       SearchIndexReader indexReader,
       IndexMetricsUpdater.QueryingMetricsUpdater queryingMetricsUpdater,
       BooleanSupplier recordTotalStringFacetBucketsMetric) {
+    this(
+        indexReader,
+        queryingMetricsUpdater,
+        recordTotalStringFacetBucketsMetric,
+        latencyNanos -> {});
+  }
+
+  /**
+   * Creates a reader that additionally reports the latency of every successful query, in
+   * nanoseconds, to {@code queryLatencyListener}.
+   */
+  public MeteredSearchIndexReader(
+      SearchIndexReader indexReader,
+      IndexMetricsUpdater.QueryingMetricsUpdater queryingMetricsUpdater,
+      BooleanSupplier recordTotalStringFacetBucketsMetric,
+      LongConsumer queryLatencyListener) {
     this.indexReader = indexReader;
     this.queryingMetricsUpdater = queryingMetricsUpdater;
     this.recordTotalStringFacetBucketsMetric = recordTotalStringFacetBucketsMetric;
+    this.queryLatencyListener = queryLatencyListener;
     this.queryMetricsRecorder =
         new QueryMetricsRecorder(queryingMetricsUpdater.getQueryFeaturesMetricsUpdater());
   }
@@ -37,6 +56,7 @@ public class MeteredSearchIndexReader implements SearchIndexReader {
       QueryOptimizationFlags queryOptimizationFlags)
       throws IOException, InvalidQueryException, InterruptedException {
     this.queryingMetricsUpdater.getTotalQueryCounter().increment();
+    long startNanos = System.nanoTime();
     try {
       SearchProducerAndMetaResults result =
           this.indexReader.query(
@@ -44,6 +64,9 @@ public class MeteredSearchIndexReader implements SearchIndexReader {
       this.queryingMetricsUpdater.recordTotalStringFacetBucketsIfApplicable(
           query, this.recordTotalStringFacetBucketsMetric);
       this.queryMetricsRecorder.record(query, queryCursorOptions);
+      long latencyNanos = System.nanoTime() - startNanos;
+      this.queryingMetricsUpdater.getQueryShapeStats().record(query, latencyNanos);
+      this.queryLatencyListener.accept(latencyNanos);
       return result;
     } catch (Exception e) {
       this.queryingMetricsUpdater.handleQueryException(e, query.toBson().toString());
@@ -59,6 +82,7 @@ public class MeteredSearchIndexReader implements SearchIndexReader {
       QueryOptimizationFlags queryOptimizationFlags)
       throws IOException, InvalidQueryException, InterruptedException {
     this.queryingMetricsUpdater.getTotalQueryCounter().increment();
+    long startNanos = System.nanoTime();
     try {
       SearchProducerAndMetaProducer result =
           this.indexReader.intermediateQuery(
@@ -66,6 +90,9 @@ public class MeteredSearchIndexReader implements SearchIndexReader {
       this.queryingMetricsUpdater.recordTotalStringFacetBucketsIfApplicable(
           query, this.recordTotalStringFacetBucketsMetric);
       this.queryMetricsRecorder.record(query, queryCursorOptions);
+      long latencyNanos = System.nanoTime() - startNanos;
+      this.queryingMetricsUpdater.getQueryShapeStats().record(query, latencyNanos);
+      this.queryLatencyListener.accept(latencyNanos);
       return result;
     } catch (Exception e) {
       this.queryingMetricsUpdater.handleQueryException(e, query.toBson().toString());
@@ -28,9 +28,13 @@ public class MeteredVectorIndexReader implements VectorIndexReader {
   public BsonArray query(MaterializedVectorSearchQuery materializedQuery)
       throws ReaderClosedException, IOException, InvalidQueryException {
     this.metricsUpdater.getTotalQueryCounter().increment();
+    long startNanos = System.nanoTime();
     try {
       BsonArray result = this.indexReader.query(materializedQuery);
       this.queryMetricsRecorder.record(materializedQuery.vectorSearchQuery());
+      this.metricsUpdater
+          .getQueryShapeStats()
+          .record(materializedQuery.vectorSearchQuery(), System.nanoTime() - startNanos);
       return result;
     } catch (Exception e) {
       this.metricsUpdater.handleQueryException(
@@ -47,11 +51,15 @@ public class MeteredVectorIndexReader implements VectorIndexReader {
       QueryOptimizationFlags queryOptimizationFlags)
       throws InvalidQueryException, IOException, InterruptedException, ReaderClosedException {
     this.metricsUpdater.getTotalQueryCounter().increment();
+    long startNanos = System.nanoTime();
     try {
       VectorProducerAndMetaResults result =
           this.indexReader.query(
               query, queryCursorOptions, batchSizeStrategy, queryOptimizationFlags);
       this.queryMetricsRecorder.record(query.vectorSearchQuery());
+      this.metricsUpdater
+          .getQueryShapeStats()
+          .record(query.vectorSearchQuery(), System.nanoTime() - startNanos);
       return result;
     } catch (Exception e) {
       this.metricsUpdater.handleQueryException(e, query.vectorSearchQuery().toBson().toString());
@@ -1,7 +1,7 @@
 package com.xgen.mongot.index;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Streams;
+import com.google.errorprone.annotations.Var;
 import com.xgen.mongot.cursor.batch.QueryCursorOptions;
 import com.xgen.mongot.index.lucene.explain.tracing.Explain;
 import com.xgen.mongot.index.path.string.UnresolvedStringPath;
@@ -12,7 +12,6 @@ import com.xgen.mongot.index.query.Query;
 import com.xgen.mongot.index.query.SearchQuery;
 import com.xgen.mongot.index.query.VectorSearchQuery;
 import com.xgen.mongot.index.query.collectors.Collector;
-import com.xgen.mongot.index.query.collectors.DrillSidewaysInfoBuilder.DrillSidewaysInfo;
 import com.xgen.mongot.index.query.collectors.DrillSidewaysInfoBuilder.DrillSidewaysInfo.QueryOptimizationStatus;
 import com.xgen.mongot.index.query.collectors.FacetCollector;
 import com.xgen.mongot.index.query.operators.AllDocumentsOperator;
@@ -48,10 +47,15 @@ import com.xgen.mongot.index.query.operators.mql.CompoundClause;
 import com.xgen.mongot.index.query.operators.mql.MqlFilterOperator;
 import com.xgen.mongot.index.query.operators.mql.NotOperator;
 import com.xgen.mongot.index.query.operators.mql.SimpleClause;
+import com.xgen.mongot.index.query.scores.Score;
+import com.xgen.mongot.index.query.sort.MongotSortField;
+import com.xgen.mongot.index.query.sort.NullEmptySortPosition;
 import com.xgen.mongot.index.query.sort.UserFieldSortOptions;
 import io.micrometer.core.instrument.Counter;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Stream;
 
 /**
@@ -64,346 +68,424 @@ import java.util.stream.Stream;
  * it is more helpful to track "the number of queries that used text" than "the number of times the
  * text operator was used across all queries". In the latter case, you wouldn't be able to calculate
  * "the percentage of queries using text".
+ *
+ * <p>Since this runs for every query, all counters are resolved once when the recorder is created
+ * and each is assigned a bit. Recording a query sets the bits of the features it uses in a
+ * per-thread bitmask, which also de-duplicates them, and then increments the counter of each set
+ * bit, without allocating.
  */
 public class QueryMetricsRecorder {
-  private final IndexMetricsUpdater.QueryingMetricsUpdater.QueryFeaturesMetricsUpdater
-      queryFeaturesMetricsUpdater;
 
-  @VisibleForTesting
-  QueryMetricsRecorder(
-      IndexMetricsUpdater.QueryingMetricsUpdater.QueryFeaturesMetricsUpdater
-          queryFeaturesMetricsUpdater) {
-    this.queryFeaturesMetricsUpdater = queryFeaturesMetricsUpdater;
+  /** Features that are tracked by a single counter. */
+  private enum Feature {
+    SYNONYMS,
+    TEXT_SYNONYMS,
+    PHRASE_SYNONYMS,
+    TEXT_DEPRECATED_SYNONYMS,
+    FUZZY,
+    WILDCARD_PATHS,
+    HIGHLIGHTING,
+    RETURN_SCOPE,
+    CONCURRENT,
+    SORT,
+    TRACKING,
+    SEQUENCE_TOKEN,
+    SCORE_DETAILS,
+    EXPLAIN,
+    REQUIRE_SEQUENCE_TOKENS,
+    RETURN_STORED_SOURCE,
+    FILTERED_VECTOR_SEARCH
   }
 
-  public void record(Query query) {
-    Stream.concat(getQueryCounters(query), getExplainCounter())
-        .distinct()
-        .forEach(Counter::increment);
-  }
+  // Every counter a query can increment is assigned a slot. Features tracked by a single counter
+  // use the ordinal of their Feature, and each enum-keyed counter map gets a contiguous block of
+  // slots indexed by the ordinal of its key.
+  private static final int COLLECTOR_TYPE_SLOTS = Feature.values().length;
+  private static final int FACET_DRILL_SIDEWAYS_SLOTS =
+      COLLECTOR_TYPE_SLOTS + Collector.Type.values().length;
+  private static final int OPERATOR_TYPE_SLOTS =
+      FACET_DRILL_SIDEWAYS_SLOTS + QueryOptimizationStatus.values().length;
+  private static final int SCORE_TYPE_SLOTS = OPERATOR_TYPE_SLOTS + Operator.Type.values().length;
+  private static final int TEXT_MATCH_CRITERIA_SLOTS =
+      SCORE_TYPE_SLOTS + Score.Type.values().length;
+  private static final int NO_DATA_SORT_POSITION_SLOTS =
+      TEXT_MATCH_CRITERIA_SLOTS + TextOperator.MatchCriteria.values().length;
+  private static final int VECTOR_SEARCH_TYPE_SLOTS =
+      NO_DATA_SORT_POSITION_SLOTS + NullEmptySortPosition.values().length;
+  private static final int KNN_BETA_FILTER_SLOTS =
+      VECTOR_SEARCH_TYPE_SLOTS + VectorSearchCriteria.Type.values().length;
+  private static final int SEARCH_VECTOR_SEARCH_FILTER_SLOTS =
+      KNN_BETA_FILTER_SLOTS + Operator.Type.values().length;
+  private static final int VECTOR_SEARCH_FILTER_SLOTS =
+      SEARCH_VECTOR_SEARCH_FILTER_SLOTS + Operator.Type.values().length;
+  private static final int NUM_SLOTS =
+      VECTOR_SEARCH_FILTER_SLOTS + MqlFilterOperator.Category.values().length;
 
-  public void record(Query query, QueryCursorOptions cursorOptions) {
-    // increment each unique metric counter once
-    Streams.concat(
-            getQueryCounters(query), getCursorOptionsCounter(cursorOptions), getExplainCounter())
-        .distinct()
-        .forEach(Counter::increment);
-  }
-
-  private Stream<Counter> getExplainCounter() {
-    return Explain.isEnabled()
-        ? Stream.of(this.queryFeaturesMetricsUpdater.getExplainCounter())
-        : Stream.empty();
-  }
+  /**
+   * Per-thread scratch bitmask of the counters a query uses. The bitmask is cleared when a call to
+   * {@link #record} returns, even if it throws, so it is always empty between calls.
+   */
+  private static final ThreadLocal<long[]> FEATURE_BITS =
+      ThreadLocal.withInitial(() -> new long[(NUM_SLOTS + Long.SIZE - 1) / Long.SIZE]);
 
-  private Stream<Counter> getCursorOptionsCounter(QueryCursorOptions cursorOptions) {
-    if (cursorOptions.requireSequenceTokens()) {
-      return Stream.of(this.queryFeaturesMetricsUpdater.getRequireSequenceTokensCounter());
-    }
-    return Stream.empty();
-  }
+  /** Distinct counters, indexed by the bit that represents them. */
+  private final Counter[] counters;
 
-  private Stream<Counter> getQueryCounters(Query query) {
-    return switch (query) {
-      case SearchQuery searchQuery -> getQueryCounters(searchQuery);
-      case VectorSearchQuery vectorSearchQuery ->
-          getVectorSearchOperatorCounters(vectorSearchQuery.criteria());
-    };
-  }
+  /** Maps each slot to the bit of its counter, or -1 if the slot has no counter. */
+  private final int[] slotToBit;
 
-  private Stream<Counter> getQueryCounters(SearchQuery query) {
-    return Streams.concat(
-        getQueryTypeSpecificCounters(query),
-        getConcurrentCounter(query),
-        getReturnStoredSourceCounter(query),
-        getScoreDetailsCounter(query),
-        getPaginationCounter(query),
-        getSortCounters(query),
-        getTrackingCounter(query),
-        getQueryHighlightCounters(query),
-        getReturnScopeCounter(query));
+  @VisibleForTesting
+  QueryMetricsRecorder(
+      IndexMetricsUpdater.QueryingMetricsUpdater.QueryFeaturesMetricsUpdater
+          queryFeaturesMetricsUpdater) {
+    Counter[] slots = resolveSlots(queryFeaturesMetricsUpdater);
+    // Different slots may resolve to the same counter, which must only be incremented once per
+    // query, so slots sharing a counter share its bit.
+    Map<Counter, Integer> bits = new IdentityHashMap<>();
+    this.slotToBit = new int[NUM_SLOTS];
+    for (int slot = 0; slot < NUM_SLOTS; slot++) {
+      Counter counter = slots[slot];
+      this.slotToBit[slot] = counter == null ? -1 : bits.computeIfAbsent(counter, c -> bits.size());
+    }
+    this.counters = new Counter[bits.size()];
+    bits.forEach((counter, bit) -> this.counters[bit] = counter);
   }
 
-  private Stream<? extends Counter> getScoreDetailsCounter(SearchQuery query) {
-    return query.scoreDetails()
-        ? Stream.of(this.queryFeaturesMetricsUpdater.getScoreDetailsCounter())
-        : Stream.empty();
+  private static Counter[] resolveSlots(
+      IndexMetricsUpdater.QueryingMetricsUpdater.QueryFeaturesMetricsUpdater updater) {
+    Counter[] slots = new Counter[NUM_SLOTS];
+    for (Feature feature : Feature.values()) {
+      slots[feature.ordinal()] =
+          switch (feature) {
+            case SYNONYMS -> updater.getSynonymsCounter();
+            case TEXT_SYNONYMS -> updater.getTextSynonymsCounter();
+            case PHRASE_SYNONYMS -> updater.getPhraseSynonymsCounter();
+            case TEXT_DEPRECATED_SYNONYMS -> updater.getTextDeprecatedSynonymsCounter();
+            case FUZZY -> updater.getFuzzyCounter();
+            case WILDCARD_PATHS -> updater.getWildcardPathsCounter();
+            case HIGHLIGHTING -> updater.getHighlightingCounter();
+            case RETURN_SCOPE -> updater.getReturnScopeCounter();
+            case CONCURRENT -> updater.getConcurrentCounter();
+            case SORT -> updater.getSortCounter();
+            case TRACKING -> updater.getTrackingCounter();
+            case SEQUENCE_TOKEN -> updater.getSequenceTokenCounter();
+            case SCORE_DETAILS -> updater.getScoreDetailsCounter();
+            case EXPLAIN -> updater.getExplainCounter();
+            case REQUIRE_SEQUENCE_TOKENS -> updater.getRequireSequenceTokensCounter();
+            case RETURN_STORED_SOURCE -> updater.getReturnStoredSourceCounter();
+            case FILTERED_VECTOR_SEARCH -> updater.getFilteredVectorSearchCounter();
+          };
+    }
+    for (Collector.Type type : Collector.Type.values()) {
+      slots[COLLECTOR_TYPE_SLOTS + type.ordinal()] = updater.getCollectorTypeCounter(type);
+    }
+    for (QueryOptimizationStatus status : QueryOptimizationStatus.values()) {
+      // Only drill sideways queries are counted, so NON_DRILL_SIDEWAYS has no counter.
+      slots[FACET_DRILL_SIDEWAYS_SLOTS + status.ordinal()] =
+          status == QueryOptimizationStatus.NON_DRILL_SIDEWAYS
+              ? null
+              : updater.getFacetDrillSidewaysCounter(status);
+    }
+    for (Operator.Type type : Operator.Type.values()) {
+      slots[OPERATOR_TYPE_SLOTS + type.ordinal()] = updater.getOperatorTypeCounter(type);
+      slots[KNN_BETA_FILTER_SLOTS + type.ordinal()] =
+          updater.getKnnBetaFilterOperatorTypeCounterMap(type);
+      slots[SEARCH_VECTOR_SEARCH_FILTER_SLOTS + type.ordinal()] =
+          updater.getSearchVectorSearchFilterOperatorTypeCounterMap(type);
+    }
+    for (Score.Type type : Score.Type.values()) {
+      slots[SCORE_TYPE_SLOTS + type.ordinal()] = updater.getScoreTypeCounter(type);
+    }
+    for (TextOperator.MatchCriteria criteria : TextOperator.MatchCriteria.values()) {
+      slots[TEXT_MATCH_CRITERIA_SLOTS + criteria.ordinal()] =
+          updater.getTextMatchCriteriaCounter(criteria);
+    }
+    for (NullEmptySortPosition position : NullEmptySortPosition.values()) {
+      slots[NO_DATA_SORT_POSITION_SLOTS + position.ordinal()] =
+          updater.getNoDataSortPositionCounter(position);
+    }
+    for (VectorSearchCriteria.Type type : VectorSearchCriteria.Type.values()) {
+      slots[VECTOR_SEARCH_TYPE_SLOTS + type.ordinal()] =
+          updater.getVectorSearchQueryTypeCounter(type);
+    }
+    for (MqlFilterOperator.Category category : MqlFilterOperator.Category.values()) {
+      slots[VECTOR_SEARCH_FILTER_SLOTS + category.ordinal()] =
+          updater.getVectorSearchFilterOperatorTypeCounterMap(category);
+    }
+    return slots;
   }
 
-  private Stream<Counter> getConcurrentCounter(Query query) {
-    return query.concurrent()
-        ? Stream.of(this.queryFeaturesMetricsUpdater.getConcurrentCounter())
-        : Stream.empty();
+  public void record(Query query) {
+    long[] bits = FEATURE_BITS.get();
+    try {
+      setQueryFeatures(bits, query);
+      setExplainFeature(bits);
+      increment(bits);
+    } finally {
+      Arrays.fill(bits, 0);
+    }
   }
 
-  private Stream<Counter> getReturnStoredSourceCounter(Query query) {
-    return query.returnStoredSource()
-        ? Stream.of(this.queryFeaturesMetricsUpdater.getReturnStoredSourceCounter())
-        : Stream.empty();
+  public void record(Query query, QueryCursorOptions cursorOptions) {
+    long[] bits = FEATURE_BITS.get();
+    try {
+      setQueryFeatures(bits, query);
+      if (cursorOptions.requireSequenceTokens()) {
+        set(bits, Feature.REQUIRE_SEQUENCE_TOKENS);
+      }
+      setExplainFeature(bits);
+      increment(bits);
+    } finally {
+      Arrays.fill(bits, 0);
+    }
   }
 
-  private Stream<Counter> getPaginationCounter(SearchQuery query) {
-    return query
-        .pagination()
-        .map((pagination) -> this.queryFeaturesMetricsUpdater.getSequenceTokenCounter())
-        .stream();
+  /** Increments the counter of every set bit once. */
+  private void increment(long[] bits) {
+    for (int word = 0; word < bits.length; word++) {
+      @Var long remaining = bits[word];
+      while (remaining != 0) {
+        this.counters[word * Long.SIZE + Long.numberOfTrailingZeros(remaining)].increment();
+        remaining &= remaining - 1;
+      }
+    }
   }
 
-  private Stream<Counter> getSortCounters(SearchQuery query) {
-    if (query.sortSpec().isPresent()) {
-      Stream<Counter> sortCounter = Stream.of(this.queryFeaturesMetricsUpdater.getSortCounter());
-      Stream<Counter> noDataCounter =
-          query.sortSpec().get().getSortFields().stream()
-              .map(sortField -> sortField.options())
-              .filter(sortOptions -> sortOptions instanceof UserFieldSortOptions)
-              .map(sortOptions -> ((UserFieldSortOptions) sortOptions).nullEmptySortPosition())
-              .map(this.queryFeaturesMetricsUpdater::getNoDataSortPositionCounter);
-      return Stream.concat(sortCounter, noDataCounter);
-    }
-    return Stream.empty();
+  private void set(long[] bits, Feature feature) {
+    setSlot(bits, feature.ordinal());
   }
 
-  private Stream<Counter> getTrackingCounter(SearchQuery query) {
-    return query.tracking().isPresent()
-        ? Stream.of(this.queryFeaturesMetricsUpdater.getTrackingCounter())
-        : Stream.empty();
+  private void setSlot(long[] bits, int slot) {
+    int bit = this.slotToBit[slot];
+    if (bit >= 0) {
+      bits[bit / Long.SIZE] |= 1L << bit;
+    }
   }
 
-  private Stream<Counter> getQueryHighlightCounters(SearchQuery query) {
-    return query.highlight().isPresent()
-        ? Stream.concat(
-            Stream.of(this.queryFeaturesMetricsUpdater.getHighlightingCounter()),
-            maybeGetWildcardPathCounter(query.highlight().get().paths()))
-        : Stream.empty();
+  private void setExplainFeature(long[] bits) {
+    if (Explain.isEnabled()) {
+      set(bits, Feature.EXPLAIN);
+    }
   }
 
-  private Stream<Counter> getReturnScopeCounter(SearchQuery query) {
-    return query.returnScope().isPresent()
-        ? Stream.of(this.queryFeaturesMetricsUpdater.getReturnScopeCounter())
-        : Stream.empty();
+  private void setQueryFeatures(long[] bits, Query query) {
+    switch (query) {
+      case SearchQuery searchQuery -> setSearchQueryFeatures(bits, searchQuery);
+      case VectorSearchQuery vectorSearchQuery ->
+          setVectorSearchFeatures(bits, vectorSearchQuery.criteria());
+    }
   }
 
-  private Stream<Counter> getQueryTypeSpecificCounters(SearchQuery query) {
-    return switch (query) {
-      case CollectorQuery collectorQuery -> getCollectorCounters(collectorQuery.collector());
-      case OperatorQuery operatorQuery -> getOperatorCounters(operatorQuery.operator());
-    };
+  private void setSearchQueryFeatures(long[] bits, SearchQuery query) {
+    switch (query) {
+      case CollectorQuery collectorQuery -> setCollectorFeatures(bits, collectorQuery.collector());
+      case OperatorQuery operatorQuery -> setOperatorFeatures(bits, operatorQuery.operator());
+    }
+    if (query.concurrent()) {
+      set(bits, Feature.CONCURRENT);
+    }
+    if (query.returnStoredSource()) {
+      set(bits, Feature.RETURN_STORED_SOURCE);
+    }
+    if (query.scoreDetails()) {
+      set(bits, Feature.SCORE_DETAILS);
+    }
+    if (query.pagination().isPresent()) {
+      set(bits, Feature.SEQUENCE_TOKEN);
+    }
+    if (query.sortSpec().isPresent()) {
+      set(bits, Feature.SORT);
+      List<MongotSortField> sortFields = query.sortSpec().get().getSortFields();
+      for (int i = 0; i < sortFields.size(); i++) {
+        if (sortFields.get(i).options() instanceof UserFieldSortOptions sortOptions) {
+          setSlot(
+              bits, NO_DATA_SORT_POSITION_SLOTS + sortOptions.nullEmptySortPosition().ordinal());
+        }
+      }
+    }
+    if (query.tracking().isPresent()) {
+      set(bits, Feature.TRACKING);
+    }
+    if (query.highlight().isPresent()) {
+      set(bits, Feature.HIGHLIGHTING);
+      setWildcardPathFeature(bits, query.highlight().get().paths());
+    }
+    if (query.returnScope().isPresent()) {
+      set(bits, Feature.RETURN_SCOPE);
+    }
   }
 
-  private Stream<Counter> getCollectorCounters(Collector collector) {
-    Stream<Counter> collectorTypeCounter =
-        Stream.of(this.queryFeaturesMetricsUpdater.getCollectorTypeCounter(collector.getType()));
-
-    return switch (collector) {
-      case FacetCollector facetCollector ->
-          Stream.concat(
-              Stream.concat(
-                  getOperatorCounters(facetCollector.operator()), collectorTypeCounter),
-              facetCollector
-                  .drillSidewaysInfo()
-                  .map(DrillSidewaysInfo::optimizationStatus)
-                  .filter(status -> status != QueryOptimizationStatus.NON_DRILL_SIDEWAYS)
-                  .map(this.queryFeaturesMetricsUpdater::getFacetDrillSidewaysCounter)
-                  .stream());
-    };
+  private void setCollectorFeatures(long[] bits, Collector collector) {
+    setSlot(bits, COLLECTOR_TYPE_SLOTS + collector.getType().ordinal());
+    switch (collector) {
+      case FacetCollector facetCollector -> {
+        setOperatorFeatures(bits, facetCollector.operator());
+        if (facetCollector.drillSidewaysInfo().isPresent()) {
+          setSlot(
+              bits,
+              FACET_DRILL_SIDEWAYS_SLOTS
+                  + facetCollector.drillSidewaysInfo().get().optimizationStatus().ordinal());
+        }
+      }
+    }
   }
 
-  private Stream<Counter> getOperatorCounters(Operator operator) {
-    Stream<Counter> operatorTypeCounters =
-        Stream.of(this.queryFeaturesMetricsUpdater.getOperatorTypeCounter(operator.getType()));
-    Stream<Counter> scoreTypeCounters =
-        Stream.of(this.queryFeaturesMetricsUpdater.getScoreTypeCounter(operator.score().getType()));
-    Stream<Counter> operatorStatCounters = getDetailedOperatorStatCounters(operator);
-
-    return Stream.of(operatorTypeCounters, scoreTypeCounters, operatorStatCounters)
-        .flatMap(counterStream -> counterStream);
+  private void setOperatorFeatures(long[] bits, Operator operator) {
+    setSlot(bits, OPERATOR_TYPE_SLOTS + operator.getType().ordinal());
+    setSlot(bits, SCORE_TYPE_SLOTS + operator.score().getType().ordinal());
+    setDetailedOperatorFeatures(bits, operator);
   }
 
   /**
-   * Retrieves detailed counters related to the specific type of the given operator. For unsupported
-   * operator types (e.g., RangeOperator, ExistsOperator), an empty stream is returned.
+   * Sets features related to the specific type of the given operator. Unsupported operator types
+   * (e.g., RangeOperator, ExistsOperator) have no detailed features.
    */
-  private Stream<Counter> getDetailedOperatorStatCounters(Operator operator) {
-    return switch (operator) {
-      case AutocompleteOperator autocompleteOperator ->
-          getAutocompleteStatCounters(autocompleteOperator);
-      case CompoundOperator compoundOperator -> getCompoundStatCounters(compoundOperator);
-      case PhraseOperator phraseOperator -> getPhraseStatCounters(phraseOperator);
-      case RegexOperator regexOperator -> getRegexStatCounters(regexOperator);
-      case TermFuzzyOperator termFuzzyOperator ->
-          Stream.of(this.queryFeaturesMetricsUpdater.getFuzzyCounter());
-      case TextOperator textOperator -> getTextStatCounters(textOperator);
-      case WildcardOperator wildcardOperator -> getWildcardStatCounters(wildcardOperator);
+  private void setDetailedOperatorFeatures(long[] bits, Operator operator) {
+    switch (operator) {
+      case AutocompleteOperator autocompleteOperator -> {
+        if (autocompleteOperator.fuzzy().isPresent()) {
+          set(bits, Feature.FUZZY);
+        }
+      }
+      case CompoundOperator compoundOperator -> {
+        setOperatorFeatures(bits, compoundOperator.filter().operators());
+        setOperatorFeatures(bits, compoundOperator.must().operators());
+        setOperatorFeatures(bits, compoundOperator.mustNot().operators());
+        setOperatorFeatures(bits, compoundOperator.should().operators());
+      }
+      case PhraseOperator phraseOperator -> {
+        if (phraseOperator.synonyms().isPresent()) {
+          set(bits, Feature.PHRASE_SYNONYMS);
+          set(bits, Feature.SYNONYMS);
+        }
+        setWildcardPathFeature(bits, phraseOperator.paths());
+      }
+      case RegexOperator regexOperator -> setWildcardPathFeature(bits, regexOperator.paths());
+      case TermFuzzyOperator termFuzzyOperator -> set(bits, Feature.FUZZY);
+      case TextOperator textOperator -> setTextFeatures(bits, textOperator);
+      case WildcardOperator wildcardOperator ->
+          setWildcardPathFeature(bits, wildcardOperator.paths());
       case VectorSearchOperator vectorSearchOperator ->
-          getVectorSearchOperatorCounters(vectorSearchOperator.criteria());
-      case KnnBetaOperator knnBetaOperator -> getKnnBetaStatCounters(knnBetaOperator);
-
-      case AllDocumentsOperator allDocumentsOperator -> Stream.empty();
-      case EqualsOperator equalsOperator -> Stream.empty();
-      case ExistsOperator existsOperator -> Stream.empty();
-      case EmbeddedDocumentOperator embeddedDocumentOperator -> Stream.empty();
-      case GeoShapeOperator geoShapeOperator -> Stream.empty();
-      case GeoWithinOperator geoWithinOperator -> Stream.empty();
-      case HasAncestorOperator hasAncestorOperator -> Stream.empty();
-      case HasRootOperator hasRootOperator -> Stream.empty();
-      case InOperator inOperator -> Stream.empty();
-      case MoreLikeThisOperator moreLikeThisOperator -> Stream.empty();
-      case NearOperator nearOperator -> Stream.empty();
-      case QueryStringOperator queryStringOperator -> Stream.empty();
-      case RangeOperator rangeOperator -> Stream.empty();
-      case SearchOperator searchOperator -> Stream.empty();
-      case SpanOperator spanOperator -> Stream.empty();
-      case TermOperator termOperator -> Stream.empty();
-    };
-  }
-
-  @VisibleForTesting
-  static Stream<Operator> getAllLeafOperators(Operator operator) {
-    return (operator instanceof CompoundOperator o)
-        ? o.getOperators().flatMap(QueryMetricsRecorder::getAllLeafOperators)
-        : Stream.of(operator);
-  }
-
-  static Stream<MqlFilterOperator.Category> getAllLeafOperators(Clause operator) {
-    return switch (operator) {
-      case SimpleClause f ->
-          f.mqlFilterOperators().stream().flatMap(QueryMetricsRecorder::getAllLeafOperators);
-      case CompoundClause c ->
-          c.getClauses().stream().flatMap(QueryMetricsRecorder::getAllLeafOperators);
-    };
+          setVectorSearchFeatures(bits, vectorSearchOperator.criteria());
+      case KnnBetaOperator knnBetaOperator -> {
+        if (knnBetaOperator.filter().isPresent()) {
+          setLeafOperatorTypes(bits, KNN_BETA_FILTER_SLOTS, knnBetaOperator.filter().get());
+        }
+      }
+
+      case AllDocumentsOperator allDocumentsOperator -> {}
+      case EqualsOperator equalsOperator -> {}
+      case ExistsOperator existsOperator -> {}
+      case EmbeddedDocumentOperator embeddedDocumentOperator -> {}
+      case GeoShapeOperator geoShapeOperator -> {}
+      case GeoWithinOperator geoWithinOperator -> {}
+      case HasAncestorOperator hasAncestorOperator -> {}
+      case HasRootOperator hasRootOperator -> {}
+      case InOperator inOperator -> {}
+      case MoreLikeThisOperator moreLikeThisOperator -> {}
+      case NearOperator nearOperator -> {}
+      case QueryStringOperator queryStringOperator -> {}
+      case RangeOperator rangeOperator -> {}
+      case SearchOperator searchOperator -> {}
+      case SpanOperator spanOperator -> {}
+      case TermOperator termOperator -> {}
+    }
   }
 
-  static Stream<MqlFilterOperator.Category> getAllLeafOperators(MqlFilterOperator operator) {
-    return switch (operator) {
-      case NotOperator f ->
-          Stream.concat(
-              f.negateValues().mqlFilterOperators().stream().map(MqlFilterOperator::getCategory),
-              Stream.of(operator.getCategory()));
-      default -> Stream.of(operator.getCategory());
-    };
+  private void setOperatorFeatures(long[] bits, List<? extends Operator> operators) {
+    for (int i = 0; i < operators.size(); i++) {
+      setOperatorFeatures(bits, operators.get(i));
+    }
   }
 
-  private Stream<Counter> getKnnBetaStatCounters(KnnBetaOperator knnBetaOperator) {
-    return knnBetaOperator.filter().stream()
-        .flatMap(QueryMetricsRecorder::getAllLeafOperators)
-        .map(Operator::getType)
-        .map(this.queryFeaturesMetricsUpdater::getKnnBetaFilterOperatorTypeCounterMap);
+  private void setTextFeatures(long[] bits, TextOperator text) {
+    if (text.matchCriteria().isPresent()) {
+      setSlot(bits, TEXT_MATCH_CRITERIA_SLOTS + text.matchCriteria().get().ordinal());
+    }
+    if (text.fuzzy().isPresent()) {
+      set(bits, Feature.FUZZY);
+    }
+    if (text.synonyms().isPresent()) {
+      if (text.matchCriteria().isEmpty()) {
+        set(bits, Feature.TEXT_DEPRECATED_SYNONYMS);
+      }
+      set(bits, Feature.TEXT_SYNONYMS);
+      set(bits, Feature.SYNONYMS);
+    }
+    setWildcardPathFeature(bits, text.paths());
   }
 
-  /** Retrieve counters related to both $vectorSearch and $search.vectorSearch. */
-  private Stream<Counter> getVectorSearchOperatorCounters(VectorSearchCriteria criteria) {
-
+  /** Sets features related to both $vectorSearch and $search.vectorSearch. */
+  private void setVectorSearchFeatures(long[] bits, VectorSearchCriteria criteria) {
     // Exact vs Approximate
-    Stream<Counter> vectorSearchTypeCounter =
-        Stream.of(
-            this.queryFeaturesMetricsUpdater.getVectorSearchQueryTypeCounter(
-                criteria.getVectorSearchType()));
-    Optional<VectorSearchFilter> maybeFilter = criteria.filter();
-    if (maybeFilter.isEmpty()) {
-      return vectorSearchTypeCounter;
+    setSlot(bits, VECTOR_SEARCH_TYPE_SLOTS + criteria.getVectorSearchType().ordinal());
+    if (criteria.filter().isEmpty()) {
+      return;
+    }
+    set(bits, Feature.FILTERED_VECTOR_SEARCH);
+    switch (criteria.filter().get()) {
+      case VectorSearchFilter.ClauseFilter clauseFilter ->
+          setMqlFilterCategories(bits, clauseFilter.clause());
+      case VectorSearchFilter.OperatorFilter operatorFilter ->
+          setLeafOperatorTypes(bits, SEARCH_VECTOR_SEARCH_FILTER_SLOTS, operatorFilter.operator());
     }
-
-    var vectorSearchWithFilterCounter =
-        criteria
-            .filter()
-            .map(e -> this.queryFeaturesMetricsUpdater.getFilteredVectorSearchCounter())
-            .stream();
-
-    VectorSearchFilter filter = maybeFilter.get();
-    Stream<Counter> filterTypeCounters =
-        switch (filter) {
-          case VectorSearchFilter.ClauseFilter clauseFilter ->
-              QueryMetricsRecorder.getAllLeafOperators(clauseFilter.clause())
-                  .map(
-                      this.queryFeaturesMetricsUpdater
-                          ::getVectorSearchFilterOperatorTypeCounterMap);
-          case VectorSearchFilter.OperatorFilter operatorFilter ->
-              Stream.of(operatorFilter.operator())
-                  .flatMap(QueryMetricsRecorder::getAllLeafOperators)
-                  .map(Operator::getType)
-                  .map(
-                      this.queryFeaturesMetricsUpdater
-                          ::getSearchVectorSearchFilterOperatorTypeCounterMap);
-        };
-
-    return Streams.concat(
-        vectorSearchTypeCounter, filterTypeCounters, vectorSearchWithFilterCounter);
-  }
-
-  private Stream<Counter> getCompoundStatCounters(CompoundOperator compoundOperator) {
-    return compoundOperator.getOperators().flatMap(this::getOperatorCounters);
-  }
-
-  private Stream<Counter> getAutocompleteStatCounters(AutocompleteOperator autocomplete) {
-    return autocomplete
-        .fuzzy()
-        .map(ignored -> this.queryFeaturesMetricsUpdater.getFuzzyCounter())
-        .stream();
   }
 
-  private Stream<Counter> getTextStatCounters(TextOperator text) {
-    Stream<Counter> textMatchCriteriaCounter =
-        text
-            .matchCriteria()
-            .map(this.queryFeaturesMetricsUpdater::getTextMatchCriteriaCounter)
-            .stream();
-    Stream<Counter> deprecatedSynonymCounter =
-        text.matchCriteria().isEmpty()
-            ? text.synonyms().isPresent()
-                ? Stream.of(this.queryFeaturesMetricsUpdater.getTextDeprecatedSynonymsCounter())
-                : Stream.empty()
-            : Stream.empty();
-    Stream<Counter> fuzzyCounter =
-        text.fuzzy().map(ignored -> this.queryFeaturesMetricsUpdater.getFuzzyCounter()).stream();
-    Stream<Counter> textSynonymCounter =
-        text
-            .synonyms()
-            .map(ignored -> this.queryFeaturesMetricsUpdater.getTextSynonymsCounter())
-            .stream();
-    Stream<Counter> synonymCounter =
-        text
-            .synonyms()
-            .map(ignored -> this.queryFeaturesMetricsUpdater.getSynonymsCounter())
-            .stream();
-    Stream<Counter> wildcardPathCounter = maybeGetWildcardPathCounter(text.paths());
-
-    return Stream.of(
-            textMatchCriteriaCounter,
-            fuzzyCounter,
-            deprecatedSynonymCounter,
-            textSynonymCounter,
-            wildcardPathCounter,
-            synonymCounter)
-        .flatMap(counterStream -> counterStream);
+  /** Sets the slot of every non-compound operator in the tree rooted at {@code operator}. */
+  private void setLeafOperatorTypes(long[] bits, int slots, Operator operator) {
+    if (operator instanceof CompoundOperator compound) {
+      setLeafOperatorTypes(bits, slots, compound.filter().operators());
+      setLeafOperatorTypes(bits, slots, compound.must().operators());
+      setLeafOperatorTypes(bits, slots, compound.mustNot().operators());
+      setLeafOperatorTypes(bits, slots, compound.should().operators());
+    } else {
+      setSlot(bits, slots + operator.getType().ordinal());
+    }
   }
 
-  private Stream<Counter> getPhraseStatCounters(PhraseOperator phrase) {
-    Stream<Counter> phraseSynonymCounter =
-        phrase
-            .synonyms()
-            .map(ignored -> this.queryFeaturesMetricsUpdater.getPhraseSynonymsCounter())
-            .stream();
-    Stream<Counter> synonymCounter =
-        phrase
-            .synonyms()
-            .map(ignored -> this.queryFeaturesMetricsUpdater.getSynonymsCounter())
-            .stream();
-    Stream<Counter> wildcardPathCounter = maybeGetWildcardPathCounter(phrase.paths());
-    return Stream.of(phraseSynonymCounter, synonymCounter, wildcardPathCounter)
-        .flatMap(counterStream -> counterStream);
+  private void setLeafOperatorTypes(long[] bits, int slots, List<? extends Operator> operators) {
+    for (int i = 0; i < operators.size(); i++) {
+      setLeafOperatorTypes(bits, slots, operators.get(i));
+    }
   }
 
-  private Stream<Counter> getWildcardStatCounters(WildcardOperator wildcard) {
-    return maybeGetWildcardPathCounter(wildcard.paths());
+  private void setMqlFilterCategories(long[] bits, Clause clause) {
+    switch (clause) {
+      case SimpleClause simpleClause -> {
+        List<MqlFilterOperator> operators = simpleClause.mqlFilterOperators();
+        for (int i = 0; i < operators.size(); i++) {
+          MqlFilterOperator operator = operators.get(i);
+          if (operator instanceof NotOperator not) {
+            List<MqlFilterOperator> negated = not.negateValues().mqlFilterOperators();
+            for (int j = 0; j < negated.size(); j++) {
+              setSlot(bits, VECTOR_SEARCH_FILTER_SLOTS + negated.get(j).getCategory().ordinal());
+            }
+          }
+          setSlot(bits, VECTOR_SEARCH_FILTER_SLOTS + operator.getCategory().ordinal());
+        }
+      }
+      case CompoundClause compoundClause -> {
+        List<Clause> clauses = compoundClause.getClauses();
+        for (int i = 0; i < clauses.size(); i++) {
+          setMqlFilterCategories(bits, clauses.get(i));
+        }
+      }
+    }
   }
 
-  private Stream<Counter> getRegexStatCounters(RegexOperator regex) {
-    return maybeGetWildcardPathCounter(regex.paths());
+  private void setWildcardPathFeature(long[] bits, List<UnresolvedStringPath> paths) {
+    for (int i = 0; i < paths.size(); i++) {
+      if (paths.get(i) instanceof UnresolvedStringWildcardPath) {
+        set(bits, Feature.WILDCARD_PATHS);
+        return;
+      }
+    }
   }
 
-  private Stream<Counter> maybeGetWildcardPathCounter(List<UnresolvedStringPath> paths) {
-    return paths.stream()
-        .filter(path -> path instanceof UnresolvedStringWildcardPath)
-        .map(ignored -> this.queryFeaturesMetricsUpdater.getWildcardPathsCounter());
+  @VisibleForTesting
+  static Stream<Operator> getAllLeafOperators(Operator operator) {
+    return (operator instanceof CompoundOperator o)
+        ? o.getOperators().flatMap(QueryMetricsRecorder::getAllLeafOperators)
+        : Stream.of(operator);
   }
 }
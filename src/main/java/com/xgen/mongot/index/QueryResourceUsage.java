@@ -0,0 +1,183 @@
+package com.xgen.mongot.index;
+
+import com.google.errorprone.annotations.MustBeClosed;
+import com.google.errorprone.annotations.Var;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+
+/**
+ * Accounts for the resources used by a single query, on the command thread as well as on the
+ * concurrent search threads working for it. Unlike the resource usage reported by explain, this is
+ * cheap enough to be collected for every query.
+ *
+ * <p>The usage is attached to the OpenTelemetry {@link Context} of the query, so the searcher and
+ * stored field readers can find it through {@link #current()}, and tasks submitted to executors
+ * wrapped with {@link #wrap(Executor)} account their thread's CPU time and allocations to it.
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * QueryResourceUsage usage = new QueryResourceUsage();
+ * try (var unused = usage.track()) {
+ *   // Run the query.
+ * }
+ * QueryResourceUsage.Snapshot snapshot = usage.snapshot();
+ * }</pre>
+ */
+public class QueryResourceUsage {
+
+  private static final ContextKey<QueryResourceUsage> RESOURCE_USAGE_KEY =
+      ContextKey.named("mongot.queryResourceUsage");
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  /**
+   * The usage whose thread measurement covers the current thread, so that tasks which an executor
+   * runs on the submitting thread are not counted twice.
+   */
+  private static final ThreadLocal<QueryResourceUsage> MEASURED_USAGE = new ThreadLocal<>();
+
+  private final LongAdder cpuNanos = new LongAdder();
+  private final LongAdder allocatedBytes = new LongAdder();
+  private final LongAdder docsScanned = new LongAdder();
+  private final LongAdder storedDocuments = new LongAdder();
+  private final LongAdder storedBytes = new LongAdder();
+
+  /** The thread measured by {@link #track()} while its scope is open. */
+  @Nullable private volatile ThreadMeasurement trackedThread;
+
+  private record ThreadMeasurement(Thread thread, long startCpuNanos, long startAllocatedBytes) {}
+
+  /** A point-in-time view of the resources used by a query. */
+  public record Snapshot(
+      long cpuNanos,
+      long allocatedBytes,
+      long docsScanned,
+      long storedDocuments,
+      long storedBytes) {
+
+    public BsonDocument toBson() {
+      return new BsonDocument()
+          .append("cpuNanos", new BsonInt64(this.cpuNanos))
+          .append("allocatedBytes", new BsonInt64(this.allocatedBytes))
+          .append("docsScanned", new BsonInt64(this.docsScanned))
+          .append("storedDocuments", new BsonInt64(this.storedDocuments))
+          .append("storedBytes", new BsonInt64(this.storedBytes));
+    }
+  }
+
+  /**
+   * Attaches this usage to the current context and starts measuring the CPU time and allocations
+   * of the current thread, until the returned scope is closed.
+   */
+  @MustBeClosed
+  public Scope track() {
+    Scope scope = Context.current().with(RESOURCE_USAGE_KEY, this).makeCurrent();
+    @Nullable QueryResourceUsage previous = MEASURED_USAGE.get();
+    MEASURED_USAGE.set(this);
+    ThreadMeasurement measurement =
+        new ThreadMeasurement(Thread.currentThread(), threadCpuNanos(), threadAllocatedBytes());
+    this.trackedThread = measurement;
+    return () -> {
+      this.trackedThread = null;
+      recordThreadUsage(measurement.startCpuNanos(), measurement.startAllocatedBytes());
+      MEASURED_USAGE.set(previous);
+      scope.close();
+    };
+  }
+
+  /** Returns the usage of the query running in the current context, if it is tracked. */
+  public static Optional<QueryResourceUsage> current() {
+    return Optional.ofNullable(Context.current().get(RESOURCE_USAGE_KEY));
+  }
+
+  /**
+   * Wraps an executor so that tasks submitted to it account their CPU time and allocations to the
+   * usage of the current context. Returns the executor itself if no usage is tracked.
+   */
+  public static Executor wrap(Executor executor) {
+    @Nullable QueryResourceUsage usage = Context.current().get(RESOURCE_USAGE_KEY);
+    if (usage == null) {
+      return executor;
+    }
+    return command -> executor.execute(() -> usage.measure(command));
+  }
+
+  private void measure(Runnable command) {
+    if (MEASURED_USAGE.get() == this) {
+      command.run();
+      return;
+    }
+    MEASURED_USAGE.set(this);
+    long startCpuNanos = threadCpuNanos();
+    long startAllocatedBytes = threadAllocatedBytes();
+    try {
+      command.run();
+    } finally {
+      recordThreadUsage(startCpuNanos, startAllocatedBytes);
+      MEASURED_USAGE.remove();
+    }
+  }
+
+  private void recordThreadUsage(long startCpuNanos, long startAllocatedBytes) {
+    // Both are -1 if the JVM does not support or has disabled measuring them.
+    if (startCpuNanos >= 0) {
+      this.cpuNanos.add(threadCpuNanos() - startCpuNanos);
+    }
+    if (startAllocatedBytes >= 0) {
+      this.allocatedBytes.add(threadAllocatedBytes() - startAllocatedBytes);
+    }
+  }
+
+  /** Records documents that matched the query and were passed to its collector. */
+  public void recordDocsScanned(long docs) {
+    this.docsScanned.add(docs);
+  }
+
+  /** Records a document read from stored fields, with the size of the stored source read. */
+  public void recordStoredDocument(long bytes) {
+    this.storedDocuments.increment();
+    this.storedBytes.add(bytes);
+  }
+
+  /**
+   * Returns the resources used so far. Called on the thread being tracked, such as when explain
+   * output is collected, this includes what the thread used until now.
+   */
+  public Snapshot snapshot() {
+    @Var long cpuNanos = this.cpuNanos.sum();
+    @Var long allocatedBytes = this.allocatedBytes.sum();
+    @Nullable ThreadMeasurement measurement = this.trackedThread;
+    if (measurement != null && measurement.thread() == Thread.currentThread()) {
+      if (measurement.startCpuNanos() >= 0) {
+        cpuNanos += threadCpuNanos() - measurement.startCpuNanos();
+      }
+      if (measurement.startAllocatedBytes() >= 0) {
+        allocatedBytes += threadAllocatedBytes() - measurement.startAllocatedBytes();
+      }
+    }
+    return new Snapshot(
+        cpuNanos,
+        allocatedBytes,
+        this.docsScanned.sum(),
+        this.storedDocuments.sum(),
+        this.storedBytes.sum());
+  }
+
+  private static long threadCpuNanos() {
+    return THREADS.getCurrentThreadCpuTime();
+  }
+
+  private static long threadAllocatedBytes() {
+    return THREADS.getCurrentThreadAllocatedBytes();
+  }
+}
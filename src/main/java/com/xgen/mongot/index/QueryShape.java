@@ -0,0 +1,236 @@
+package com.xgen.mongot.index;
+
+import com.google.common.base.CaseFormat;
+import com.google.errorprone.annotations.Var;
+import com.xgen.mongot.index.query.CollectorQuery;
+import com.xgen.mongot.index.query.OperatorQuery;
+import com.xgen.mongot.index.query.Query;
+import com.xgen.mongot.index.query.SearchQuery;
+import com.xgen.mongot.index.query.VectorSearchQuery;
+import com.xgen.mongot.index.query.collectors.FacetCollector;
+import com.xgen.mongot.index.query.operators.CompoundOperator;
+import com.xgen.mongot.index.query.operators.EmbeddedDocumentOperator;
+import com.xgen.mongot.index.query.operators.HasAncestorOperator;
+import com.xgen.mongot.index.query.operators.HasRootOperator;
+import com.xgen.mongot.index.query.operators.KnnBetaOperator;
+import com.xgen.mongot.index.query.operators.Operator;
+import com.xgen.mongot.index.query.operators.VectorSearchCriteria;
+import com.xgen.mongot.index.query.operators.VectorSearchFilter;
+import com.xgen.mongot.index.query.operators.VectorSearchOperator;
+import com.xgen.mongot.index.query.operators.mql.Clause;
+import com.xgen.mongot.index.query.operators.mql.CompoundClause;
+import com.xgen.mongot.index.query.operators.mql.MqlFilterOperator;
+import com.xgen.mongot.index.query.operators.mql.SimpleClause;
+import com.xgen.mongot.util.Enums;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Normalizes a query into its shape: the tree of operator types and the query options that were
+ * used, without any paths or values.
+ *
+ * <p>Every method walks the query once and folds each token into a 64-bit fingerprint. When a
+ * {@link StringBuilder} is supplied the same tokens are also rendered into a human-readable
+ * description, which is only needed the first time a shape is seen. Computing the fingerprint
+ * alone does not allocate.
+ */
+final class QueryShape {
+
+  private static final int SEARCH = 1;
+  private static final int VECTOR_SEARCH = 2;
+  private static final int OPERATOR = 3;
+  private static final int COLLECTOR = 4;
+  private static final int OPEN = 5;
+  private static final int CLOSE = 6;
+  private static final int CLAUSE = 7;
+  private static final int OPTION = 8;
+  private static final int FILTER = 9;
+
+  private static final String[] COMPOUND_CLAUSE_NAMES = {"filter", "must", "mustNot", "should"};
+  private static final String[] OPTION_NAMES = {
+    "sort", "highlight", "returnStoredSource", "returnScope", "concurrent", "tracking",
+    "scoreDetails", "pagination"
+  };
+
+  private QueryShape() {}
+
+  /** Returns a fingerprint that is equal for any two queries with the same shape. */
+  static long fingerprint(Query query) {
+    return walk(query, null);
+  }
+
+  /** Returns a readable rendering of the shape of the query. */
+  static String describe(Query query) {
+    StringBuilder description = new StringBuilder();
+    walk(query, description);
+    return description.toString();
+  }
+
+  private static long walk(Query query, @Nullable StringBuilder description) {
+    return switch (query) {
+      case SearchQuery searchQuery -> walkSearch(searchQuery, description);
+      case VectorSearchQuery vectorSearchQuery -> {
+        @Var long hash = token(0, VECTOR_SEARCH, description, "$vectorSearch ");
+        yield walkCriteria(vectorSearchQuery.criteria(), hash, description);
+      }
+    };
+  }
+
+  private static long walkSearch(SearchQuery query, @Nullable StringBuilder description) {
+    @Var long hash = token(0, SEARCH, description, "$search ");
+    switch (query) {
+      case CollectorQuery collectorQuery -> {
+        hash = enumToken(hash, COLLECTOR, collectorQuery.collector().getType(), description);
+        hash = token(hash, OPEN, description, "(");
+        switch (collectorQuery.collector()) {
+          case FacetCollector facetCollector ->
+              hash = walkOperator(facetCollector.operator(), hash, description);
+        }
+        hash = token(hash, CLOSE, description, ")");
+      }
+      case OperatorQuery operatorQuery ->
+          hash = walkOperator(operatorQuery.operator(), hash, description);
+    }
+
+    hash = option(hash, 0, query.rawSortSpec().isPresent(), description);
+    hash = option(hash, 1, query.highlight().isPresent(), description);
+    hash = option(hash, 2, query.returnStoredSource(), description);
+    hash = option(hash, 3, query.returnScope().isPresent(), description);
+    hash = option(hash, 4, query.concurrent(), description);
+    hash = option(hash, 5, query.tracking().isPresent(), description);
+    hash = option(hash, 6, query.scoreDetails(), description);
+    return option(hash, 7, query.pagination().isPresent(), description);
+  }
+
+  private static long option(
+      long hash, int option, boolean present, @Nullable StringBuilder description) {
+    if (!present) {
+      return hash;
+    }
+    if (description != null) {
+      description.append(" +").append(OPTION_NAMES[option]);
+    }
+    return mix(mix(hash, OPTION), option);
+  }
+
+  private static long walkOperator(
+      Operator operator, @Var long hash, @Nullable StringBuilder description) {
+    hash = enumToken(hash, OPERATOR, operator.getType(), description);
+    return switch (operator) {
+      case CompoundOperator compound -> {
+        hash = token(hash, OPEN, description, "(");
+        hash = walkClause(0, compound.filter().operators(), hash, description);
+        hash = walkClause(1, compound.must().operators(), hash, description);
+        hash = walkClause(2, compound.mustNot().operators(), hash, description);
+        hash = walkClause(3, compound.should().operators(), hash, description);
+        yield token(hash, CLOSE, description, ")");
+      }
+      case EmbeddedDocumentOperator embedded -> walkChild(embedded.operator(), hash, description);
+      case HasAncestorOperator hasAncestor -> walkChild(hasAncestor.operator(), hash, description);
+      case HasRootOperator hasRoot -> walkChild(hasRoot.operator(), hash, description);
+      case KnnBetaOperator knnBeta ->
+          knnBeta.filter().isPresent()
+              ? walkChild(knnBeta.filter().get(), hash, description)
+              : hash;
+      case VectorSearchOperator vectorSearch ->
+          walkCriteria(vectorSearch.criteria(), hash, description);
+      default -> hash;
+    };
+  }
+
+  private static long walkChild(
+      Operator child, @Var long hash, @Nullable StringBuilder description) {
+    hash = token(hash, OPEN, description, "(");
+    hash = walkOperator(child, hash, description);
+    return token(hash, CLOSE, description, ")");
+  }
+
+  private static long walkClause(
+      int clause,
+      List<? extends Operator> operators,
+      @Var long hash,
+      @Nullable StringBuilder description) {
+    if (operators.isEmpty()) {
+      return hash;
+    }
+    hash = mix(mix(hash, CLAUSE), clause);
+    if (description != null) {
+      if (description.charAt(description.length() - 1) != '(') {
+        description.append(", ");
+      }
+      description.append(COMPOUND_CLAUSE_NAMES[clause]).append(": [");
+    }
+    for (int i = 0; i < operators.size(); i++) {
+      if (description != null && i > 0) {
+        description.append(", ");
+      }
+      hash = walkOperator(operators.get(i), hash, description);
+    }
+    return token(hash, CLOSE, description, "]");
+  }
+
+  private static long walkCriteria(
+      VectorSearchCriteria criteria, @Var long hash, @Nullable StringBuilder description) {
+    hash = enumToken(hash, VECTOR_SEARCH, criteria.getVectorSearchType(), description);
+    if (criteria.filter().isEmpty()) {
+      return hash;
+    }
+    hash = token(hash, FILTER, description, " filter(");
+    hash =
+        switch (criteria.filter().get()) {
+          case VectorSearchFilter.ClauseFilter clauseFilter ->
+              walkMqlClause(clauseFilter.clause(), hash, description);
+          case VectorSearchFilter.OperatorFilter operatorFilter ->
+              walkOperator(operatorFilter.operator(), hash, description);
+        };
+    return token(hash, CLOSE, description, ")");
+  }
+
+  private static long walkMqlClause(
+      Clause clause, @Var long hash, @Nullable StringBuilder description) {
+    switch (clause) {
+      case SimpleClause simple -> {
+        List<MqlFilterOperator> operators = simple.mqlFilterOperators();
+        for (int i = 0; i < operators.size(); i++) {
+          if (description != null && i > 0) {
+            description.append(", ");
+          }
+          hash = enumToken(hash, FILTER, operators.get(i).getCategory(), description);
+        }
+      }
+      case CompoundClause compound -> {
+        hash = enumToken(hash, CLAUSE, compound.getOperator(), description);
+        hash = token(hash, OPEN, description, "(");
+        List<Clause> clauses = compound.getClauses();
+        for (int i = 0; i < clauses.size(); i++) {
+          if (description != null && i > 0) {
+            description.append(", ");
+          }
+          hash = walkMqlClause(clauses.get(i), hash, description);
+        }
+        hash = token(hash, CLOSE, description, ")");
+      }
+    }
+    return hash;
+  }
+
+  private static long token(
+      long hash, int kind, @Nullable StringBuilder description, String text) {
+    if (description != null) {
+      description.append(text);
+    }
+    return mix(hash, kind);
+  }
+
+  private static <E extends Enum<E>> long enumToken(
+      long hash, int kind, E value, @Nullable StringBuilder description) {
+    if (description != null) {
+      description.append(Enums.convertNameTo(CaseFormat.LOWER_CAMEL, value));
+    }
+    return mix(mix(hash, kind), value.ordinal());
+  }
+
+  private static long mix(long hash, int token) {
+    return (Long.rotateLeft(hash, 7) ^ token) * 0x9E3779B97F4A7C15L;
+  }
+}
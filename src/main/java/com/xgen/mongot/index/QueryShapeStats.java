@@ -0,0 +1,193 @@
+package com.xgen.mongot.index;
+
+import static com.xgen.mongot.util.Check.checkArg;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.Var;
+import com.xgen.mongot.index.query.Query;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+
+/**
+ * A bounded per-index table of query statistics keyed by {@link QueryShape}, used to find the
+ * query shapes that are most expensive for an index.
+ *
+ * <p>Recording a query whose shape is already tracked only computes the shape fingerprint and
+ * updates a few adders. When the table is full, a new shape replaces the least recently recorded
+ * shape. Evicting by total latency instead would evict every new shape before it could accumulate
+ * any, so shapes outside the table would keep replacing each other.
+ */
+public class QueryShapeStats {
+
+  public static final int DEFAULT_CAPACITY = 100;
+
+  /** Upper bounds, in milliseconds, of the latency histogram buckets. The last bucket is open. */
+  static final long[] LATENCY_BUCKET_UPPER_BOUNDS_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+  private final int capacity;
+  private final Map<Long, Entry> entries;
+
+  /** Orders recordings, to find the least recently recorded shape. */
+  private final AtomicLong clock = new AtomicLong();
+
+  public QueryShapeStats(int capacity) {
+    checkArg(capacity > 0, "capacity must be positive, but was %s", capacity);
+    this.capacity = capacity;
+    this.entries = new ConcurrentHashMap<>();
+  }
+
+  public QueryShapeStats() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /** Records the execution of a query that took {@code latencyNanos} to produce its results. */
+  public void record(Query query, long latencyNanos) {
+    long fingerprint = QueryShape.fingerprint(query);
+    @Var Entry entry = this.entries.get(fingerprint);
+    if (entry == null) {
+      entry = insert(fingerprint, query);
+    }
+    entry.lastRecorded = this.clock.incrementAndGet();
+    entry.record(latencyNanos);
+  }
+
+  /**
+   * Adds the documents scanned and stored source bytes read by a query to its shape. Usage for
+   * shapes that are not currently tracked is dropped, so it must be recorded after {@link #record}.
+   * The search and vector search commands record the usage of each query they ran.
+   */
+  public void recordResourceUsage(Query query, long docsScanned, long storedBytes) {
+    Entry entry = this.entries.get(QueryShape.fingerprint(query));
+    if (entry != null) {
+      entry.docsScanned.add(docsScanned);
+      entry.storedBytes.add(storedBytes);
+    }
+  }
+
+  /** Returns up to {@code limit} tracked shapes, ordered by descending total latency. */
+  public List<ShapeStats> getTopShapes(int limit) {
+    return this.entries.values().stream()
+        .map(Entry::snapshot)
+        .sorted(Comparator.comparingLong(ShapeStats::totalLatencyNanos).reversed())
+        .limit(limit)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  public int size() {
+    return this.entries.size();
+  }
+
+  private synchronized Entry insert(long fingerprint, Query query) {
+    Entry existing = this.entries.get(fingerprint);
+    if (existing != null) {
+      return existing;
+    }
+    if (this.entries.size() >= this.capacity) {
+      this.entries.entrySet().stream()
+          .min(Comparator.comparingLong(e -> e.getValue().lastRecorded))
+          .ifPresent(leastRecent -> this.entries.remove(leastRecent.getKey()));
+    }
+    Entry entry = new Entry(QueryShape.describe(query));
+    // Keeps a concurrent insert from evicting the entry before its first recording.
+    entry.lastRecorded = this.clock.incrementAndGet();
+    this.entries.put(fingerprint, entry);
+    return entry;
+  }
+
+  /** A point-in-time view of the statistics of one query shape. */
+  public record ShapeStats(
+      String shape,
+      long count,
+      long totalLatencyNanos,
+      long maxLatencyNanos,
+      ImmutableList<Long> latencyHistogram,
+      long docsScanned,
+      long storedBytes) {
+
+    public BsonDocument toBson() {
+      BsonArray histogram = new BsonArray();
+      for (int i = 0; i < this.latencyHistogram.size(); i++) {
+        histogram.add(
+            new BsonDocument()
+                .append(
+                    "ltMillis",
+                    i < LATENCY_BUCKET_UPPER_BOUNDS_MILLIS.length
+                        ? new BsonInt64(LATENCY_BUCKET_UPPER_BOUNDS_MILLIS[i])
+                        : new BsonString("inf"))
+                .append("count", new BsonInt64(this.latencyHistogram.get(i))));
+      }
+      return new BsonDocument()
+          .append("shape", new BsonString(this.shape))
+          .append("count", new BsonInt64(this.count))
+          .append("totalLatencyMillis", new BsonDouble(toMillis(this.totalLatencyNanos)))
+          .append(
+              "meanLatencyMillis",
+              new BsonDouble(
+                  this.count == 0 ? 0 : toMillis(this.totalLatencyNanos) / this.count))
+          .append("maxLatencyMillis", new BsonDouble(toMillis(this.maxLatencyNanos)))
+          .append("latencyHistogram", histogram)
+          .append("docsScanned", new BsonInt64(this.docsScanned))
+          .append("storedBytes", new BsonInt64(this.storedBytes));
+    }
+
+    private static double toMillis(long nanos) {
+      return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+  }
+
+  private static class Entry {
+    private final String shape;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray latencyHistogram =
+        new AtomicLongArray(LATENCY_BUCKET_UPPER_BOUNDS_MILLIS.length + 1);
+    private final LongAdder docsScanned = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private volatile long lastRecorded;
+
+    private Entry(String shape) {
+      this.shape = shape;
+    }
+
+    private void record(long latencyNanos) {
+      this.count.increment();
+      this.totalLatencyNanos.add(latencyNanos);
+      this.maxLatencyNanos.accumulate(latencyNanos);
+      long latencyMillis = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+      @Var int bucket = 0;
+      while (bucket < LATENCY_BUCKET_UPPER_BOUNDS_MILLIS.length
+          && latencyMillis >= LATENCY_BUCKET_UPPER_BOUNDS_MILLIS[bucket]) {
+        bucket++;
+      }
+      this.latencyHistogram.incrementAndGet(bucket);
+    }
+
+    private ShapeStats snapshot() {
+      ImmutableList.Builder<Long> histogram = ImmutableList.builder();
+      for (int i = 0; i < this.latencyHistogram.length(); i++) {
+        histogram.add(this.latencyHistogram.get(i));
+      }
+      return new ShapeStats(
+          this.shape,
+          this.count.sum(),
+          this.totalLatencyNanos.sum(),
+          this.maxLatencyNanos.get(),
+          histogram.build(),
+          this.docsScanned.sum(),
+          this.storedBytes.sum());
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package com.xgen.mongot.index;
+
+import static com.xgen.mongot.util.Check.checkArg;
+
+import com.google.common.collect.ImmutableList;
+import com.xgen.mongot.index.definition.IndexDefinition;
+import com.xgen.mongot.index.query.Query;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonString;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs the queries that took longer than a threshold, together with their {@link
+ * QueryResourceUsage}, and keeps the most recent of them in a bounded in-memory buffer so they can
+ * be listed without access to the log files.
+ *
+ * <p>Queries are described by their {@link QueryShape}, so that no paths or values of a query are
+ * retained or logged.
+ */
+public class SlowQueryLog {
+
+  public static final Duration DEFAULT_THRESHOLD = Duration.ofSeconds(1);
+  public static final int DEFAULT_CAPACITY = 100;
+
+  private static final Logger LOG = LoggerFactory.getLogger(SlowQueryLog.class);
+
+  private final Duration threshold;
+  private final long thresholdNanos;
+  private final int capacity;
+
+  /** The most recent slow queries, newest first. Guarded by itself. */
+  private final ArrayDeque<SlowQuery> queries;
+
+  public SlowQueryLog(Duration threshold, int capacity) {
+    checkArg(!threshold.isNegative(), "threshold must not be negative, but was %s", threshold);
+    checkArg(capacity > 0, "capacity must be positive, but was %s", capacity);
+    this.threshold = threshold;
+    this.thresholdNanos = threshold.toNanos();
+    this.capacity = capacity;
+    this.queries = new ArrayDeque<>(capacity);
+  }
+
+  public SlowQueryLog(Duration threshold) {
+    this(threshold, DEFAULT_CAPACITY);
+  }
+
+  public SlowQueryLog() {
+    this(DEFAULT_THRESHOLD);
+  }
+
+  /** A query that took longer than the threshold. */
+  public record SlowQuery(
+      Instant time,
+      ObjectId indexId,
+      String indexName,
+      String shape,
+      long latencyNanos,
+      QueryResourceUsage.Snapshot resourceUsage) {
+
+    public BsonDocument toBson() {
+      return new BsonDocument()
+          .append("time", new BsonDateTime(this.time.toEpochMilli()))
+          .append("indexId", new BsonString(this.indexId.toHexString()))
+          .append("indexName", new BsonString(this.indexName))
+          .append("shape", new BsonString(this.shape))
+          .append(
+              "latencyMillis",
+              new BsonDouble(this.latencyNanos / (double) TimeUnit.MILLISECONDS.toNanos(1)))
+          .append("resourceUsage", this.resourceUsage.toBson());
+    }
+  }
+
+  public Duration getThreshold() {
+    return this.threshold;
+  }
+
+  /**
+   * Records a query against the index with the supplied definition, if it took at least the
+   * threshold. Faster queries are dropped without computing their shape.
+   */
+  public void record(
+      IndexDefinition definition,
+      Query query,
+      long latencyNanos,
+      QueryResourceUsage.Snapshot resourceUsage) {
+    if (latencyNanos < this.thresholdNanos) {
+      return;
+    }
+
+    SlowQuery slowQuery =
+        new SlowQuery(
+            Instant.now(),
+            definition.getIndexId(),
+            definition.getName(),
+            QueryShape.describe(query),
+            latencyNanos,
+            resourceUsage);
+    LOG.atInfo()
+        .addKeyValue("indexId", slowQuery.indexId())
+        .addKeyValue("indexName", slowQuery.indexName())
+        .addKeyValue("shape", slowQuery.shape())
+        .addKeyValue("latencyMillis", TimeUnit.NANOSECONDS.toMillis(latencyNanos))
+        .addKeyValue("cpuNanos", resourceUsage.cpuNanos())
+        .addKeyValue("allocatedBytes", resourceUsage.allocatedBytes())
+        .addKeyValue("docsScanned", resourceUsage.docsScanned())
+        .addKeyValue("storedDocuments", resourceUsage.storedDocuments())
+        .addKeyValue("storedBytes", resourceUsage.storedBytes())
+        .log("Slow query");
+
+    synchronized (this.queries) {
+      if (this.queries.size() == this.capacity) {
+        this.queries.removeLast();
+      }
+      this.queries.addFirst(slowQuery);
+    }
+  }
+
+  /** Returns the most recent slow queries, newest first. */
+  public ImmutableList<SlowQuery> getSlowQueries() {
+    synchronized (this.queries) {
+      return ImmutableList.copyOf(this.queries);
+    }
+  }
+}
@@ -167,6 +167,11 @@ public class InitializedMaterializedViewIndex implements InitializedVectorIndex
   @Override
   public void throwIfUnavailableForQuerying() throws IndexUnavailableException {}
 
+  @Override
+  public void unload() {
+    throw new UnsupportedOperationException("materialized view indexes are never unloaded");
+  }
+
   @Override
   public void close() throws IOException {
     this.indexMetricsUpdater.close();
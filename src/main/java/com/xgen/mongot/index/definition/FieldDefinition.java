@@ -92,6 +92,7 @@ public record FieldDefinition(
                   StringFieldDefinition.Fields.INDEX_OPTIONS.getDefaultValue(),
                   StringFieldDefinition.Fields.STORE.getDefaultValue(),
                   StringFieldDefinition.Fields.NORMS.getDefaultValue(),
+                  StringFieldDefinition.Fields.TERM_VECTORS.getDefaultValue(),
                   Collections.emptyMap())),
           Optional.empty(),
           Optional.empty(),
@@ -22,6 +22,7 @@ public record StringFieldDefinition(
     IndexOptions indexOptions,
     boolean storeFlag,
     NormsOptions norms,
+    TermVectorOptions termVectors,
     ImmutableMap<String, StringFieldDefinition> multi)
     implements FieldTypeDefinition {
 
@@ -60,6 +61,17 @@ public record StringFieldDefinition(
             .optional()
             .withDefault(NormsOptions.INCLUDE);
 
+    /**
+     * Term vectors let highlighting of multi-term queries (e.g. fuzzy or wildcard) read the
+     * offsets of a document's terms instead of re-analyzing its stored value.
+     */
+    public static final Field.WithDefault<TermVectorOptions> TERM_VECTORS =
+        Field.builder("termVectors")
+            .enumField(TermVectorOptions.class)
+            .asCamelCase()
+            .optional()
+            .withDefault(TermVectorOptions.NONE);
+
     static final Field.WithDefault<Map<String, StringFieldDefinition>> MULTI =
         Field.builder("multi")
             /*
@@ -98,6 +110,11 @@ public record StringFieldDefinition(
     OMIT
   }
 
+  public enum TermVectorOptions {
+    NONE,
+    WITH_POSITIONS_OFFSETS
+  }
+
   public static StringFieldDefinition create(
       Optional<String> analyzerName,
       Optional<String> searchAnalyzerName,
@@ -106,6 +123,7 @@ public record StringFieldDefinition(
       IndexOptions indexOptions,
       boolean store,
       NormsOptions norms,
+      TermVectorOptions termVectors,
       Map<String, StringFieldDefinition> multi) {
     return new StringFieldDefinition(
         analyzerName,
@@ -115,6 +133,7 @@ public record StringFieldDefinition(
         indexOptions,
         store,
         norms,
+        termVectors,
         ImmutableMap.copyOf(multi));
   }
 
@@ -127,6 +146,7 @@ public record StringFieldDefinition(
         parser.getField(Fields.INDEX_OPTIONS).unwrap(),
         parser.getField(Fields.STORE).unwrap(),
         parser.getField(Fields.NORMS).unwrap(),
+        parser.getField(Fields.TERM_VECTORS).unwrap(),
         parser.getField(Fields.MULTI).unwrap());
   }
 
@@ -159,6 +179,11 @@ public record StringFieldDefinition(
             .field(Fields.STORE, this.storeFlag)
             .field(Fields.NORMS, this.norms);
 
+    // Only serialize termVectors when enabled, to keep existing definitions unchanged.
+    if (this.termVectors != Fields.TERM_VECTORS.getDefaultValue()) {
+      builder.field(Fields.TERM_VECTORS, this.termVectors);
+    }
+
     // Explicitly only serialize multi if there is a multi present.
     // This will prevent a multi definition from serializing with an empty multi map.
     if (!this.multi().isEmpty()) {
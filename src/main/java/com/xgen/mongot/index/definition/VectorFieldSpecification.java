@@ -146,6 +146,13 @@ public class VectorFieldSpecification implements DocumentEncodable {
     return this.indexingAlgorithm;
   }
 
+  /** Returns the HNSW graph options, or empty if the field is not indexed with an HNSW graph. */
+  public Optional<HnswOptions> hnswOptions() {
+    return this.indexingAlgorithm instanceof VectorIndexingAlgorithm.HnswIndexingAlgorithm hnsw
+        ? Optional.of(hnsw.options())
+        : Optional.empty();
+  }
+
   public VectorSearchEngine engine() {
     return this.engine;
   }
@@ -156,11 +163,7 @@ public class VectorFieldSpecification implements DocumentEncodable {
 
   @Override
   public BsonDocument toBson() {
-    Optional<HnswOptions> maybeHnswOptions =
-        this.indexingAlgorithm instanceof VectorIndexingAlgorithm.HnswIndexingAlgorithm
-            ? Optional.of(
-                ((VectorIndexingAlgorithm.HnswIndexingAlgorithm) this.indexingAlgorithm).options())
-            : Optional.empty();
+    Optional<HnswOptions> maybeHnswOptions = hnswOptions();
 
     return BsonDocumentBuilder.builder()
         .field(Fields.NUM_DIMENSIONS, this.numDimensions)
@@ -11,6 +11,9 @@ import org.bson.BsonDocument;
 public interface StoredBuilder extends DocumentHandler {
   Optional<BsonDocument> build();
 
+  /** Discards the stored source built so far, so the builder can build another document. */
+  void reset();
+
   default DocumentHandler asDocumentHandler() {
     return this;
   }
@@ -47,4 +47,9 @@ public class StoredDocumentBuilder implements StoredBuilder {
   public Optional<BsonDocument> build() {
     return Optional.of(this.document);
   }
+
+  @Override
+  public void reset() {
+    this.document.clear();
+  }
 }
@@ -1,9 +1,13 @@
 package com.xgen.mongot.index.lucene;
 
+import com.xgen.mongot.index.lucene.explain.explainers.SortFeatureExplainer;
+import com.xgen.mongot.index.lucene.explain.tracing.Explain;
+import com.xgen.mongot.index.lucene.query.sort.EarlyTerminationCollectorManager;
 import com.xgen.mongot.index.lucene.searcher.LuceneIndexSearcher;
 import com.xgen.mongot.index.query.sort.SequenceToken;
 import java.io.IOException;
 import java.util.Optional;
+import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.CollectorManager;
 import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.Query;
@@ -35,14 +39,13 @@ abstract class AbstractLuceneSearchManager<T> implements LuceneSearchManager<T>
       LuceneIndexSearcherReference searcherReference, ScoreDoc lastScoreDoc, int batchSize)
       throws IOException {
 
+    // Hits were already counted by the initial search, so getMores only count as many as they
+    // return. This lets collection of a segment terminate as soon as no later hit can be
+    // competitive, e.g. once the queue is full when the sort is a prefix of the index sort.
+    var collectorManager =
+        explained(createCollectorManager(batchSize, batchSize, Optional.of(lastScoreDoc)));
     TopDocs topDocs =
-        this.luceneSort.isPresent()
-            ? searcherReference
-                .getIndexSearcher()
-                .searchAfter(lastScoreDoc, this.luceneQuery, batchSize, this.luceneSort.get(), true)
-            : searcherReference
-                .getIndexSearcher()
-                .searchAfter(lastScoreDoc, this.luceneQuery, batchSize);
+        searcherReference.getIndexSearcher().search(this.luceneQuery, collectorManager);
 
     maybePopulateScores(searcherReference.getIndexSearcher(), topDocs.scoreDocs);
     return topDocs;
@@ -57,11 +60,39 @@ abstract class AbstractLuceneSearchManager<T> implements LuceneSearchManager<T>
    */
   protected CollectorManager<? extends TopDocsCollector<?>, ? extends TopDocs>
       createCollectorManager(int batchSize, int hitsThreshold) {
-    FieldDoc after = this.searchAfter.map(SequenceToken::fieldDoc).orElse(null);
+    return createCollectorManager(
+        batchSize, hitsThreshold, this.searchAfter.map(SequenceToken::fieldDoc));
+  }
+
+  /**
+   * Like {@link #createCollectorManager(int, int)}, but when explaining a sorted query, also
+   * reports to the {@link SortFeatureExplainer} how many documents were skipped by terminating
+   * collection early, which happens when the sort is a prefix of the index sort.
+   */
+  protected CollectorManager<? extends Collector, ? extends TopDocs>
+      createExplainedCollectorManager(int batchSize, int hitsThreshold) {
+    return explained(createCollectorManager(batchSize, hitsThreshold));
+  }
+
+  private CollectorManager<? extends TopDocsCollector<?>, ? extends TopDocs>
+      createCollectorManager(int batchSize, int hitsThreshold, Optional<? extends ScoreDoc> after) {
     return this.luceneSort.isPresent()
         ? new TopFieldCollectorManager(
-            this.luceneSort.get(), batchSize, after, hitsThreshold)
-        : new TopScoreDocCollectorManager(batchSize, after, hitsThreshold);
+            this.luceneSort.get(), batchSize, (FieldDoc) after.orElse(null), hitsThreshold)
+        : new TopScoreDocCollectorManager(batchSize, after.orElse(null), hitsThreshold);
+  }
+
+  private <C extends Collector, R> CollectorManager<? extends Collector, R> explained(
+      CollectorManager<C, R> collectorManager) {
+    if (this.luceneSort.isEmpty()) {
+      return collectorManager;
+    }
+    Optional<SortFeatureExplainer> sortExplainer =
+        Explain.getQueryInfo()
+            .flatMap(queryInfo -> queryInfo.getFeatureExplainer(SortFeatureExplainer.class));
+    return sortExplainer.isPresent()
+        ? new EarlyTerminationCollectorManager<>(collectorManager, sortExplainer.get())
+        : collectorManager;
   }
 
   /**
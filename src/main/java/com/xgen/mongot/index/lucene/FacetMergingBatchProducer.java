@@ -1,7 +1,5 @@
 package com.xgen.mongot.index.lucene;
 
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
 import com.google.errorprone.annotations.Var;
 import com.xgen.mongot.cursor.batch.BatchCursorOptions;
 import com.xgen.mongot.index.BatchProducer;
@@ -18,20 +16,23 @@ import com.xgen.mongot.util.Check;
 import com.xgen.mongot.util.bson.BsonArrayBuilder;
 import java.io.IOException;
 import java.util.ArrayDeque;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import org.bson.BsonArray;
-import org.bson.BsonValue;
 
 /**
  * A batch producer that takes in multiple LuceneFacetCollectorMetaBatchProducers, each from one sub
  * index, and merges their returned batches into one single batch based on merging the counts of the
  * same buckets. This class handles facet metadata results only, not the search results. This class
  * serves two mutual exclusive purposes: 1) getNextBatch() 2) Drains all results to `MetaResults`.
+ *
+ * <p>The buckets of each facet are merged into a {@link MergedFacetCounts}, which merges the
+ * label-ordered string buckets of all partitions instead of hashing every (facet, bucket) pair.
+ * Each partition still computes its full counts and labels before they are merged.
  */
 public class FacetMergingBatchProducer implements BatchProducer {
   // Populated on first call to getNextBatch().
@@ -43,9 +44,6 @@ public class FacetMergingBatchProducer implements BatchProducer {
 
   private FacetMergingBatchProducer(
       MergedResult mergedResult, List<LuceneFacetCollectorMetaBatchProducer> batchProducers) {
-    // TODO(CLOUDP-280897): If there are N index-partitions with M string facet buckets, we need to
-    // store N*M entries in the memory. If this memory consumption becomes a concern, we can use one
-    // FacetsCollector for all index partitions.
     this.mergedResult = mergedResult;
     this.batchProducers = batchProducers;
     this.countProduced = false;
@@ -63,33 +61,13 @@ public class FacetMergingBatchProducer implements BatchProducer {
     return new FacetMergingBatchProducer(mergedResult, batchProducers);
   }
 
-  // Sorts the string facet first by count in descending order, then by string key in ascending
-  // order.
-  static class StringFacetCountComparator implements Comparator<Map.Entry<BsonValue, Long>> {
-    @Override
-    public int compare(Map.Entry<BsonValue, Long> a, Map.Entry<BsonValue, Long> b) {
-      int valueCompare = Long.compare(b.getValue(), a.getValue());
-      if (valueCompare != 0) {
-        return valueCompare;
-      }
-      return a.getKey().asString().getValue().compareTo(b.getKey().asString().getValue());
-    }
-  }
-
-  // Sorts the string facet by string key in ascending order.
-  static class StringFacetKeyComparator implements Comparator<Map.Entry<BsonValue, Long>> {
-    @Override
-    public int compare(Map.Entry<BsonValue, Long> a, Map.Entry<BsonValue, Long> b) {
-      return a.getKey().asString().getValue().compareTo(b.getKey().asString().getValue());
-    }
-  }
-
   private static class MergedResult {
-    public final Table<String, BsonValue, Long> table; // tuples of (facetName, bucket, count)
+    // The merged buckets of each facet with hits, in the order the facets were first produced.
+    public final Map<String, MergedFacetCounts> facets;
     public final long totalHits;
 
-    public MergedResult(Table<String, BsonValue, Long> table, long totalHits) {
-      this.table = table;
+    public MergedResult(Map<String, MergedFacetCounts> facets, long totalHits) {
+      this.facets = facets;
       this.totalHits = totalHits;
     }
   }
@@ -97,69 +75,69 @@ public class FacetMergingBatchProducer implements BatchProducer {
   /** Merged the input batchProducers to the format of MergedResult. */
   private static MergedResult mergeToResult(
       List<LuceneFacetCollectorMetaBatchProducer> batchProducers) throws IOException {
-    // This is a full merge algorithm that requires every bucket from every index partition. This
-    // will be
-    // slow if there are too many distinct string facet values. There are two potential solutions:
-    // 1. Use disk
-    // 2. Limit number of buckets (e.g. 10000) for string facet.
-    //  The HashBasedTable uses LinkedHashMap, so it guarantees the read iterator order == the
-    // inserted order.
-    Table<String, BsonValue, Long> facetTable = HashBasedTable.create();
+    // Every bucket of every index partition is still drained, but buckets are only grouped by
+    // facet here, and their counts are merged per facet without hashing string buckets.
+    Map<String, List<List<IntermediateFacetBucket>>> facetToPartitionBuckets =
+        new LinkedHashMap<>();
     @Var long mergedTotalHits = 0;
     for (int i = 0; i < batchProducers.size(); i++) {
       try (var indexPartitionResourceManager = Explain.maybeEnterIndexPartitionQueryContext(i)) {
         mergedTotalHits += batchProducers.get(i).getTotalHits();
         List<IntermediateFacetBucket> buckets = batchProducers.get(i).getAllBucketResults();
+        Map<String, List<IntermediateFacetBucket>> partitionFacets = new LinkedHashMap<>();
         for (var bucket : buckets) {
           // Tag is the facet name.
-          if (facetTable.contains(bucket.tag(), bucket.bucket())) {
-            facetTable.put(
-                bucket.tag(),
-                bucket.bucket(),
-                facetTable.get(bucket.tag(), bucket.bucket()) + bucket.count());
-          } else {
-            facetTable.put(bucket.tag(), bucket.bucket(), bucket.count());
-          }
+          partitionFacets.computeIfAbsent(bucket.tag(), unused -> new ArrayList<>()).add(bucket);
         }
+        partitionFacets.forEach(
+            (facetName, facetBuckets) ->
+                facetToPartitionBuckets
+                    .computeIfAbsent(facetName, unused -> new ArrayList<>())
+                    .add(facetBuckets));
       }
     }
-    return new MergedResult(facetTable, mergedTotalHits);
-  }
 
-  private static ArrayDeque<IntermediateFacetBucket> convertToIntermediateBuckets(
-      Table<String, BsonValue, Long> facetTable,
-      Map<String, FacetDefinition> facetNameToDefinition) {
-    // Convert the table to a list of the encodable IntermediateFacetBucket.
-    ArrayDeque<IntermediateFacetBucket> mergedFacetBuckets = new ArrayDeque<>();
-    // We output the facetName in the same order of inputs.
-    for (String facetName : facetTable.rowKeySet()) {
-      FacetDefinition facetDefinition = facetNameToDefinition.get(facetName);
+    Map<String, FacetDefinition> facetNameToDefinition =
+        batchProducers.get(0).getFacetCollector().facetDefinitions();
+    Map<String, MergedFacetCounts> facets = new LinkedHashMap<>();
+    for (var entry : facetToPartitionBuckets.entrySet()) {
+      FacetDefinition facetDefinition = facetNameToDefinition.get(entry.getKey());
       if (facetDefinition == null) {
         throw new IllegalStateException(
             "The input facet facetName is not found in the facetDefinitions.");
       }
-      @Var var entryStream = facetTable.row(facetName).entrySet().stream();
-      if (facetDefinition.getType() == FacetDefinition.Type.STRING) {
-        /*
-         * Apply sort to string facet by ascending facet name string order, which is consistent how
-         * string facet is ordered in IntermediateFacetBucket in non index partitions. (Ref: //
-         * https://github.com/apache/lucene/blob/9b185b99c429290c80bac5be0bcc2398f58b58db/lucene/core/src/java/org/apache/lucene/index/SortedSetDocValues.java#L28)
-         * We don't apply limit here, since this code path is used for intermediateCollectorQuery()
-         * only, which is needed by mongos merging results from multiple shards. In this process, we
-         * potentially return _all_ string facet buckets.
-         */
-        entryStream = entryStream.sorted(new StringFacetKeyComparator());
+      facets.put(
+          entry.getKey(),
+          facetDefinition.getType() == FacetDefinition.Type.STRING
+              ? MergedFacetCounts.mergeStringFacet(entry.getValue())
+              : MergedFacetCounts.mergeBoundaryFacet(entry.getValue()));
+    }
+    return new MergedResult(facets, mergedTotalHits);
+  }
+
+  private static ArrayDeque<IntermediateFacetBucket> convertToIntermediateBuckets(
+      Map<String, MergedFacetCounts> facets) {
+    // Convert the merged facets to a list of the encodable IntermediateFacetBucket.
+    ArrayDeque<IntermediateFacetBucket> mergedFacetBuckets = new ArrayDeque<>();
+    // We output the facetName in the same order of inputs.
+    for (var entry : facets.entrySet()) {
+      /*
+       * String facets are in ascending facet value order, which is consistent with how string
+       * facets are ordered in IntermediateFacetBucket in non index partitions. (Ref: //
+       * https://github.com/apache/lucene/blob/9b185b99c429290c80bac5be0bcc2398f58b58db/lucene/core/src/java/org/apache/lucene/index/SortedSetDocValues.java#L28)
+       * We don't apply limit here, since this code path is used for intermediateCollectorQuery()
+       * only, which is needed by mongos merging results from multiple shards. In this process, we
+       * potentially return _all_ string facet buckets.
+       */
+      MergedFacetCounts facet = entry.getValue();
+      for (int position = 0; position < facet.size(); position++) {
+        mergedFacetBuckets.addLast(
+            new IntermediateFacetBucket(
+                IntermediateFacetBucket.Type.FACET,
+                entry.getKey(),
+                facet.bucket(position),
+                facet.count(position)));
       }
-      // We output the facet values in the same order of inputs.
-      entryStream.forEach(
-          entry -> {
-            mergedFacetBuckets.addLast(
-                new IntermediateFacetBucket(
-                    IntermediateFacetBucket.Type.FACET,
-                    facetName,
-                    entry.getKey(),
-                    entry.getValue()));
-          });
     }
     return mergedFacetBuckets;
   }
@@ -171,11 +149,7 @@ public class FacetMergingBatchProducer implements BatchProducer {
   public BsonArray getNextBatch(Bytes resultsSizeLimit) throws IOException {
     // On the first call, populate the facetBuckets.
     if (this.facetBuckets.isEmpty()) {
-      this.facetBuckets =
-          Optional.of(
-              convertToIntermediateBuckets(
-                  this.mergedResult.table,
-                  this.batchProducers.get(0).getFacetCollector().facetDefinitions()));
+      this.facetBuckets = Optional.of(convertToIntermediateBuckets(this.mergedResult.facets));
     }
 
     // Convert to the final list of encoded documents.
@@ -207,9 +181,7 @@ public class FacetMergingBatchProducer implements BatchProducer {
   public MetaResults getMetaResultsAndClose(Count.Type countType) {
     CountResult countResult =
         LuceneFacetResultUtil.getCount(this.mergedResult.totalHits, countType);
-    var facetTable = this.mergedResult.table;
-
-    // Convert the table to the format of MetaResults.
+    // Convert the merged facets to the format of MetaResults.
     Map<String, FacetDefinition> facetNameToDefinition =
         this.batchProducers.get(0).getFacetCollector().facetDefinitions();
     Map<String, FacetInfo> facetNameToInfo = new HashMap<>();
@@ -219,22 +191,21 @@ public class FacetMergingBatchProducer implements BatchProducer {
         throw new IllegalStateException(
             "The input facet facetName is not found in the facetDefinitions.");
       }
-      // Some facetNames in the facetNameToDefinition may be missing in the `facetTable` if that
-      // string facet has no hit. In this case, we still want to create an empty FacetInfo, and the
-      // entryStream is empty.
-      @Var var entryStream = facetTable.row(facetName).entrySet().stream();
-      if (facetDefinition instanceof FacetDefinition.StringFacetDefinition stringFacetDefinition) {
-        // Apply sort to string facet. We need to apply limit here because this code path is used
-        // in non-intermediate queries.
-        entryStream =
-            entryStream
-                .sorted(new StringFacetCountComparator())
-                .limit(stringFacetDefinition.numBuckets());
-      }
+      // Some facetNames in the facetNameToDefinition may be missing in the merged facets if that
+      // string facet has no hit. In this case, we still want to create an empty FacetInfo.
+      Optional<MergedFacetCounts> facet =
+          Optional.ofNullable(this.mergedResult.facets.get(facetName));
+      // Apply sort to string facet. We need to apply limit here because this code path is used
+      // in non-intermediate queries.
       List<FacetBucket> buckets =
-          entryStream
-              .map(entry -> new FacetBucket(entry.getKey(), entry.getValue()))
-              .collect(Collectors.toList());
+          facet
+              .map(
+                  counts ->
+                      facetDefinition
+                              instanceof FacetDefinition.StringFacetDefinition stringDefinition
+                          ? counts.topStringBuckets(stringDefinition.numBuckets())
+                          : counts.allBuckets())
+              .orElseGet(List::of);
       FacetInfo facetInfo = new FacetInfo(buckets);
       facetNameToInfo.put(facetName, facetInfo);
     }
@@ -0,0 +1,99 @@
+package com.xgen.mongot.index.lucene;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.primitives.Ints;
+import com.google.errorprone.annotations.Var;
+import com.xgen.mongot.util.Bytes;
+import java.io.IOException;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.memory.MemoryIndex;
+import org.apache.lucene.search.uhighlight.AnalysisOffsetStrategy;
+import org.apache.lucene.search.uhighlight.OffsetsEnum;
+import org.apache.lucene.search.uhighlight.UHComponents;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Caches the in-memory analysis of highlighted field values, for fields whose offsets are not
+ * available from the index, or that are highlighted for fuzzy, wildcard or other multi-term
+ * queries.
+ *
+ * <p>Lucene re-analyzes such values into a {@link MemoryIndex} for every highlighted document and
+ * query. An analysis only depends on the field's analyzer and the value, so analyses of hot
+ * documents are kept here and shared by all queries. One cache is shared by all indexes of a node,
+ * bounded by the memory its analyses use; analyses of dropped indexes are evicted as they are no
+ * longer read. Unlike Lucene, the cached analyses are not filtered down to the terms of a single
+ * query; the offsets of the query's terms are looked up when a cached analysis is highlighted.
+ */
+class HighlightAnalysisCache {
+
+  /** The maximum number of bytes of heap used by cached analyses. */
+  @VisibleForTesting static final long MAX_CACHED_BYTES = Bytes.ofMebi(64).toBytes();
+
+  private final Cache<Key, Analysis> analyses;
+
+  HighlightAnalysisCache() {
+    this(MAX_CACHED_BYTES);
+  }
+
+  @VisibleForTesting
+  HighlightAnalysisCache(long maxCachedBytes) {
+    this.analyses =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxCachedBytes)
+            .<Key, Analysis>weigher(
+                (key, analysis) ->
+                    Ints.saturatedCast(
+                        RamUsageEstimator.sizeOf(key.content()) + analysis.ramBytesUsed()))
+            .build();
+  }
+
+  /** Returns a strategy reading the offsets of an analyzed field from this cache. */
+  AnalysisOffsetStrategy offsetStrategy(UHComponents components, Analyzer analyzer) {
+    return new CachingOffsetStrategy(components, analyzer);
+  }
+
+  @VisibleForTesting
+  long size() {
+    return this.analyses.size();
+  }
+
+  /** Analyses are keyed by the analyzer instance, which differs between indexes. */
+  private record Key(Analyzer analyzer, String field, String content) {}
+
+  private record Analysis(LeafReader reader, long ramBytesUsed) {}
+
+  private class CachingOffsetStrategy extends AnalysisOffsetStrategy {
+
+    private CachingOffsetStrategy(UHComponents components, Analyzer analyzer) {
+      super(components, analyzer);
+    }
+
+    @Override
+    public OffsetsEnum getOffsetsEnum(LeafReader reader, int docId, String content)
+        throws IOException {
+      // The content is the stored value truncated to the query's maxCharsToExamine, so keying on
+      // it also keeps analyses of differently truncated values apart.
+      Key key = new Key(this.analyzer, getField(), content);
+      @Var @Nullable Analysis analysis = HighlightAnalysisCache.this.analyses.getIfPresent(key);
+      if (analysis == null) {
+        analysis = analyze(content);
+        HighlightAnalysisCache.this.analyses.put(key, analysis);
+      }
+      return createOffsetsEnumFromReader(analysis.reader(), 0);
+    }
+
+    private Analysis analyze(String content) throws IOException {
+      // Payloads are kept for position sensitive queries, as in Lucene's MemoryIndexOffsetStrategy.
+      MemoryIndex memoryIndex = new MemoryIndex(true, true);
+      memoryIndex.addField(getField(), tokenStream(content));
+      // A frozen MemoryIndex may be read by concurrent queries.
+      memoryIndex.freeze();
+      return new Analysis(
+          (LeafReader) memoryIndex.createSearcher().getIndexReader(), memoryIndex.ramBytesUsed());
+    }
+  }
+}
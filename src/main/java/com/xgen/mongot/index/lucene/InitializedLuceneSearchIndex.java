@@ -59,6 +59,9 @@ class InitializedLuceneSearchIndex implements InitializedSearchIndex {
   final IndexMetricsUpdater indexMetricsUpdater;
   final GenerationId generationId;
 
+  /** Whether the resources were released by {@link #unload}, while the index stays open. */
+  private volatile boolean unloaded;
+
   @VisibleForTesting
   InitializedLuceneSearchIndex(
       GenerationId generationId,
@@ -188,6 +191,7 @@ class InitializedLuceneSearchIndex implements InitializedSearchIndex {
               searchIndexProperties.analyzerRegistry,
               searchIndexProperties.synonymRegistry,
               indexAnalyzer,
+              searchIndexProperties.highlightAnalysisCache,
               indexMetricsUpdaterBuilder.getQueryingMetricsUpdater(),
               searchIndexProperties.concurrentSearchExecutor,
               searchIndexProperties.concurrentVectorRescoringExecutor,
@@ -233,7 +237,9 @@ class InitializedLuceneSearchIndex implements InitializedSearchIndex {
             indexMetricsUpdater.getQueryingMetricsUpdater(),
             () ->
                 dynamicFeatureFlagRegistry.evaluateClusterInvariant(
-                    DynamicFeatureFlags.ENABLE_TOTAL_STRING_FACET_BUCKETS));
+                    DynamicFeatureFlags.ENABLE_TOTAL_STRING_FACET_BUCKETS),
+            latencyNanos ->
+                searchIndexProperties.mergeScheduler.recordQuery(generationId, latencyNanos));
 
     IndexWriter writer =
         new MeteredIndexWriter(
@@ -342,6 +348,16 @@ class InitializedLuceneSearchIndex implements InitializedSearchIndex {
     this.index.throwIfUnavailableForQuerying();
   }
 
+  @Override
+  public synchronized void unload() throws IOException {
+    if (this.index.isClosed() || this.unloaded) {
+      return;
+    }
+    LOG.info("Unloading initialized index: {}", this.generationId);
+    this.unloaded = true;
+    releaseResources();
+  }
+
   @Override
   public synchronized void close() throws IOException {
     if (this.index.isClosed()) {
@@ -350,6 +366,18 @@ class InitializedLuceneSearchIndex implements InitializedSearchIndex {
     LOG.info("Closing initialized index: {}", this.generationId);
     Stopwatch closeIndexTime = Stopwatch.createStarted();
     this.index.close();
+    if (!this.unloaded) {
+      releaseResources();
+    }
+    LOG.info("closed index {} in {}", getDefinition().getIndexId(), closeIndexTime);
+  }
+
+  @Override
+  public SynonymRegistry getSynonymRegistry() {
+    return this.index.getSynonymRegistry();
+  }
+
+  private void releaseResources() throws IOException {
     this.indexMetricsUpdater.close();
 
     // The LuceneIndexRefresher and IndexReader both use the SearcherManager, so close them
@@ -368,16 +396,10 @@ class InitializedLuceneSearchIndex implements InitializedSearchIndex {
     for (Directory directory : this.directories) {
       directory.close();
     }
-    LOG.info("closed index {} in {}", getDefinition().getIndexId(), closeIndexTime);
-  }
-
-  @Override
-  public SynonymRegistry getSynonymRegistry() {
-    return this.index.getSynonymRegistry();
   }
 
   private void ensureOpen(String methodName) {
-    if (this.index.isClosed()) {
+    if (this.index.isClosed() || this.unloaded) {
       String message = String.format("Cannot call %s() after to close()", methodName);
       throw new IndexClosedException(message);
     }
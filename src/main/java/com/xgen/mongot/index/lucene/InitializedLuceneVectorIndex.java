@@ -57,6 +57,9 @@ class InitializedLuceneVectorIndex implements InitializedVectorIndex {
   final ImmutableList<ReferenceManager<?>> searcherManagers;
   final IndexMetricsUpdater indexMetricsUpdater;
 
+  /** Whether the resources were released by {@link #unload}, while the index stays open. */
+  private volatile boolean unloaded;
+
   InitializedLuceneVectorIndex(
       GenerationId generationId,
       LuceneVectorIndex index,
@@ -323,6 +326,19 @@ class InitializedLuceneVectorIndex implements InitializedVectorIndex {
     this.index.throwIfUnavailableForQuerying();
   }
 
+  @Override
+  public synchronized void unload() throws IOException {
+    if (this.index.isClosed() || this.unloaded) {
+      return;
+    }
+    LOG.atInfo()
+        .addKeyValue("indexId", this.generationId.indexId)
+        .addKeyValue("generationId", this.generationId)
+        .log("Unloading initialized index");
+    this.unloaded = true;
+    releaseResources();
+  }
+
   @Override
   public synchronized void close() throws IOException {
     if (this.index.isClosed()) {
@@ -334,6 +350,16 @@ class InitializedLuceneVectorIndex implements InitializedVectorIndex {
         .log("Closing initialized index");
     var closeIndexTime = Stopwatch.createStarted();
     this.index.close();
+    if (!this.unloaded) {
+      releaseResources();
+    }
+    LOG.atInfo()
+        .addKeyValue("indexId", getDefinition().getIndexId())
+        .addKeyValue("closeIndexTime", closeIndexTime)
+        .log("closed vector index");
+  }
+
+  private void releaseResources() throws IOException {
     this.indexMetricsUpdater.close();
 
     // The LuceneIndexRefresher and IndexReader both use the SearcherManager, so close them
@@ -352,14 +378,10 @@ class InitializedLuceneVectorIndex implements InitializedVectorIndex {
     for (Directory directory : this.directories) {
       directory.close();
     }
-    LOG.atInfo()
-        .addKeyValue("indexId", getDefinition().getIndexId())
-        .addKeyValue("closeIndexTime", closeIndexTime)
-        .log("closed vector index");
   }
 
   private void ensureOpen(String methodName) {
-    if (this.index.isClosed()) {
+    if (this.index.isClosed() || this.unloaded) {
       String message = String.format("Cannot call %s() after to close()", methodName);
       throw new IndexClosedException(message);
     }
@@ -26,9 +26,23 @@ public class LuceneHighlighterContext {
    */
   private final Analyzer indexAnalyzer;
 
+  /**
+   * Analyses of highlighted values, shared by all queries of all indexes as they only depend on the
+   * {@link #indexAnalyzer} and the values.
+   */
+  private final HighlightAnalysisCache analysisCache;
+
   public LuceneHighlighterContext(SearchFieldDefinitionResolver resolver, Analyzer indexAnalyzer) {
+    this(resolver, indexAnalyzer, new HighlightAnalysisCache());
+  }
+
+  LuceneHighlighterContext(
+      SearchFieldDefinitionResolver resolver,
+      Analyzer indexAnalyzer,
+      HighlightAnalysisCache analysisCache) {
     this.highlightResolver = HighlightResolver.create(resolver);
     this.indexAnalyzer = indexAnalyzer;
+    this.analysisCache = analysisCache;
   }
 
   /** Resolves, validates and returns Highlighter, if it is present. */
@@ -79,7 +93,12 @@ public class LuceneHighlighterContext {
       throws InvalidQueryException {
     LuceneUnifiedHighlighter unifiedHighlighter =
         LuceneUnifiedHighlighter.create(
-            searcher, this.indexAnalyzer, resolvedHighlight, luceneQuery, explainer);
+            searcher,
+            this.indexAnalyzer,
+            resolvedHighlight,
+            luceneQuery,
+            this.analysisCache,
+            explainer);
 
     // Ensure Lucene won't barf while processing terms to highlight if applicable.
     unifiedHighlighter.assertHighlightedTermsValid();
@@ -27,6 +27,7 @@ import com.xgen.mongot.index.lucene.directory.IndexDirectoryFactory;
 import com.xgen.mongot.index.lucene.directory.IndexDirectoryHelper;
 import com.xgen.mongot.index.lucene.merge.DiskUtilizationAwareMergePolicy;
 import com.xgen.mongot.index.lucene.merge.InstrumentedConcurrentMergeScheduler;
+import com.xgen.mongot.index.lucene.merge.MergeCoordinator;
 import com.xgen.mongot.index.lucene.merge.MergePolicyFactory;
 import com.xgen.mongot.index.lucene.searcher.QueryCacheProvider;
 import com.xgen.mongot.index.version.GenerationId;
@@ -39,12 +40,14 @@ import com.xgen.mongot.util.AtomicDirectoryRemover;
 import com.xgen.mongot.util.Check;
 import com.xgen.mongot.util.CollectionUtils;
 import com.xgen.mongot.util.Crash;
+import com.xgen.mongot.util.DirectorySize;
 import com.xgen.mongot.util.FileUtils;
 import com.xgen.mongot.util.concurrent.Executors;
 import com.xgen.mongot.util.concurrent.MeteredCallerRunsPolicy;
 import com.xgen.mongot.util.concurrent.NamedExecutorService;
 import com.xgen.mongot.util.concurrent.NamedScheduledExecutorService;
 import io.micrometer.core.instrument.MeterRegistry;
+import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Optional;
@@ -89,6 +92,11 @@ public class LuceneIndexFactory implements IndexFactory {
       if (featureFlags.isEnabled(Feature.CANCEL_MERGE)) {
         mergeScheduler.setMergeGate(mergeGate);
       }
+      // Prioritise merges across indexes and throttle them when query latency rises
+      if (featureFlags.isEnabled(Feature.MERGE_COORDINATION)) {
+        mergeScheduler.setMergeCoordinator(
+            new MergeCoordinator(mergeScheduler::getMaxThreadCount));
+      }
       MergePolicy mergePolicy =
           MergePolicyFactory.createMergePolicy(config, mergeGate, meterRegistry);
       QueryCacheProvider queryCacheProvider =
@@ -172,6 +180,10 @@ public class LuceneIndexFactory implements IndexFactory {
   protected final MergePolicy mergePolicy;
   private final Optional<MergePolicy> vectorMergePolicy;
   private final QueryCacheProvider queryCacheProvider;
+
+  /** Analyses of highlighted values, shared by all search indexes of this node. */
+  private final HighlightAnalysisCache highlightAnalysisCache;
+
   protected final NamedScheduledExecutorService refreshExecutor;
   private final Optional<NamedExecutorService> concurrentSearchExecutor;
   private final Optional<NamedExecutorService> concurrentVectorRescoringExecutor;
@@ -217,6 +229,7 @@ public class LuceneIndexFactory implements IndexFactory {
     this.mergePolicy = mergePolicy;
     this.vectorMergePolicy = vectorMergePolicy;
     this.queryCacheProvider = queryCacheProvider;
+    this.highlightAnalysisCache = new HighlightAnalysisCache();
     this.refreshExecutor = refreshExecutor;
     this.concurrentSearchExecutor = concurrentSearchExecutor;
     this.concurrentVectorRescoringExecutor = concurrentVectorRescoringExecutor;
@@ -323,8 +336,7 @@ public class LuceneIndexFactory implements IndexFactory {
       DynamicFeatureFlagRegistry dynamicFeatureFlagRegistry,
       MeterAndFtdcRegistry meterAndFtdcRegistry) {
     return dynamicFeatureFlagRegistry.evaluateClusterInvariant(
-            DynamicFeatureFlags.NUM_FIELDS_PER_DATATYPE_METRIC.getName(),
-            DynamicFeatureFlags.NUM_FIELDS_PER_DATATYPE_METRIC.getFallback())
+            DynamicFeatureFlags.NUM_FIELDS_PER_DATATYPE_METRIC)
         ? Optional.of(
             Executors.fixedSizeThreadPool(
                 "metric-refresh", 1, meterAndFtdcRegistry.meterRegistry()))
@@ -481,6 +493,7 @@ public class LuceneIndexFactory implements IndexFactory {
         this.mergeScheduler,
         hasVectorField ? this.vectorMergePolicy.orElse(this.mergePolicy) : this.mergePolicy,
         this.queryCacheProvider,
+        this.highlightAnalysisCache,
         this.refreshExecutor,
         this.concurrentSearchExecutor,
         this.concurrentVectorRescoringExecutor,
@@ -559,6 +572,13 @@ public class LuceneIndexFactory implements IndexFactory {
     }
   }
 
+  @Override
+  public long getSizeOnDisk(IndexDefinitionGeneration definitionGeneration) {
+    File directory =
+        this.indexDirectoryHelper.getIndexDirectoryPath(definitionGeneration).toFile();
+    return directory.isDirectory() ? DirectorySize.of(directory) : 0;
+  }
+
   boolean isCacheWarmerEnabled() {
     if (this.cacheWarmerAlreadyDisabled) {
       return false; // Decide very quickly after the cache warmer becomes disabled one time.
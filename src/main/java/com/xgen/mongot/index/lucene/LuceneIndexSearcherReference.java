@@ -4,6 +4,7 @@ import com.google.common.flogger.FluentLogger;
 import com.xgen.mongot.featureflag.Feature;
 import com.xgen.mongot.featureflag.FeatureFlags;
 import com.xgen.mongot.index.IndexMetricsUpdater;
+import com.xgen.mongot.index.QueryResourceUsage;
 import com.xgen.mongot.index.lucene.explain.ProfilingIndexSearcher;
 import com.xgen.mongot.index.lucene.explain.explainers.CollectorTimingFeatureExplainer;
 import com.xgen.mongot.index.lucene.explain.explainers.MetadataFeatureExplainer;
@@ -149,10 +150,13 @@ public class LuceneIndexSearcherReference implements Closeable {
                                 CollectorTimingFeatureExplainer::new),
                             info.getFeatureExplainer(
                                 MetadataFeatureExplainer.class, MetadataFeatureExplainer::new),
-                            Context.current().wrap(Explain.maybeWrap(executor))))
+                            Context.current()
+                                .wrap(QueryResourceUsage.wrap(Explain.maybeWrap(executor)))))
             .orElseGet(
                 () ->
-                    new ConcurrentIndexSearcher(initialSearcher, Context.current().wrap(executor)));
+                    new ConcurrentIndexSearcher(
+                        initialSearcher,
+                        Context.current().wrap(QueryResourceUsage.wrap(executor))));
     return new LuceneIndexSearcherReference(
         searcherManager, searcher, featureFlags, metricsUpdater);
   }
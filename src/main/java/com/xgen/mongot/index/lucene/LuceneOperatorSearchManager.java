@@ -4,8 +4,12 @@ import com.xgen.mongot.index.query.counts.Count;
 import com.xgen.mongot.index.query.sort.SequenceToken;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.OptionalInt;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
 
 /**
  * The LuceneOperatorSearchManager is used to manage the execution of a single lucene search. It is
@@ -33,18 +37,36 @@ class LuceneOperatorSearchManager
   public QueryInfo initialSearch(LuceneIndexSearcherReference searcherReference, int batchSize)
       throws IOException {
 
+    // A total count of a query that rewrites cheaply is mostly taken from the segments' index
+    // statistics, in which case the collectors only need to count up to the threshold and are free
+    // to skip non-competitive hits.
+    OptionalInt exactCount =
+        this.count.type() == Count.Type.TOTAL
+            ? searcherReference.getIndexSearcher().countWithoutCollecting(this.getLuceneQuery())
+            : OptionalInt.empty();
     int hitsThreshold =
-        this.count.type() == Count.Type.TOTAL ? Integer.MAX_VALUE : this.count.threshold();
+        this.count.type() == Count.Type.TOTAL && exactCount.isEmpty()
+            ? Integer.MAX_VALUE
+            : this.count.threshold();
 
     // The IndexSearcher::search convenience APIs do not allow you to specify a hitsThreshold and
     // only count up to 1000 hits, so we explicitly create collectors that will do the hit counting
     // properly. Similarly, our FieldDoc may come from other shards and contain doc IDs that are
     // out of range. By using the collectors directly, we bypass checks on docID range.
-    var collectorManager = createCollectorManager(batchSize, hitsThreshold);
+    var collectorManager = createExplainedCollectorManager(batchSize, hitsThreshold);
     var topDocs =
         searcherReference.getIndexSearcher().search(this.getLuceneQuery(), collectorManager);
 
     maybePopulateScores(searcherReference.getIndexSearcher(), topDocs.scoreDocs);
-    return new QueryInfo(topDocs, topDocs.scoreDocs.length < batchSize);
+    TopDocs countedTopDocs =
+        exactCount.isPresent() ? withTotalHits(topDocs, exactCount.getAsInt()) : topDocs;
+    return new QueryInfo(countedTopDocs, topDocs.scoreDocs.length < batchSize);
+  }
+
+  private static TopDocs withTotalHits(TopDocs topDocs, long count) {
+    TotalHits totalHits = new TotalHits(count, TotalHits.Relation.EQUAL_TO);
+    return topDocs instanceof TopFieldDocs fieldDocs
+        ? new TopFieldDocs(totalHits, fieldDocs.scoreDocs, fieldDocs.fields)
+        : new TopDocs(totalHits, topDocs.scoreDocs);
   }
 }
@@ -51,6 +51,7 @@ public class LuceneSearchIndex implements SearchIndex {
     InstrumentedConcurrentMergeScheduler mergeScheduler;
     MergePolicy mergePolicy;
     QueryCacheProvider queryCacheProvider;
+    HighlightAnalysisCache highlightAnalysisCache;
     double ramBufferSizeMb;
     Optional<Integer> fieldLimit;
     Optional<Integer> docsLimit;
@@ -71,6 +72,7 @@ public class LuceneSearchIndex implements SearchIndex {
         InstrumentedConcurrentMergeScheduler mergeScheduler,
         MergePolicy mergePolicy,
         QueryCacheProvider queryCacheProvider,
+        HighlightAnalysisCache highlightAnalysisCache,
         double ramBufferSizeMb,
         Optional<Integer> fieldLimit,
         Optional<Integer> docsLimit,
@@ -88,6 +90,7 @@ public class LuceneSearchIndex implements SearchIndex {
       this.mergeScheduler = mergeScheduler;
       this.mergePolicy = mergePolicy;
       this.queryCacheProvider = queryCacheProvider;
+      this.highlightAnalysisCache = highlightAnalysisCache;
       this.ramBufferSizeMb = ramBufferSizeMb;
       this.fieldLimit = fieldLimit;
       this.docsLimit = docsLimit;
@@ -119,6 +122,7 @@ public class LuceneSearchIndex implements SearchIndex {
       InstrumentedConcurrentMergeScheduler mergeScheduler,
       MergePolicy mergePolicy,
       QueryCacheProvider queryCacheProvider,
+      HighlightAnalysisCache highlightAnalysisCache,
       double ramBufferSizeMb,
       Optional<Integer> fieldLimit,
       Optional<Integer> docsLimit,
@@ -153,6 +157,7 @@ public class LuceneSearchIndex implements SearchIndex {
                 mergeScheduler,
                 mergePolicy,
                 queryCacheProvider,
+                highlightAnalysisCache,
                 ramBufferSizeMb,
                 fieldLimit,
                 docsLimit,
@@ -179,6 +184,7 @@ public class LuceneSearchIndex implements SearchIndex {
       InstrumentedConcurrentMergeScheduler mergeScheduler,
       MergePolicy mergePolicy,
       QueryCacheProvider queryCacheProvider,
+      HighlightAnalysisCache highlightAnalysisCache,
       ScheduledExecutorService refreshExecutor,
       Optional<NamedExecutorService> concurrentSearchExecutor,
       Optional<NamedExecutorService> concurrentVectorRescoringExecutor,
@@ -193,6 +199,7 @@ public class LuceneSearchIndex implements SearchIndex {
         mergeScheduler,
         mergePolicy,
         queryCacheProvider,
+        highlightAnalysisCache,
         config.ramBufferSizeMb(),
         config.fieldLimit(),
         config.docsLimit(),
@@ -93,8 +93,7 @@ public final class LuceneSearchIndexMetricValuesSupplier extends LuceneIndexMetr
         getAutocompleteLikeCustomAnalyzerNames(customAnalyzerDefinitions);
     this.dynamicFeatureFlagRegistry = dynamicFeatureFlagRegistry;
     if (!this.dynamicFeatureFlagRegistry.evaluateClusterInvariant(
-        DynamicFeatureFlags.NUM_FIELDS_PER_DATATYPE_METRIC.getName(),
-        DynamicFeatureFlags.NUM_FIELDS_PER_DATATYPE_METRIC.getFallback())) {
+        DynamicFeatureFlags.NUM_FIELDS_PER_DATATYPE_METRIC)) {
       this.numFieldsRefreshTrigger = () -> null;
     } else {
       @Var Duration effectiveDuration = numFieldsCacheDuration;
@@ -300,8 +299,7 @@ public final class LuceneSearchIndexMetricValuesSupplier extends LuceneIndexMetr
   public Map<FieldName.TypeField, Double> getNumFieldsPerDatatype() {
     // Check feature flag - if disabled, return empty map
     if (!this.dynamicFeatureFlagRegistry.evaluateClusterInvariant(
-        DynamicFeatureFlags.NUM_FIELDS_PER_DATATYPE_METRIC.getName(),
-        DynamicFeatureFlags.NUM_FIELDS_PER_DATATYPE_METRIC.getFallback())) {
+        DynamicFeatureFlags.NUM_FIELDS_PER_DATATYPE_METRIC)) {
       return Collections.emptyMap();
     }
     this.numFieldsRefreshTrigger.get();
@@ -23,6 +23,7 @@ import com.xgen.mongot.index.VectorSearchResult;
 import com.xgen.mongot.index.analyzer.AnalyzerRegistry;
 import com.xgen.mongot.index.definition.SearchFieldDefinitionResolver;
 import com.xgen.mongot.index.definition.SearchIndexDefinition;
+import com.xgen.mongot.index.definition.StoredSourceDefinition;
 import com.xgen.mongot.index.lucene.LuceneFacetCollectorSearchManager.FacetCollectorQueryInfo;
 import com.xgen.mongot.index.lucene.LuceneSearchManager.QueryInfo;
 import com.xgen.mongot.index.lucene.explain.explainers.FacetFeatureExplainer;
@@ -31,6 +32,7 @@ import com.xgen.mongot.index.lucene.field.FieldName;
 import com.xgen.mongot.index.lucene.field.FieldValue;
 import com.xgen.mongot.index.lucene.quantization.BinaryQuantizedVectorRescorer;
 import com.xgen.mongot.index.lucene.query.LuceneSearchQueryFactoryDistributor;
+import com.xgen.mongot.index.lucene.query.pushdown.match.StoredSourceMatchQuery;
 import com.xgen.mongot.index.lucene.query.pushdown.project.ProjectFactory;
 import com.xgen.mongot.index.lucene.query.pushdown.project.ProjectSpec;
 import com.xgen.mongot.index.lucene.query.sort.IndexSortUtils;
@@ -53,11 +55,13 @@ import com.xgen.mongot.index.query.collectors.DrillSidewaysInfoBuilder.DrillSide
 import com.xgen.mongot.index.query.collectors.FacetCollector;
 import com.xgen.mongot.index.query.counts.Count;
 import com.xgen.mongot.index.query.operators.Operator;
+import com.xgen.mongot.index.query.operators.mql.Clause;
 import com.xgen.mongot.index.query.sort.SequenceToken;
 import com.xgen.mongot.index.synonym.SynonymRegistry;
 import com.xgen.mongot.index.version.IndexFormatVersion;
 import com.xgen.mongot.util.Check;
 import com.xgen.mongot.util.CheckedStream;
+import com.xgen.mongot.util.FieldPath;
 import com.xgen.mongot.util.bson.Vector;
 import com.xgen.mongot.util.concurrent.LockGuard;
 import com.xgen.mongot.util.concurrent.NamedExecutorService;
@@ -204,6 +208,7 @@ public class LuceneSearchIndexReader implements SearchIndexReader {
       AnalyzerRegistry analyzerRegistry,
       SynonymRegistry synonymRegistry,
       Analyzer indexAnalyzer,
+      HighlightAnalysisCache highlightAnalysisCache,
       IndexMetricsUpdater.QueryingMetricsUpdater queryingMetricsUpdater,
       Optional<NamedExecutorService> concurrentSearchExecutor,
       Optional<NamedExecutorService> concurrentVectorRescoringExecutor,
@@ -224,7 +229,8 @@ public class LuceneSearchIndexReader implements SearchIndexReader {
         indexDefinition.createFieldDefinitionResolver(indexFormatVersion);
 
     LuceneHighlighterContext highlighterContext =
-        new LuceneHighlighterContext(fieldDefinitionResolver, indexAnalyzer);
+        new LuceneHighlighterContext(
+            fieldDefinitionResolver, indexAnalyzer, highlightAnalysisCache);
     LuceneFacetContext facetContext =
         new LuceneFacetContext(
             fieldDefinitionResolver, indexDefinition.getIndexCapabilities(indexFormatVersion));
@@ -260,6 +266,9 @@ public class LuceneSearchIndexReader implements SearchIndexReader {
               + "For queries on 'embeddedDocument' fields with 'storedSource', "
               + "the 'returnScope' option must be populated");
     }
+    if (query instanceof SearchQuery searchQuery) {
+      validatePostFilter(searchQuery);
+    }
     try (LockGuard ignored = LockGuard.with(this.shutdownSharedLock)) {
       ensureOpen("query");
       var searcherReference = createSearcherReference(query.concurrent());
@@ -295,27 +304,27 @@ public class LuceneSearchIndexReader implements SearchIndexReader {
         // Vector search query over search index
         org.apache.lucene.search.Query luceneQuery =
             Explain.isEnabled()
-                ? this.queryFactory.createVectorSearchExplainQuery(
-                    materializedQuery, indexSearcher.getIndexReader())
-                : this.queryFactory.createVectorQuery(
-                    materializedQuery, indexSearcher.getIndexReader());
+                ? this.queryFactory.createVectorSearchExplainQuery(materializedQuery, indexSearcher)
+                : this.queryFactory.createVectorQuery(materializedQuery, indexSearcher);
         yield vectorSearchQuery(
             vectorSearchQuery, luceneQuery, searcherReference, batchSizeStrategy);
       }
       case SearchQuery searchQuery -> {
         Operator operator = getOperator(searchQuery);
         org.apache.lucene.search.Query luceneQuery =
-            Explain.isEnabled()
-                ? this.queryFactory.createSearchExplainQuery(
-                    operator,
-                    indexSearcher.getIndexReader(),
-                    searchQuery.returnScope(),
-                    queryOptimizationFlags)
-                : this.queryFactory.createQuery(
-                    operator,
-                    indexSearcher.getIndexReader(),
-                    searchQuery.returnScope(),
-                    queryOptimizationFlags);
+            withPostFilter(
+                Explain.isEnabled()
+                    ? this.queryFactory.createSearchExplainQuery(
+                        operator,
+                        indexSearcher.getIndexReader(),
+                        searchQuery.returnScope(),
+                        queryOptimizationFlags)
+                    : this.queryFactory.createQuery(
+                        operator,
+                        indexSearcher.getIndexReader(),
+                        searchQuery.returnScope(),
+                        queryOptimizationFlags),
+                searchQuery.postFilter());
 
         Optional<LuceneUnifiedHighlighter> unifiedHighlighter =
             this.highlighterContext.getHighlighterIfPresent(
@@ -393,6 +402,7 @@ public class LuceneSearchIndexReader implements SearchIndexReader {
               + "For queries on 'embeddedDocument' fields with 'storedSource', "
               + "the 'returnScope' option must be populated");
     }
+    validatePostFilter(query);
     try (LockGuard ignored = LockGuard.with(this.shutdownSharedLock)) {
       ensureOpen("query");
       var searcherReference = createSearcherReference(query.concurrent());
@@ -421,17 +431,19 @@ public class LuceneSearchIndexReader implements SearchIndexReader {
     LuceneIndexSearcher indexSearcher = searcherReference.getIndexSearcher();
 
     org.apache.lucene.search.Query luceneQuery =
-        Explain.isEnabled()
-            ? this.queryFactory.createSearchExplainQuery(
-                operator,
-                indexSearcher.getIndexReader(),
-                query.returnScope(),
-                queryOptimizationFlags)
-            : this.queryFactory.createQuery(
-                operator,
-                indexSearcher.getIndexReader(),
-                query.returnScope(),
-                queryOptimizationFlags);
+        withPostFilter(
+            Explain.isEnabled()
+                ? this.queryFactory.createSearchExplainQuery(
+                    operator,
+                    indexSearcher.getIndexReader(),
+                    query.returnScope(),
+                    queryOptimizationFlags)
+                : this.queryFactory.createQuery(
+                    operator,
+                    indexSearcher.getIndexReader(),
+                    query.returnScope(),
+                    queryOptimizationFlags),
+            query.postFilter());
     Optional<LuceneUnifiedHighlighter> unifiedHighlighter =
         this.highlighterContext.getHighlighterIfPresent(
             indexSearcher,
@@ -646,8 +658,7 @@ public class LuceneSearchIndexReader implements SearchIndexReader {
         // Check the dynamic feature flag
         boolean drillSidewaysEnabled =
             this.dynamicFeatureFlagRegistry.evaluateClusterInvariant(
-                DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING.getName(),
-                DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING.getFallback());
+                DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING);
 
         if (drillSidewaysEnabled) {
           drillSidewaysInfo = facetCollector.drillSidewaysInfo();
@@ -961,8 +972,7 @@ public class LuceneSearchIndexReader implements SearchIndexReader {
         // Check the dynamic feature flag
         boolean drillSidewaysEnabled =
             this.dynamicFeatureFlagRegistry.evaluateClusterInvariant(
-                DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING.getName(),
-                DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING.getFallback());
+                DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING);
 
         if (drillSidewaysEnabled) {
           drillSidewaysInfo = facetCollector.drillSidewaysInfo();
@@ -1359,6 +1369,40 @@ public class LuceneSearchIndexReader implements SearchIndexReader {
     }
   }
 
+  /**
+   * Validates that a $match post-filter can be evaluated against the stored source of each hit,
+   * which requires every path it refers to be stored.
+   */
+  private void validatePostFilter(SearchQuery query) throws InvalidQueryException {
+    if (query.postFilter().isEmpty()) {
+      return;
+    }
+    if (query instanceof CollectorQuery) {
+      throw new InvalidQueryException("postFilter is not supported with collectors");
+    }
+    if (query.returnScope().isPresent()) {
+      throw new InvalidQueryException("postFilter is not supported with returnScope");
+    }
+    StoredSourceDefinition storedSource = this.indexDefinition.getStoredSource();
+    Optional<FieldPath> unstoredPath =
+        StoredSourceMatchQuery.paths(query.postFilter().get())
+            .filter(path -> !storedSource.isStored(path))
+            .findFirst();
+    if (unstoredPath.isPresent()) {
+      throw new InvalidQueryException(
+          String.format(
+              "postFilter path '%s' is not included in the index's storedSource",
+              unstoredPath.get()));
+    }
+  }
+
+  private static org.apache.lucene.search.Query withPostFilter(
+      org.apache.lucene.search.Query luceneQuery, Optional<Clause> postFilter) {
+    return postFilter
+        .map(clause -> StoredSourceMatchQuery.filter(luceneQuery, clause))
+        .orElse(luceneQuery);
+  }
+
   private static Operator getOperator(SearchQuery query) {
     return switch (query) {
       case OperatorQuery operatorQuery -> operatorQuery.operator();
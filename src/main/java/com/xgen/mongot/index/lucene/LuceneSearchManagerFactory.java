@@ -140,8 +140,7 @@ class LuceneSearchManagerFactory {
     boolean concurrencyEnabled =
         concurrentQuery
             && dynamicFeatureFlagRegistry.evaluateClusterInvariant(
-                DynamicFeatureFlags.DRILL_SIDEWAYS_CONCURRENCY.getName(),
-                DynamicFeatureFlags.DRILL_SIDEWAYS_CONCURRENCY.getFallback());
+                DynamicFeatureFlags.DRILL_SIDEWAYS_CONCURRENCY);
 
     Optional<NamedExecutorService> validExecutor =
         concurrencyEnabled ? concurrentSearchExecutor : Optional.empty();
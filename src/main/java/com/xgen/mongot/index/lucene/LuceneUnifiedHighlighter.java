@@ -28,6 +28,7 @@ import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.FieldOffsetStrategy;
 import org.apache.lucene.search.uhighlight.UHComponents;
 import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
 import org.apache.lucene.util.UnicodeUtil;
@@ -54,6 +55,7 @@ class LuceneUnifiedHighlighter {
       Analyzer indexAnalyzer,
       Highlight highlight,
       Query searchQuery,
+      HighlightAnalysisCache analysisCache,
       Optional<HighlightFeatureExplainer> explainer) {
     UnifiedHighlighter.Builder highlighterBuilder =
         UnifiedHighlighter.builder(indexSearcher, indexAnalyzer)
@@ -79,7 +81,8 @@ class LuceneUnifiedHighlighter {
             // keep weightMatches off to preserve default behavior we had before upgrade to Lucene 9
             .withWeightMatches(false);
     PublicUnifiedHighlighter luceneHighlighter =
-        new PublicUnifiedHighlighter(highlighterBuilder, highlight.storedLuceneFieldNameMap());
+        new PublicUnifiedHighlighter(
+            highlighterBuilder, highlight.storedLuceneFieldNameMap(), analysisCache);
 
     return new LuceneUnifiedHighlighter(luceneHighlighter, highlight, searchQuery, explainer);
   }
@@ -257,6 +260,8 @@ class LuceneUnifiedHighlighter {
    *       tests</li>
    *   <li>Custom field value loading logic via {@code loadFieldValues}, enabling the use of
    *       stored base fields instead of multi fields when highlighting</li>
+   *   <li>Reuse of the analyses of highlighted values across queries via {@code
+   *       getOffsetStrategy}, see {@link HighlightAnalysisCache}</li>
    * </ul>
    *
    * <p>This class is used to simulate real-world field resolution behavior in highlight tests
@@ -270,10 +275,15 @@ class LuceneUnifiedHighlighter {
     // Used during {@link #loadFieldValues} to determine which fields to load from disk.
     private final Map<String, String> storedLuceneFieldNameMap;
 
+    private final HighlightAnalysisCache analysisCache;
+
     private PublicUnifiedHighlighter(
-        UnifiedHighlighter.Builder builder, Map<String, String> storedLuceneFieldNameMap) {
+        UnifiedHighlighter.Builder builder,
+        Map<String, String> storedLuceneFieldNameMap,
+        HighlightAnalysisCache analysisCache) {
       super(builder);
       this.storedLuceneFieldNameMap = storedLuceneFieldNameMap;
+      this.analysisCache = analysisCache;
     }
 
     @Override
@@ -295,6 +305,21 @@ class LuceneUnifiedHighlighter {
       return result;
     }
 
+    /**
+     * Lucene prefers offsets from postings, then from term vectors, and only falls back to
+     * analyzing the stored value when neither is indexed, or when a multi-term query would
+     * otherwise have to scan every term of the segment. Analyses are then read from the {@link
+     * HighlightAnalysisCache} rather than redone for every query.
+     */
+    @Override
+    protected FieldOffsetStrategy getOffsetStrategy(
+        OffsetSource offsetSource, UHComponents components) {
+      if (offsetSource == OffsetSource.ANALYSIS) {
+        return this.analysisCache.offsetStrategy(components, getIndexAnalyzer());
+      }
+      return super.getOffsetStrategy(offsetSource, components);
+    }
+
     /**
      * Overrides the default Lucene behavior to load stored fields, which are mapped from
      * the provided fields using {@code storedLuceneFieldNameMap}.
@@ -8,6 +8,7 @@ import com.google.errorprone.annotations.Var;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 import com.xgen.mongot.cursor.batch.BatchSizeStrategy;
 import com.xgen.mongot.cursor.batch.QueryCursorOptions;
+import com.xgen.mongot.featureflag.Feature;
 import com.xgen.mongot.featureflag.FeatureFlags;
 import com.xgen.mongot.index.IndexMetricsUpdater;
 import com.xgen.mongot.index.MetaResults;
@@ -29,6 +30,7 @@ import com.xgen.mongot.index.lucene.query.context.VectorQueryFactoryContext;
 import com.xgen.mongot.index.lucene.query.pushdown.project.ProjectFactory;
 import com.xgen.mongot.index.lucene.query.pushdown.project.ProjectSpec;
 import com.xgen.mongot.index.lucene.query.pushdown.project.ProjectStage;
+import com.xgen.mongot.index.lucene.searcher.LuceneIndexSearcher;
 import com.xgen.mongot.index.lucene.searcher.LuceneSearcherManager;
 import com.xgen.mongot.index.lucene.util.LuceneDocumentIdEncoder;
 import com.xgen.mongot.index.query.InvalidQueryException;
@@ -38,6 +40,7 @@ import com.xgen.mongot.trace.Tracing;
 import com.xgen.mongot.util.FieldPath;
 import com.xgen.mongot.util.bson.BsonArrayBuilder;
 import com.xgen.mongot.util.bson.Vector;
+import com.xgen.mongot.util.concurrent.IntraQueryParallelism;
 import com.xgen.mongot.util.concurrent.LockGuard;
 import com.xgen.mongot.util.concurrent.NamedExecutorService;
 import java.io.IOException;
@@ -73,6 +76,13 @@ public class LuceneVectorIndexReader implements VectorIndexReader {
    */
   private static final long HNSW_GRAPH_BYTES_PER_VECTOR = 8L * 16;
 
+  /**
+   * Minimum number of documents searched per task when a query that did not ask for concurrency is
+   * still split across segments. HNSW search cost grows logarithmically with the number of vectors,
+   * so smaller indexes are searched faster serially than the hand-off to the executor costs.
+   */
+  @VisibleForTesting static final long MIN_DOCS_PER_ADAPTIVE_SEARCH_TASK = 32_768;
+
   private final VectorIndexDefinition indexDefinition;
 
   @GuardedBy("shutdownSharedLock")
@@ -81,6 +91,7 @@ public class LuceneVectorIndexReader implements VectorIndexReader {
   private final IndexMetricsUpdater.QueryingMetricsUpdater metricsUpdater;
   private final LuceneSearchManagerFactory luceneSearchManagerFactory;
   private final Optional<NamedExecutorService> concurrentSearchExecutor;
+  private final Optional<IntraQueryParallelism> adaptiveSearchParallelism;
   private final LuceneVectorQueryFactoryDistributor queryFactory;
 
   private final ReentrantReadWriteLock.WriteLock shutdownExclusiveLock;
@@ -109,6 +120,9 @@ public class LuceneVectorIndexReader implements VectorIndexReader {
     this.searcherManager = searcherManager;
     this.metricsUpdater = context.getMetrics();
     this.concurrentSearchExecutor = concurrentSearchExecutor;
+    this.adaptiveSearchParallelism =
+        concurrentSearchExecutor.map(
+            executor -> new IntraQueryParallelism(executor, MIN_DOCS_PER_ADAPTIVE_SEARCH_TASK));
     this.queryFactory = queryFactory;
     this.luceneSearchManagerFactory =
         new LuceneSearchManagerFactory(
@@ -186,10 +200,8 @@ public class LuceneVectorIndexReader implements VectorIndexReader {
     var indexSearcher = searcherReference.getIndexSearcher();
     var luceneQuery =
         Explain.isEnabled()
-            ? this.queryFactory.createExplainQuery(
-                materializedVectorQuery, indexSearcher.getIndexReader())
-            : this.queryFactory.createQuery(
-                materializedVectorQuery, indexSearcher.getIndexReader());
+            ? this.queryFactory.createExplainQuery(materializedVectorQuery, indexSearcher)
+            : this.queryFactory.createQuery(materializedVectorQuery, indexSearcher);
 
     LuceneSearchManager<QueryInfo> searchManager =
         this.luceneSearchManagerFactory.newVectorQueryManager(
@@ -249,7 +261,8 @@ public class LuceneVectorIndexReader implements VectorIndexReader {
   @GuardedBy("shutdownSharedLock")
   private LuceneIndexSearcherReference createSearcherReference(boolean concurrentQuery)
       throws IOException {
-    return concurrentQuery && this.concurrentSearchExecutor.isPresent()
+    return this.concurrentSearchExecutor.isPresent()
+            && (concurrentQuery || shouldSearchSegmentsConcurrently())
         ? LuceneIndexSearcherReference.create(
             this.searcherManager,
             this.concurrentSearchExecutor.get(),
@@ -259,6 +272,29 @@ public class LuceneVectorIndexReader implements VectorIndexReader {
             this.searcherManager, this.metricsUpdater, this.featureFlags);
   }
 
+  /**
+   * Returns whether a query that did not ask for concurrency should still search the segments of
+   * the index concurrently, which Lucene does for the HNSW graph of each segment. This is only the
+   * case for indexes large enough and with enough segments to benefit, while the search executor
+   * has idle threads.
+   */
+  @GuardedBy("shutdownSharedLock")
+  private boolean shouldSearchSegmentsConcurrently() throws IOException {
+    if (this.adaptiveSearchParallelism.isEmpty()
+        || !this.featureFlags.isEnabled(Feature.ADAPTIVE_VECTOR_SEARCH_PARALLELISM)) {
+      return false;
+    }
+
+    LuceneIndexSearcher searcher = this.searcherManager.acquire();
+    try {
+      var reader = searcher.getIndexReader();
+      return reader.leaves().size() > 1
+          && this.adaptiveSearchParallelism.get().tasksFor(reader.maxDoc()) > 1;
+    } finally {
+      this.searcherManager.release(searcher);
+    }
+  }
+
   @GuardedBy("shutdownSharedLock")
   private void ensureOpen(String methodName) throws ReaderClosedException {
     if (this.closed) {
@@ -310,7 +346,9 @@ public class LuceneVectorIndexReader implements VectorIndexReader {
               .map(VectorIndexFieldDefinition::asVectorField)
               .collect(ImmutableList.toImmutableList());
 
-      try (var searcherReference = createSearcherReference(false)) {
+      try (var searcherReference =
+          LuceneIndexSearcherReference.create(
+              this.searcherManager, this.metricsUpdater, this.featureFlags)) {
         List<LeafReaderContext> leaves =
             searcherReference.getIndexSearcher().getIndexReader().leaves();
         @Var long requiredMemory = 0L;
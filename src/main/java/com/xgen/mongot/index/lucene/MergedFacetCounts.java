@@ -0,0 +1,200 @@
+package com.xgen.mongot.index.lucene;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.Var;
+import com.xgen.mongot.index.FacetBucket;
+import com.xgen.mongot.index.IntermediateFacetBucket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import org.bson.BsonValue;
+
+/**
+ * The buckets of a single facet merged across index partitions, indexed by their position in the
+ * merged buckets. Counts are summed into a primitive array, so merging doesn't allocate per bucket
+ * beyond the bucket values the partitions already produced.
+ *
+ * <p>String facets are merged in {@link String#compareTo} order, the UTF-16 code unit order that
+ * merged string buckets have always been returned in. Merging them is a k-way merge of the
+ * partitions in that order, so no map from labels to counts is built. Boundary facets have the
+ * same buckets in every partition, and are merged by their bucket value.
+ *
+ * <p>This only merges the results of the partitions: every partition still counts all of its
+ * ordinals and resolves the label of every bucket with a hit, and buckets are matched across
+ * partitions by label. Counting into an ordinal space shared by the partitions, which would only
+ * resolve the labels of the top buckets, is not implemented.
+ */
+final class MergedFacetCounts {
+
+  /**
+   * Orders labels by UTF-16 code unit. A partition produces its buckets in ordinal order, the order
+   * of the UTF-8 bytes of their labels, which only differs from this order for labels with
+   * supplementary characters.
+   */
+  @VisibleForTesting
+  static final Comparator<String> LABEL_ORDER = Comparator.naturalOrder();
+
+  private final List<BsonValue> buckets;
+  private final long[] counts;
+
+  private MergedFacetCounts(List<BsonValue> buckets, long[] counts) {
+    this.buckets = buckets;
+    this.counts = counts;
+  }
+
+  /**
+   * Merges the buckets each partition produced for a string facet. Buckets of a partition are
+   * expected in {@link #LABEL_ORDER}, and are sorted first if they are not.
+   */
+  static MergedFacetCounts mergeStringFacet(List<List<IntermediateFacetBucket>> partitions) {
+    PriorityQueue<PartitionCursor> cursors =
+        new PriorityQueue<>(
+            Math.max(1, partitions.size()),
+            Comparator.comparing(PartitionCursor::label, LABEL_ORDER));
+    @Var int maxBuckets = 0;
+    for (List<IntermediateFacetBucket> partition : partitions) {
+      if (!partition.isEmpty()) {
+        cursors.add(new PartitionCursor(inLabelOrder(partition)));
+        maxBuckets += partition.size();
+      }
+    }
+
+    List<BsonValue> buckets = new ArrayList<>();
+    long[] counts = new long[maxBuckets];
+    @Var String lastLabel = null;
+    while (!cursors.isEmpty()) {
+      PartitionCursor cursor = cursors.poll();
+      IntermediateFacetBucket bucket = cursor.current();
+      String label = cursor.label();
+      if (!label.equals(lastLabel)) {
+        buckets.add(bucket.bucket());
+        lastLabel = label;
+      }
+      counts[buckets.size() - 1] += bucket.count();
+
+      if (cursor.advance()) {
+        cursors.add(cursor);
+      }
+    }
+    return new MergedFacetCounts(buckets, Arrays.copyOf(counts, buckets.size()));
+  }
+
+  /**
+   * Merges the buckets each partition produced for a number or date facet, in the order the buckets
+   * were first produced.
+   */
+  static MergedFacetCounts mergeBoundaryFacet(List<List<IntermediateFacetBucket>> partitions) {
+    Map<BsonValue, Integer> positions = new HashMap<>();
+    List<BsonValue> buckets = new ArrayList<>();
+    @Var long[] counts = new long[0];
+    for (List<IntermediateFacetBucket> partition : partitions) {
+      for (IntermediateFacetBucket bucket : partition) {
+        int position = positions.computeIfAbsent(bucket.bucket(), unused -> buckets.size());
+        if (position == buckets.size()) {
+          buckets.add(bucket.bucket());
+          if (counts.length < buckets.size()) {
+            counts = Arrays.copyOf(counts, Math.max(8, counts.length * 2));
+          }
+        }
+        counts[position] += bucket.count();
+      }
+    }
+    return new MergedFacetCounts(buckets, Arrays.copyOf(counts, buckets.size()));
+  }
+
+  int size() {
+    return this.buckets.size();
+  }
+
+  BsonValue bucket(int position) {
+    return this.buckets.get(position);
+  }
+
+  long count(int position) {
+    return this.counts[position];
+  }
+
+  /** Returns every bucket, in merged order. */
+  List<FacetBucket> allBuckets() {
+    List<FacetBucket> result = new ArrayList<>(size());
+    for (int position = 0; position < size(); position++) {
+      result.add(new FacetBucket(bucket(position), count(position)));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the {@code numBuckets} string buckets with the highest counts, breaking ties by label.
+   * Only the selected buckets are materialized, using a heap of at most {@code numBuckets}
+   * positions.
+   */
+  List<FacetBucket> topStringBuckets(int numBuckets) {
+    if (numBuckets <= 0) {
+      return List.of();
+    }
+    Comparator<Integer> byCount =
+        Comparator.<Integer>comparingLong(this::count)
+            .reversed()
+            .thenComparing(position -> bucket(position).asString().getValue());
+
+    // The heap keeps its least competitive position on top, to be replaced by better ones.
+    PriorityQueue<Integer> top = new PriorityQueue<>(numBuckets, byCount.reversed());
+    for (int position = 0; position < size(); position++) {
+      if (top.size() < numBuckets) {
+        top.add(position);
+      } else if (byCount.compare(position, top.peek()) < 0) {
+        top.poll();
+        top.add(position);
+      }
+    }
+
+    return top.stream()
+        .sorted(byCount)
+        .map(position -> new FacetBucket(bucket(position), count(position)))
+        .toList();
+  }
+
+  private static List<IntermediateFacetBucket> inLabelOrder(
+      List<IntermediateFacetBucket> partition) {
+    for (int i = 1; i < partition.size(); i++) {
+      if (LABEL_ORDER.compare(label(partition.get(i - 1)), label(partition.get(i))) > 0) {
+        return partition.stream()
+            .sorted(Comparator.comparing(MergedFacetCounts::label, LABEL_ORDER))
+            .toList();
+      }
+    }
+    return partition;
+  }
+
+  private static String label(IntermediateFacetBucket bucket) {
+    return bucket.bucket().asString().getValue();
+  }
+
+  /** The position of a k-way merge in the buckets of one partition. */
+  private static class PartitionCursor {
+    private final List<IntermediateFacetBucket> buckets;
+    private int position;
+
+    PartitionCursor(List<IntermediateFacetBucket> buckets) {
+      this.buckets = buckets;
+      this.position = 0;
+    }
+
+    IntermediateFacetBucket current() {
+      return this.buckets.get(this.position);
+    }
+
+    String label() {
+      return MergedFacetCounts.label(current());
+    }
+
+    boolean advance() {
+      this.position++;
+      return this.position < this.buckets.size();
+    }
+  }
+}
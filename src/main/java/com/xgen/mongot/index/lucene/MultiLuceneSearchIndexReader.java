@@ -57,10 +57,9 @@ public class MultiLuceneSearchIndexReader implements SearchIndexReader {
       List<LuceneSearchIndexReader> readers,
       DynamicFeatureFlagRegistry dynamicFeatureFlagRegistry,
       Optional<NamedExecutorService> concurrentSearchExecutor) {
-    var dynamicFeatureFlag = DynamicFeatureFlags.COLLECT_MULTI_PARTITION_EMPTY_SEARCH_PRODUCER;
     this.shouldCollectMultiPartitionEmptyBatchProducer =
         dynamicFeatureFlagRegistry.evaluateClusterInvariant(
-            dynamicFeatureFlag.getName(), dynamicFeatureFlag.getFallback());
+            DynamicFeatureFlags.COLLECT_MULTI_PARTITION_EMPTY_SEARCH_PRODUCER);
     Check.checkState(
         readers.size() >= 2,
         "There must be >= 2 underlying readers to construct MultiLuceneSearchIndexReader.");
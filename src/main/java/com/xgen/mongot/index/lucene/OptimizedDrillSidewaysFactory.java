@@ -82,8 +82,7 @@ class OptimizedDrillSidewaysFactory {
     boolean concurrencyEnabled =
         concurrentQuery
             && dynamicFeatureFlagRegistry.evaluateClusterInvariant(
-                DynamicFeatureFlags.DRILL_SIDEWAYS_CONCURRENCY.getName(),
-                DynamicFeatureFlags.DRILL_SIDEWAYS_CONCURRENCY.getFallback());
+                DynamicFeatureFlags.DRILL_SIDEWAYS_CONCURRENCY);
 
     Optional<NamedExecutorService> validExecutor =
         concurrencyEnabled ? executor : Optional.empty();
@@ -105,6 +105,12 @@ public class DefaultIndexingPolicy {
     private final IndexingMetricsUpdater indexingMetricsUpdater;
     private final ObjectId indexId;
 
+    /**
+     * The builder each indexing thread reuses for standalone root documents, when allowed by {@link
+     * IndexingPolicyBuilderContext#reuseDocumentBuilders()}.
+     */
+    private final ThreadLocal<RootDocumentBuilder> reusableBuilders;
+
     RootDocumentIndexingPolicy(
         ObjectId indexId,
         Optional<FacetsConfig> facetsConfig,
@@ -122,6 +128,7 @@ public class DefaultIndexingPolicy {
       this.indexAnalyzer = indexAnalyzer;
       this.resolver = resolver;
       this.indexingMetricsUpdater = indexingMetricsUpdater;
+      this.reusableBuilders = ThreadLocal.withInitial(this::createReusableBuilder);
     }
 
     public static RootDocumentIndexingPolicy create(
@@ -160,6 +167,31 @@ public class DefaultIndexingPolicy {
           this.resolver.getIndexCapabilities(),
           this.indexingMetricsUpdater);
     }
+
+    /**
+     * Returns the calling thread's reused builder if the context allows it. Embedded roots are
+     * always built from scratch, as their block is built with new embedded document builders.
+     */
+    @Override
+    public RootDocumentBuilder createBuilder(byte[] id, IndexingPolicyBuilderContext context) {
+      if (this.isEmbedded || !context.reuseDocumentBuilders()) {
+        return createBuilder(id);
+      }
+      RootDocumentBuilder builder = this.reusableBuilders.get();
+      builder.reset(id);
+      return builder;
+    }
+
+    private RootDocumentBuilder createReusableBuilder() {
+      return RootDocumentBuilder.createReusable(
+          this.indexId,
+          LuceneSearchIndexDocumentBuilder.createReusableRoot(
+              this.mappings, this.indexAnalyzer, this.resolver, this.indexingMetricsUpdater),
+          this.storedBuilderFactory.get(),
+          this.facetsConfig,
+          this.resolver.getIndexCapabilities(),
+          this.indexingMetricsUpdater);
+    }
   }
 
   /**
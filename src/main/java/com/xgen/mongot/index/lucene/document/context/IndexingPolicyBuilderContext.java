@@ -16,11 +16,13 @@ public final class IndexingPolicyBuilderContext {
   private final ImmutableMap<FieldPath, ImmutableMap<String, Vector>> autoEmbeddings;
   private final Optional<Long> customVectorEngineId;
   private final Set<FieldPath> fieldPathsToFilterOut;
+  private final boolean reuseDocumentBuilders;
 
   private IndexingPolicyBuilderContext(Builder builder) {
     this.autoEmbeddings = builder.autoEmbeddings;
     this.customVectorEngineId = builder.customVectorEngineId;
     this.fieldPathsToFilterOut = builder.fieldPathsToFilterOut;
+    this.reuseDocumentBuilders = builder.reuseDocumentBuilders;
   }
 
   public ImmutableMap<FieldPath, ImmutableMap<String, Vector>> autoEmbeddings() {
@@ -35,6 +37,15 @@ public final class IndexingPolicyBuilderContext {
     return this.fieldPathsToFilterOut;
   }
 
+  /**
+   * Whether the policy may return a builder that the calling thread already used for a previous
+   * document, along with its Lucene documents and fields. Callers may only set this if they are
+   * done with the previously built documents, e.g. because they indexed them synchronously.
+   */
+  public boolean reuseDocumentBuilders() {
+    return this.reuseDocumentBuilders;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -44,6 +55,7 @@ public final class IndexingPolicyBuilderContext {
         ImmutableMap.of();
     private Optional<Long> customVectorEngineId = Optional.empty();
     private Set<FieldPath> fieldPathsToFilterOut = Set.of();
+    private boolean reuseDocumentBuilders = false;
 
     private Builder() {}
 
@@ -63,6 +75,11 @@ public final class IndexingPolicyBuilderContext {
       return this;
     }
 
+    public Builder reuseDocumentBuilders(boolean reuseDocumentBuilders) {
+      this.reuseDocumentBuilders = reuseDocumentBuilders;
+      return this;
+    }
+
     public IndexingPolicyBuilderContext build() {
       return new IndexingPolicyBuilderContext(this);
     }
@@ -60,13 +60,25 @@ public abstract class AbstractDocumentWrapper {
   public final IndexCapabilities indexCapabilities;
   public final IndexMetricsUpdater.IndexingMetricsUpdater indexingMetricsUpdater;
 
+  /** The fields that {@link IndexableFieldFactory} reuses for this wrapper's documents. */
+  final ReusableFields reusableFields;
+
   AbstractDocumentWrapper(
       Document luceneDocument,
       IndexCapabilities indexCapabilities,
       IndexMetricsUpdater.IndexingMetricsUpdater indexingMetricsUpdater) {
+    this(luceneDocument, indexCapabilities, indexingMetricsUpdater, ReusableFields.disabled());
+  }
+
+  AbstractDocumentWrapper(
+      Document luceneDocument,
+      IndexCapabilities indexCapabilities,
+      IndexMetricsUpdater.IndexingMetricsUpdater indexingMetricsUpdater,
+      ReusableFields reusableFields) {
     this.luceneDocument = luceneDocument;
     this.indexCapabilities = indexCapabilities;
     this.indexingMetricsUpdater = indexingMetricsUpdater;
+    this.reusableFields = reusableFields;
     this.nullFieldsIndexed = new HashSet<>();
     this.vectorFieldsIndexed = new HashSet<>();
     this.vectorFieldsInvalidForIndexing = new HashSet<>();
@@ -90,6 +102,18 @@ public abstract class AbstractDocumentWrapper {
     return this.indexCapabilities;
   }
 
+  /**
+   * Removes all fields from the Lucene document and forgets the fields indexed so far, returning
+   * pooled fields to {@link #reusableFields}, so that the wrapper can be used for another document.
+   */
+  void clear() {
+    this.luceneDocument.clear();
+    this.nullFieldsIndexed.clear();
+    this.vectorFieldsIndexed.clear();
+    this.vectorFieldsInvalidForIndexing.clear();
+    this.reusableFields.reset();
+  }
+
   /**
    * Adds the indexable field to the Lucene document.
    *
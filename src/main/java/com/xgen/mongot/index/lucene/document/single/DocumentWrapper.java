@@ -47,7 +47,23 @@ public class DocumentWrapper extends AbstractDocumentWrapper {
       Analyzer indexAnalyzer,
       SearchFieldDefinitionResolver resolver,
       IndexingMetricsUpdater indexingMetricsUpdater) {
-    super(luceneDocument, resolver.indexCapabilities, indexingMetricsUpdater);
+    this(
+        luceneDocument,
+        embeddedRoot,
+        indexAnalyzer,
+        resolver,
+        indexingMetricsUpdater,
+        ReusableFields.disabled());
+  }
+
+  private DocumentWrapper(
+      Document luceneDocument,
+      Optional<FieldPath> embeddedRoot,
+      Analyzer indexAnalyzer,
+      SearchFieldDefinitionResolver resolver,
+      IndexingMetricsUpdater indexingMetricsUpdater,
+      ReusableFields reusableFields) {
+    super(luceneDocument, resolver.indexCapabilities, indexingMetricsUpdater, reusableFields);
     this.embeddedRoot = embeddedRoot;
     this.isNumberAndDateSortable =
         embeddedRoot.isEmpty() || resolver.indexCapabilities.supportsEmbeddedNumericAndDateV2();
@@ -79,6 +95,42 @@ public class DocumentWrapper extends AbstractDocumentWrapper {
     return wrapper;
   }
 
+  /**
+   * Creates a standalone document wrapper for root documents that is reused for one document after
+   * another, drawing its fields from its own {@link ReusableFields}. The wrapper has no _id until
+   * it is {@link #reset(byte[]) reset} for its first document.
+   *
+   * @param indexAnalyzer - the index analyzer
+   * @param resolver - the resolver
+   * @param indexingMetricsUpdater - the indexing metrics updater
+   * @return the document wrapper
+   */
+  static DocumentWrapper createReusableRootStandalone(
+      Analyzer indexAnalyzer,
+      SearchFieldDefinitionResolver resolver,
+      IndexingMetricsUpdater indexingMetricsUpdater) {
+    return new DocumentWrapper(
+        new Document(),
+        Optional.empty(),
+        indexAnalyzer,
+        resolver,
+        indexingMetricsUpdater,
+        ReusableFields.create());
+  }
+
+  /**
+   * Clears a wrapper created by {@link #createReusableRootStandalone} and adds the _id field of
+   * the next document. The previously built document must already have been indexed, as its
+   * fields are reused.
+   *
+   * @param id - the id of the next document
+   */
+  void reset(byte[] id) {
+    clear();
+    IndexableFieldFactory.addDocumentIdField(
+        this, id, this.resolver.indexCapabilities.isMetaIdSortable());
+  }
+
   /**
    * Creates a document wrapper for a root document of an embedded document.
    *
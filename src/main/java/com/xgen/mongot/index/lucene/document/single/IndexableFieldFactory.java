@@ -38,9 +38,6 @@ import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.LongField;
 import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.document.NumericDocValuesField;
-import org.apache.lucene.document.SortedDocValuesField;
-import org.apache.lucene.document.SortedNumericDocValuesField;
-import org.apache.lucene.document.SortedSetDocValuesField;
 import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.facet.FacetsConfig;
@@ -58,6 +55,9 @@ import org.bson.types.ObjectId;
 /**
  * Stateless class containing helper methods to add {@link IndexableField}s to Lucene documents via
  * {@link AbstractDocumentWrapper} given field names and values.
+ *
+ * <p>Fields whose value can be replaced in place are drawn from the wrapper's {@link
+ * ReusableFields}, which only reuses them for wrappers that are reused across documents.
  */
 public class IndexableFieldFactory {
 
@@ -120,6 +120,11 @@ public class IndexableFieldFactory {
           .omitNorms(true)
           .build();
 
+  /**
+   * The FieldTypes of string fields, for every combination of their options. Sharing them lets
+   * {@link ReusableFields} reuse a string field only while its FieldType is unchanged.
+   */
+  private static final FieldType[] STRING_FIELD_TYPES = createStringFieldTypes();
 
   /**
    * Adds an IndexableField for the `_id` to the root Lucene document for a BSON document we're
@@ -138,7 +143,9 @@ public class IndexableFieldFactory {
         new StoredField(
             FieldName.MetaField.ID.getLuceneFieldName(), value, DOCUMENT_ID_FIELD_TYPE));
     if (includeDocValue) {
-      document.put(new SortedDocValuesField(FieldName.MetaField.ID.getLuceneFieldName(), value));
+      document.put(
+          document.reusableFields.sortedDocValuesField(
+              FieldName.MetaField.ID.getLuceneFieldName(), value));
     }
   }
 
@@ -194,9 +201,9 @@ public class IndexableFieldFactory {
     }
 
     IndexableField indexableField =
-        new Field(
+        document.reusableFields.stringField(
             FieldName.MetaField.FIELD_NAMES.getLuceneFieldName(),
-            path.toString(),
+            pathString,
             FIELD_NAME_FIELD_TYPE_NOT_STORED);
 
     document.put(indexableField);
@@ -215,7 +222,8 @@ public class IndexableFieldFactory {
         value,
         fieldDefinition.indexOptions(),
         fieldDefinition.storeFlag(),
-        fieldDefinition.norms());
+        fieldDefinition.norms(),
+        fieldDefinition.termVectors());
 
     // handle multi fields
     for (Map.Entry<String, StringFieldDefinition> entry : fieldDefinition.multi().entrySet()) {
@@ -230,7 +238,8 @@ public class IndexableFieldFactory {
           value,
           multiDefinition.indexOptions(),
           multiDefinition.storeFlag() && !fieldDefinition.storeFlag(),
-          multiDefinition.norms());
+          multiDefinition.norms(),
+          multiDefinition.termVectors());
     }
   }
 
@@ -240,20 +249,56 @@ public class IndexableFieldFactory {
       String value,
       StringFieldDefinition.IndexOptions indexOptions,
       boolean store,
-      StringFieldDefinition.NormsOptions norms) {
+      StringFieldDefinition.NormsOptions norms,
+      StringFieldDefinition.TermVectorOptions termVectors) {
 
+    boolean omitNorms = norms == StringFieldDefinition.NormsOptions.OMIT;
     FieldType fieldType =
-        new FieldTypeBuilder()
-            .withIndexOptions(indexOptions)
-            .tokenized(true)
-            .stored(store)
-            .omitNorms(norms == StringFieldDefinition.NormsOptions.OMIT)
-            .build();
-
-    IndexableField indexableField = new Field(luceneFieldName, value, fieldType);
+        STRING_FIELD_TYPES[stringFieldTypeIndex(indexOptions, store, omitNorms, termVectors)];
+
+    IndexableField indexableField =
+        document.reusableFields.stringField(luceneFieldName, value, fieldType);
     document.put(indexableField);
   }
 
+  private static FieldType[] createStringFieldTypes() {
+    FieldType[] fieldTypes =
+        new FieldType
+            [StringFieldDefinition.IndexOptions.values().length
+                * StringFieldDefinition.TermVectorOptions.values().length
+                * 4];
+    for (StringFieldDefinition.IndexOptions indexOptions :
+        StringFieldDefinition.IndexOptions.values()) {
+      for (StringFieldDefinition.TermVectorOptions termVectors :
+          StringFieldDefinition.TermVectorOptions.values()) {
+        for (boolean store : new boolean[] {false, true}) {
+          for (boolean omitNorms : new boolean[] {false, true}) {
+            fieldTypes[stringFieldTypeIndex(indexOptions, store, omitNorms, termVectors)] =
+                new FieldTypeBuilder()
+                    .withIndexOptions(indexOptions)
+                    .withTermVectors(termVectors)
+                    .tokenized(true)
+                    .stored(store)
+                    .omitNorms(omitNorms)
+                    .build();
+          }
+        }
+      }
+    }
+    return fieldTypes;
+  }
+
+  private static int stringFieldTypeIndex(
+      StringFieldDefinition.IndexOptions indexOptions,
+      boolean store,
+      boolean omitNorms,
+      StringFieldDefinition.TermVectorOptions termVectors) {
+    int options =
+        indexOptions.ordinal() * StringFieldDefinition.TermVectorOptions.values().length
+            + termVectors.ordinal();
+    return options * 4 + (store ? 2 : 0) + (omitNorms ? 1 : 0);
+  }
+
   static void addStringFacetField(AbstractDocumentWrapper document, FieldPath path, String value) {
     if (value.isEmpty()) {
       // empty labels are not allowed for facet indexing
@@ -346,7 +391,7 @@ public class IndexableFieldFactory {
 
   private static void addSortableStringField(
       AbstractDocumentWrapper document, String luceneFieldName, BytesRef value) {
-    document.put(new SortedSetDocValuesField(luceneFieldName, value));
+    document.put(document.reusableFields.sortedSetDocValuesField(luceneFieldName, value));
 
     // Add to the postings list to take advantage of pruning (LUCENE-10633).
     document.put(new StringField(luceneFieldName, value, Field.Store.NO));
@@ -374,7 +419,8 @@ public class IndexableFieldFactory {
   static void addAutocompleteField(AbstractDocumentWrapper document, FieldPath path, String value) {
     String luceneFieldName =
         FieldName.TypeField.AUTOCOMPLETE.getLuceneFieldName(path, document.getEmbeddedRoot());
-    document.put(new Field(luceneFieldName, value, AUTOCOMPLETE_FIELD_TYPE));
+    document.put(
+        document.reusableFields.stringField(luceneFieldName, value, AUTOCOMPLETE_FIELD_TYPE));
   }
 
   static void addDateField(
@@ -398,13 +444,13 @@ public class IndexableFieldFactory {
 
   private static void addDateSingleField(
       AbstractDocumentWrapper document, String luceneFieldName, long value) {
-    document.put(new NumericDocValuesField(luceneFieldName, value));
-    document.put(new LongPoint(luceneFieldName, value));
+    document.put(document.reusableFields.numericDocValuesField(luceneFieldName, value));
+    document.put(document.reusableFields.longPoint(luceneFieldName, value));
   }
 
   private static void addDateMultipleField(
       AbstractDocumentWrapper document, String luceneFieldName, long value) {
-    document.put(new LongPoint(luceneFieldName, value));
+    document.put(document.reusableFields.longPoint(luceneFieldName, value));
   }
 
   static void addSortableDateBetaField(
@@ -430,7 +476,9 @@ public class IndexableFieldFactory {
   static void addNullnessField(AbstractDocumentWrapper document, FieldPath path) {
     String luceneFieldName =
         FieldName.getNullnessFieldName(path);
-    document.put(new SortedNumericDocValuesField(luceneFieldName, NULLNESS_FIELD_PRESENT));
+    document.put(
+        document.reusableFields.sortedNumericDocValuesField(
+            luceneFieldName, NULLNESS_FIELD_PRESENT));
   }
 
   private static void addSortableDateField(
@@ -442,9 +490,11 @@ public class IndexableFieldFactory {
     String luceneFieldName =
         FieldName.TypeField.BOOLEAN.getLuceneFieldName(path, document.getEmbeddedRoot());
     String fieldValue = FieldValue.fromBoolean(value);
-    document.put(new StringField(luceneFieldName, fieldValue, Field.Store.NO));
+    document.put(document.reusableFields.keywordField(luceneFieldName, fieldValue));
     if (document.getIndexCapabilities().supportsObjectIdAndBooleanDocValues()) {
-      document.put(new SortedSetDocValuesField(luceneFieldName, new BytesRef(fieldValue)));
+      document.put(
+          document.reusableFields.sortedSetDocValuesField(
+              luceneFieldName, new BytesRef(fieldValue)));
     }
   }
 
@@ -462,7 +512,7 @@ public class IndexableFieldFactory {
     var bytesRef = new BytesRef(value.toByteArray());
     document.put(new Field(luceneFieldName, bytesRef, OBJECT_ID_FIELD_TYPE));
     if (document.getIndexCapabilities().supportsObjectIdAndBooleanDocValues()) {
-      document.put(new SortedSetDocValuesField(luceneFieldName, bytesRef));
+      document.put(document.reusableFields.sortedSetDocValuesField(luceneFieldName, bytesRef));
     }
   }
 
@@ -595,8 +645,10 @@ public class IndexableFieldFactory {
     String luceneFieldName =
         FieldName.TypeField.UUID.getLuceneFieldName(path, document.getEmbeddedRoot());
     String uuidString = uuid.toString();
-    document.put(new StringField(luceneFieldName, uuidString, Field.Store.NO));
-    document.put(new SortedSetDocValuesField(luceneFieldName, new BytesRef(uuidString)));
+    document.put(document.reusableFields.keywordField(luceneFieldName, uuidString));
+    document.put(
+        document.reusableFields.sortedSetDocValuesField(
+            luceneFieldName, new BytesRef(uuidString)));
   }
 
   static void addNullField(AbstractDocumentWrapper document, FieldPath path) {
@@ -604,11 +656,12 @@ public class IndexableFieldFactory {
         FieldName.TypeField.NULL.getLuceneFieldName(path, document.getEmbeddedRoot());
     var res =
         document.addNullFieldIfAbsent(
-            new StringField(luceneFieldName, FieldValue.NULL_FIELD_VALUE, Field.Store.NO),
+            document.reusableFields.keywordField(luceneFieldName, FieldValue.NULL_FIELD_VALUE),
             luceneFieldName);
     if (res) {
       document.put(
-          new SortedDocValuesField(luceneFieldName, new BytesRef(FieldValue.NULL_FIELD_VALUE)));
+          document.reusableFields.sortedDocValuesField(
+              luceneFieldName, new BytesRef(FieldValue.NULL_FIELD_VALUE)));
     }
   }
 
@@ -727,18 +780,18 @@ public class IndexableFieldFactory {
 
   private static void addNumericSingleField(
       AbstractDocumentWrapper document, String luceneFieldName, long value) {
-    document.put(new NumericDocValuesField(luceneFieldName, value));
-    document.put(new LongPoint(luceneFieldName, value));
+    document.put(document.reusableFields.numericDocValuesField(luceneFieldName, value));
+    document.put(document.reusableFields.longPoint(luceneFieldName, value));
   }
 
   private static void addNumericMultipleField(
       AbstractDocumentWrapper document, String luceneFieldName, long value) {
-    document.put(new LongPoint(luceneFieldName, value));
+    document.put(document.reusableFields.longPoint(luceneFieldName, value));
   }
 
   private static void addNumericFacetField(
       AbstractDocumentWrapper document, String luceneFieldName, long value) {
-    document.put(new NumericDocValuesField(luceneFieldName, value));
+    document.put(document.reusableFields.numericDocValuesField(luceneFieldName, value));
   }
 
   private static String numberFieldName(
@@ -109,6 +109,23 @@ public class LuceneSearchIndexDocumentBuilder implements DocumentBuilder {
         Optional.empty());
   }
 
+  /**
+   * Create a {@link LuceneSearchIndexDocumentBuilder} for standalone Lucene documents that is
+   * reused for one document after another, along with its Lucene document and fields. It must be
+   * {@link #reset(byte[]) reset} with the _id of each document before the document is built.
+   */
+  public static LuceneSearchIndexDocumentBuilder createReusableRoot(
+      DocumentFieldDefinition mappings,
+      Analyzer indexAnalyzer,
+      SearchFieldDefinitionResolver resolver,
+      IndexMetricsUpdater.IndexingMetricsUpdater indexingMetricsUpdater) {
+    return new LuceneSearchIndexDocumentBuilder(
+        DocumentWrapper.createReusableRootStandalone(
+            indexAnalyzer, resolver, indexingMetricsUpdater),
+        mappings,
+        Optional.empty());
+  }
+
   /**
    * Create a {@link LuceneSearchIndexDocumentBuilder} for a Lucene document that will be the root
    * of an embedded document block. Configures the to-be-built Lucene document with the correct _id
@@ -175,6 +192,14 @@ public class LuceneSearchIndexDocumentBuilder implements DocumentBuilder {
         .orElseGet(() -> FieldPath.newRoot(leafPath));
   }
 
+  /**
+   * Prepares a builder created by {@link #createReusableRoot} for the document with the given _id.
+   * The previously built document must already have been indexed, as its fields are reused.
+   */
+  public void reset(byte[] id) {
+    this.documentWrapper.reset(id);
+  }
+
   public Document backingDocument() {
     return this.documentWrapper.luceneDocument;
   }
@@ -0,0 +1,204 @@
+package com.xgen.mongot.index.lucene.document.single;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.Var;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * A pool of Lucene {@link Field} instances that are reused across the documents built by a single
+ * thread, rather than allocating new fields for every document.
+ *
+ * <p>Fields are pooled by kind and Lucene field name. Within a document, every request for the same
+ * kind and name returns a distinct instance, so multi-valued fields are supported. {@link #reset()}
+ * returns all fields to the pool, after which they are handed out again with new values. Fields
+ * may only be reset once the document that holds them has been consumed by the IndexWriter.
+ *
+ * <p>Only kinds whose value can be replaced in place are pooled. Instances are not thread safe,
+ * except for {@link #disabled()}, which never pools and always allocates new fields.
+ */
+public final class ReusableFields {
+
+  /**
+   * The maximum number of fields pooled by an instance, so that indexes with many distinct dynamic
+   * field names don't retain an unbounded number of fields. Fields beyond it are allocated per
+   * document.
+   */
+  @VisibleForTesting static final int MAX_POOLED_FIELDS = 4096;
+
+  private static final ReusableFields DISABLED = new ReusableFields(0);
+
+  private enum Kind {
+    STRING,
+    KEYWORD,
+    SORTED_SET_DOC_VALUES,
+    SORTED_DOC_VALUES,
+    NUMERIC_DOC_VALUES,
+    SORTED_NUMERIC_DOC_VALUES,
+    LONG_POINT
+  }
+
+  /** The pooled fields of one kind and name, of which the first {@code used} are in use. */
+  private static final class Slot {
+    private final List<Field> fields = new ArrayList<>();
+    private int used;
+
+    @Nullable
+    private Field peek() {
+      return this.used < this.fields.size() ? this.fields.get(this.used) : null;
+    }
+  }
+
+  private final int maxPooledFields;
+  private final Map<Kind, Map<String, Slot>> slots = new EnumMap<>(Kind.class);
+  private final List<Slot> usedSlots = new ArrayList<>();
+  private int pooledFields;
+
+  @VisibleForTesting
+  ReusableFields(int maxPooledFields) {
+    this.maxPooledFields = maxPooledFields;
+  }
+
+  public static ReusableFields create() {
+    return new ReusableFields(MAX_POOLED_FIELDS);
+  }
+
+  /** Returns a shared instance that does not pool fields, for documents that are not reused. */
+  public static ReusableFields disabled() {
+    return DISABLED;
+  }
+
+  /** Makes every pooled field available again, for the next document. */
+  public void reset() {
+    for (Slot slot : this.usedSlots) {
+      slot.used = 0;
+    }
+    this.usedSlots.clear();
+  }
+
+  Field stringField(String name, String value, FieldType type) {
+    Slot slot = slot(Kind.STRING, name);
+    Field pooled = peek(slot);
+    // String fields are pooled by their FieldType instance, see IndexableFieldFactory.
+    if (pooled != null && pooled.fieldType() == type) {
+      pooled.setStringValue(value);
+      return claim(slot, pooled);
+    }
+    return claim(slot, new Field(name, value, type));
+  }
+
+  Field keywordField(String name, String value) {
+    Slot slot = slot(Kind.KEYWORD, name);
+    Field pooled = peek(slot);
+    if (pooled != null) {
+      pooled.setStringValue(value);
+      return claim(slot, pooled);
+    }
+    return claim(slot, new StringField(name, value, Field.Store.NO));
+  }
+
+  Field sortedSetDocValuesField(String name, BytesRef value) {
+    Slot slot = slot(Kind.SORTED_SET_DOC_VALUES, name);
+    Field pooled = peek(slot);
+    if (pooled != null) {
+      pooled.setBytesValue(value);
+      return claim(slot, pooled);
+    }
+    return claim(slot, new SortedSetDocValuesField(name, value));
+  }
+
+  Field sortedDocValuesField(String name, BytesRef value) {
+    Slot slot = slot(Kind.SORTED_DOC_VALUES, name);
+    Field pooled = peek(slot);
+    if (pooled != null) {
+      pooled.setBytesValue(value);
+      return claim(slot, pooled);
+    }
+    return claim(slot, new SortedDocValuesField(name, value));
+  }
+
+  Field numericDocValuesField(String name, long value) {
+    Slot slot = slot(Kind.NUMERIC_DOC_VALUES, name);
+    Field pooled = peek(slot);
+    if (pooled != null) {
+      pooled.setLongValue(value);
+      return claim(slot, pooled);
+    }
+    return claim(slot, new NumericDocValuesField(name, value));
+  }
+
+  Field sortedNumericDocValuesField(String name, long value) {
+    Slot slot = slot(Kind.SORTED_NUMERIC_DOC_VALUES, name);
+    Field pooled = peek(slot);
+    if (pooled != null) {
+      pooled.setLongValue(value);
+      return claim(slot, pooled);
+    }
+    return claim(slot, new SortedNumericDocValuesField(name, value));
+  }
+
+  Field longPoint(String name, long value) {
+    Slot slot = slot(Kind.LONG_POINT, name);
+    Field pooled = peek(slot);
+    if (pooled != null) {
+      pooled.setLongValue(value);
+      return claim(slot, pooled);
+    }
+    return claim(slot, new LongPoint(name, value));
+  }
+
+  /** Returns the slot for the kind and name, or null if the field should not be pooled. */
+  @Nullable
+  private Slot slot(Kind kind, String name) {
+    if (this.maxPooledFields == 0) {
+      return null;
+    }
+    Map<String, Slot> named = this.slots.computeIfAbsent(kind, ignored -> new HashMap<>());
+    @Var Slot slot = named.get(name);
+    if (slot == null && this.pooledFields < this.maxPooledFields) {
+      slot = new Slot();
+      named.put(name, slot);
+    }
+    return slot;
+  }
+
+  @Nullable
+  private static Field peek(@Nullable Slot slot) {
+    return slot == null ? null : slot.peek();
+  }
+
+  /**
+   * Marks the field as the next field in use in the slot. A field that is not already pooled
+   * replaces the slot's next field, or is added to the pool if there is room for it.
+   */
+  private Field claim(@Nullable Slot slot, Field field) {
+    if (slot == null) {
+      return field;
+    }
+    if (slot.used < slot.fields.size()) {
+      slot.fields.set(slot.used, field);
+    } else if (this.pooledFields < this.maxPooledFields) {
+      slot.fields.add(field);
+      this.pooledFields++;
+    } else {
+      return field;
+    }
+    if (slot.used++ == 0) {
+      this.usedSlots.add(slot);
+    }
+    return field;
+  }
+}
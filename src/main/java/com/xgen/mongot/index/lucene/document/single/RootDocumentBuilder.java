@@ -8,10 +8,12 @@ import com.xgen.mongot.index.ingestion.stored.StoredBuilder;
 import com.xgen.mongot.index.lucene.document.builder.DocumentBlockBuilder;
 import com.xgen.mongot.index.lucene.document.builder.DocumentBuilder;
 import com.xgen.mongot.index.version.IndexCapabilities;
+import com.xgen.mongot.util.Check;
 import com.xgen.mongot.util.functionalinterfaces.CheckedSupplier;
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.facet.FacetsConfig;
@@ -25,6 +27,9 @@ import org.bson.types.ObjectId;
  *
  * <p>Is also responsible for adding stored-source bson in the appropriate place in the root Lucene
  * document, and for applying an optional FacetsConfig to a Lucene document at build-time.
+ *
+ * <p>A builder created with {@link #createReusable} can be {@link #reset(byte[]) reset} and used
+ * for another document once the document it built has been indexed.
  */
 public class RootDocumentBuilder implements DocumentBuilder, DocumentBlockBuilder {
   private final Optional<DocumentHandler> documentHandler;
@@ -34,6 +39,7 @@ public class RootDocumentBuilder implements DocumentBuilder, DocumentBlockBuilde
   private final String indexId;
   private final IndexCapabilities indexCapabilities;
   private final IndexMetricsUpdater.IndexingMetricsUpdater indexingMetricsUpdater;
+  private final Optional<Consumer<byte[]>> resetter;
 
   private RootDocumentBuilder(
       ObjectId indexId,
@@ -42,7 +48,8 @@ public class RootDocumentBuilder implements DocumentBuilder, DocumentBlockBuilde
       Supplier<Optional<BsonDocument>> storedSourceGetter,
       Optional<FacetsConfig> facetsConfig,
       IndexCapabilities indexCapabilities,
-      IndexMetricsUpdater.IndexingMetricsUpdater indexingMetricsUpdater) {
+      IndexMetricsUpdater.IndexingMetricsUpdater indexingMetricsUpdater,
+      Optional<Consumer<byte[]>> resetter) {
     this.indexId = indexId.toString();
     this.documentHandler = documentHandler;
     this.facetsConfig = facetsConfig;
@@ -50,6 +57,7 @@ public class RootDocumentBuilder implements DocumentBuilder, DocumentBlockBuilde
     this.storedSourceGetter = storedSourceGetter;
     this.indexCapabilities = indexCapabilities;
     this.indexingMetricsUpdater = indexingMetricsUpdater;
+    this.resetter = resetter;
   }
 
   public static RootDocumentBuilder create(
@@ -68,7 +76,47 @@ public class RootDocumentBuilder implements DocumentBuilder, DocumentBlockBuilde
         () -> storedBuilder.flatMap(StoredBuilder::build),
         facetsConfig,
         indexCapabilities,
-        indexingMetricsUpdater);
+        indexingMetricsUpdater,
+        Optional.empty());
+  }
+
+  /**
+   * Creates a {@link RootDocumentBuilder} that is reused for one document after another, see {@link
+   * LuceneSearchIndexDocumentBuilder#createReusableRoot}. It must be {@link #reset(byte[]) reset}
+   * with the _id of each document before the document is built.
+   */
+  public static RootDocumentBuilder createReusable(
+      ObjectId indexId,
+      LuceneSearchIndexDocumentBuilder luceneDocumentBuilder,
+      Optional<StoredBuilder> storedBuilder,
+      Optional<FacetsConfig> facetsConfig,
+      IndexCapabilities indexCapabilities,
+      IndexMetricsUpdater.IndexingMetricsUpdater indexingMetricsUpdater) {
+    Consumer<byte[]> resetter =
+        id -> {
+          luceneDocumentBuilder.reset(id);
+          storedBuilder.ifPresent(StoredBuilder::reset);
+        };
+    return new RootDocumentBuilder(
+        indexId,
+        Composite.CompositeDocumentHandler.of(
+            Optional.of(luceneDocumentBuilder),
+            storedBuilder.map(StoredBuilder::asDocumentHandler)),
+        luceneDocumentBuilder::build,
+        () -> storedBuilder.flatMap(StoredBuilder::build),
+        facetsConfig,
+        indexCapabilities,
+        indexingMetricsUpdater,
+        Optional.of(resetter));
+  }
+
+  /**
+   * Prepares a builder created by {@link #createReusable} for the document with the given _id,
+   * discarding the document built before.
+   */
+  public void reset(byte[] id) {
+    Check.checkState(this.resetter.isPresent(), "builder is not reusable");
+    this.resetter.get().accept(id);
   }
 
   @Override
@@ -0,0 +1,35 @@
+package com.xgen.mongot.index.lucene.explain.explainers;
+
+import com.xgen.mongot.index.QueryResourceUsage;
+import com.xgen.mongot.index.lucene.explain.information.QueryResourceUsageStats;
+import com.xgen.mongot.index.lucene.explain.information.SearchExplainInformationBuilder;
+import com.xgen.mongot.index.lucene.explain.tracing.Explain;
+import com.xgen.mongot.index.lucene.explain.tracing.FeatureExplainer;
+
+/**
+ * Explains the {@link QueryResourceUsage} of a query, as used until the explanation is collected.
+ */
+public class QueryResourceUsageFeatureExplainer implements FeatureExplainer {
+  private final QueryResourceUsage usage;
+
+  public QueryResourceUsageFeatureExplainer(QueryResourceUsage usage) {
+    this.usage = usage;
+  }
+
+  @Override
+  public void emitExplanation(
+      Explain.Verbosity verbosity, SearchExplainInformationBuilder builder) {
+    if (verbosity.equals(Explain.Verbosity.QUERY_PLANNER)) {
+      return;
+    }
+
+    QueryResourceUsage.Snapshot snapshot = this.usage.snapshot();
+    builder.queryResourceUsage(
+        new QueryResourceUsageStats(
+            snapshot.cpuNanos(),
+            snapshot.allocatedBytes(),
+            snapshot.docsScanned(),
+            snapshot.storedDocuments(),
+            snapshot.storedBytes()));
+  }
+}
@@ -39,6 +39,10 @@ public class SortFeatureExplainer implements FeatureExplainer {
   @Var
   private Optional<Boolean> canBenefitFromIndexSort;
 
+  @GuardedBy("this")
+  @Var
+  private long remainingDocIdsAtEarlyTermination;
+
   public SortFeatureExplainer(
       SortSpec sortSpec,
       ImmutableSetMultimap<FieldPath, FieldName.TypeField> fieldToSortableTypes) {
@@ -94,6 +98,18 @@ public class SortFeatureExplainer implements FeatureExplainer {
     this.canBenefitFromIndexSort = Optional.of(canBenefitFromIndexSort);
   }
 
+  /**
+   * Records that collection of a segment terminated early, with {@code remainingDocIds} doc ids
+   * after the terminating document left unvisited. Some of them may belong to deleted documents.
+   */
+  public synchronized void recordEarlyTermination(long remainingDocIds) {
+    this.remainingDocIdsAtEarlyTermination += remainingDocIds;
+  }
+
+  public synchronized long getRemainingDocIdsAtEarlyTermination() {
+    return this.remainingDocIdsAtEarlyTermination;
+  }
+
   @Override
   public synchronized void emitExplanation(
       Explain.Verbosity verbosity, SearchExplainInformationBuilder builder) {
@@ -122,6 +138,9 @@ public class SortFeatureExplainer implements FeatureExplainer {
                 : Optional.of(
                     QueryExecutionArea.sortComparatorAreaFor(this.timings.extractTimingData())),
             filteredFieldToTypes,
-            this.canBenefitFromIndexSort));
+            this.canBenefitFromIndexSort,
+            this.canBenefitFromIndexSort.orElse(false)
+                ? Optional.of(this.remainingDocIdsAtEarlyTermination)
+                : Optional.empty()));
   }
 }
@@ -0,0 +1,49 @@
+package com.xgen.mongot.index.lucene.explain.information;
+
+import com.xgen.mongot.util.bson.parser.BsonDocumentBuilder;
+import com.xgen.mongot.util.bson.parser.BsonParseException;
+import com.xgen.mongot.util.bson.parser.DocumentEncodable;
+import com.xgen.mongot.util.bson.parser.DocumentParser;
+import com.xgen.mongot.util.bson.parser.Field;
+import org.bson.BsonDocument;
+
+/**
+ * The resources a query used as accounted for every query, the same usage that is recorded for its
+ * shape and in the slow query log.
+ */
+public record QueryResourceUsageStats(
+    long cpuNanos, long allocatedBytes, long docsScanned, long storedDocuments, long storedBytes)
+    implements DocumentEncodable {
+  static class Fields {
+    static final Field.Required<Long> CPU_NANOS = Field.builder("cpuNanos").longField().required();
+    static final Field.Required<Long> ALLOCATED_BYTES =
+        Field.builder("allocatedBytes").longField().required();
+    static final Field.Required<Long> DOCS_SCANNED =
+        Field.builder("docsScanned").longField().required();
+    static final Field.Required<Long> STORED_DOCUMENTS =
+        Field.builder("storedDocuments").longField().required();
+    static final Field.Required<Long> STORED_BYTES =
+        Field.builder("storedBytes").longField().required();
+  }
+
+  public static QueryResourceUsageStats fromBson(DocumentParser parser)
+      throws BsonParseException {
+    return new QueryResourceUsageStats(
+        parser.getField(Fields.CPU_NANOS).unwrap(),
+        parser.getField(Fields.ALLOCATED_BYTES).unwrap(),
+        parser.getField(Fields.DOCS_SCANNED).unwrap(),
+        parser.getField(Fields.STORED_DOCUMENTS).unwrap(),
+        parser.getField(Fields.STORED_BYTES).unwrap());
+  }
+
+  @Override
+  public BsonDocument toBson() {
+    return BsonDocumentBuilder.builder()
+        .field(Fields.CPU_NANOS, this.cpuNanos)
+        .field(Fields.ALLOCATED_BYTES, this.allocatedBytes)
+        .field(Fields.DOCS_SCANNED, this.docsScanned)
+        .field(Fields.STORED_DOCUMENTS, this.storedDocuments)
+        .field(Fields.STORED_BYTES, this.storedBytes)
+        .build();
+  }
+}
@@ -21,8 +21,10 @@ public record SearchExplainInformation(
     Optional<ResourceUsageOutput> resourceUsage,
     Optional<List<VectorSearchTracingSpec>> vectorSearchTracingInfo,
     Optional<List<VectorSearchSegmentStatsSpec>> vectorSearchSegmentStats,
+    Optional<VectorSearchPlanSpec> vectorSearchPlan,
     Optional<List<SearchExplainInformation>> indexPartitionExplainInformation,
-    Optional<List<FeatureFlagEvaluationSpec>> dynamicFeatureFlags)
+    Optional<List<FeatureFlagEvaluationSpec>> dynamicFeatureFlags,
+    Optional<QueryResourceUsageStats> queryResourceUsage)
     implements DocumentEncodable {
 
   static class Fields {
@@ -79,6 +81,13 @@ public record SearchExplainInformation(
                 .optional()
                 .noDefault();
 
+    static final Field.Optional<VectorSearchPlanSpec> VECTOR_SEARCH_PLAN =
+        Field.builder("vectorSearchPlan")
+            .classField(VectorSearchPlanSpec::fromBson)
+            .disallowUnknownFields()
+            .optional()
+            .noDefault();
+
     static final Field.Optional<List<VectorSearchTracingSpec>> VECTOR_TRACING =
         Field.builder("vectorTracing")
             .classField(VectorSearchTracingSpec::fromBson)
@@ -106,6 +115,13 @@ public record SearchExplainInformation(
             .asList()
             .optional()
             .noDefault();
+
+    static final Field.Optional<QueryResourceUsageStats> QUERY_RESOURCE_USAGE =
+        Field.builder("queryResourceUsage")
+            .classField(QueryResourceUsageStats::fromBson)
+            .allowUnknownFields()
+            .optional()
+            .noDefault();
   }
 
   public static SearchExplainInformation fromBson(DocumentParser parser) throws BsonParseException {
@@ -118,8 +134,10 @@ public record SearchExplainInformation(
         parser.getField(Fields.RESOURCE_USAGE).unwrap(),
         parser.getField(Fields.VECTOR_TRACING).unwrap(),
         parser.getField(Fields.VECTOR_SEARCH_LUCENE_SEGMENT_STATS).unwrap(),
+        parser.getField(Fields.VECTOR_SEARCH_PLAN).unwrap(),
         parser.getField(Fields.INDEX_PARTITION_EXPLAIN_INFORMATION).unwrap(),
-        parser.getField(Fields.DYNAMIC_FEATURE_FLAGS).unwrap());
+        parser.getField(Fields.DYNAMIC_FEATURE_FLAGS).unwrap(),
+        parser.getField(Fields.QUERY_RESOURCE_USAGE).unwrap());
   }
 
 
@@ -140,8 +158,10 @@ public record SearchExplainInformation(
         .field(Fields.RESOURCE_USAGE, this.resourceUsage)
         .field(Fields.VECTOR_TRACING, this.vectorSearchTracingInfo)
         .field(Fields.VECTOR_SEARCH_LUCENE_SEGMENT_STATS, this.vectorSearchSegmentStats)
+        .field(Fields.VECTOR_SEARCH_PLAN, this.vectorSearchPlan)
         .field(Fields.INDEX_PARTITION_EXPLAIN_INFORMATION, this.indexPartitionExplainInformation)
         .field(Fields.DYNAMIC_FEATURE_FLAGS, this.dynamicFeatureFlags)
+        .field(Fields.QUERY_RESOURCE_USAGE, this.queryResourceUsage)
         .build();
   }
 
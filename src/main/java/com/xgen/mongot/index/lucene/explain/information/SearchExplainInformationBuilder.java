@@ -10,8 +10,10 @@ public class SearchExplainInformationBuilder {
   private Optional<List<QueryExplainInformation>> queryInfos = Optional.empty();
   private Optional<QueryExecutionArea> allCollectorStats = Optional.empty();
   private Optional<ResourceUsageOutput> resourceUsage = Optional.empty();
+  private Optional<QueryResourceUsageStats> queryResourceUsage = Optional.empty();
   private Optional<List<VectorSearchTracingSpec>> vectorTracingInfos = Optional.empty();
   private Optional<List<VectorSearchSegmentStatsSpec>> vectorSearchSegmentStats = Optional.empty();
+  private Optional<VectorSearchPlanSpec> vectorSearchPlan = Optional.empty();
   private Optional<SortStats> sortStats = Optional.empty();
   private final List<SearchExplainInformation> indexPartitionExplainInformations =
       new ArrayList<>();
@@ -77,6 +79,12 @@ public class SearchExplainInformationBuilder {
     return this;
   }
 
+  public SearchExplainInformationBuilder queryResourceUsage(
+      QueryResourceUsageStats queryResourceUsage) {
+    this.queryResourceUsage = Optional.of(queryResourceUsage);
+    return this;
+  }
+
   public SearchExplainInformationBuilder sortStats(SortStats sortStats) {
     this.sortStats = Optional.of(sortStats);
     return this;
@@ -99,6 +107,11 @@ public class SearchExplainInformationBuilder {
     return this;
   }
 
+  public SearchExplainInformationBuilder vectorSearchPlan(VectorSearchPlanSpec vectorSearchPlan) {
+    this.vectorSearchPlan = Optional.of(vectorSearchPlan);
+    return this;
+  }
+
   public SearchExplainInformationBuilder dynamicFeatureFlags(
       List<FeatureFlagEvaluationSpec> dynamicFeatureFlags) {
     this.dynamicFeatureFlags = Optional.of(dynamicFeatureFlags);
@@ -137,8 +150,10 @@ public class SearchExplainInformationBuilder {
           this.resourceUsage,
           this.vectorTracingInfos,
           this.vectorSearchSegmentStats,
+          this.vectorSearchPlan,
           Optional.empty(),
-          this.dynamicFeatureFlags);
+          this.dynamicFeatureFlags,
+          this.queryResourceUsage);
     }
 
     // only metadata/resource usage should be present top level when there are index partitions
@@ -152,7 +167,9 @@ public class SearchExplainInformationBuilder {
         this.resourceUsage,
         Optional.empty(),
         Optional.empty(),
+        Optional.empty(),
         Optional.of(this.indexPartitionExplainInformations),
-        this.dynamicFeatureFlags);
+        this.dynamicFeatureFlags,
+        this.queryResourceUsage);
   }
 }
@@ -24,7 +24,8 @@ import org.bson.BsonDocument;
 public record SortStats(
     Optional<SortExplainTimingBreakdown> stats,
     Map<String, List<FieldName.TypeField>> fieldInfos,
-    Optional<Boolean> canBenefitFromIndexSort)
+    Optional<Boolean> canBenefitFromIndexSort,
+    Optional<Long> remainingDocIdsAtEarlyTermination)
     implements DocumentEncodable, Comparable<SortStats> {
   static class Fields {
     static final Field.Optional<SortExplainTimingBreakdown> STATS =
@@ -48,13 +49,20 @@ public record SortStats(
 
     static final Field.Optional<Boolean> CAN_BENEFIT_FROM_INDEX_SORT =
         Field.builder("canBenefitFromIndexSort").booleanField().optional().noDefault();
+
+    static final Field.Optional<Long> REMAINING_DOC_IDS_AT_EARLY_TERMINATION =
+        Field.builder("remainingDocIdsAtEarlyTermination").longField().optional().noDefault();
   }
 
   public static SortStats create(
       ImmutableSetMultimap<FieldPath, FieldName.TypeField> fieldToTypeField,
       Optional<Boolean> canBenefitFromIndexSort) {
     return SortStats.create(
-        Optional.empty(), Optional.empty(), fieldToTypeField, canBenefitFromIndexSort);
+        Optional.empty(),
+        Optional.empty(),
+        fieldToTypeField,
+        canBenefitFromIndexSort,
+        Optional.empty());
   }
 
 
@@ -62,7 +70,8 @@ public record SortStats(
       Optional<QueryExecutionArea> prunedResultIterator,
       Optional<QueryExecutionArea> comparator,
       ImmutableSetMultimap<FieldPath, FieldName.TypeField> fieldToTypeField,
-      Optional<Boolean> canBenefitFromIndexSort) {
+      Optional<Boolean> canBenefitFromIndexSort,
+      Optional<Long> remainingDocIdsAtEarlyTermination) {
 
     Optional<SortExplainTimingBreakdown> sortExplainTimingBreakdown =
         Stream.of(prunedResultIterator, comparator).allMatch(Optional::isPresent)
@@ -82,14 +91,19 @@ public record SortStats(
                             .sorted()
                             .collect(Collectors.toList())));
 
-    return new SortStats(sortExplainTimingBreakdown, fieldInfos, canBenefitFromIndexSort);
+    return new SortStats(
+        sortExplainTimingBreakdown,
+        fieldInfos,
+        canBenefitFromIndexSort,
+        remainingDocIdsAtEarlyTermination);
   }
 
   public static SortStats fromBson(DocumentParser parser) throws BsonParseException {
     return new SortStats(
         parser.getField(Fields.STATS).unwrap(),
         parser.getField(Fields.FIELD_INFOS).unwrap(),
-        parser.getField(Fields.CAN_BENEFIT_FROM_INDEX_SORT).unwrap());
+        parser.getField(Fields.CAN_BENEFIT_FROM_INDEX_SORT).unwrap(),
+        parser.getField(Fields.REMAINING_DOC_IDS_AT_EARLY_TERMINATION).unwrap());
   }
 
   public boolean equals(SortStats other, Equator<QueryExecutionArea> timingEquator) {
@@ -100,7 +114,9 @@ public record SortStats(
             .orElse(true)
         // both stats are either present or absent
         && Objects.equals(this.fieldInfos, other.fieldInfos)
-        && Objects.equals(this.canBenefitFromIndexSort, other.canBenefitFromIndexSort);
+        && Objects.equals(this.canBenefitFromIndexSort, other.canBenefitFromIndexSort)
+        && Objects.equals(
+            this.remainingDocIdsAtEarlyTermination, other.remainingDocIdsAtEarlyTermination);
   }
 
   @Override
@@ -109,6 +125,8 @@ public record SortStats(
         .field(Fields.FIELD_INFOS, this.fieldInfos)
         .field(Fields.STATS, this.stats)
         .field(Fields.CAN_BENEFIT_FROM_INDEX_SORT, this.canBenefitFromIndexSort)
+        .field(
+            Fields.REMAINING_DOC_IDS_AT_EARLY_TERMINATION, this.remainingDocIdsAtEarlyTermination)
         .build();
   }
 
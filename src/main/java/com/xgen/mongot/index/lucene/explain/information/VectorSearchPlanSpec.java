@@ -0,0 +1,119 @@
+package com.xgen.mongot.index.lucene.explain.information;
+
+import com.xgen.mongot.util.bson.parser.BsonDocumentBuilder;
+import com.xgen.mongot.util.bson.parser.BsonParseException;
+import com.xgen.mongot.util.bson.parser.DocumentParser;
+import com.xgen.mongot.util.bson.parser.Encodable;
+import com.xgen.mongot.util.bson.parser.Field;
+import java.util.Optional;
+import org.bson.BsonValue;
+
+/**
+ * Describes the strategy chosen by the vector search planner for a filtered approximate query, the
+ * cost it estimated for each strategy, and the work actually performed.
+ *
+ * <p>Costs are expressed in units of vectors scored by a full scan, so that {@code estimated*Cost}
+ * of the chosen strategy can be compared against {@code visitedDocCount}.
+ */
+public record VectorSearchPlanSpec(
+    Strategy strategy,
+    int numCandidates,
+    long numVectors,
+    long estimatedFilterMatchedDocsCount,
+    double estimatedExactCost,
+    double estimatedFilteredHnswCost,
+    Optional<Double> estimatedPostFilterCost,
+    Optional<Long> filterMatchedDocsCount,
+    Optional<Long> visitedDocCount)
+    implements Encodable {
+
+  public enum Strategy {
+    /** Score every vector passing the filter. */
+    EXACT,
+    /** Traverse the HNSW graph, only accepting vectors passing the filter. */
+    FILTERED_HNSW,
+    /** Traverse the HNSW graph without the filter for an over-fetched number of candidates. */
+    HNSW_POST_FILTER
+  }
+
+  private static class Fields {
+    static final Field.Required<Strategy> STRATEGY =
+        Field.builder("strategy").enumField(Strategy.class).asUpperCamelCase().required();
+
+    static final Field.Required<Integer> NUM_CANDIDATES =
+        Field.builder("numCandidates").intField().required();
+
+    static final Field.Required<Long> NUM_VECTORS =
+        Field.builder("numVectors").longField().required();
+
+    static final Field.Required<Long> ESTIMATED_FILTER_MATCHED_DOCS_COUNT =
+        Field.builder("estimatedFilterMatchedDocsCount").longField().required();
+
+    static final Field.Required<Double> ESTIMATED_EXACT_COST =
+        Field.builder("estimatedExactCost").doubleField().required();
+
+    static final Field.Required<Double> ESTIMATED_FILTERED_HNSW_COST =
+        Field.builder("estimatedFilteredHnswCost").doubleField().required();
+
+    static final Field.Optional<Double> ESTIMATED_POST_FILTER_COST =
+        Field.builder("estimatedPostFilterCost").doubleField().optional().noDefault();
+
+    static final Field.Optional<Long> FILTER_MATCHED_DOCS_COUNT =
+        Field.builder("filterMatchedDocsCount").longField().optional().noDefault();
+
+    static final Field.Optional<Long> VISITED_DOC_COUNT =
+        Field.builder("visitedDocCount").longField().optional().noDefault();
+  }
+
+  /** Returns the estimated cost of the chosen strategy. */
+  public double estimatedCost() {
+    return switch (this.strategy) {
+      case EXACT -> this.estimatedExactCost;
+      case FILTERED_HNSW -> this.estimatedFilteredHnswCost;
+      case HNSW_POST_FILTER -> this.estimatedPostFilterCost.orElse(Double.NaN);
+    };
+  }
+
+  /** Returns a copy of this plan that also reports the work actually performed. */
+  public VectorSearchPlanSpec withActuals(
+      Optional<Long> filterMatchedDocsCount, long visitedDocCount) {
+    return new VectorSearchPlanSpec(
+        this.strategy,
+        this.numCandidates,
+        this.numVectors,
+        this.estimatedFilterMatchedDocsCount,
+        this.estimatedExactCost,
+        this.estimatedFilteredHnswCost,
+        this.estimatedPostFilterCost,
+        filterMatchedDocsCount,
+        Optional.of(visitedDocCount));
+  }
+
+  public static VectorSearchPlanSpec fromBson(DocumentParser parser) throws BsonParseException {
+    return new VectorSearchPlanSpec(
+        parser.getField(Fields.STRATEGY).unwrap(),
+        parser.getField(Fields.NUM_CANDIDATES).unwrap(),
+        parser.getField(Fields.NUM_VECTORS).unwrap(),
+        parser.getField(Fields.ESTIMATED_FILTER_MATCHED_DOCS_COUNT).unwrap(),
+        parser.getField(Fields.ESTIMATED_EXACT_COST).unwrap(),
+        parser.getField(Fields.ESTIMATED_FILTERED_HNSW_COST).unwrap(),
+        parser.getField(Fields.ESTIMATED_POST_FILTER_COST).unwrap(),
+        parser.getField(Fields.FILTER_MATCHED_DOCS_COUNT).unwrap(),
+        parser.getField(Fields.VISITED_DOC_COUNT).unwrap());
+  }
+
+  @Override
+  public BsonValue toBson() {
+    return BsonDocumentBuilder.builder()
+        .field(Fields.STRATEGY, this.strategy)
+        .field(Fields.NUM_CANDIDATES, this.numCandidates)
+        .field(Fields.NUM_VECTORS, this.numVectors)
+        .field(Fields.ESTIMATED_FILTER_MATCHED_DOCS_COUNT, this.estimatedFilterMatchedDocsCount)
+        .field(Fields.ESTIMATED_EXACT_COST, this.estimatedExactCost)
+        .field(Fields.ESTIMATED_FILTERED_HNSW_COST, this.estimatedFilteredHnswCost)
+        .field(Fields.ESTIMATED_POST_FILTER_COST, this.estimatedPostFilterCost)
+        .field(Fields.FILTER_MATCHED_DOCS_COUNT, this.filterMatchedDocsCount)
+        .field(Fields.VISITED_DOC_COUNT, this.visitedDocCount)
+        .build();
+  }
+}
@@ -3,6 +3,7 @@ package com.xgen.mongot.index.lucene.explain.knn;
 import com.xgen.mongot.featureflag.FeatureFlags;
 import com.xgen.mongot.index.IndexMetricsUpdater;
 import com.xgen.mongot.index.lucene.query.custom.MongotKnnFloatQuery;
+import com.xgen.mongot.index.lucene.query.custom.VectorSearchCostModel;
 import java.io.IOException;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.QueryTimeout;
@@ -35,6 +36,20 @@ public class InstrumentableKnnFloatVectorQuery extends MongotKnnFloatQuery {
     this.instrumentationHelper = instrumentationHelper;
   }
 
+  public InstrumentableKnnFloatVectorQuery(
+      IndexMetricsUpdater.QueryingMetricsUpdater metrics,
+      FeatureFlags flags,
+      KnnInstrumentationHelper instrumentationHelper,
+      String field,
+      float[] target,
+      int k,
+      @Nullable Query filter,
+      VectorSearchCostModel costModel,
+      boolean forceFullScan) {
+    super(metrics, flags, field, target, k, filter, costModel, forceFullScan);
+    this.instrumentationHelper = instrumentationHelper;
+  }
+
   @Override
   protected KnnCollectorManager getKnnCollectorManager(int k, IndexSearcher searcher) {
     return new InstrumentedTopKnnCollectorManager(k, searcher, this.instrumentationHelper);
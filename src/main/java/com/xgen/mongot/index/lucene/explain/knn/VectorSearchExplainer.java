@@ -5,6 +5,7 @@ import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.xgen.mongot.index.lucene.explain.information.SearchExplainInformationBuilder;
+import com.xgen.mongot.index.lucene.explain.information.VectorSearchPlanSpec;
 import com.xgen.mongot.index.lucene.explain.information.VectorSearchSegmentStatsSpec;
 import com.xgen.mongot.index.lucene.explain.information.VectorSearchTracingSpec;
 import com.xgen.mongot.index.lucene.explain.timing.ExplainTimings;
@@ -25,6 +26,8 @@ public class VectorSearchExplainer implements FeatureExplainer {
 
   private final ImmutableMap<Integer, TracingInformation> tracingInfos;
 
+  private volatile Optional<VectorSearchPlanSpec> plan = Optional.empty();
+
   public VectorSearchExplainer() {
     this(List.of());
   }
@@ -47,13 +50,21 @@ public class VectorSearchExplainer implements FeatureExplainer {
     return Optional.ofNullable(this.tracingInfos.get(targetLuceneDocId));
   }
 
+  /** Records the plan, with its estimated costs, chosen for the vector search being explained. */
+  public void setPlan(VectorSearchPlanSpec plan) {
+    this.plan = Optional.of(plan);
+  }
+
   @Override
   public void emitExplanation(
       Explain.Verbosity verbosity, SearchExplainInformationBuilder builder) {
     if (!verbosity.isGreaterThan(Explain.Verbosity.QUERY_PLANNER)) {
+      this.plan.ifPresent(builder::vectorSearchPlan);
       return;
     }
 
+    this.plan.ifPresent(plan -> builder.vectorSearchPlan(withActuals(plan)));
+
     List<VectorSearchSegmentStatsSpec> vectorSearchSegmentStats = convertSegmentStatisticsToSpec();
     if (!vectorSearchSegmentStats.isEmpty()) {
       builder.vectorSearchSegmentStats(vectorSearchSegmentStats);
@@ -78,6 +89,22 @@ public class VectorSearchExplainer implements FeatureExplainer {
     }
   }
 
+  private VectorSearchPlanSpec withActuals(VectorSearchPlanSpec plan) {
+    long visitedDocCount =
+        this.segmentStats.values().stream()
+            .mapToLong(SegmentStatistics::getAccumulatedVisitedDocs)
+            .sum();
+    List<Integer> filterMatchedDocsCounts =
+        this.segmentStats.values().stream()
+            .flatMap(stats -> stats.getFilterMatchedDocsCount().stream())
+            .toList();
+    Optional<Long> filterMatchedDocsCount =
+        filterMatchedDocsCounts.isEmpty()
+            ? Optional.empty()
+            : Optional.of(filterMatchedDocsCounts.stream().mapToLong(Integer::longValue).sum());
+    return plan.withActuals(filterMatchedDocsCount, visitedDocCount);
+  }
+
   private List<VectorSearchSegmentStatsSpec> convertSegmentStatisticsToSpec() {
     return this.segmentStats.values().stream()
         .map(
@@ -1,5 +1,8 @@
 package com.xgen.mongot.index.lucene.facet;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.Var;
+import com.xgen.mongot.util.Check;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -9,7 +12,6 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import org.apache.lucene.facet.FacetUtils;
@@ -26,6 +28,8 @@ import org.apache.lucene.index.OrdinalMap;
 import org.apache.lucene.index.ReaderUtil;
 import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.internal.hppc.IntCursor;
+import org.apache.lucene.internal.hppc.IntIntHashMap;
 import org.apache.lucene.search.ConjunctionUtils;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.MatchAllDocsQuery;
@@ -41,12 +45,35 @@ import org.apache.lucene.util.LongValues;
  * ConcurrentSortedSetDocValuesFacetCounts}. Its base class has modifications required to facet over
  * `token` fields.
  *
+ * <p>Unlike Lucene's version, counts are not kept in an {@code AtomicIntegerArray} sized to the
+ * cardinality of the field. Like {@link SortedSetDocValuesFacetCounts}, counts of high cardinality
+ * fields are kept in a hash map when the hits are a small fraction of the index, and in an array
+ * otherwise. Each segment is counted privately, either in a hash map or in a per-thread array
+ * reused across queries, and then merged into the shared counts under a lock.
+ *
  * @lucene.experimental
  */
 public class ConcurrentSortedSetDocValuesFacetCounts extends AbstractSortedSetDocValuesFacetCounts {
 
+  /** Fields with fewer ordinals than this are always counted densely. */
+  @VisibleForTesting static final int SPARSE_CARDINALITY_THRESHOLD = 1024;
+
+  /**
+   * Segments with more ordinals than this are counted in an array that is not kept for reuse, so
+   * that a single high cardinality segment doesn't pin a large array to every search thread.
+   */
+  @VisibleForTesting static final int MAX_REUSED_SEGMENT_COUNTS = 1 << 20;
+
+  /**
+   * Per-thread arrays for counting a segment in segment ordinal space, reused across queries. An
+   * array is all zeros whenever it is not in use.
+   */
+  private static final ThreadLocal<int[]> SEGMENT_COUNTS =
+      ThreadLocal.withInitial(() -> new int[0]);
+
   final ExecutorService exec;
-  final AtomicIntegerArray counts;
+  @Nullable final int[] denseCounts;
+  @Nullable final IntIntHashMap sparseCounts;
 
   /**
    * Returns all facet counts, same result as searching on {@link MatchAllDocsQuery} but faster.
@@ -57,28 +84,89 @@ public class ConcurrentSortedSetDocValuesFacetCounts extends AbstractSortedSetDo
       throws IOException, InterruptedException {
     super(state);
     this.exec = exec;
-    this.counts = new AtomicIntegerArray(state.getSize());
+    int cardinality = (int) this.dv.getValueCount();
     if (hits == null) {
       // browse only
+      this.sparseCounts = null;
+      this.denseCounts = new int[cardinality];
       countAll();
+      return;
+    }
+
+    @Var long totalHits = 0;
+    @Var long totalDocs = 0;
+    for (MatchingDocs matchingDocs : hits.getMatchingDocs()) {
+      totalHits += matchingDocs.totalHits;
+      totalDocs += matchingDocs.context.reader().maxDoc();
+    }
+
+    if (totalHits == 0) {
+      // No counting needed if there are no hits:
+      this.sparseCounts = null;
+      this.denseCounts = null;
+    } else if (cardinality >= SPARSE_CARDINALITY_THRESHOLD && totalHits < totalDocs / 10) {
+      // If our result set is < 10% of the index, we collect sparsely (use hash map). This
+      // heuristic is borrowed from SortedSetDocValuesFacetCounts:
+      this.sparseCounts = new IntIntHashMap();
+      this.denseCounts = null;
+      count(hits.getMatchingDocs());
     } else {
+      this.sparseCounts = null;
+      this.denseCounts = new int[cardinality];
       count(hits.getMatchingDocs());
     }
   }
 
   @Override
   boolean hasCounts() {
-    return true;
+    return this.denseCounts != null || this.sparseCounts != null;
   }
 
   @Override
   int getCount(int ord) {
-    return this.counts.get(ord);
+    if (this.sparseCounts != null) {
+      return this.sparseCounts.get(ord);
+    }
+    if (this.denseCounts != null) {
+      return this.denseCounts[ord];
+    }
+    return 0;
   }
 
   @Override
   PrimitiveIterator.OfInt getOrdIterator() {
-    return IntStream.range(0, this.counts.length()).iterator();
+    if (this.sparseCounts != null) {
+      // Iterate in ordinal order, like the dense counts, rather than in hash order.
+      int[] ords = new int[this.sparseCounts.size()];
+      @Var int i = 0;
+      for (IntCursor cursor : this.sparseCounts.keys()) {
+        ords[i++] = cursor.value;
+      }
+      Arrays.sort(ords);
+      return Arrays.stream(ords).iterator();
+    }
+    if (this.denseCounts != null) {
+      return IntStream.range(0, this.denseCounts.length).iterator();
+    }
+    return IntStream.empty().iterator();
+  }
+
+  /**
+   * Returns an all-zero array of at least {@code size} counts for the calling thread. It must be
+   * zeroed again before the thread counts another segment.
+   */
+  @VisibleForTesting
+  static int[] segmentCounts(int size) {
+    if (size > MAX_REUSED_SEGMENT_COUNTS) {
+      return new int[size];
+    }
+    int[] counts = SEGMENT_COUNTS.get();
+    if (counts.length >= size) {
+      return counts;
+    }
+    int[] grown = new int[Math.min(MAX_REUSED_SEGMENT_COUNTS, Math.max(size, counts.length * 2))];
+    SEGMENT_COUNTS.set(grown);
+    return grown;
   }
 
   private class CountOneSegment implements Callable<Void> {
@@ -128,143 +216,89 @@ public class ConcurrentSortedSetDocValuesFacetCounts extends AbstractSortedSetDo
             ConjunctionUtils.intersectIterators(Arrays.asList(this.hits.bits.iterator(), valuesIt));
       }
 
-      if (this.ordinalMap != null) {
-        LongValues ordMap = this.ordinalMap.getGlobalOrds(this.segOrd);
+      int numSegOrds = (int) multiValues.getValueCount();
+      LongValues ordMap =
+          this.ordinalMap != null
+              ? this.ordinalMap.getGlobalOrds(this.segOrd)
+              : LongValues.IDENTITY;
 
-        int numSegOrds = (int) multiValues.getValueCount();
-
-        if (this.hits != null && this.hits.totalHits < numSegOrds / 10) {
-          // Remap every ord to global ord as we iterate:
-          if (singleValues != null) {
-            if (singleValues == it) {
-              for (int doc = singleValues.nextDoc();
-                  doc != DocIdSetIterator.NO_MORE_DOCS;
-                  doc = singleValues.nextDoc()) {
-                ConcurrentSortedSetDocValuesFacetCounts.this.counts.incrementAndGet(
-                    (int) ordMap.get(singleValues.ordValue()));
-              }
-            } else {
-              for (int doc = it.nextDoc();
-                  doc != DocIdSetIterator.NO_MORE_DOCS;
-                  doc = it.nextDoc()) {
-                ConcurrentSortedSetDocValuesFacetCounts.this.counts.incrementAndGet(
-                    (int) ordMap.get(singleValues.ordValue()));
-              }
-            }
-          } else {
-            if (multiValues == it) {
-              for (int doc = multiValues.nextDoc();
-                  doc != DocIdSetIterator.NO_MORE_DOCS;
-                  doc = multiValues.nextDoc()) {
-                for (int i = 0; i < multiValues.docValueCount(); i++) {
-                  int term = (int) multiValues.nextOrd();
-                  ConcurrentSortedSetDocValuesFacetCounts.this.counts.incrementAndGet(
-                      (int) ordMap.get(term));
-                }
-              }
-            } else {
-              for (int doc = it.nextDoc();
-                  doc != DocIdSetIterator.NO_MORE_DOCS;
-                  doc = it.nextDoc()) {
-                for (int i = 0; i < multiValues.docValueCount(); i++) {
-                  int term = (int) multiValues.nextOrd();
-                  ConcurrentSortedSetDocValuesFacetCounts.this.counts.incrementAndGet(
-                      (int) ordMap.get(term));
-                }
-              }
-            }
+      if (ConcurrentSortedSetDocValuesFacetCounts.this.sparseCounts != null
+          || (this.hits != null && this.hits.totalHits < numSegOrds / 10)) {
+        // Few ordinals of this segment will be visited, so remap every ord to global ord as we
+        // iterate, and count in a hash map:
+        IntIntHashMap segCounts = new IntIntHashMap();
+        if (singleValues != null) {
+          for (int doc = it.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = it.nextDoc()) {
+            segCounts.addTo((int) ordMap.get(singleValues.ordValue()), 1);
           }
         } else {
-
-          // First count in seg-ord space:
-          int[] segCounts = new int[numSegOrds];
-          if (singleValues != null) {
-            if (singleValues == it) {
-              for (int doc = singleValues.nextDoc();
-                  doc != DocIdSetIterator.NO_MORE_DOCS;
-                  doc = singleValues.nextDoc()) {
-                segCounts[singleValues.ordValue()]++;
-              }
-            } else {
-              for (int doc = it.nextDoc();
-                  doc != DocIdSetIterator.NO_MORE_DOCS;
-                  doc = it.nextDoc()) {
-                segCounts[singleValues.ordValue()]++;
-              }
-            }
-          } else {
-            if (multiValues == it) {
-              for (int doc = multiValues.nextDoc();
-                  doc != DocIdSetIterator.NO_MORE_DOCS;
-                  doc = multiValues.nextDoc()) {
-                for (int i = 0; i < multiValues.docValueCount(); i++) {
-                  int term = (int) multiValues.nextOrd();
-                  segCounts[term]++;
-                }
-              }
-            } else {
-              for (int doc = it.nextDoc();
-                  doc != DocIdSetIterator.NO_MORE_DOCS;
-                  doc = it.nextDoc()) {
-                for (int i = 0; i < multiValues.docValueCount(); i++) {
-                  int term = (int) multiValues.nextOrd();
-                  segCounts[term]++;
-                }
-              }
-            }
-          }
-
-          // Then, migrate to global ords:
-          for (int ord = 0; ord < numSegOrds; ord++) {
-            int count = segCounts[ord];
-            if (count != 0) {
-              ConcurrentSortedSetDocValuesFacetCounts.this.counts.addAndGet(
-                  (int) ordMap.get(ord), count);
+          for (int doc = it.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = it.nextDoc()) {
+            for (int i = 0; i < multiValues.docValueCount(); i++) {
+              segCounts.addTo((int) ordMap.get(multiValues.nextOrd()), 1);
             }
           }
         }
+        mergeSparse(segCounts);
       } else {
-        // No ord mapping (e.g., single segment index):
-        // just aggregate directly into counts:
-        if (singleValues != null) {
-          if (singleValues == it) {
-            for (int doc = singleValues.nextDoc();
-                doc != DocIdSetIterator.NO_MORE_DOCS;
-                doc = singleValues.nextDoc()) {
-              ConcurrentSortedSetDocValuesFacetCounts.this.counts.incrementAndGet(
-                  singleValues.ordValue());
-            }
-          } else {
+        // First count in seg-ord space:
+        int[] segCounts = segmentCounts(numSegOrds);
+        try {
+          if (singleValues != null) {
             for (int doc = it.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = it.nextDoc()) {
-              ConcurrentSortedSetDocValuesFacetCounts.this.counts.incrementAndGet(
-                  singleValues.ordValue());
-            }
-          }
-        } else {
-          if (multiValues == it) {
-            for (int doc = multiValues.nextDoc();
-                doc != DocIdSetIterator.NO_MORE_DOCS;
-                doc = multiValues.nextDoc()) {
-              for (int i = 0; i < multiValues.docValueCount(); i++) {
-                int term = (int) multiValues.nextOrd();
-                ConcurrentSortedSetDocValuesFacetCounts.this.counts.incrementAndGet(term);
-              }
+              segCounts[singleValues.ordValue()]++;
             }
           } else {
             for (int doc = it.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = it.nextDoc()) {
               for (int i = 0; i < multiValues.docValueCount(); i++) {
-                int term = (int) multiValues.nextOrd();
-                ConcurrentSortedSetDocValuesFacetCounts.this.counts.incrementAndGet(term);
+                segCounts[(int) multiValues.nextOrd()]++;
               }
             }
           }
+        } catch (IOException | RuntimeException e) {
+          // Leave the reused array zeroed for the next segment this thread counts.
+          Arrays.fill(segCounts, 0, numSegOrds, 0);
+          throw e;
         }
+
+        // Then, migrate to global ords, leaving the segment counts zeroed for reuse:
+        mergeDense(segCounts, numSegOrds, ordMap);
       }
 
       return null;
     }
   }
 
+  private void mergeSparse(IntIntHashMap segCounts) {
+    if (this.sparseCounts != null) {
+      synchronized (this.sparseCounts) {
+        for (IntIntHashMap.IntIntCursor cursor : segCounts) {
+          this.sparseCounts.addTo(cursor.key, cursor.value);
+        }
+      }
+      return;
+    }
+
+    int[] counts = Check.isNotNull(this.denseCounts, "denseCounts");
+    synchronized (counts) {
+      for (IntIntHashMap.IntIntCursor cursor : segCounts) {
+        counts[cursor.key] += cursor.value;
+      }
+    }
+  }
+
+  private void mergeDense(int[] segCounts, int numSegOrds, LongValues ordMap) {
+    int[] counts = Check.isNotNull(this.denseCounts, "denseCounts");
+    synchronized (counts) {
+      for (int ord = 0; ord < numSegOrds; ord++) {
+        int count = segCounts[ord];
+        if (count != 0) {
+          counts[(int) ordMap.get(ord)] += count;
+          segCounts[ord] = 0;
+        }
+      }
+    }
+  }
+
   /** Does all the "real work" of tallying up the counts. */
   private void count(List<MatchingDocs> matchingDocs) throws IOException, InterruptedException {
     OrdinalMap ordinalMap;
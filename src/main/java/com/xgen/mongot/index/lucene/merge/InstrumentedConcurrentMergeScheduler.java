@@ -298,6 +298,9 @@ public class InstrumentedConcurrentMergeScheduler extends ConcurrentMergeSchedul
   // Gate for pausing merges when disk usage is high. Default is always open (no blocking).
   private Gate mergeGate = ToggleGate.opened();
 
+  // Ranks and throttles merges across indexes. Default is none (merges run in FIFO order).
+  private Optional<MergeCoordinator> mergeCoordinator = Optional.empty();
+
   // Creates a per index-partition merge scheduler where input 'idx' tags the merge threads that
   // belong to a particular index-partition. The output PerIndexMergeScheduler wraps the running
   // instance of InstrumentedConcurrentMergeScheduler, and only one of its type exists per
@@ -325,6 +328,36 @@ public class InstrumentedConcurrentMergeScheduler extends ConcurrentMergeSchedul
     this.mergeGate = mergeGate;
   }
 
+  /**
+   * Sets the coordinator used to prioritise merges across indexes and to throttle them when query
+   * latency rises.
+   *
+   * <p>Once set, every merge writes through a {@link ThrottledDirectory}, which pauses merges that
+   * the coordinator ranks below the top {@code maxThreadCount} running merges, and paces the writes
+   * of the others against their share of the merge bandwidth.
+   *
+   * @param mergeCoordinator the coordinator of all merges run by this scheduler
+   */
+  public void setMergeCoordinator(MergeCoordinator mergeCoordinator) {
+    this.mergeCoordinator = Optional.of(mergeCoordinator);
+    this.metricsFactory.objectValueGauge(
+        "mergeThrottleMbPerSec",
+        mergeCoordinator,
+        // Unthrottled merges report NaN rather than 0, which would read as merges being stopped.
+        coordinator ->
+            Double.isInfinite(coordinator.getMbPerSec()) ? Double.NaN : coordinator.getMbPerSec());
+  }
+
+  /**
+   * Records the latency of a query against an index, which the merge coordinator, if any, uses to
+   * prioritise the merges of frequently queried indexes and to throttle merges when query latency
+   * rises.
+   */
+  public void recordQuery(GenerationId generationId, long latencyNanos) {
+    this.mergeCoordinator.ifPresent(
+        coordinator -> coordinator.recordQuery(generationId, latencyNanos));
+  }
+
   /**
    * Returns whether merges are currently paused due to high disk usage.
    *
@@ -743,7 +776,7 @@ public class InstrumentedConcurrentMergeScheduler extends ConcurrentMergeSchedul
   }
 
   /**
-   * Wraps the directory for merge operations when cancel merge is enabled.
+   * Wraps the directory for merge operations.
    *
    * <p>When {@code cancelMergeEnabled} is true, the directory is wrapped with:
    * <ol>
@@ -751,7 +784,12 @@ public class InstrumentedConcurrentMergeScheduler extends ConcurrentMergeSchedul
    *   <li>AbortableDirectory - throws IOException when merge is aborted</li>
    * </ol>
    *
-   * <p>When {@code cancelMergeEnabled} is false, the directory is returned unwrapped.
+   * <p>When a merge coordinator is set, the directory is then wrapped with a ThrottledDirectory,
+   * which pauses and paces writes as the coordinator ranks and throttles the merge. It is the
+   * outermost wrapper, so that an aborted merge fails before it is paced rather than after.
+   *
+   * <p>When there is no coordinator and {@code cancelMergeEnabled} is false, the directory is
+   * returned unwrapped.
    *
    * @param merge the merge operation
    * @param in the directory to wrap
@@ -760,17 +798,26 @@ public class InstrumentedConcurrentMergeScheduler extends ConcurrentMergeSchedul
    */
   public Directory wrapForMerge(
       MergePolicy.OneMerge merge, Directory in, boolean cancelMergeEnabled) {
-    if (!cancelMergeEnabled) {
-      return in;
+    @Var Directory wrapped = in;
+    if (cancelMergeEnabled) {
+      // Wrap with PausableDirectory for disk-based pause/resume support
+      // This allows merges to block when disk usage is high and resume when it drops
+      wrapped = new PausableDirectory(wrapped, this.mergeGate);
+
+      // Then wrap with AbortableDirectory to enable IO-level interruption
+      // This allows merges to be aborted quickly even during long-running operations
+      // like HNSW graph building, which may not have frequent checkpoints
+      wrapped = new AbortableDirectory(wrapped, merge);
+    }
+    if (this.mergeCoordinator.isPresent()) {
+      // Merges run by other schedulers, e.g. by IndexWriter.forceMerge() in tests, are not
+      // registered with the coordinator.
+      MergeCoordinator coordinator = this.mergeCoordinator.get();
+      Optional<MergeCoordinator.CoordinatedMerge> coordinated = coordinator.get(merge);
+      if (coordinated.isPresent()) {
+        wrapped = new ThrottledDirectory(wrapped, coordinator, coordinated.get());
+      }
     }
-    // Wrap with PausableDirectory for disk-based pause/resume support
-    // This allows merges to block when disk usage is high and resume when it drops
-    @Var Directory wrapped = new PausableDirectory(in, this.mergeGate);
-
-    // Then wrap with AbortableDirectory to enable IO-level interruption
-    // This allows merges to be aborted quickly even during long-running operations
-    // like HNSW graph building, which may not have frequent checkpoints
-    wrapped = new AbortableDirectory(wrapped, merge);
     return wrapped;
   }
 
@@ -830,6 +877,23 @@ public class InstrumentedConcurrentMergeScheduler extends ConcurrentMergeSchedul
     public synchronized void stopOneMerge(MergePolicy.OneMerge merge) {
       this.runningMerges.remove(merge);
     }
+
+    public synchronized double numMerges() {
+      return this.runningMerges.size();
+    }
+
+    public synchronized double numPausedMerges(MergeCoordinator coordinator) {
+      return this.runningMerges.keySet().stream()
+          .map(coordinator::get)
+          .filter(merge -> merge.map(MergeCoordinator.CoordinatedMerge::isPaused).orElse(false))
+          .count();
+    }
+
+    public synchronized double totalBytesSize() {
+      return this.runningMerges.keySet().stream()
+          .mapToLong(MergePolicy.OneMerge::totalBytesSize)
+          .sum();
+    }
   }
 
   private MergeStopwatch getMergeStopwatch(IndexPartitionIdentifier indexPartitionIdentifier) {
@@ -841,11 +905,22 @@ public class InstrumentedConcurrentMergeScheduler extends ConcurrentMergeSchedul
               indexPartitionIdentifier.getGenerationId(),
               genId -> {
                 var stopwatch = new MergeStopwatch();
+                Tags tags = Tags.of("generationId logString", genId.uniqueString());
+                this.metricsFactory.objectValueGauge(
+                    "mergeElapsedSeconds", stopwatch, MergeStopwatch::elapsedSeconds, tags);
+                // The merge backlog of the index: its running merges, including those paused by the
+                // merge coordinator behind merges of other indexes.
+                this.metricsFactory.objectValueGauge(
+                    "mergeBacklogMerges", stopwatch, MergeStopwatch::numMerges, tags);
                 this.metricsFactory.objectValueGauge(
-                    "mergeElapsedSeconds",
-                    stopwatch,
-                    MergeStopwatch::elapsedSeconds,
-                    Tags.of("generationId logString", genId.uniqueString()));
+                    "mergeBacklogBytes", stopwatch, MergeStopwatch::totalBytesSize, tags);
+                this.mergeCoordinator.ifPresent(
+                    coordinator ->
+                        this.metricsFactory.objectValueGauge(
+                            "mergeBacklogPausedMerges",
+                            stopwatch,
+                            s -> s.numPausedMerges(coordinator),
+                            tags));
                 return stopwatch;
               });
       return mergeStopwatch;
@@ -901,6 +976,9 @@ public class InstrumentedConcurrentMergeScheduler extends ConcurrentMergeSchedul
           InstrumentedConcurrentMergeScheduler.this.getMergeStopwatch(
               this.indexPartitionIdentifier);
       stopwatch.startOneMerge(this.merge);
+      InstrumentedConcurrentMergeScheduler.this.mergeCoordinator.ifPresent(
+          coordinator ->
+              coordinator.register(this.indexPartitionIdentifier.getGenerationId(), this.merge));
 
       try {
         Timed.runnable(InstrumentedConcurrentMergeScheduler.this.mergeTime, super::run);
@@ -911,6 +989,8 @@ public class InstrumentedConcurrentMergeScheduler extends ConcurrentMergeSchedul
             .log("Exception during merge");
       } finally {
         stopwatch.stopOneMerge(this.merge);
+        InstrumentedConcurrentMergeScheduler.this.mergeCoordinator.ifPresent(
+            coordinator -> coordinator.unregister(this.merge));
         // Decrease the counters no matter run() throws error or not to guarantee the correctness.
         InstrumentedConcurrentMergeScheduler.this.runningMerges.decrementAndGet();
         InstrumentedConcurrentMergeScheduler.this.mergingDocs.addAndGet(-this.merge.totalNumDocs());
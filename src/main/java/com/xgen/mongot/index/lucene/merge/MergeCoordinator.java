@@ -0,0 +1,391 @@
+package com.xgen.mongot.index.lucene.merge;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.errorprone.annotations.Var;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.xgen.mongot.index.version.GenerationId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntSupplier;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.store.RateLimiter;
+import org.apache.lucene.util.ThreadInterruptedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coordinates the running merges of all indexes on the node, which share the {@link
+ * InstrumentedConcurrentMergeScheduler}.
+ *
+ * <p>The coordinator does two things:
+ *
+ * <ul>
+ *   <li>It ranks running merges by their benefit, which is the number of segments they remove plus
+ *       the share of deleted documents they reclaim, weighted by how often their index was recently
+ *       queried. Only the highest ranked {@code maxThreadCount} merges make progress, the others
+ *       are paused until a higher ranked merge finishes.
+ *   <li>It throttles the write bandwidth of merges when query latency rises. Merges are not
+ *       throttled while query latency is stable. When the p99 latency of recent queries rises above
+ *       its baseline, the node-wide merge bandwidth is halved, down to {@link
+ *       #MIN_THROTTLED_MB_PER_SEC}, and it is doubled again for every interval without pressure.
+ * </ul>
+ *
+ * <p>Merges are paused and throttled by the {@link ThrottledDirectory} they write through, so the
+ * coordinator never blocks the threads that schedule merges or run queries.
+ */
+public class MergeCoordinator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MergeCoordinator.class);
+
+  /** The minimum time between two adjustments of the ranking and the merge bandwidth. */
+  public static final long ADJUST_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /** The maximum number of query latencies sampled between two adjustments. */
+  @VisibleForTesting static final int LATENCY_WINDOW_SIZE = 1024;
+
+  /** How far above its baseline the recent p99 query latency must be to throttle merges. */
+  @VisibleForTesting static final double LATENCY_PRESSURE_RATIO = 1.5;
+
+  /** Queries faster than this never throttle merges, however much their latency rises. */
+  @VisibleForTesting
+  static final long MIN_PRESSURE_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+  /** The weight of the latest p99 query latency in the baseline, which is a moving average. */
+  private static final double BASELINE_WEIGHT = 0.05;
+
+  /** The bandwidth merges are first throttled to, and above which they are unthrottled again. */
+  public static final double MAX_THROTTLED_MB_PER_SEC = 256;
+
+  /** The lowest bandwidth merges are throttled to. */
+  public static final double MIN_THROTTLED_MB_PER_SEC = 8;
+
+  /** The share of an index's query count that carries over to the next adjustment. */
+  private static final double HOTNESS_DECAY = 0.5;
+
+  private final IntSupplier maxActiveMerges;
+  private final Ticker ticker;
+
+  private final AtomicLongArray latencies;
+  private final AtomicLong numLatencies;
+  private final ConcurrentHashMap<GenerationId, AtomicLong> queriesSinceAdjust;
+
+  @GuardedBy("this")
+  private final Map<MergePolicy.OneMerge, CoordinatedMerge> runningMerges;
+
+  @GuardedBy("this")
+  private final Map<GenerationId, Double> hotness;
+
+  @GuardedBy("this")
+  private long numLatenciesAtLastAdjust;
+
+  @GuardedBy("this")
+  private long lastAdjustNanos;
+
+  @GuardedBy("this")
+  private long nextMergeSequence;
+
+  @GuardedBy("this")
+  private Optional<Long> baselineP99Nanos;
+
+  // Written while holding the monitor, read without it by merges as they write.
+  private volatile double mbPerSec;
+
+  /**
+   * Creates a coordinator.
+   *
+   * @param maxActiveMerges supplies the number of merges that may make progress at once, usually
+   *     the scheduler's max thread count
+   */
+  public MergeCoordinator(IntSupplier maxActiveMerges) {
+    this(maxActiveMerges, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  public MergeCoordinator(IntSupplier maxActiveMerges, Ticker ticker) {
+    this.maxActiveMerges = maxActiveMerges;
+    this.ticker = ticker;
+    this.latencies = new AtomicLongArray(LATENCY_WINDOW_SIZE);
+    this.numLatencies = new AtomicLong();
+    this.queriesSinceAdjust = new ConcurrentHashMap<>();
+    this.runningMerges = new IdentityHashMap<>();
+    this.hotness = new HashMap<>();
+    this.numLatenciesAtLastAdjust = 0;
+    this.lastAdjustNanos = ticker.read();
+    this.nextMergeSequence = 0;
+    this.baselineP99Nanos = Optional.empty();
+    this.mbPerSec = Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Returns the benefit of a merge: the number of segments it removes, plus the number of segments
+   * worth of deleted documents it reclaims.
+   */
+  public static double benefit(MergePolicy.OneMerge merge) {
+    @Var long maxDocs = 0;
+    @Var long deletedDocs = 0;
+    for (SegmentCommitInfo info : merge.segments) {
+      maxDocs += info.info.maxDoc();
+      deletedDocs += info.getDelCount() + info.getSoftDelCount();
+    }
+    int numSegments = merge.segments.size();
+    double reclaimed = maxDocs == 0 ? 0 : (double) numSegments * deletedDocs / maxDocs;
+    return numSegments - 1 + reclaimed;
+  }
+
+  /** Records the latency of a query against the index with the given generation. */
+  public void recordQuery(GenerationId generationId, long latencyNanos) {
+    long sample = this.numLatencies.getAndIncrement();
+    this.latencies.set((int) (sample % LATENCY_WINDOW_SIZE), latencyNanos);
+    this.queriesSinceAdjust.computeIfAbsent(generationId, ignored -> new AtomicLong()).increment();
+  }
+
+  /** Registers a merge when it starts running, ranking it against the other running merges. */
+  public CoordinatedMerge register(GenerationId generationId, MergePolicy.OneMerge merge) {
+    int maxActive = this.maxActiveMerges.getAsInt();
+    synchronized (this) {
+      CoordinatedMerge coordinated =
+          new CoordinatedMerge(
+              merge,
+              generationId,
+              benefit(merge),
+              merge.totalBytesSize(),
+              this.nextMergeSequence++);
+      this.runningMerges.put(merge, coordinated);
+      rank(maxActive);
+      return coordinated;
+    }
+  }
+
+  /** Unregisters a merge when it stops running, resuming the next ranked merge if it was paused. */
+  public void unregister(MergePolicy.OneMerge merge) {
+    int maxActive = this.maxActiveMerges.getAsInt();
+    synchronized (this) {
+      if (this.runningMerges.remove(merge) != null) {
+        rank(maxActive);
+      }
+    }
+  }
+
+  /** Returns the registration of a running merge, if it was registered. */
+  public synchronized Optional<CoordinatedMerge> get(MergePolicy.OneMerge merge) {
+    return Optional.ofNullable(this.runningMerges.get(merge));
+  }
+
+  /** Returns the node-wide merge bandwidth, which is infinite while merges are not throttled. */
+  public double getMbPerSec() {
+    return this.mbPerSec;
+  }
+
+  /**
+   * Blocks while the merge is paused behind higher ranked merges, then paces {@code numBytes}
+   * written by the merge against its share of the merge bandwidth.
+   *
+   * @throws MergePolicy.MergeAbortedException if the merge is aborted, which is checked before
+   *     pacing and while the merge is paused, so that a paused merge does not hold on to its files
+   *     until a higher ranked merge finishes
+   * @throws InterruptedException if the merge thread is interrupted
+   */
+  void awaitTurnAndPace(CoordinatedMerge merge, long numBytes)
+      throws InterruptedException, MergePolicy.MergeAbortedException {
+    maybeAdjust();
+    checkAborted(merge);
+    while (merge.paused) {
+      // Wake up periodically, as adjusting may be due while every active merge is paused on disk
+      // usage or slowed down by throttling, and the merge may have been aborted meanwhile.
+      synchronized (this) {
+        if (merge.paused) {
+          TimeUnit.NANOSECONDS.timedWait(this, ADJUST_INTERVAL_NANOS);
+        }
+      }
+      checkAborted(merge);
+      maybeAdjust();
+    }
+    if (merge.throttled) {
+      try {
+        merge.rateLimiter.pause(numBytes);
+      } catch (ThreadInterruptedException e) {
+        throw new InterruptedException("Interrupted while throttling merge");
+      }
+    }
+  }
+
+  private static void checkAborted(CoordinatedMerge merge)
+      throws MergePolicy.MergeAbortedException {
+    if (merge.merge.isAborted()) {
+      throw new MergePolicy.MergeAbortedException(
+          "Merge aborted while paused or throttled: " + merge.merge.segString());
+    }
+  }
+
+  private void maybeAdjust() {
+    if (this.ticker.read() - lastAdjustNanos() >= ADJUST_INTERVAL_NANOS) {
+      adjust();
+    }
+  }
+
+  private synchronized long lastAdjustNanos() {
+    return this.lastAdjustNanos;
+  }
+
+  /**
+   * Updates the merge bandwidth from the latency of queries recorded since the last adjustment,
+   * decays the query counts of indexes, and ranks running merges again. This is invoked by running
+   * merges as they write, at most once per {@link #ADJUST_INTERVAL_NANOS}.
+   */
+  @VisibleForTesting
+  public void adjust() {
+    int maxActive = this.maxActiveMerges.getAsInt();
+    synchronized (this) {
+      this.lastAdjustNanos = this.ticker.read();
+      Optional<Long> p99 = recentP99LatencyNanos();
+      boolean pressure =
+          p99.isPresent()
+              && !this.runningMerges.isEmpty()
+              && this.baselineP99Nanos.isPresent()
+              && p99.get() > MIN_PRESSURE_LATENCY_NANOS
+              && p99.get() > this.baselineP99Nanos.get() * LATENCY_PRESSURE_RATIO;
+
+      double previousMbPerSec = this.mbPerSec;
+      if (pressure) {
+        this.mbPerSec =
+            Double.isInfinite(previousMbPerSec)
+                ? MAX_THROTTLED_MB_PER_SEC
+                : Math.max(MIN_THROTTLED_MB_PER_SEC, previousMbPerSec / 2);
+      } else {
+        // Only learn the baseline without pressure, so that slow queries caused by merges do not
+        // become the norm.
+        if (p99.isPresent()) {
+          long latency = p99.get();
+          this.baselineP99Nanos =
+              Optional.of(
+                  this.baselineP99Nanos
+                      .map(baseline -> baseline + (long) (BASELINE_WEIGHT * (latency - baseline)))
+                      .orElse(latency));
+        }
+        if (!Double.isInfinite(previousMbPerSec)) {
+          double doubled = previousMbPerSec * 2;
+          this.mbPerSec = doubled > MAX_THROTTLED_MB_PER_SEC ? Double.POSITIVE_INFINITY : doubled;
+        }
+      }
+      if (this.mbPerSec != previousMbPerSec) {
+        LOG.atInfo()
+            .addKeyValue("mbPerSec", this.mbPerSec)
+            .addKeyValue("p99LatencyNanos", p99.orElse(-1L))
+            .addKeyValue("baselineP99LatencyNanos", this.baselineP99Nanos.orElse(-1L))
+            .log("Adjusted merge bandwidth");
+      }
+
+      decayHotness();
+      rank(maxActive);
+    }
+  }
+
+  @GuardedBy("this")
+  private Optional<Long> recentP99LatencyNanos() {
+    long numLatencies = this.numLatencies.get();
+    int numSamples =
+        (int) Math.min(numLatencies - this.numLatenciesAtLastAdjust, LATENCY_WINDOW_SIZE);
+    this.numLatenciesAtLastAdjust = numLatencies;
+    if (numSamples <= 0) {
+      return Optional.empty();
+    }
+    long[] samples = new long[numSamples];
+    for (int i = 0; i < numSamples; i++) {
+      samples[i] = this.latencies.get((int) ((numLatencies - 1 - i) % LATENCY_WINDOW_SIZE));
+    }
+    Arrays.sort(samples);
+    return Optional.of(samples[(int) Math.ceil(0.99 * numSamples) - 1]);
+  }
+
+  @GuardedBy("this")
+  private void decayHotness() {
+    this.hotness.replaceAll((generationId, hotness) -> hotness * HOTNESS_DECAY);
+    this.queriesSinceAdjust.forEach(
+        (generationId, queries) ->
+            this.hotness.merge(generationId, (double) queries.getAndSet(0), Double::sum));
+    this.hotness.values().removeIf(hotness -> hotness < 1);
+    this.queriesSinceAdjust.values().removeIf(queries -> queries.get() == 0);
+  }
+
+  @GuardedBy("this")
+  private double priority(CoordinatedMerge merge) {
+    return merge.benefit * (1 + this.hotness.getOrDefault(merge.generationId, 0.0));
+  }
+
+  /**
+   * Lets the {@code maxActive} highest priority merges run and pauses the others. Ties are broken
+   * in favour of smaller merges, then of merges that started first. Running merges share the
+   * merge bandwidth equally.
+   */
+  @GuardedBy("this")
+  private void rank(int maxActive) {
+    List<CoordinatedMerge> ranked = new ArrayList<>(this.runningMerges.values());
+    ranked.sort(
+        Comparator.comparingDouble(this::priority)
+            .reversed()
+            .thenComparingLong(merge -> merge.bytes)
+            .thenComparingLong(merge -> merge.sequence));
+
+    int numActive = maxActive > 0 ? Math.min(maxActive, ranked.size()) : ranked.size();
+    double mbPerSecPerMerge = this.mbPerSec / Math.max(numActive, 1);
+    for (int i = 0; i < ranked.size(); i++) {
+      CoordinatedMerge merge = ranked.get(i);
+      merge.paused = i >= numActive;
+      merge.throttled = !Double.isInfinite(mbPerSecPerMerge);
+      if (merge.throttled) {
+        merge.rateLimiter.setMBPerSec(mbPerSecPerMerge);
+      }
+    }
+    notifyAll();
+  }
+
+  /** A running merge, as ranked and throttled by the {@link MergeCoordinator}. */
+  public static class CoordinatedMerge {
+    private final MergePolicy.OneMerge merge;
+    private final GenerationId generationId;
+    private final double benefit;
+    private final long bytes;
+    private final long sequence;
+    private final RateLimiter.SimpleRateLimiter rateLimiter;
+
+    // Written while holding the coordinator's monitor, read without it as the merge writes.
+    private volatile boolean paused;
+    private volatile boolean throttled;
+
+    private CoordinatedMerge(
+        MergePolicy.OneMerge merge,
+        GenerationId generationId,
+        double benefit,
+        long bytes,
+        long sequence) {
+      this.merge = merge;
+      this.generationId = generationId;
+      this.benefit = benefit;
+      this.bytes = bytes;
+      this.sequence = sequence;
+      this.rateLimiter = new RateLimiter.SimpleRateLimiter(MAX_THROTTLED_MB_PER_SEC);
+      this.paused = false;
+      this.throttled = false;
+    }
+
+    public boolean isPaused() {
+      return this.paused;
+    }
+
+    public boolean isThrottled() {
+      return this.throttled;
+    }
+  }
+}
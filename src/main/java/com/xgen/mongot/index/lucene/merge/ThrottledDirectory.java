@@ -0,0 +1,129 @@
+package com.xgen.mongot.index.lucene.merge;
+
+import java.io.IOException;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+
+/**
+ * A Directory wrapper through which a merge writes, that blocks writes while the {@link
+ * MergeCoordinator} has paused the merge behind higher priority merges, and paces them against the
+ * merge's share of the node-wide merge bandwidth. Writes of a merge that is aborted while paused
+ * fail with a {@link org.apache.lucene.index.MergePolicy.MergeAbortedException}.
+ *
+ * <p>Like {@link PausableDirectory}, the coordinator is consulted every {@link
+ * #CHECK_INTERVAL_BYTES} bytes written. Reads are not throttled, as merges read their input
+ * segments at the pace they write the merged segment.
+ */
+public class ThrottledDirectory extends FilterDirectory {
+
+  /** How often the merge checks in with the coordinator, in bytes written. */
+  public static final long CHECK_INTERVAL_BYTES = PausableDirectory.CHECK_PAUSE_INTERVAL_BYTES;
+
+  private final MergeCoordinator coordinator;
+  private final MergeCoordinator.CoordinatedMerge merge;
+
+  /**
+   * Creates a new ThrottledDirectory that wraps the given directory.
+   *
+   * @param in the underlying directory to wrap
+   * @param coordinator the coordinator that ranks and throttles the merge
+   * @param merge the merge writing through this directory
+   */
+  public ThrottledDirectory(
+      Directory in, MergeCoordinator coordinator, MergeCoordinator.CoordinatedMerge merge) {
+    super(in);
+    this.coordinator = coordinator;
+    this.merge = merge;
+  }
+
+  @Override
+  public IndexOutput createOutput(String name, IOContext context) throws IOException {
+    return new ThrottledIndexOutput(
+        super.createOutput(name, context), this.coordinator, this.merge);
+  }
+
+  @Override
+  public IndexOutput createTempOutput(String prefix, String suffix, IOContext context)
+      throws IOException {
+    return new ThrottledIndexOutput(
+        super.createTempOutput(prefix, suffix, context), this.coordinator, this.merge);
+  }
+
+  /** An IndexOutput wrapper that checks in with the coordinator as bytes are written. */
+  static class ThrottledIndexOutput extends IndexOutput {
+    private final IndexOutput delegate;
+    private final MergeCoordinator coordinator;
+    private final MergeCoordinator.CoordinatedMerge merge;
+    private long bytesWrittenSinceLastCheck = 0;
+
+    ThrottledIndexOutput(
+        IndexOutput delegate,
+        MergeCoordinator coordinator,
+        MergeCoordinator.CoordinatedMerge merge) {
+      super("ThrottledIndexOutput(" + delegate.toString() + ")", delegate.getName());
+      this.delegate = delegate;
+      this.coordinator = coordinator;
+      this.merge = merge;
+    }
+
+    private void recordBytesAndMaybeWait(long numBytes) throws IOException {
+      this.bytesWrittenSinceLastCheck += numBytes;
+      if (this.bytesWrittenSinceLastCheck >= CHECK_INTERVAL_BYTES) {
+        try {
+          this.coordinator.awaitTurnAndPace(this.merge, this.bytesWrittenSinceLastCheck);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while merge was paused or throttled", e);
+        }
+        this.bytesWrittenSinceLastCheck = 0;
+      }
+    }
+
+    @Override
+    public void writeByte(byte b) throws IOException {
+      this.delegate.writeByte(b);
+      recordBytesAndMaybeWait(1);
+    }
+
+    @Override
+    public void writeBytes(byte[] b, int offset, int length) throws IOException {
+      this.delegate.writeBytes(b, offset, length);
+      recordBytesAndMaybeWait(length);
+    }
+
+    @Override
+    public void writeShort(short i) throws IOException {
+      this.delegate.writeShort(i);
+      recordBytesAndMaybeWait(Short.BYTES);
+    }
+
+    @Override
+    public void writeInt(int i) throws IOException {
+      this.delegate.writeInt(i);
+      recordBytesAndMaybeWait(Integer.BYTES);
+    }
+
+    @Override
+    public void writeLong(long i) throws IOException {
+      this.delegate.writeLong(i);
+      recordBytesAndMaybeWait(Long.BYTES);
+    }
+
+    @Override
+    public long getFilePointer() {
+      return this.delegate.getFilePointer();
+    }
+
+    @Override
+    public long getChecksum() throws IOException {
+      return this.delegate.getChecksum();
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.delegate.close();
+    }
+  }
+}
@@ -8,6 +8,7 @@ import com.google.errorprone.annotations.Var;
 import com.xgen.mongot.index.lucene.explain.knn.InstrumentableKnnFloatVectorQuery;
 import com.xgen.mongot.index.lucene.explain.tracing.Explain;
 import com.xgen.mongot.index.query.operators.ApproximateVectorSearchCriteria;
+import com.xgen.mongot.util.concurrent.IntraQueryParallelism;
 import com.xgen.mongot.util.concurrent.NamedExecutorService;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -40,9 +41,26 @@ import org.apache.lucene.util.quantization.QuantizedVectorsReader;
 /**
  * Performs two-stage rescoring of {@link TopDocs} provided after HNSW graph traversal based on
  * binary quantized vectors.
+ *
+ * <p>When an executor is provided, each stage splits the segments holding the candidates into
+ * slices of roughly equal numbers of candidates, and scores the slices concurrently. The number of
+ * slices is chosen per query by {@link IntraQueryParallelism} from the current load of the
+ * executor, so that a busy node rescores serially instead of queueing. The approximate stage is
+ * split by its number of candidates, while the full fidelity stage is split by segment, as it
+ * scores few candidates whose vectors may have to be read from disk.
  */
 public class BinaryQuantizedVectorRescorer {
 
+  /** Minimum number of candidates scored by a task against the in-memory dequantized vectors. */
+  @VisibleForTesting static final int MIN_APPROXIMATE_CANDIDATES_PER_TASK = 256;
+
+  /**
+   * Minimum number of segments scored by a task against the full fidelity vectors. Reading these
+   * may fault pages in from disk, so every segment holding candidates is worth its own task however
+   * few candidates it holds.
+   */
+  @VisibleForTesting static final int MIN_FULL_FIDELITY_SEGMENTS_PER_TASK = 1;
+
   private final Optional<NamedExecutorService> executor;
 
   public BinaryQuantizedVectorRescorer(Optional<NamedExecutorService> executor) {
@@ -62,7 +80,7 @@ public class BinaryQuantizedVectorRescorer {
     }
 
     // Stage 1 - rescore float query against the oversampled dequantized binary vectors
-    ApproximateRescorer approximateRescorer = new ApproximateRescorer(luceneQuery);
+    ApproximateRescorer approximateRescorer = new ApproximateRescorer(luceneQuery, this.executor);
     TopDocs approximatelyRescored =
         approximateRescorer.rescore(indexSearcher, topDocs, searchCriteria.numCandidates());
 
@@ -106,6 +124,56 @@ public class BinaryQuantizedVectorRescorer {
     }
   }
 
+  /**
+   * Scores all {@code ranges}, either serially or split into concurrent slices of segments
+   * depending on {@code parallelism} and the amount of {@code work}, in the units {@code
+   * parallelism} was created with.
+   */
+  private static void scoreRanges(
+      List<SegmentRange> ranges,
+      ScoreDoc[] scoreDocs,
+      long work,
+      Optional<IntraQueryParallelism> parallelism)
+      throws IOException {
+    int numTasks = parallelism.map(p -> p.tasksFor(work)).orElse(1);
+    if (numTasks <= 1 || ranges.size() <= 1) {
+      for (SegmentRange range : ranges) {
+        range.score(scoreDocs);
+      }
+      return;
+    }
+
+    List<Callable<Void>> tasks = new ArrayList<>(numTasks);
+    for (List<SegmentRange> slice :
+        IntraQueryParallelism.slices(ranges, SegmentRange::size, numTasks)) {
+      tasks.add(
+          () -> {
+            for (SegmentRange range : slice) {
+              range.score(scoreDocs);
+            }
+            return null;
+          });
+    }
+    // execute tasks and wait for completion. if exceptions happen,
+    // they are accumulated across tasks and thrown and the end
+    new TaskExecutor(parallelism.get().getExecutor()).invokeAll(tasks);
+  }
+
+  /**
+   * Candidates {@code [start, end)} of the doc-sorted score docs, which all belong to {@code
+   * segment}.
+   */
+  private record SegmentRange(LeafReaderContext segment, VectorScorer scorer, int start, int end) {
+
+    long size() {
+      return this.end - this.start;
+    }
+
+    void score(ScoreDoc[] scoreDocs) throws IOException {
+      scoreSegment(this.segment, this.scorer, scoreDocs, this.start, this.end);
+    }
+  }
+
   private static FieldInfo getFieldInfo(LeafReader context, KnnFloatVectorQuery query) {
     return context.getFieldInfos().fieldInfo(query.getField());
   }
@@ -125,9 +193,19 @@ public class BinaryQuantizedVectorRescorer {
     private static final FluentLogger flogger = FluentLogger.forEnclosingClass();
 
     private final KnnFloatVectorQuery query;
+    private final Optional<IntraQueryParallelism> parallelism;
 
     public ApproximateRescorer(KnnFloatVectorQuery query) {
+      this(query, Optional.empty());
+    }
+
+    public ApproximateRescorer(
+        KnnFloatVectorQuery query, Optional<NamedExecutorService> executorService) {
       this.query = query;
+      this.parallelism =
+          executorService.map(
+              executor ->
+                  new IntraQueryParallelism(executor, MIN_APPROXIMATE_CANDIDATES_PER_TASK));
     }
 
     @Override
@@ -141,6 +219,7 @@ public class BinaryQuantizedVectorRescorer {
       // sort for the sequential access
       Arrays.sort(topDocsCopy.scoreDocs, Comparator.comparingInt(hit -> hit.doc));
       List<LeafReaderContext> segments = searcher.getIndexReader().leaves();
+      List<SegmentRange> ranges = new ArrayList<>();
 
       @Var int i = 0;
       while (i < limit) {
@@ -177,9 +256,11 @@ public class BinaryQuantizedVectorRescorer {
                 vectorsReader.get().getQuantizedVectorValues(this.query.getField()),
                 getFieldInfo(segment.reader(), this.query).getVectorSimilarityFunction());
 
-        scoreSegment(segment, vectorValues.scorer(queryVector), topDocsCopy.scoreDocs, start, end);
+        ranges.add(new SegmentRange(segment, vectorValues.scorer(queryVector), start, end));
       }
 
+      scoreRanges(ranges, topDocsCopy.scoreDocs, limit, this.parallelism);
+
       // sort by score
       Arrays.sort(topDocsCopy.scoreDocs, (a, b) -> -Float.compare(a.score, b.score));
 
@@ -218,12 +299,15 @@ public class BinaryQuantizedVectorRescorer {
   static class FullFidelityRescorer extends Rescorer {
 
     private final KnnFloatVectorQuery query;
-    private final Optional<TaskExecutor> executor;
+    private final Optional<IntraQueryParallelism> parallelism;
 
     public FullFidelityRescorer(
         KnnFloatVectorQuery query, Optional<NamedExecutorService> executorService) {
       this.query = query;
-      this.executor = executorService.map(TaskExecutor::new);
+      this.parallelism =
+          executorService.map(
+              executor ->
+                  new IntraQueryParallelism(executor, MIN_FULL_FIDELITY_SEGMENTS_PER_TASK));
     }
 
     @Override
@@ -236,7 +320,7 @@ public class BinaryQuantizedVectorRescorer {
       Arrays.sort(topDocsCopy.scoreDocs, Comparator.comparingInt(hit -> hit.doc));
 
       List<LeafReaderContext> segments = searcher.getIndexReader().leaves();
-      List<Callable<Void>> tasks = new ArrayList<>();
+      List<SegmentRange> ranges = new ArrayList<>();
 
       @Var int i = 0;
 
@@ -254,22 +338,10 @@ public class BinaryQuantizedVectorRescorer {
         }
         int end = i;
 
-        VectorScorer scorer = createScorer(segment.reader());
-
-        tasks.add(
-            () -> {
-              scoreSegment(segment, scorer, topDocsCopy.scoreDocs, start, end);
-              return null;
-            });
+        ranges.add(new SegmentRange(segment, createScorer(segment.reader()), start, end));
       }
 
-      if (this.executor.isPresent()) {
-        // execute tasks and wait for completion. if exceptions happen,
-        // they are accumulated across tasks and thrown and the end
-        this.executor.get().invokeAll(tasks);
-      } else {
-        invokeAllSequentially(tasks);
-      }
+      scoreRanges(ranges, topDocsCopy.scoreDocs, ranges.size(), this.parallelism);
 
       // sort by score
       Arrays.sort(topDocsCopy.scoreDocs, (a, b) -> -Float.compare(a.score, b.score));
@@ -303,17 +375,5 @@ public class BinaryQuantizedVectorRescorer {
         }
       };
     }
-
-    private void invokeAllSequentially(List<Callable<Void>> tasks) throws IOException {
-      for (Callable<Void> task : tasks) {
-        try {
-          task.call();
-        } catch (IOException e) {
-          throw e;
-        } catch (Exception e) {
-          throw new RuntimeException(e);
-        }
-      }
-    }
   }
 }
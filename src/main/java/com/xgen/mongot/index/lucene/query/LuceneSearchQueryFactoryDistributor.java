@@ -260,12 +260,13 @@ public class LuceneSearchQueryFactoryDistributor {
   }
 
   public Query createVectorQuery(
-      MaterializedVectorSearchQuery materializedVectorSearchQuery, IndexReader indexReader)
+      MaterializedVectorSearchQuery materializedVectorSearchQuery, IndexSearcher indexSearcher)
       throws InvalidQueryException, IOException {
 
     return this.vectorSearchQueryFactory.fromQuery(
         materializedVectorSearchQuery.materializedCriteria(),
-        SingleQueryContext.createQueryRoot(indexReader));
+        SingleQueryContext.createQueryRoot(indexSearcher.getIndexReader())
+            .withIndexSearcher(indexSearcher));
   }
 
   /**
@@ -320,10 +321,12 @@ public class LuceneSearchQueryFactoryDistributor {
   }
 
   public Query createVectorSearchExplainQuery(
-      MaterializedVectorSearchQuery query, IndexReader indexReader)
+      MaterializedVectorSearchQuery query, IndexSearcher indexSearcher)
       throws InvalidQueryException, IOException {
     return createVectorSearchExplainQuery(
-        query.materializedCriteria(), SingleQueryContext.createExplainRoot(indexReader));
+        query.materializedCriteria(),
+        SingleQueryContext.createExplainRoot(indexSearcher.getIndexReader())
+            .withIndexSearcher(indexSearcher));
   }
 
   private Query createVectorSearchExplainQuery(
@@ -6,7 +6,7 @@ import com.xgen.mongot.index.lucene.query.custom.WrappedKnnQuery;
 import com.xgen.mongot.index.query.InvalidQueryException;
 import com.xgen.mongot.index.query.MaterializedVectorSearchQuery;
 import java.io.IOException;
-import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 
 /** This class is used for $vectorSearch queries running against vector index type. */
@@ -28,24 +28,28 @@ public class LuceneVectorQueryFactoryDistributor {
         new VectorSearchQueryFactory(factoryContext, filterFactory), factoryContext);
   }
 
-  public Query createQuery(MaterializedVectorSearchQuery query, IndexReader indexReader)
+  public Query createQuery(MaterializedVectorSearchQuery query, IndexSearcher indexSearcher)
       throws InvalidQueryException, IOException {
     return this.vectorSearchQueryFactory.fromQuery(
-        query.materializedCriteria(), SingleQueryContext.createQueryRoot(indexReader));
+        query.materializedCriteria(),
+        SingleQueryContext.createQueryRoot(indexSearcher.getIndexReader())
+            .withIndexSearcher(indexSearcher));
   }
 
   /**
    * Creates a WrappedKnnQuery from an operator to be used for explain queries.
    *
    * @param materializedVectorQuery vector search query
-   * @param indexReader index reader
+   * @param indexSearcher the searcher that will run the query
    * @return Lucene Query
    * @throws InvalidQueryException represents a parsing exception
    */
   public Query createExplainQuery(
-      MaterializedVectorSearchQuery materializedVectorQuery, IndexReader indexReader)
+      MaterializedVectorSearchQuery materializedVectorQuery, IndexSearcher indexSearcher)
       throws InvalidQueryException, IOException {
-    var singleQueryContext = SingleQueryContext.createExplainRoot(indexReader);
+    var singleQueryContext =
+        SingleQueryContext.createExplainRoot(indexSearcher.getIndexReader())
+            .withIndexSearcher(indexSearcher);
     return new WrappedKnnQuery(
         this.vectorSearchQueryFactory.fromQuery(
             materializedVectorQuery.materializedCriteria(), singleQueryContext));
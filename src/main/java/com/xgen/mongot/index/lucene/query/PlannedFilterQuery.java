@@ -0,0 +1,77 @@
+package com.xgen.mongot.index.lucene.query;
+
+import java.io.IOException;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Weight;
+
+/**
+ * A $vectorSearch filter whose {@link Weight} was created by the {@link VectorSearchPlanner} to
+ * estimate its matches. The vector query runs on the same searcher, so it reuses that weight rather
+ * than rewriting the filter and creating the weights of all of its clauses a second time.
+ */
+final class PlannedFilterQuery extends Query {
+
+  private final IndexSearcher searcher;
+  private final Query filter;
+  private final Weight weight;
+
+  private PlannedFilterQuery(IndexSearcher searcher, Query filter, Weight weight) {
+    this.searcher = searcher;
+    this.filter = filter;
+    this.weight = weight;
+  }
+
+  /** Rewrites {@code filter} and creates its non-scoring weight with {@code searcher}. */
+  static PlannedFilterQuery create(IndexSearcher searcher, Query filter) throws IOException {
+    Query rewritten = searcher.rewrite(filter);
+    // Created without the query cache, which wraps the weight when the query runs.
+    Weight weight = rewritten.createWeight(searcher, ScoreMode.COMPLETE_NO_SCORES, 1);
+    return new PlannedFilterQuery(searcher, rewritten, weight);
+  }
+
+  IndexSearcher getSearcher() {
+    return this.searcher;
+  }
+
+  /** Returns the rewritten filter. */
+  Query getFilter() {
+    return this.filter;
+  }
+
+  Weight getWeight() {
+    return this.weight;
+  }
+
+  @Override
+  public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost)
+      throws IOException {
+    if (searcher == this.searcher && !scoreMode.needsScores()) {
+      return this.weight;
+    }
+    return this.filter.createWeight(searcher, scoreMode, boost);
+  }
+
+  @Override
+  public void visit(QueryVisitor visitor) {
+    this.filter.visit(visitor.getSubVisitor(BooleanClause.Occur.FILTER, this));
+  }
+
+  @Override
+  public String toString(String field) {
+    return this.filter.toString(field);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return sameClassAs(other) && this.filter.equals(((PlannedFilterQuery) other).filter);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * classHash() + this.filter.hashCode();
+  }
+}
@@ -4,6 +4,7 @@ import com.xgen.mongot.index.query.ReturnScope;
 import com.xgen.mongot.util.FieldPath;
 import java.util.Optional;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.IndexSearcher;
 
 class SingleQueryContext {
 
@@ -17,15 +18,28 @@ class SingleQueryContext {
   private final Optional<FieldPath> operatorPath;
   private final Optional<FieldPath> embeddedRoot;
 
+  /** The searcher that will run the query, if known when the query is created. */
+  private final Optional<IndexSearcher> indexSearcher;
+
   SingleQueryContext(
       IndexReader indexReader,
       QueryAssociation queryAssociation,
       Optional<FieldPath> operatorPath,
       Optional<FieldPath> embeddedRoot) {
+    this(indexReader, queryAssociation, operatorPath, embeddedRoot, Optional.empty());
+  }
+
+  private SingleQueryContext(
+      IndexReader indexReader,
+      QueryAssociation queryAssociation,
+      Optional<FieldPath> operatorPath,
+      Optional<FieldPath> embeddedRoot,
+      Optional<IndexSearcher> indexSearcher) {
     this.indexReader = indexReader;
     this.queryAssociation = queryAssociation;
     this.operatorPath = operatorPath;
     this.embeddedRoot = embeddedRoot;
+    this.indexSearcher = indexSearcher;
   }
 
   static SingleQueryContext createQueryRoot(IndexReader indexReader) {
@@ -55,12 +69,30 @@ class SingleQueryContext {
 
   SingleQueryContext withEmbeddedRoot(FieldPath embeddedRoot) {
     return new SingleQueryContext(
-        this.indexReader, this.queryAssociation, this.operatorPath, Optional.of(embeddedRoot));
+        this.indexReader,
+        this.queryAssociation,
+        this.operatorPath,
+        Optional.of(embeddedRoot),
+        this.indexSearcher);
   }
 
   SingleQueryContext withOperatorPath(Optional<FieldPath> operatorPath) {
     return new SingleQueryContext(
-        this.indexReader, this.queryAssociation, operatorPath, this.embeddedRoot);
+        this.indexReader,
+        this.queryAssociation,
+        operatorPath,
+        this.embeddedRoot,
+        this.indexSearcher);
+  }
+
+  /** Returns this context for a query that will be run by {@code indexSearcher}. */
+  SingleQueryContext withIndexSearcher(IndexSearcher indexSearcher) {
+    return new SingleQueryContext(
+        indexSearcher.getIndexReader(),
+        this.queryAssociation,
+        this.operatorPath,
+        this.embeddedRoot,
+        Optional.of(indexSearcher));
   }
 
   IndexReader getIndexReader() {
@@ -78,4 +110,8 @@ class SingleQueryContext {
   Optional<FieldPath> getEmbeddedRoot() {
     return this.embeddedRoot;
   }
+
+  Optional<IndexSearcher> getIndexSearcher() {
+    return this.indexSearcher;
+  }
 }
@@ -0,0 +1,205 @@
+package com.xgen.mongot.index.lucene.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.Var;
+import com.xgen.mongot.index.lucene.explain.information.VectorSearchPlanSpec;
+import com.xgen.mongot.index.lucene.query.custom.VectorSearchCostModel;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import org.apache.lucene.index.FloatVectorValues;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScorerSupplier;
+import org.apache.lucene.search.Weight;
+
+/**
+ * Chooses how a filtered approximate $vectorSearch on a float vector field is executed:
+ *
+ * <ul>
+ *   <li>{@link VectorSearchPlanSpec.Strategy#EXACT}: score every vector passing the filter.
+ *   <li>{@link VectorSearchPlanSpec.Strategy#FILTERED_HNSW}: traverse the HNSW graph, only
+ *       accepting vectors passing the filter. Segments where a full scan is cheaper still fall back
+ *       to one.
+ *   <li>{@link VectorSearchPlanSpec.Strategy#HNSW_POST_FILTER}: traverse the graph without the
+ *       filter for an over-fetched number of candidates, and apply the filter to the candidates.
+ *       This skips materializing the filter into a bitset, which dominates the cost of permissive
+ *       filters.
+ * </ul>
+ *
+ * <p>Lucene materializes the filter before deciding how to search each segment, so the plan is made
+ * up front from estimates: the number of vectors and filter matches in each segment, the HNSW
+ * parameters of the field, and the observed latency of graph and scan visits in the field's {@link
+ * VectorSearchCostModel}. Filter match counts come from {@link Weight#count}, which answers from
+ * term and point statistics for simple filters, or from the filter's cost otherwise, and are cached
+ * per segment so repeated filters are not re-estimated. The filter weight is created with the
+ * searcher that runs the query, which reuses it through {@link PlannedFilterQuery}.
+ *
+ * <p>One planner is shared by all queries against an index, and must be thread-safe.
+ */
+class VectorSearchPlanner {
+
+  /**
+   * The lowest filter selectivity for which post-filtering is considered. Below it, the over-fetch
+   * needed to retain recall makes the graph search approach a full scan of the index.
+   */
+  @VisibleForTesting static final double MIN_POST_FILTER_SELECTIVITY = .5;
+
+  /** Extra candidates fetched on top of the inverse selectivity when post-filtering. */
+  @VisibleForTesting static final double POST_FILTER_OVERFETCH_MARGIN = 1.5;
+
+  /** Cost, in scan-visit units, of adding one matching document to the filter bitset. */
+  @VisibleForTesting static final double FILTER_MATERIALIZATION_COST = .05;
+
+  private static final int MAX_CACHED_FILTER_ESTIMATES = 4096;
+  private static final Duration FILTER_ESTIMATE_EXPIRY = Duration.ofMinutes(10);
+
+  private final Cache<FilterEstimateKey, Long> filterEstimates =
+      Caffeine.newBuilder()
+          .maximumSize(MAX_CACHED_FILTER_ESTIMATES)
+          .expireAfterAccess(FILTER_ESTIMATE_EXPIRY)
+          .build();
+
+  private final Map<String, VectorSearchCostModel> costModels = new ConcurrentHashMap<>();
+
+  /** Returns the cost model of a Lucene vector field built with {@code maxEdges} per graph node. */
+  VectorSearchCostModel getCostModel(String luceneFieldName, int maxEdges) {
+    return this.costModels.computeIfAbsent(
+        luceneFieldName, unused -> new VectorSearchCostModel(maxEdges));
+  }
+
+  /**
+   * Plans a filtered approximate search for the {@code numCandidates} nearest vectors in {@code
+   * luceneFieldName}.
+   */
+  VectorSearchPlanSpec plan(
+      PlannedFilterQuery filter,
+      String luceneFieldName,
+      int numCandidates,
+      VectorSearchCostModel costModel)
+      throws IOException {
+    IndexReader reader = filter.getSearcher().getIndexReader();
+    int numLeaves = reader.leaves().size();
+    int[] leafVectors = new int[numLeaves];
+    @Var long numVectors = 0;
+    @Var long filterMatches = 0;
+    @Var double exactCost = 0;
+    @Var double filteredHnswCost = 0;
+    for (int i = 0; i < numLeaves; i++) {
+      LeafReaderContext leaf = reader.leaves().get(i);
+      @Nullable FloatVectorValues vectors = leaf.reader().getFloatVectorValues(luceneFieldName);
+      if (vectors == null || vectors.size() == 0) {
+        continue;
+      }
+      leafVectors[i] = vectors.size();
+      long leafMatches = estimateFilterMatches(filter.getWeight(), filter.getFilter(), leaf);
+      numVectors += leafVectors[i];
+      filterMatches += leafMatches;
+
+      // Both strategies materialize the filter, then score each accepted vector or graph visit.
+      double materializationCost = leafMatches * FILTER_MATERIALIZATION_COST;
+      long acceptedVectors = Math.min(leafMatches, leafVectors[i]);
+      double leafScanCost = costModel.scanCost(acceptedVectors);
+      exactCost += materializationCost + leafScanCost;
+      if (acceptedVectors > 0) {
+        double selectivity = (double) acceptedVectors / leafVectors[i];
+        double leafGraphCost =
+            costModel.graphCost(
+                leafVectors[i], Math.min(numCandidates, leafVectors[i]), selectivity);
+        // MongotKnnFloatQuery falls back to a full scan of segments where it is cheaper.
+        filteredHnswCost += materializationCost + Math.min(leafGraphCost, leafScanCost);
+      }
+    }
+
+    double selectivity =
+        numVectors == 0 ? 0 : Math.min(1, (double) filterMatches / numVectors);
+    Optional<Integer> postFilterCandidates = postFilterCandidates(numCandidates, selectivity);
+    Optional<Double> postFilterCost =
+        postFilterCandidates.map(
+            candidates -> {
+              @Var double cost = 0;
+              for (int vectors : leafVectors) {
+                if (vectors > 0) {
+                  cost += costModel.graphCost(vectors, Math.min(candidates, vectors), 1);
+                }
+              }
+              return cost;
+            });
+
+    @Var VectorSearchPlanSpec.Strategy strategy =
+        exactCost <= filteredHnswCost
+            ? VectorSearchPlanSpec.Strategy.EXACT
+            : VectorSearchPlanSpec.Strategy.FILTERED_HNSW;
+    if (postFilterCost.isPresent()
+        && postFilterCost.get() < Math.min(exactCost, filteredHnswCost)) {
+      strategy = VectorSearchPlanSpec.Strategy.HNSW_POST_FILTER;
+    }
+
+    return new VectorSearchPlanSpec(
+        strategy,
+        strategy == VectorSearchPlanSpec.Strategy.HNSW_POST_FILTER
+            ? postFilterCandidates.get()
+            : numCandidates,
+        numVectors,
+        filterMatches,
+        exactCost,
+        filteredHnswCost,
+        postFilterCost,
+        Optional.empty(),
+        Optional.empty());
+  }
+
+  /**
+   * Returns the number of unfiltered candidates to fetch so that, in expectation, {@code
+   * numCandidates} of them pass a filter of the given selectivity, or empty if the filter is too
+   * selective to post-filter.
+   */
+  @VisibleForTesting
+  static Optional<Integer> postFilterCandidates(int numCandidates, double selectivity) {
+    if (selectivity < MIN_POST_FILTER_SELECTIVITY) {
+      return Optional.empty();
+    }
+    double candidates = Math.ceil(numCandidates * POST_FILTER_OVERFETCH_MARGIN / selectivity);
+    return Optional.of((int) Math.min(candidates, Integer.MAX_VALUE));
+  }
+
+  private long estimateFilterMatches(Weight filterWeight, Query filter, LeafReaderContext leaf)
+      throws IOException {
+    @Nullable
+    IndexReader.CacheHelper cacheHelper = leaf.reader().getCoreCacheHelper();
+    if (cacheHelper == null) {
+      return countFilterMatches(filterWeight, leaf);
+    }
+
+    FilterEstimateKey key = new FilterEstimateKey(cacheHelper.getKey(), filter);
+    @Nullable Long cached = this.filterEstimates.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    long count = countFilterMatches(filterWeight, leaf);
+    this.filterEstimates.put(key, count);
+    return count;
+  }
+
+  private static long countFilterMatches(Weight filterWeight, LeafReaderContext leaf)
+      throws IOException {
+    int count = filterWeight.count(leaf);
+    if (count >= 0) {
+      return count;
+    }
+    @Nullable ScorerSupplier scorerSupplier = filterWeight.scorerSupplier(leaf);
+    return scorerSupplier == null ? 0 : Math.min(scorerSupplier.cost(), leaf.reader().maxDoc());
+  }
+
+  /**
+   * Identifies a filter within a segment. The core key ignores deletions, so estimates for a
+   * segment remain usable, as estimates, while documents are deleted from it.
+   */
+  private record FilterEstimateKey(IndexReader.CacheKey segmentKey, Query filter) {}
+}
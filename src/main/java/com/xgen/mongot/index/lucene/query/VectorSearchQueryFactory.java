@@ -1,8 +1,11 @@
 package com.xgen.mongot.index.lucene.query;
 
+import com.xgen.mongot.featureflag.Feature;
 import com.xgen.mongot.featureflag.FeatureFlags;
 import com.xgen.mongot.index.IndexMetricsUpdater;
+import com.xgen.mongot.index.definition.VectorFieldSpecification;
 import com.xgen.mongot.index.definition.VectorSimilarity;
+import com.xgen.mongot.index.lucene.explain.information.VectorSearchPlanSpec;
 import com.xgen.mongot.index.lucene.explain.knn.InstrumentableKnnByteVectorQuery;
 import com.xgen.mongot.index.lucene.explain.knn.InstrumentableKnnFloatVectorQuery;
 import com.xgen.mongot.index.lucene.explain.knn.KnnInstrumentationHelper;
@@ -12,6 +15,7 @@ import com.xgen.mongot.index.lucene.field.FieldName;
 import com.xgen.mongot.index.lucene.query.context.QueryFactoryContext;
 import com.xgen.mongot.index.lucene.query.custom.MongotKnnByteQuery;
 import com.xgen.mongot.index.lucene.query.custom.MongotKnnFloatQuery;
+import com.xgen.mongot.index.lucene.query.custom.VectorSearchCostModel;
 import com.xgen.mongot.index.lucene.query.util.MetaIdRetriever;
 import com.xgen.mongot.index.lucene.query.util.WrappedToParentBlockJoinQuery;
 import com.xgen.mongot.index.lucene.util.LuceneDocumentIdEncoder;
@@ -53,6 +57,7 @@ class VectorSearchQueryFactory {
 
   private final QueryFactoryContext factoryContext;
   private final VectorSearchFilterQueryFactory vectorSearchFilterQueryFactory;
+  private final VectorSearchPlanner planner = new VectorSearchPlanner();
 
   VectorSearchQueryFactory(
       QueryFactoryContext factoryContext,
@@ -151,7 +156,16 @@ class VectorSearchQueryFactory {
                 this.factoryContext.getMetrics());
         childQuery = switch (queryVector) {
           case FloatVector floatVector ->
-              queryCreator.query(floatVector, fieldName, numCandidates, limit, luceneFilter);
+              floatVectorQuery(
+                  queryCreator,
+                  floatVector,
+                  path,
+                  embeddedRoot,
+                  fieldName,
+                  numCandidates,
+                  limit,
+                  luceneFilter,
+                  effectiveQueryContext);
           case ByteVector byteVector ->
               queryCreator.query(byteVector, fieldName, numCandidates, limit, luceneFilter);
           case BitVector bitVector ->
@@ -221,14 +235,102 @@ class VectorSearchQueryFactory {
     return childQuery;
   }
 
+  /**
+   * Creates the query for an approximate search on a float vector field. When a filter is present
+   * and the field is indexed with an HNSW graph, the {@link VectorSearchPlanner} chooses between an
+   * exact scan, a filtered HNSW search and an over-fetched HNSW search that is post-filtered.
+   */
+  private Query floatVectorQuery(
+      ApproximateVectorQueryCreator queryCreator,
+      FloatVector vector,
+      FieldPath path,
+      Optional<FieldPath> embeddedRoot,
+      String fieldName,
+      int numCandidates,
+      int limit,
+      Optional<Query> filter,
+      SingleQueryContext queryContext)
+      throws InvalidQueryException, IOException {
+    Optional<VectorFieldSpecification.HnswOptions> hnswOptions =
+        this.factoryContext.getIndexedHnswOptions(path, embeddedRoot);
+    VectorSearchCostModel costModel =
+        hnswOptions
+            .map(options -> this.planner.getCostModel(fieldName, options.maxEdges()))
+            .orElseGet(VectorSearchCostModel::withDefaults);
+
+    if (filter.isEmpty()
+        || hnswOptions.isEmpty()
+        || !this.factoryContext.getFeatureFlags().isEnabled(Feature.VECTOR_SEARCH_PLANNER)) {
+      return queryCreator.query(vector, fieldName, numCandidates, limit, filter, costModel, false);
+    }
+
+    // Plan with the searcher that runs the query, so that the query reuses the filter weight.
+    IndexSearcher searcher =
+        queryContext
+            .getIndexSearcher()
+            .orElseGet(() -> uncachedSearcher(queryContext.getIndexReader()));
+    PlannedFilterQuery plannedFilter = PlannedFilterQuery.create(searcher, filter.get());
+    VectorSearchPlanSpec plan =
+        this.planner.plan(plannedFilter, fieldName, numCandidates, costModel);
+    queryCreator.recordPlan(plan);
+    return switch (plan.strategy()) {
+      case EXACT ->
+          queryCreator.query(
+              vector, fieldName, numCandidates, limit, Optional.of(plannedFilter), costModel, true);
+      case FILTERED_HNSW ->
+          queryCreator.query(
+              vector,
+              fieldName,
+              numCandidates,
+              limit,
+              Optional.of(plannedFilter),
+              costModel,
+              false);
+      case HNSW_POST_FILTER ->
+          new BooleanQuery.Builder()
+              .add(
+                  queryCreator.query(
+                      vector,
+                      fieldName,
+                      plan.numCandidates(),
+                      limit,
+                      Optional.empty(),
+                      costModel,
+                      false),
+                  BooleanClause.Occur.MUST)
+              .add(filter.get(), BooleanClause.Occur.FILTER)
+              .build();
+    };
+  }
+
+  /**
+   * Returns a searcher for planning queries whose searcher is unknown, which must not populate the
+   * query cache of the searcher that runs the query.
+   */
+  private static IndexSearcher uncachedSearcher(IndexReader indexReader) {
+    IndexSearcher searcher = new IndexSearcher(indexReader);
+    searcher.setQueryCache(null);
+    return searcher;
+  }
+
   private interface ApproximateVectorQueryCreator {
 
-    Query query(FloatVector vector, String field, int k, int limit, Optional<Query> filter);
+    Query query(
+        FloatVector vector,
+        String field,
+        int k,
+        int limit,
+        Optional<Query> filter,
+        VectorSearchCostModel costModel,
+        boolean forceFullScan);
 
     Query query(ByteVector vector, String field, int k, int limit, Optional<Query> filter);
 
     Query query(BitVector vector, String field, int k, int limit, Optional<Query> filter);
 
+    /** Records the plan chosen for the query, e.g. to surface it in explain output. */
+    void recordPlan(VectorSearchPlanSpec plan);
+
     static ApproximateVectorQueryCreator get(
         ApproximateVectorSearchCriteria criteria,
         String fieldName,
@@ -302,10 +404,23 @@ class VectorSearchQueryFactory {
 
       @Override
       public Query query(
-          FloatVector vector, String field, int k, int limit, Optional<Query> filter) {
+          FloatVector vector,
+          String field,
+          int k,
+          int limit,
+          Optional<Query> filter,
+          VectorSearchCostModel costModel,
+          boolean forceFullScan) {
         float[] target = vector.getFloatVector();
         return new MongotKnnFloatQuery(
-            this.metrics, this.flags, field, target, k, filter.orElse(null));
+            this.metrics,
+            this.flags,
+            field,
+            target,
+            k,
+            filter.orElse(null),
+            costModel,
+            forceFullScan);
       }
 
       @Override
@@ -320,6 +435,9 @@ class VectorSearchQueryFactory {
         byte[] target = vector.getBitVector();
         return new MongotKnnByteQuery(this.metrics, field, target, k, filter.orElse(null));
       }
+
+      @Override
+      public void recordPlan(VectorSearchPlanSpec plan) {}
     }
 
     class InstrumentableApproximateVectorQueryCreator implements ApproximateVectorQueryCreator {
@@ -342,14 +460,28 @@ class VectorSearchQueryFactory {
 
       @Override
       public Query query(
-          FloatVector vector, String field, int k, int limit, Optional<Query> filter) {
+          FloatVector vector,
+          String field,
+          int k,
+          int limit,
+          Optional<Query> filter,
+          VectorSearchCostModel costModel,
+          boolean forceFullScan) {
         float[] target = vector.getFloatVector();
         boolean filterPresent = filter.isPresent();
         KnnInstrumentationHelper instrumentationHelper =
             new KnnInstrumentationHelper(this.tracingExplainer, field, limit, filterPresent);
 
         return new InstrumentableKnnFloatVectorQuery(
-            this.metrics, this.flags, instrumentationHelper, field, target, k, filter.orElse(null));
+            this.metrics,
+            this.flags,
+            instrumentationHelper,
+            field,
+            target,
+            k,
+            filter.orElse(null),
+            costModel,
+            forceFullScan);
       }
 
       @Override
@@ -380,6 +512,11 @@ class VectorSearchQueryFactory {
             : new InstrumentableKnnByteVectorQuery(
                 this.metrics, instrumentationHelper, field, target, k);
       }
+
+      @Override
+      public void recordPlan(VectorSearchPlanSpec plan) {
+        this.tracingExplainer.setPlan(plan);
+      }
     }
   }
 
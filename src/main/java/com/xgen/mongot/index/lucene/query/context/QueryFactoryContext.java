@@ -5,6 +5,7 @@ import com.xgen.mongot.featureflag.FeatureFlags;
 import com.xgen.mongot.index.IndexMetricsUpdater;
 import com.xgen.mongot.index.definition.FieldDefinitionResolver;
 import com.xgen.mongot.index.definition.IndexDefinition;
+import com.xgen.mongot.index.definition.VectorFieldSpecification;
 import com.xgen.mongot.index.definition.VectorSimilarity;
 import com.xgen.mongot.index.definition.quantization.VectorQuantization;
 import com.xgen.mongot.index.query.InvalidQueryException;
@@ -60,6 +61,18 @@ public interface QueryFactoryContext {
   VectorQuantization getIndexedQuantization(FieldPath fieldPath, Optional<FieldPath> embeddedRoot)
       throws InvalidQueryException;
 
+  /**
+   * Resolves the HNSW graph options configured for a given vector field.
+   *
+   * @param fieldPath path of the vector field
+   * @param embeddedRoot optional root if the field is inside an embedded document
+   * @return the {@link VectorFieldSpecification.HnswOptions} of the field, or empty if the field is
+   *     not indexed with an HNSW graph
+   * @throws InvalidQueryException if the field mapping is invalid or unsupported
+   */
+  Optional<VectorFieldSpecification.HnswOptions> getIndexedHnswOptions(
+      FieldPath fieldPath, Optional<FieldPath> embeddedRoot) throws InvalidQueryException;
+
   /** Returns the metrics updater tied to the index that this query targets. */
   IndexMetricsUpdater.QueryingMetricsUpdater getMetrics();
 
@@ -206,6 +206,15 @@ public class SearchQueryFactoryContext implements QueryFactoryContext {
     return fieldDefinition.get().vectorFieldSpecification().get().quantization();
   }
 
+  @Override
+  public Optional<VectorFieldSpecification.HnswOptions> getIndexedHnswOptions(
+      FieldPath fieldPath, Optional<FieldPath> embeddedRoot) {
+    return this.fieldDefinitionResolver
+        .getFieldDefinition(fieldPath, embeddedRoot)
+        .flatMap(FieldDefinition::vectorFieldSpecification)
+        .flatMap(VectorFieldSpecification::hnswOptions);
+  }
+
   /**
    * Gets all the Lucene field names associated with a given path, including those corresponding to
    * any multi analyzers.
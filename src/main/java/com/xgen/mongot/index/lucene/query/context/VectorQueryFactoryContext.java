@@ -70,6 +70,12 @@ public class VectorQueryFactoryContext implements QueryFactoryContext {
     return resolveVectorFieldSpecification(fieldPath).quantization();
   }
 
+  @Override
+  public Optional<VectorFieldSpecification.HnswOptions> getIndexedHnswOptions(
+      FieldPath fieldPath, Optional<FieldPath> embeddedRoot) throws InvalidQueryException {
+    return resolveVectorFieldSpecification(fieldPath).hnswOptions();
+  }
+
   @Override
   public IndexMetricsUpdater.QueryingMetricsUpdater getMetrics() {
     return this.metrics;
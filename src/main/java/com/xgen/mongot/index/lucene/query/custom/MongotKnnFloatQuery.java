@@ -27,23 +27,16 @@ public class MongotKnnFloatQuery extends KnnFloatVectorQuery {
   protected final IndexMetricsUpdater.QueryingMetricsUpdater metrics;
   protected final boolean hasFilter;
   private final FeatureFlags flags;
+  private final VectorSearchCostModel costModel;
+  private final boolean forceFullScan;
 
   /**
-   * The default value of max connections for the bottom layer of the HNSW graph. We don't have
-   * access to configured HnswOptions at query time, so we select the minimum valid value, which
-   * biases the cost estimate toward HNSW search.
+   * The default value of max connections for the bottom layer of the HNSW graph, used when the
+   * configured HnswOptions are not provided. We select the minimum valid value, which biases the
+   * cost estimate toward HNSW search.
    */
   public static final double DEFAULT_M = 16;
 
-  /**
-   * This coefficient scales the estimate of work required to search the bottom layer of the graph
-   * in terms of M. A larger value of M increases fan-out, requiring more scoring per hop, but
-   * decreases the diameter of the graph, requiring fewer hops per search.
-   */
-  public static final double M_FACTOR = (DEFAULT_M - 1) / Math.log(DEFAULT_M);
-
-  private static final double FILTER_CORRELATION_COEFF = .69;
-
   /** A convenience overload for creating an unfiltered KNN query. */
   public MongotKnnFloatQuery(
       IndexMetricsUpdater.QueryingMetricsUpdater metrics, String field, float[] target, int k) {
@@ -69,10 +62,32 @@ public class MongotKnnFloatQuery extends KnnFloatVectorQuery {
       float[] target,
       int k,
       @Nullable Query filter) {
+    this(metrics, flags, field, target, k, filter, VectorSearchCostModel.withDefaults(), false);
+  }
+
+  /**
+   * Find the k nearest documents to the target vector, choosing per segment between HNSW and a full
+   * scan of the filtered documents using the supplied cost model.
+   *
+   * @param costModel - the cost model of the field, which also receives the latency of each search.
+   * @param forceFullScan - whether every filtered segment should be answered by a full scan, as
+   *     chosen by the query planner.
+   */
+  public MongotKnnFloatQuery(
+      IndexMetricsUpdater.QueryingMetricsUpdater metrics,
+      FeatureFlags flags,
+      String field,
+      float[] target,
+      int k,
+      @Nullable Query filter,
+      VectorSearchCostModel costModel,
+      boolean forceFullScan) {
     super(field, target, k, filter);
     this.metrics = metrics;
     this.flags = flags;
     this.hasFilter = filter != null;
+    this.costModel = costModel;
+    this.forceFullScan = forceFullScan;
   }
 
   boolean shouldUseFullScan(LeafReaderContext context, int visitedLimit) throws IOException {
@@ -90,23 +105,13 @@ public class MongotKnnFloatQuery extends KnnFloatVectorQuery {
     }
 
     double selectivity = fullScanCost / numVectors;
-    double hnswCost = expectedVectorsVisited(numVectors, effectiveK, selectivity);
+    double hnswCost = this.costModel.graphCost(numVectors, effectiveK, selectivity);
 
-    return fullScanCost < hnswCost;
+    return this.costModel.scanCost(fullScanCost) < hnswCost;
   }
 
   static double expectedVectorsVisited(int n, int k, double selectivity) {
-    double expectedVectorsVisited =
-        .038 * M_FACTOR * k * Math.log(n) / Math.pow(selectivity, FILTER_CORRELATION_COEFF);
-    return expectedUniqueSamples(n, expectedVectorsVisited);
-  }
-
-  /**
-   * Returns the expected number of unique samples found when sampling `numSamples` items from a
-   * universe of `n` items.
-   */
-  static double expectedUniqueSamples(int n, double numSamples) {
-    return n * (1 - Math.exp(numSamples * Math.log1p(-1.0 / n)));
+    return VectorSearchCostModel.expectedVectorsVisited(n, k, selectivity, DEFAULT_M);
   }
 
   @Override
@@ -121,19 +126,20 @@ public class MongotKnnFloatQuery extends KnnFloatVectorQuery {
     // acceptDocs is null if there is no filter AND there are no deleted docs in the segment
 
     TopDocs result;
-    if (acceptDocs instanceof BitSet bits && shouldUseFullScan(context, visitedLimit)) {
+    if (acceptDocs instanceof BitSet bits
+        && (this.forceFullScan || shouldUseFullScan(context, visitedLimit))) {
 
       // If flag is disabled, we still do hnsw and record whether full scan would have been better.
-      if (this.flags.isEnabled(Feature.KNN_FULL_SCAN_HEURISTIC)) {
+      if (this.forceFullScan || this.flags.isEnabled(Feature.KNN_FULL_SCAN_HEURISTIC)) {
         // Note: Must not call exactSearch directly for correct explain reporting.
         return fullScanHeuristicSearch(context, new BitSetIterator(bits, visitedLimit - 1));
       } else {
-        result = super.approximateSearch(context, acceptDocs, visitedLimit, knnCollectorManager);
+        result = timedApproximateSearch(context, acceptDocs, visitedLimit, knnCollectorManager);
         this.metrics.recordFallbackHeuristicResult(result.totalHits.relation);
       }
 
     } else {
-      result = super.approximateSearch(context, acceptDocs, visitedLimit, knnCollectorManager);
+      result = timedApproximateSearch(context, acceptDocs, visitedLimit, knnCollectorManager);
     }
 
     var searchMode =
@@ -156,7 +162,9 @@ public class MongotKnnFloatQuery extends KnnFloatVectorQuery {
   protected TopDocs exactSearch(
       LeafReaderContext context, DocIdSetIterator acceptIterator, QueryTimeout queryTimeout)
       throws IOException {
+    long start = System.nanoTime();
     TopDocs result = super.exactSearch(context, acceptIterator, queryTimeout);
+    this.costModel.recordScan(result.totalHits.value, System.nanoTime() - start);
 
     // Record visited nodes - totalHits.value equals visited nodes right after exact search
     this.metrics.recordVectorSearchVisitedNodes(
@@ -171,7 +179,9 @@ public class MongotKnnFloatQuery extends KnnFloatVectorQuery {
    */
   protected TopDocs fullScanHeuristicSearch(LeafReaderContext context, BitSetIterator acceptDocs)
       throws IOException {
+    long start = System.nanoTime();
     TopDocs result = super.exactSearch(context, acceptDocs, null);
+    this.costModel.recordScan(result.totalHits.value, System.nanoTime() - start);
 
     // Record visited nodes - totalHits.value equals visited nodes right after exact search
     this.metrics.incrementKnnSearchMode(IndexMetricsUpdater.KnnSearchMode.FULL_SCAN);
@@ -180,4 +190,21 @@ public class MongotKnnFloatQuery extends KnnFloatVectorQuery {
 
     return result;
   }
+
+  /**
+   * Runs the HNSW search of a segment and feeds its latency per visited vector back into the cost
+   * model. Only the graph traversal is timed; a fallback to exact search is timed separately.
+   */
+  private TopDocs timedApproximateSearch(
+      LeafReaderContext context,
+      @Nullable Bits acceptDocs,
+      int visitedLimit,
+      KnnCollectorManager knnCollectorManager)
+      throws IOException {
+    long start = System.nanoTime();
+    TopDocs result =
+        super.approximateSearch(context, acceptDocs, visitedLimit, knnCollectorManager);
+    this.costModel.recordGraphSearch(result.totalHits.value, System.nanoTime() - start);
+    return result;
+  }
 }
@@ -0,0 +1,145 @@
+package com.xgen.mongot.index.lucene.query.custom;
+
+import static com.xgen.mongot.util.Check.checkArg;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estimates the cost of answering a KNN query against a segment, either by traversing the HNSW
+ * graph or by scoring every vector that passes the filter.
+ *
+ * <p>Costs are expressed in units of "vectors scored by a full scan". The graph cost is the
+ * expected number of vectors visited for the configured max connections (M) of the graph, scaled by
+ * how much more expensive a graph visit has been observed to be than a scan visit on this field.
+ * Until enough searches of both kinds have been observed, the two are assumed to cost the same.
+ */
+@ThreadSafe
+public class VectorSearchCostModel {
+
+  /** Weight given to a new latency observation in the moving average of nanos per visit. */
+  private static final double LATENCY_EWMA_WEIGHT = 0.05;
+
+  /** Number of observations required from both search kinds before latency feedback is used. */
+  @VisibleForTesting static final long MIN_LATENCY_SAMPLES = 16;
+
+  /**
+   * Bounds on the observed graph-to-scan cost ratio, so that a burst of noisy timings (e.g. cold
+   * pages or an unwarmed JIT) cannot push every query onto a single strategy.
+   */
+  @VisibleForTesting static final double MIN_GRAPH_TO_SCAN_RATIO = .25;
+
+  @VisibleForTesting static final double MAX_GRAPH_TO_SCAN_RATIO = 8;
+
+  private static final double FILTER_CORRELATION_COEFF = .69;
+
+  private final int maxEdges;
+  private final LatencyEstimate graphLatency = new LatencyEstimate();
+  private final LatencyEstimate scanLatency = new LatencyEstimate();
+
+  /**
+   * Creates a cost model for a graph with the given max connections per node.
+   *
+   * @param maxEdges the {@code maxEdges} (M) the HNSW graph was built with
+   */
+  public VectorSearchCostModel(int maxEdges) {
+    checkArg(maxEdges > 1, "maxEdges must be greater than 1, but was %s", maxEdges);
+    this.maxEdges = maxEdges;
+  }
+
+  /** Creates a cost model for a graph built with the minimum valid max connections. */
+  public static VectorSearchCostModel withDefaults() {
+    return new VectorSearchCostModel((int) MongotKnnFloatQuery.DEFAULT_M);
+  }
+
+  public int getMaxEdges() {
+    return this.maxEdges;
+  }
+
+  /**
+   * Returns the expected number of vectors visited by a filtered HNSW search for the top {@code k}
+   * of {@code n} vectors, where {@code selectivity} is the fraction of vectors passing the filter.
+   */
+  public double expectedGraphVisits(int n, int k, double selectivity) {
+    return expectedVectorsVisited(n, k, selectivity, this.maxEdges);
+  }
+
+  /** Returns the cost of a filtered HNSW search, in scan-visit units. */
+  public double graphCost(int n, int k, double selectivity) {
+    return expectedGraphVisits(n, k, selectivity) * getGraphToScanCostRatio();
+  }
+
+  /** Returns the cost of scoring {@code numVectors} vectors with a full scan. */
+  public double scanCost(double numVectors) {
+    return numVectors;
+  }
+
+  /**
+   * Returns how much more expensive a vector visited during graph traversal has been than a vector
+   * scored by a full scan, or 1 if not enough searches have been observed yet.
+   */
+  public double getGraphToScanCostRatio() {
+    if (this.graphLatency.samples.get() < MIN_LATENCY_SAMPLES
+        || this.scanLatency.samples.get() < MIN_LATENCY_SAMPLES) {
+      return 1;
+    }
+    return Math.clamp(
+        this.graphLatency.nanosPerVisit() / this.scanLatency.nanosPerVisit(),
+        MIN_GRAPH_TO_SCAN_RATIO,
+        MAX_GRAPH_TO_SCAN_RATIO);
+  }
+
+  /** Records a segment's HNSW search that visited {@code visited} vectors in {@code nanos}. */
+  public void recordGraphSearch(long visited, long nanos) {
+    this.graphLatency.record(visited, nanos);
+  }
+
+  /** Records a segment's full scan that scored {@code visited} vectors in {@code nanos}. */
+  public void recordScan(long visited, long nanos) {
+    this.scanLatency.record(visited, nanos);
+  }
+
+  static double expectedVectorsVisited(int n, int k, double selectivity, double maxEdges) {
+    // Scales the work required to search the bottom layer of the graph in terms of M. A larger M
+    // increases fan-out, requiring more scoring per hop, but decreases the diameter of the graph,
+    // requiring fewer hops per search.
+    double mFactor = (maxEdges - 1) / Math.log(maxEdges);
+    double expectedVectorsVisited =
+        .038 * mFactor * k * Math.log(n) / Math.pow(selectivity, FILTER_CORRELATION_COEFF);
+    return expectedUniqueSamples(n, expectedVectorsVisited);
+  }
+
+  /**
+   * Returns the expected number of unique samples found when sampling `numSamples` items from a
+   * universe of `n` items.
+   */
+  static double expectedUniqueSamples(int n, double numSamples) {
+    return n * (1 - Math.exp(numSamples * Math.log1p(-1.0 / n)));
+  }
+
+  /** A lock-free exponentially weighted moving average of nanoseconds per visited vector. */
+  private static class LatencyEstimate {
+    private final AtomicLong nanosPerVisitBits = new AtomicLong(Double.doubleToRawLongBits(0));
+    private final AtomicLong samples = new AtomicLong();
+
+    private void record(long visited, long nanos) {
+      if (visited <= 0 || nanos <= 0) {
+        return;
+      }
+      double observed = (double) nanos / visited;
+      this.samples.incrementAndGet();
+      this.nanosPerVisitBits.getAndUpdate(
+          bits -> {
+            double current = Double.longBitsToDouble(bits);
+            double updated =
+                current == 0 ? observed : current + LATENCY_EWMA_WEIGHT * (observed - current);
+            return Double.doubleToRawLongBits(updated);
+          });
+    }
+
+    private double nanosPerVisit() {
+      return Double.longBitsToDouble(this.nanosPerVisitBits.get());
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.xgen.mongot.index.lucene.query.pushdown.match;
+
+import com.xgen.mongot.index.QueryResourceUsage;
+import com.xgen.mongot.index.lucene.field.FieldName;
+import com.xgen.mongot.index.query.operators.mql.Clause;
+import com.xgen.mongot.index.query.operators.mql.CompoundClause;
+import com.xgen.mongot.index.query.operators.mql.SimpleClause;
+import com.xgen.mongot.util.BsonUtils;
+import com.xgen.mongot.util.FieldPath;
+import com.xgen.mongot.util.bson.ByteUtils;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreScorer;
+import org.apache.lucene.search.ConstantScoreWeight;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.TwoPhaseIterator;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.BytesRef;
+import org.bson.RawBsonDocument;
+
+/**
+ * Matches documents whose stored source satisfies a $match {@link Clause}, with the semantics of
+ * {@link MatchStage}.
+ *
+ * <p>Reading the stored source is expensive, so this query only verifies candidates through a
+ * {@link TwoPhaseIterator} with a high match cost, and should only be used as a filter on another
+ * query, see {@link #filter}. Lucene then reads the stored source of a document only once the
+ * document has matched every other clause.
+ *
+ * <p>The clause must only refer to stored fields: missing fields are null to $match, so clauses on
+ * unstored fields would silently evaluate as if the field was absent.
+ */
+public class StoredSourceMatchQuery extends Query {
+
+  private static final String STORED_SOURCE_FIELD =
+      FieldName.StaticField.STORED_SOURCE.getLuceneFieldName();
+
+  private static final Set<String> STORED_FIELD = Set.of(STORED_SOURCE_FIELD);
+
+  private static final RawBsonDocument EMPTY = BsonUtils.emptyDocument();
+
+  /**
+   * The cost of decompressing a stored fields block and evaluating the clause, relative to the
+   * per-document cost of the postings based iterators it is intersected with.
+   */
+  private static final float MATCH_COST = 1_000;
+
+  private final Clause clause;
+  private final MatchStage matchStage;
+
+  public StoredSourceMatchQuery(Clause clause) {
+    this.clause = clause;
+    this.matchStage = MatchStage.build(clause);
+  }
+
+  /** Returns a query matching the documents of query whose stored source satisfies the clause. */
+  public static Query filter(Query query, Clause clause) {
+    return new BooleanQuery.Builder()
+        .add(query, BooleanClause.Occur.MUST)
+        .add(new StoredSourceMatchQuery(clause), BooleanClause.Occur.FILTER)
+        .build();
+  }
+
+  /** Returns the paths that the clause refers to. */
+  public static Stream<FieldPath> paths(Clause clause) {
+    return switch (clause) {
+      case SimpleClause simpleClause -> Stream.of(simpleClause.path());
+      case CompoundClause compoundClause ->
+          compoundClause.getClauses().stream().flatMap(StoredSourceMatchQuery::paths);
+    };
+  }
+
+  @Override
+  public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) {
+    return new ConstantScoreWeight(this, boost) {
+      @Override
+      public Scorer scorer(LeafReaderContext context) throws IOException {
+        StoredFields storedFields = context.reader().storedFields();
+        @Nullable QueryResourceUsage resourceUsage = QueryResourceUsage.current().orElse(null);
+        DocIdSetIterator approximation = DocIdSetIterator.all(context.reader().maxDoc());
+        TwoPhaseIterator twoPhaseIterator =
+            new TwoPhaseIterator(approximation) {
+              @Override
+              public boolean matches() throws IOException {
+                @Nullable
+                BytesRef bytes =
+                    storedFields
+                        .document(approximation.docID(), STORED_FIELD)
+                        .getBinaryValue(STORED_SOURCE_FIELD);
+                if (resourceUsage != null) {
+                  resourceUsage.recordStoredDocument(bytes == null ? 0 : bytes.length);
+                }
+                return StoredSourceMatchQuery.this.matchStage.test(
+                    bytes == null ? EMPTY : ByteUtils.fromBytesRef(bytes));
+              }
+
+              @Override
+              public float matchCost() {
+                return MATCH_COST;
+              }
+            };
+        return new ConstantScoreScorer(this, score(), scoreMode, twoPhaseIterator);
+      }
+
+      @Override
+      public boolean isCacheable(LeafReaderContext ctx) {
+        // Caching would evaluate the clause against every document of the segment.
+        return false;
+      }
+    };
+  }
+
+  @Override
+  public void visit(QueryVisitor visitor) {
+    visitor.visitLeaf(this);
+  }
+
+  @Override
+  public String toString(String field) {
+    return "StoredSourceMatchQuery(" + this.clause.toBson() + ")";
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return sameClassAs(other)
+        && this.clause.equals(((StoredSourceMatchQuery) other).clause);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(classHash(), this.clause);
+  }
+}
@@ -1,6 +1,7 @@
 package com.xgen.mongot.index.lucene.query.pushdown.project;
 
 import com.google.common.collect.ImmutableSet;
+import com.xgen.mongot.index.QueryResourceUsage;
 import com.xgen.mongot.index.lucene.field.FieldName;
 import com.xgen.mongot.util.BsonUtils;
 import com.xgen.mongot.util.bson.ByteUtils;
@@ -21,15 +22,20 @@ class StoredSourceStrategy implements ProjectStrategy<RawBsonDocument> {
   private static final ImmutableSet<String> STORED_FIELD = ImmutableSet.of(STORED_SOURCE_FIELD);
 
   private final StoredFields reader;
+  @Nullable private final QueryResourceUsage resourceUsage;
 
   StoredSourceStrategy(IndexReader reader) throws IOException {
     this.reader = reader.storedFields();
+    this.resourceUsage = QueryResourceUsage.current().orElse(null);
   }
 
   @Override
   public RawBsonDocument project(int docId) throws IOException {
     var document = this.reader.document(docId, STORED_FIELD);
     @Nullable BytesRef bytes = document.getBinaryValue(STORED_SOURCE_FIELD);
+    if (this.resourceUsage != null) {
+      this.resourceUsage.recordStoredDocument(bytes == null ? 0 : bytes.length);
+    }
     if (bytes == null) {
       // we fall back to an empty document if the stored source is not present
       return EMPTY;
@@ -0,0 +1,100 @@
+package com.xgen.mongot.index.lucene.query.sort;
+
+import com.xgen.mongot.index.lucene.explain.explainers.SortFeatureExplainer;
+import java.io.IOException;
+import java.util.Collection;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.FilterLeafCollector;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Weight;
+
+/**
+ * Reports to the {@link SortFeatureExplainer} how many doc ids were left unvisited because a {@link
+ * org.apache.lucene.search.TopFieldCollector} terminated collection of a segment early.
+ *
+ * <p>When the query sort is a prefix of the index sort (see {@link
+ * IndexSortUtils#canBenefitFromIndexSort}), documents of a segment are visited in sort order, so
+ * once the queue is full and enough hits were counted, no later document of the segment can be
+ * competitive and the collector terminates the segment. The doc ids after the document that
+ * triggered the termination are then counted as remaining; deleted documents are not excluded.
+ */
+public class EarlyTerminationCollectorManager<C extends Collector, T>
+    implements CollectorManager<EarlyTerminationCollectorManager.EarlyTerminationCollector<C>, T> {
+
+  private final CollectorManager<C, T> collectorManager;
+  private final SortFeatureExplainer explainer;
+
+  public EarlyTerminationCollectorManager(
+      CollectorManager<C, T> collectorManager, SortFeatureExplainer explainer) {
+    this.collectorManager = collectorManager;
+    this.explainer = explainer;
+  }
+
+  @Override
+  public EarlyTerminationCollector<C> newCollector() throws IOException {
+    return new EarlyTerminationCollector<>(this.collectorManager.newCollector(), this.explainer);
+  }
+
+  @Override
+  public T reduce(Collection<EarlyTerminationCollector<C>> collectors) throws IOException {
+    return this.collectorManager.reduce(
+        collectors.stream().map(EarlyTerminationCollector::getCollector).toList());
+  }
+
+  public static class EarlyTerminationCollector<C extends Collector> implements Collector {
+    private final C collector;
+    private final SortFeatureExplainer explainer;
+
+    EarlyTerminationCollector(C collector, SortFeatureExplainer explainer) {
+      this.collector = collector;
+      this.explainer = explainer;
+    }
+
+    @Override
+    public LeafCollector getLeafCollector(LeafReaderContext context) throws IOException {
+      return new EarlyTerminationLeafCollector(
+          this.collector.getLeafCollector(context), context.reader().maxDoc(), this.explainer);
+    }
+
+    @Override
+    public ScoreMode scoreMode() {
+      return this.collector.scoreMode();
+    }
+
+    @Override
+    public void setWeight(Weight weight) {
+      this.collector.setWeight(weight);
+    }
+
+    C getCollector() {
+      return this.collector;
+    }
+  }
+
+  private static class EarlyTerminationLeafCollector extends FilterLeafCollector {
+    private final int maxDoc;
+    private final SortFeatureExplainer explainer;
+
+    EarlyTerminationLeafCollector(
+        LeafCollector leafCollector, int maxDoc, SortFeatureExplainer explainer) {
+      super(leafCollector);
+      this.maxDoc = maxDoc;
+      this.explainer = explainer;
+    }
+
+    @Override
+    public void collect(int doc) throws IOException {
+      try {
+        this.in.collect(doc);
+      } catch (CollectionTerminatedException e) {
+        // The document that triggered the termination was visited, so only later doc ids remain.
+        this.explainer.recordEarlyTermination(this.maxDoc - doc - 1);
+        throw e;
+      }
+    }
+  }
+}
@@ -28,11 +28,24 @@ class CompositeComparator extends FieldComparator<BsonValue> {
   /** Per-type comparators sorted based on their priority. */
   private final MixedFieldComparator[] comparators;
 
+  /** The sort bracket of the value in each slot. */
+  private final int[] brackets;
+
+  /**
+   * The kind of {@link MixedSortKey} held by each slot in {@link #keys}, or {@link
+   * MixedSortKey.Kind#NONE} if the slot's value is held in {@link #values}. Values of the number,
+   * date and boolean brackets are held as keys, so that copying and comparing them doesn't
+   * allocate.
+   */
+  private final MixedSortKey.Kind[] kinds;
+
+  private final long[] keys;
+
   /**
-   * Monotonically non-null elements. Null checking on elements is unnecessary due to the contract
-   * of {@link FieldComparator} methods.
+   * Monotonically non-null elements for slots of kind {@link MixedSortKey.Kind#NONE}. Null checking
+   * on these elements is unnecessary due to the contract of {@link FieldComparator} methods.
    */
-  final BsonValue[] values;
+  private final BsonValue[] values;
 
   final UserFieldSortOptions options;
 
@@ -84,15 +97,26 @@ class CompositeComparator extends FieldComparator<BsonValue> {
     this.options = options;
     this.sortOrder = options.order();
     this.values = values;
+    this.brackets = new int[values.length];
+    this.kinds = new MixedSortKey.Kind[values.length];
+    this.keys = new long[values.length];
     this.selectMultiplier = selectMultiplier;
     this.comparators = comparators;
   }
 
   @Override
   public int compare(int slot1, int slot2) {
-    BsonValue left = this.values[slot1];
-    BsonValue right = this.values[slot2];
-    return SortUtil.mqlMixedCompare(left, right, this.options.nullEmptySortPosition());
+    int bracketCompare = Integer.compare(this.brackets[slot1], this.brackets[slot2]);
+    if (bracketCompare != 0) {
+      return bracketCompare;
+    }
+    // Values of the same bracket are either both held as keys, or both held as BsonValues
+    MixedSortKey.Kind kind1 = this.kinds[slot1];
+    MixedSortKey.Kind kind2 = this.kinds[slot2];
+    if (kind1 != MixedSortKey.Kind.NONE && kind2 != MixedSortKey.Kind.NONE) {
+      return MixedSortKey.compare(kind1, this.keys[slot1], kind2, this.keys[slot2]);
+    }
+    return SortUtil.compareWithinBracketUnsafe(value(slot1), value(slot2));
   }
 
   @Override
@@ -105,7 +129,10 @@ class CompositeComparator extends FieldComparator<BsonValue> {
 
   @Override
   public BsonValue value(int slot) {
-    return this.values[slot];
+    MixedSortKey.Kind kind = this.kinds[slot];
+    return kind == MixedSortKey.Kind.NONE
+        ? this.values[slot]
+        : MixedSortKey.toBsonValue(kind, this.keys[slot]);
   }
 
   @Override
@@ -137,7 +164,7 @@ class CompositeComparator extends FieldComparator<BsonValue> {
         new CompositeLeafComparator(this, presentChildren, reader);
     if (this.bottomSlot != BRACKET_NOT_SET) {
       // Bottom was set during previous segment, inform comparator
-      leafComparator.informBottom(this.values[this.bottomSlot]);
+      leafComparator.informBottomSlot(this.bottomSlot);
     } else if (this.topBracket != BRACKET_NOT_SET) {
       leafComparator.updateCompetitiveIterator();
     }
@@ -153,6 +180,33 @@ class CompositeComparator extends FieldComparator<BsonValue> {
     return this.singleSort;
   }
 
+  /** Copies a value into the slot. */
+  void setValue(int slot, BsonValue value) {
+    this.brackets[slot] =
+        SortUtil.getBracketPriority(value.getBsonType(), this.options.nullEmptySortPosition());
+    this.kinds[slot] = MixedSortKey.Kind.NONE;
+    this.values[slot] = value;
+  }
+
+  /** Copies a value held as a {@link MixedSortKey} of the given bracket into the slot. */
+  void setKey(int slot, int bracket, MixedSortKey.Kind kind, long key) {
+    this.brackets[slot] = bracket;
+    this.kinds[slot] = kind;
+    this.keys[slot] = key;
+  }
+
+  int getBracket(int slot) {
+    return this.brackets[slot];
+  }
+
+  MixedSortKey.Kind getKind(int slot) {
+    return this.kinds[slot];
+  }
+
+  long getKey(int slot) {
+    return this.keys[slot];
+  }
+
   /**
    * Called by a leaf comparator when Lucene informs a leaf of a new weakest element. We need to
    * store this value here to use across segments.
@@ -27,6 +27,9 @@ class CompositeLeafComparator implements LeafFieldComparator {
   private final MixedLeafFieldComparator[] children;
   private final int[] bracketEnds;
 
+  /** Whether the span of children starting at each index can be copied as a key. */
+  private final boolean[] spanHasKeys;
+
   /** The sort bracket used for null and missing. */
   private final int nullBracket;
 
@@ -65,6 +68,10 @@ class CompositeLeafComparator implements LeafFieldComparator {
               ? this.bracketEnds[i + 1]
               : i + 1;
     }
+    this.spanHasKeys = new boolean[this.children.length];
+    for (int i = 0; i < this.children.length; ++i) {
+      this.spanHasKeys[i] = hasKeys(i);
+    }
     this.orderMultiplier = parent.getOrder().isReverse() ? -1 : 1;
     this.mostCompetitiveChild =
         this.orderMultiplier == parent.selectMultiplier
@@ -77,15 +84,37 @@ class CompositeLeafComparator implements LeafFieldComparator {
   public void setBottom(int slot) throws IOException {
     // Called by Lucene's TopFieldCollector
     this.parent.cacheBottomSlot(slot);
-    informBottom(this.parent.value(slot));
+    informBottomSlot(slot);
   }
 
   /**
-   * Called indirectly by Lucene upon a new bottom value. Also, called directly by parent after
-   * instantiation.
+   * Called indirectly by Lucene upon a new bottom slot. Also, called directly by parent after
+   * instantiation. Bottoms held as a {@link MixedSortKey} are passed to children without
+   * allocating a BsonValue.
    */
+  void informBottomSlot(int slot) throws IOException {
+    MixedSortKey.Kind kind = this.parent.getKind(slot);
+    if (kind == MixedSortKey.Kind.NONE) {
+      informBottom(this.parent.value(slot));
+      return;
+    }
+
+    int oldBottomBracket = this.bottomBracket;
+    this.bottomBracket = this.parent.getBracket(slot);
+    long key = this.parent.getKey(slot);
+    for (MixedLeafFieldComparator c : this.children) {
+      if (this.bottomBracket == c.getBracketPriority()) {
+        c.notifyNewBottom(kind, key);
+      }
+    }
+
+    if (oldBottomBracket != this.bottomBracket) {
+      updateCompetitiveIterator();
+    }
+  }
+
+  /** Informs the children of a new bottom value. */
   void informBottom(BsonValue bottom) throws IOException {
-    // Maybe called by parent after init
     int oldBottomBracket = this.bottomBracket;
     this.bottomBracket =
         SortUtil.getBracketPriority(
@@ -197,6 +226,42 @@ class CompositeLeafComparator implements LeafFieldComparator {
     return value;
   }
 
+  /**
+   * Like {@link #getValueFromSpan(int, int)}, but for a bracket whose values are held as {@link
+   * MixedSortKey}s, copying the selected key into the slot without allocating.
+   */
+  private void copyKeyFromSpan(int slot, int doc, int spanStart) throws IOException {
+    int end = this.bracketEnds[spanStart];
+    boolean selectMin = this.parent.options.selector() == SortSelector.MIN;
+    MixedLeafFieldComparator first = this.children[spanStart];
+    @Var MixedSortKey.Kind kind = first.getKeyKind();
+    @Var long key = first.getCurrentKey();
+
+    for (int i = spanStart + 1; i < end; ++i) {
+      MixedLeafFieldComparator child = this.children[i];
+      if (child.hasValue(doc)) {
+        MixedSortKey.Kind candidateKind = child.getKeyKind();
+        long candidateKey = child.getCurrentKey();
+        int cmp = MixedSortKey.compare(candidateKind, candidateKey, kind, key);
+        if (selectMin ? cmp < 0 : cmp > 0) {
+          kind = candidateKind;
+          key = candidateKey;
+        }
+      }
+    }
+    this.parent.setKey(slot, first.getBracketPriority(), kind, key);
+  }
+
+  /** Whether every child of the span starting at {@code spanStart} reads {@link MixedSortKey}s. */
+  private boolean hasKeys(int spanStart) {
+    for (int i = spanStart; i < this.bracketEnds[spanStart]; ++i) {
+      if (this.children[i].getKeyKind() == MixedSortKey.Kind.NONE) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public int compareTop(int doc) throws IOException {
     int topBracket = this.parent.getTopBracket();
@@ -222,12 +287,16 @@ class CompositeLeafComparator implements LeafFieldComparator {
   public void copy(int slot, int doc) throws IOException {
     for (int i = 0; i < this.children.length; ++i) {
       if (this.children[i].hasValue(doc)) {
-        this.parent.values[slot] = getValueFromSpan(doc, i);
+        if (this.spanHasKeys[i]) {
+          copyKeyFromSpan(slot, doc, i);
+        } else {
+          this.parent.setValue(slot, getValueFromSpan(doc, i));
+        }
         return;
       }
     }
-    this.parent.values[slot] =
-        this.parent.options.nullEmptySortPosition().getNullMissingSortValue();
+    this.parent.setValue(
+        slot, this.parent.options.nullEmptySortPosition().getNullMissingSortValue());
   }
 
   /**
@@ -69,9 +69,26 @@ class MixedBooleanLeafComparator implements MixedLeafFieldComparator {
     return BsonBoolean.valueOf(this.dv.ordValue() == this.trueOrd);
   }
 
+  @Override
+  public MixedSortKey.Kind getKeyKind() {
+    return MixedSortKey.Kind.BOOLEAN;
+  }
+
+  @Override
+  public long getCurrentKey() throws IOException {
+    // called after hasValue returns true
+    return this.dv.ordValue() == this.trueOrd ? 1 : 0;
+  }
+
   @Override
   public void notifyNewBottom(BsonValue bottom) throws IOException {
     // Invariant: ord(false) = ord(true) - 1
     this.bottomOrd = bottom.asBoolean().getValue() ? this.trueOrd : this.trueOrd - 1;
   }
+
+  @Override
+  public void notifyNewBottom(MixedSortKey.Kind kind, long key) {
+    // Invariant: ord(false) = ord(true) - 1
+    this.bottomOrd = key != 0 ? this.trueOrd : this.trueOrd - 1;
+  }
 }
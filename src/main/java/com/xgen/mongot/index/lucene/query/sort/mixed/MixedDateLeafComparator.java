@@ -58,8 +58,23 @@ class MixedDateLeafComparator implements MixedLeafFieldComparator {
     return new BsonDateTime(this.curr);
   }
 
+  @Override
+  public MixedSortKey.Kind getKeyKind() {
+    return MixedSortKey.Kind.DATE_TIME;
+  }
+
+  @Override
+  public long getCurrentKey() {
+    return this.curr;
+  }
+
   @Override
   public void notifyNewBottom(BsonValue bottom) {
     this.bottom = bottom.asDateTime().getValue();
   }
+
+  @Override
+  public void notifyNewBottom(MixedSortKey.Kind kind, long key) {
+    this.bottom = key;
+  }
 }
@@ -2,11 +2,8 @@ package com.xgen.mongot.index.lucene.query.sort.mixed;
 
 import com.xgen.mongot.index.lucene.util.LuceneDoubleConversionUtils;
 import com.xgen.mongot.index.query.sort.NullEmptySortPosition;
-import java.io.IOException;
 import org.apache.lucene.index.NumericDocValues;
-import org.bson.BsonDouble;
 import org.bson.BsonType;
-import org.bson.BsonValue;
 
 /**
  * A LeafComparator that reads doubles from DocValues but is able to compare them to other types
@@ -27,7 +24,12 @@ class MixedDoubleLeafComparator extends MixedNumericLeafComparator {
   }
 
   @Override
-  public BsonValue getCurrentValue() throws IOException {
-    return new BsonDouble(LuceneDoubleConversionUtils.fromMqlSortableLong(this.dv.longValue()));
+  public MixedSortKey.Kind getKeyKind() {
+    return MixedSortKey.Kind.DOUBLE;
+  }
+
+  @Override
+  long toKey(long docValue) {
+    return Double.doubleToRawLongBits(LuceneDoubleConversionUtils.fromMqlSortableLong(docValue));
   }
 }
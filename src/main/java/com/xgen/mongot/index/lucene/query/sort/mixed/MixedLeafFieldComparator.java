@@ -64,4 +64,31 @@ interface MixedLeafFieldComparator {
    * of this comparator.
    */
   void notifyNewBottom(BsonValue bottom) throws IOException;
+
+  /**
+   * Returns the kind of {@link MixedSortKey} that encodes the values of this column, or {@link
+   * MixedSortKey.Kind#NONE} if they can only be read as BsonValues.
+   */
+  default MixedSortKey.Kind getKeyKind() {
+    return MixedSortKey.Kind.NONE;
+  }
+
+  /**
+   * Reads the current docValue as a {@link MixedSortKey} of {@link #getKeyKind()}, without
+   * allocating.
+   *
+   * <p>This function is only called if {@link #hasValue(int)} returned true, and {@link
+   * #getKeyKind()} is not {@link MixedSortKey.Kind#NONE}.
+   */
+  default long getCurrentKey() throws IOException {
+    throw new UnsupportedOperationException("Column has no primitive sort key");
+  }
+
+  /**
+   * Like {@link #notifyNewBottom(BsonValue)}, for a bottom held as a {@link MixedSortKey}.
+   * Implementations that compare primitives override this to avoid decoding the bottom.
+   */
+  default void notifyNewBottom(MixedSortKey.Kind kind, long key) throws IOException {
+    notifyNewBottom(MixedSortKey.toBsonValue(kind, key));
+  }
 }
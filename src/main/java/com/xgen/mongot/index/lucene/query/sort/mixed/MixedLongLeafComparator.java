@@ -1,11 +1,8 @@
 package com.xgen.mongot.index.lucene.query.sort.mixed;
 
 import com.xgen.mongot.index.query.sort.NullEmptySortPosition;
-import java.io.IOException;
 import org.apache.lucene.index.NumericDocValues;
-import org.bson.BsonInt64;
 import org.bson.BsonType;
-import org.bson.BsonValue;
 
 /**
  * LeafComparator that reads longs from DocValues values but is able to compare them to other
@@ -20,7 +17,12 @@ class MixedLongLeafComparator extends MixedNumericLeafComparator {
   }
 
   @Override
-  public BsonValue getCurrentValue() throws IOException {
-    return new BsonInt64(this.dv.longValue());
+  public MixedSortKey.Kind getKeyKind() {
+    return MixedSortKey.Kind.INT64;
+  }
+
+  @Override
+  long toKey(long docValue) {
+    return docValue;
   }
 }
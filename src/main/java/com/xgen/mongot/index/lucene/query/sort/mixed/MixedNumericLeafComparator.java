@@ -5,25 +5,38 @@ import org.apache.lucene.index.NumericDocValues;
 import org.bson.BsonValue;
 
 /**
- * A LeafComparator that reads from {@link NumericDocValues}. Works for any fixed sized type but is
- * not necessarily the most efficient implementation since it relies on allocating BsonValues for
- * comparison.
+ * A LeafComparator that reads from {@link NumericDocValues}. Top, bottom and current values are
+ * held as {@link MixedSortKey}s, so that comparisons within the number bracket don't allocate
+ * BsonValues.
  */
 abstract class MixedNumericLeafComparator implements MixedLeafFieldComparator {
 
   private final int priority;
   protected final NumericDocValues dv;
 
-  protected final BsonValue top;
+  private final MixedSortKey.Kind topKind;
+  private final long topKey;
 
-  protected BsonValue bottom;
+  private MixedSortKey.Kind bottomKind = MixedSortKey.Kind.NONE;
+  private long bottomKey;
 
   MixedNumericLeafComparator(CompositeComparator parent, NumericDocValues dv, int bracket) {
     this.dv = dv;
     this.priority = bracket;
-    this.top = parent.getTop();
+    // top value is irrelevant if top is not in same bracket.
+    if (parent.getTopBracket() == bracket) {
+      BsonValue top = parent.getTop();
+      this.topKind = MixedSortKey.kindOf(top);
+      this.topKey = MixedSortKey.keyOf(top);
+    } else {
+      this.topKind = MixedSortKey.Kind.NONE;
+      this.topKey = 0;
+    }
   }
 
+  /** Decodes a value of this column into a {@link MixedSortKey} of {@link #getKeyKind()}. */
+  abstract long toKey(long docValue);
+
   @Override
   public int getBracketPriority() {
     return this.priority;
@@ -34,25 +47,36 @@ abstract class MixedNumericLeafComparator implements MixedLeafFieldComparator {
     return this.dv.advanceExact(doc);
   }
 
+  @Override
+  public long getCurrentKey() throws IOException {
+    return toKey(this.dv.longValue());
+  }
+
+  @Override
+  public BsonValue getCurrentValue() throws IOException {
+    return MixedSortKey.toBsonValue(getKeyKind(), getCurrentKey());
+  }
+
   @Override
   public void notifyNewBottom(BsonValue bottom) {
-    this.bottom = bottom;
+    notifyNewBottom(MixedSortKey.kindOf(bottom), MixedSortKey.keyOf(bottom));
+  }
+
+  @Override
+  public void notifyNewBottom(MixedSortKey.Kind kind, long key) {
+    this.bottomKind = kind;
+    this.bottomKey = key;
   }
 
   @Override
   public int compareBottomToCurrent() throws IOException {
     // Called after hasValue(doc) returns true
-    return compareWithinBracket(this.bottom);
+    return MixedSortKey.compare(this.bottomKind, this.bottomKey, getKeyKind(), getCurrentKey());
   }
 
   @Override
   public int compareTopToCurrent() throws IOException {
     // Called after hasValue returns true
-    return compareWithinBracket(this.top);
-  }
-
-  private int compareWithinBracket(BsonValue left) throws IOException {
-    // TODO(CLOUDP-210522): We could avoid allocations here if BsonNumberUtils handled NaNs properly
-    return SortUtil.compareWithinBracketUnsafe(left, this.getCurrentValue());
+    return MixedSortKey.compare(this.topKind, this.topKey, getKeyKind(), getCurrentKey());
   }
 }
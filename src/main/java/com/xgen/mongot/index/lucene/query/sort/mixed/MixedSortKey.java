@@ -0,0 +1,93 @@
+package com.xgen.mongot.index.lucene.query.sort.mixed;
+
+import org.bson.BsonBoolean;
+import org.bson.BsonDateTime;
+import org.bson.BsonDouble;
+import org.bson.BsonInt64;
+import org.bson.BsonValue;
+
+/**
+ * Encodes values of the number, date and boolean sort brackets as a {@link Kind} and a long, so
+ * that they can be copied into the sort queue and compared without allocating BsonValues.
+ *
+ * <p>Keys of the same bracket compare exactly like {@link SortUtil#compareWithinBracketUnsafe}
+ * compares the BsonValues they encode: two int64s compare as longs, while an int64 and a double
+ * compare as doubles, with NaN sorting lowest.
+ */
+final class MixedSortKey {
+
+  enum Kind {
+    /** The value has no primitive encoding, and must be compared as a BsonValue. */
+    NONE,
+    /** The key is the value of an int64. */
+    INT64,
+    /** The key is the raw bits of a double, see {@link Double#doubleToRawLongBits(double)}. */
+    DOUBLE,
+    /** The key is the milliseconds since the epoch of a date. */
+    DATE_TIME,
+    /** The key is 1 for true, and 0 for false. */
+    BOOLEAN
+  }
+
+  private MixedSortKey() {}
+
+  /**
+   * Returns the kind of key that encodes the value, or {@link Kind#NONE}.
+   *
+   * @throws UnsupportedOperationException for a DECIMAL128, which a double cannot hold exactly and
+   *     which {@link SortUtil#compareWithinBracketUnsafe} does not support either
+   */
+  static Kind kindOf(BsonValue value) {
+    return switch (value.getBsonType()) {
+      case INT32, INT64 -> Kind.INT64;
+      case DOUBLE -> Kind.DOUBLE;
+      case DECIMAL128 ->
+          throw new UnsupportedOperationException(
+              String.format("BsonType %s is not yet support in sort", value.getBsonType()));
+      case DATE_TIME -> Kind.DATE_TIME;
+      case BOOLEAN -> Kind.BOOLEAN;
+      default -> Kind.NONE;
+    };
+  }
+
+  /** Returns the key of the value, which must be of a kind other than {@link Kind#NONE}. */
+  static long keyOf(BsonValue value) {
+    return switch (kindOf(value)) {
+      case INT64 -> value.asNumber().longValue();
+      case DOUBLE -> Double.doubleToRawLongBits(value.asNumber().doubleValue());
+      case DATE_TIME -> value.asDateTime().getValue();
+      case BOOLEAN -> value.asBoolean().getValue() ? 1 : 0;
+      case NONE ->
+          throw new IllegalArgumentException(
+              "BsonType has no primitive sort key: " + value.getBsonType());
+    };
+  }
+
+  /** Decodes a key back into the BsonValue it encodes. */
+  static BsonValue toBsonValue(Kind kind, long key) {
+    return switch (kind) {
+      case INT64 -> new BsonInt64(key);
+      case DOUBLE -> new BsonDouble(Double.longBitsToDouble(key));
+      case DATE_TIME -> new BsonDateTime(key);
+      case BOOLEAN -> BsonBoolean.valueOf(key != 0);
+      case NONE -> throw new IllegalArgumentException("Cannot decode a key of kind NONE");
+    };
+  }
+
+  /**
+   * Compares two keys from the same sort bracket.
+   *
+   * @return a negative value if left is lower, 0 if they are equal, a positive value otherwise
+   */
+  static int compare(Kind leftKind, long left, Kind rightKind, long right) {
+    if (leftKind == rightKind && leftKind != Kind.DOUBLE) {
+      return Long.compare(left, right);
+    }
+    // Within the number bracket, an int64 is promoted to a double when compared to a double.
+    return SortUtil.mqlDoubleCompare(toDouble(leftKind, left), toDouble(rightKind, right));
+  }
+
+  private static double toDouble(Kind kind, long key) {
+    return kind == Kind.DOUBLE ? Double.longBitsToDouble(key) : key;
+  }
+}
@@ -0,0 +1,69 @@
+package com.xgen.mongot.index.lucene.searcher;
+
+import com.xgen.mongot.index.QueryResourceUsage;
+import java.io.IOException;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.FilterLeafCollector;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Weight;
+
+/**
+ * Counts the documents passed to a collector into the {@link QueryResourceUsage} of a query. Counts
+ * are kept per segment and only added to the usage once the segment is finished.
+ */
+class DocsScannedCollector implements Collector {
+
+  private final Collector collector;
+  private final QueryResourceUsage usage;
+
+  DocsScannedCollector(Collector collector, QueryResourceUsage usage) {
+    this.collector = collector;
+    this.usage = usage;
+  }
+
+  @Override
+  public LeafCollector getLeafCollector(LeafReaderContext context) throws IOException {
+    return new DocsScannedLeafCollector(this.collector.getLeafCollector(context), this.usage);
+  }
+
+  @Override
+  public ScoreMode scoreMode() {
+    return this.collector.scoreMode();
+  }
+
+  @Override
+  public void setWeight(Weight weight) {
+    this.collector.setWeight(weight);
+  }
+
+  private static class DocsScannedLeafCollector extends FilterLeafCollector {
+    private final QueryResourceUsage usage;
+    private long docsScanned;
+
+    DocsScannedLeafCollector(LeafCollector leafCollector, QueryResourceUsage usage) {
+      super(leafCollector);
+      this.usage = usage;
+    }
+
+    @Override
+    public void collect(int doc) throws IOException {
+      this.docsScanned++;
+      this.in.collect(doc);
+    }
+
+    @Override
+    public DocIdSetIterator competitiveIterator() throws IOException {
+      // Keep skipping non-competitive documents as the wrapped collector would.
+      return this.in.competitiveIterator();
+    }
+
+    @Override
+    public void finish() throws IOException {
+      this.usage.recordDocsScanned(this.docsScanned);
+      this.in.finish();
+    }
+  }
+}
@@ -2,18 +2,44 @@ package com.xgen.mongot.index.lucene.searcher;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.errorprone.annotations.Var;
 import com.xgen.mongot.index.IndexMetricsUpdater;
+import com.xgen.mongot.index.QueryResourceUsage;
 import com.xgen.mongot.index.lucene.facet.TokenFacetsStateCache;
 import com.xgen.mongot.index.lucene.field.FieldName;
 import com.xgen.mongot.util.Check;
 import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
 import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
 import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.BulkScorer;
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.FieldExistsQuery;
+import org.apache.lucene.search.IndexOrDocValuesQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.LeafCollector;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PointRangeQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Scorable;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.Weight;
 import org.apache.lucene.search.similarities.Similarity;
 
 /**
@@ -23,10 +49,23 @@ import org.apache.lucene.search.similarities.Similarity;
  */
 public class LuceneIndexSearcher extends IndexSearcher {
 
+  /** The maximum number of queries whose counts are cached per reader. */
+  @VisibleForTesting static final int MAX_CACHED_COUNTS = 256;
+
+  /** Returned by {@link Weight#count} for segments that cannot count a query cheaply. */
+  private static final int UNKNOWN_COUNT = -1;
+
   private final Optional<SortedSetDocValuesReaderState> facetsState;
   private final Optional<TokenFacetsStateCache> tokenFacetsStateCache;
   private final FieldToSortableTypesMapping fieldToSortableTypesMapping;
 
+  /**
+   * Counts of recently counted queries, shared with copies of this searcher as they search the same
+   * reader. Dropped together with the reader on refresh, as counts change with every reader
+   * generation.
+   */
+  private final Cache<Query, Integer> counts;
+
   @VisibleForTesting
   public static LuceneIndexSearcher create(
       IndexReader newReader,
@@ -113,6 +152,7 @@ public class LuceneIndexSearcher extends IndexSearcher {
     this.fieldToSortableTypesMapping = fieldToSortableTypesMapping;
     this.facetsState = facetsState;
     this.tokenFacetsStateCache = tokenFacetsStateCache;
+    this.counts = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_COUNTS).build();
   }
 
   /**
@@ -127,6 +167,7 @@ public class LuceneIndexSearcher extends IndexSearcher {
     this.facetsState = other.facetsState;
     this.fieldToSortableTypesMapping = other.fieldToSortableTypesMapping;
     this.tokenFacetsStateCache = other.tokenFacetsStateCache;
+    this.counts = other.counts;
     Check.argIsNull(other.getExecutor(), "executor");
   }
 
@@ -141,6 +182,7 @@ public class LuceneIndexSearcher extends IndexSearcher {
     this.facetsState = other.facetsState;
     this.fieldToSortableTypesMapping = other.fieldToSortableTypesMapping;
     this.tokenFacetsStateCache = other.tokenFacetsStateCache;
+    this.counts = other.counts;
     Check.argNotNull(executor, "executor");
   }
 
@@ -233,6 +275,20 @@ public class LuceneIndexSearcher extends IndexSearcher {
     }
   }
 
+  /**
+   * Counts the documents collected into the {@link QueryResourceUsage} of the query, if tracked.
+   * This is called for every slice of the index, including on the concurrent search executor.
+   */
+  @Override
+  protected void search(List<LeafReaderContext> leaves, Weight weight, Collector collector)
+      throws IOException {
+    Optional<QueryResourceUsage> usage = QueryResourceUsage.current();
+    super.search(
+        leaves,
+        weight,
+        usage.isPresent() ? new DocsScannedCollector(collector, usage.get()) : collector);
+  }
+
   /**
    * Returns fieldsToSortableTypes, which is in sync with corresponding {@link IndexReader}.
    * fieldToSortableTypes is a mapping of fieldPath -> the names of all sortable data types present
@@ -254,4 +310,100 @@ public class LuceneIndexSearcher extends IndexSearcher {
   public Optional<TokenFacetsStateCache> getTokenFacetsStateCache() {
     return this.tokenFacetsStateCache;
   }
+
+  /**
+   * Returns the exact number of documents matching the query, if it is made of queries that rewrite
+   * cheaply and that segments can usually count from their statistics: term, match all, exists and
+   * point range queries, and boolean combinations of them. See {@link
+   * Weight#count(LeafReaderContext)}. Segments that cannot count the query this way, for instance
+   * because of deletions, iterate its matches without scoring them.
+   *
+   * <p>A concurrent searcher counts its slices on its executor, like a search. Counts are cached
+   * per query until the reader is refreshed, so repeated queries don't even need to create a
+   * Weight.
+   */
+  public OptionalInt countWithoutCollecting(Query query) throws IOException {
+    if (!isCheaplyCountable(query)) {
+      return OptionalInt.empty();
+    }
+    @Nullable Integer cached = this.counts.getIfPresent(query);
+    if (cached != null) {
+      return OptionalInt.of(cached);
+    }
+    Weight weight =
+        createWeight(rewrite(new ConstantScoreQuery(query)), ScoreMode.COMPLETE_NO_SCORES, 1);
+    @Var int total = 0;
+    if (getExecutor() == null) {
+      total = countLeaves(weight, getIndexReader().leaves());
+    } else {
+      List<Callable<Integer>> tasks = new ArrayList<>();
+      for (LeafSlice slice : getSlices()) {
+        tasks.add(() -> countLeaves(weight, List.of(slice.leaves)));
+      }
+      for (int count : getTaskExecutor().invokeAll(tasks)) {
+        total += count;
+      }
+    }
+    this.counts.put(query, total);
+    return OptionalInt.of(total);
+  }
+
+  /**
+   * Whether the query is only made of queries whose rewrite does not expand terms, unlike wildcard
+   * or fuzzy queries, so that rewriting it again for counting adds little to the search.
+   */
+  private static boolean isCheaplyCountable(Query query) {
+    if (query instanceof ConstantScoreQuery constantScoreQuery) {
+      return isCheaplyCountable(constantScoreQuery.getQuery());
+    }
+    if (query instanceof BoostQuery boostQuery) {
+      return isCheaplyCountable(boostQuery.getQuery());
+    }
+    if (query instanceof BooleanQuery booleanQuery) {
+      return booleanQuery.clauses().stream()
+          .map(BooleanClause::getQuery)
+          .allMatch(LuceneIndexSearcher::isCheaplyCountable);
+    }
+    return query instanceof TermQuery
+        || query instanceof MatchAllDocsQuery
+        || query instanceof FieldExistsQuery
+        || query instanceof PointRangeQuery
+        || query instanceof IndexOrDocValuesQuery;
+  }
+
+  private static int countLeaves(Weight weight, List<LeafReaderContext> leaves)
+      throws IOException {
+    @Var int total = 0;
+    for (LeafReaderContext leaf : leaves) {
+      total += countLeaf(weight, leaf);
+    }
+    return total;
+  }
+
+  private static int countLeaf(Weight weight, LeafReaderContext leaf) throws IOException {
+    int count = weight.count(leaf);
+    if (count != UNKNOWN_COUNT) {
+      return count;
+    }
+    @Nullable BulkScorer bulkScorer = weight.bulkScorer(leaf);
+    if (bulkScorer == null) {
+      return 0;
+    }
+    LeafHitCounter counter = new LeafHitCounter();
+    bulkScorer.score(counter, leaf.reader().getLiveDocs());
+    return counter.count;
+  }
+
+  /** Counts the live hits of a leaf without scoring them. */
+  private static class LeafHitCounter implements LeafCollector {
+    private int count;
+
+    @Override
+    public void setScorer(Scorable scorer) {}
+
+    @Override
+    public void collect(int doc) {
+      this.count++;
+    }
+  }
 }
@@ -18,6 +18,15 @@ public class FieldTypeBuilder {
     return this;
   }
 
+  public FieldTypeBuilder withTermVectors(StringFieldDefinition.TermVectorOptions value) {
+    boolean withPositionsOffsets =
+        value == StringFieldDefinition.TermVectorOptions.WITH_POSITIONS_OFFSETS;
+    this.fieldType.setStoreTermVectors(withPositionsOffsets);
+    this.fieldType.setStoreTermVectorPositions(withPositionsOffsets);
+    this.fieldType.setStoreTermVectorOffsets(withPositionsOffsets);
+    return this;
+  }
+
   public FieldTypeBuilder tokenized(boolean value) {
     this.fieldType.setTokenized(value);
     return this;
@@ -88,6 +88,11 @@ public class MultiLuceneIndexWriter implements LuceneIndexWriter {
     }
   }
 
+  @Override
+  public boolean hasUncommittedChanges() {
+    return this.indexWriters.stream().anyMatch(SingleLuceneIndexWriter::hasUncommittedChanges);
+  }
+
   @Override
   public EncodedUserData getCommitUserData() {
     // Only returns the userData from the first LuceneIndexWriter. The userData from other
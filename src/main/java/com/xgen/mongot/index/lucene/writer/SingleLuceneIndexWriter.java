@@ -355,6 +355,14 @@ public class SingleLuceneIndexWriter implements LuceneIndexWriter {
     }
   }
 
+  @Override
+  public boolean hasUncommittedChanges() {
+    try (LockGuard ignored = LockGuard.with(this.shutdownSharedLock)) {
+      ensureOpen("hasUncommittedChanges");
+      return this.luceneWriter.hasUncommittedChanges();
+    }
+  }
+
   public LuceneCommitData.IndexWriterData getInternalWriterData() {
     try (LockGuard ignored = LockGuard.with(this.shutdownSharedLock)) {
       ensureOpen("getInternalWriterData");
@@ -571,6 +579,8 @@ public class SingleLuceneIndexWriter implements LuceneIndexWriter {
               .autoEmbeddings(event.getAutoEmbeddings())
               .customVectorEngineId(event.getCustomVectorEngineId())
               .fieldPathsToFilterOut(this.fieldPathsToFilterOut)
+              // The document block is indexed before this method returns.
+              .reuseDocumentBuilders(true)
               .build();
       DocumentBlockBuilder builder = this.indexingPolicy.createBuilder(encodedDocumentId, context);
       BsonDocumentProcessor.process(document, builder);
@@ -589,12 +599,15 @@ public class SingleLuceneIndexWriter implements LuceneIndexWriter {
       // commits might include events from a new batch, while resume token in CommitUserData
       // is from the previous (fully processed) batch. If we were simply to call addDocument for an
       // insert, in this situation we would end up having multiple documents in lucene with the same
-      // _id. One future optimization could be to denote in the DocumentEvent whether or not it's
-      // possible that this is a re-insert (i.e. we're still not up to minValidOpTime), and then
-      // call addDocument when we know it's safe.
+      // _id. Inserts that are known not to be re-inserts (i.e. read by the collection scan of a
+      // fresh initial sync) skip the _id lookup of the delete and are appended instead.
       try {
-        this.luceneWriter.updateDocuments(
-            LuceneDocumentIdEncoder.documentIdTerm(encodedDocumentId), documentBlock);
+        if (event.getEventType() == DocumentEvent.EventType.INSERT && event.isGuaranteedNew()) {
+          this.luceneWriter.addDocuments(documentBlock);
+        } else {
+          this.luceneWriter.updateDocuments(
+              LuceneDocumentIdEncoder.documentIdTerm(encodedDocumentId), documentBlock);
+        }
       } catch (Exception e) {
         recordIndexingFailure(e, event.getEventType().name());
         throw e;
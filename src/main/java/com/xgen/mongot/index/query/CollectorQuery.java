@@ -3,6 +3,7 @@ package com.xgen.mongot.index.query;
 import com.xgen.mongot.index.query.collectors.Collector;
 import com.xgen.mongot.index.query.counts.Count;
 import com.xgen.mongot.index.query.highlights.UnresolvedHighlight;
+import com.xgen.mongot.index.query.operators.mql.Clause;
 import com.xgen.mongot.index.query.sort.SortSpec;
 import com.xgen.mongot.util.Check;
 import java.util.Optional;
@@ -19,7 +20,8 @@ public record CollectorQuery(
     boolean concurrent,
     Optional<SortSpec> rawSortSpec,
     Optional<Tracking> tracking,
-    Optional<ReturnScope> returnScope)
+    Optional<ReturnScope> returnScope,
+    Optional<Clause> postFilter)
     implements SearchQuery {
 
   public CollectorQuery {
@@ -5,6 +5,7 @@ import com.xgen.mongot.index.query.counts.Count;
 import com.xgen.mongot.index.query.highlights.UnresolvedHighlight;
 import com.xgen.mongot.index.query.operators.Operator;
 import com.xgen.mongot.index.query.operators.OperatorEmbeddedRootValidator;
+import com.xgen.mongot.index.query.operators.mql.Clause;
 import com.xgen.mongot.index.query.sort.SequenceToken;
 import com.xgen.mongot.index.query.sort.Sort;
 import com.xgen.mongot.index.query.sort.SortBetaV1;
@@ -72,6 +73,10 @@ public sealed interface SearchQuery extends Query permits CollectorQuery, Operat
 
     public static final Field.WithDefault<Boolean> CONCURRENT =
         Field.builder("concurrent").booleanField().optional().withDefault(false);
+
+    /** A $match clause that results must satisfy, evaluated against their stored source. */
+    public static final Field.Optional<Clause> POST_FILTER =
+        Field.builder("postFilter").classField(Clause::fromBson).optional().noDefault();
   }
 
   static SearchQuery fromBson(BsonDocument document) throws BsonParseException {
@@ -138,7 +143,8 @@ public sealed interface SearchQuery extends Query permits CollectorQuery, Operat
           parser.getField(Fields.CONCURRENT).unwrap(),
           sortSpec,
           parser.getField(Fields.TRACKING).unwrap(),
-          returnScope.unwrap());
+          returnScope.unwrap(),
+          parser.getField(Fields.POST_FILTER).unwrap());
     }
 
     if (collector.isPresent()) {
@@ -159,7 +165,8 @@ public sealed interface SearchQuery extends Query permits CollectorQuery, Operat
           parser.getField(Fields.CONCURRENT).unwrap(),
           sortSpec,
           parser.getField(Fields.TRACKING).unwrap(),
-          returnScope.unwrap());
+          returnScope.unwrap(),
+          parser.getField(Fields.POST_FILTER).unwrap());
     }
     String errorDescription =
         String.format(
@@ -218,6 +225,12 @@ public sealed interface SearchQuery extends Query permits CollectorQuery, Operat
   @Override
   Optional<ReturnScope> returnScope();
 
+  /**
+   * Returns the $match clause that results must satisfy. It is evaluated against the stored source
+   * of each hit, so it may only refer to stored fields.
+   */
+  Optional<Clause> postFilter();
+
   @Override
   default BsonDocument toBson() {
     var documentBuilder =
@@ -229,7 +242,8 @@ public sealed interface SearchQuery extends Query permits CollectorQuery, Operat
             .field(Fields.SCORE_DETAILS, this.scoreDetails())
             .field(Fields.CONCURRENT, this.concurrent())
             .field(Fields.TRACKING, this.tracking())
-            .field(Fields.RETURN_SCOPE, this.returnScope());
+            .field(Fields.RETURN_SCOPE, this.returnScope())
+            .field(Fields.POST_FILTER, this.postFilter());
 
     if (this.rawSortSpec().isPresent()) {
       var sortField = getSortBsonField(this.rawSortSpec().get());
@@ -11,6 +11,7 @@ import com.xgen.mongot.index.IndexGeneration;
 import com.xgen.mongot.index.autoembedding.AutoEmbeddingIndexGeneration;
 import com.xgen.mongot.index.blobstore.BlobstoreSnapshotterManager;
 import com.xgen.mongot.index.definition.IndexDefinitionGeneration;
+import com.xgen.mongot.index.status.IndexStatus;
 import com.xgen.mongot.index.version.GenerationId;
 import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.mongot.monitor.Gate;
@@ -21,15 +22,28 @@ import com.xgen.mongot.replication.mongodb.autoembedding.MaterializedViewManager
 import com.xgen.mongot.util.Check;
 import com.xgen.mongot.util.FutureUtils;
 import com.xgen.mongot.util.Runtime;
+import com.xgen.mongot.util.bson.parser.BsonParseException;
 import com.xgen.mongot.util.concurrent.Executors;
 import com.xgen.mongot.util.concurrent.NamedExecutorService;
+import com.xgen.mongot.util.concurrent.NamedScheduledExecutorService;
 import com.xgen.mongot.util.mongodb.SyncSourceConfig;
 import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.bson.types.ObjectId;
 import org.jetbrains.annotations.TestOnly;
 import org.slf4j.LoggerFactory;
 
@@ -47,10 +61,31 @@ public class DefaultLifecycleManager implements LifecycleManager {
   private static final int DEFAULT_INITIALIZATION_THREADS =
       Math.max(1, Runtime.INSTANCE.getNumCpus() / 4);
 
+  /** How often idle indexes are looked for, if unloading them is enabled. */
+  private static final Duration COLD_INDEX_SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+  /**
+   * How long an index may stay unloaded. Unloaded indexes are not replicated, so they are reopened
+   * periodically to catch up on replication while their resume point is still likely to be within
+   * the oplog window.
+   */
+  @VisibleForTesting static final Duration MAX_UNLOADED_DURATION = Duration.ofHours(6);
+
   /** A mapping of existing IndexLifecycleManagers. */
   @GuardedBy("this")
   private final Map<GenerationId, IndexLifecycleManager> indexManagers;
 
+  /**
+   * The derived indexes of auto-embedding indexes, which are never unloaded as they are written to
+   * by the MaterializedViewManager.
+   */
+  @GuardedBy("this")
+  private final Set<GenerationId> autoEmbeddingIndexes;
+
+  /** The priorities that the indexes are initialized with. */
+  @GuardedBy("this")
+  private final Map<GenerationId, InitializationScheduler.Priority> initializationPriorities;
+
   /** If the existing IndexLifecycleManagers have started processing the index lifecycles. */
   @GuardedBy("this")
   private boolean initialized;
@@ -65,6 +100,15 @@ public class DefaultLifecycleManager implements LifecycleManager {
    */
   private final NamedExecutorService initExecutor;
 
+  /** Orders the initializations that are run on the initExecutor. */
+  private final InitializationScheduler initScheduler;
+
+  /** Where the usage of indexes is persisted on shutdown, if anywhere. */
+  private final Optional<Path> indexUsageJournalPath;
+
+  /** How the indexes were used before the last shutdown, keyed by index id. */
+  private final Map<ObjectId, IndexUsageJournal.IndexUsage> previousIndexUsage;
+
   /**
    * The Executor that is used by steady state indexing, as well as the ReplicationIndexManager for
    * scheduling its lifecycle tasks.
@@ -75,6 +119,14 @@ public class DefaultLifecycleManager implements LifecycleManager {
 
   private final NamedExecutorService blobstoreExecutor;
 
+  /** How long indexes may go without queries before they are unloaded, if ever. */
+  private final Optional<Duration> coldIndexIdleTimeout;
+
+  /** Unloads idle indexes, if unloading them is enabled. */
+  private final Optional<NamedScheduledExecutorService> coldIndexSweeper;
+
+  private final Clock clock;
+
   private final ReplicationManagerFactory replicationManagerFactory;
   private final AutoEmbeddingMaterializedViewManagerFactory autoEmbeddingMatViewManagerFactory;
   private final ReplicationManagerWrapper replicationManagerWrapper;
@@ -126,6 +178,14 @@ public class DefaultLifecycleManager implements LifecycleManager {
     synchronized CompletableFuture<Void> dropIndex(GenerationId generationId) {
       return this.currentReplicationManager.dropIndex(generationId);
     }
+
+    synchronized CompletableFuture<Void> unload(GenerationId generationId) {
+      // No index is replicated while replication is shut down.
+      if (!this.isReplicationEnabled) {
+        return FutureUtils.COMPLETED_FUTURE;
+      }
+      return this.currentReplicationManager.unload(generationId);
+    }
   }
 
   public DefaultLifecycleManager(
@@ -137,7 +197,8 @@ public class DefaultLifecycleManager implements LifecycleManager {
       AutoEmbeddingMaterializedViewManagerFactory autoEmbeddingMaterializedViewManagerFactory,
       MeterRegistry meterRegistry,
       Gate replicationGate,
-      LifecycleConfig lifecycleConfig) {
+      LifecycleConfig lifecycleConfig,
+      Optional<Path> indexUsageJournalPath) {
     this(
         replicationManagerFactory,
         syncSourceConfig,
@@ -153,7 +214,10 @@ public class DefaultLifecycleManager implements LifecycleManager {
             meterRegistry),
         Executors.fixedSizeThreadPool(
             "index-lifecycle", Math.max(1, Runtime.INSTANCE.getNumCpus() / 4), meterRegistry),
-        Executors.fixedSizeThreadPool("blobstore-lifecycle", 1, meterRegistry));
+        Executors.fixedSizeThreadPool("blobstore-lifecycle", 1, meterRegistry),
+        lifecycleConfig.coldIndexIdleMinutes.map(Duration::ofMinutes),
+        Clock.systemUTC(),
+        indexUsageJournalPath);
   }
 
   @VisibleForTesting
@@ -169,9 +233,50 @@ public class DefaultLifecycleManager implements LifecycleManager {
       NamedExecutorService initExecutor,
       NamedExecutorService lifecycleExecutor,
       NamedExecutorService blobstoreExecutor) {
+    this(
+        replicationManagerFactory,
+        syncSourceConfig,
+        initializedIndexCatalog,
+        indexFactory,
+        snapshotterManager,
+        autoEmbeddingMatViewManagerFactory,
+        meterRegistry,
+        replicationGate,
+        initExecutor,
+        lifecycleExecutor,
+        blobstoreExecutor,
+        Optional.empty(),
+        Clock.systemUTC(),
+        Optional.empty());
+  }
+
+  @VisibleForTesting
+  DefaultLifecycleManager(
+      ReplicationManagerFactory replicationManagerFactory,
+      Optional<SyncSourceConfig> syncSourceConfig,
+      InitializedIndexCatalog initializedIndexCatalog,
+      IndexFactory indexFactory,
+      Optional<? extends BlobstoreSnapshotterManager> snapshotterManager,
+      AutoEmbeddingMaterializedViewManagerFactory autoEmbeddingMatViewManagerFactory,
+      MeterRegistry meterRegistry,
+      Gate replicationGate,
+      NamedExecutorService initExecutor,
+      NamedExecutorService lifecycleExecutor,
+      NamedExecutorService blobstoreExecutor,
+      Optional<Duration> coldIndexIdleTimeout,
+      Clock clock,
+      Optional<Path> indexUsageJournalPath) {
     this.initExecutor = initExecutor;
+    this.indexUsageJournalPath = indexUsageJournalPath;
+    this.previousIndexUsage =
+        indexUsageJournalPath
+            .flatMap(DefaultLifecycleManager::readIndexUsageJournal)
+            .map(IndexUsageJournal::indexes)
+            .orElse(Map.of());
     this.lifecycleExecutor = lifecycleExecutor;
     this.blobstoreExecutor = blobstoreExecutor;
+    this.coldIndexIdleTimeout = coldIndexIdleTimeout;
+    this.clock = clock;
     this.replicationManagerFactory = replicationManagerFactory;
     this.autoEmbeddingMatViewManagerFactory = autoEmbeddingMatViewManagerFactory;
     this.syncSourceConfig = syncSourceConfig;
@@ -192,9 +297,24 @@ public class DefaultLifecycleManager implements LifecycleManager {
     this.meterRegistry = meterRegistry;
     MetricsFactory metricsFactory = new MetricsFactory("lifecycle", meterRegistry);
     this.indexManagers = new HashMap<>();
+    this.autoEmbeddingIndexes = new HashSet<>();
+    this.initializationPriorities = new HashMap<>();
     this.initialized = false;
     this.shutdown = false;
     this.metrics = IndexLifecycleManager.Metrics.create(metricsFactory);
+    this.initScheduler = new InitializationScheduler(initExecutor, metricsFactory);
+
+    this.coldIndexSweeper =
+        coldIndexIdleTimeout.map(
+            ignored ->
+                Executors.singleThreadScheduledExecutor("cold-index-sweeper", meterRegistry));
+    this.coldIndexSweeper.ifPresent(
+        sweeper ->
+            sweeper.scheduleWithFixedDelay(
+                this::sweepColdIndexes,
+                COLD_INDEX_SWEEP_INTERVAL.toMillis(),
+                COLD_INDEX_SWEEP_INTERVAL.toMillis(),
+                TimeUnit.MILLISECONDS));
   }
 
   @Override
@@ -213,6 +333,23 @@ public class DefaultLifecycleManager implements LifecycleManager {
     return this.initialized;
   }
 
+  @Override
+  public synchronized InitializationProgress getInitializationProgress() {
+    @Var int queryableIndexes = 0;
+    List<GenerationId> pendingIndexes = new ArrayList<>();
+    for (var entry : this.indexManagers.entrySet()) {
+      switch (entry.getValue().getState()) {
+        case NOT_STARTED, DOWNLOADING -> pendingIndexes.add(entry.getKey());
+        case INITIALIZED, RUNNING -> queryableIndexes++;
+        default -> {}
+      }
+    }
+    pendingIndexes.sort(
+        Comparator.comparing(
+            this.initializationPriorities::get, InitializationScheduler.Priority.HIGHEST_FIRST));
+    return new InitializationProgress(queryableIndexes, pendingIndexes);
+  }
+
   @Override
   public synchronized void add(IndexGeneration indexGeneration) {
     checkState(!this.shutdown, "cannot call add() after shutdown()");
@@ -230,7 +367,13 @@ public class DefaultLifecycleManager implements LifecycleManager {
         !this.indexManagers.containsKey(generationId),
         "index %s has already been added",
         generationId);
+    if (indexGeneration.getType() == IndexDefinitionGeneration.Type.AUTO_EMBEDDING) {
+      this.autoEmbeddingIndexes.add(generationId);
+    }
 
+    InitializationScheduler.Priority priority =
+        getInitializationPriority(indexGenerationForReplication);
+    this.initializationPriorities.put(generationId, priority);
     IndexLifecycleManager indexLifecycleManager =
         IndexLifecycleManager.create(
             this.replicationManagerWrapper,
@@ -238,7 +381,7 @@ public class DefaultLifecycleManager implements LifecycleManager {
             this.initializedIndexCatalog,
             this.indexFactory,
             this.snapshotterManager,
-            this.initExecutor,
+            this.initScheduler.withPriority(priority),
             this.lifecycleExecutor,
             this.blobstoreExecutor,
             this.metrics);
@@ -246,6 +389,16 @@ public class DefaultLifecycleManager implements LifecycleManager {
     this.indexManagers.put(generationId, indexLifecycleManager);
   }
 
+  @Override
+  public synchronized void addInitialIndexes(List<IndexGeneration> indexGenerations) {
+    this.initScheduler.hold();
+    try {
+      indexGenerations.forEach(this::add);
+    } finally {
+      this.initScheduler.release();
+    }
+  }
+
   @Override
   public synchronized void restartReplication() {
     this.replicationManagerWrapper.setReplicationEnabled(true);
@@ -265,6 +418,8 @@ public class DefaultLifecycleManager implements LifecycleManager {
     }
     this.snapshotterManager.ifPresent(manager -> manager.drop(generationId));
     IndexLifecycleManager indexManager = this.indexManagers.remove(generationId);
+    this.autoEmbeddingIndexes.remove(generationId);
+    this.initializationPriorities.remove(generationId);
     return FutureUtils.allOf(
         List.of(
             indexManager.drop(),
@@ -303,6 +458,7 @@ public class DefaultLifecycleManager implements LifecycleManager {
         Executors.fixedSizeThreadPool("lifecycle-manager-shutdown", 1, this.meterRegistry);
 
     this.snapshotterManager.ifPresent(BlobstoreSnapshotterManager::shutdown);
+    persistIndexUsage();
     this.indexManagers.values().forEach(IndexLifecycleManager::shutdown);
 
     // Only shutdown the executor service after all the tasks complete to avoid race condition
@@ -314,7 +470,10 @@ public class DefaultLifecycleManager implements LifecycleManager {
                 CompletableFuture.runAsync(
                     () -> Executors.shutdownOrFail(this.lifecycleExecutor), shutdownExecutor),
                 CompletableFuture.runAsync(
-                    () -> Executors.shutdownOrFail(this.blobstoreExecutor), shutdownExecutor)))
+                    () -> Executors.shutdownOrFail(this.blobstoreExecutor), shutdownExecutor),
+                CompletableFuture.runAsync(
+                    () -> this.coldIndexSweeper.ifPresent(Executors::shutdownOrFail),
+                    shutdownExecutor)))
         .thenComposeAsync(
             ignored ->
                 FutureUtils.allOf(
@@ -338,6 +497,102 @@ public class DefaultLifecycleManager implements LifecycleManager {
                 .orElse(FutureUtils.COMPLETED_FUTURE)));
   }
 
+  /**
+   * Unloads running indexes that have not been queried for longer than the idle timeout, and
+   * reopens indexes that have been unloaded for longer than {@link #MAX_UNLOADED_DURATION}.
+   */
+  @VisibleForTesting
+  synchronized void sweepColdIndexes() {
+    if (this.shutdown || this.coldIndexIdleTimeout.isEmpty()) {
+      return;
+    }
+    Instant now = this.clock.instant();
+    Instant idleSince = now.minus(this.coldIndexIdleTimeout.get());
+    Instant reopenUnloadedSince = now.minus(MAX_UNLOADED_DURATION);
+    this.indexManagers.forEach(
+        (generationId, indexManager) -> {
+          switch (indexManager.getState()) {
+            case RUNNING -> {
+              boolean idle =
+                  this.initializedIndexCatalog
+                      .getLastAccessed(generationId)
+                      .map(lastAccessed -> lastAccessed.isBefore(idleSince))
+                      .orElse(false);
+              if (idle && !this.autoEmbeddingIndexes.contains(generationId)) {
+                indexManager.unload();
+              }
+            }
+            case UNLOADED -> {
+              boolean stale =
+                  this.initializedIndexCatalog
+                      .getUnloadedSince(generationId)
+                      .map(unloadedSince -> unloadedSince.isBefore(reopenUnloadedSince))
+                      .orElse(false);
+              if (stale) {
+                indexManager.reopen();
+              }
+            }
+            default -> {}
+          }
+        });
+  }
+
+  @GuardedBy("this")
+  private InitializationScheduler.Priority getInitializationPriority(
+      IndexGeneration indexGeneration) {
+    // Indexes that were not in use before the last shutdown are new, or were on disk before
+    // index usage was recorded.
+    IndexUsageJournal.IndexUsage usage =
+        this.previousIndexUsage.getOrDefault(
+            indexGeneration.getGenerationId().indexId, IndexUsageJournal.IndexUsage.UNUSED);
+    @Var long sizeBytes;
+    try {
+      sizeBytes = this.indexFactory.getSizeOnDisk(indexGeneration.getDefinitionGeneration());
+    } catch (RuntimeException e) {
+      // The size only breaks ties between indexes, so not knowing it is not worth failing over.
+      sizeBytes = 0;
+    }
+    return new InitializationScheduler.Priority(usage.queries(), usage.steady(), sizeBytes);
+  }
+
+  private static Optional<IndexUsageJournal> readIndexUsageJournal(Path path) {
+    try {
+      return IndexUsageJournal.fromFileIfExists(path);
+    } catch (IOException | BsonParseException | IllegalArgumentException e) {
+      LOG.atWarn()
+          .addKeyValue("path", path)
+          .setCause(e)
+          .log("Failed to read index usage journal, indexes will not be prioritized");
+      return Optional.empty();
+    }
+  }
+
+  /** Records how the indexes were used, to prioritize their initialization on the next startup. */
+  @GuardedBy("this")
+  private void persistIndexUsage() {
+    if (this.indexUsageJournalPath.isEmpty()) {
+      return;
+    }
+    Map<ObjectId, IndexUsageJournal.IndexUsage> indexUsage = new HashMap<>();
+    this.indexManagers.forEach(
+        (generationId, indexManager) ->
+            indexUsage.merge(
+                generationId.indexId,
+                new IndexUsageJournal.IndexUsage(
+                    this.initializedIndexCatalog.getQueryCount(generationId),
+                    indexManager.getIndexGeneration().getIndex().getStatus().getStatusCode()
+                        == IndexStatus.StatusCode.STEADY),
+                IndexUsageJournal.IndexUsage::merge));
+    try {
+      new IndexUsageJournal(indexUsage).persist(this.indexUsageJournalPath.get());
+    } catch (IOException e) {
+      LOG.atWarn()
+          .addKeyValue("path", this.indexUsageJournalPath.get())
+          .setCause(e)
+          .log("Failed to persist index usage journal");
+    }
+  }
+
   @TestOnly
   @Override
   public ReplicationManager getReplicationManager() {
@@ -7,6 +7,7 @@ import com.xgen.mongot.catalog.InitializedIndexCatalog;
 import com.xgen.mongot.index.Index;
 import com.xgen.mongot.index.IndexFactory;
 import com.xgen.mongot.index.IndexGeneration;
+import com.xgen.mongot.index.InitializedIndex;
 import com.xgen.mongot.index.blobstore.BlobstoreSnapshotterManager;
 import com.xgen.mongot.index.blobstore.IndexBlobstoreSnapshotter;
 import com.xgen.mongot.index.status.IndexStatus;
@@ -33,7 +34,9 @@ import org.slf4j.LoggerFactory;
  *
  * <p>3. NOT_STARTED / INITIALIZED / RUNNING -> SHUTDOWN (shutting down lifecyclemanger).
  *
- * <p>4. NOT_STARTED / INITIALIZED / RUNNING -> DROPPED (dropping the index).
+ * <p>4. NOT_STARTED / INITIALIZED / RUNNING / UNLOADED -> DROPPED (dropping the index).
+ *
+ * <p>5. RUNNING -> UNLOADED -> INITIALIZED (unloading an idle index, and reopening it on demand).
  *
  * <p>Except initialization (which can take a long time), all other methods and state transitions
  * are synchronized as they can be accessed by multiple threads.
@@ -47,6 +50,7 @@ public class IndexLifecycleManager {
     DOWNLOADING,
     INITIALIZED,
     RUNNING,
+    UNLOADED,
     SHUTDOWN,
     DROPPED
   }
@@ -65,6 +69,20 @@ public class IndexLifecycleManager {
   private final Metrics metrics;
   private CompletableFuture<Void> initFuture;
 
+  /** Completes once the resources of an unloaded index have been released. */
+  @GuardedBy("this")
+  private CompletableFuture<Void> unloadFuture;
+
+  /** Whether an unloaded index is being initialized again. */
+  @GuardedBy("this")
+  private boolean reopening;
+
+  @GuardedBy("this")
+  private Executor initializationExecutor;
+
+  @GuardedBy("this")
+  private Executor replicationExecutor;
+
   static class Metrics {
     /** Track the number of indexes that are initialized but not replicating. */
     final AtomicLong indexesInInitializedState;
@@ -74,22 +92,33 @@ public class IndexLifecycleManager {
     final Counter failedDownloadIndexes;
     final Timer indexInitializationDurations;
 
+    /** Track the number of indexes that are unloaded until they are queried again. */
+    final AtomicLong indexesInUnloadedState;
+
+    final Counter failedUnloadIndexes;
+
     public Metrics(
         AtomicLong indexesInInitializedState,
         Counter failedInitializationIndexes,
         Counter failedDropIndexes,
         Counter failedDownloadIndexes,
-        Timer indexInitializationDurations) {
+        Timer indexInitializationDurations,
+        AtomicLong indexesInUnloadedState,
+        Counter failedUnloadIndexes) {
       this.indexesInInitializedState = indexesInInitializedState;
       this.failedInitializationIndexes = failedInitializationIndexes;
       this.failedDropIndexes = failedDropIndexes;
       this.failedDownloadIndexes = failedDownloadIndexes;
       this.indexInitializationDurations = indexInitializationDurations;
+      this.indexesInUnloadedState = indexesInUnloadedState;
+      this.failedUnloadIndexes = failedUnloadIndexes;
     }
 
-    void decrementIndexesInInitializedState(State state) {
+    void decrementStateGauge(State state) {
       if (state == State.INITIALIZED) {
         this.indexesInInitializedState.decrementAndGet();
+      } else if (state == State.UNLOADED) {
+        this.indexesInUnloadedState.decrementAndGet();
       }
     }
 
@@ -99,7 +128,9 @@ public class IndexLifecycleManager {
           metricsFactory.counter("failedInitializationIndexes"),
           metricsFactory.counter("failedDropIndexes"),
           metricsFactory.counter("failedDownloadIndexes"),
-          metricsFactory.timer("indexInitializationDuration"));
+          metricsFactory.timer("indexInitializationDuration"),
+          metricsFactory.numGauge("indexesInUnloadedState"),
+          metricsFactory.counter("failedUnloadIndexes"));
     }
   }
 
@@ -121,6 +152,8 @@ public class IndexLifecycleManager {
     this.metrics = metrics;
     this.blobstoreDownloadsEnabled = blobstoreDownloadsEnabled;
     this.initFuture = FutureUtils.COMPLETED_FUTURE;
+    this.unloadFuture = FutureUtils.COMPLETED_FUTURE;
+    this.reopening = false;
   }
 
   static IndexLifecycleManager create(
@@ -149,6 +182,8 @@ public class IndexLifecycleManager {
 
   public synchronized void startLifecycle(
       Executor initializationExecutor, Executor replicationExecutor, Executor blobstoreExecutor) {
+    this.initializationExecutor = initializationExecutor;
+    this.replicationExecutor = replicationExecutor;
     this.initFuture = CompletableFuture.runAsync(this::initialize, initializationExecutor);
     this.initFuture.thenRunAsync(this::startReplication, replicationExecutor);
     this.initFuture.thenRunAsync(this::scheduleUpload, blobstoreExecutor);
@@ -160,13 +195,20 @@ public class IndexLifecycleManager {
    */
   @VisibleForTesting
   void initialize() {
+    initialize(true);
+  }
+
+  private void initialize(boolean downloadSnapshot) {
     if (this.state == State.SHUTDOWN || this.state == State.DROPPED) {
       return;
     }
     GenerationId generationId = this.indexGeneration.getGenerationId();
     try {
       var timer = Timer.start();
-      getSnapshotter()
+      // A reopened index is already on disk.
+      Optional<? extends IndexBlobstoreSnapshotter> downloadSnapshotter =
+          downloadSnapshot ? getSnapshotter() : Optional.empty();
+      downloadSnapshotter
           .ifPresent(
               snapshotter -> {
                 try {
@@ -207,8 +249,12 @@ public class IndexLifecycleManager {
         dropIndex();
         return;
       }
-      this.metrics.indexesInInitializedState.incrementAndGet();
-      transitionState(State.INITIALIZED);
+      synchronized (this) {
+        this.metrics.decrementStateGauge(this.state);
+        this.metrics.indexesInInitializedState.incrementAndGet();
+        this.reopening = false;
+        transitionState(State.INITIALIZED);
+      }
 
     } catch (Exception e) {
       LOG.atWarn()
@@ -225,15 +271,83 @@ public class IndexLifecycleManager {
 
   public CompletableFuture<Void> drop() {
     synchronized (this) { // https://github.com/mockito/mockito/issues/2970
-      this.metrics.decrementIndexesInInitializedState(this.state);
+      State previousState = this.state;
+      this.metrics.decrementStateGauge(previousState);
       transitionState(State.DROPPED);
       this.indexGeneration
           .getIndex()
           .setStatus(IndexStatus.doesNotExist(IndexStatus.Reason.INDEX_DROPPED));
+
+      GenerationId generationId = this.indexGeneration.getGenerationId();
+      // A reopened index stays marked as unloaded until its replication caught up.
+      this.initializedIndexCatalog.clearUnloaded(generationId);
+      if (previousState == State.UNLOADED) {
+        // An unloaded index is not replicated, so it is dropped here rather than by replication,
+        // once its resources are released, or once it is initialized if it is being reopened.
+        CompletableFuture<Void> pending = this.reopening ? this.initFuture : this.unloadFuture;
+        return pending.thenRunAsync(this::dropUnloadedIndex, this.replicationExecutor);
+      }
       this.initFuture.cancel(true);
+      return this.replicationManagerWrapper.dropIndex(generationId);
+    }
+  }
 
-      return this.replicationManagerWrapper.dropIndex(this.indexGeneration.getGenerationId());
+  /**
+   * Unloads a running index: stops its replication, removes it from the {@link
+   * InitializedIndexCatalog} and releases its writer, readers and directories, while keeping the
+   * {@link Index} itself open. The index is reopened by the next query against it, see {@link
+   * #reopen}. Does nothing unless the index is running and in steady state.
+   *
+   * @return a future that completes when the resources of the index have been released.
+   */
+  public synchronized CompletableFuture<Void> unload() {
+    if (this.state != State.RUNNING
+        || this.indexGeneration.getIndex().getStatus().getStatusCode()
+            != IndexStatus.StatusCode.STEADY) {
+      return FutureUtils.COMPLETED_FUTURE;
     }
+    GenerationId generationId = this.indexGeneration.getGenerationId();
+    LOG.atInfo()
+        .addKeyValue("indexId", generationId.indexId)
+        .addKeyValue("generationId", generationId)
+        .log("Unloading idle index");
+    transitionState(State.UNLOADED);
+    this.metrics.indexesInUnloadedState.incrementAndGet();
+
+    // Removing the index along with marking it makes concurrent queries reopen it rather than fail.
+    Optional<InitializedIndex> initializedIndex =
+        this.initializedIndexCatalog.markUnloaded(generationId, this::reopen);
+    this.unloadFuture =
+        this.replicationManagerWrapper
+            .unload(generationId)
+            .thenRunAsync(
+                () -> initializedIndex.ifPresent(this::unloadIndex), this.replicationExecutor);
+    return this.unloadFuture;
+  }
+
+  /**
+   * Initializes an unloaded index again and restarts its replication, without downloading a
+   * snapshot. Concurrent calls share the same initialization.
+   *
+   * @return a future that completes once the index is initialized, and is present in the {@link
+   *     InitializedIndexCatalog} unless initialization failed.
+   */
+  public synchronized CompletableFuture<Void> reopen() {
+    if (this.state != State.UNLOADED || this.reopening) {
+      return this.initFuture;
+    }
+    GenerationId generationId = this.indexGeneration.getGenerationId();
+    LOG.atInfo()
+        .addKeyValue("indexId", generationId.indexId)
+        .addKeyValue("generationId", generationId)
+        .log("Reopening unloaded index");
+    this.reopening = true;
+    // The resources of the unloaded index, including the lock on its directory, must be released
+    // before it can be initialized again.
+    this.initFuture =
+        this.unloadFuture.thenRunAsync(() -> initialize(false), this.initializationExecutor);
+    this.initFuture.thenRunAsync(this::startReplication, this.replicationExecutor);
+    return this.initFuture;
   }
 
   /** Starts replication, this will be triggered after index initialization. */
@@ -251,12 +365,33 @@ public class IndexLifecycleManager {
             .addKeyValue("generationId", generationId)
             .log("Did not add index for replication");
       } else {
-        this.metrics.decrementIndexesInInitializedState(this.state);
+        this.metrics.decrementStateGauge(this.state);
         transitionState(State.RUNNING);
       }
     }
   }
 
+  private void unloadIndex(InitializedIndex initializedIndex) {
+    try {
+      initializedIndex.unload();
+    } catch (Exception e) {
+      GenerationId generationId = this.indexGeneration.getGenerationId();
+      LOG.atError()
+          .addKeyValue("indexId", generationId.indexId)
+          .addKeyValue("generationId", generationId)
+          .setCause(e)
+          .log("Unable to unload index");
+      this.metrics.failedUnloadIndexes.increment();
+    }
+  }
+
+  private void dropUnloadedIndex() {
+    // Initialization already dropped the index if it was reopened before being dropped.
+    if (!this.indexGeneration.getIndex().isClosed()) {
+      dropIndex();
+    }
+  }
+
   private synchronized Optional<? extends IndexBlobstoreSnapshotter> getSnapshotter() {
     return this.snapshotterManager.flatMap(
         manager -> {
@@ -274,7 +409,7 @@ public class IndexLifecycleManager {
   }
 
   public synchronized void shutdown() {
-    this.metrics.decrementIndexesInInitializedState(this.state);
+    this.metrics.decrementStateGauge(this.state);
     transitionState(State.SHUTDOWN);
     this.initFuture.cancel(true);
   }
@@ -297,6 +432,10 @@ public class IndexLifecycleManager {
             .log("Initialization failed for index due to unexpected error.");
         this.metrics.failedInitializationIndexes.increment();
         this.metrics.indexesInInitializedState.decrementAndGet();
+        if (this.state == State.UNLOADED) {
+          this.metrics.indexesInUnloadedState.decrementAndGet();
+          this.initializedIndexCatalog.clearUnloaded(generationId);
+        }
         index.setStatus(
             IndexStatus.failed(
                 INITIALIZATION_FAILED_PREFIX + throwable.getMessage(),
@@ -326,4 +465,8 @@ public class IndexLifecycleManager {
   public State getState() {
     return this.state;
   }
+
+  IndexGeneration getIndexGeneration() {
+    return this.indexGeneration;
+  }
 }
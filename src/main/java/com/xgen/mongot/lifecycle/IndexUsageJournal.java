@@ -0,0 +1,112 @@
+package com.xgen.mongot.lifecycle;
+
+import com.xgen.mongot.util.Check;
+import com.xgen.mongot.util.FileUtils;
+import com.xgen.mongot.util.bson.JsonCodec;
+import com.xgen.mongot.util.bson.parser.BsonDocumentBuilder;
+import com.xgen.mongot.util.bson.parser.BsonDocumentParser;
+import com.xgen.mongot.util.bson.parser.BsonParseException;
+import com.xgen.mongot.util.bson.parser.DocumentEncodable;
+import com.xgen.mongot.util.bson.parser.DocumentParser;
+import com.xgen.mongot.util.bson.parser.Field;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import org.bson.BsonDocument;
+import org.bson.types.ObjectId;
+
+/**
+ * How the indexes were used before a shutdown, persisted so that the indexes can be initialized in
+ * order of their {@link InitializationScheduler.Priority} on the next startup.
+ */
+public record IndexUsageJournal(Map<ObjectId, IndexUsage> indexes) implements DocumentEncodable {
+
+  /**
+   * How an index was used before a shutdown.
+   *
+   * @param queries the number of queries the index served since it was last initialized
+   * @param steady whether the index was caught up with its source
+   */
+  public record IndexUsage(long queries, boolean steady) implements DocumentEncodable {
+
+    /** The usage of an index that was not in use. */
+    static final IndexUsage UNUSED = new IndexUsage(0, false);
+
+    private static class Fields {
+      static final Field.Required<Long> QUERIES =
+          Field.builder("queries").longField().mustBeNonNegative().required();
+
+      static final Field.Required<Boolean> STEADY =
+          Field.builder("steady").booleanField().required();
+    }
+
+    public static IndexUsage fromBson(DocumentParser parser) throws BsonParseException {
+      return new IndexUsage(
+          parser.getField(Fields.QUERIES).unwrap(), parser.getField(Fields.STEADY).unwrap());
+    }
+
+    /** Merges the usage of two generations of the same index. */
+    IndexUsage merge(IndexUsage other) {
+      return new IndexUsage(this.queries + other.queries, this.steady || other.steady);
+    }
+
+    @Override
+    public BsonDocument toBson() {
+      return BsonDocumentBuilder.builder()
+          .field(Fields.QUERIES, this.queries)
+          .field(Fields.STEADY, this.steady)
+          .build();
+    }
+  }
+
+  private static class Fields {
+    static final Field.WithDefault<Map<String, IndexUsage>> INDEXES =
+        Field.builder("indexes")
+            .classField(IndexUsage::fromBson)
+            .allowUnknownFields()
+            .asMap()
+            .optional()
+            .withDefault(Map.of());
+  }
+
+  public static Optional<IndexUsageJournal> fromFileIfExists(Path path)
+      throws IOException, BsonParseException {
+    if (!Files.exists(path)) {
+      return Optional.empty();
+    }
+
+    BsonDocument document = JsonCodec.fromJson(Files.readString(path));
+    try (BsonDocumentParser parser =
+        BsonDocumentParser.fromRoot(document).allowUnknownFields(true).build()) {
+      return Optional.of(fromBson(parser));
+    }
+  }
+
+  public static IndexUsageJournal fromBson(DocumentParser parser) throws BsonParseException {
+    Map<ObjectId, IndexUsage> indexes = new HashMap<>();
+    parser
+        .getField(Fields.INDEXES)
+        .unwrap()
+        .forEach((indexId, usage) -> indexes.put(new ObjectId(indexId), usage));
+    return new IndexUsageJournal(indexes);
+  }
+
+  /** Writes this journal to a file at the supplied path, replacing any existing file. */
+  public void persist(Path path) throws IOException {
+    @Nullable Path parent = path.getParent();
+    Check.argNotNull(parent, "path.getParent()");
+    FileUtils.mkdirIfNotExist(parent);
+    FileUtils.atomicallyReplace(path, JsonCodec.toJson(toBson()));
+  }
+
+  @Override
+  public BsonDocument toBson() {
+    Map<String, IndexUsage> indexes = new HashMap<>();
+    this.indexes.forEach((indexId, usage) -> indexes.put(indexId.toHexString(), usage));
+    return BsonDocumentBuilder.builder().field(Fields.INDEXES, indexes).build();
+  }
+}
@@ -0,0 +1,13 @@
+package com.xgen.mongot.lifecycle;
+
+import com.xgen.mongot.index.version.GenerationId;
+import java.util.List;
+
+/**
+ * The progress of initializing indexes after a startup.
+ *
+ * @param queryableIndexes the number of indexes that have been initialized and can be queried
+ * @param pendingIndexes the indexes that are yet to be initialized, in the order they are expected
+ *     to be initialized
+ */
+public record InitializationProgress(int queryableIndexes, List<GenerationId> pendingIndexes) {}
@@ -0,0 +1,130 @@
+package com.xgen.mongot.lifecycle;
+
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.xgen.mongot.metrics.MetricsFactory;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * Runs the initialization of indexes on a bounded executor in order of their {@link Priority},
+ * rather than in the order the indexes were added, so that the indexes most likely to be queried
+ * become queryable first after a restart.
+ *
+ * <p>Tasks are queued here, and every task submits a job to the underlying executor that runs
+ * whichever queued task has the highest priority once a thread is free. The underlying executor
+ * thus still bounds how many indexes are opened concurrently.
+ *
+ * <p>While the indexes known at startup are added, tasks are held by {@link #hold} until {@link
+ * #release}, so that the first indexes added do not start before higher priority indexes are
+ * known.
+ */
+class InitializationScheduler {
+
+  /**
+   * The priority of initializing an index, from what was known of the index before the restart.
+   *
+   * @param queries the number of queries the index served before the restart
+   * @param steady whether the index was caught up with its source before the restart. Lagging
+   *     indexes are not expected to serve queries until they have caught up with replication.
+   * @param sizeBytes the size of the index on disk. Among otherwise equal indexes, small indexes
+   *     are initialized first as they become queryable soonest.
+   */
+  record Priority(long queries, boolean steady, long sizeBytes) {
+
+    /** Orders the priorities from the highest to the lowest. */
+    static final Comparator<Priority> HIGHEST_FIRST =
+        Comparator.comparingLong(Priority::queries)
+            .reversed()
+            .thenComparing(Priority::steady, Comparator.reverseOrder())
+            .thenComparingLong(Priority::sizeBytes);
+  }
+
+  private final Executor executor;
+  private final PriorityBlockingQueue<Task> tasks;
+  private final AtomicLong sequence;
+
+  @GuardedBy("this")
+  private boolean held;
+
+  /** The number of tasks queued while held, that have not submitted a job to the executor. */
+  @GuardedBy("this")
+  private int heldTasks;
+
+  InitializationScheduler(Executor executor, MetricsFactory metricsFactory) {
+    this.executor = executor;
+    this.tasks = new PriorityBlockingQueue<>();
+    this.sequence = new AtomicLong();
+    metricsFactory.objectValueGauge("indexesPendingInitialization", this.tasks, Collection::size);
+  }
+
+  /** Returns an executor that runs tasks with the supplied priority. */
+  Executor withPriority(Priority priority) {
+    return runnable -> submit(new Task(priority, this.sequence.getAndIncrement(), runnable));
+  }
+
+  /** Queues tasks without running them until {@link #release} is called. */
+  synchronized void hold() {
+    this.held = true;
+  }
+
+  /** Runs the tasks queued while held, in order of priority. */
+  void release() {
+    int releasedTasks;
+    synchronized (this) {
+      this.held = false;
+      releasedTasks = this.heldTasks;
+      this.heldTasks = 0;
+    }
+    try {
+      for (int i = 0; i < releasedTasks; i++) {
+        this.executor.execute(this::runNext);
+      }
+    } catch (RejectedExecutionException e) {
+      // The executor is shutting down, and the queued tasks are dropped along with it.
+      this.tasks.clear();
+    }
+  }
+
+  private void submit(Task task) {
+    this.tasks.add(task);
+    synchronized (this) {
+      if (this.held) {
+        this.heldTasks++;
+        return;
+      }
+    }
+    try {
+      this.executor.execute(this::runNext);
+    } catch (RejectedExecutionException e) {
+      // The executor is shutting down.
+      this.tasks.remove(task);
+      throw e;
+    }
+  }
+
+  private void runNext() {
+    @Nullable Task task = this.tasks.poll();
+    if (task != null) {
+      task.runnable().run();
+    }
+  }
+
+  /** A queued task. Tasks of equal priority run in the order they were submitted. */
+  private record Task(Priority priority, long sequence, Runnable runnable)
+      implements Comparable<Task> {
+
+    private static final Comparator<Task> ORDER =
+        Comparator.comparing(Task::priority, Priority.HIGHEST_FIRST)
+            .thenComparingLong(Task::sequence);
+
+    @Override
+    public int compareTo(Task other) {
+      return ORDER.compare(this, other);
+    }
+  }
+}
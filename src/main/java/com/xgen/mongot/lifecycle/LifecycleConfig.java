@@ -13,14 +13,26 @@ public class LifecycleConfig implements DocumentEncodable {
         Field.builder("useLifecycleManager").booleanField().optional().withDefault(false);
     public static final Field.Optional<Integer> INITIALIZATION_THREADS =
         Field.builder("initializationThreads").intField().optional().noDefault();
+    public static final Field.Optional<Integer> COLD_INDEX_IDLE_MINUTES =
+        Field.builder("coldIndexIdleMinutes").intField().mustBePositive().optional().noDefault();
   }
 
   public final boolean useLifecycleManager;
   public final Optional<Integer> initializationThreads;
 
-  public LifecycleConfig(boolean useLifecycleManager, Optional<Integer> initializationThreads) {
+  /**
+   * How long an index may go without queries before it is unloaded, to be reopened by the next
+   * query against it. Indexes are never unloaded if absent.
+   */
+  public final Optional<Integer> coldIndexIdleMinutes;
+
+  public LifecycleConfig(
+      boolean useLifecycleManager,
+      Optional<Integer> initializationThreads,
+      Optional<Integer> coldIndexIdleMinutes) {
     this.useLifecycleManager = useLifecycleManager;
     this.initializationThreads = initializationThreads;
+    this.coldIndexIdleMinutes = coldIndexIdleMinutes;
   }
 
   @Override
@@ -28,15 +40,18 @@ public class LifecycleConfig implements DocumentEncodable {
     return BsonDocumentBuilder.builder()
         .field(Fields.USE_LIFECYCLE_MANAGER, this.useLifecycleManager)
         .field(Fields.INITIALIZATION_THREADS, this.initializationThreads)
+        .field(Fields.COLD_INDEX_IDLE_MINUTES, this.coldIndexIdleMinutes)
         .build();
   }
 
   public static LifecycleConfig create(
-      boolean useLifecycleManager, Optional<Integer> initializationThreads) {
-    return new LifecycleConfig(useLifecycleManager, initializationThreads);
+      boolean useLifecycleManager,
+      Optional<Integer> initializationThreads,
+      Optional<Integer> coldIndexIdleMinutes) {
+    return new LifecycleConfig(useLifecycleManager, initializationThreads, coldIndexIdleMinutes);
   }
 
   public static LifecycleConfig getDefault() {
-    return new LifecycleConfig(true, Optional.empty());
+    return new LifecycleConfig(true, Optional.empty(), Optional.empty());
   }
 }
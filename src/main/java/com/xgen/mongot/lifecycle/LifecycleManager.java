@@ -4,6 +4,7 @@ import com.xgen.mongot.index.IndexGeneration;
 import com.xgen.mongot.index.version.GenerationId;
 import com.xgen.mongot.replication.ReplicationManager;
 import com.xgen.mongot.util.mongodb.SyncSourceConfig;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -16,6 +17,13 @@ public interface LifecycleManager {
   /** Starts managing the lifecycle of the supplied Index (including replication). */
   void add(IndexGeneration indexGeneration);
 
+  /**
+   * Starts managing the lifecycle of the indexes known at startup, as {@link #add} does. Their
+   * initialization only starts once all of them are added, so that they are initialized in order
+   * of priority rather than in the order they are supplied.
+   */
+  void addInitialIndexes(List<IndexGeneration> indexGenerations);
+
   /** (Re)starts replication for all indexes. */
   void restartReplication();
 
@@ -36,6 +44,9 @@ public interface LifecycleManager {
 
   boolean isInitialized();
 
+  /** Returns which indexes are queryable, and which are still waiting to be initialized. */
+  InitializationProgress getInitializationProgress();
+
   /**
    * Stops the LifecycleManager, gracefully shutting down all indexes.
    *
@@ -1,24 +1,58 @@
 package com.xgen.mongot.metrics.ftdc;
 
+import com.google.common.util.concurrent.MoreExecutors;
+import com.xgen.mongot.util.functionalinterfaces.CheckedRunnable;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
 import org.bson.BsonDocument;
 
 /**
  * Records metrics in FTDC format.
  *
+ * <p>Samples are collected on the calling thread, while chunks are compressed and written to the
+ * files on the write executor, in the order they were flushed. A failure to write is thrown by the
+ * next call to {@link #addSample(BsonDocument, long)} or {@link #writeSample}.
+ *
  * <p>Note: This class isn't thread safe. and assumes only one call at a time.
  */
 public class Ftdc {
   private final FtdcConfig config;
   private final FtdcCollector collector;
   private final FtdcFileManager fileManager;
+  private final Optional<FtdcProfiler> profiler;
+  private final Executor writeExecutor;
+
+  /**
+   * Whether an interim chunk is waiting to be written. Interim chunks are not queued behind each
+   * other if writes fall behind, as every interim chunk replaces the previous one.
+   */
+  private final AtomicBoolean interimWritePending;
+
+  /** The first write that failed since the last sample was added. */
+  private final AtomicReference<Exception> writeFailure;
 
   // used for tests only
   Ftdc(FtdcConfig config, FtdcFileManager fileManager, FtdcCollector collector) {
+    this(config, fileManager, collector, Optional.empty(), MoreExecutors.directExecutor());
+  }
+
+  Ftdc(
+      FtdcConfig config,
+      FtdcFileManager fileManager,
+      FtdcCollector collector,
+      Optional<FtdcProfiler> profiler,
+      Executor writeExecutor) {
     this.config = config;
     this.fileManager = fileManager;
     this.collector = collector;
+    this.profiler = profiler;
+    this.writeExecutor = writeExecutor;
+    this.interimWritePending = new AtomicBoolean();
+    this.writeFailure = new AtomicReference<>();
   }
 
   /**
@@ -26,20 +60,56 @@ public class Ftdc {
    * directory.
    */
   public static Ftdc initialize(FtdcConfig config, FtdcMetadata metadata) throws IOException {
+    return initialize(config, metadata, Optional.empty());
+  }
+
+  /**
+   * initialize Ftdc for this config, dumping the recording of the profiler, if any, into the FTDC
+   * directory as samples are added.
+   */
+  public static Ftdc initialize(
+      FtdcConfig config, FtdcMetadata metadata, Optional<FtdcProfiler> profiler)
+      throws IOException {
+    return initialize(config, metadata, profiler, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * initialize Ftdc for this config, compressing and writing chunks on {@code writeExecutor}
+   * rather than on the thread adding samples. The executor must run tasks one at a time, in the
+   * order they were submitted.
+   */
+  public static Ftdc initialize(
+      FtdcConfig config,
+      FtdcMetadata metadata,
+      Optional<FtdcProfiler> profiler,
+      Executor writeExecutor)
+      throws IOException {
     FtdcFileManager fileManager = FtdcFileManager.initialize(config, metadata);
     FtdcCollector collector = new FtdcCollector();
-    return new Ftdc(config, fileManager, collector);
+    return new Ftdc(config, fileManager, collector, profiler, writeExecutor);
   }
 
   /**
    * Records a sample, may or may not flush the sample to disk in accordance with the configuration.
-   * If this sample changes the schema from the previously recorded samples, a flush will occur.
+   * If this sample changes the schema in a way that can't be appended to the previously recorded
+   * samples, a flush will occur.
    */
   void addSample(BsonDocument sample, long epochTime) throws IOException {
-    Optional<MetricChunk> chunkToFlush = this.collector.collect(sample, epochTime);
+    flushAfterSample(this.collector.collect(sample, epochTime), epochTime);
+  }
 
+  /**
+   * Records a sample written straight into the collected columns, rather than read from a
+   * document, see {@link #addSample(BsonDocument, long)}.
+   */
+  void writeSample(FtdcCollector.Sample sample, long epochTime) throws IOException {
+    flushAfterSample(this.collector.collect(sample, epochTime), epochTime);
+  }
+
+  private void flushAfterSample(Optional<MetricChunk> chunkToFlush, long epochTime)
+      throws IOException {
     if (chunkToFlush.isPresent()) {
-      // Collector detected a schema change.
+      // Collector detected a schema change it could not append to the current chunk.
       // We only keep one schema in memory at a time, so we flush this chunk to the archive files in
       // favor of the new one. (chunkToFlush is already cleared from the collector. no need to clear
       // because the collector is only buffering the current schema).
@@ -56,13 +126,20 @@ public class Ftdc {
       // The interim file only contains the last chunk that hasn't been archived yet.
       flushToInterim();
     }
+
+    if (this.profiler.isPresent() && this.profiler.get().claimDump(epochTime)) {
+      FtdcProfiler profiler = this.profiler.get();
+      write(() -> this.fileManager.writeProfile(profiler));
+    }
+
+    rethrowWriteFailure();
   }
 
   private boolean needToFlushArchive() {
     return this.collector.getNumSamples() >= this.config.samplesPerMetricChunk;
   }
 
-  private void flushToArchiveAndClear() throws IOException {
+  private void flushToArchiveAndClear() {
     Optional<MetricChunk> chunk = this.collector.getCurrentChunk();
     // start a new metric chunk after this one is written
     this.collector.clear();
@@ -78,36 +155,51 @@ public class Ftdc {
     return samples > 0 && (samples % this.config.samplesPerInterimUpdate == 0);
   }
 
-  private void flushToInterim() throws IOException {
+  private void flushToInterim() {
+    if (this.interimWritePending.get()) {
+      // The previous interim chunk has not been written yet, skip this one rather than falling
+      // further behind.
+      return;
+    }
+
     Optional<MetricChunk> chunk = this.collector.getCurrentChunk();
     // We do not clear the collector, we do so only on an archive flush.
 
     if (chunk.isPresent()) {
-      flushToInterim(chunk.get());
+      MetricChunk metricChunk = chunk.get();
+      this.interimWritePending.set(true);
+      write(
+          () -> {
+            this.interimWritePending.set(false);
+            this.fileManager.replaceInterim(FtdcCompressor.compressChunk(metricChunk));
+          });
     }
   }
 
-  private void flushToInterim(MetricChunk metricChunk) throws IOException {
-    BsonDocument chunk = FtdcCompressor.compressChunk(metricChunk);
-    try {
-      this.fileManager.replaceInterim(chunk);
-    } catch (IOException e) {
-      // clear the buffered data before rethrowing, otherwise, we will leak data if the exception
-      // is ignored upstream.
-      this.collector.clear();
-      throw e;
-    }
+  private void flushToArchive(MetricChunk metricChunk) {
+    write(
+        () -> this.fileManager.writeAndClearInterim(FtdcCompressor.compressChunk(metricChunk)));
+  }
+
+  private void write(CheckedRunnable<IOException> write) {
+    this.writeExecutor.execute(
+        () -> {
+          try {
+            write.run();
+          } catch (Exception e) {
+            // Any failure is kept, as nothing else observes the tasks of the write executor.
+            this.writeFailure.compareAndSet(null, e);
+          }
+        });
   }
 
-  private void flushToArchive(MetricChunk metricChunk) throws IOException {
-    BsonDocument chunkDocument = FtdcCompressor.compressChunk(metricChunk);
-    try {
-      this.fileManager.writeAndClearInterim(chunkDocument);
-    } catch (IOException e) {
+  private void rethrowWriteFailure() throws IOException {
+    @Nullable Exception failure = this.writeFailure.getAndSet(null);
+    if (failure != null) {
       // clear the buffered data before rethrowing, otherwise, we will leak data if the exception
       // is ignored upstream.
       this.collector.clear();
-      throw e;
+      throw new IOException("failed to write to the ftdc directory", failure);
     }
   }
 }
@@ -2,163 +2,468 @@ package com.xgen.mongot.metrics.ftdc;
 
 import static com.xgen.mongot.util.Check.checkArg;
 
-import com.google.common.collect.Lists;
-import com.xgen.mongot.util.Check;
-import com.xgen.mongot.util.FieldPath;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Longs;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
-import org.apache.commons.lang3.tuple.Pair;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
 import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
 import org.bson.BsonValue;
 
 /**
- * Collects samples of metrics. When the schema of incoming metrics is changed (metrics added or
- * removed) this collector will return a {@link MetricChunk} with all metrics sampled so far.
+ * Collects samples of metrics into one column of primitive longs per metric, without allocating
+ * per metric and sample. Samples are either read from a document, or written straight into the
+ * columns by a {@link Sample}, so that no document has to be built for every sample.
+ *
+ * <p>Metrics are expected to be added and removed between samples, for instance as indexes are
+ * created and dropped, so a change of schema does not start a new chunk:
+ *
+ * <ul>
+ *   <li>A metric added to a sample is appended as a new column, and its value is repeated for the
+ *       samples collected before it appeared. The metric is appended to the schema document of the
+ *       chunk, with its first value.
+ *   <li>A metric missing from a sample repeats its last value, until the chunk is flushed. The next
+ *       chunk only contains the metrics of its first sample.
+ * </ul>
+ *
+ * <p>Repeated values encode to runs of zero deltas. So that they can be told apart from sampled
+ * values, the schema document of a chunk ends with a {@link #SAMPLE_RANGES_KEY} document, which
+ * maps every metric that is not part of every sample to the rows it was sampled in. The rows are
+ * listed as comma separated {@code start-end} ranges, with {@code end} excluded, for instance
+ * {@code "0-3,5-8"}. {@link FtdcDecoder#sampledMetrics} drops the repeated values.
+ *
+ * <p>Only if a new metric can not be appended to the schema document, because the schema document
+ * already has a non-metric value under its name, this collector will return a {@link MetricChunk}
+ * with all metrics sampled so far, and start a new chunk.
  */
 public class FtdcCollector {
-  private Optional<SchemaCollector> schemaCollector;
+  /**
+   * The schema key of the rows sampled by metrics that are not part of every sample. The names of
+   * metrics don't start with a '$'. The ranges are strings, so they are not decoded as metrics.
+   */
+  static final String SAMPLE_RANGES_KEY = "$sampleRanges";
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** The first sample of the current chunk, if any. */
+  private Optional<BsonDocument> schema;
+
+  /** The schema document being built while the first sample of a chunk is collected. */
+  @Nullable private BsonDocument pendingSchema;
+
+  private long epochTime;
+
+  /** The names of the metrics, in the order of their columns. */
+  private String[] names;
+
+  /** The samples of every metric, one column per metric with a row per sample. */
+  private long[][] columns;
+
+  /**
+   * The values of metrics appended to the schema document, or null for metrics of the first
+   * sample.
+   */
+  private BsonValue[] appendedSchemaValues;
+
+  /** The last row written to every column, used to find the metrics missing from a sample. */
+  private int[] lastWrittenRows;
+
+  /**
+   * The rows at which metrics that are not part of every sample started and stopped being sampled,
+   * alternately, by column. Metrics of the first sample start at row 0.
+   */
+  private final Map<Integer, List<Integer>> sampledRowBoundaries;
+
+  private final Map<String, Integer> columnsByName;
+  private int columnCount;
+  private int rowCount;
+  private int capacity;
+
+  /** The number of columns in the first sample of the current chunk. */
+  private int schemaColumnCount;
+
+  // State of the sample being collected.
+  private final MetricVisitor sampleVisitor;
+  private final SampleWriter sampleWriter;
+  private int nextColumn;
+  private int sampleMetricCount;
+  private boolean schemaConflict;
 
   FtdcCollector() {
-    this.schemaCollector = Optional.empty();
+    this.schema = Optional.empty();
+    this.names = new String[INITIAL_CAPACITY];
+    this.columns = new long[INITIAL_CAPACITY][];
+    this.appendedSchemaValues = new BsonValue[INITIAL_CAPACITY];
+    this.lastWrittenRows = new int[INITIAL_CAPACITY];
+    this.columnsByName = new HashMap<>();
+    this.sampledRowBoundaries = new TreeMap<>();
+    this.capacity = INITIAL_CAPACITY;
+    this.sampleVisitor = this::collectMetric;
+    this.sampleWriter = new ColumnWriter();
+  }
+
+  /** Receives the values of a sample, in the order of their columns in a chunk. */
+  public interface SampleWriter {
+    void putInt32(String name, int value);
+
+    void putInt64(String name, long value);
+
+    /** Doubles are truncated to the nearest long, while the schema keeps their exact value. */
+    void putDouble(String name, double value);
+
+    /**
+     * Puts a value as if it was a field of a sample document. Documents and arrays are flattened,
+     * and values that are not numeric are only kept in the schema of a chunk.
+     */
+    void putValue(String name, BsonValue value);
+  }
+
+  /**
+   * Writes the values of one sample. A sample may be written more than once, if it starts a new
+   * chunk after all.
+   */
+  @FunctionalInterface
+  public interface Sample {
+    void writeTo(SampleWriter writer);
   }
 
   /**
    * Collect metrics from a flat bson document representing one sample taken at epochTime.
    *
-   * <p>returns a {@link MetricChunk} if it is time to flush it due to a schema change.
+   * <p>returns a {@link MetricChunk} if it is time to flush it due to a schema change that could
+   * not be appended to the current chunk.
    */
   public Optional<MetricChunk> collect(BsonDocument sample, long epochTime) {
-    LinkedHashMap<String, Long> extracted = extractMetrics(sample);
-    checkArg(!extracted.isEmpty(), "metric sample has no numeric values");
+    return collect(writer -> sample.forEach(writer::putValue), epochTime);
+  }
 
+  /**
+   * Collect metrics written by a sample taken at epochTime straight into the columns.
+   *
+   * <p>returns a {@link MetricChunk} if it is time to flush it due to a schema change that could
+   * not be appended to the current chunk.
+   */
+  public Optional<MetricChunk> collect(Sample sample, long epochTime) {
     // first sample to be seen
-    if (this.schemaCollector.isEmpty()) {
-      this.schemaCollector = Optional.of(new SchemaCollector(sample, extracted, epochTime));
+    if (this.schema.isEmpty()) {
+      startChunk(sample, epochTime);
       return Optional.empty();
     }
 
-    SchemaCollector collector = this.schemaCollector.get();
-    boolean schemaChanged = collector.collect(extracted);
+    int previousColumnCount = this.columnCount;
+    collectSample(sample);
+    checkArg(this.sampleMetricCount > 0, "metric sample has no numeric values");
 
-    if (!schemaChanged) {
-      return Optional.empty();
+    if (this.schemaConflict) {
+      // The sample's row and columns are not part of the previous chunk, and are overwritten by the
+      // new chunk.
+      MetricChunk previousChunk = getChunk(previousColumnCount);
+      startChunk(sample, epochTime);
+      return Optional.of(previousChunk);
     }
 
-    // schema has changed, set up a new collector
-    MetricChunk previousChunk = collector.getChunk();
-    this.schemaCollector = Optional.of(new SchemaCollector(sample, extracted, epochTime));
-    return Optional.of(previousChunk);
+    // metrics missing from this sample repeat their last value.
+    for (int column = 0; column < this.columnCount; column++) {
+      if (this.lastWrittenRows[column] != this.rowCount) {
+        this.columns[column][this.rowCount] = this.columns[column][this.rowCount - 1];
+        if (this.lastWrittenRows[column] == this.rowCount - 1) {
+          this.sampledRowBoundaries
+              .computeIfAbsent(column, ignored -> new ArrayList<>(List.of(0)))
+              .add(this.rowCount);
+        }
+      }
+    }
+    this.rowCount++;
+    return Optional.empty();
   }
 
-  /** Wipes out any current samples. */
+  /** Wipes out any current samples. The column buffers are kept to be reused by the next chunk. */
   void clear() {
-    this.schemaCollector = Optional.empty();
+    this.schema = Optional.empty();
+    this.pendingSchema = null;
+    this.columnsByName.clear();
+    this.sampledRowBoundaries.clear();
+    Arrays.fill(this.appendedSchemaValues, 0, this.columnCount, null);
+    this.columnCount = 0;
+    this.rowCount = 0;
+    this.schemaColumnCount = 0;
   }
 
   /** returns a chunk if one is currently buffered. */
   Optional<MetricChunk> getCurrentChunk() {
-    return this.schemaCollector.map(SchemaCollector::getChunk);
+    return this.schema.isEmpty() ? Optional.empty() : Optional.of(getChunk(this.columnCount));
   }
 
   int getNumSamples() {
-    return this.schemaCollector.map(SchemaCollector::size).orElse(0);
+    return this.rowCount;
   }
 
   static LinkedHashMap<String, Long> extractMetrics(BsonDocument sample) {
-    return sample.entrySet().stream()
-        .flatMap(m -> getValueFromBson(FieldPath.newRoot(m.getKey()), m.getValue()).stream())
-        .collect(
-            Collectors.toMap(
-                e -> e.getKey().toString(), Map.Entry::getValue, (x, y) -> y, LinkedHashMap::new));
+    LinkedHashMap<String, Long> metrics = new LinkedHashMap<>();
+    forEachMetric(sample, (name, value, leaf) -> metrics.put(name, value));
+    return metrics;
+  }
+
+  /** Visits the numeric values of a document, in the order of their columns in a chunk. */
+  @FunctionalInterface
+  private interface MetricVisitor {
+    /**
+     * Visits one metric.
+     *
+     * @param name the dotted path of the metric
+     * @param value the value of the metric
+     * @param leaf the bson value the metric was read from
+     */
+    void visit(String name, long value, BsonValue leaf);
+  }
+
+  private static void forEachMetric(BsonDocument sample, MetricVisitor visitor) {
+    for (Map.Entry<String, BsonValue> entry : sample.entrySet()) {
+      visitValue(entry.getKey(), entry.getValue(), visitor);
+    }
   }
 
-  private static List<Pair<FieldPath, Long>> getValueFromBson(FieldPath path, BsonValue value) {
-    return switch (value.getBsonType()) {
+  private static void visitValue(String name, BsonValue value, MetricVisitor visitor) {
+    switch (value.getBsonType()) {
       case INT32, INT64, DOUBLE ->
           // doubles are truncated to the nearest long.
-          List.of(Pair.of(path, value.asNumber().longValue()));
-      case BOOLEAN -> List.of(Pair.of(path, value.asBoolean().getValue() ? 1L : 0L));
-      case DATE_TIME -> List.of(Pair.of(path, value.asDateTime().getValue()));
-      case TIMESTAMP ->
-          // deltas are supplied separately for time and inc, so adding both of them
-          List.of(
-              Pair.of(path, (long) value.asTimestamp().getTime()),
-              Pair.of(path.newChild("inc"), (long) value.asTimestamp().getInc()));
+          visitor.visit(name, value.asNumber().longValue(), value);
+      case BOOLEAN -> visitor.visit(name, value.asBoolean().getValue() ? 1L : 0L, value);
+      case DATE_TIME -> visitor.visit(name, value.asDateTime().getValue(), value);
+      case TIMESTAMP -> {
+        // deltas are supplied separately for time and inc, so adding both of them
+        visitor.visit(name, value.asTimestamp().getTime(), value);
+        visitor.visit(name + ".inc", value.asTimestamp().getInc(), value);
+      }
       case ARRAY -> {
-        var counter = new AtomicInteger();
-        yield value.asArray().stream()
-            .flatMap(
-                val ->
-                    getValueFromBson(path.newChild(String.valueOf(counter.incrementAndGet())), val)
-                        .stream())
-            .collect(Collectors.toList());
+        List<BsonValue> values = value.asArray().getValues();
+        for (int i = 0; i < values.size(); i++) {
+          visitValue(name + "." + (i + 1), values.get(i), visitor);
+        }
       }
-      case DOCUMENT ->
-          // flatten all nested metrics
-          value.asDocument().entrySet().stream()
-              .flatMap(e -> getValueFromBson(path.newChild(e.getKey()), e.getValue()).stream())
-              .collect(Collectors.toList());
-      default -> List.of();
-    };
-  }
-
-  /** Collects metrics as long as the schema remains the same. */
-  private static class SchemaCollector {
-    private final BsonDocument schema;
-    // The order of samples here has to be consistent with the order in schema.
-    private final LinkedHashMap<String, List<Long>> samples;
-    private final long epochTime;
-
-    SchemaCollector(BsonDocument sample, LinkedHashMap<String, Long> extracted, long epochTime) {
-      // the first sample serves as the schema document.
-      this.schema = sample;
-      this.epochTime = epochTime;
-
-      this.samples = new LinkedHashMap<>(extracted.size());
-      extracted.forEach((key, value) -> this.samples.put(key, Lists.newArrayList(value)));
-    }
-
-    /** Returns true if the schema has changed. */
-    boolean collect(Map<String, Long> newSample) {
-      if (schemaChanged(newSample)) {
-        return true;
-
-      } else {
-        appendSample(newSample);
-        return false;
+      case DOCUMENT -> {
+        // flatten all nested metrics
+        for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+          visitValue(name + "." + entry.getKey(), entry.getValue(), visitor);
+        }
       }
+      default -> {}
+    }
+  }
+
+  private void startChunk(Sample sample, long epochTime) {
+    clear();
+    // the first sample serves as the schema document.
+    BsonDocument schema = new BsonDocument();
+    this.pendingSchema = schema;
+    collectSample(sample);
+    this.pendingSchema = null;
+    if (this.sampleMetricCount == 0) {
+      clear();
+      throw new IllegalArgumentException("metric sample has no numeric values");
     }
 
-    private boolean schemaChanged(Map<String, Long> newSample) {
-      Set<String> reference = this.samples.keySet();
-      Set<String> newSamples = newSample.keySet();
-      return !reference.equals(newSamples);
+    this.schema = Optional.of(schema);
+    this.epochTime = epochTime;
+    this.schemaColumnCount = this.columnCount;
+    this.rowCount = 1;
+  }
+
+  /** Writes the metrics of a sample into the row after the last collected sample. */
+  private void collectSample(Sample sample) {
+    if (this.rowCount == this.capacity) {
+      growRows();
+    }
+    this.nextColumn = 0;
+    this.sampleMetricCount = 0;
+    this.schemaConflict = false;
+    sample.writeTo(this.sampleWriter);
+  }
+
+  private void collectMetric(String name, long value, BsonValue leaf) {
+    if (!collectExistingMetric(name, value)) {
+      appendMetric(name, value, leaf);
     }
+  }
 
-    private void appendSample(Map<String, Long> newSample) {
-      for (var entry : newSample.entrySet()) {
-        List<Long> values = this.samples.get(entry.getKey());
-        Check.argNotNull(values, "values");
-        values.add(entry.getValue());
+  /**
+   * Writes the value of a metric into its column, unless the metric is new to this chunk. Returns
+   * whether the metric was handled, so that the bson value of a new metric is only created for it.
+   */
+  private boolean collectExistingMetric(String name, long value) {
+    if (this.schemaConflict) {
+      return true;
+    }
+    this.sampleMetricCount++;
+
+    // Samples usually list their metrics in the same order as the previous sample, so the column
+    // following the last one written is checked before looking the name up.
+    int column =
+        this.nextColumn < this.columnCount && name.equals(this.names[this.nextColumn])
+            ? this.nextColumn
+            : this.columnsByName.getOrDefault(name, -1);
+
+    if (column < 0) {
+      return false;
+    }
+    if (this.lastWrittenRows[column] < this.rowCount - 1) {
+      // The metric is sampled again after missing from the previous sample.
+      this.sampledRowBoundaries.get(column).add(this.rowCount);
+    }
+    this.columns[column][this.rowCount] = value;
+    this.lastWrittenRows[column] = this.rowCount;
+    this.nextColumn = column + 1;
+    return true;
+  }
+
+  private void appendMetric(String name, long value, BsonValue leaf) {
+    if (this.rowCount > 0 && this.schema.orElseThrow().containsKey(name)) {
+      // The metric can't be appended to the schema document without changing the order of its
+      // metrics.
+      this.schemaConflict = true;
+      return;
+    }
+    appendColumn(name, value, leaf);
+  }
+
+  private void appendColumn(String name, long value, BsonValue leaf) {
+    if (this.columnCount == this.names.length) {
+      growColumns();
+    }
+
+    int column = this.columnCount++;
+    if (this.columns[column] == null) {
+      this.columns[column] = new long[this.capacity];
+    }
+    // The metric is assumed to have had its first value for the samples collected before it
+    // appeared, which encodes to a single run of zero deltas.
+    Arrays.fill(this.columns[column], 0, this.rowCount + 1, value);
+    this.names[column] = name;
+    this.lastWrittenRows[column] = this.rowCount;
+    this.columnsByName.put(name, column);
+    this.nextColumn = column + 1;
+
+    if (this.rowCount > 0) {
+      // timestamps are split into two metrics, so each of them is appended as a long.
+      this.appendedSchemaValues[column] = leaf.isTimestamp() ? new BsonInt64(value) : leaf;
+      this.sampledRowBoundaries.put(column, new ArrayList<>(List.of(this.rowCount)));
+    }
+  }
+
+  /** Writes the values of a sample into the columns, and into the schema of a new chunk. */
+  private final class ColumnWriter implements SampleWriter {
+    @Override
+    public void putInt32(String name, int value) {
+      if (!collectExistingMetric(name, value)) {
+        appendMetric(name, value, appendToPendingSchema(name, new BsonInt32(value)));
+      }
+    }
+
+    @Override
+    public void putInt64(String name, long value) {
+      if (!collectExistingMetric(name, value)) {
+        appendMetric(name, value, appendToPendingSchema(name, new BsonInt64(value)));
+      }
+    }
+
+    @Override
+    public void putDouble(String name, double value) {
+      long metric = (long) value;
+      if (!collectExistingMetric(name, metric)) {
+        appendMetric(name, metric, appendToPendingSchema(name, new BsonDouble(value)));
+      }
+    }
+
+    @Override
+    public void putValue(String name, BsonValue value) {
+      appendToPendingSchema(name, value);
+      visitValue(name, value, FtdcCollector.this.sampleVisitor);
+    }
+
+    private BsonValue appendToPendingSchema(String name, BsonValue value) {
+      if (FtdcCollector.this.pendingSchema != null) {
+        FtdcCollector.this.pendingSchema.append(name, value);
       }
+      return value;
+    }
+  }
+
+  private void growRows() {
+    this.capacity *= 2;
+    for (int column = 0; column < this.columns.length; column++) {
+      if (this.columns[column] != null) {
+        this.columns[column] = Arrays.copyOf(this.columns[column], this.capacity);
+      }
+    }
+  }
+
+  private void growColumns() {
+    int length = this.names.length * 2;
+    this.names = Arrays.copyOf(this.names, length);
+    this.columns = Arrays.copyOf(this.columns, length);
+    this.appendedSchemaValues = Arrays.copyOf(this.appendedSchemaValues, length);
+    this.lastWrittenRows = Arrays.copyOf(this.lastWrittenRows, length);
+  }
+
+  /**
+   * Returns a copy of the first columns of the current chunk, so that it can be compressed while
+   * samples are collected.
+   */
+  private MetricChunk getChunk(int columnCount) {
+    LinkedHashMap<String, List<Long>> metrics = Maps.newLinkedHashMapWithExpectedSize(columnCount);
+    for (int column = 0; column < columnCount; column++) {
+      metrics.put(
+          this.names[column], Longs.asList(Arrays.copyOf(this.columns[column], this.rowCount)));
+    }
+    return new MetricChunk(getSchema(columnCount), metrics, this.epochTime);
+  }
+
+  private BsonDocument getSchema(int columnCount) {
+    BsonDocument firstSample = this.schema.orElseThrow();
+    BsonDocument sampleRanges = getSampleRanges(columnCount);
+    if (columnCount == this.schemaColumnCount && sampleRanges.isEmpty()) {
+      return firstSample;
     }
 
-    private MetricChunk getChunk() {
-      return new MetricChunk(this.schema, this.samples, this.epochTime);
+    BsonDocument schema = new BsonDocument();
+    schema.putAll(firstSample);
+    for (int column = this.schemaColumnCount; column < columnCount; column++) {
+      schema.append(this.names[column], this.appendedSchemaValues[column]);
+    }
+    if (!sampleRanges.isEmpty()) {
+      schema.append(SAMPLE_RANGES_KEY, sampleRanges);
     }
+    return schema;
+  }
 
-    private int size() {
-      return this.samples.values().stream()
-          .findFirst()
-          .orElseThrow(
-              () ->
-                  new AssertionError("must have at least one key corresponding to one metric name"))
-          .size();
+  /** Returns the ranges of rows sampled by the first columns that are not part of every sample. */
+  private BsonDocument getSampleRanges(int columnCount) {
+    BsonDocument sampleRanges = new BsonDocument();
+    for (Map.Entry<Integer, List<Integer>> entry : this.sampledRowBoundaries.entrySet()) {
+      int column = entry.getKey();
+      if (column >= columnCount) {
+        continue;
+      }
+      List<Integer> boundaries = entry.getValue();
+      StringJoiner ranges = new StringJoiner(",");
+      // A sample that conflicts with the schema may have started a range at the row count.
+      for (int i = 0; i < boundaries.size() && boundaries.get(i) < this.rowCount; i += 2) {
+        int end = i + 1 < boundaries.size() ? boundaries.get(i + 1) : this.rowCount;
+        ranges.add(boundaries.get(i) + "-" + end);
+      }
+      sampleRanges.append(this.names[column], new BsonString(ranges.toString()));
     }
+    return sampleRanges;
   }
 }
@@ -2,19 +2,17 @@ package com.xgen.mongot.metrics.ftdc;
 
 import static com.xgen.mongot.util.Check.checkState;
 
+import com.google.common.primitives.Longs;
 import com.google.errorprone.annotations.Var;
 import com.xgen.mongot.util.Check;
 import com.xgen.mongot.util.bson.ByteUtils;
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import org.bson.BsonBinary;
 import org.bson.BsonDateTime;
 import org.bson.BsonDocument;
@@ -78,55 +76,41 @@ class FtdcCompressor {
     // the samples of each metric are delta encoded, zero run encoded, then long-packed
     for (List<Long> values : metrics.values()) {
       // The order of keys in metrics is consistent with the schema, so iterating through the keys
-      // is enough.
-      List<Long> deltas = deltaEncoding(values);
-      List<Long> zeroEncoded = encodeZeroRuns(deltas);
-
-      writer.packLongs(zeroEncoded);
+      // is enough. The samples of collected chunks are backed by arrays, and read without boxing.
+      encodeSamples(writer, Longs.toArray(values));
     }
   }
 
-  /** Encodes as deltas, note that the returned list will be smaller by 1 element. */
-  private static List<Long> deltaEncoding(List<Long> values) {
-    Check.checkState(values.size() > 0, "tried to compress an empty sample");
-
-    return IntStream.range(1, values.size())
-        .mapToObj(i -> values.get(i) - values.get(i - 1))
-        .collect(Collectors.toList());
-  }
-
   /**
-   * encodes sequences of zeroes as: ...0, #zeroes - 1...
+   * Delta encodes the samples of one metric, with one delta less than samples. Sequences of zero
+   * deltas are encoded as: ...0, #zeroes - 1...
    *
-   * <p>for instance: [1, 0, 0, 0, 7] will be encoded to [1, 0, 2, 7].
+   * <p>for instance: the deltas [1, 0, 0, 0, 7] will be encoded to [1, 0, 2, 7].
    */
-  private static List<Long> encodeZeroRuns(List<Long> numbers) {
-    @Var var zeroRunLen = 0;
-    ArrayList<Long> encoded = new ArrayList<>();
+  private static void encodeSamples(BinaryWriter writer, long[] values) {
+    Check.checkState(values.length > 0, "tried to compress an empty sample");
 
-    for (Long value : numbers) {
-      if (value == 0) {
+    @Var var zeroRunLen = 0;
+    for (int i = 1; i < values.length; i++) {
+      long delta = values[i] - values[i - 1];
+      if (delta == 0) {
         zeroRunLen++;
 
       } else {
         if (zeroRunLen > 0) {
           // finish the zero run from before
-          encoded.add(0L);
-          encoded.add(zeroRunLen - 1L);
+          writer.packLong(0L).packLong(zeroRunLen - 1L);
           zeroRunLen = 0;
         }
 
-        encoded.add(value);
+        writer.packLong(delta);
       }
     }
 
-    // numbers ended with a zero
+    // deltas ended with a zero
     if (zeroRunLen > 0) {
-      encoded.add(0L);
-      encoded.add(zeroRunLen - 1L);
+      writer.packLong(0L).packLong(zeroRunLen - 1L);
     }
-
-    return encoded;
   }
 
   static class BinaryWriter {
@@ -157,10 +141,8 @@ class FtdcCompressor {
       return this;
     }
 
-    private BinaryWriter packLongs(List<Long> zeroEncoded) {
-      for (Long l : zeroEncoded) {
-        LongPacker.packInto(l, this.buffer);
-      }
+    private BinaryWriter packLong(long value) {
+      LongPacker.packInto(value, this.buffer);
       return this;
     }
   }
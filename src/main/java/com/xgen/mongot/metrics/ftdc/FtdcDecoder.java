@@ -2,6 +2,7 @@ package com.xgen.mongot.metrics.ftdc;
 
 import static com.xgen.mongot.util.Check.checkState;
 
+import com.google.common.base.Splitter;
 import com.google.common.collect.Lists;
 import com.google.errorprone.annotations.Var;
 import com.xgen.mongot.util.BsonUtils;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 import org.bson.BsonBinaryReader;
 import org.bson.BsonDateTime;
 import org.bson.BsonDocument;
+import org.bson.BsonValue;
 import org.bson.codecs.DecoderContext;
 
 public class FtdcDecoder {
@@ -35,8 +37,9 @@ public class FtdcDecoder {
 
     Predicate<String> fileFilter = switch (fileTypes) {
       case INTERIM -> fileName -> fileName.startsWith("metrics.interim");
-      case ARCHIVE -> fileName -> !fileName.startsWith("metrics.interim");
-      case ALL     -> fileName -> true;
+      case ARCHIVE -> fileName ->
+          fileName.startsWith("metrics.") && !fileName.startsWith("metrics.interim");
+      case ALL     -> fileName -> fileName.startsWith("metrics.");
     };
 
     var files =
@@ -97,6 +100,28 @@ public class FtdcDecoder {
     return new MetricChunk(schemaDoc, samples, time.getValue());
   }
 
+  /**
+   * Returns the metrics of a chunk without the values that the {@link FtdcCollector} repeated for
+   * samples that did not contain them, as recorded in the schema of the chunk. Metrics that are not
+   * part of every sample only keep the values they were sampled with.
+   */
+  public static LinkedHashMap<String, List<Long>> sampledMetrics(MetricChunk chunk) {
+    BsonDocument sampleRanges =
+        chunk.schema().isDocument(FtdcCollector.SAMPLE_RANGES_KEY)
+            ? chunk.schema().getDocument(FtdcCollector.SAMPLE_RANGES_KEY)
+            : new BsonDocument();
+    LinkedHashMap<String, List<Long>> metrics = new LinkedHashMap<>();
+    for (Map.Entry<String, List<Long>> entry : chunk.metrics().entrySet()) {
+      BsonValue ranges = sampleRanges.get(entry.getKey());
+      metrics.put(
+          entry.getKey(),
+          ranges != null && ranges.isString()
+              ? sampledValues(entry.getValue(), ranges.asString().getValue())
+              : entry.getValue());
+    }
+    return metrics;
+  }
+
   static List<BsonDocument> readDocsWithoutMetadata(Path ftdcDir, FtdcFileType fileTypes)
       throws Exception {
     // check that 'type' is a number in order to not filter out documents that contain a type key
@@ -140,6 +165,18 @@ public class FtdcDecoder {
     return samples;
   }
 
+  /** Returns the values in comma separated {@code start-end} ranges of rows. */
+  private static List<Long> sampledValues(List<Long> values, String ranges) {
+    List<Long> sampled = new ArrayList<>();
+    for (String range : Splitter.on(',').split(ranges)) {
+      int separator = range.indexOf('-');
+      int start = Integer.parseInt(range.substring(0, separator));
+      int end = Integer.parseInt(range.substring(separator + 1));
+      sampled.addAll(values.subList(start, end));
+    }
+    return sampled;
+  }
+
   private static List<Long> decodeZeroRuns(List<Long> numbers) {
     ArrayList<Long> decoded = new ArrayList<>();
     @Var boolean zeroRun = false;
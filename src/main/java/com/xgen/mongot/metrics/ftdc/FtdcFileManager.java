@@ -32,7 +32,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Manages a directory and a set of FTDC archive and interim files. The archive files are a sequence
- * of Bson documents. Whereas the interim file has only the one document written at a time.
+ * of Bson documents. Whereas the interim file has only the one document written at a time. Profiles
+ * dumped by an {@link FtdcProfiler} are kept in the same directory, within the profiler's own size
+ * and file limits rather than those of the metrics files.
  */
 class FtdcFileManager {
   /**
@@ -45,6 +47,8 @@ class FtdcFileManager {
    */
   private static final int MAX_FILES_PER_SECOND = 10000;
 
+  private static final String ARCHIVE_FILE_PREFIX = "metrics.";
+
   private static final Logger LOG = LoggerFactory.getLogger(FtdcFileManager.class);
   private static final BsonDocumentCodec BSON_DOCUMENT_CODEC = BsonUtils.BSON_DOCUMENT_CODEC;
 
@@ -108,6 +112,17 @@ class FtdcFileManager {
     removeOldFilesIfLimitsExceeded();
   }
 
+  /**
+   * Dumps the profiler's recording to a new file in the FTDC directory, and removes the oldest
+   * profiles if they are then over the profiler's limits.
+   */
+  void writeProfile(FtdcProfiler profiler) throws IOException {
+    profiler.dump(
+        uniqueFileName(FtdcProfiler.PROFILE_FILE_PREFIX, FtdcProfiler.PROFILE_FILE_SUFFIX));
+    removeOldFiles(
+        FtdcFileManager::isProfile, profiler.getDirectorySize(), profiler.getMaxFileCount());
+  }
+
   private void rotateIfNeeded() throws IOException {
     checkState(this.currentFile.toFile().exists(), "tried to rotate file that does not exist");
     long currentFileSize = this.currentFile.toFile().length();
@@ -118,9 +133,18 @@ class FtdcFileManager {
 
   private void removeOldFilesIfLimitsExceeded() throws IOException {
     Predicate<File> notCurrentFile = file -> !file.equals(this.currentFile.toFile());
+    removeOldFiles(
+        notCurrentFile.and(file -> !isProfile(file)),
+        this.config.directorySize,
+        this.config.maxFileCount);
+  }
+
+  /** Removes the oldest of the matching files until they are within the given limits. */
+  private void removeOldFiles(Predicate<File> filter, Bytes maxSize, int maxFileCount)
+      throws IOException {
     LinkedList<File> files =
         Arrays.stream(Optional.ofNullable(this.dir.toFile().listFiles()).orElse(new File[0]))
-            .filter(notCurrentFile)
+            .filter(filter)
             // reversed order has older files last.
             .sorted(Comparator.comparing(File::lastModified).reversed())
             .collect(Collectors.toCollection(LinkedList::new));
@@ -129,14 +153,17 @@ class FtdcFileManager {
 
     // remove files until we are under the limit
     while (!files.isEmpty()
-        && (currentDirSize.compareTo(this.config.directorySize) > 0
-            || files.size() > this.config.maxFileCount)) {
+        && (currentDirSize.compareTo(maxSize) > 0 || files.size() > maxFileCount)) {
       File oldest = files.removeLast();
       currentDirSize = Bytes.ofBytes(currentDirSize.toBytes() - oldest.length());
       Files.delete(oldest.toPath());
     }
   }
 
+  private static boolean isProfile(File file) {
+    return file.getName().startsWith(FtdcProfiler.PROFILE_FILE_PREFIX);
+  }
+
   private void recoverInterimFile() throws IOException {
     Optional<BsonDocument> doc = tryReadDocumentFromInterim();
     if (doc.isPresent()) {
@@ -181,7 +208,7 @@ class FtdcFileManager {
   }
 
   private Path newArchiveFile(FtdcMetadata metadataDoc) throws IOException {
-    Path file = uniqueFileName();
+    Path file = uniqueFileName(ARCHIVE_FILE_PREFIX, "");
 
     BsonDocument metadata =
         new BsonDocument()
@@ -195,11 +222,11 @@ class FtdcFileManager {
     return file;
   }
 
-  private Path uniqueFileName() throws IOException {
+  private Path uniqueFileName(String prefix, String suffix) throws IOException {
     String timestamp = this.timestampProvider.timestamp();
 
     for (int i = 0; i < MAX_FILES_PER_SECOND; i++) {
-      String name = String.format("metrics.%s-%05d", timestamp, i);
+      String name = String.format("%s%s-%05d%s", prefix, timestamp, i, suffix);
       Path path = this.dir.resolve(name);
       if (!path.toFile().exists()) {
         return path;
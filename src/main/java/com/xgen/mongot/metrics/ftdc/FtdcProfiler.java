@@ -0,0 +1,188 @@
+package com.xgen.mongot.metrics.ftdc;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.xgen.mongot.util.Bytes;
+import com.xgen.mongot.util.Check;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Continuously profiles mongot with JDK Flight Recorder recordings, so that CPU, lock contention
+ * and allocation profiles are available for a latency incident after the fact.
+ *
+ * <p>Every dump interval the current recording is replaced by a new one and written into the FTDC
+ * directory next to the metrics archives, so that consecutive profiles cover consecutive intervals
+ * rather than overlapping. Each recording is kept in a bounded ring buffer by JFR itself, holding
+ * at most its share of {@link #getDirectorySize}. The profiles have their own size and file limits
+ * in the FTDC directory, and are removed oldest first independently of the metrics files.
+ *
+ * <p>Only low-overhead events are enabled: stack samples of running threads, monitors and parked
+ * threads that were blocked for more than {@link #CONTENTION_THRESHOLD}, throttled allocation
+ * samples, and garbage collections. Events carry the name of their thread, and the threads of
+ * mongot's named executors are named after their executor (for example {@code indexing-work-3}),
+ * so profiles can be grouped by executor.
+ */
+public class FtdcProfiler implements Closeable {
+
+  public static final Duration DEFAULT_DUMP_INTERVAL = Duration.ofMinutes(5);
+
+  /** Keeps the profiles of the last hour with the default dump interval. */
+  public static final int DEFAULT_MAX_FILE_COUNT = 12;
+
+  static final String PROFILE_FILE_PREFIX = "profile.";
+  static final String PROFILE_FILE_SUFFIX = ".jfr";
+
+  private static final String RECORDING_NAME = "mongot-ftdc-profile";
+  private static final String SAMPLING_PERIOD = "20 ms";
+  private static final String CONTENTION_THRESHOLD = "10 ms";
+  private static final String ALLOCATION_SAMPLES_PER_SECOND = "150/s";
+
+  private static final Logger LOG = LoggerFactory.getLogger(FtdcProfiler.class);
+
+  private final Supplier<Recording> recordings;
+  private final long dumpIntervalMillis;
+  private final Bytes directorySize;
+  private final int maxFileCount;
+  private long lastDumpMillis;
+
+  @GuardedBy("this")
+  private Recording recording;
+
+  @GuardedBy("this")
+  private boolean closed;
+
+  /**
+   * Creates a profiler recording with a recording from {@code recordings}, and a new one for every
+   * dump interval.
+   */
+  @VisibleForTesting
+  FtdcProfiler(
+      Supplier<Recording> recordings,
+      Duration dumpInterval,
+      Bytes directorySize,
+      int maxFileCount,
+      long startMillis) {
+    this.recordings = recordings;
+    this.dumpIntervalMillis = dumpInterval.toMillis();
+    this.directorySize = directorySize;
+    this.maxFileCount = maxFileCount;
+    this.lastDumpMillis = startMillis;
+    this.recording = startRecording(recordings);
+  }
+
+  /**
+   * Starts recording, keeping at most {@code maxFileCount} profiles of {@code dumpInterval} each
+   * that together take up at most {@code directorySize} bytes.
+   */
+  public static FtdcProfiler start(Duration dumpInterval, Bytes directorySize, int maxFileCount) {
+    Check.checkArg(!dumpInterval.isNegative(), "dumpInterval must not be negative");
+    Check.argIsPositive(maxFileCount, "maxFileCount");
+
+    long maxRecordingSize = directorySize.toBytes() / maxFileCount;
+    Supplier<Recording> recordings =
+        () -> {
+          Recording recording = new Recording(settings());
+          recording.setName(RECORDING_NAME);
+          // Bounding the size of a recording only applies to recordings kept on disk. JFR keeps
+          // them in its repository under the temporary directory until they are dumped.
+          recording.setToDisk(true);
+          recording.setMaxSize(maxRecordingSize);
+          return recording;
+        };
+    FtdcProfiler profiler =
+        new FtdcProfiler(
+            recordings, dumpInterval, directorySize, maxFileCount, System.currentTimeMillis());
+
+    LOG.atInfo()
+        .addKeyValue("dumpInterval", dumpInterval)
+        .addKeyValue("directorySize", directorySize)
+        .addKeyValue("maxFileCount", maxFileCount)
+        .log("Started continuous profiling");
+    return profiler;
+  }
+
+  @VisibleForTesting
+  static Map<String, String> settings() {
+    Map<String, String> settings = new HashMap<>();
+    // Stack samples of threads running Java code.
+    settings.put("jdk.ExecutionSample#enabled", "true");
+    settings.put("jdk.ExecutionSample#period", SAMPLING_PERIOD);
+    // Contended monitors, and threads parked on java.util.concurrent locks and queues.
+    settings.put("jdk.JavaMonitorEnter#enabled", "true");
+    settings.put("jdk.JavaMonitorEnter#threshold", CONTENTION_THRESHOLD);
+    settings.put("jdk.JavaMonitorEnter#stackTrace", "true");
+    settings.put("jdk.ThreadPark#enabled", "true");
+    settings.put("jdk.ThreadPark#threshold", CONTENTION_THRESHOLD);
+    settings.put("jdk.ThreadPark#stackTrace", "true");
+    // Allocation hot spots, sampled at a fixed rate regardless of the allocation rate.
+    settings.put("jdk.ObjectAllocationSample#enabled", "true");
+    settings.put("jdk.ObjectAllocationSample#throttle", ALLOCATION_SAMPLES_PER_SECOND);
+    settings.put("jdk.ObjectAllocationSample#stackTrace", "true");
+    // Garbage collections, to tell pauses apart from slow code.
+    settings.put("jdk.GarbageCollection#enabled", "true");
+    return settings;
+  }
+
+  /**
+   * Whether the recording is due to be dumped at {@code epochTime}. If so, the next interval starts
+   * at {@code epochTime}, so that a dump written in the background or failing is not due again on
+   * every sample.
+   */
+  boolean claimDump(long epochTime) {
+    if (epochTime - this.lastDumpMillis < this.dumpIntervalMillis) {
+      return false;
+    }
+    this.lastDumpMillis = epochTime;
+    return true;
+  }
+
+  /**
+   * Writes the events recorded since the last dump to {@code file}. A new recording is started
+   * before the current one is stopped, so that no events are missed in between.
+   */
+  void dump(Path file) throws IOException {
+    Recording dumped;
+    synchronized (this) {
+      if (this.closed) {
+        return;
+      }
+      dumped = this.recording;
+      this.recording = startRecording(this.recordings);
+    }
+    try (dumped) {
+      dumped.stop();
+      dumped.dump(file);
+    }
+  }
+
+  /** The number of bytes the profiles may take up in the FTDC directory. */
+  Bytes getDirectorySize() {
+    return this.directorySize;
+  }
+
+  /** The number of profiles kept in the FTDC directory. */
+  int getMaxFileCount() {
+    return this.maxFileCount;
+  }
+
+  @Override
+  public synchronized void close() {
+    this.closed = true;
+    this.recording.close();
+  }
+
+  private static Recording startRecording(Supplier<Recording> recordings) {
+    Recording recording = recordings.get();
+    recording.start();
+    return recording;
+  }
+}
@@ -27,14 +27,12 @@ import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import java.io.IOException;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
 import org.bson.BsonDocument;
-import org.bson.BsonDouble;
-import org.bson.BsonInt32;
-import org.bson.BsonInt64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -133,6 +131,15 @@ public class FtdcScheduledReporter {
      */
     private final WeakHashMap<Meter.Id, String> meterNameCache = new WeakHashMap<>();
 
+    /**
+     * The meters of the registry as of the last poll, and the same meters sorted by their names.
+     * Sorting tens of thousands of meters on every poll is avoided unless meters were added or
+     * removed since the last poll.
+     */
+    private List<Meter> lastMeters = List.of();
+
+    private ImmutableSortedMap<String, Meter> sortedMeterMap = ImmutableSortedMap.of();
+
     @VisibleForTesting
     Reporter(MeterRegistry executorRegistry, MeterRegistry reportingRegistry, Ftdc ftdc) {
       this.executorRegistry = executorRegistry;
@@ -159,22 +166,20 @@ public class FtdcScheduledReporter {
     /** Report the current values of all metrics in the registry. */
     synchronized void report() {
       try {
-        // we sort by meter names so metrics in FTDC will be displayed in alphabetical order and for
-        // the BSON document to be a consistent format across all FTDC samples
-        ImmutableSortedMap<String, Meter> sortedMeterMap =
-            this.meterRegistry.getMeters().stream()
-                .collect(
-                    toImmutableSortedMap(
-                        Comparator.naturalOrder(), this::createMeterName, meter -> meter));
+        ImmutableSortedMap<String, Meter> sortedMeters = sortMeters();
 
         long epochTime = System.currentTimeMillis();
-        // t2 likes the first metric to be the time of the sample
-        BsonDocument doc = new BsonDocument("start", new BsonInt64(epochTime));
-
-        sortedMeterMap.entrySet().forEach(entry -> addToDoc(doc, entry));
 
         try {
-          this.ftdc.addSample(doc, epochTime);
+          // The meters are read straight into the collected columns, rather than into a document
+          // per sample.
+          this.ftdc.writeSample(
+              writer -> {
+                // t2 likes the first metric to be the time of the sample
+                writer.putInt64("start", epochTime);
+                sortedMeters.entrySet().forEach(entry -> writeMeter(writer, entry));
+              },
+              epochTime);
         } catch (IOException e) {
           // We catch an IOException here because this could just be a transient error and we do not
           // want to fail the ScheduledReporter entirely
@@ -193,7 +198,34 @@ public class FtdcScheduledReporter {
       }
     }
 
-    private void addToDoc(BsonDocument doc, Map.Entry<String, Meter> entry) {
+    private ImmutableSortedMap<String, Meter> sortMeters() {
+      List<Meter> meters = this.meterRegistry.getMeters();
+      if (!sameMeters(meters, this.lastMeters)) {
+        // we sort by meter names so metrics in FTDC will be displayed in alphabetical order and for
+        // the BSON document to be a consistent format across all FTDC samples
+        this.sortedMeterMap =
+            meters.stream()
+                .collect(
+                    toImmutableSortedMap(
+                        Comparator.naturalOrder(), this::createMeterName, meter -> meter));
+        this.lastMeters = meters;
+      }
+      return this.sortedMeterMap;
+    }
+
+    private static boolean sameMeters(List<Meter> meters, List<Meter> lastMeters) {
+      if (meters.size() != lastMeters.size()) {
+        return false;
+      }
+      for (int i = 0; i < meters.size(); i++) {
+        if (meters.get(i) != lastMeters.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void writeMeter(FtdcCollector.SampleWriter writer, Map.Entry<String, Meter> entry) {
       // If a gauge throws an exception, it will not fail the entire report, but instead cause an
       // Undefined Behavior in the actual meter value being recorded. For example, a double type
       // value could result in a NaN value in the metrics report.
@@ -201,8 +233,8 @@ public class FtdcScheduledReporter {
         String meterName = entry.getKey();
         Meter meter = entry.getValue();
 
-        MeterDocumentBuilder meterDocumentBuilder = new MeterDocumentBuilder(doc, meterName);
-        meterDocumentBuilder.matchMeter(meter);
+        MeterSampleWriter meterSampleWriter = new MeterSampleWriter(writer, meterName);
+        meterSampleWriter.matchMeter(meter);
       } catch (Exception e) {
         LOG.atError()
             .setCause(e)
@@ -224,8 +256,8 @@ public class FtdcScheduledReporter {
           });
     }
 
-    /** Populates the BsonDocument with data from a single meter. */
-    private static class MeterDocumentBuilder {
+    /** Writes the data of a single meter into a sample. */
+    private static class MeterSampleWriter {
       // T2 will truncate doubles to integers, we will multiply the value of following metrics by
       // 1000 when reporting to FTDC.
       private static final Set<String> GAUGE_METRICS_TO_SCALE =
@@ -247,11 +279,11 @@ public class FtdcScheduledReporter {
               "initialSyncManager.collectionScanPreprocessingBatchDurations",
               "indexing.initialSyncCollectionScan.getMoreDurations");
 
-      private final BsonDocument doc;
+      private final FtdcCollector.SampleWriter writer;
       private final String meterName;
 
-      private MeterDocumentBuilder(BsonDocument doc, String meterName) {
-        this.doc = doc;
+      private MeterSampleWriter(FtdcCollector.SampleWriter writer, String meterName) {
+        this.writer = writer;
         this.meterName = meterName;
       }
 
@@ -270,16 +302,18 @@ public class FtdcScheduledReporter {
 
       private void visitGauge(Gauge gauge) {
         if (GAUGE_METRICS_TO_SCALE.contains(gauge.getId().getName())) {
-          this.doc.append(this.meterName + "‰", new BsonDouble(gauge.value() * 1000));
+          this.writer.putDouble(this.meterName + "‰", gauge.value() * 1000);
         } else {
-          this.doc.append(this.meterName, new BsonDouble(gauge.value()));
+          this.writer.putDouble(this.meterName, gauge.value());
         }
       }
 
       private void visitCounter(Counter counter) {
-        this.doc.append(this.meterName, new BsonDouble(counter.count()));
+        this.writer.putDouble(this.meterName, counter.count());
       }
 
+      // Timers and summaries are still serialized, as their histogram snapshot is allocated
+      // anyway.
       private void visitTimer(Timer timer) {
         putDocumentMetersFlat(
             SerializableTimer.create(timer).toBson(), this.meterName, timer.getId().getName());
@@ -301,29 +335,29 @@ public class FtdcScheduledReporter {
             putDocumentMetersFlat(childDoc, key, meterName);
           } else {
             if (TIMER_METRICS_TO_SCALE.contains(meterName) && entry.getValue().isDouble()) {
-              this.doc.put(
-                  key + "Scaled", new BsonDouble(entry.getValue().asDouble().getValue() * 1000));
+              this.writer.putDouble(
+                  key + "Scaled", entry.getValue().asDouble().getValue() * 1000);
             } else {
-              this.doc.put(key, entry.getValue());
+              this.writer.putValue(key, entry.getValue());
             }
           }
         }
       }
 
       private void visitLongTaskTimer(LongTaskTimer timer) {
-        this.doc.append(this.meterName, new BsonInt32(timer.activeTasks()));
+        this.writer.putInt32(this.meterName, timer.activeTasks());
       }
 
       private void visitTimeGauge(TimeGauge gauge) {
-        this.doc.append(this.meterName, new BsonDouble(gauge.value()));
+        this.writer.putDouble(this.meterName, gauge.value());
       }
 
       private void visitFunctionCounter(FunctionCounter counter) {
-        this.doc.append(this.meterName, new BsonDouble(counter.count()));
+        this.writer.putDouble(this.meterName, counter.count());
       }
 
       private void visitFunctionTimer(FunctionTimer timer) {
-        this.doc.append(this.meterName, new BsonDouble(timer.count()));
+        this.writer.putDouble(this.meterName, timer.count());
       }
 
       private void visitMeter(Meter meter) {
@@ -33,6 +33,19 @@ public interface ReplicationManager {
    */
   CompletableFuture<Void> dropIndex(GenerationId generationId);
 
+  /**
+   * Stops replication of the index with the supplied id and kills its cursors, without dropping
+   * the index, so that it can be added again later. Replication managers that neither replicate
+   * indexes nor serve cursors have nothing to stop.
+   *
+   * @param generationId the id of the index to stop replicating
+   * @return a future that completes when replication of the index has stopped. The future will only
+   *     ever complete successfully.
+   */
+  default CompletableFuture<Void> unload(GenerationId generationId) {
+    return CompletableFuture.completedFuture(null);
+  }
+
   /**
    * Returns the MongoDb and MongoS ConnectionStrings that this LifecycleManager is replicating
    * from.
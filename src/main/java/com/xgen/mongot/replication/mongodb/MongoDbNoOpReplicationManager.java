@@ -136,6 +136,12 @@ public class MongoDbNoOpReplicationManager implements ReplicationManager {
         .orElseGet(() -> CompletableFuture.completedFuture(null));
   }
 
+  @Override
+  public synchronized CompletableFuture<Void> unload(GenerationId generationId) {
+    // Nothing is replicated, but cursors must not outlive the resources of the index.
+    return CompletableFuture.runAsync(() -> killCursors(generationId), this.lifeCycleExecutor);
+  }
+
   private void killCursors(GenerationId generationId) {
     Crash.because("failed to kill index cursors")
         .ifThrows(
@@ -12,6 +12,7 @@ import com.xgen.mongot.catalog.IndexCatalog;
 import com.xgen.mongot.catalog.InitializedIndexCatalog;
 import com.xgen.mongot.cursor.MongotCursorManager;
 import com.xgen.mongot.embedding.providers.EmbeddingServiceManager;
+import com.xgen.mongot.featureflag.Feature;
 import com.xgen.mongot.featureflag.FeatureFlags;
 import com.xgen.mongot.index.Index;
 import com.xgen.mongot.index.IndexGeneration;
@@ -26,6 +27,7 @@ import com.xgen.mongot.replication.mongodb.common.CommonReplicationConfig;
 import com.xgen.mongot.replication.mongodb.common.DecodingWorkScheduler;
 import com.xgen.mongot.replication.mongodb.common.DefaultDocumentIndexer;
 import com.xgen.mongot.replication.mongodb.common.DefaultSessionRefresher;
+import com.xgen.mongot.replication.mongodb.common.IndexCommitCoordinator;
 import com.xgen.mongot.replication.mongodb.common.IndexingWorkSchedulerFactory;
 import com.xgen.mongot.replication.mongodb.common.MongoDbReplicationConfig;
 import com.xgen.mongot.replication.mongodb.common.PeriodicIndexCommitter;
@@ -129,6 +131,9 @@ public class MongoDbReplicationManager implements ReplicationManager {
 
   private final Duration commitInterval;
 
+  /** Commits indexes in groups spread across the commit interval, when enabled. */
+  private final Optional<IndexCommitCoordinator> commitCoordinator;
+
   private final ReplicationOptimeUpdater replicationOptimeUpdater;
 
   // TODO(CLOUDP-231027): Remove after separating from LifecycleManager.
@@ -188,6 +193,10 @@ public class MongoDbReplicationManager implements ReplicationManager {
     this.indexManagers = indexManagers;
     this.commitExecutor = commitExecutor;
     this.commitInterval = commitInterval;
+    this.commitCoordinator =
+        featureFlags.isEnabled(Feature.GROUP_INDEX_COMMIT)
+            ? Optional.of(new IndexCommitCoordinator(commitExecutor, commitInterval, meterRegistry))
+            : Optional.empty();
     this.syncSourceConfig = syncSourceConfig;
     this.featureFlags = featureFlags;
     this.replicationOptimeUpdater = replicationOptimeUpdater;
@@ -660,7 +669,9 @@ public class MongoDbReplicationManager implements ReplicationManager {
     Index index = indexGeneration.getIndex();
     DefaultDocumentIndexer indexer = DefaultDocumentIndexer.create(initializedIndex.get());
     PeriodicIndexCommitter committer =
-        new PeriodicIndexCommitter(index, indexer, this.commitExecutor, this.commitInterval);
+        this.commitCoordinator.isPresent()
+            ? new PeriodicIndexCommitter(index, indexer, this.commitCoordinator.get())
+            : new PeriodicIndexCommitter(index, indexer, this.commitExecutor, this.commitInterval);
 
     ReplicationIndexManager indexManager =
         this.replicationIndexManagerFactory.create(
@@ -693,6 +704,23 @@ public class MongoDbReplicationManager implements ReplicationManager {
     return indexManager.drop();
   }
 
+  @Override
+  public synchronized CompletableFuture<Void> unload(GenerationId generationId) {
+    checkState(!this.shutdown, "cannot call unload() after shutdown()");
+    if (!this.indexManagers.containsKey(generationId)) {
+      LOG.warn("Cannot unload index {} because it is not already added.", generationId);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // Shutting down the index manager stops replication and periodic commits, but keeps the index
+    // and its last committed resume point, from which replication resumes once it is added again.
+    ReplicationIndexManager indexManager = this.indexManagers.remove(generationId);
+    return indexManager
+        .shutdown()
+        .thenRunAsync(
+            () -> this.cursorManager.killIndexCursors(generationId), this.lifecycleExecutor);
+  }
+
   @Override
   public synchronized CompletableFuture<Void> shutdown() {
     LOG.info("Shutting down.");
@@ -742,6 +770,8 @@ public class MongoDbReplicationManager implements ReplicationManager {
                     .getIndexingWorkSchedulers()
                     .forEach((strategy, scheduler) -> scheduler.shutdown()),
             shutdownExecutor)
+        .thenRunAsync(
+            () -> this.commitCoordinator.ifPresent(IndexCommitCoordinator::close), shutdownExecutor)
         .thenRunAsync(() -> Executors.shutdownOrFail(this.commitExecutor), shutdownExecutor)
         .thenRunAsync(() -> Executors.shutdownOrFail(this.lifecycleExecutor), shutdownExecutor)
         .thenRunAsync(this.replicationOptimeUpdater::close, shutdownExecutor)
@@ -14,6 +14,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Supplier;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 import com.xgen.mongot.cursor.MongotCursorManager;
+import com.xgen.mongot.embedding.EmbeddingReuseStore;
 import com.xgen.mongot.embedding.config.MaterializedViewCollectionMetadata;
 import com.xgen.mongot.embedding.config.MaterializedViewCollectionMetadataCatalog;
 import com.xgen.mongot.embedding.mongodb.common.AutoEmbeddingMongoClient;
@@ -97,6 +98,8 @@ public class MaterializedViewManager implements ReplicationManager {
   // TODO(CLOUDP-356241): Make this parameter part of durabilityConfig
   private static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofSeconds(30);
 
+  private static final String EMBEDDING_REUSE_STORE_DIRECTORY = "embeddingReuseStore";
+
   public static final String OPTIME_UPDATER_ERROR_COUNTER_NAME = "matViewOptimeUpdaterError";
 
   public static final String STATE_LABEL = "state";
@@ -345,7 +348,14 @@ public class MaterializedViewManager implements ReplicationManager {
             matViewMetadataCatalog,
             meterRegistry,
             materializedViewConfig.globalMemoryBudgetHeapPercent,
-            materializedViewConfig.perBatchMemoryBudgetHeapPercent);
+            materializedViewConfig.perBatchMemoryBudgetHeapPercent,
+            // Embeddings are only reused across indexes once a capacity is configured.
+            materializedViewConfig.embeddingReuseStoreCapacityBytes.flatMap(
+                capacityBytes ->
+                    EmbeddingReuseStore.tryOpen(
+                        rootPath.resolve(EMBEDDING_REUSE_STORE_DIRECTORY),
+                        capacityBytes,
+                        meterRegistry)));
 
     var decodingWorkScheduler =
         DecodingWorkScheduler.create(
@@ -185,6 +185,13 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
   /** The interval in milliseconds at which the materialized view index optime is updated. */
   public final long materializedViewOptimeUpdateIntervalMs;
 
+  /**
+   * The size in bytes of the node-local {@link com.xgen.mongot.embedding.EmbeddingReuseStore}, a
+   * memory-mapped file of previously generated embeddings that any auto-embedding index on this
+   * mongot can reuse. When empty, the store is disabled and no file is created.
+   */
+  public final Optional<Long> embeddingReuseStoreCapacityBytes;
+
   private AutoEmbeddingMaterializedViewConfig(
       boolean pauseAllInitialSyncs,
       List<ObjectId> pauseInitialSyncOnIndexIds,
@@ -214,7 +221,8 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
       int perBatchMemoryBudgetHeapPercent,
       long leaseManagerHeartbeatIntervalMs,
       long materializedViewStatusRefreshIntervalMs,
-      long materializedViewOptimeUpdateIntervalMs) {
+      long materializedViewOptimeUpdateIntervalMs,
+      Optional<Long> embeddingReuseStoreCapacityBytes) {
     super(
         pauseAllInitialSyncs,
         pauseInitialSyncOnIndexIds,
@@ -245,6 +253,7 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
     this.leaseManagerHeartbeatIntervalMs = leaseManagerHeartbeatIntervalMs;
     this.materializedViewStatusRefreshIntervalMs = materializedViewStatusRefreshIntervalMs;
     this.materializedViewOptimeUpdateIntervalMs = materializedViewOptimeUpdateIntervalMs;
+    this.embeddingReuseStoreCapacityBytes = embeddingReuseStoreCapacityBytes;
   }
 
   /**
@@ -276,7 +285,8 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
       Optional<Integer> perBatchMemoryBudgetHeapPercent,
       Optional<Long> optionalLeaseManagerHeartbeatIntervalMs,
       Optional<Long> optionalMaterializedViewStatusRefreshIntervalMs,
-      Optional<Long> optionalMaterializedViewOptimeUpdateIntervalMs) {
+      Optional<Long> optionalMaterializedViewOptimeUpdateIntervalMs,
+      Optional<Long> embeddingReuseStoreCapacityBytes) {
     return create(
         Runtime.INSTANCE,
         globalReplicationConfig,
@@ -303,7 +313,8 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
         perBatchMemoryBudgetHeapPercent,
         optionalLeaseManagerHeartbeatIntervalMs,
         optionalMaterializedViewStatusRefreshIntervalMs,
-        optionalMaterializedViewOptimeUpdateIntervalMs);
+        optionalMaterializedViewOptimeUpdateIntervalMs,
+        embeddingReuseStoreCapacityBytes);
   }
 
   /** Used for testing. The above create() method should be called instead. */
@@ -334,7 +345,8 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
       Optional<Integer> optionalPerBatchMemoryBudgetHeapPercent,
       Optional<Long> optionalLeaseManagerHeartbeatIntervalMs,
       Optional<Long> optionalMaterializedViewStatusRefreshIntervalMs,
-      Optional<Long> optionalMaterializedViewOptimeUpdateIntervalMs) {
+      Optional<Long> optionalMaterializedViewOptimeUpdateIntervalMs,
+      Optional<Long> embeddingReuseStoreCapacityBytes) {
 
     int maxConcurrentEmbeddingInitialSyncs =
         getMaxConcurrentEmbeddingInitialSyncsWithDefault(
@@ -450,6 +462,10 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
             optionalMaterializedViewOptimeUpdateIntervalMs,
             "materializedViewOptimeUpdateIntervalMs",
             DEFAULT_MATERIALIZED_VIEW_OPTIME_UPDATE_INTERVAL_MS);
+    embeddingReuseStoreCapacityBytes.ifPresent(
+        bytes ->
+            Check.checkArg(
+                bytes > 0, "embeddingReuseStoreCapacityBytes must be positive, got %s", bytes));
 
     return new AutoEmbeddingMaterializedViewConfig(
         globalReplicationConfig.pauseAllInitialSyncs(),
@@ -480,7 +496,8 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
         perBatchMemoryBudgetHeapPercent,
         leaseManagerHeartbeatIntervalMs,
         materializedViewStatusRefreshIntervalMs,
-        materializedViewOptimeUpdateIntervalMs);
+        materializedViewOptimeUpdateIntervalMs,
+        embeddingReuseStoreCapacityBytes);
   }
 
   private static long getIntervalMsWithDefault(
@@ -529,6 +546,7 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
         Optional.empty(),
         Optional.empty(),
         Optional.empty(),
+        Optional.empty(),
         Optional.empty());
   }
 
@@ -561,6 +579,7 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
         Optional.empty(),
         Optional.empty(),
         Optional.empty(),
+        Optional.empty(),
         Optional.empty());
   }
 
@@ -614,6 +633,7 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
         .field(
             Fields.MATERIALIZED_VIEW_OPTIME_UPDATE_INTERVAL_MS,
             this.materializedViewOptimeUpdateIntervalMs)
+        .field(Fields.EMBEDDING_REUSE_STORE_CAPACITY_BYTES, this.embeddingReuseStoreCapacityBytes)
         .build();
   }
 
@@ -989,5 +1009,12 @@ public final class AutoEmbeddingMaterializedViewConfig extends CommonReplication
             .mustBePositive()
             .optional()
             .withDefault(DEFAULT_MATERIALIZED_VIEW_OPTIME_UPDATE_INTERVAL_MS);
+
+    private static final Field.Optional<Long> EMBEDDING_REUSE_STORE_CAPACITY_BYTES =
+        Field.builder("embeddingReuseStoreCapacityBytes")
+            .longField()
+            .mustBePositive()
+            .optional()
+            .noDefault();
   }
 }
@@ -4,6 +4,7 @@ import com.xgen.mongot.util.bson.parser.BsonDocumentBuilder;
 import com.xgen.mongot.util.bson.parser.BsonParseException;
 import com.xgen.mongot.util.bson.parser.DocumentParser;
 import com.xgen.mongot.util.bson.parser.Field;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.StringJoiner;
@@ -19,6 +20,14 @@ public class BufferlessIdOrderInitialSyncResumeInfo extends InitialSyncResumeInf
 
     private static final Field.Required<BsonValue> LAST_SCANNED_ID =
         Field.builder("lastScannedId").unparsedValueField().required();
+
+    private static final Field.Optional<List<IdScanRange>> SCAN_RANGES =
+        Field.builder("scanRanges")
+            .classField(IdScanRange::fromBson)
+            .disallowUnknownFields()
+            .asList()
+            .optional()
+            .noDefault();
   }
 
   /** The opTime of the last event seen during change stream application. */
@@ -27,11 +36,19 @@ public class BufferlessIdOrderInitialSyncResumeInfo extends InitialSyncResumeInf
   /** The _id of the last document scanned during initial sync collection scan. */
   private final BsonValue lastScannedId;
 
+  /**
+   * The ranges that remain to be scanned by a range-partitioned collection scan, each resuming from
+   * its own last scanned _id. Empty for a scan with a single cursor. lastScannedId is then the
+   * lowest position of all ranges, so the scan can also be resumed with a single cursor from it.
+   */
+  private final Optional<List<IdScanRange>> scanRanges;
+
   public static BufferlessIdOrderInitialSyncResumeInfo deserialize(DocumentParser parser)
       throws BsonParseException {
     return new BufferlessIdOrderInitialSyncResumeInfo(
         new BsonTimestamp(parser.getField(Fields.HIGH_WATER_MARK).unwrap()),
-        parser.getField(Fields.LAST_SCANNED_ID).unwrap());
+        parser.getField(Fields.LAST_SCANNED_ID).unwrap(),
+        parser.getField(Fields.SCAN_RANGES).unwrap());
   }
 
   /**
@@ -40,8 +57,20 @@ public class BufferlessIdOrderInitialSyncResumeInfo extends InitialSyncResumeInf
    */
   public BufferlessIdOrderInitialSyncResumeInfo(
       BsonTimestamp highWaterMark, BsonValue lastScannedId) {
+    this(highWaterMark, lastScannedId, Optional.empty());
+  }
+
+  /**
+   * Creates an InitialSyncResumeInfo for a range-partitioned bufferless collection scan, resuming
+   * each of {@code scanRanges} from its own position.
+   */
+  public BufferlessIdOrderInitialSyncResumeInfo(
+      BsonTimestamp highWaterMark,
+      BsonValue lastScannedId,
+      Optional<List<IdScanRange>> scanRanges) {
     this.highWaterMark = highWaterMark;
     this.lastScannedId = lastScannedId;
+    this.scanRanges = scanRanges;
   }
 
   @Override
@@ -61,11 +90,17 @@ public class BufferlessIdOrderInitialSyncResumeInfo extends InitialSyncResumeInf
     return this.lastScannedId;
   }
 
+  @Override
+  public Optional<List<IdScanRange>> getScanRanges() {
+    return this.scanRanges;
+  }
+
   @Override
   protected BsonValue resumeInfoToBson() {
     return BsonDocumentBuilder.builder()
         .field(Fields.HIGH_WATER_MARK, this.highWaterMark.getValue())
         .field(Fields.LAST_SCANNED_ID, this.lastScannedId)
+        .field(Fields.SCAN_RANGES, this.scanRanges)
         .build();
   }
 
@@ -79,12 +114,13 @@ public class BufferlessIdOrderInitialSyncResumeInfo extends InitialSyncResumeInf
     }
     BufferlessIdOrderInitialSyncResumeInfo that = (BufferlessIdOrderInitialSyncResumeInfo) o;
     return this.highWaterMark.equals(that.highWaterMark)
-        && this.lastScannedId.equals(that.lastScannedId);
+        && this.lastScannedId.equals(that.lastScannedId)
+        && this.scanRanges.equals(that.scanRanges);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.highWaterMark, this.lastScannedId);
+    return Objects.hash(this.highWaterMark, this.lastScannedId, this.scanRanges);
   }
 
   @Override
@@ -92,6 +128,7 @@ public class BufferlessIdOrderInitialSyncResumeInfo extends InitialSyncResumeInf
     return new StringJoiner(", ", "BufferlessIdOrderInitialSyncResumeInfo[", "]")
         .add("highWaterMark=" + this.highWaterMark)
         .add("lastScannedId=" + this.lastScannedId)
+        .add("scanRanges=" + this.scanRanges)
         .toString();
   }
 }
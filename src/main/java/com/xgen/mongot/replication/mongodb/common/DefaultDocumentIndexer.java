@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class DefaultDocumentIndexer implements DocumentIndexer {
@@ -19,6 +20,10 @@ public class DefaultDocumentIndexer implements DocumentIndexer {
   private final InitializedIndex index;
   private final IndexDefinition indexDefinition;
   private final AtomicReference<IndexCommitUserData> commitUserData;
+  private final AtomicLong uncommittedBytes;
+
+  /** The commit user data of the last commit, updated while holding the lock on this indexer. */
+  private volatile IndexCommitUserData lastCommittedUserData;
 
   private DefaultDocumentIndexer(InitializedIndex index, IndexDefinition indexDefinition) {
     HashMap<String, Object> defaultKeyValues = new HashMap<>();
@@ -30,6 +35,8 @@ public class DefaultDocumentIndexer implements DocumentIndexer {
         new AtomicReference<>(
             IndexCommitUserData.fromEncodedData(
                 index.getWriter().getCommitUserData(), Optional.of(index.getGenerationId())));
+    this.uncommittedBytes = new AtomicLong();
+    this.lastCommittedUserData = this.commitUserData.get();
   }
 
   public static DefaultDocumentIndexer create(InitializedIndex index) {
@@ -41,6 +48,10 @@ public class DefaultDocumentIndexer implements DocumentIndexer {
 
     try {
       this.index.getWriter().updateIndex(event);
+      event
+          .getDocument()
+          .ifPresent(
+              document -> this.uncommittedBytes.addAndGet(document.getByteBuffer().remaining()));
 
     } catch (IOException e) {
       Crash.because(
@@ -75,13 +86,35 @@ public class DefaultDocumentIndexer implements DocumentIndexer {
   @Override
   public synchronized void commit() throws IOException {
     IndexCommitUserData userData = this.commitUserData.get();
+    // Documents indexed while committing may or may not be part of the commit, so only discount
+    // those indexed before it started.
+    long committedBytes = this.uncommittedBytes.get();
     this.index.getWriter().commit(userData.toEncodedData());
+    this.lastCommittedUserData = userData;
+    this.uncommittedBytes.addAndGet(-committedBytes);
+  }
+
+  @Override
+  public boolean hasUncommittedChanges() {
+    return hasUncommittedCommitUserData() || this.index.getWriter().hasUncommittedChanges();
+  }
+
+  @Override
+  public boolean hasUncommittedCommitUserData() {
+    return this.commitUserData.get() != this.lastCommittedUserData;
+  }
+
+  @Override
+  public long getUncommittedBytes() {
+    return this.uncommittedBytes.get();
   }
 
   @Override
   public synchronized void clearIndex(IndexCommitUserData commitUserData) {
     this.index.clear(commitUserData.toEncodedData());
     updateCommitUserData(commitUserData);
+    this.lastCommittedUserData = commitUserData;
+    this.uncommittedBytes.set(0);
   }
 
   @Override
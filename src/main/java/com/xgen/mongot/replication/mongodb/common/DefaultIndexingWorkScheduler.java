@@ -1,20 +1,43 @@
 package com.xgen.mongot.replication.mongodb.common;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.errorprone.annotations.Var;
+import com.xgen.mongot.index.DocumentEvent;
 import com.xgen.mongot.index.FieldExceededLimitsException;
 import com.xgen.mongot.replication.mongodb.common.IndexingWorkSchedulerFactory.IndexingStrategy;
 import com.xgen.mongot.util.FutureUtils;
 import com.xgen.mongot.util.concurrent.NamedExecutorService;
+import com.xgen.mongot.util.functionalinterfaces.CheckedRunnable;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * The default indexing work scheduler accepts indexing work and schedules it to be completed on an
  * executor. Exclusively indexes batches, does not do any additional work.
+ *
+ * <p>Each batch is split into contiguous chunks of events, one per executor thread, and every chunk
+ * is indexed by a single task. This avoids allocating and joining a future per document, while
+ * still spreading a batch across the executor. Since a chunk is indexed by a single thread, the
+ * document builders and Lucene fields that the index's writer reuses per thread are reused across
+ * the chunk's documents.
  */
 final class DefaultIndexingWorkScheduler extends IndexingWorkScheduler {
 
+  /**
+   * The minimum number of events indexed by a single task, so that small batches are not split
+   * into tasks whose scheduling costs more than indexing their events.
+   */
+  @VisibleForTesting static final int MIN_EVENTS_PER_TASK = 16;
+
+  private final int numThreads;
+
   DefaultIndexingWorkScheduler(NamedExecutorService executor) {
     super(executor, IndexingStrategy.DEFAULT);
+    this.numThreads =
+        executor.getMaxPoolSize().orElse(Runtime.getRuntime().availableProcessors());
   }
 
   /**
@@ -31,8 +54,8 @@ final class DefaultIndexingWorkScheduler extends IndexingWorkScheduler {
   @Override
   CompletableFuture<Void> getBatchTasksFuture(IndexingSchedulerBatch batch) {
     return FutureUtils.allOf(
-        batch.events.stream()
-            .map((doc) -> new IndexingTask(batch.indexer, doc))
+        chunk(batch.events, this.numThreads).stream()
+            .map((events) -> new ChunkIndexingTask(batch.indexer, events))
             .map(
                 (task) ->
                     FutureUtils.checkedRunAsync(
@@ -44,4 +67,54 @@ final class DefaultIndexingWorkScheduler extends IndexingWorkScheduler {
   void handleBatchException(IndexingSchedulerBatch batch, Throwable throwable) {
     batch.future.completeExceptionally(throwable);
   }
+
+  /**
+   * Splits {@code events} into at most {@code numChunks} contiguous chunks of similar size, each
+   * holding at least {@link #MIN_EVENTS_PER_TASK} events unless there are fewer events in total.
+   */
+  @VisibleForTesting
+  static List<List<DocumentEvent>> chunk(List<DocumentEvent> events, int numChunks) {
+    if (events.isEmpty()) {
+      return List.of();
+    }
+    int chunkSize =
+        Math.max(MIN_EVENTS_PER_TASK, Math.ceilDiv(events.size(), Math.max(numChunks, 1)));
+    return Lists.partition(events, chunkSize);
+  }
+
+  /**
+   * Indexes a contiguous chunk of a batch's events in order. As when every event was indexed by its
+   * own task, a failed event does not prevent the chunk's other events from being indexed, and the
+   * first failure fails the whole batch.
+   */
+  private static class ChunkIndexingTask implements CheckedRunnable<FieldExceededLimitsException> {
+
+    private final DocumentIndexer indexer;
+    private final List<DocumentEvent> events;
+
+    ChunkIndexingTask(DocumentIndexer indexer, List<DocumentEvent> events) {
+      this.indexer = indexer;
+      this.events = events;
+    }
+
+    @Override
+    public void run() throws FieldExceededLimitsException {
+      @Var @Nullable Exception failure = null;
+      for (DocumentEvent event : this.events) {
+        try {
+          this.indexer.indexDocumentEvent(event);
+        } catch (FieldExceededLimitsException | RuntimeException e) {
+          if (failure == null) {
+            failure = e;
+          }
+        }
+      }
+      if (failure instanceof FieldExceededLimitsException fieldLimitFailure) {
+        throw fieldLimitFailure;
+      }
+      if (failure != null) {
+        throw (RuntimeException) failure;
+      }
+    }
+  }
 }
@@ -42,6 +42,27 @@ public interface DocumentIndexer {
   /** Commits all pending changes to the index. */
   void commit() throws IOException;
 
+  /**
+   * Returns whether a {@link #commit()} would persist anything beyond the last commit, either
+   * changes to the index or commit user data updated since.
+   */
+  default boolean hasUncommittedChanges() {
+    return true;
+  }
+
+  /**
+   * Returns whether the commit user data, which records replication progress, was updated since
+   * the last commit.
+   */
+  default boolean hasUncommittedCommitUserData() {
+    return true;
+  }
+
+  /** Returns an estimate of the size of the documents indexed since the last commit, in bytes. */
+  default long getUncommittedBytes() {
+    return 0;
+  }
+
   /** Clear the index and update the commit user data atomically. */
   void clearIndex(IndexCommitUserData commitUserData) throws IOException;
 
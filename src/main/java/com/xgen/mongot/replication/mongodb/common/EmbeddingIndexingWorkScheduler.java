@@ -13,6 +13,7 @@ import com.google.common.flogger.FluentLogger;
 import com.google.errorprone.annotations.Var;
 import com.xgen.mongot.embedding.AutoEmbeddingMemoryBudget;
 import com.xgen.mongot.embedding.EmbeddingRequestContext;
+import com.xgen.mongot.embedding.EmbeddingReuseStore;
 import com.xgen.mongot.embedding.VectorOrError;
 import com.xgen.mongot.embedding.config.MaterializedViewCollectionMetadata;
 import com.xgen.mongot.embedding.config.MaterializedViewCollectionMetadata.MaterializedViewSchemaMetadata;
@@ -24,6 +25,7 @@ import com.xgen.mongot.embedding.exceptions.MaterializedViewTransientException;
 import com.xgen.mongot.embedding.providers.EmbeddingServiceManager;
 import com.xgen.mongot.embedding.providers.configs.EmbeddingModelCatalog;
 import com.xgen.mongot.embedding.providers.configs.EmbeddingModelConfig;
+import com.xgen.mongot.embedding.providers.configs.EmbeddingServiceConfig.VoyageModelConfig;
 import com.xgen.mongot.embedding.utils.AutoEmbeddingDocumentUtils;
 import com.xgen.mongot.index.DocumentEvent;
 import com.xgen.mongot.index.FieldExceededLimitsException;
@@ -77,6 +79,11 @@ import java.util.stream.Collectors;
  *
  * <p>The global budget defaults to 100% (unbounded). The per-batch budget defaults to 50% of JVM
  * heap. Setting either to 100% disables it.
+ *
+ * <p>When an {@link EmbeddingReuseStore} is configured, texts are first looked up by (model
+ * configuration hash, text hash) and only the misses are sent to the embedding provider. Vectors
+ * returned by the provider are added to the store so that other documents and indexes on this node
+ * can reuse them.
  */
 final class EmbeddingIndexingWorkScheduler extends IndexingWorkScheduler {
 
@@ -102,19 +109,23 @@ final class EmbeddingIndexingWorkScheduler extends IndexingWorkScheduler {
 
   private final long perBatchBudgetBytes;
 
+  private final Optional<EmbeddingReuseStore> reuseStore;
+
   EmbeddingIndexingWorkScheduler(
       NamedExecutorService indexingExecutor,
       Supplier<EmbeddingServiceManager> embeddingServiceManagerSupplier,
       MaterializedViewCollectionMetadataCatalog materializedViewCollectionMetadataCatalog,
       IndexingStrategy indexingStrategy,
       AutoEmbeddingMemoryBudget globalBudget,
-      long perBatchBudgetBytes) {
+      long perBatchBudgetBytes,
+      Optional<EmbeddingReuseStore> reuseStore) {
     super(indexingExecutor, indexingStrategy);
     this.embeddingServiceManagerSupplier = embeddingServiceManagerSupplier;
     this.materializedViewCollectionMetadataCatalog = materializedViewCollectionMetadataCatalog;
     this.indexingStrategy = indexingStrategy;
     this.globalBudget = globalBudget;
     this.perBatchBudgetBytes = perBatchBudgetBytes;
+    this.reuseStore = reuseStore;
   }
 
   /**
@@ -145,7 +156,8 @@ final class EmbeddingIndexingWorkScheduler extends IndexingWorkScheduler {
             new MaterializedViewCollectionMetadataCatalog(),
             IndexingStrategy.EMBEDDING,
             globalBudget,
-            PER_BATCH_AUTO_EMBEDDING_MEMORY_BUDGET_BYTES);
+            PER_BATCH_AUTO_EMBEDDING_MEMORY_BUDGET_BYTES,
+            Optional.empty());
     scheduler.start();
     return scheduler;
   }
@@ -186,6 +198,22 @@ final class EmbeddingIndexingWorkScheduler extends IndexingWorkScheduler {
       MaterializedViewCollectionMetadataCatalog matViewCollectionMetadataCatalog,
       AutoEmbeddingMemoryBudget globalBudget,
       long perBatchBudgetBytes) {
+    return createForMaterializedViewIndex(
+        indexingExecutor,
+        embeddingServiceManagerSupplier,
+        matViewCollectionMetadataCatalog,
+        globalBudget,
+        perBatchBudgetBytes,
+        Optional.empty());
+  }
+
+  static EmbeddingIndexingWorkScheduler createForMaterializedViewIndex(
+      NamedExecutorService indexingExecutor,
+      Supplier<EmbeddingServiceManager> embeddingServiceManagerSupplier,
+      MaterializedViewCollectionMetadataCatalog matViewCollectionMetadataCatalog,
+      AutoEmbeddingMemoryBudget globalBudget,
+      long perBatchBudgetBytes,
+      Optional<EmbeddingReuseStore> reuseStore) {
     EmbeddingIndexingWorkScheduler scheduler =
         new EmbeddingIndexingWorkScheduler(
             indexingExecutor,
@@ -193,7 +221,8 @@ final class EmbeddingIndexingWorkScheduler extends IndexingWorkScheduler {
             matViewCollectionMetadataCatalog,
             IndexingStrategy.EMBEDDING_MATERIALIZED_VIEW,
             globalBudget,
-            perBatchBudgetBytes);
+            perBatchBudgetBytes,
+            reuseStore);
     scheduler.start();
     return scheduler;
   }
@@ -407,6 +436,23 @@ final class EmbeddingIndexingWorkScheduler extends IndexingWorkScheduler {
     return chain;
   }
 
+  /** Shuts down the scheduler and then closes the embedding reuse store, if one is configured. */
+  @Override
+  public CompletableFuture<Void> shutdown() {
+    return super.shutdown()
+        .whenComplete(
+            (ignored, throwable) ->
+                this.reuseStore.ifPresent(
+                    store -> {
+                      try {
+                        store.close();
+                      } catch (IOException e) {
+                        FLOGGER.atWarning().withCause(e).log(
+                            "Failed to close embedding reuse store");
+                      }
+                    }));
+  }
+
   @Override
   void handleBatchException(IndexingSchedulerBatch batch, Throwable throwable) {
     if (throwable.getCause() instanceof EmbeddingProviderNonTransientException ex) {
@@ -686,7 +732,31 @@ final class EmbeddingIndexingWorkScheduler extends IndexingWorkScheduler {
         continue;
       }
 
-      List<String> orderedStrings = new ArrayList<>(stringsToEmbed);
+      Map<String, Vector> reusedEmbeddings = new HashMap<>();
+      Optional<String> modelConfigHash =
+          this.reuseStore.map(ignored -> batchKey.reuseStoreModelConfigHash(tier));
+      List<String> orderedStrings = new ArrayList<>(stringsToEmbed.size());
+      // The reuse store keys of orderedStrings, so that each key is only hashed once.
+      List<EmbeddingReuseStore.Key> orderedReuseKeys = new ArrayList<>();
+      for (String text : stringsToEmbed) {
+        if (this.reuseStore.isPresent()) {
+          EmbeddingReuseStore.Key key =
+              EmbeddingReuseStore.Key.create(
+                  modelConfigHash.get(), AutoEmbeddingDocumentUtils.computeTextHash(text));
+          Optional<Vector> reused = this.reuseStore.get().get(key);
+          if (reused.isPresent()) {
+            reusedEmbeddings.put(text, reused.get());
+            continue;
+          }
+          orderedReuseKeys.add(key);
+        }
+        orderedStrings.add(text);
+      }
+      if (orderedStrings.isEmpty()) {
+        futuresPerBatchKey.put(batchKey, CompletableFuture.completedFuture(reusedEmbeddings));
+        continue;
+      }
+
       EmbeddingRequestContext context =
           new EmbeddingRequestContext(
               indexDefinition.getDatabase(),
@@ -699,14 +769,18 @@ final class EmbeddingIndexingWorkScheduler extends IndexingWorkScheduler {
               .embedAsync(orderedStrings, batchKey.modelConfig(), tier, context)
               .thenApply(
                   embeddingList -> {
-                    Map<String, Vector> embeddings = new HashMap<>();
+                    Map<String, Vector> embeddings = new HashMap<>(reusedEmbeddings);
                     Check.checkState(
                         embeddingList.size() == orderedStrings.size(),
                         "Result vectors size doesn't match input text size");
                     for (int i = 0; i < embeddingList.size(); i++) {
                       VectorOrError result = embeddingList.get(i);
                       if (result.vector.isPresent()) {
-                        embeddings.put(orderedStrings.get(i), result.vector.get());
+                        String text = orderedStrings.get(i);
+                        embeddings.put(text, result.vector.get());
+                        if (this.reuseStore.isPresent()) {
+                          this.reuseStore.get().put(orderedReuseKeys.get(i), result.vector.get());
+                        }
                       } else if (result != VectorOrError.EMPTY_INPUT_ERROR
                           && result.errorMessage.isPresent()) {
                         FLOGGER.atWarning().atMostEvery(1, TimeUnit.MINUTES).log(
@@ -824,7 +898,39 @@ final class EmbeddingIndexingWorkScheduler extends IndexingWorkScheduler {
   record EmbedConfigurationForBatch(
       EmbeddingModelConfig modelConfig,
       int numDimensions,
-      VectorAutoEmbedQuantization quantization) {}
+      VectorAutoEmbedQuantization quantization) {
+
+    /**
+     * Identifies the vectors produced for this configuration and service tier in the {@link
+     * EmbeddingReuseStore}. Every input that changes the generated vector is included, so that
+     * only interchangeable vectors are shared: the model, the input type and truncation the
+     * provider is called with for the tier, and the output dimensions, quantization, truncation
+     * and modality of the tier's model config. Indexes with different error handling, rate limits
+     * or credentials for the same model still share vectors.
+     */
+    String reuseStoreModelConfigHash(ServiceTier tier) {
+      EmbeddingModelConfig.ConsolidatedWorkloadParams params =
+          switch (tier) {
+            case QUERY -> this.modelConfig.query();
+            case CHANGE_STREAM -> this.modelConfig.changeStream();
+            case COLLECTION_SCAN -> this.modelConfig.collectionScan();
+          };
+      List<Object> parts = new ArrayList<>();
+      parts.add(this.modelConfig.name().toLowerCase());
+      parts.add(this.modelConfig.provider());
+      // Providers embed queries and documents differently, and only truncate documents.
+      parts.add(tier == ServiceTier.QUERY ? "query" : "document");
+      parts.add(this.numDimensions);
+      parts.add(this.quantization);
+      parts.add(params.modelConfig().getOutputDimensions());
+      if (params.modelConfig() instanceof VoyageModelConfig voyage) {
+        parts.add(voyage.truncation);
+        parts.add(voyage.modality);
+        parts.add(voyage.quantization);
+      }
+      return EmbeddingReuseStore.computeModelConfigHash(parts.toArray());
+    }
+  }
 
   record EmbedBundle(
       List<DocumentEvent> events,
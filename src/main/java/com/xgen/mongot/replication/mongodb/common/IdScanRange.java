@@ -0,0 +1,48 @@
+package com.xgen.mongot.replication.mongodb.common;
+
+import com.xgen.mongot.util.bson.parser.BsonDocumentBuilder;
+import com.xgen.mongot.util.bson.parser.BsonParseException;
+import com.xgen.mongot.util.bson.parser.DocumentEncodable;
+import com.xgen.mongot.util.bson.parser.DocumentParser;
+import com.xgen.mongot.util.bson.parser.Field;
+import java.util.Optional;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * A range of the _id space that remains to be scanned during a range-partitioned initial sync
+ * collection scan.
+ *
+ * @param lastScannedId the inclusive lower bound to resume scanning the range from.
+ * @param upperBound the exclusive upper bound of the range, or empty if the range is unbounded.
+ */
+public record IdScanRange(BsonValue lastScannedId, Optional<BsonValue> upperBound)
+    implements DocumentEncodable {
+
+  private static class Fields {
+    private static final Field.Required<BsonValue> LAST_SCANNED_ID =
+        Field.builder("lastScannedId").unparsedValueField().required();
+
+    private static final Field.Optional<BsonValue> UPPER_BOUND =
+        Field.builder("upperBound").unparsedValueField().optional().noDefault();
+  }
+
+  public static IdScanRange fromBson(DocumentParser parser) throws BsonParseException {
+    return new IdScanRange(
+        parser.getField(Fields.LAST_SCANNED_ID).unwrap(),
+        parser.getField(Fields.UPPER_BOUND).unwrap());
+  }
+
+  /** Returns this range, resuming from {@code lastScannedId}. */
+  public IdScanRange resumeFrom(BsonValue lastScannedId) {
+    return new IdScanRange(lastScannedId, this.upperBound);
+  }
+
+  @Override
+  public BsonDocument toBson() {
+    return BsonDocumentBuilder.builder()
+        .field(Fields.LAST_SCANNED_ID, this.lastScannedId)
+        .field(Fields.UPPER_BOUND, this.upperBound)
+        .build();
+  }
+}
@@ -0,0 +1,166 @@
+package com.xgen.mongot.replication.mongodb.common;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.xgen.mongot.metrics.MetricsFactory;
+import com.xgen.mongot.util.FutureUtils;
+import com.xgen.mongot.util.VerboseRunnable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Commits the indexes of a node in groups, instead of every index committing on its own schedule.
+ *
+ * <p>Registered committers are spread evenly over {@link #NUM_COMMIT_GROUPS} groups, and one group
+ * is committed every {@code interval / NUM_COMMIT_GROUPS}, so every index is still committed once
+ * per interval while the commits of thousands of indexes don't all land on the disk at once. Newly
+ * registered indexes are committed once right away.
+ *
+ * <p>Indexes without uncommitted changes are skipped, as their commit would not persist anything.
+ * The remaining indexes of a group are committed in priority order: the most bytes indexed since
+ * the last commit first, then indexes whose replication progress advanced. Each Lucene commit
+ * still syncs its own files, as the commit protocol of a Lucene IndexWriter cannot share a sync
+ * with other writers.
+ */
+public class IndexCommitCoordinator implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IndexCommitCoordinator.class);
+
+  /** The number of groups the commit interval is split into. */
+  @VisibleForTesting static final int NUM_COMMIT_GROUPS = 10;
+
+  private static final Comparator<PendingCommit> PRIORITY =
+      Comparator.comparingLong(PendingCommit::uncommittedBytes)
+          .thenComparing(PendingCommit::hasReplicationProgress)
+          .reversed();
+
+  private final ScheduledExecutorService executor;
+  private final ScheduledFuture<?> groupCommitFuture;
+
+  @GuardedBy("this")
+  private final List<Set<PeriodicIndexCommitter>> groups;
+
+  @GuardedBy("this")
+  private int nextGroup = 0;
+
+  private final Timer groupCommitDurations;
+  private final DistributionSummary groupCommitSize;
+  private final Counter skippedCommits;
+
+  public IndexCommitCoordinator(
+      ScheduledExecutorService executor, Duration interval, MeterRegistry meterRegistry) {
+    this.executor = executor;
+    this.groups =
+        IntStream.range(0, NUM_COMMIT_GROUPS)
+            .mapToObj(i -> new HashSet<PeriodicIndexCommitter>())
+            .collect(Collectors.toList());
+
+    MetricsFactory metricsFactory = new MetricsFactory("indexCommitCoordinator", meterRegistry);
+    this.groupCommitDurations = metricsFactory.timer("groupCommitDurations");
+    this.groupCommitSize = metricsFactory.summary("groupCommitSize");
+    this.skippedCommits = metricsFactory.counter("skippedCommits");
+
+    long groupIntervalMillis = Math.max(1, interval.toMillis() / NUM_COMMIT_GROUPS);
+    this.groupCommitFuture =
+        executor.scheduleWithFixedDelay(
+            new VerboseRunnable() {
+              @Override
+              public void verboseRun() {
+                commitNextGroup();
+              }
+
+              @Override
+              public Logger getLogger() {
+                return LOG;
+              }
+            },
+            groupIntervalMillis,
+            groupIntervalMillis,
+            TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Adds the committer to the group with the fewest committers, and commits its index right away,
+   * like a committer on its own schedule, rather than up to an interval later with its group.
+   */
+  void register(PeriodicIndexCommitter committer) {
+    synchronized (this) {
+      this.groups.stream().min(Comparator.comparingInt(Set::size)).orElseThrow().add(committer);
+    }
+    this.executor.execute(committer::commitIfNeeded);
+  }
+
+  synchronized void unregister(PeriodicIndexCommitter committer) {
+    this.groups.forEach(group -> group.remove(committer));
+  }
+
+  @Override
+  public void close() {
+    this.groupCommitFuture.cancel(false);
+  }
+
+  /**
+   * Commits the due committers of the next group on the commit executor, and returns a future that
+   * completes once all of them are committed.
+   */
+  @VisibleForTesting
+  CompletableFuture<Void> commitNextGroup() {
+    List<PeriodicIndexCommitter> group;
+    synchronized (this) {
+      group = List.copyOf(this.groups.get(this.nextGroup));
+      this.nextGroup = (this.nextGroup + 1) % NUM_COMMIT_GROUPS;
+    }
+
+    // Snapshot the priority of every commit, as it changes while indexing continues.
+    List<PeriodicIndexCommitter> due =
+        group.stream()
+            .filter(PeriodicIndexCommitter::isCommitDue)
+            .map(PendingCommit::of)
+            .sorted(PRIORITY)
+            .map(PendingCommit::committer)
+            .toList();
+    this.skippedCommits.increment(group.size() - due.size());
+    if (due.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    this.groupCommitSize.record(due.size());
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    // Tasks submitted without a delay run in submission order, so higher priority commits start
+    // first.
+    List<CompletableFuture<?>> commits =
+        due.stream()
+            .map(committer -> CompletableFuture.runAsync(committer::commitIfNeeded, this.executor))
+            .collect(Collectors.toList());
+    return FutureUtils.allOf(commits)
+        .whenComplete(
+            (result, throwable) -> this.groupCommitDurations.record(stopwatch.elapsed()));
+  }
+
+  private record PendingCommit(
+      PeriodicIndexCommitter committer, long uncommittedBytes, boolean hasReplicationProgress) {
+
+    static PendingCommit of(PeriodicIndexCommitter committer) {
+      DocumentIndexer indexer = committer.getIndexer();
+      return new PendingCommit(
+          committer, indexer.getUncommittedBytes(), indexer.hasUncommittedCommitUserData());
+    }
+  }
+}
@@ -4,6 +4,7 @@ import static com.xgen.mongot.index.definition.MaterializedViewIndexDefinitionGe
 
 import com.google.common.base.Supplier;
 import com.xgen.mongot.embedding.AutoEmbeddingMemoryBudget;
+import com.xgen.mongot.embedding.EmbeddingReuseStore;
 import com.xgen.mongot.embedding.config.MaterializedViewCollectionMetadataCatalog;
 import com.xgen.mongot.embedding.providers.EmbeddingServiceManager;
 import com.xgen.mongot.index.definition.IndexDefinition;
@@ -12,6 +13,7 @@ import com.xgen.mongot.util.Runtime;
 import com.xgen.mongot.util.concurrent.Executors;
 import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Map;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -89,6 +91,8 @@ public class IndexingWorkSchedulerFactory {
    *     budget (1–100; 100 disables the limit)
    * @param perBatchMemoryBudgetHeapPercent percentage of JVM max heap for the per-batch embedding
    *     memory budget (1–100; 100 disables the limit)
+   * @param reuseStore node-local store used to reuse embeddings across documents and indexes; it is
+   *     closed when the scheduler shuts down
    */
   public static IndexingWorkSchedulerFactory createEmbeddingIndexingSchedulerOnly(
       int numIndexingThreads,
@@ -96,7 +100,8 @@ public class IndexingWorkSchedulerFactory {
       MaterializedViewCollectionMetadataCatalog matViewCollectionMetadataCatalog,
       MeterRegistry registry,
       int globalMemoryBudgetHeapPercent,
-      int perBatchMemoryBudgetHeapPercent) {
+      int perBatchMemoryBudgetHeapPercent,
+      Optional<EmbeddingReuseStore> reuseStore) {
     log.info("Creating IndexingWorkSchedulerFactory with EmbeddingIndexingWorkScheduler only");
     var executor =
         Executors.fixedSizeThreadPool("indexing-auto-embedding", numIndexingThreads, registry);
@@ -114,7 +119,8 @@ public class IndexingWorkSchedulerFactory {
             embeddingServiceManagerSupplier,
             matViewCollectionMetadataCatalog,
             globalBudget,
-            perBatchBudgetBytes);
+            perBatchBudgetBytes,
+            reuseStore);
     return new IndexingWorkSchedulerFactory(
         Map.of(
             IndexingStrategy.EMBEDDING_MATERIALIZED_VIEW,
@@ -6,6 +6,7 @@ import com.xgen.mongot.util.bson.parser.BsonParseException;
 import com.xgen.mongot.util.bson.parser.DocumentEncodable;
 import com.xgen.mongot.util.bson.parser.DocumentParser;
 import com.xgen.mongot.util.bson.parser.Field;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 import org.bson.BsonDocument;
@@ -143,4 +144,9 @@ public abstract class InitialSyncResumeInfo implements DocumentEncodable {
   public Optional<String> getSyncSourceHost() {
     return Optional.empty();
   }
+
+  /** Returns the per-range positions of a range-partitioned collection scan, if any. */
+  public Optional<List<IdScanRange>> getScanRanges() {
+    return Optional.empty();
+  }
 }
@@ -13,6 +13,7 @@ import com.xgen.mongot.util.VerboseRunnable;
 import java.io.Closeable;
 import java.time.Duration;
 import java.util.EnumSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -20,6 +21,11 @@ import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Periodically commits an index, either on its own schedule or, when created with an {@link
+ * IndexCommitCoordinator}, as part of the commit groups the coordinator spreads across the commit
+ * interval.
+ */
 public class PeriodicIndexCommitter implements Closeable {
 
   private static final Logger LOG = LoggerFactory.getLogger(PeriodicIndexCommitter.class);
@@ -29,7 +35,8 @@ public class PeriodicIndexCommitter implements Closeable {
 
   private final Index index;
   private final DocumentIndexer indexer;
-  private final ScheduledFuture<?> commitFuture;
+  private final Optional<ScheduledFuture<?>> commitFuture;
+  private final Optional<IndexCommitCoordinator> coordinator;
 
   @GuardedBy("this")
   private boolean shutdown = false;
@@ -38,36 +45,70 @@ public class PeriodicIndexCommitter implements Closeable {
       Index index, DocumentIndexer indexer, ScheduledExecutorService executor, Duration interval) {
     this.index = index;
     this.indexer = indexer;
+    this.coordinator = Optional.empty();
     this.commitFuture =
-        executor.scheduleWithFixedDelay(
-            new VerboseRunnable() {
-              @Override
-              public void verboseRun() {
-                commitIfNeeded();
-              }
-
-              @Override
-              public Logger getLogger() {
-                return LOG;
-              }
-            },
-            0,
-            interval.toMillis(),
-            TimeUnit.MILLISECONDS);
+        Optional.of(
+            executor.scheduleWithFixedDelay(
+                new VerboseRunnable() {
+                  @Override
+                  public void verboseRun() {
+                    commitIfNeeded();
+                  }
+
+                  @Override
+                  public Logger getLogger() {
+                    return LOG;
+                  }
+                },
+                0,
+                interval.toMillis(),
+                TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Creates a committer that is committed by the given coordinator, which skips commits while the
+   * index has no uncommitted changes.
+   */
+  public PeriodicIndexCommitter(
+      Index index, DocumentIndexer indexer, IndexCommitCoordinator coordinator) {
+    this.index = index;
+    this.indexer = indexer;
+    this.commitFuture = Optional.empty();
+    this.coordinator = Optional.of(coordinator);
+    coordinator.register(this);
   }
 
   @Override
   public synchronized void close() {
     this.shutdown = true;
-    this.commitFuture.cancel(false);
+    this.commitFuture.ifPresent(future -> future.cancel(false));
+    this.coordinator.ifPresent(coordinator -> coordinator.unregister(this));
+  }
+
+  /** Returns whether the index can be committed and has changes that a commit would persist. */
+  boolean isCommitDue() {
+    try {
+      return isActionable() && this.indexer.hasUncommittedChanges();
+    } catch (IndexClosedException e) {
+      // The index was closed since it was checked, it will be unregistered shortly.
+      return false;
+    }
+  }
+
+  DocumentIndexer getIndexer() {
+    return this.indexer;
+  }
+
+  private boolean isActionable() {
+    return ACTIONABLE_STATUSES.contains(this.index.getStatus().getStatusCode())
+        && !this.index.isClosed();
   }
 
-  private synchronized void commitIfNeeded() {
+  synchronized void commitIfNeeded() {
     if (this.shutdown) {
       return;
     }
-    if (!ACTIONABLE_STATUSES.contains(this.index.getStatus().getStatusCode())
-        || this.index.isClosed()) {
+    if (!isActionable()) {
       return;
     }
 
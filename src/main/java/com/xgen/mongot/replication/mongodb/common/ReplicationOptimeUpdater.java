@@ -188,6 +188,8 @@ public class ReplicationOptimeUpdater implements AutoCloseable {
       Collection<IndexGeneration> indexes, BsonTimestamp lastCommittedOptime) {
     // In the future (CLOUDP-219777), when index initialization happens asynchronously, it's ok
     // to not report optime till index is fully initialized.
+    // Indexes unloaded while idle are not replicated, and do not serve queries once reopened until
+    // the optime reported here shows that they caught up.
     indexes.stream()
         .map(
             indexGeneration ->
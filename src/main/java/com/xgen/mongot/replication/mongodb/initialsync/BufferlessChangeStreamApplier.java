@@ -90,6 +90,9 @@ public class BufferlessChangeStreamApplier implements AutoCloseable {
   // same optime.
   private final boolean isFreshStart;
 
+  /** Present during a fresh initial sync, records the documents of applied events. */
+  private final Optional<BulkLoadTracker> bulkLoadTracker;
+
   public static final String SKIPPED_DOCUMENTS_WITHOUT_METADATA_NAMESPACE =
       "skippedInitialSyncDocumentsWithoutMetadataNamespace";
 
@@ -109,7 +112,8 @@ public class BufferlessChangeStreamApplier implements AutoCloseable {
       BsonTimestamp highWaterMark,
       MetricsFactory metricsFactory,
       boolean avoidNaturalOrderScanSyncSourceChangeResync,
-      boolean isFreshStart) {
+      boolean isFreshStart,
+      Optional<BulkLoadTracker> bulkLoadTracker) {
     HashMap<String, Object> defaultKeyValues = new HashMap<>();
     defaultKeyValues.put("indexId", context.getIndexId());
     defaultKeyValues.put("generationId", context.getGenerationId());
@@ -132,6 +136,7 @@ public class BufferlessChangeStreamApplier implements AutoCloseable {
 
     this.shutdown = false;
     this.isFreshStart = isFreshStart;
+    this.bulkLoadTracker = bulkLoadTracker;
 
     Tags replicationTag = Tags.of(ServerStatusDataExtractor.Scope.REPLICATION.getTag());
     this.witnessedUpdatesCounter =
@@ -337,6 +342,9 @@ public class BufferlessChangeStreamApplier implements AutoCloseable {
     InitialSyncException.getOrWrapThrowable(
         indexingFuture, InitialSyncException.Phase.CHANGE_STREAM);
 
+    // Record the batch before the next collection scan phase can read its documents.
+    this.bulkLoadTracker.ifPresent(tracker -> tracker.recordApplied(batch.finalChangeEvents));
+
     // When previous indexing finishes, schedule the current batch.
     return this.context
         .schedule(
@@ -1,6 +1,7 @@
 package com.xgen.mongot.replication.mongodb.initialsync;
 
 import com.xgen.mongot.replication.mongodb.common.InitialSyncException;
+import java.util.Optional;
 import org.bson.BsonTimestamp;
 
 interface BufferlessChangeStreamApplierFactory {
@@ -12,7 +13,12 @@ interface BufferlessChangeStreamApplierFactory {
    * highWaterMark + 1 since the collection scan already captured everything at highWaterMark. If
    * false, we're resuming from a crash and must use highWaterMark (inclusive) to avoid missing
    * events as two events can share the same optime.
+   *
+   * <p>The applier records the documents it applies in {@code bulkLoadTracker}, if present.
    */
-  BufferlessChangeStreamApplier create(BsonTimestamp highWaterMark, boolean isFreshStart)
+  BufferlessChangeStreamApplier create(
+      BsonTimestamp highWaterMark,
+      boolean isFreshStart,
+      Optional<BulkLoadTracker> bulkLoadTracker)
       throws InitialSyncException;
 }
@@ -14,6 +14,7 @@ import com.xgen.mongot.index.DocumentMetadata;
 import com.xgen.mongot.logging.DefaultKeyValueLogger;
 import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.mongot.replication.mongodb.common.CollectionScanMongoClient;
+import com.xgen.mongot.replication.mongodb.common.IdScanRange;
 import com.xgen.mongot.replication.mongodb.common.IndexCommitUserData;
 import com.xgen.mongot.replication.mongodb.common.InitialSyncException;
 import com.xgen.mongot.replication.mongodb.common.InitialSyncResumeInfo;
@@ -62,6 +63,12 @@ public class BufferlessCollectionScanner {
 
   private final boolean avoidNaturalOrderScanSyncSourceChangeResync;
 
+  /**
+   * Present during a fresh initial sync, in which scanned documents that the tracker reports as not
+   * yet indexed are indexed as {@link DocumentEvent#isGuaranteedNew() guaranteed new} inserts.
+   */
+  private final Optional<BulkLoadTracker> bulkLoadTracker;
+
   protected final InitialSyncContext context;
   protected final InitialSyncMongoClient mongoClient;
 
@@ -88,6 +95,25 @@ public class BufferlessCollectionScanner {
       BsonValue lastScannedToken,
       MetricsFactory metricsFactory,
       boolean avoidNaturalOrderScanSyncSourceChangeResync) {
+    this(
+        clock,
+        context,
+        mongoClient,
+        lastScannedToken,
+        metricsFactory,
+        avoidNaturalOrderScanSyncSourceChangeResync,
+        Optional.empty());
+  }
+
+  @VisibleForTesting
+  protected BufferlessCollectionScanner(
+      Clock clock,
+      InitialSyncContext context,
+      InitialSyncMongoClient mongoClient,
+      BsonValue lastScannedToken,
+      MetricsFactory metricsFactory,
+      boolean avoidNaturalOrderScanSyncSourceChangeResync,
+      Optional<BulkLoadTracker> bulkLoadTracker) {
     HashMap<String, Object> defaultKeyValues = new HashMap<>();
     defaultKeyValues.put("indexId", context.getIndexId());
     defaultKeyValues.put("generationId", context.getGenerationId());
@@ -102,6 +128,7 @@ public class BufferlessCollectionScanner {
         metricsFactory.counter(SKIPPED_DOCUMENTS_WITHOUT_METADATA_NAMESPACE);
     this.preprocessingBatchTimer = metricsFactory.timer(PREPROCESSING_BATCH_DURATIONS);
     this.avoidNaturalOrderScanSyncSourceChangeResync = avoidNaturalOrderScanSyncSourceChangeResync;
+    this.bulkLoadTracker = bulkLoadTracker;
     this.shutdown = false;
   }
 
@@ -110,12 +137,16 @@ public class BufferlessCollectionScanner {
    * whether the scan needs to continue.
    */
   Result scanWithTimeLimit(Duration collectionScanTime) throws InitialSyncException {
-    this.logger.info("Starting a collection scan phase.");
+    this.logger
+        .atInfo()
+        .addKeyValue("bulkLoad", this.bulkLoadTracker.isPresent())
+        .log("Starting a collection scan phase.");
 
     // Synchronize on prior indexing, and buffer a batch to be indexed after. To begin, there is no
     // indexing to wait on, so this future is set as complete.
     @Var CompletableFuture<Void> indexingFuture = CompletableFuture.completedFuture(null);
-    CollectionScanMongoClient<InitialSyncException> mongoClient = getClient();
+    CollectionScanMongoClient<InitialSyncException> mongoClient =
+        getClient(this.lastScannedToken, Optional.empty());
 
     try (mongoClient) {
       Instant timeLimit = Instant.now(this.clock).plus(collectionScanTime);
@@ -171,13 +202,19 @@ public class BufferlessCollectionScanner {
     this.shutdown = true;
   }
 
+  protected boolean isShutdown() {
+    return this.shutdown;
+  }
+
   /**
    * Issues a new collection scan cursor with the change stream high watermark as the
    * readConcern.afterClusterTime, ensuring the scan represents a view of the collection from an
    * opTime after the last event applied. Note that min is an inclusive lower bound and may cause
-   * the doc with the lastScannedToken to be scanned twice.
+   * the doc with the lastScannedToken to be scanned twice. For an _id order scan, idUpperBound
+   * optionally limits the scan to the _ids below it.
    */
-  private CollectionScanMongoClient<InitialSyncException> getClient() throws InitialSyncException {
+  protected CollectionScanMongoClient<InitialSyncException> getClient(
+      BsonValue lastScannedToken, Optional<BsonValue> idUpperBound) throws InitialSyncException {
 
     var highWaterMark = this.context.getChangeStreamResumeOperationTime();
 
@@ -196,15 +233,16 @@ public class BufferlessCollectionScanner {
       builder
           .hint(NATURAL_ASC) // Ensure we use the $natural in ascending order scan,
           .requestResumeToken(BsonBoolean.TRUE); // Always request for resume token
-      if (!this.lastScannedToken.asDocument().isEmpty()) {
+      if (!lastScannedToken.asDocument().isEmpty()) {
         // Start at last post batch resume token, or later record id if given record was deleted.
-        builder.startAt(this.lastScannedToken.asDocument());
+        builder.startAt(lastScannedToken.asDocument());
       }
     } else {
       builder
           .sort(Sorts.ascending(ID_KEY)) // Scan by _id to provide a consistent scan ordering,
           .hint(Indexes.ascending(ID_KEY)) // Ensure we use the _id index for the scan,
-          .lastScannedId(this.lastScannedToken); // Resume from last id scanned,
+          .lastScannedId(lastScannedToken); // Resume from last id scanned,
+      idUpperBound.ifPresent(builder::idUpperBound);
     }
 
     this.context
@@ -276,13 +314,13 @@ public class BufferlessCollectionScanner {
                       return Optional.<DocumentEvent>empty();
                     }
 
-                    return Optional.of(DocumentEvent.createInsert(metadata, doc));
+                    return Optional.of(createInsert(metadata, doc));
                   }
 
                   // for collections, we only need _id from the root of the document
                   DocumentMetadata metadata =
                       DocumentMetadata.fromOriginalDocument(Optional.ofNullable(doc));
-                  return Optional.of(DocumentEvent.createInsert(metadata, doc));
+                  return Optional.of(createInsert(metadata, doc));
                 })
             .filter(Optional::isPresent)
             .map(Optional::get)
@@ -292,7 +330,14 @@ public class BufferlessCollectionScanner {
     return documentEvents;
   }
 
-  private void recordCollectionScanBatchMetrics(List<DocumentEvent> documentEvents) {
+  private DocumentEvent createInsert(DocumentMetadata metadata, RawBsonDocument document) {
+    BsonValue id = Check.isPresent(metadata.getId(), "id");
+    return this.bulkLoadTracker.isPresent() && this.bulkLoadTracker.get().isGuaranteedNew(id)
+        ? DocumentEvent.createGuaranteedNewInsert(metadata, document)
+        : DocumentEvent.createInsert(metadata, document);
+  }
+
+  protected void recordCollectionScanBatchMetrics(List<DocumentEvent> documentEvents) {
     if (documentEvents.size() > 0) {
       this.context
           .getInitialSyncMetricsUpdater()
@@ -371,11 +416,11 @@ public class BufferlessCollectionScanner {
                 : Optional.empty()));
   }
 
-  private CompletableFuture<Void> cancelProcessing(Throwable reason) {
+  protected CompletableFuture<Void> cancelProcessing(Throwable reason) {
     return this.context.cancel(reason);
   }
 
-  private void handleShutdown() throws InitialSyncException {
+  protected void handleShutdown() throws InitialSyncException {
     this.logger
         .atInfo()
         .addKeyValue("numDocumentsIndexed", this.docsIndexed)
@@ -395,10 +440,19 @@ public class BufferlessCollectionScanner {
   public static class Result {
     private final boolean continueSync;
     private final BsonValue lastScannedToken;
+    private final Optional<List<IdScanRange>> scanRanges;
 
     private Result(boolean continueSync, BsonValue lastScannedToken) {
+      this(continueSync, lastScannedToken, Optional.empty());
+    }
+
+    Result(
+        boolean continueSync,
+        BsonValue lastScannedToken,
+        Optional<List<IdScanRange>> scanRanges) {
       this.continueSync = continueSync;
       this.lastScannedToken = lastScannedToken;
+      this.scanRanges = scanRanges;
     }
 
     public boolean getContinueSync() {
@@ -408,5 +462,10 @@ public class BufferlessCollectionScanner {
     public BsonValue getLastScannedToken() {
       return this.lastScannedToken;
     }
+
+    /** Returns the ranges that remain to be scanned by a range-partitioned scan, if any. */
+    public Optional<List<IdScanRange>> getScanRanges() {
+      return this.scanRanges;
+    }
   }
 }
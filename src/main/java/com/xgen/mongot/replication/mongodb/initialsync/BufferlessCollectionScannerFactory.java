@@ -1,8 +1,20 @@
 package com.xgen.mongot.replication.mongodb.initialsync;
 
+import com.xgen.mongot.replication.mongodb.common.IdScanRange;
+import java.util.List;
+import java.util.Optional;
 import org.bson.BsonValue;
 
 public interface BufferlessCollectionScannerFactory {
 
-  BufferlessCollectionScanner create(InitialSyncContext context, BsonValue lastScannedToken);
+  /**
+   * Creates a scanner resuming after {@code lastScannedToken}, or from each of {@code scanRanges}
+   * if the previous scan was range-partitioned. During a fresh initial sync, {@code
+   * bulkLoadTracker} determines which scanned documents can be indexed without an _id lookup.
+   */
+  BufferlessCollectionScanner create(
+      InitialSyncContext context,
+      BsonValue lastScannedToken,
+      Optional<List<IdScanRange>> scanRanges,
+      Optional<BulkLoadTracker> bulkLoadTracker);
 }
@@ -15,6 +15,7 @@ import com.xgen.mongot.embedding.config.MaterializedViewCollectionMetadataCatalo
 import com.xgen.mongot.logging.DefaultKeyValueLogger;
 import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.mongot.replication.mongodb.common.ChangeStreamResumeInfo;
+import com.xgen.mongot.replication.mongodb.common.IdScanRange;
 import com.xgen.mongot.replication.mongodb.common.IndexCommitUserData;
 import com.xgen.mongot.replication.mongodb.common.InitialSyncException;
 import com.xgen.mongot.replication.mongodb.common.InitialSyncResumeInfo;
@@ -89,6 +90,7 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
       Duration changeStreamCatchupTimeout,
       Duration changeStreamLagTime,
       boolean avoidNaturalOrderScanSyncSourceChangeResync,
+      int numCollectionScanRanges,
       List<String> excludedChangestreamFields,
       boolean matchCollectionUuidForUpdateLookup,
       Optional<MaterializedViewCollectionMetadataCatalog> mvMetadataCatalog,
@@ -106,7 +108,8 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
             resumeInfo,
             mvMetadataCatalog,
             metricsFactory,
-            avoidNaturalOrderScanSyncSourceChangeResync);
+            avoidNaturalOrderScanSyncSourceChangeResync,
+            numCollectionScanRanges);
   }
 
   static String getSizeBucket(long totalBytes) {
@@ -131,9 +134,10 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
       Optional<InitialSyncResumeInfo> resumeInfo,
       Optional<MaterializedViewCollectionMetadataCatalog> mvMetadataCatalog,
       MetricsFactory metricsFactory,
-      boolean avoidNaturalOrderScanSyncSourceChangeResync) {
+      boolean avoidNaturalOrderScanSyncSourceChangeResync,
+      int numCollectionScanRanges) {
     BufferlessCollectionScannerFactory collectionScannerFactory =
-        (context, lastId) -> {
+        (context, lastId, scanRanges, bulkLoadTracker) -> {
           if (isMaterializedViewBasedIndex(
               context.indexDefinitionGeneration.getIndexDefinition())) {
             return new AutoEmbeddingSortedIdCollectionScanner(
@@ -143,6 +147,16 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
                 lastId,
                 Check.isPresent(mvMetadataCatalog, "mvMetadataCatalog"),
                 metricsFactory);
+          } else if (numCollectionScanRanges > 1 && !context.useNaturalOrderScan()) {
+            return new RangePartitionedCollectionScanner(
+                Clock.systemUTC(),
+                context,
+                mongoClient,
+                lastId,
+                scanRanges,
+                numCollectionScanRanges,
+                metricsFactory,
+                bulkLoadTracker);
           } else {
             return new BufferlessCollectionScanner(
                 Clock.systemUTC(),
@@ -150,11 +164,14 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
                 mongoClient,
                 lastId,
                 metricsFactory,
-                avoidNaturalOrderScanSyncSourceChangeResync);
+                avoidNaturalOrderScanSyncSourceChangeResync,
+                bulkLoadTracker);
           }
         };
     BufferlessChangeStreamApplierFactory changeStreamApplierFactory =
-        (BsonTimestamp highWaterMark, boolean isFreshStart) ->
+        (BsonTimestamp highWaterMark,
+            boolean isFreshStart,
+            Optional<BulkLoadTracker> bulkLoadTracker) ->
             new BufferlessChangeStreamApplier(
                 Clock.systemUTC(),
                 changeStreamCatchupTimeout,
@@ -167,7 +184,8 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
                 highWaterMark,
                 metricsFactory,
                 avoidNaturalOrderScanSyncSourceChangeResync,
-                isFreshStart);
+                isFreshStart,
+                bulkLoadTracker);
 
     return new BufferlessInitialSyncManager(
         initialSyncContext,
@@ -191,6 +209,7 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
     // indexed during collection scan from the resume info.
     @Var BsonTimestamp highWaterMark;
     @Var BsonValue lastScannedToken;
+    @Var Optional<List<IdScanRange>> scanRanges = Optional.empty();
     if (this.resumeInfo.isPresent()) {
       // This should never happen because useNaturalOrderScan should be set properly when requests
       // are enqueued into initial sync queue.
@@ -206,6 +225,7 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
       }
       highWaterMark = this.resumeInfo.get().getResumeOperationTime();
       lastScannedToken = this.resumeInfo.get().getResumeToken();
+      scanRanges = this.resumeInfo.get().getScanRanges();
       this.logger
           .atInfo()
           .addKeyValue("lastScannedToken", lastScannedToken)
@@ -220,8 +240,12 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
     // captured everything at highWaterMark. For resumes, we must use highWaterMark (inclusive)
     // to avoid missing events from multi-document transactions.
     boolean isFreshStart = this.resumeInfo.isEmpty();
+    // The index was cleared before a fresh initial sync, so scanned documents can be appended to
+    // the index without an _id lookup, unless the change stream has already indexed them.
+    Optional<BulkLoadTracker> bulkLoadTracker =
+        isFreshStart ? Optional.of(BulkLoadTracker.create()) : Optional.empty();
     BufferlessChangeStreamApplier changeStreamApplier =
-        this.changeStreamApplierFactory.create(highWaterMark, isFreshStart);
+        this.changeStreamApplierFactory.create(highWaterMark, isFreshStart, bulkLoadTracker);
 
     Stopwatch stopwatch = Stopwatch.createStarted();
     this.logger
@@ -280,11 +304,12 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
 
         var collectionScanTimer = Stopwatch.createStarted();
         BufferlessCollectionScanner.Result scanResult =
-            scanCollection(highWaterMark, lastScannedToken);
+            scanCollection(highWaterMark, lastScannedToken, scanRanges, bulkLoadTracker);
         this.collectionScanTimer.record(collectionScanTimer.stop().elapsed());
 
         continueSync = scanResult.getContinueSync();
         lastScannedToken = scanResult.getLastScannedToken();
+        scanRanges = scanResult.getScanRanges();
 
         // Apply change stream events and update the high water mark.
         var changeStreamTimer = Stopwatch.createStarted();
@@ -364,10 +389,17 @@ public class BufferlessInitialSyncManager implements InitialSyncManager {
    * opTime after the last event applied. Scan for some time, limited by collectionScanTime.
    */
   private BufferlessCollectionScanner.Result scanCollection(
-      BsonTimestamp highWaterMark, BsonValue lastScannedToken) throws InitialSyncException {
+      BsonTimestamp highWaterMark,
+      BsonValue lastScannedToken,
+      Optional<List<IdScanRange>> scanRanges,
+      Optional<BulkLoadTracker> bulkLoadTracker)
+      throws InitialSyncException {
     BufferlessCollectionScanner collectionScanner =
         this.collectionScannerFactory.create(
-            this.context.withProgress(highWaterMark), lastScannedToken);
+            this.context.withProgress(highWaterMark),
+            lastScannedToken,
+            scanRanges,
+            bulkLoadTracker);
 
     CompletableFuture<BufferlessCollectionScanner.Result> scanFuture =
         supplyAsync(
@@ -0,0 +1,60 @@
+package com.xgen.mongot.replication.mongodb.initialsync;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.xgen.mongot.index.DocumentEvent;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bson.BsonValue;
+
+/**
+ * Tracks which documents a fresh initial sync may already have indexed, so that collection scans
+ * can append every other document to the index without an _id lookup.
+ *
+ * <p>The index is cleared before a fresh initial sync, and each collection scan phase resumes after
+ * the last document scanned by the previous one, so a scanned document can only be in the index if
+ * the change stream applier has indexed it. The applier records the _id of every event it applies,
+ * and scanned documents with one of those _ids are indexed as regular inserts, which replace the
+ * copy indexed by the applier. Conversely, events applied after a document was scanned replace
+ * every indexed document with the same _id.
+ *
+ * <p>At most {@link #MAX_TRACKED_IDS} _ids are tracked, after which no document is considered
+ * guaranteed new for the rest of the sync.
+ */
+final class BulkLoadTracker {
+
+  @VisibleForTesting static final int MAX_TRACKED_IDS = 100_000;
+
+  private final int maxTrackedIds;
+  private final Set<BsonValue> appliedIds = ConcurrentHashMap.newKeySet();
+  private volatile boolean overflowed;
+
+  @VisibleForTesting
+  BulkLoadTracker(int maxTrackedIds) {
+    this.maxTrackedIds = maxTrackedIds;
+  }
+
+  static BulkLoadTracker create() {
+    return new BulkLoadTracker(MAX_TRACKED_IDS);
+  }
+
+  /** Records the documents of change stream events that are about to be applied to the index. */
+  void recordApplied(List<DocumentEvent> events) {
+    if (this.overflowed) {
+      return;
+    }
+    for (DocumentEvent event : events) {
+      if (this.appliedIds.size() >= this.maxTrackedIds) {
+        this.overflowed = true;
+        this.appliedIds.clear();
+        return;
+      }
+      this.appliedIds.add(event.getDocumentId());
+    }
+  }
+
+  /** Returns whether a scanned document with the _id cannot already be in the index. */
+  boolean isGuaranteedNew(BsonValue id) {
+    return !this.overflowed && !this.appliedIds.contains(id);
+  }
+}
@@ -2,11 +2,13 @@ package com.xgen.mongot.replication.mongodb.initialsync;
 
 import com.mongodb.MongoNamespace;
 import com.mongodb.client.MongoClient;
+import com.mongodb.client.model.Projections;
 import com.xgen.mongot.index.IndexMetricsUpdater.ReplicationMetricsUpdater.InitialSyncMetrics;
 import com.xgen.mongot.index.definition.IndexDefinition;
 import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.mongot.replication.mongodb.common.AggregateCommandCollectionScanMongoClient;
 import com.xgen.mongot.replication.mongodb.common.ChangeStreamMongoClient;
+import com.xgen.mongot.replication.mongodb.common.CollectionSamplingMongoClient;
 import com.xgen.mongot.replication.mongodb.common.CollectionScanMongoClient;
 import com.xgen.mongot.replication.mongodb.common.DefaultChangeStreamMongoClient;
 import com.xgen.mongot.replication.mongodb.common.DefaultNamespaceResolver;
@@ -22,16 +24,22 @@ import com.xgen.mongot.util.mongodb.MongoDbFsync;
 import com.xgen.mongot.util.mongodb.MongoDbReplSetStatus;
 import com.xgen.mongot.util.mongodb.serialization.MongoDbInvalidReplStatusFormatException;
 import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import org.bson.BsonDocument;
 import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
 
 /**
  * DefaultInitialSyncMongoClient implements InitialSyncMongoClient by interfacing with a MongoDB
  * deployment via a MongoClient.
  */
 class DefaultInitialSyncMongoClient implements InitialSyncMongoClient {
+  private static final String ID_FIELD = "_id";
+
   private final MongoClient mongoClient;
+  private final CollectionSamplingMongoClient samplingMongoClient;
   private final SessionRefresher sessionRefresher;
   private final NamespaceResolver namespaceResolver;
   private final MeterRegistry meterRegistry;
@@ -45,6 +53,7 @@ class DefaultInitialSyncMongoClient implements InitialSyncMongoClient {
       NamespaceResolver namespaceResolver,
       String syncSourceHost) {
     this.mongoClient = mongoClient;
+    this.samplingMongoClient = new CollectionSamplingMongoClient(mongoClient);
     this.sessionRefresher = sessionRefresher;
     this.namespaceResolver = namespaceResolver;
     this.meterRegistry = meterRegistry;
@@ -190,6 +199,23 @@ class DefaultInitialSyncMongoClient implements InitialSyncMongoClient {
         Optional.of(initialSyncMetricsUpdater));
   }
 
+  @Override
+  public List<BsonValue> sampleIds(IndexDefinition indexDefinition, int sampleSize)
+      throws InitialSyncException {
+    return InitialSyncException.wrapIfThrowsCollectionScan(
+        () ->
+            this.samplingMongoClient
+                .getSamples(
+                    indexDefinition.getLastObservedNamespace(),
+                    sampleSize,
+                    Optional.empty(),
+                    Optional.of(Projections.include(ID_FIELD)))
+                .stream()
+                .map(sample -> sample.get(ID_FIELD))
+                .filter(Objects::nonNull)
+                .toList());
+  }
+
   @Override
   public CollectionScanMongoClient<InitialSyncException> getAutoEmbeddingResyncMongoClient(
       CollectionScanFindCommand findCommand,
@@ -54,6 +54,7 @@ interface InitialSyncManager {
         bufferlessConfig.changeStreamCatchupTimeout(),
         bufferlessConfig.changeStreamLagTime(),
         bufferlessConfig.avoidNaturalOrderScanSyncSourceChangeResync(),
+        bufferlessConfig.numCollectionScanRanges(),
         replicationConfig.getExcludedChangestreamFields(),
         replicationConfig.getMatchCollectionUuidForUpdateLookup(),
         mvMetadataCatalog,
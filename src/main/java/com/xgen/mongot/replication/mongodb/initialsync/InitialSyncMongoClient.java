@@ -9,9 +9,11 @@ import com.xgen.mongot.replication.mongodb.common.InitialSyncException;
 import com.xgen.mongot.util.mongodb.ChangeStreamAggregateCommand;
 import com.xgen.mongot.util.mongodb.CollectionScanAggregateCommand;
 import com.xgen.mongot.util.mongodb.CollectionScanFindCommand;
+import java.util.List;
 import java.util.Optional;
 import org.bson.BsonDocument;
 import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
 
 interface InitialSyncMongoClient {
 
@@ -78,5 +80,12 @@ interface InitialSyncMongoClient {
       InitialSyncMetrics initialSyncMetricsUpdater)
       throws InitialSyncException;
 
+  /**
+   * Returns the _ids of up to {@code sampleSize} randomly sampled documents of the index's
+   * collection, in no particular order.
+   */
+  List<BsonValue> sampleIds(IndexDefinition indexDefinition, int sampleSize)
+      throws InitialSyncException;
+
   String getSyncSourceHost();
 }
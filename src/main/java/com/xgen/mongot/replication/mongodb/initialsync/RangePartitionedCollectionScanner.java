@@ -0,0 +1,299 @@
+package com.xgen.mongot.replication.mongodb.initialsync;
+
+import static com.xgen.mongot.util.Check.checkArg;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.Var;
+import com.xgen.mongot.index.DocumentEvent;
+import com.xgen.mongot.index.lucene.query.pushdown.MqlComparator;
+import com.xgen.mongot.logging.DefaultKeyValueLogger;
+import com.xgen.mongot.metrics.MetricsFactory;
+import com.xgen.mongot.replication.mongodb.common.BufferlessIdOrderInitialSyncResumeInfo;
+import com.xgen.mongot.replication.mongodb.common.CollectionScanMongoClient;
+import com.xgen.mongot.replication.mongodb.common.IdScanRange;
+import com.xgen.mongot.replication.mongodb.common.IndexCommitUserData;
+import com.xgen.mongot.replication.mongodb.common.InitialSyncException;
+import com.xgen.mongot.replication.mongodb.common.SchedulerQueue;
+import com.xgen.mongot.util.Check;
+import com.xgen.mongot.util.FutureUtils;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.bson.BsonValue;
+
+/**
+ * A {@link BufferlessCollectionScanner} for _id order scans, which splits the _id space that
+ * remains to be scanned into ranges and scans them with concurrent cursors. Each cursor buffers its
+ * batches and schedules them for indexing independently, so that the collection scan is not limited
+ * by the throughput of a single cursor.
+ *
+ * <p>Split points are picked from a random sample of the collection's _ids. Each range is scanned
+ * with an inclusive lower and an exclusive upper _id bound, so ranges never overlap however well
+ * the sample reflects the distribution of _ids; a poor sample only leaves the ranges unbalanced.
+ *
+ * <p>Every scheduled batch commits the indexed position of each unfinished range, so a resumed
+ * scan continues every range from where it left off. The lowest of these positions is committed as
+ * the last scanned _id, from which the scan can also be safely resumed with a single cursor. This
+ * is the only position committed by the change stream applier, which is unaware of ranges.
+ */
+class RangePartitionedCollectionScanner extends BufferlessCollectionScanner {
+
+  /** The number of _ids sampled per range to pick split points from. */
+  @VisibleForTesting static final int SAMPLES_PER_RANGE = 32;
+
+  private static final Comparator<BsonValue> ID_COMPARATOR = MqlComparator.LEXICOGRAPHIC_COMPARATOR;
+
+  private final DefaultKeyValueLogger logger;
+  private final Clock clock;
+  private final int numRanges;
+
+  /** The ranges to resume, or empty if the remaining _id space should be split again. */
+  private final Optional<List<IdScanRange>> resumeRanges;
+
+  /** Set when a range fails, to stop scanning the other ranges. */
+  private volatile boolean stopRanges;
+
+  RangePartitionedCollectionScanner(
+      Clock clock,
+      InitialSyncContext context,
+      InitialSyncMongoClient mongoClient,
+      BsonValue lastScannedToken,
+      Optional<List<IdScanRange>> resumeRanges,
+      int numRanges,
+      MetricsFactory metricsFactory,
+      Optional<BulkLoadTracker> bulkLoadTracker) {
+    super(clock, context, mongoClient, lastScannedToken, metricsFactory, false, bulkLoadTracker);
+    checkArg(!context.useNaturalOrderScan(), "natural order scans cannot be partitioned by _id");
+    checkArg(numRanges > 0, "numRanges must be positive, but was %s", numRanges);
+
+    HashMap<String, Object> defaultKeyValues = new HashMap<>();
+    defaultKeyValues.put("indexId", context.getIndexId());
+    defaultKeyValues.put("generationId", context.getGenerationId());
+    this.logger =
+        DefaultKeyValueLogger.getLogger(RangePartitionedCollectionScanner.class, defaultKeyValues);
+
+    this.clock = clock;
+    this.numRanges = numRanges;
+    this.resumeRanges = resumeRanges;
+    this.stopRanges = false;
+  }
+
+  @Override
+  Result scanWithTimeLimit(Duration collectionScanTime) throws InitialSyncException {
+    boolean resumed = this.resumeRanges.isPresent() && !this.resumeRanges.get().isEmpty();
+    List<IdScanRange> ranges = resumed ? this.resumeRanges.get() : splitRemainingIds();
+    this.logger
+        .atInfo()
+        .addKeyValue("numRanges", ranges.size())
+        .addKeyValue("resumed", resumed)
+        .log("Starting a range-partitioned collection scan phase.");
+
+    RangeProgress progress = new RangeProgress(ranges);
+    Instant timeLimit = Instant.now(this.clock).plus(collectionScanTime);
+    List<CompletableFuture<Void>> rangeFutures =
+        IntStream.range(0, ranges.size())
+            .mapToObj(
+                range ->
+                    InitialSyncManager.runAsync(
+                        () -> scanRange(progress, range, timeLimit),
+                        String.format(
+                            "%s CollectionScanner range %s", this.context.uniqueString(), range)))
+            .toList();
+
+    // Wait for every range to stop before handling a failure, so that no range schedules more work
+    // after processing is cancelled.
+    @Var Optional<InitialSyncException> failure = Optional.empty();
+    for (CompletableFuture<Void> rangeFuture : rangeFutures) {
+      try {
+        InitialSyncException.getOrWrapThrowable(
+            rangeFuture, InitialSyncException.Phase.COLLECTION_SCAN);
+      } catch (InitialSyncException e) {
+        this.stopRanges = true;
+        if (failure.isEmpty()) {
+          failure = Optional.of(e);
+        }
+      }
+    }
+
+    if (failure.isPresent()) {
+      if (failure.get().isShutdown()) {
+        handleShutdown();
+        return Check.unreachable("handleShutdown() should have thrown InitialSyncException");
+      }
+      this.logger.info(
+          "Range-partitioned collection scan ended with exception. "
+              + "Documents in scheduling queue to be cancelled.");
+      FutureUtils.getAndSwallow(
+          cancelProcessing(failure.get()),
+          error -> this.logger.error("Failure during indexing cancellation", error));
+      throw failure.get();
+    }
+
+    List<IdScanRange> remaining = progress.remaining();
+    this.logger
+        .atInfo()
+        .addKeyValue("numRangesRemaining", remaining.size())
+        .log("Finished a range-partitioned collection scan phase.");
+    return new Result(!remaining.isEmpty(), progress.lastScannedId(), Optional.of(remaining));
+  }
+
+  private List<IdScanRange> splitRemainingIds() throws InitialSyncException {
+    if (this.numRanges == 1) {
+      return List.of(new IdScanRange(this.lastScannedToken, Optional.empty()));
+    }
+    List<BsonValue> sampledIds =
+        this.mongoClient.sampleIds(
+            this.context.getIndexDefinition(), this.numRanges * SAMPLES_PER_RANGE);
+    return split(this.lastScannedToken, sampledIds, this.numRanges);
+  }
+
+  /**
+   * Splits the _ids from {@code lowerBound} onwards into at most {@code numRanges} ranges, using
+   * quantiles of {@code sampledIds} as split points. Fewer ranges are returned when the sample has
+   * too few distinct _ids above {@code lowerBound}.
+   */
+  @VisibleForTesting
+  static List<IdScanRange> split(BsonValue lowerBound, List<BsonValue> sampledIds, int numRanges) {
+    List<BsonValue> ids =
+        sampledIds.stream()
+            .filter(id -> ID_COMPARATOR.compare(id, lowerBound) > 0)
+            .sorted(ID_COMPARATOR)
+            .toList();
+
+    List<IdScanRange> ranges = new ArrayList<>(numRanges);
+    @Var BsonValue rangeStart = lowerBound;
+    for (int i = 1; i < numRanges && !ids.isEmpty(); i++) {
+      BsonValue splitPoint = ids.get(i * ids.size() / numRanges);
+      if (ID_COMPARATOR.compare(splitPoint, rangeStart) > 0) {
+        ranges.add(new IdScanRange(rangeStart, Optional.of(splitPoint)));
+        rangeStart = splitPoint;
+      }
+    }
+    ranges.add(new IdScanRange(rangeStart, Optional.empty()));
+    return ranges;
+  }
+
+  /**
+   * Scans a single range until it is exhausted, the time limit is reached, or another range fails.
+   * Like a single cursor scan, the next batch is buffered while the previous one is indexed, and
+   * only one batch of the range is indexed at a time, so the range's position advances in order.
+   */
+  private void scanRange(RangeProgress progress, int range, Instant timeLimit)
+      throws InitialSyncException {
+    IdScanRange start = progress.get(range);
+    @Var CompletableFuture<Void> indexingFuture = CompletableFuture.completedFuture(null);
+
+    try (CollectionScanMongoClient<InitialSyncException> client =
+        getClient(start.lastScannedId(), start.upperBound())) {
+      while (client.hasNext() && Instant.now(this.clock).isBefore(timeLimit) && !this.stopRanges) {
+        if (isShutdown()) {
+          throw InitialSyncException.createShutDown();
+        }
+
+        List<DocumentEvent> batch = bufferNextBatch(client);
+        InitialSyncException.getOrWrapThrowable(
+            indexingFuture, InitialSyncException.Phase.COLLECTION_SCAN);
+        if (batch.isEmpty()) {
+          continue;
+        }
+
+        IdScanRange position = start.resumeFrom(batch.getLast().getDocumentId());
+        indexingFuture =
+            this.context
+                .schedule(
+                    batch,
+                    SchedulerQueue.Priority.INITIAL_SYNC_COLLECTION_SCAN,
+                    getCommitUserData(progress.withPosition(range, position)))
+                .thenRun(
+                    () -> {
+                      progress.setIndexed(range, position);
+                      recordCollectionScanBatchMetrics(batch);
+                    });
+      }
+
+      InitialSyncException.getOrWrapThrowable(
+          indexingFuture, InitialSyncException.Phase.COLLECTION_SCAN);
+      if (!client.hasNext()) {
+        progress.setFinished(range);
+      }
+    }
+  }
+
+  private IndexCommitUserData getCommitUserData(List<IdScanRange> ranges) {
+    return IndexCommitUserData.createInitialSyncResume(
+        this.context.getIndexFormatVersion(),
+        new BufferlessIdOrderInitialSyncResumeInfo(
+            this.context.getChangeStreamResumeOperationTime(),
+            ranges.getFirst().lastScannedId(),
+            Optional.of(ranges)));
+  }
+
+  /**
+   * Tracks the position each range has been indexed up to. Ranges are ordered by _id, so the first
+   * unfinished range has the lowest position.
+   */
+  private static class RangeProgress {
+    private final IdScanRange[] indexed;
+    private final boolean[] finished;
+
+    RangeProgress(List<IdScanRange> ranges) {
+      this.indexed = ranges.toArray(new IdScanRange[0]);
+      this.finished = new boolean[ranges.size()];
+    }
+
+    synchronized IdScanRange get(int range) {
+      return this.indexed[range];
+    }
+
+    synchronized void setIndexed(int range, IdScanRange position) {
+      this.indexed[range] = position;
+    }
+
+    synchronized void setFinished(int range) {
+      this.finished[range] = true;
+    }
+
+    /**
+     * Returns the unfinished ranges at their indexed positions, except for {@code range}, which is
+     * at {@code position} once the batch being scheduled is indexed.
+     */
+    synchronized List<IdScanRange> withPosition(int range, IdScanRange position) {
+      List<IdScanRange> ranges = new ArrayList<>(this.indexed.length);
+      for (int i = 0; i < this.indexed.length; i++) {
+        if (i == range) {
+          ranges.add(position);
+        } else if (!this.finished[i]) {
+          ranges.add(this.indexed[i]);
+        }
+      }
+      return ranges;
+    }
+
+    synchronized List<IdScanRange> remaining() {
+      return IntStream.range(0, this.indexed.length)
+          .filter(i -> !this.finished[i])
+          .mapToObj(i -> this.indexed[i])
+          .toList();
+    }
+
+    /**
+     * Returns the lowest position of the unfinished ranges, or the position of the last range once
+     * all of them are finished.
+     */
+    synchronized BsonValue lastScannedId() {
+      for (int i = 0; i < this.indexed.length; i++) {
+        if (!this.finished[i]) {
+          return this.indexed[i].lastScannedId();
+        }
+      }
+      return this.indexed[this.indexed.length - 1].lastScannedId();
+    }
+  }
+}
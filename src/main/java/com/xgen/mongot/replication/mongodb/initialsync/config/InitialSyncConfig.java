@@ -19,6 +19,8 @@ import org.slf4j.LoggerFactory;
  * @param changeStreamCatchupTimeout The amount of time to spend trying to catch up to the change
  *     stream.
  * @param changeStreamLagTime The amount of time to lag behind the end of the change stream.
+ * @param numCollectionScanRanges The number of _id ranges an _id order collection scan is split
+ *     into, each scanned by a concurrent cursor. A value of 1 scans with a single cursor.
  */
 public record InitialSyncConfig(
     Duration collectionScanTime,
@@ -26,7 +28,8 @@ public record InitialSyncConfig(
     Duration changeStreamLagTime,
     boolean useAggregateCommand,
     boolean enableNaturalOrderScan,
-    boolean avoidNaturalOrderScanSyncSourceChangeResync)
+    boolean avoidNaturalOrderScanSyncSourceChangeResync,
+    int numCollectionScanRanges)
     implements DocumentEncodable {
 
   /** Parses InitialSyncConfig from the provided DocumentParser. */
@@ -61,6 +64,13 @@ public record InitialSyncConfig(
                 .optional()
                 .withDefault(false);
 
+    public static final Field.WithDefault<Integer> NUM_COLLECTION_SCAN_RANGES =
+        Field.builder("numCollectionScanRanges")
+            .intField()
+            .mustBePositive()
+            .optional()
+            .withDefault(DEFAULT_NUM_COLLECTION_SCAN_RANGES);
+
     public static final Field.Required<InitialSyncConfig> BUFFERLESS_CONFIG =
         Field.builder("bufferless")
             .classField(InitialSyncConfig::fromBson, InitialSyncConfig::initialSyncConfigToBson)
@@ -79,6 +89,9 @@ public record InitialSyncConfig(
   /** Default change stream event max lag time of 1 minute. */
   private static final Duration DEFAULT_CHANGE_STREAM_LAG_TIME = Duration.ofMinutes(1);
 
+  /** By default, collections are scanned with a single cursor. */
+  private static final int DEFAULT_NUM_COLLECTION_SCAN_RANGES = 1;
+
   public static InitialSyncConfig fromBson(DocumentParser parser) throws BsonParseException {
     Duration collectionScanTime =
         Duration.ofMillis(parser.getField(Fields.COLLECTION_SCAN_TIME_MS).unwrap());
@@ -90,6 +103,7 @@ public record InitialSyncConfig(
     Boolean enableNaturalOrderScan = parser.getField(Fields.ENABLE_NATURAL_ORDER_SCAN).unwrap();
     Boolean avoidNaturalOrderScanSyncSourceChangeResync =
         parser.getField(Fields.AVOID_NATURAL_ORDER_SCAN_SYNC_SOURCE_CHANGE_RESYNC).unwrap();
+    Integer numCollectionScanRanges = parser.getField(Fields.NUM_COLLECTION_SCAN_RANGES).unwrap();
 
     return new InitialSyncConfig(
         Optional.of(collectionScanTime),
@@ -97,7 +111,8 @@ public record InitialSyncConfig(
         Optional.of(changeStreamLagTime),
         Optional.of(useAggregateCommand),
         Optional.of(enableNaturalOrderScan),
-        Optional.of(avoidNaturalOrderScanSyncSourceChangeResync));
+        Optional.of(avoidNaturalOrderScanSyncSourceChangeResync),
+        Optional.of(numCollectionScanRanges));
   }
 
   public InitialSyncConfig() {
@@ -107,6 +122,7 @@ public record InitialSyncConfig(
         Optional.empty(),
         Optional.empty(),
         Optional.empty(),
+        Optional.empty(),
         Optional.empty());
   }
 
@@ -118,7 +134,8 @@ public record InitialSyncConfig(
         Optional.empty(),
         Optional.empty(),
         Optional.empty(),
-        Optional.of(avoidNaturalOrderScanSyncSourceChangeResync));
+        Optional.of(avoidNaturalOrderScanSyncSourceChangeResync),
+        Optional.empty());
   }
 
   @SuppressWarnings("checkstyle:MissingJavadocMethod")
@@ -128,7 +145,8 @@ public record InitialSyncConfig(
       Optional<Duration> changeStreamLagTime,
       Optional<Boolean> useAggregateCommand,
       Optional<Boolean> enableNaturalOrderScan,
-      Optional<Boolean> avoidNaturalOrderScanSyncSourceChangeResync) {
+      Optional<Boolean> avoidNaturalOrderScanSyncSourceChangeResync,
+      Optional<Integer> numCollectionScanRanges) {
     this(
         collectionScanTime.orElse(setDefault("collectionScanTimeMs", DEFAULT_COLLECTION_SCAN_TIME)),
         changeStreamCatchupTimeout.orElse(
@@ -137,7 +155,8 @@ public record InitialSyncConfig(
             setDefault("changeStreamLagTimeMs", DEFAULT_CHANGE_STREAM_LAG_TIME)),
         useAggregateCommand.orElse(true),
         enableNaturalOrderScan.orElse(false),
-        avoidNaturalOrderScanSyncSourceChangeResync.orElse(false));
+        avoidNaturalOrderScanSyncSourceChangeResync.orElse(false),
+        numCollectionScanRanges.orElse(DEFAULT_NUM_COLLECTION_SCAN_RANGES));
 
     useAggregateCommand.ifPresent(
         value ->
@@ -151,6 +170,9 @@ public record InitialSyncConfig(
     LOG.info(
         "avoidNaturalOrderScanSyncSourceChangeResync is {}",
         avoidNaturalOrderScanSyncSourceChangeResync.orElse(false));
+    LOG.info(
+        "numCollectionScanRanges is {}",
+        numCollectionScanRanges.orElse(DEFAULT_NUM_COLLECTION_SCAN_RANGES));
   }
 
   @Override
@@ -168,6 +190,7 @@ public record InitialSyncConfig(
         .field(
             Fields.AVOID_NATURAL_ORDER_SCAN_SYNC_SOURCE_CHANGE_RESYNC,
             this.avoidNaturalOrderScanSyncSourceChangeResync)
+        .field(Fields.NUM_COLLECTION_SCAN_RANGES, this.numCollectionScanRanges)
         .build();
   }
 
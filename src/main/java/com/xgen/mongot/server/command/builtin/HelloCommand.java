@@ -3,6 +3,8 @@ package com.xgen.mongot.server.command.builtin;
 import com.mongodb.AuthenticationMechanism;
 import com.xgen.mongot.server.command.Command;
 import com.xgen.mongot.server.command.CommandFactory;
+import com.xgen.mongot.server.message.MessageCompressor;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.bson.BsonArray;
@@ -15,7 +17,8 @@ import org.bson.BsonString;
 public class HelloCommand implements Command {
 
   public static final String NAME = "hello";
-  public static final CommandFactory FACTORY = (ignored) -> new HelloCommand();
+  public static final CommandFactory FACTORY =
+      (args) -> new HelloCommand(MessageCompressor.negotiate(args));
 
   // Mongo server uses wire version to determine if driver/mongod/mongos can interact,
   // It represents the message syntax and logical capabilities. See HELP-22883 for more information.
@@ -25,6 +28,14 @@ public class HelloCommand implements Command {
   private static final int MIN_WIRE_VERSION = 0;
   private static final int MAX_WIRE_VERSION = Integer.MAX_VALUE - 1;
 
+  // The compressors requested by the client that mongot supports. Requests compressed with one of
+  // them are decompressed by the transport, which compresses their replies the same way.
+  private final List<MessageCompressor> compressors;
+
+  HelloCommand(List<MessageCompressor> compressors) {
+    this.compressors = compressors;
+  }
+
   @Override
   public String name() {
     return NAME;
@@ -32,26 +43,31 @@ public class HelloCommand implements Command {
 
   @Override
   public BsonDocument run() {
-    return new BsonDocument()
-        // isWriteablePrimary is the equivalent of the ismaster field we currently set
-        // in the isMaster command response
-        .append("isWritablePrimary", BsonBoolean.TRUE)
-        .append("maxBsonObjectSize", new BsonInt32(16777216))
-        .append("maxMessageSizeBytes", new BsonInt32(48000000))
-        .append("maxWriteBatchSize", new BsonInt32(100000))
-        .append("localTime", new BsonInt64(System.currentTimeMillis()))
-        .append("minWireVersion", new BsonInt32(MIN_WIRE_VERSION))
-        .append("maxWireVersion", new BsonInt32(MAX_WIRE_VERSION))
-        .append("readOnly", BsonBoolean.FALSE)
-        .append(
-            "saslSupportedMechs",
-            new BsonArray(
-                Stream.of(
-                        AuthenticationMechanism.SCRAM_SHA_1, AuthenticationMechanism.SCRAM_SHA_256)
-                    .map(AuthenticationMechanism::getMechanismName)
-                    .map(BsonString::new)
-                    .collect(Collectors.toList())))
-        .append("ok", new BsonInt32(1));
+    BsonDocument response =
+        new BsonDocument()
+            // isWriteablePrimary is the equivalent of the ismaster field we currently set
+            // in the isMaster command response
+            .append("isWritablePrimary", BsonBoolean.TRUE)
+            .append("maxBsonObjectSize", new BsonInt32(16777216))
+            .append("maxMessageSizeBytes", new BsonInt32(48000000))
+            .append("maxWriteBatchSize", new BsonInt32(100000))
+            .append("localTime", new BsonInt64(System.currentTimeMillis()))
+            .append("minWireVersion", new BsonInt32(MIN_WIRE_VERSION))
+            .append("maxWireVersion", new BsonInt32(MAX_WIRE_VERSION))
+            .append("readOnly", BsonBoolean.FALSE)
+            .append(
+                "saslSupportedMechs",
+                new BsonArray(
+                    Stream.of(
+                            AuthenticationMechanism.SCRAM_SHA_1,
+                            AuthenticationMechanism.SCRAM_SHA_256)
+                        .map(AuthenticationMechanism::getMechanismName)
+                        .map(BsonString::new)
+                        .collect(Collectors.toList())));
+    if (!this.compressors.isEmpty()) {
+      response.append("compression", MessageCompressor.toBsonArray(this.compressors));
+    }
+    return response.append("ok", new BsonInt32(1));
   }
 
   @Override
@@ -3,6 +3,8 @@ package com.xgen.mongot.server.command.builtin;
 import com.mongodb.AuthenticationMechanism;
 import com.xgen.mongot.server.command.Command;
 import com.xgen.mongot.server.command.CommandFactory;
+import com.xgen.mongot.server.message.MessageCompressor;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.bson.BsonArray;
@@ -16,7 +18,8 @@ public class IsMasterCommand implements Command {
 
   public static final String NAME = "isMaster";
   public static final String ALT_NAME = "ismaster";
-  public static final CommandFactory FACTORY = (ignored) -> new IsMasterCommand();
+  public static final CommandFactory FACTORY =
+      (args) -> new IsMasterCommand(MessageCompressor.negotiate(args));
 
   // Mongo server uses wire version to determine if driver/mongod/mongos can interact,
   // It represents the message syntax and logical capabilities. See HELP-22883 for more information.
@@ -26,6 +29,14 @@ public class IsMasterCommand implements Command {
   private static final int MIN_WIRE_VERSION = 0;
   private static final int MAX_WIRE_VERSION = Integer.MAX_VALUE - 1;
 
+  // The compressors requested by the client that mongot supports. Requests compressed with one of
+  // them are decompressed by the transport, which compresses their replies the same way.
+  private final List<MessageCompressor> compressors;
+
+  IsMasterCommand(List<MessageCompressor> compressors) {
+    this.compressors = compressors;
+  }
+
   @Override
   public String name() {
     return NAME;
@@ -37,24 +48,29 @@ public class IsMasterCommand implements Command {
     // (https://tinyurl.com/2s4ysxfy) even though hello is supported in order to minimize changes in
     // behavior. The server may itself decide to use hello to initiate handshakes if it deems it
     // appropriate.
-    return new BsonDocument()
-        .append("ismaster", BsonBoolean.TRUE)
-        .append("maxBsonObjectSize", new BsonInt32(16777216))
-        .append("maxMessageSizeBytes", new BsonInt32(48000000))
-        .append("maxWriteBatchSize", new BsonInt32(100000))
-        .append("localTime", new BsonInt64(System.currentTimeMillis()))
-        .append("minWireVersion", new BsonInt32(MIN_WIRE_VERSION))
-        .append("maxWireVersion", new BsonInt32(MAX_WIRE_VERSION))
-        .append("readOnly", BsonBoolean.FALSE)
-        .append(
-            "saslSupportedMechs",
-            new BsonArray(
-                Stream.of(
-                        AuthenticationMechanism.SCRAM_SHA_1, AuthenticationMechanism.SCRAM_SHA_256)
-                    .map(AuthenticationMechanism::getMechanismName)
-                    .map(BsonString::new)
-                    .collect(Collectors.toList())))
-        .append("ok", new BsonInt32(1));
+    BsonDocument response =
+        new BsonDocument()
+            .append("ismaster", BsonBoolean.TRUE)
+            .append("maxBsonObjectSize", new BsonInt32(16777216))
+            .append("maxMessageSizeBytes", new BsonInt32(48000000))
+            .append("maxWriteBatchSize", new BsonInt32(100000))
+            .append("localTime", new BsonInt64(System.currentTimeMillis()))
+            .append("minWireVersion", new BsonInt32(MIN_WIRE_VERSION))
+            .append("maxWireVersion", new BsonInt32(MAX_WIRE_VERSION))
+            .append("readOnly", BsonBoolean.FALSE)
+            .append(
+                "saslSupportedMechs",
+                new BsonArray(
+                    Stream.of(
+                            AuthenticationMechanism.SCRAM_SHA_1,
+                            AuthenticationMechanism.SCRAM_SHA_256)
+                        .map(AuthenticationMechanism::getMechanismName)
+                        .map(BsonString::new)
+                        .collect(Collectors.toList())));
+    if (!this.compressors.isEmpty()) {
+      response.append("compression", MessageCompressor.toBsonArray(this.compressors));
+    }
+    return response.append("ok", new BsonInt32(1));
   }
 
   @Override
@@ -14,6 +14,7 @@ import com.xgen.mongot.cursor.serialization.MongotCursorBatch;
 import com.xgen.mongot.cursor.serialization.MongotCursorResult;
 import com.xgen.mongot.featureflag.Feature;
 import com.xgen.mongot.index.IndexGeneration;
+import com.xgen.mongot.index.IndexReloadingException;
 import com.xgen.mongot.index.IndexUnavailableException;
 import com.xgen.mongot.index.InitializedIndex;
 import com.xgen.mongot.index.ReaderClosedException;
@@ -107,10 +108,15 @@ public class DeprecatedVectorSearchCommand implements Command {
               this.definition.collectionUuid(),
               this.definition.viewName(),
               query.index());
+      if (index.isPresent()
+          && this.initializedIndexCatalog.awaitIfUnloaded(index.get().getGenerationId())) {
+        throw new IndexReloadingException(index.get().getDefinition().getName());
+      }
       Optional<InitializedIndex> initializedIndex =
           index.flatMap(
               indexGeneration ->
-                  this.initializedIndexCatalog.getIndex(indexGeneration.getGenerationId()));
+                  this.initializedIndexCatalog.getIndexForQuery(
+                      indexGeneration.getGenerationId()));
 
       if (index.isPresent() && initializedIndex.isEmpty()) {
         throw new IndexUnavailableException(
@@ -161,6 +167,9 @@ public class DeprecatedVectorSearchCommand implements Command {
           return batch;
         }
       }
+    } catch (IndexReloadingException e) {
+      return MessageUtils.createErrorBodyWithLabels(
+          e.getMessage(), IndexReloadingException.ERROR_LABELS);
     } catch (InvalidQueryException | IndexUnavailableException | BsonParseException e) {
       return MessageUtils.createErrorBody(e);
     } catch (Exception e) {
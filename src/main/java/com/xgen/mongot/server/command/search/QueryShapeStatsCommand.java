@@ -0,0 +1,119 @@
+package com.xgen.mongot.server.command.search;
+
+import com.xgen.mongot.catalog.IndexCatalog;
+import com.xgen.mongot.catalog.InitializedIndexCatalog;
+import com.xgen.mongot.index.IndexGeneration;
+import com.xgen.mongot.index.InitializedIndex;
+import com.xgen.mongot.index.QueryShapeStats;
+import com.xgen.mongot.index.definition.IndexDefinition;
+import com.xgen.mongot.server.command.Command;
+import com.xgen.mongot.server.command.CommandFactory;
+import com.xgen.mongot.util.bson.parser.BsonDocumentParser;
+import com.xgen.mongot.util.bson.parser.BsonParseException;
+import com.xgen.mongot.util.bson.parser.Field;
+import java.util.List;
+import java.util.Optional;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the most expensive query shapes of every initialized index, as tracked by each index's
+ * {@link QueryShapeStats}, ordered by descending total latency.
+ */
+public class QueryShapeStatsCommand implements Command {
+
+  static class Fields {
+    static final Field.WithDefault<Integer> LIMIT =
+        Field.builder("limit").intField().mustBePositive().optional().withDefault(20);
+  }
+
+  public static final String NAME = "queryShapeStats";
+
+  private static final Logger LOG = LoggerFactory.getLogger(QueryShapeStatsCommand.class);
+
+  private final int limit;
+  private final IndexCatalog indexCatalog;
+  private final InitializedIndexCatalog initializedIndexCatalog;
+
+  private QueryShapeStatsCommand(
+      int limit, IndexCatalog indexCatalog, InitializedIndexCatalog initializedIndexCatalog) {
+    this.limit = limit;
+    this.indexCatalog = indexCatalog;
+    this.initializedIndexCatalog = initializedIndexCatalog;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public BsonDocument run() {
+    LOG.atTrace().addKeyValue("command", NAME).log("Received command");
+
+    BsonArray indexes = new BsonArray();
+    for (IndexGeneration indexGeneration : this.indexCatalog.getIndexes()) {
+      Optional<InitializedIndex> initializedIndex =
+          this.initializedIndexCatalog.getIndex(indexGeneration.getGenerationId());
+      if (initializedIndex.isEmpty()) {
+        continue;
+      }
+      List<QueryShapeStats.ShapeStats> shapes =
+          initializedIndex
+              .get()
+              .getMetricsUpdater()
+              .getQueryingMetricsUpdater()
+              .getQueryShapeStats()
+              .getTopShapes(this.limit);
+      if (shapes.isEmpty()) {
+        continue;
+      }
+      IndexDefinition definition = indexGeneration.getDefinition();
+      BsonArray shapeDocuments = new BsonArray();
+      shapes.forEach(shape -> shapeDocuments.add(shape.toBson()));
+      indexes.add(
+          new BsonDocument()
+              .append("indexId", new BsonString(definition.getIndexId().toHexString()))
+              .append("name", new BsonString(definition.getName()))
+              .append("database", new BsonString(definition.getDatabase()))
+              .append("collectionUUID", new BsonString(definition.getCollectionUuid().toString()))
+              .append("shapes", shapeDocuments));
+    }
+
+    return new BsonDocument().append("ok", new BsonInt32(1)).append("indexes", indexes);
+  }
+
+  @Override
+  public ExecutionPolicy getExecutionPolicy() {
+    return ExecutionPolicy.ASYNC;
+  }
+
+  public static class Factory implements CommandFactory {
+
+    private final IndexCatalog indexCatalog;
+    private final InitializedIndexCatalog initializedIndexCatalog;
+
+    public Factory(IndexCatalog indexCatalog, InitializedIndexCatalog initializedIndexCatalog) {
+      this.indexCatalog = indexCatalog;
+      this.initializedIndexCatalog = initializedIndexCatalog;
+    }
+
+    @Override
+    public Command create(BsonDocument args) {
+      try (var parser = BsonDocumentParser.fromRoot(args).allowUnknownFields(true).build()) {
+        return new QueryShapeStatsCommand(
+            parser.getField(Fields.LIMIT).unwrap(),
+            this.indexCatalog,
+            this.initializedIndexCatalog);
+      } catch (BsonParseException e) {
+        // we have no way of throwing checked exceptions beyond this method
+        // (called directly by opmsg)
+        throw new IllegalArgumentException(e.getMessage());
+      }
+    }
+  }
+}
@@ -20,11 +20,14 @@ import com.xgen.mongot.cursor.serialization.MongotIntermediateCursorBatch;
 import com.xgen.mongot.featureflag.dynamic.DynamicFeatureFlags;
 import com.xgen.mongot.index.DynamicFeatureFlagsMetricsRecorder;
 import com.xgen.mongot.index.IndexGeneration;
+import com.xgen.mongot.index.IndexReloadingException;
 import com.xgen.mongot.index.IndexUnavailableException;
 import com.xgen.mongot.index.InitializedIndex;
+import com.xgen.mongot.index.QueryResourceUsage;
 import com.xgen.mongot.index.ReaderClosedException;
 import com.xgen.mongot.index.Variables;
 import com.xgen.mongot.index.lucene.explain.explainers.MetadataFeatureExplainer;
+import com.xgen.mongot.index.lucene.explain.explainers.QueryResourceUsageFeatureExplainer;
 import com.xgen.mongot.index.lucene.explain.tracing.Explain;
 import com.xgen.mongot.index.lucene.explain.tracing.ExplainQueryState;
 import com.xgen.mongot.index.query.InvalidQueryException;
@@ -150,13 +153,17 @@ public class SearchCommand implements Command {
 
       validateQueryAndCursorOptions(queryDefinition, queryCursorOptions);
 
+      QueryResourceUsage resourceUsage = new QueryResourceUsage();
+      long startNanos = System.nanoTime();
       try (var unusedExplain =
               Explain.setup(
                   this.definition.explain().map(ExplainDefinition::verbosity),
                   index.map(idx -> idx.getDefinition().getNumPartitions()));
-          var unusedFeatureFlags = DynamicFeatureFlagsMetricsRecorder.setup()) {
+          var unusedFeatureFlags = DynamicFeatureFlagsMetricsRecorder.setup();
+          var unusedResourceUsage = resourceUsage.track()) {
 
         addMetadataIfExplain(queryDefinition);
+        addResourceUsageIfExplain(resourceUsage);
 
         boolean populateCursorResult =
             determinePopulateCursor(
@@ -190,6 +197,8 @@ public class SearchCommand implements Command {
           }
           return batch;
         }
+      } finally {
+        recordResourceUsage(queryDefinition, index, resourceUsage, startNanos);
       }
     } catch (BsonParseException | InvalidQueryException e) {
       return handleInvalidQueryException(e);
@@ -223,7 +232,10 @@ public class SearchCommand implements Command {
             "Failed to process a searchCommand. queryDocument: %s",
             this.definition.queryDocument());
       }
-      return MessageUtils.createErrorBody(e);
+      return e instanceof IndexReloadingException
+          ? MessageUtils.createErrorBodyWithLabels(
+              e.getMessage(), IndexReloadingException.ERROR_LABELS)
+          : MessageUtils.createErrorBody(e);
     } catch (Throwable e) {
       this.metricsFactory
           .counter(
@@ -234,6 +246,44 @@ public class SearchCommand implements Command {
     }
   }
 
+  /**
+   * Adds the resources used by the query to the statistics of its shape, and to the slow query log
+   * if the query was slow. Failures are logged rather than thrown, so that they do not replace the
+   * outcome of the query.
+   */
+  private void recordResourceUsage(
+      Query query, Optional<InitializedIndex> index, QueryResourceUsage usage, long startNanos) {
+    if (index.isEmpty()) {
+      return;
+    }
+    try {
+      long latencyNanos = System.nanoTime() - startNanos;
+      QueryResourceUsage.Snapshot snapshot = usage.snapshot();
+      index
+          .get()
+          .getMetricsUpdater()
+          .getQueryingMetricsUpdater()
+          .getQueryShapeStats()
+          .recordResourceUsage(query, snapshot.docsScanned(), snapshot.storedBytes());
+      this.metadata
+          .slowQueryLog()
+          .record(index.get().getDefinition(), query, latencyNanos, snapshot);
+    } catch (Exception e) {
+      FLOGGER.atWarning().atMostEvery(1, TimeUnit.MINUTES).withCause(e).log(
+          "Failed to record the resource usage of a query");
+    }
+  }
+
+  private static void addResourceUsageIfExplain(QueryResourceUsage usage) {
+    Explain.getExplainQueryState()
+        .map(ExplainQueryState::getQueryInfo)
+        .ifPresent(
+            queryInfo ->
+                queryInfo.getFeatureExplainer(
+                    QueryResourceUsageFeatureExplainer.class,
+                    () -> new QueryResourceUsageFeatureExplainer(usage)));
+  }
+
   // Utility method to handle invalid query exceptions that are caught explicitly or wrapped.
   private BsonDocument handleInvalidQueryException(Exception e) {
     this.metrics.searchCommandInvalidQueries.increment();
@@ -401,9 +451,12 @@ public class SearchCommand implements Command {
     }
     var index = indexGeneration.get();
     index.getIndex().throwIfUnavailableForQuerying();
+    if (this.initializedIndexCatalog.awaitIfUnloaded(index.getGenerationId())) {
+      throw new IndexReloadingException(index.getDefinition().getName());
+    }
     InitializedIndex initializedIndex =
         this.initializedIndexCatalog
-            .getIndex(index.getGenerationId())
+            .getIndexForQuery(index.getGenerationId())
             .orElseThrow(
                 () ->
                     new IndexUnavailableException(
@@ -9,6 +9,7 @@ import com.xgen.mongot.cursor.MongotCursorManager;
 import com.xgen.mongot.embedding.providers.EmbeddingServiceManager;
 import com.xgen.mongot.featureflag.FeatureFlags;
 import com.xgen.mongot.featureflag.dynamic.DynamicFeatureFlagRegistry;
+import com.xgen.mongot.index.SlowQueryLog;
 import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.mongot.server.command.CommandFactoryMarker;
 import com.xgen.mongot.server.command.management.aic.AicManageSearchIndexCommandFactory;
@@ -35,7 +36,23 @@ public class SearchCommandsRegister {
       String mongotHostName,
       MongoDbServerInfoProvider mongoDbServerInfoProvider,
       FeatureFlags featureFlags,
-      DynamicFeatureFlagRegistry dynamicFeatureFlagRegistry) {
+      DynamicFeatureFlagRegistry dynamicFeatureFlagRegistry,
+      SlowQueryLog slowQueryLog) {
+
+    public BootstrapperMetadata(
+        String mongotVersion,
+        String mongotHostName,
+        MongoDbServerInfoProvider mongoDbServerInfoProvider,
+        FeatureFlags featureFlags,
+        DynamicFeatureFlagRegistry dynamicFeatureFlagRegistry) {
+      this(
+          mongotVersion,
+          mongotHostName,
+          mongoDbServerInfoProvider,
+          featureFlags,
+          dynamicFeatureFlagRegistry,
+          new SlowQueryLog());
+    }
   }
 
   public enum RegistrationMode {
@@ -80,6 +97,8 @@ public class SearchCommandsRegister {
     var getMore = new GetMoreCommand.Factory(cursorManager, bsonSizeSoftLimit, searchMetrics);
     var planShardedSearch = new PlanShardedSearchCommand.Factory(metadata);
     var killCursors = new KillCursorsCommand.Factory(cursorManager);
+    var queryShapeStats = new QueryShapeStatsCommand.Factory(indexCatalog, initializedIndexCatalog);
+    var slowQueries = new SlowQueriesCommand.Factory(metadata.slowQueryLog());
     var vectorSearch =
         new VectorSearchCommand.Factory(
             cursorManager,
@@ -106,6 +125,8 @@ public class SearchCommandsRegister {
     registrationCommand.register(GetMoreCommandDefinition.NAME, getMore, true);
     registrationCommand.register(PlanShardedSearchCommandDefinition.NAME, planShardedSearch, true);
     registrationCommand.register(KillCursorsCommandDefinition.NAME, killCursors, false);
+    registrationCommand.register(QueryShapeStatsCommand.NAME, queryShapeStats, false);
+    registrationCommand.register(SlowQueriesCommand.NAME, slowQueries, false);
     registrationCommand.register(VectorSearchCommandDefinition.NAME, deprecatedVectorSearch, true);
   }
 
@@ -0,0 +1,64 @@
+package com.xgen.mongot.server.command.search;
+
+import com.xgen.mongot.index.SlowQueryLog;
+import com.xgen.mongot.server.command.Command;
+import com.xgen.mongot.server.command.CommandFactory;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the most recent queries that took longer than the slow query threshold, newest first, as
+ * kept by the {@link SlowQueryLog}.
+ */
+public class SlowQueriesCommand implements Command {
+
+  public static final String NAME = "slowQueries";
+
+  private static final Logger LOG = LoggerFactory.getLogger(SlowQueriesCommand.class);
+
+  private final SlowQueryLog slowQueryLog;
+
+  private SlowQueriesCommand(SlowQueryLog slowQueryLog) {
+    this.slowQueryLog = slowQueryLog;
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public BsonDocument run() {
+    LOG.atTrace().addKeyValue("command", NAME).log("Received command");
+
+    BsonArray queries = new BsonArray();
+    this.slowQueryLog.getSlowQueries().forEach(query -> queries.add(query.toBson()));
+    return new BsonDocument()
+        .append("ok", new BsonInt32(1))
+        .append("thresholdMillis", new BsonInt64(this.slowQueryLog.getThreshold().toMillis()))
+        .append("queries", queries);
+  }
+
+  @Override
+  public ExecutionPolicy getExecutionPolicy() {
+    return ExecutionPolicy.ASYNC;
+  }
+
+  public static class Factory implements CommandFactory {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public Factory(SlowQueryLog slowQueryLog) {
+      this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Command create(BsonDocument args) {
+      return new SlowQueriesCommand(this.slowQueryLog);
+    }
+  }
+}
@@ -29,8 +29,10 @@ import com.xgen.mongot.featureflag.Feature;
 import com.xgen.mongot.index.DynamicFeatureFlagsMetricsRecorder;
 import com.xgen.mongot.index.EmptyExplainInformation;
 import com.xgen.mongot.index.IndexGeneration;
+import com.xgen.mongot.index.IndexReloadingException;
 import com.xgen.mongot.index.IndexUnavailableException;
 import com.xgen.mongot.index.InitializedIndex;
+import com.xgen.mongot.index.QueryResourceUsage;
 import com.xgen.mongot.index.InitializedVectorIndex;
 import com.xgen.mongot.index.ReaderClosedException;
 import com.xgen.mongot.index.Variables;
@@ -45,6 +47,7 @@ import com.xgen.mongot.index.definition.VectorIndexDefinition;
 import com.xgen.mongot.index.definition.VectorIndexFieldDefinition;
 import com.xgen.mongot.index.definition.quantization.VectorAutoEmbedQuantization;
 import com.xgen.mongot.index.lucene.explain.explainers.MetadataFeatureExplainer;
+import com.xgen.mongot.index.lucene.explain.explainers.QueryResourceUsageFeatureExplainer;
 import com.xgen.mongot.index.lucene.explain.tracing.Explain;
 import com.xgen.mongot.index.lucene.explain.tracing.ExplainQueryState;
 import com.xgen.mongot.index.lucene.explain.tracing.ExplainTooLargeException;
@@ -264,14 +267,20 @@ public class VectorSearchCommand implements Command {
       return ActionRetry.onException(
           () -> {
             var index = getIndexFromCatalog(query);
+            QueryResourceUsage resourceUsage = new QueryResourceUsage();
+            long startNanos = System.nanoTime();
             try (var unusedExplain =
                     Explain.setup(
                         this.definition.explain().map(ExplainDefinition::verbosity),
                         index.map(idx -> idx.getDefinition().getNumPartitions()));
-                var unusedFeatureFlags = DynamicFeatureFlagsMetricsRecorder.setup()) {
+                var unusedFeatureFlags = DynamicFeatureFlagsMetricsRecorder.setup();
+                var unusedResourceUsage = resourceUsage.track()) {
               addMetadataIfExplain(query);
+              addResourceUsageIfExplain(resourceUsage);
               checkSupportForVectorStoredSource(this.metadata, query, index);
               return getSearchResults(query, index, queryCursorOptions);
+            } finally {
+              recordResourceUsage(query, index, resourceUsage, startNanos);
             }
           },
           ReaderClosedException.class,
@@ -308,7 +317,10 @@ public class VectorSearchCommand implements Command {
         FLOGGER.atWarning().atMostEvery(1, TimeUnit.MINUTES).withCause(e).log(
             "Failed to process a vectorSearchCommand.");
       }
-      return MessageUtils.createErrorBody(e);
+      return e instanceof IndexReloadingException
+          ? MessageUtils.createErrorBodyWithLabels(
+              e.getMessage(), IndexReloadingException.ERROR_LABELS)
+          : MessageUtils.createErrorBody(e);
     } catch (Throwable e) {
       this.metricsFactory
           .counter(
@@ -691,6 +703,44 @@ public class VectorSearchCommand implements Command {
     return new MongotCursorBatch(cursorResult, explainResult, Optional.empty());
   }
 
+  /**
+   * Adds the resources used by the query to the statistics of its shape, and to the slow query log
+   * if the query was slow. Failures are logged rather than thrown, so that they do not replace the
+   * outcome of the query.
+   */
+  private void recordResourceUsage(
+      Query query, Optional<InitializedIndex> index, QueryResourceUsage usage, long startNanos) {
+    if (index.isEmpty()) {
+      return;
+    }
+    try {
+      long latencyNanos = System.nanoTime() - startNanos;
+      QueryResourceUsage.Snapshot snapshot = usage.snapshot();
+      index
+          .get()
+          .getMetricsUpdater()
+          .getQueryingMetricsUpdater()
+          .getQueryShapeStats()
+          .recordResourceUsage(query, snapshot.docsScanned(), snapshot.storedBytes());
+      this.metadata
+          .slowQueryLog()
+          .record(index.get().getDefinition(), query, latencyNanos, snapshot);
+    } catch (Exception e) {
+      FLOGGER.atWarning().atMostEvery(1, TimeUnit.MINUTES).withCause(e).log(
+          "Failed to record the resource usage of a query");
+    }
+  }
+
+  private static void addResourceUsageIfExplain(QueryResourceUsage usage) {
+    Explain.getExplainQueryState()
+        .map(ExplainQueryState::getQueryInfo)
+        .ifPresent(
+            queryInfo ->
+                queryInfo.getFeatureExplainer(
+                    QueryResourceUsageFeatureExplainer.class,
+                    () -> new QueryResourceUsageFeatureExplainer(usage)));
+  }
+
   private Optional<InitializedIndex> getIndexFromCatalog(Query query)
       throws IndexUnavailableException {
     Optional<IndexGeneration> indexGeneration =
@@ -705,9 +755,12 @@ public class VectorSearchCommand implements Command {
     }
     var index = indexGeneration.get();
     index.getIndex().throwIfUnavailableForQuerying();
+    if (this.initializedIndexCatalog.awaitIfUnloaded(index.getGenerationId())) {
+      throw new IndexReloadingException(index.getDefinition().getName());
+    }
     InitializedIndex initializedIndex =
         this.initializedIndexCatalog
-            .getIndex(index.getGenerationId())
+            .getIndexForQuery(index.getGenerationId())
             .orElseThrow(
                 () ->
                     new IndexUnavailableException(
@@ -93,7 +93,8 @@ public class GrpcStreamingServer implements CommandServer {
         executorManager,
         commandRegistry,
         healthManager,
-        inboundMessageSizeLimit);
+        inboundMessageSizeLimit,
+        meterRegistry);
   }
 
   /** GRPC Streaming server class for mms. Used for testing, too. */
@@ -131,7 +132,8 @@ public class GrpcStreamingServer implements CommandServer {
         executorManager,
         commandRegistry,
         healthManager,
-        inboundMessageSizeLimit);
+        inboundMessageSizeLimit,
+        meterRegistry);
   }
 
   /** Create a gRPC Streaming server class according to the {@link CommandRegistry}. */
@@ -143,9 +145,18 @@ public class GrpcStreamingServer implements CommandServer {
       ExecutorManager executorManager,
       CommandRegistry commandRegistry,
       HealthManager healthManager,
-      Bytes inboundMessageSizeLimit) {
+      Bytes inboundMessageSizeLimit,
+      MeterRegistry meterRegistry) {
     NettyUtil.SocketType socketType = NettyUtil.getSocketType(address);
 
+    // Wire messages are marshalled with a marshaller that reports the OP_COMPRESSED messages it
+    // decompresses and compresses. Decompressed messages are bound by the same limit as the
+    // messages received.
+    MessageMarshaller wireMessageMarshaller =
+        new MessageMarshaller(
+            new MessageCompressionMetrics(meterRegistry),
+            (int) inboundMessageSizeLimit.toBytes());
+
     var wireMessageCallHandler =
         ServerCalls.<MessageMessage, MessageMessage>asyncBidiStreamingCall(
             responseStream -> {
@@ -185,9 +196,14 @@ public class GrpcStreamingServer implements CommandServer {
                 () ->
                     ServerServiceDefinition.builder(CommandStreamMethods.MONGODB_WIRE_SERVICE_NAME)
                         .addMethod(
-                            CommandStreamMethods.authenticatedCommandStream, wireMessageCallHandler)
+                            CommandStreamMethods.authenticatedCommandStream.toBuilder(
+                                    wireMessageMarshaller, wireMessageMarshaller)
+                                .build(),
+                            wireMessageCallHandler)
                         .addMethod(
-                            CommandStreamMethods.unauthenticatedCommandStream,
+                            CommandStreamMethods.unauthenticatedCommandStream.toBuilder(
+                                    wireMessageMarshaller, wireMessageMarshaller)
+                                .build(),
                             wireMessageCallHandler)
                         .build())
             .addService(
@@ -0,0 +1,58 @@
+package com.xgen.mongot.server.grpc;
+
+import com.xgen.mongot.metrics.MetricsFactory;
+import com.xgen.mongot.server.message.MessageCompressor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Per-compressor byte counts and CPU time of OP_COMPRESSED messages. */
+class MessageCompressionMetrics {
+
+  private final Map<MessageCompressor, CompressorMetrics> metrics =
+      new EnumMap<>(MessageCompressor.class);
+
+  MessageCompressionMetrics(MeterRegistry meterRegistry) {
+    MetricsFactory metricsFactory = new MetricsFactory("messageCompression", meterRegistry);
+    for (MessageCompressor compressor : MessageCompressor.values()) {
+      Tags tags = Tags.of("compressor", compressor.compressorName);
+      this.metrics.put(
+          compressor,
+          new CompressorMetrics(
+              metricsFactory.counter("uncompressedBytesSent", tags),
+              metricsFactory.counter("compressedBytesSent", tags),
+              metricsFactory.counter("compressedBytesReceived", tags),
+              metricsFactory.counter("uncompressedBytesReceived", tags),
+              metricsFactory.timer("compressionTime", tags),
+              metricsFactory.timer("decompressionTime", tags)));
+    }
+  }
+
+  void recordCompression(
+      MessageCompressor compressor, int uncompressedBytes, int compressedBytes, long nanos) {
+    CompressorMetrics compressorMetrics = this.metrics.get(compressor);
+    compressorMetrics.uncompressedBytesSent.increment(uncompressedBytes);
+    compressorMetrics.compressedBytesSent.increment(compressedBytes);
+    compressorMetrics.compressionTime.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  void recordDecompression(
+      MessageCompressor compressor, int compressedBytes, int uncompressedBytes, long nanos) {
+    CompressorMetrics compressorMetrics = this.metrics.get(compressor);
+    compressorMetrics.compressedBytesReceived.increment(compressedBytes);
+    compressorMetrics.uncompressedBytesReceived.increment(uncompressedBytes);
+    compressorMetrics.decompressionTime.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private record CompressorMetrics(
+      Counter uncompressedBytesSent,
+      Counter compressedBytesSent,
+      Counter compressedBytesReceived,
+      Counter uncompressedBytesReceived,
+      Timer compressionTime,
+      Timer decompressionTime) {}
+}
@@ -2,6 +2,10 @@ package com.xgen.mongot.server.grpc;
 
 import static com.xgen.mongot.util.Check.checkArg;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.xgen.mongot.server.message.CompressedMessage;
+import com.xgen.mongot.server.message.MessageCompressor;
 import com.xgen.mongot.server.message.MessageHeader;
 import com.xgen.mongot.server.message.MessageMessage;
 import com.xgen.mongot.server.message.OpCode;
@@ -15,18 +19,49 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This marshaller will be called by gRPC libraries to encode/decode {@link MessageMessage}s.
  *
  * <p>The encoding/decoding logic will follow the spec <a
  * href="https://github.com/mongodb/specifications/blob/master/source/message/OP_MSG.rst">here</a>.
+ *
+ * <p>An OP_MSG may also be received wrapped in an OP_COMPRESSED message. It is then decompressed,
+ * and its reply is compressed with the same compressor, unless the reply is too small for
+ * compression to pay off.
  */
 public class MessageMarshaller implements MethodDescriptor.Marshaller<MessageMessage> {
+
+  /** Replies smaller than this are sent uncompressed, even when their request was compressed. */
+  @VisibleForTesting static final int COMPRESSION_THRESHOLD_BYTES = 4 * 1024;
+
+  /** The maximum message size advertised by hello, used unless a limit is configured. */
+  @VisibleForTesting static final int DEFAULT_MAX_MESSAGE_SIZE_BYTES = 48_000_000;
+
+  private final Optional<MessageCompressionMetrics> compressionMetrics;
+
+  /** The maximum size of a message once decompressed, including its header. */
+  private final int maxMessageSizeBytes;
+
+  public MessageMarshaller() {
+    this.compressionMetrics = Optional.empty();
+    this.maxMessageSizeBytes = DEFAULT_MAX_MESSAGE_SIZE_BYTES;
+  }
+
+  MessageMarshaller(MessageCompressionMetrics compressionMetrics, int maxMessageSizeBytes) {
+    this.compressionMetrics = Optional.of(compressionMetrics);
+    this.maxMessageSizeBytes = maxMessageSizeBytes;
+  }
+
   @Override
   public InputStream stream(MessageMessage value) {
     try {
       ByteBuf buf = value.toByteBuf(ByteBufAllocator.DEFAULT);
+      if (value.compressor().isPresent() && buf.readableBytes() >= COMPRESSION_THRESHOLD_BYTES) {
+        return new ByteBufInputStream(compress(buf, value.compressor().get()), true);
+      }
       return new ByteBufInputStream(buf, true);
     } catch (Throwable t) {
       throw Status.INTERNAL
@@ -41,11 +76,16 @@ public class MessageMarshaller implements MethodDescriptor.Marshaller<MessageMes
     try {
       MessageHeader messageHeader = parseMessageHeader(stream);
       checkArg(
-          messageHeader.opCode() == OpCode.MSG, "unknown op code: %s", messageHeader.opCode().code);
+          messageHeader.opCode() == OpCode.MSG || messageHeader.opCode() == OpCode.COMPRESSED,
+          "unknown op code: %s",
+          messageHeader.opCode().code);
       ByteBuf messageBody =
           Unpooled.wrappedBuffer(
               stream.readNBytes(messageHeader.messageLength() - MessageHeader.SIZE_IN_BYTES));
       try {
+        if (messageHeader.opCode() == OpCode.COMPRESSED) {
+          return decompress(messageHeader, messageBody);
+        }
         return MessageMessage.fromBytes(messageHeader, messageBody);
       } finally {
         messageBody.release();
@@ -58,6 +98,50 @@ public class MessageMarshaller implements MethodDescriptor.Marshaller<MessageMes
     }
   }
 
+  /** Compresses and releases an encoded message. */
+  private ByteBuf compress(ByteBuf message, MessageCompressor compressor) throws IOException {
+    try {
+      Stopwatch stopwatch = Stopwatch.createStarted();
+      ByteBuf compressed =
+          CompressedMessage.compress(message, compressor, ByteBufAllocator.DEFAULT);
+      this.compressionMetrics.ifPresent(
+          metrics ->
+              metrics.recordCompression(
+                  compressor,
+                  message.readableBytes(),
+                  compressed.readableBytes(),
+                  stopwatch.elapsed(TimeUnit.NANOSECONDS)));
+      return compressed;
+    } finally {
+      message.release();
+    }
+  }
+
+  private MessageMessage decompress(MessageHeader header, ByteBuf body) throws IOException {
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    int compressedBytes = header.messageLength();
+    CompressedMessage.Decompressed decompressed =
+        CompressedMessage.decompress(
+            header, body, ByteBufAllocator.DEFAULT, this.maxMessageSizeBytes);
+    try {
+      this.compressionMetrics.ifPresent(
+          metrics ->
+              metrics.recordDecompression(
+                  decompressed.compressor(),
+                  compressedBytes,
+                  decompressed.header().messageLength(),
+                  stopwatch.elapsed(TimeUnit.NANOSECONDS)));
+      checkArg(
+          decompressed.header().opCode() == OpCode.MSG,
+          "unknown compressed op code: %s",
+          decompressed.header().opCode().code);
+      return MessageMessage.fromBytes(
+          decompressed.header(), decompressed.body(), Optional.of(decompressed.compressor()));
+    } finally {
+      decompressed.body().release();
+    }
+  }
+
   private static MessageHeader parseMessageHeader(InputStream stream) throws IOException {
     byte[] bytes = stream.readNBytes(MessageHeader.SIZE_IN_BYTES);
     checkArg(
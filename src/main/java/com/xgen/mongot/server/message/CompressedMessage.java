@@ -0,0 +1,147 @@
+package com.xgen.mongot.server.message;
+
+import static com.xgen.mongot.util.Check.checkArg;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes and decodes OP_COMPRESSED messages, which wrap another message compressed by a {@link
+ * MessageCompressor}:
+ *
+ * <pre>
+ *   MsgHeader header;           // standard message header, with opCode 2012
+ *   int32  originalOpcode;      // the opCode of the wrapped message
+ *   int32  uncompressedSize;    // the size of the wrapped message, excluding its header
+ *   uint8  compressorId;        // the id of the compressor
+ *   char[] compressedMessage;   // the wrapped message, excluding its header
+ * </pre>
+ *
+ * <p>Compression works on direct buffers, so buffers are taken from the supplied allocator, which
+ * is expected to be pooled, and messages in heap buffers are first copied into one.
+ */
+public final class CompressedMessage {
+
+  /** The size of the header and the fields that precede the compressed message. */
+  public static final int PREFIX_SIZE_IN_BYTES = MessageHeader.SIZE_IN_BYTES + 9;
+
+  /**
+   * A decompressed message.
+   *
+   * @param header the header of the wrapped message
+   * @param compressor the compressor the message was compressed with
+   * @param body the wrapped message, excluding its header, which the caller must release
+   */
+  public record Decompressed(MessageHeader header, MessageCompressor compressor, ByteBuf body) {}
+
+  private CompressedMessage() {}
+
+  /**
+   * Compresses an encoded message into an OP_COMPRESSED message. The supplied message is not
+   * released.
+   */
+  public static ByteBuf compress(
+      ByteBuf message, MessageCompressor compressor, ByteBufAllocator allocator)
+      throws IOException {
+    int start = message.readerIndex();
+    int requestId = message.getIntLE(start + 4);
+    int responseTo = message.getIntLE(start + 8);
+    int originalOpCode = message.getIntLE(start + 12);
+    int uncompressedSize = message.readableBytes() - MessageHeader.SIZE_IN_BYTES;
+
+    ByteBuf src =
+        asDirect(message, start + MessageHeader.SIZE_IN_BYTES, uncompressedSize, allocator);
+    ByteBuf out =
+        allocator.directBuffer(
+            PREFIX_SIZE_IN_BYTES + compressor.maxCompressedLength(uncompressedSize));
+    try {
+      ByteBuffer dst =
+          out.nioBuffer(PREFIX_SIZE_IN_BYTES, out.capacity() - PREFIX_SIZE_IN_BYTES);
+      int compressedSize = compressor.compress(src.nioBuffer(), dst);
+      int size = PREFIX_SIZE_IN_BYTES + compressedSize;
+
+      out.writeIntLE(size);
+      out.writeIntLE(requestId);
+      out.writeIntLE(responseTo);
+      out.writeIntLE(OpCode.COMPRESSED.code);
+      out.writeIntLE(originalOpCode);
+      out.writeIntLE(uncompressedSize);
+      out.writeByte(compressor.id);
+      out.writerIndex(size);
+      return out;
+    } catch (IOException | RuntimeException e) {
+      out.release();
+      throw e;
+    } finally {
+      src.release();
+    }
+  }
+
+  /**
+   * Decompresses the body of an OP_COMPRESSED message, which is everything after its header. The
+   * supplied body is not released.
+   *
+   * <p>The uncompressed size is read from the message, so messages that would decompress to more
+   * than {@code maxMessageSizeBytes}, including the header of the wrapped message, are rejected
+   * before any buffer is allocated for them.
+   */
+  public static Decompressed decompress(
+      MessageHeader header, ByteBuf body, ByteBufAllocator allocator, int maxMessageSizeBytes)
+      throws IOException {
+    checkArg(header.opCode() == OpCode.COMPRESSED, "expected OP_COMPRESSED, got %s", header);
+    OpCode originalOpCode = OpCode.fromCode(body.readIntLE());
+    int uncompressedSize = body.readIntLE();
+    MessageCompressor compressor = MessageCompressor.fromId(body.readUnsignedByte());
+    checkArg(
+        originalOpCode != OpCode.COMPRESSED, "OP_COMPRESSED must not wrap another OP_COMPRESSED");
+    checkArg(uncompressedSize >= 0, "invalid uncompressed size: %s", uncompressedSize);
+    checkArg(
+        uncompressedSize <= maxMessageSizeBytes - MessageHeader.SIZE_IN_BYTES,
+        "uncompressed size %s exceeds the maximum message size of %s bytes",
+        uncompressedSize,
+        maxMessageSizeBytes);
+
+    ByteBuf src = asDirect(body, body.readerIndex(), body.readableBytes(), allocator);
+    ByteBuf out = allocator.directBuffer(uncompressedSize, uncompressedSize);
+    try {
+      int decompressedSize =
+          compressor.decompress(src.nioBuffer(), out.nioBuffer(0, uncompressedSize));
+      if (decompressedSize != uncompressedSize) {
+        throw new IOException(
+            String.format(
+                "%s message decompressed to %s bytes, expected %s",
+                compressor.compressorName, decompressedSize, uncompressedSize));
+      }
+      out.writerIndex(uncompressedSize);
+      return new Decompressed(
+          new MessageHeader(
+              uncompressedSize + MessageHeader.SIZE_IN_BYTES,
+              header.requestId(),
+              header.responseTo(),
+              originalOpCode),
+          compressor,
+          out);
+    } catch (IOException | RuntimeException e) {
+      out.release();
+      throw e;
+    } finally {
+      src.release();
+    }
+  }
+
+  /**
+   * Returns a direct buffer holding the given bytes of buf, without copying them if buf is already
+   * direct. The caller must release the returned buffer.
+   */
+  private static ByteBuf asDirect(
+      ByteBuf buf, int index, int length, ByteBufAllocator allocator) {
+    if (buf.isDirect() && buf.nioBufferCount() == 1) {
+      return buf.retainedSlice(index, length);
+    }
+    ByteBuf copy = allocator.directBuffer(length, length);
+    copy.writeBytes(buf, index, length);
+    return copy;
+  }
+}
@@ -0,0 +1,196 @@
+package com.xgen.mongot.server.message;
+
+import com.github.luben.zstd.Zstd;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.xerial.snappy.Snappy;
+
+/**
+ * The compressors of the <a
+ * href="https://github.com/mongodb/specifications/blob/master/source/compression/OP_COMPRESSED.md">
+ * OP_COMPRESSED</a> wire protocol.
+ *
+ * <p>Buffers passed to {@link #compress} and {@link #decompress} must be direct. Data is read from
+ * the position to the limit of the source, and written from the position of the destination. The
+ * positions the buffers are left at are unspecified, use the returned lengths instead.
+ */
+public enum MessageCompressor {
+  NOOP(0, "noop") {
+    @Override
+    int maxCompressedLength(int uncompressedLength) {
+      return uncompressedLength;
+    }
+
+    @Override
+    int compress(ByteBuffer src, ByteBuffer dst) {
+      int length = src.remaining();
+      dst.put(src);
+      return length;
+    }
+
+    @Override
+    int decompress(ByteBuffer src, ByteBuffer dst) {
+      int length = src.remaining();
+      dst.put(src);
+      return length;
+    }
+  },
+  SNAPPY(1, "snappy") {
+    @Override
+    int maxCompressedLength(int uncompressedLength) {
+      return Snappy.maxCompressedLength(uncompressedLength);
+    }
+
+    @Override
+    int compress(ByteBuffer src, ByteBuffer dst) throws IOException {
+      return Snappy.compress(src, dst);
+    }
+
+    @Override
+    int decompress(ByteBuffer src, ByteBuffer dst) throws IOException {
+      return Snappy.uncompress(src, dst);
+    }
+  },
+  ZLIB(2, "zlib") {
+    @Override
+    int maxCompressedLength(int uncompressedLength) {
+      // zlib's compressBound().
+      return uncompressedLength
+          + (uncompressedLength >> 12)
+          + (uncompressedLength >> 14)
+          + (uncompressedLength >> 25)
+          + 13;
+    }
+
+    @Override
+    int compress(ByteBuffer src, ByteBuffer dst) {
+      Deflater deflater = new Deflater(ZLIB_COMPRESSION_LEVEL);
+      try {
+        deflater.setInput(src);
+        deflater.finish();
+        int start = dst.position();
+        while (!deflater.finished()) {
+          deflater.deflate(dst);
+        }
+        return dst.position() - start;
+      } finally {
+        deflater.end();
+      }
+    }
+
+    @Override
+    int decompress(ByteBuffer src, ByteBuffer dst) throws IOException {
+      Inflater inflater = new Inflater();
+      try {
+        inflater.setInput(src);
+        int start = dst.position();
+        while (!inflater.finished()) {
+          if (!dst.hasRemaining()) {
+            throw new IOException("zlib message is larger than its declared uncompressed size");
+          }
+          if (inflater.inflate(dst) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+            throw new IOException("truncated zlib message");
+          }
+        }
+        return dst.position() - start;
+      } catch (DataFormatException e) {
+        throw new IOException("invalid zlib message", e);
+      } finally {
+        inflater.end();
+      }
+    }
+  },
+  ZSTD(3, "zstd") {
+    @Override
+    int maxCompressedLength(int uncompressedLength) {
+      return Math.toIntExact(Zstd.compressBound(uncompressedLength));
+    }
+
+    @Override
+    int compress(ByteBuffer src, ByteBuffer dst) {
+      return Zstd.compress(dst, src, Zstd.defaultCompressionLevel());
+    }
+
+    @Override
+    int decompress(ByteBuffer src, ByteBuffer dst) {
+      return Zstd.decompress(dst, src);
+    }
+  };
+
+  /** The level mongod uses for zlib by default. */
+  private static final int ZLIB_COMPRESSION_LEVEL = 6;
+
+  public final int id;
+  public final String compressorName;
+
+  MessageCompressor(int id, String compressorName) {
+    this.id = id;
+    this.compressorName = compressorName;
+  }
+
+  /** Returns the compressor with the supplied id. */
+  public static MessageCompressor fromId(int id) {
+    return Arrays.stream(values())
+        .filter(compressor -> compressor.id == id)
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("unknown compressor id " + id));
+  }
+
+  /** Returns the compressor with the supplied name, if it is supported. */
+  public static Optional<MessageCompressor> fromName(String name) {
+    return Arrays.stream(values())
+        .filter(compressor -> compressor.compressorName.equals(name))
+        .findFirst();
+  }
+
+  /**
+   * Returns the compressors of the {@code compression} field of a hello or isMaster command that
+   * are supported, in the order of the client's preference.
+   */
+  public static List<MessageCompressor> negotiate(BsonDocument helloArgs) {
+    BsonValue requested = helloArgs.get("compression");
+    if (requested == null || !requested.isArray()) {
+      return List.of();
+    }
+
+    List<MessageCompressor> compressors = new ArrayList<>();
+    for (BsonValue name : requested.asArray()) {
+      if (name.isString()) {
+        fromName(name.asString().getValue())
+            .filter(compressor -> !compressors.contains(compressor))
+            .ifPresent(compressors::add);
+      }
+    }
+    return compressors;
+  }
+
+  /** Returns the {@code compression} field of a hello or isMaster response. */
+  public static BsonArray toBsonArray(List<MessageCompressor> compressors) {
+    BsonArray names = new BsonArray();
+    compressors.forEach(compressor -> names.add(new BsonString(compressor.compressorName)));
+    return names;
+  }
+
+  /** Returns an upper bound of the compressed length of {@code uncompressedLength} bytes. */
+  abstract int maxCompressedLength(int uncompressedLength);
+
+  /** Compresses src into dst, and returns the number of bytes written. */
+  abstract int compress(ByteBuffer src, ByteBuffer dst) throws IOException;
+
+  /**
+   * Decompresses src into dst, which must have room for exactly the uncompressed bytes, and returns
+   * the number of bytes written.
+   */
+  abstract int decompress(ByteBuffer src, ByteBuffer dst) throws IOException;
+}
@@ -5,15 +5,38 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.bson.BsonDocument;
 
+/**
+ * An OP_MSG message.
+ *
+ * @param compressor the compressor an inbound message was received with, or that an outbound
+ *     message may be compressed with. Replies use the compressor of their request.
+ */
 public record MessageMessage(
-    MessageHeader messageHeader, int flagBits, List<MessageSection> sections)
+    MessageHeader messageHeader,
+    int flagBits,
+    List<MessageSection> sections,
+    Optional<MessageCompressor> compressor)
     implements InboundMessage, OutboundMessage {
 
+  public MessageMessage(MessageHeader messageHeader, int flagBits, List<MessageSection> sections) {
+    this(messageHeader, flagBits, sections, Optional.empty());
+  }
+
   public static MessageMessage forResponse(
       int requestId, int flagBits, List<MessageSection> sections) {
-    return new MessageMessage(new MessageHeader(0, 17, requestId, OpCode.MSG), flagBits, sections);
+    return forResponse(requestId, flagBits, sections, Optional.empty());
+  }
+
+  public static MessageMessage forResponse(
+      int requestId,
+      int flagBits,
+      List<MessageSection> sections,
+      Optional<MessageCompressor> compressor) {
+    return new MessageMessage(
+        new MessageHeader(0, 17, requestId, OpCode.MSG), flagBits, sections, compressor);
   }
 
   @Override
@@ -24,10 +47,16 @@ public record MessageMessage(
   @Override
   public OutboundMessage getOutboundMessage(BsonDocument body) {
     return MessageMessage.forResponse(
-        this.getHeader().requestId(), 0, List.of(new MessageSectionBody(body)));
+        this.getHeader().requestId(), 0, List.of(new MessageSectionBody(body)), this.compressor);
   }
 
   public static MessageMessage fromBytes(MessageHeader messageHeader, ByteBuf body) {
+    return fromBytes(messageHeader, body, Optional.empty());
+  }
+
+  /** Parses a message that was received compressed with the supplied compressor, if any. */
+  public static MessageMessage fromBytes(
+      MessageHeader messageHeader, ByteBuf body, Optional<MessageCompressor> compressor) {
 
     int flagBits = body.readIntLE();
 
@@ -36,7 +65,7 @@ public record MessageMessage(
       sections.add(MessageSection.fromBytes(body));
     }
 
-    return new MessageMessage(messageHeader, flagBits, sections);
+    return new MessageMessage(messageHeader, flagBits, sections, compressor);
   }
 
   @Override
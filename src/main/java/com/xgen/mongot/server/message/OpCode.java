@@ -12,6 +12,7 @@ public enum OpCode {
   KILL_CURSORS(2007),
   COMMAND(2010),
   COMMAND_REPLY(2011),
+  COMPRESSED(2012),
   MSG(2013);
 
   public final int code;
@@ -34,6 +35,7 @@ public enum OpCode {
       case 2007 -> KILL_CURSORS;
       case 2010 -> COMMAND;
       case 2011 -> COMMAND_REPLY;
+      case 2012 -> COMPRESSED;
       case 2013 -> MSG;
       default -> throw new IllegalArgumentException("unknown op code " + code);
     };
@@ -0,0 +1,110 @@
+package com.xgen.mongot.util.concurrent;
+
+import static com.xgen.mongot.util.Check.checkArg;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.Var;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.ToLongFunction;
+
+/**
+ * Decides how many tasks a single query should split a unit of work into, based on the amount of
+ * work and the current load of the executor the tasks would run on.
+ *
+ * <p>Splitting only pays off when each task has enough work to amortize its hand-off, and when
+ * there are idle threads to pick the tasks up. When the executor is saturated (tasks are queued or
+ * no threads are idle), the query runs serially on the calling thread instead of competing with
+ * other queries for the same threads.
+ */
+public class IntraQueryParallelism {
+
+  private final NamedExecutorService executor;
+  private final long minWorkPerTask;
+  private final int defaultParallelism;
+
+  public IntraQueryParallelism(NamedExecutorService executor, long minWorkPerTask) {
+    this(executor, minWorkPerTask, Runtime.getRuntime().availableProcessors());
+  }
+
+  @VisibleForTesting
+  IntraQueryParallelism(NamedExecutorService executor, long minWorkPerTask, int defaultParallelism) {
+    checkArg(minWorkPerTask > 0, "minWorkPerTask must be positive, but was %s", minWorkPerTask);
+    checkArg(
+        defaultParallelism > 0,
+        "defaultParallelism must be positive, but was %s",
+        defaultParallelism);
+    this.executor = executor;
+    this.minWorkPerTask = minWorkPerTask;
+    this.defaultParallelism = defaultParallelism;
+  }
+
+  public NamedExecutorService getExecutor() {
+    return this.executor;
+  }
+
+  /**
+   * Returns the number of tasks to split {@code work} units of work into. A result of 1 means the
+   * work should be done serially on the calling thread.
+   */
+  public int tasksFor(long work) {
+    long byWork = work / this.minWorkPerTask;
+    if (byWork <= 1) {
+      return 1;
+    }
+
+    OptionalInt queued = this.executor.getQueueSize();
+    if (queued.isPresent() && queued.getAsInt() > 0) {
+      return 1;
+    }
+
+    OptionalInt active = this.executor.getActiveCount();
+    OptionalInt maxPoolSize = this.executor.getMaxPoolSize();
+    // The calling thread always runs one of the tasks, so it counts towards the parallelism.
+    int available =
+        active.isPresent() && maxPoolSize.isPresent()
+            ? maxPoolSize.getAsInt() - active.getAsInt() + 1
+            : this.defaultParallelism;
+    if (available <= 1) {
+      return 1;
+    }
+    return (int) Math.min(byWork, available);
+  }
+
+  /**
+   * Groups consecutive {@code items} into at most {@code numSlices} slices of roughly equal total
+   * weight, preserving their order. Items are never split across slices, so fewer slices may be
+   * returned when a few items carry most of the weight.
+   */
+  public static <T> List<List<T>> slices(
+      List<T> items, ToLongFunction<? super T> weight, int numSlices) {
+    checkArg(numSlices > 0, "numSlices must be positive, but was %s", numSlices);
+    if (numSlices == 1 || items.size() <= 1) {
+      return items.isEmpty() ? List.of() : List.of(items);
+    }
+
+    @Var long totalWeight = 0;
+    for (T item : items) {
+      totalWeight += weight.applyAsLong(item);
+    }
+    double targetWeight = (double) totalWeight / numSlices;
+
+    List<List<T>> slices = new ArrayList<>(numSlices);
+    @Var List<T> current = new ArrayList<>();
+    @Var long currentWeight = 0;
+    for (T item : items) {
+      current.add(item);
+      currentWeight += weight.applyAsLong(item);
+      if (currentWeight >= targetWeight && slices.size() < numSlices - 1) {
+        slices.add(current);
+        current = new ArrayList<>();
+        currentWeight = 0;
+      }
+    }
+    if (!current.isEmpty()) {
+      slices.add(current);
+    }
+    return slices;
+  }
+}
@@ -7,6 +7,7 @@ import com.xgen.mongot.util.mongodb.serialization.AggregateCommandProxy;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.stream.Stream;
 import org.bson.BsonArray;
 import org.bson.BsonBoolean;
 import org.bson.BsonDocument;
@@ -26,6 +27,7 @@ public class CollectionScanAggregateCommand {
   private final Optional<Bson> sort;
   private final Optional<Bson> hint;
   private final Optional<BsonValue> lastScannedId;
+  private final Optional<BsonValue> idUpperBound;
   private final Optional<BsonDocument> readConcernDocument;
 
   /** $project that filters our fields that are not used for indexing. */
@@ -61,6 +63,7 @@ public class CollectionScanAggregateCommand {
       Optional<Bson> indexedFieldsProjectionStage,
       Optional<Bson> metadataAddFieldsStage,
       Optional<BsonValue> lastScannedId,
+      Optional<BsonValue> idUpperBound,
       Optional<BsonDocument> readConcernDocument,
       Optional<List<Bson>> viewDefinedStages,
       Optional<BsonBoolean> requestResumeToken,
@@ -73,6 +76,7 @@ public class CollectionScanAggregateCommand {
     this.hint = hint;
     this.indexedFieldsProjectionStage = indexedFieldsProjectionStage;
     this.lastScannedId = lastScannedId;
+    this.idUpperBound = idUpperBound;
     this.readConcernDocument = readConcernDocument;
     this.viewDefinedStages = viewDefinedStages;
     this.requestResumeToken = requestResumeToken;
@@ -90,6 +94,7 @@ public class CollectionScanAggregateCommand {
     private Optional<Bson> metadataAddFieldsStage;
     private Optional<List<Bson>> viewDefinedStages;
     private Optional<BsonValue> lastScannedId;
+    private Optional<BsonValue> idUpperBound;
     private Optional<BsonDocument> readConcernDocument;
 
     private Optional<BsonBoolean> requestResumeToken;
@@ -104,6 +109,7 @@ public class CollectionScanAggregateCommand {
       this.indexedFieldsProjectionStage = Optional.empty();
       this.viewDefinedStages = Optional.empty();
       this.lastScannedId = Optional.empty();
+      this.idUpperBound = Optional.empty();
       this.readConcernDocument = Optional.empty();
       this.requestResumeToken = Optional.empty();
       this.startAt = Optional.empty();
@@ -118,6 +124,7 @@ public class CollectionScanAggregateCommand {
           this.indexedFieldsProjectionStage,
           this.metadataAddFieldsStage,
           this.lastScannedId,
+          this.idUpperBound,
           this.readConcernDocument,
           this.viewDefinedStages,
           this.requestResumeToken,
@@ -157,6 +164,12 @@ public class CollectionScanAggregateCommand {
       return this;
     }
 
+    /** Sets the exclusive _id upper bound. */
+    public Builder idUpperBound(BsonValue idUpperBound) {
+      this.idUpperBound = Optional.of(idUpperBound);
+      return this;
+    }
+
     public Builder readConcern(ReadConcern readConcern) {
       this.readConcernDocument = Optional.of(readConcern.asDocument());
       return this;
@@ -188,6 +201,10 @@ public class CollectionScanAggregateCommand {
     return this.lastScannedId;
   }
 
+  public Optional<BsonValue> getIdUpperBound() {
+    return this.idUpperBound;
+  }
+
   @TestOnly
   @VisibleForTesting
   public Optional<BsonDocument> getStartAt() {
@@ -213,14 +230,21 @@ public class CollectionScanAggregateCommand {
      * https://www.mongodb.com/docs/manual/reference/method/db.collection.find/#std-label-type-bracketing
      * https://www.mongodb.com/docs/manual/reference/operator/query/expr/
      */
+    List<BsonDocument> idBounds =
+        Stream.concat(
+                this.lastScannedId.map(id -> idComparison("$gte", id)).stream(),
+                this.idUpperBound.map(id -> idComparison("$lt", id)).stream())
+            .toList();
     Optional<Bson> match =
-        this.lastScannedId.map(
-            id ->
-                Aggregates.match(
-                    new BsonDocument(
-                        "$expr",
-                        new BsonDocument(
-                            "$gte", new BsonArray(List.of(new BsonString("$_id"), id))))));
+        switch (idBounds.size()) {
+          case 0 -> Optional.empty();
+          case 1 -> Optional.of(Aggregates.match(new BsonDocument("$expr", idBounds.getFirst())));
+          default ->
+              Optional.of(
+                  Aggregates.match(
+                      new BsonDocument(
+                          "$expr", new BsonDocument("$and", new BsonArray(idBounds)))));
+        };
 
     List<Bson> pipeline =
         new AggregationPipelineBuilder()
@@ -242,4 +266,8 @@ public class CollectionScanAggregateCommand {
         this.requestResumeToken,
         this.startAt);
   }
+
+  private static BsonDocument idComparison(String operator, BsonValue id) {
+    return new BsonDocument(operator, new BsonArray(List.of(new BsonString("$_id"), id)));
+  }
 }
@@ -268,7 +268,8 @@ public class ConfigStateMocks {
                 (syncSourceConfig) -> Optional.empty(),
                 new SimpleMeterRegistry(),
                 replicationGate,
-                DEFAULT_LIFECYCLE_CONFIG));
+                DEFAULT_LIFECYCLE_CONFIG,
+                Optional.empty()));
 
     return new ConfigStateMocks(
         indexCatalog,
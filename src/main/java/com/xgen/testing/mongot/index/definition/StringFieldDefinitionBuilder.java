@@ -15,6 +15,7 @@ public class StringFieldDefinitionBuilder {
   private Optional<StringFieldDefinition.IndexOptions> indexOptions = Optional.empty();
   private Optional<Boolean> store = Optional.empty();
   private Optional<StringFieldDefinition.NormsOptions> norms = Optional.empty();
+  private Optional<StringFieldDefinition.TermVectorOptions> termVectors = Optional.empty();
   private final Map<String, StringFieldDefinition> multi = new HashMap<>();
 
   public static StringFieldDefinitionBuilder builder() {
@@ -57,6 +58,12 @@ public class StringFieldDefinitionBuilder {
     return this;
   }
 
+  public StringFieldDefinitionBuilder termVectors(
+      StringFieldDefinition.TermVectorOptions termVectors) {
+    this.termVectors = Optional.of(termVectors);
+    return this;
+  }
+
   public StringFieldDefinitionBuilder multi(String name, StringFieldDefinition definition) {
     this.multi.put(name, definition);
     return this;
@@ -71,6 +78,7 @@ public class StringFieldDefinitionBuilder {
         this.indexOptions.orElse(StringFieldDefinition.Fields.INDEX_OPTIONS.getDefaultValue()),
         this.store.orElse(StringFieldDefinition.Fields.STORE.getDefaultValue()),
         this.norms.orElse(StringFieldDefinition.Fields.NORMS.getDefaultValue()),
+        this.termVectors.orElse(StringFieldDefinition.Fields.TERM_VECTORS.getDefaultValue()),
         this.multi);
   }
 }
@@ -14,6 +14,7 @@ public class SortStatsBuilder {
   private Optional<QueryExecutionArea> sortExecutionArea;
   private Optional<Map<String, List<FieldName.TypeField>>> fieldInfos;
   private Optional<Boolean> canBenefitFromIndexSort = Optional.empty();
+  private Optional<Long> remainingDocIdsAtEarlyTermination = Optional.empty();
 
   public static SortStatsBuilder builder() {
     return new SortStatsBuilder();
@@ -40,6 +41,12 @@ public class SortStatsBuilder {
     return this;
   }
 
+  public SortStatsBuilder remainingDocIdsAtEarlyTermination(
+      long remainingDocIdsAtEarlyTermination) {
+    this.remainingDocIdsAtEarlyTermination = Optional.of(remainingDocIdsAtEarlyTermination);
+    return this;
+  }
+
   public SortStats build() {
     var infos = Check.isPresent(this.fieldInfos, "fieldInfos");
     Optional<SortStats.SortExplainTimingBreakdown> sortExplainTimingBreakdown =
@@ -50,6 +57,10 @@ public class SortStatsBuilder {
                     this.profilingIteratorExecutionArea.get(), this.sortExecutionArea.get()))
             : Optional.empty();
 
-    return new SortStats(sortExplainTimingBreakdown, infos, this.canBenefitFromIndexSort);
+    return new SortStats(
+        sortExplainTimingBreakdown,
+        infos,
+        this.canBenefitFromIndexSort,
+        this.remainingDocIdsAtEarlyTermination);
   }
 }
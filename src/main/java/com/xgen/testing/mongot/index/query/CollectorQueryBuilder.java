@@ -11,6 +11,7 @@ import com.xgen.mongot.index.query.Tracking;
 import com.xgen.mongot.index.query.collectors.Collector;
 import com.xgen.mongot.index.query.counts.Count;
 import com.xgen.mongot.index.query.highlights.UnresolvedHighlight;
+import com.xgen.mongot.index.query.operators.mql.Clause;
 import com.xgen.mongot.index.query.sort.SequenceToken;
 import com.xgen.mongot.index.query.sort.SortBetaV1;
 import com.xgen.mongot.index.query.sort.SortSpec;
@@ -30,6 +31,7 @@ public class CollectorQueryBuilder {
   private Optional<SortSpec> sort = Optional.empty();
   private Optional<Tracking> tracking = Optional.empty();
   private Optional<ReturnScope> returnScope = Optional.empty();
+  private Optional<Clause> postFilter = Optional.empty();
 
   private Optional<SequenceToken> searchBefore = Optional.empty();
 
@@ -66,6 +68,7 @@ public class CollectorQueryBuilder {
     query.rawSortSpec().ifPresent(builder::sort);
     query.tracking().ifPresent(builder::tracking);
     query.returnScope().ifPresent(builder::returnScope);
+    query.postFilter().ifPresent(builder::postFilter);
 
     return builder;
   }
@@ -100,6 +103,11 @@ public class CollectorQueryBuilder {
     return this;
   }
 
+  public CollectorQueryBuilder postFilter(Clause postFilter) {
+    this.postFilter = Optional.of(postFilter);
+    return this;
+  }
+
   public CollectorQueryBuilder scoreDetails(boolean scoreDetails) {
     this.scoreDetails = Optional.of(scoreDetails);
     return this;
@@ -165,6 +173,7 @@ public class CollectorQueryBuilder {
         this.concurrent.orElse(false),
         sortSpec,
         this.tracking,
-        this.returnScope);
+        this.returnScope,
+        this.postFilter);
   }
 }
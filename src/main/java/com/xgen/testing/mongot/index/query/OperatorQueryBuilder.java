@@ -10,6 +10,7 @@ import com.xgen.mongot.index.query.SearchQuery;
 import com.xgen.mongot.index.query.Tracking;
 import com.xgen.mongot.index.query.counts.Count;
 import com.xgen.mongot.index.query.highlights.UnresolvedHighlight;
+import com.xgen.mongot.index.query.operators.mql.Clause;
 import com.xgen.mongot.index.query.operators.Operator;
 import com.xgen.mongot.index.query.sort.SequenceToken;
 import com.xgen.mongot.index.query.sort.SortBetaV1;
@@ -30,6 +31,7 @@ public class OperatorQueryBuilder {
   private Optional<Tracking> tracking = Optional.empty();
   private Optional<Boolean> concurrent = Optional.empty();
   private Optional<ReturnScope> returnScope = Optional.empty();
+  private Optional<Clause> postFilter = Optional.empty();
 
   private Optional<SequenceToken> searchBefore = Optional.empty();
 
@@ -66,6 +68,7 @@ public class OperatorQueryBuilder {
     query.rawSortSpec().ifPresent(builder::sort);
     query.tracking().ifPresent(builder::tracking);
     query.returnScope().ifPresent(builder::returnScope);
+    query.postFilter().ifPresent(builder::postFilter);
 
     return builder;
   }
@@ -100,6 +103,11 @@ public class OperatorQueryBuilder {
     return this;
   }
 
+  public OperatorQueryBuilder postFilter(Clause postFilter) {
+    this.postFilter = Optional.of(postFilter);
+    return this;
+  }
+
   public OperatorQueryBuilder scoreDetails(boolean scoreDetails) {
     this.scoreDetails = Optional.of(scoreDetails);
     return this;
@@ -165,6 +173,7 @@ public class OperatorQueryBuilder {
         this.concurrent.orElse(false),
         sortSpec,
         this.tracking,
-        this.returnScope);
+        this.returnScope,
+        this.postFilter);
   }
 }
@@ -49,6 +49,8 @@ import com.xgen.testing.mongot.index.definition.StringFacetFieldDefinitionBuilde
 import com.xgen.testing.mongot.index.definition.SynonymMappingDefinitionBuilder;
 import com.xgen.testing.mongot.index.definition.VectorIndexDefinitionBuilder;
 import com.xgen.testing.mongot.index.version.GenerationIdBuilder;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -57,6 +59,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import org.bson.BsonTimestamp;
 import org.bson.types.ObjectId;
 import org.junit.Assert;
 import org.mockito.Mockito;
@@ -375,6 +378,25 @@ public class SearchIndex {
     return index;
   }
 
+  /**
+   * Reports the replication of an initialized index mocked by this class as lagging behind an
+   * optime, such as a reopened index catching up.
+   */
+  public static void mockReplicationLag(
+      InitializedIndex initializedIndex, Instant maxPossibleOpTime, Duration replicationLag) {
+    ReplicationOpTimeInfo replicationOpTimeInfo =
+        initializedIndex.getMetricsUpdater().getIndexingMetricsUpdater().getReplicationOpTimeInfo();
+    long maxPossibleReplicationOpTime =
+        new BsonTimestamp((int) maxPossibleOpTime.getEpochSecond(), 0).getValue();
+    Mockito.lenient()
+        .doReturn(
+            Optional.of(
+                new ReplicationOpTimeInfo.Snapshot(
+                    0L, maxPossibleReplicationOpTime, replicationLag.toMillis())))
+        .when(replicationOpTimeInfo)
+        .snapshot();
+  }
+
   /** Returns a multi partition Index that can be used in tests that require one. */
   public static com.xgen.mongot.index.SearchIndex mockMultiPartitionIndex() {
     return mockIndex(MOCK_MULTI_INDEX_PARTITION_DEFINITION_GENERATION);
@@ -0,0 +1,85 @@
+package com.xgen.mongot.featureflag.dynamic;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of evaluating dynamic feature flags on the query path, by name and through the
+ * flags' compiled ordinals. Run with {@code -prof gc} to compare the allocations of each path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicFeatureFlagRegistryBench {
+
+  private static final DynamicFeatureFlags CLUSTER_FLAG =
+      DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING;
+  private static final DynamicFeatureFlags INDEX_FLAG =
+      DynamicFeatureFlags.BLOOM_FILTER_FOR_ID_FIELD;
+
+  private DynamicFeatureFlagRegistry registry;
+  private ObjectId indexId;
+
+  @Setup
+  public void setup() {
+    ObjectId orgId = new ObjectId();
+    this.indexId = new ObjectId();
+    this.registry =
+        new DynamicFeatureFlagRegistry(
+            Optional.of(
+                List.of(
+                    new DynamicFeatureFlagConfig(
+                        CLUSTER_FLAG.getName(),
+                        DynamicFeatureFlagConfig.Phase.ENABLED,
+                        List.of(),
+                        List.of(),
+                        100,
+                        DynamicFeatureFlagConfig.Scope.ORG),
+                    new DynamicFeatureFlagConfig(
+                        INDEX_FLAG.getName(),
+                        DynamicFeatureFlagConfig.Phase.CONTROLLED,
+                        List.of(),
+                        List.of(),
+                        50,
+                        DynamicFeatureFlagConfig.Scope.MONGOT_INDEX))),
+            Optional.of(orgId),
+            Optional.empty(),
+            Optional.empty());
+  }
+
+  @Benchmark
+  public boolean clusterInvariantByName() {
+    return this.registry.evaluateClusterInvariant(
+        CLUSTER_FLAG.getName(), CLUSTER_FLAG.getFallback());
+  }
+
+  @Benchmark
+  public boolean clusterInvariantByFlag() {
+    return this.registry.evaluateClusterInvariant(CLUSTER_FLAG);
+  }
+
+  @Benchmark
+  public boolean entityByName() {
+    return this.registry.evaluate(INDEX_FLAG.getName(), this.indexId, INDEX_FLAG.getFallback());
+  }
+
+  @Benchmark
+  public boolean entityByFlag() {
+    return this.registry.evaluate(INDEX_FLAG, this.indexId);
+  }
+}
@@ -2,6 +2,7 @@ package com.xgen.mongot.catalog;
 
 import static com.xgen.testing.mongot.mock.index.IndexGeneration.mockIndexGeneration;
 import static com.xgen.testing.mongot.mock.index.SearchIndex.mockInitializedIndex;
+import static com.xgen.testing.mongot.mock.index.SearchIndex.mockReplicationLag;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -12,9 +13,17 @@ import com.xgen.mongot.index.InitializedSearchIndex;
 import com.xgen.mongot.index.InitializedVectorIndex;
 import com.xgen.mongot.index.definition.VectorIndexDefinitionGeneration;
 import com.xgen.mongot.index.version.Generation;
+import com.xgen.mongot.index.version.GenerationId;
 import com.xgen.testing.TestUtils;
+import com.xgen.testing.mongot.index.version.GenerationIdBuilder;
 import com.xgen.testing.mongot.mock.index.VectorIndex;
+import com.xgen.testing.util.ManuallyUpdatedClock;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.bson.types.ObjectId;
 import org.junit.Test;
 
@@ -51,6 +60,124 @@ public class InitializedIndexCatalogTest {
     assertFalse(catalog.removeIndex(generation.getGenerationId()).isPresent());
   }
 
+  @Test
+  public void testGetIndexForQueryReopensUnloadedIndex() {
+    ManuallyUpdatedClock clock = new ManuallyUpdatedClock(Clock.systemUTC());
+    InitializedIndexCatalog catalog = new InitializedIndexCatalog(clock);
+    IndexGeneration generation = mockIndexGeneration();
+    GenerationId generationId = generation.getGenerationId();
+    InitializedSearchIndex initializedIndex = mockInitializedIndex(generation);
+    catalog.addIndex(initializedIndex);
+    Instant added = catalog.getLastAccessed(generationId).orElseThrow();
+
+    clock.update(Duration.ofMinutes(1));
+    assertEquals(Optional.of(initializedIndex), catalog.getIndexForQuery(generationId));
+    assertTrue(catalog.getLastAccessed(generationId).orElseThrow().isAfter(added));
+
+    AtomicInteger reopened = new AtomicInteger();
+    CompletableFuture<Void> reopen = new CompletableFuture<>();
+    assertEquals(
+        Optional.of(initializedIndex),
+        catalog.markUnloaded(
+            generationId,
+            () -> {
+              reopened.incrementAndGet();
+              return reopen;
+            }));
+    assertTrue(catalog.isUnloaded(generationId));
+    assertTrue(catalog.getUnloadedSince(generationId).isPresent());
+    assertFalse(catalog.getIndex(generationId).isPresent());
+
+    // Queries start reopening the index without waiting for it.
+    assertFalse(catalog.getIndexForQuery(generationId).isPresent());
+    assertFalse(catalog.getIndexForQuery(generationId).isPresent());
+    assertEquals(2, reopened.get());
+
+    // The reopened index does not serve queries until its replication caught up.
+    catalog.addIndex(initializedIndex);
+    reopen.complete(null);
+    assertFalse(catalog.getIndexForQuery(generationId).isPresent());
+    mockReplicationLag(initializedIndex, clock.instant(), Duration.ofMinutes(5));
+    assertFalse(catalog.getIndexForQuery(generationId).isPresent());
+    assertTrue(catalog.isUnloaded(generationId));
+
+    mockReplicationLag(initializedIndex, clock.instant(), Duration.ofSeconds(1));
+    assertEquals(Optional.of(initializedIndex), catalog.getIndexForQuery(generationId));
+    assertFalse(catalog.isUnloaded(generationId));
+    assertFalse(catalog.getUnloadedSince(generationId).isPresent());
+  }
+
+  @Test
+  public void testReopenedIndexLagMustBeObservedAfterUnloading() {
+    ManuallyUpdatedClock clock = new ManuallyUpdatedClock(Clock.systemUTC());
+    InitializedIndexCatalog catalog = new InitializedIndexCatalog(clock);
+    IndexGeneration generation = mockIndexGeneration();
+    GenerationId generationId = generation.getGenerationId();
+    InitializedSearchIndex initializedIndex = mockInitializedIndex(generation);
+    catalog.addIndex(initializedIndex);
+    Instant resumedFrom = clock.instant();
+
+    clock.update(Duration.ofHours(1));
+    catalog.markUnloaded(generationId, () -> CompletableFuture.completedFuture(null));
+    catalog.addIndex(initializedIndex);
+
+    // Replication resumes from the last optime indexed before unloading, without a lag.
+    mockReplicationLag(initializedIndex, resumedFrom, Duration.ZERO);
+    assertFalse(catalog.getIndexForQuery(generationId).isPresent());
+    assertTrue(catalog.isUnloaded(generationId));
+  }
+
+  @Test
+  public void testGetIndexForQueryFailsIfReopenFails() {
+    InitializedIndexCatalog catalog = new InitializedIndexCatalog();
+    GenerationId generationId = mockIndexGeneration().getGenerationId();
+    catalog.markUnloaded(
+        generationId, () -> CompletableFuture.failedFuture(new IllegalStateException("failed")));
+
+    assertFalse(catalog.getIndexForQuery(generationId).isPresent());
+    assertFalse(catalog.getIndexForQuery(GenerationIdBuilder.create()).isPresent());
+    assertFalse(catalog.isUnloaded(GenerationIdBuilder.create()));
+  }
+
+  @Test
+  public void testAwaitIfUnloadedWaitsForReopenedIndexToCatchUp() {
+    ManuallyUpdatedClock clock = new ManuallyUpdatedClock(Clock.systemUTC());
+    InitializedIndexCatalog catalog = new InitializedIndexCatalog(clock, Duration.ofSeconds(30));
+    IndexGeneration generation = mockIndexGeneration();
+    GenerationId generationId = generation.getGenerationId();
+    InitializedSearchIndex initializedIndex = mockInitializedIndex(generation);
+    assertFalse(catalog.awaitIfUnloaded(generationId));
+
+    catalog.addIndex(initializedIndex);
+    catalog.markUnloaded(
+        generationId, () -> CompletableFuture.runAsync(() -> catalog.addIndex(initializedIndex)));
+    mockReplicationLag(initializedIndex, clock.instant(), Duration.ofSeconds(1));
+
+    assertFalse(catalog.awaitIfUnloaded(generationId));
+    assertEquals(Optional.of(initializedIndex), catalog.getIndexForQuery(generationId));
+  }
+
+  @Test
+  public void testAwaitIfUnloadedIsBounded() {
+    ManuallyUpdatedClock clock = new ManuallyUpdatedClock(Clock.systemUTC());
+    InitializedIndexCatalog catalog = new InitializedIndexCatalog(clock, Duration.ofMillis(50));
+    IndexGeneration generation = mockIndexGeneration();
+    GenerationId generationId = generation.getGenerationId();
+    InitializedSearchIndex initializedIndex = mockInitializedIndex(generation);
+
+    // Reopening does not complete in time.
+    CompletableFuture<Void> reopen = new CompletableFuture<>();
+    catalog.markUnloaded(generationId, () -> reopen);
+    assertTrue(catalog.awaitIfUnloaded(generationId));
+
+    // The reopened index does not catch up in time.
+    catalog.addIndex(initializedIndex);
+    reopen.complete(null);
+    mockReplicationLag(initializedIndex, clock.instant(), Duration.ofMinutes(5));
+    assertTrue(catalog.awaitIfUnloaded(generationId));
+    assertFalse(catalog.getIndexForQuery(generationId).isPresent());
+  }
+
   @Test
   public void testAddMultipleIndexesSameId() {
     ObjectId indexId = new ObjectId();
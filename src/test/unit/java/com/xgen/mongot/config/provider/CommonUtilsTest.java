@@ -254,6 +254,7 @@ public class CommonUtilsTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
 
     DefaultInternalDatabaseResolver dbResolver =
@@ -336,6 +337,7 @@ public class CommonUtilsTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
 
     MongotConfigs withOverride = MongotConfigs.getDefault(dataPath, customMvConfig);
@@ -408,6 +410,7 @@ public class CommonUtilsTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
     Assert.assertEquals(
         "Config should have defaultMaterializedViewNameFormatVersion=0 when explicitly set",
@@ -443,6 +446,7 @@ public class CommonUtilsTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
     Assert.assertEquals(
         "Config should default to defaultMaterializedViewNameFormatVersion=1 when not set",
@@ -22,6 +22,7 @@ import com.xgen.mongot.index.IndexInformation;
 import com.xgen.mongot.index.definition.IndexDefinition;
 import com.xgen.mongot.index.definition.SearchIndexDefinition;
 import com.xgen.mongot.index.status.IndexStatus;
+import com.xgen.mongot.lifecycle.InitializationProgress;
 import com.xgen.mongot.server.CommandServer;
 import com.xgen.testing.mongot.index.definition.DocumentFieldDefinitionBuilder;
 import com.xgen.testing.mongot.index.definition.SearchIndexDefinitionBuilder;
@@ -71,6 +72,8 @@ public class CommunityReadinessCheckerTest {
     when(this.metadataService.getAuthoritativeIndexCatalog())
         .thenReturn(this.authoritativeIndexCatalog);
     when(this.metadataService.getIndexStats()).thenReturn(this.indexStats);
+    when(this.configManager.getInitializationProgress())
+        .thenReturn(new InitializationProgress(0, List.of()));
 
     this.checker =
         new CommunityReadinessChecker(
@@ -153,6 +156,7 @@ public class CommunityReadinessCheckerTest {
 
     assertFalse(this.checker.isReady(false));
     verify(this.indexInfoProvider, never()).refreshIndexInfos();
+    verify(this.configManager).getInitializationProgress();
   }
 
   @Test
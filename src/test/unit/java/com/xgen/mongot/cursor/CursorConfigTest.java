@@ -41,7 +41,8 @@ public class CursorConfigTest {
               Optional.of(Bytes.ofBytes(256)),
               Optional.of(Bytes.ofBytes(512)),
               Optional.of(Bytes.ofBytes(1024)),
-              Optional.of(Range.of(13L, 30L))));
+              Optional.of(Range.of(13L, 30L)),
+              Optional.of(Bytes.ofBytes(2048))));
     }
 
     @Test
@@ -19,6 +19,7 @@ import com.xgen.mongot.catalog.DefaultIndexCatalog;
 import com.xgen.mongot.catalog.InitializedIndexCatalog;
 import com.xgen.mongot.cursor.batch.QueryCursorOptions;
 import com.xgen.mongot.index.IndexGeneration;
+import com.xgen.mongot.index.IndexReloadingException;
 import com.xgen.mongot.index.definition.VectorIndexDefinition;
 import com.xgen.mongot.index.definition.VectorIndexDefinitionGeneration;
 import com.xgen.mongot.index.query.InvalidQueryException;
@@ -53,6 +54,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -134,6 +136,7 @@ public class MongotCursorManagerImplTest {
             Optional.of(messageSizeLimit),
             Optional.of(bsonSizeSoftLimit),
             Optional.of(bsonSizeHardLimit),
+            Optional.empty(),
             Optional.empty());
     return MongotCursorManagerImpl.fromConfig(
         config, new SimpleMeterRegistry(), indexCatalog, initializedIndexCatalog);
@@ -389,6 +392,35 @@ public class MongotCursorManagerImplTest {
         0.01);
   }
 
+  @Test
+  public void testUnloadedIndexNewCursorIsRetryable() throws Exception {
+    DefaultIndexCatalog indexCatalog = new DefaultIndexCatalog();
+    IndexGeneration generation = mockIndexGeneration(mockIndex());
+    indexCatalog.addIndex(generation);
+    InitializedIndexCatalog initializedIndexCatalog = new InitializedIndexCatalog();
+    initializedIndexCatalog.markUnloaded(generation.getGenerationId(), CompletableFuture::new);
+    MongotCursorManagerImpl cursorManager =
+        new MongotCursorManagerImpl(
+            indexCatalog,
+            initializedIndexCatalog,
+            mock(NamedScheduledExecutorService.class),
+            new MetricsFactory("factory", new SimpleMeterRegistry()),
+            CursorIdSupplier.createDefault());
+
+    Assert.assertThrows(
+        IndexReloadingException.class,
+        () ->
+            cursorManager.newCursor(
+                MOCK_INDEX_DATABASE_NAME,
+                MOCK_INDEX_LAST_OBSERVED_COLLECTION_NAME,
+                MOCK_INDEX_COLLECTION_UUID,
+                Optional.empty(),
+                mockQuery(),
+                QueryCursorOptions.empty(),
+                QueryOptimizationFlags.DEFAULT_OPTIONS,
+                Optional.empty()));
+  }
+
   @Test
   public void testInvalidIndexNameNewIntermediateCursors() throws Exception {
     MongotCursorManagerImpl cursorManager = getCursorManager();
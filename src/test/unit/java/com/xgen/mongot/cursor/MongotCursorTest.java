@@ -2,32 +2,48 @@ package com.xgen.mongot.cursor;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.truth.Truth;
+import com.xgen.mongot.cursor.batch.BatchCursorOptions;
 import com.xgen.mongot.cursor.batch.ConstantBatchSizeStrategy;
 import com.xgen.mongot.index.definition.IndexDefinition;
 import com.xgen.mongot.index.lucene.explain.information.MetadataExplainInformation;
 import com.xgen.mongot.index.lucene.explain.information.SearchExplainInformation;
 import com.xgen.mongot.index.lucene.explain.tracing.Explain;
 import com.xgen.mongot.index.lucene.explain.tracing.ExplainTooLargeException;
+import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.mongot.trace.Tracing;
 import com.xgen.mongot.util.BsonUtils;
 import com.xgen.mongot.util.Bytes;
+import com.xgen.mongot.util.concurrent.NamedExecutorService;
 import com.xgen.testing.mongot.cursor.batch.BatchCursorOptionsBuilder;
 import com.xgen.testing.mongot.index.lucene.explain.tracing.FakeExplain;
 import com.xgen.testing.mongot.mock.index.BatchProducer;
 import io.opentelemetry.api.trace.TraceFlags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Future;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
 public class MongotCursorTest {
+  private static final Bytes LIMIT = Bytes.ofKibi(16);
+
   private SearchExplainInformation makeLargeExplanation(int byteSize) {
     return new SearchExplainInformation(
         Optional.empty(),
@@ -46,6 +62,8 @@ public class MongotCursorTest {
         Optional.empty(),
         Optional.empty(),
         Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
         Optional.empty());
   }
 
@@ -264,4 +282,162 @@ public class MongotCursorTest {
     mockCursor.getNextBatch(
         CursorConfig.DEFAULT_BSON_SIZE_SOFT_LIMIT, BatchCursorOptionsBuilder.empty());
   }
+
+  @Test
+  public void testPrefetchedBatchIsServed() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    BatchPrefetcher prefetcher = createPrefetcher(tasks, Bytes.ofKibi(64));
+    FakeBatchProducer producer = new FakeBatchProducer(3, 2);
+    MongotCursor cursor = createPrefetchingCursor(producer, prefetcher);
+
+    Truth.assertThat(cursor.getNextBatch(LIMIT, BatchCursorOptions.empty()).batch)
+        .isEqualTo(producer.expectedDocs(0, 2));
+    Truth.assertThat(tasks).hasSize(1);
+    Truth.assertThat(prefetcher.getReservedBytes()).isEqualTo(LIMIT.toBytes());
+
+    tasks.remove(0).run();
+    Truth.assertThat(producer.executions).isEqualTo(2);
+    Truth.assertThat(prefetcher.getReservedBytes())
+        .isEqualTo(BsonUtils.bsonValueSerializedBytes(producer.expectedDocs(2, 4)).toBytes());
+
+    MongotCursorResultInfo second = cursor.getNextBatch(LIMIT, BatchCursorOptions.empty());
+    Truth.assertThat(second.batch).isEqualTo(producer.expectedDocs(2, 4));
+    Truth.assertThat(second.exhausted).isFalse();
+    Truth.assertThat(producer.executions).isEqualTo(2);
+
+    tasks.remove(0).run();
+    MongotCursorResultInfo third = cursor.getNextBatch(LIMIT, BatchCursorOptions.empty());
+    Truth.assertThat(third.batch).isEqualTo(producer.expectedDocs(4, 6));
+    Truth.assertThat(third.exhausted).isTrue();
+    Truth.assertThat(tasks).isEmpty();
+    Truth.assertThat(prefetcher.getReservedBytes()).isEqualTo(0);
+  }
+
+  @Test
+  public void testPrefetchedBatchIsSplitToFitBatchSize() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    BatchPrefetcher prefetcher = createPrefetcher(tasks, Bytes.ofKibi(64));
+    FakeBatchProducer producer = new FakeBatchProducer(2, 2);
+    MongotCursor cursor = createPrefetchingCursor(producer, prefetcher);
+
+    cursor.getNextBatch(LIMIT, BatchCursorOptions.empty());
+    tasks.remove(0).run();
+
+    BatchCursorOptions batchSizeOne = BatchCursorOptionsBuilder.builder().batchSize(1).build();
+    MongotCursorResultInfo first = cursor.getNextBatch(LIMIT, batchSizeOne);
+    Truth.assertThat(first.batch).isEqualTo(producer.expectedDocs(2, 3));
+    Truth.assertThat(first.exhausted).isFalse();
+    Truth.assertThat(prefetcher.getReservedBytes())
+        .isEqualTo(BsonUtils.bsonValueSerializedBytes(producer.expectedDocs(3, 4)).toBytes());
+
+    MongotCursorResultInfo second = cursor.getNextBatch(LIMIT, batchSizeOne);
+    Truth.assertThat(second.batch).isEqualTo(producer.expectedDocs(3, 4));
+    Truth.assertThat(second.exhausted).isTrue();
+    Truth.assertThat(producer.executions).isEqualTo(2);
+    Truth.assertThat(prefetcher.getReservedBytes()).isEqualTo(0);
+  }
+
+  @Test
+  public void testCloseDiscardsPendingPrefetch() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    BatchPrefetcher prefetcher = createPrefetcher(tasks, Bytes.ofKibi(64));
+    FakeBatchProducer producer = new FakeBatchProducer(3, 2);
+    MongotCursor cursor = createPrefetchingCursor(producer, prefetcher);
+
+    cursor.getNextBatch(LIMIT, BatchCursorOptions.empty());
+    cursor.close();
+    Truth.assertThat(prefetcher.getReservedBytes()).isEqualTo(0);
+
+    tasks.remove(0).run();
+    Truth.assertThat(producer.executions).isEqualTo(1);
+    Truth.assertThat(prefetcher.getReservedBytes()).isEqualTo(0);
+  }
+
+  @Test
+  public void testPrefetchIsSkippedWhenOverBudget() throws Exception {
+    List<Runnable> tasks = new ArrayList<>();
+    BatchPrefetcher prefetcher = createPrefetcher(tasks, Bytes.ofKibi(8));
+    FakeBatchProducer producer = new FakeBatchProducer(3, 2);
+    MongotCursor cursor = createPrefetchingCursor(producer, prefetcher);
+
+    cursor.getNextBatch(LIMIT, BatchCursorOptions.empty());
+    Truth.assertThat(tasks).isEmpty();
+    Truth.assertThat(cursor.getNextBatch(LIMIT, BatchCursorOptions.empty()).batch)
+        .isEqualTo(producer.expectedDocs(2, 4));
+  }
+
+  @Test
+  public void testPrefetchRunsInSubmittingContext() {
+    List<Runnable> tasks = new ArrayList<>();
+    BatchPrefetcher prefetcher = createPrefetcher(tasks, Bytes.ofKibi(64));
+    ContextKey<String> key = ContextKey.named("getMore");
+    List<String> seen = new ArrayList<>();
+
+    try (Scope ignored = Context.current().with(key, "first").makeCurrent()) {
+      Truth.assertThat(prefetcher.trySubmit(1, () -> seen.add(Context.current().get(key))))
+          .isPresent();
+    }
+    tasks.remove(0).run();
+
+    Truth.assertThat(seen).containsExactly("first");
+    prefetcher.release(1);
+  }
+
+  /** Creates a prefetcher whose tasks are queued in the supplied list instead of being run. */
+  private static BatchPrefetcher createPrefetcher(List<Runnable> tasks, Bytes budget) {
+    NamedExecutorService executor = mock(NamedExecutorService.class);
+    when(executor.submit(any(Runnable.class)))
+        .thenAnswer(
+            invocation -> {
+              tasks.add(invocation.getArgument(0));
+              return mock(Future.class);
+            });
+    return new BatchPrefetcher(
+        executor, budget, new MetricsFactory("cursorPrefetch", new SimpleMeterRegistry()));
+  }
+
+  private static MongotCursor createPrefetchingCursor(
+      FakeBatchProducer producer, BatchPrefetcher prefetcher) {
+    return new MongotCursor(
+        123L, producer, "mockCursor", new ConstantBatchSizeStrategy(), Optional.of(prefetcher));
+  }
+
+  /** Produces a fixed number of batches of documents numbered in order. */
+  private static class FakeBatchProducer implements com.xgen.mongot.index.BatchProducer {
+    private final int numBatches;
+    private final int batchSize;
+    private int executions;
+
+    FakeBatchProducer(int numBatches, int batchSize) {
+      this.numBatches = numBatches;
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public void execute(Bytes sizeLimit, BatchCursorOptions queryCursorOptions) {
+      this.executions++;
+    }
+
+    @Override
+    public BsonArray getNextBatch(Bytes resultsSizeLimit) {
+      return expectedDocs(
+          (this.executions - 1) * this.batchSize, this.executions * this.batchSize);
+    }
+
+    @Override
+    public boolean isExhausted() {
+      return this.executions >= this.numBatches;
+    }
+
+    @Override
+    public void close() {}
+
+    BsonArray expectedDocs(int from, int to) {
+      BsonArray docs = new BsonArray();
+      for (int i = from; i < to; i++) {
+        docs.add(new BsonDocument("_id", new BsonInt32(i)));
+      }
+      return docs;
+    }
+  }
 }
@@ -0,0 +1,246 @@
+package com.xgen.mongot.embedding;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.xgen.mongot.util.bson.FloatVector;
+import com.xgen.mongot.util.bson.Vector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EmbeddingReuseStoreTest {
+
+  private static final String MODEL_HASH =
+      EmbeddingReuseStore.computeModelConfigHash("voyage-3-large", 1024, "FLOAT");
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void testPutAndGet() throws Exception {
+    try (var store = open(tempFolder.getRoot().toPath(), 1024 * 1024)) {
+      Vector vector = vector(1f, 2f, 3f);
+      store.put(MODEL_HASH, "textHash", vector);
+
+      assertThat(store.get(MODEL_HASH, "textHash")).hasValue(vector);
+      assertThat(store.get(MODEL_HASH, "otherTextHash")).isEmpty();
+      assertThat(store.size()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void testKeyLookupMatchesHashLookup() throws Exception {
+    try (var store = open(tempFolder.getRoot().toPath(), 1024 * 1024)) {
+      EmbeddingReuseStore.Key key = EmbeddingReuseStore.Key.create(MODEL_HASH, "textHash");
+      store.put(key, vector(1f, 2f));
+
+      assertThat(key).isEqualTo(EmbeddingReuseStore.Key.create(MODEL_HASH, "textHash"));
+      assertThat(store.get(key)).hasValue(vector(1f, 2f));
+      assertThat(store.get(MODEL_HASH, "textHash")).hasValue(vector(1f, 2f));
+    }
+  }
+
+  @Test
+  public void testConcurrentPutsAndGets() throws Exception {
+    int threads = 4;
+    int keysPerThread = 200;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try (var store = open(tempFolder.getRoot().toPath(), 1024 * 1024)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int thread = t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < keysPerThread; i++) {
+                    String textHash = thread + "-" + i;
+                    store.put(MODEL_HASH, textHash, vector(thread, i));
+                    // Every thread also reads the keys written by the others.
+                    store.get(MODEL_HASH, ((thread + 1) % threads) + "-" + i);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+
+      assertThat(store.size()).isEqualTo(threads * keysPerThread);
+      for (int t = 0; t < threads; t++) {
+        for (int i = 0; i < keysPerThread; i++) {
+          assertThat(store.get(MODEL_HASH, t + "-" + i)).hasValue(vector(t, i));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testDifferentModelConfigsDoNotShareVectors() throws Exception {
+    String otherModelHash =
+        EmbeddingReuseStore.computeModelConfigHash("voyage-3-large", 512, "FLOAT");
+    try (var store = open(tempFolder.getRoot().toPath(), 1024 * 1024)) {
+      store.put(MODEL_HASH, "textHash", vector(1f));
+
+      assertThat(store.get(otherModelHash, "textHash")).isEmpty();
+    }
+  }
+
+  @Test
+  public void testByteVectorRoundTrip() throws Exception {
+    try (var store = open(tempFolder.getRoot().toPath(), 1024 * 1024)) {
+      Vector vector = Vector.fromBytes(new byte[] {1, -2, 3});
+      store.put(MODEL_HASH, "textHash", vector);
+
+      assertThat(store.get(MODEL_HASH, "textHash")).hasValue(vector);
+    }
+  }
+
+  @Test
+  public void testEntriesSurviveReopen() throws Exception {
+    Path directory = tempFolder.getRoot().toPath();
+    try (var store = open(directory, 1024 * 1024)) {
+      store.put(MODEL_HASH, "a", vector(1f));
+      store.put(MODEL_HASH, "b", vector(2f));
+    }
+
+    try (var store = open(directory, 1024 * 1024)) {
+      assertThat(store.size()).isEqualTo(2);
+      assertThat(store.get(MODEL_HASH, "a")).hasValue(vector(1f));
+      assertThat(store.get(MODEL_HASH, "b")).hasValue(vector(2f));
+    }
+  }
+
+  @Test
+  public void testReopenWithDifferentCapacityDiscardsEntries() throws Exception {
+    Path directory = tempFolder.getRoot().toPath();
+    try (var store = open(directory, 1024 * 1024)) {
+      store.put(MODEL_HASH, "a", vector(1f));
+    }
+
+    try (var store = open(directory, 2 * 1024 * 1024)) {
+      assertThat(store.size()).isEqualTo(0);
+      assertThat(store.get(MODEL_HASH, "a")).isEmpty();
+    }
+  }
+
+  @Test
+  public void testOldestEntriesAreEvictedWhenFull() throws Exception {
+    // Each record is 28 bytes of header + 2 bytes of vector header + 4 * 16 bytes of floats.
+    int recordSize = 28 + 2 + 4 * 16;
+    int capacity = EmbeddingReuseStore.HEADER_SIZE + recordSize * 4;
+    try (var store = open(tempFolder.getRoot().toPath(), capacity)) {
+      for (int i = 0; i < 4; i++) {
+        store.put(MODEL_HASH, "text" + i, vector16(i));
+      }
+      assertThat(store.size()).isEqualTo(4);
+
+      // The store is full, so the next put wraps around and overwrites the oldest entry.
+      store.put(MODEL_HASH, "text4", vector16(4));
+
+      assertThat(store.size()).isEqualTo(4);
+      assertThat(store.get(MODEL_HASH, "text0")).isEmpty();
+      for (int i = 1; i < 5; i++) {
+        assertThat(store.get(MODEL_HASH, "text" + i)).hasValue(vector16(i));
+      }
+    }
+  }
+
+  @Test
+  public void testEvictedEntriesStayEvictedAfterReopen() throws Exception {
+    Path directory = tempFolder.getRoot().toPath();
+    int recordSize = 28 + 2 + 4 * 16;
+    int capacity = EmbeddingReuseStore.HEADER_SIZE + recordSize * 4;
+    try (var store = open(directory, capacity)) {
+      for (int i = 0; i < 6; i++) {
+        store.put(MODEL_HASH, "text" + i, vector16(i));
+      }
+    }
+
+    try (var store = open(directory, capacity)) {
+      assertThat(store.size()).isEqualTo(4);
+      assertThat(store.get(MODEL_HASH, "text0")).isEmpty();
+      assertThat(store.get(MODEL_HASH, "text1")).isEmpty();
+      for (int i = 2; i < 6; i++) {
+        assertThat(store.get(MODEL_HASH, "text" + i)).hasValue(vector16(i));
+      }
+    }
+  }
+
+  @Test
+  public void testVectorLargerThanStoreIsDropped() throws Exception {
+    try (var store = open(tempFolder.getRoot().toPath(), EmbeddingReuseStore.HEADER_SIZE + 64)) {
+      store.put(MODEL_HASH, "textHash", vector16(1));
+
+      assertThat(store.size()).isEqualTo(0);
+      assertThat(store.get(MODEL_HASH, "textHash")).isEmpty();
+    }
+  }
+
+  @Test
+  public void testHitAndMissMetrics() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    try (var store =
+        EmbeddingReuseStore.open(tempFolder.getRoot().toPath(), 1024 * 1024, registry)) {
+      store.put(MODEL_HASH, "a", vector(1f));
+      store.get(MODEL_HASH, "a");
+      store.get(MODEL_HASH, "a");
+      store.get(MODEL_HASH, "b");
+
+      assertThat(registry.get("embeddingReuseStore.hits").counter().count()).isEqualTo(2.0);
+      assertThat(registry.get("embeddingReuseStore.misses").counter().count()).isEqualTo(1.0);
+      assertThat(registry.get("embeddingReuseStore.entries").gauge().value()).isEqualTo(1.0);
+    }
+  }
+
+  @Test
+  public void testClosedStoreIgnoresOperations() throws Exception {
+    var store = open(tempFolder.getRoot().toPath(), 1024 * 1024);
+    store.put(MODEL_HASH, "a", vector(1f));
+    store.close();
+
+    store.put(MODEL_HASH, "b", vector(2f));
+    assertThat(store.get(MODEL_HASH, "a")).isEmpty();
+  }
+
+  @Test
+  public void testInvalidCapacityThrows() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> open(tempFolder.getRoot().toPath(), EmbeddingReuseStore.HEADER_SIZE));
+  }
+
+  @Test
+  public void testTryOpenReturnsEmptyOnFailure() throws Exception {
+    Path notADirectory = tempFolder.newFile().toPath();
+
+    Optional<EmbeddingReuseStore> store =
+        EmbeddingReuseStore.tryOpen(notADirectory, 1024 * 1024, new SimpleMeterRegistry());
+
+    assertThat(store).isEmpty();
+  }
+
+  private static EmbeddingReuseStore open(Path directory, long capacity) throws Exception {
+    return EmbeddingReuseStore.open(directory, capacity, new SimpleMeterRegistry());
+  }
+
+  private static Vector vector(float... values) {
+    return Vector.fromFloats(values, FloatVector.OriginalType.BSON);
+  }
+
+  private static Vector vector16(int seed) {
+    float[] values = new float[16];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = seed * 100 + i;
+    }
+    return vector(values);
+  }
+}
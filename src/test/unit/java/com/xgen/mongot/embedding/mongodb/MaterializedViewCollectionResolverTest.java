@@ -440,6 +440,7 @@ public class MaterializedViewCollectionResolverTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
 
     MaterializedViewCollectionResolver resolver =
@@ -499,6 +500,7 @@ public class MaterializedViewCollectionResolverTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
 
     MaterializedViewCollectionResolver resolver =
@@ -563,6 +565,7 @@ public class MaterializedViewCollectionResolverTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
 
     MaterializedViewCollectionResolver resolver =
@@ -628,6 +631,7 @@ public class MaterializedViewCollectionResolverTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
 
     MaterializedViewCollectionResolver resolver =
@@ -725,6 +729,7 @@ public class MaterializedViewCollectionResolverTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
 
     MaterializedViewCollectionResolver resolver =
@@ -785,6 +790,7 @@ public class MaterializedViewCollectionResolverTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
 
     MaterializedViewCollectionResolver resolver =
@@ -953,6 +959,7 @@ public class MaterializedViewCollectionResolverTest {
             Optional.empty(),
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
 
     MaterializedViewCollectionResolver resolver =
@@ -17,6 +17,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.google.errorprone.annotations.Var;
 import com.xgen.mongot.embedding.EmbeddingRequestContext;
@@ -36,11 +37,15 @@ import java.net.http.HttpClient;
 import java.net.http.HttpConnectTimeoutException;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 import javax.net.ssl.SSLHandshakeException;
 import org.bson.BsonDocument;
 import org.junit.Test;
@@ -776,7 +781,7 @@ public class VoyageClientTest {
                         buf.get(bytes);
                         out.writeBytes(bytes);
                       }
-                      future.complete(out.toString(java.nio.charset.StandardCharsets.UTF_8));
+                      future.complete(out.toString(StandardCharsets.UTF_8));
                     }
                   });
               return future.join();
@@ -1235,6 +1240,137 @@ public class VoyageClientTest {
     verify(mockClient, timeout(1000)).shutdown();
   }
 
+  private static HttpClient createMockAsyncHttpClient(int statusCode, String body) {
+    HttpClient mockClient = mock(HttpClient.class);
+    HttpResponse<byte[]> mockResponse = mock(HttpResponse.class);
+    doReturn(statusCode).when(mockResponse).statusCode();
+    doReturn(body.getBytes(StandardCharsets.UTF_8)).when(mockResponse).body();
+    doReturn(CompletableFuture.completedFuture(mockResponse))
+        .when(mockClient)
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    return mockClient;
+  }
+
+  @Test
+  public void embedAsync_decodesResponseWithoutBlockingSend() throws Exception {
+    HttpClient mockClient =
+        createMockAsyncHttpClient(
+            200,
+            "{\"object\":\"list\",\"data\":"
+                + "[{\"object\": \"embedding\", \"embedding\":"
+                + "\"AGAFPQBA0Tsi+I081GAavQ==\", \"index\":1},"
+                + "{\"object\": \"embedding\", \"embedding\":"
+                + "\"ACBNvQDAAj0AIOQ8AGA1vA==\", \"index\":0}],"
+                + "\"model\": \"voyage-large-3\","
+                + "\"usage\": {\"total_tokens\": 6}"
+                + "}");
+    VoyageClient voyageClient =
+        createMockedVoyageClient(createDedicatedClusterConfig("token"), mockClient);
+
+    List<VectorOrError> result =
+        voyageClient.embedAsync(List.of("one", "", "three"), dummyContext()).join();
+
+    assertEquals(
+        List.of(
+            new VectorOrError(
+                Vector.fromFloats(
+                    new float[] {-0.050079346f, 0.031921387f, 0.02784729f, -0.011070251f}, NATIVE)),
+            VectorOrError.EMPTY_INPUT_ERROR,
+            new VectorOrError(
+                Vector.fromFloats(
+                    new float[] {0.032562256f, 0.006385803f, 0.0173302338f, -0.03769f}, NATIVE))),
+        result);
+    verify(mockClient, never()).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @Test
+  public void embedAsync_withCongestionSemaphore_releasesPermitAsNackOn429() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MetricsFactory metricsFactory = new MetricsFactory("test", registry);
+    HttpClient mockClient = createMockAsyncHttpClient(429, "Rate limit exceeded");
+
+    VoyageClient voyageClient =
+        new VoyageClient(
+            VOYAGE_3_LARGE,
+            EmbeddingServiceConfig.ServiceTier.COLLECTION_SCAN,
+            VOYAGE_3_LARGE.collectionScan(),
+            metricsFactory,
+            Optional.empty(),
+            false,
+            true);
+    VoyageClient.injectVoyageClient(voyageClient, mockClient);
+    DynamicSemaphore semaphore = new DynamicSemaphore(new AimdCongestionControl());
+    voyageClient.setCongestionSemaphore(semaphore);
+
+    CompletionException ex =
+        assertThrows(
+            CompletionException.class,
+            () -> voyageClient.embedAsync(List.of("test"), dummyContext()).join());
+
+    assertTrue(ex.getCause() instanceof EmbeddingProviderTransientException);
+    assertEquals(0, semaphore.getUsedPermits());
+    assertEquals(1.0, registry.find("test.aimdCongestionEvents").counter().count(), 1E-7);
+  }
+
+  @Test
+  public void embedAsync_boundsInFlightRequests() {
+    HttpClient mockClient = mock(HttpClient.class);
+    List<CompletableFuture<HttpResponse<byte[]>>> responses = new ArrayList<>();
+    when(
+            mockClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenAnswer(
+            ignored -> {
+              CompletableFuture<HttpResponse<byte[]>> response = new CompletableFuture<>();
+              responses.add(response);
+              return response;
+            });
+    VoyageClient voyageClient =
+        createMockedVoyageClient(createDedicatedClusterConfig("token"), mockClient);
+
+    List<CompletableFuture<List<VectorOrError>>> results = new ArrayList<>();
+    for (int i = 0; i < VoyageClient.MAX_IN_FLIGHT_ASYNC_REQUESTS + 10; i++) {
+      results.add(voyageClient.embedAsync(List.of("test"), dummyContext()));
+    }
+    assertEquals(VoyageClient.MAX_IN_FLIGHT_ASYNC_REQUESTS, responses.size());
+
+    HttpResponse<byte[]> mockResponse = mock(HttpResponse.class);
+    doReturn(200).when(mockResponse).statusCode();
+    doReturn(
+            ("{\"data\":[{\"embedding\":\"AKBEPACgSbw=\",\"index\":0}],"
+                    + "\"usage\":{\"total_tokens\":1}}")
+                .getBytes(StandardCharsets.UTF_8))
+        .when(mockResponse)
+        .body();
+    for (int i = 0; i < responses.size(); i++) {
+      responses.get(i).complete(mockResponse);
+    }
+
+    assertEquals(VoyageClient.MAX_IN_FLIGHT_ASYNC_REQUESTS + 10, responses.size());
+    for (CompletableFuture<List<VectorOrError>> result : results) {
+      assertTrue(result.join().getFirst().vector.isPresent());
+    }
+  }
+
+  @Test
+  public void sendAsyncWithTimeout_cancelsExchangeOnTimeout() {
+    HttpClient mockClient = mock(HttpClient.class);
+    CompletableFuture<HttpResponse<byte[]>> exchange = new CompletableFuture<>();
+    doReturn(exchange)
+        .when(mockClient)
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+
+    CompletionException ex =
+        assertThrows(
+            CompletionException.class,
+            () ->
+                VoyageClient.sendAsyncWithTimeout(
+                        mockClient, mock(HttpRequest.class), Duration.ofMillis(10))
+                    .join());
+
+    assertTrue(ex.getCause() instanceof TimeoutException);
+    assertTrue(exchange.isCancelled());
+  }
+
   @Test
   public void getOutputDataType_mapsQuantization() {
     assertEquals("float", getOutputDataType(VectorAutoEmbedQuantization.FLOAT));
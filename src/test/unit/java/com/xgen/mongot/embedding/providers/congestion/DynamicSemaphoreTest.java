@@ -1,9 +1,13 @@
 package com.xgen.mongot.embedding.providers.congestion;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import com.google.errorprone.annotations.Var;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -278,4 +282,195 @@ public class DynamicSemaphoreTest {
             + semaphore.getTotalPermits(),
         semaphore.getTotalPermits() < permitsBeforeCongestion);
   }
+
+  @Test
+  public void acquireAsync_completesImmediatelyWhenPermitAvailable() {
+    DynamicSemaphore semaphore = new DynamicSemaphore(DynamicSemaphorePolicy.fixed(1));
+
+    CompletableFuture<Void> permit = semaphore.acquireAsync();
+
+    assertTrue(permit.isDone());
+    assertEquals(1, semaphore.getUsedPermits());
+    assertEquals(0, semaphore.getQueuedAcquirers());
+  }
+
+  @Test
+  public void acquireAsync_queuesUntilReleaseInArrivalOrder() {
+    DynamicSemaphore semaphore = new DynamicSemaphore(DynamicSemaphorePolicy.fixed(1));
+    semaphore.acquireAsync();
+
+    CompletableFuture<Void> first = semaphore.acquireAsync();
+    CompletableFuture<Void> second = semaphore.acquireAsync();
+    assertFalse(first.isDone());
+    assertFalse(second.isDone());
+    assertEquals(2, semaphore.getQueuedAcquirers());
+
+    semaphore.release();
+    assertTrue(first.isDone());
+    assertFalse(second.isDone());
+    assertEquals(1, semaphore.getUsedPermits());
+
+    semaphore.release(true);
+    assertTrue(second.isDone());
+    assertEquals(1, semaphore.getUsedPermits());
+    assertEquals(0, semaphore.getQueuedAcquirers());
+  }
+
+  @Test
+  public void acquireAsync_grantsQueuedWaitersWhenLimitGrows() {
+    AtomicInteger limit = new AtomicInteger(1);
+    DynamicSemaphorePolicy policy =
+        new DynamicSemaphorePolicy() {
+          @Override
+          public int onAcquire() {
+            return limit.get();
+          }
+
+          @Override
+          public int onRelease(boolean isAck) {
+            return limit.get();
+          }
+
+          @Override
+          public int getTotalPermits() {
+            return limit.get();
+          }
+        };
+    DynamicSemaphore semaphore = new DynamicSemaphore(policy);
+    semaphore.acquireAsync();
+    CompletableFuture<Void> first = semaphore.acquireAsync();
+    CompletableFuture<Void> second = semaphore.acquireAsync();
+    assertFalse(first.isDone());
+
+    limit.set(3);
+
+    // The queued waiters are granted the new permits ahead of the new acquirer.
+    assertEquals(-1, semaphore.tryAcquire());
+    assertTrue(first.isDone());
+    assertTrue(second.isDone());
+    assertEquals(3, semaphore.getUsedPermits());
+    assertEquals(0, semaphore.getQueuedAcquirers());
+  }
+
+  @Test
+  public void acquireAsync_cancelledWaiterDoesNotConsumePermit() {
+    DynamicSemaphore semaphore = new DynamicSemaphore(DynamicSemaphorePolicy.fixed(1));
+    semaphore.acquireAsync();
+
+    CompletableFuture<Void> cancelled = semaphore.acquireAsync();
+    CompletableFuture<Void> waiting = semaphore.acquireAsync();
+    cancelled.cancel(false);
+
+    semaphore.release();
+
+    assertTrue(waiting.isDone());
+    assertFalse(waiting.isCancelled());
+    assertEquals(1, semaphore.getUsedPermits());
+
+    semaphore.release();
+    assertEquals(0, semaphore.getUsedPermits());
+  }
+
+  @Test
+  public void acquire_queuesBehindAsyncWaiters() throws InterruptedException {
+    DynamicSemaphore semaphore = new DynamicSemaphore(DynamicSemaphorePolicy.fixed(1));
+    semaphore.acquireAsync();
+    CompletableFuture<Void> asyncWaiter = semaphore.acquireAsync();
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    Thread blockedThread =
+        new Thread(
+            () -> {
+              try {
+                semaphore.acquire();
+                acquired.countDown();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    blockedThread.start();
+    awaitQueuedAcquirers(semaphore, 2);
+
+    // The permit goes to the asynchronous waiter that arrived first.
+    semaphore.release();
+    assertTrue(asyncWaiter.isDone());
+    assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+
+    semaphore.release();
+    assertTrue(acquired.await(5, TimeUnit.SECONDS));
+    assertEquals(1, semaphore.getUsedPermits());
+    blockedThread.join(1000);
+  }
+
+  @Test
+  public void acquire_interruptedWaiterDoesNotConsumePermit() throws InterruptedException {
+    DynamicSemaphore semaphore = new DynamicSemaphore(DynamicSemaphorePolicy.fixed(1));
+    semaphore.acquireAsync();
+
+    AtomicInteger interrupted = new AtomicInteger();
+    Thread blockedThread =
+        new Thread(
+            () -> {
+              try {
+                semaphore.acquire();
+              } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+              }
+            });
+    blockedThread.start();
+    awaitQueuedAcquirers(semaphore, 1);
+    blockedThread.interrupt();
+    blockedThread.join(1000);
+
+    assertEquals(1, interrupted.get());
+    semaphore.release();
+    assertEquals(0, semaphore.getUsedPermits());
+    assertEquals(0, semaphore.getQueuedAcquirers());
+  }
+
+  @Test
+  public void acquireAsync_boundsInFlightRequestsWithoutBlockingThreads() {
+    int permits = 4;
+    DynamicSemaphore semaphore = new DynamicSemaphore(DynamicSemaphorePolicy.fixed(permits));
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    AtomicInteger completed = new AtomicInteger();
+    List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+    for (int i = 0; i < 100; i++) {
+      CompletableFuture<Void> response = new CompletableFuture<>();
+      pending.add(response);
+      semaphore
+          .acquireAsync()
+          .thenCompose(
+              ignored -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return response;
+              })
+          .whenComplete(
+              (ignored, failure) -> {
+                inFlight.decrementAndGet();
+                completed.incrementAndGet();
+                semaphore.release(true);
+              });
+    }
+
+    // Responses arrive in order, each one releasing a permit to the next queued request.
+    for (CompletableFuture<Void> response : pending) {
+      response.complete(null);
+    }
+
+    assertEquals(100, completed.get());
+    assertEquals(permits, maxInFlight.get());
+    assertEquals(0, semaphore.getUsedPermits());
+  }
+
+  private static void awaitQueuedAcquirers(DynamicSemaphore semaphore, int queued)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (semaphore.getQueuedAcquirers() < queued && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(queued, semaphore.getQueuedAcquirers());
+  }
 }
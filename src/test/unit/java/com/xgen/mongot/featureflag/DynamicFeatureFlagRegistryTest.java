@@ -9,6 +9,8 @@ import com.google.common.primitives.Ints;
 import com.google.errorprone.annotations.Var;
 import com.xgen.mongot.featureflag.dynamic.DynamicFeatureFlagConfig;
 import com.xgen.mongot.featureflag.dynamic.DynamicFeatureFlagRegistry;
+import com.xgen.mongot.featureflag.dynamic.DynamicFeatureFlags;
+import com.xgen.mongot.index.query.Query;
 import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.testing.mongot.index.query.OperatorQueryBuilder;
 import com.xgen.testing.mongot.index.query.operators.OperatorBuilder;
@@ -818,4 +820,81 @@ public class DynamicFeatureFlagRegistryTest {
             .value(),
         0.0);
   }
+
+  @Test
+  public void evaluateByEnum_matchesEvaluationByName() {
+    DynamicFeatureFlags flag = DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING;
+    ObjectId orgId = new ObjectId();
+    ObjectId indexId = new ObjectId();
+    DynamicFeatureFlagConfig config =
+        new DynamicFeatureFlagConfig(
+            flag.getName(),
+            DynamicFeatureFlagConfig.Phase.CONTROLLED,
+            List.of(orgId, indexId),
+            List.of(),
+            0,
+            DynamicFeatureFlagConfig.Scope.ORG);
+
+    var registry =
+        new DynamicFeatureFlagRegistry(
+            Optional.of(List.of(config)), Optional.of(orgId), Optional.empty(), Optional.empty());
+
+    assertTrue(registry.evaluateClusterInvariant(flag));
+    assertTrue(registry.evaluate(flag, indexId));
+    assertEquals(
+        registry.evaluate(flag.getName(), new ObjectId(), false),
+        registry.evaluate(flag, new ObjectId()));
+  }
+
+  @Test
+  public void evaluateByEnum_unregisteredFlag_returnsFallback() {
+    var registry = DynamicFeatureFlagRegistry.empty();
+    Query query =
+        OperatorQueryBuilder.builder()
+            .operator(OperatorBuilder.text().path("title").query("godfather").build())
+            .returnStoredSource(false)
+            .build();
+
+    for (DynamicFeatureFlags flag : DynamicFeatureFlags.values()) {
+      assertEquals(flag.getFallback(), registry.evaluateClusterInvariant(flag));
+      assertEquals(flag.getFallback(), registry.evaluate(flag, new ObjectId()));
+      assertEquals(flag.getFallback(), registry.evaluate(flag, query));
+    }
+  }
+
+  @Test
+  public void evaluateByEnum_afterUpdate_usesUpdatedConfig() {
+    DynamicFeatureFlags flag = DynamicFeatureFlags.BLOOM_FILTER_FOR_ID_FIELD;
+    ObjectId indexId = new ObjectId();
+    DynamicFeatureFlagConfig allowed =
+        new DynamicFeatureFlagConfig(
+            flag.getName(),
+            DynamicFeatureFlagConfig.Phase.CONTROLLED,
+            List.of(indexId),
+            List.of(),
+            0,
+            DynamicFeatureFlagConfig.Scope.MONGOT_INDEX);
+    DynamicFeatureFlagConfig blocked =
+        new DynamicFeatureFlagConfig(
+            flag.getName(),
+            DynamicFeatureFlagConfig.Phase.CONTROLLED,
+            List.of(),
+            List.of(indexId),
+            100,
+            DynamicFeatureFlagConfig.Scope.MONGOT_INDEX);
+
+    var registry =
+        new DynamicFeatureFlagRegistry(
+            Optional.of(List.of(allowed)), Optional.empty(), Optional.empty(), Optional.empty());
+    assertTrue(registry.evaluate(flag, indexId));
+    // A cached evaluation is reused for the entity.
+    assertTrue(registry.evaluate(flag, indexId));
+
+    registry.updateDynamicFeatureFlags(List.of(blocked));
+    assertFalse(registry.evaluate(flag, indexId));
+    assertTrue(registry.evaluate(flag, new ObjectId()));
+
+    registry.updateDynamicFeatureFlags(List.of());
+    assertEquals(flag.getFallback(), registry.evaluate(flag, indexId));
+  }
 }
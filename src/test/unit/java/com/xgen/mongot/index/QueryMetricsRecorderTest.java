@@ -4,6 +4,8 @@ import static com.xgen.mongot.util.bson.FloatVector.OriginalType.NATIVE;
 import static com.xgen.testing.BsonTestUtils.bson;
 import static com.xgen.testing.mongot.mock.index.SearchIndex.MOCK_INDEX_NAME;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.xgen.mongot.cursor.batch.QueryCursorOptions;
 import com.xgen.mongot.index.IndexMetricsUpdater.QueryingMetricsUpdater.QueryFeaturesMetricsUpdater;
@@ -265,6 +267,68 @@ public class QueryMetricsRecorderTest {
         1, queryFeaturesStatsUpdater.getScoreTypeCounter(Score.Type.CONSTANT).count(), EPSILON);
   }
 
+  @Test
+  public void testConsecutiveQueriesAreRecordedIndependently() {
+    var queryFeaturesStatsUpdater =
+        IndexMetricsUpdaterBuilder.QueryingMetricsUpdaterBuilder.QueryFeaturesMetricsUpdaterBuilder
+            .empty();
+    var queryMetricsRecorder = new QueryMetricsRecorder(queryFeaturesStatsUpdater);
+
+    SearchQuery textQuery =
+        OperatorQueryBuilder.builder()
+            .operator(OperatorBuilder.text().path("title").query("godfather").build())
+            .returnStoredSource(false)
+            .build();
+    SearchQuery existsQuery =
+        OperatorQueryBuilder.builder()
+            .operator(OperatorBuilder.exists().path("title").build())
+            .returnStoredSource(false)
+            .build();
+
+    queryMetricsRecorder.record(textQuery, QueryCursorOptions.empty());
+    queryMetricsRecorder.record(existsQuery, QueryCursorOptions.empty());
+    queryMetricsRecorder.record(textQuery, QueryCursorOptions.empty());
+
+    Assert.assertEquals(
+        2, queryFeaturesStatsUpdater.getOperatorTypeCounter(Operator.Type.TEXT).count(), EPSILON);
+    Assert.assertEquals(
+        1,
+        queryFeaturesStatsUpdater.getOperatorTypeCounter(Operator.Type.EXISTS).count(),
+        EPSILON);
+  }
+
+  @Test
+  public void testFailedRecordDoesNotLeakIntoNextQuery() {
+    var queryFeaturesStatsUpdater =
+        IndexMetricsUpdaterBuilder.QueryingMetricsUpdaterBuilder.QueryFeaturesMetricsUpdaterBuilder
+            .empty();
+    var queryMetricsRecorder = new QueryMetricsRecorder(queryFeaturesStatsUpdater);
+
+    SearchQuery textQuery =
+        OperatorQueryBuilder.builder()
+            .operator(OperatorBuilder.text().path("title").query("godfather").build())
+            .returnStoredSource(false)
+            .build();
+    SearchQuery existsQuery =
+        OperatorQueryBuilder.builder()
+            .operator(OperatorBuilder.exists().path("title").build())
+            .returnStoredSource(false)
+            .build();
+    QueryCursorOptions failingOptions = mock(QueryCursorOptions.class);
+    when(failingOptions.requireSequenceTokens()).thenThrow(new IllegalStateException("failed"));
+
+    Assert.assertThrows(
+        IllegalStateException.class, () -> queryMetricsRecorder.record(textQuery, failingOptions));
+    queryMetricsRecorder.record(existsQuery, QueryCursorOptions.empty());
+
+    Assert.assertEquals(
+        0, queryFeaturesStatsUpdater.getOperatorTypeCounter(Operator.Type.TEXT).count(), EPSILON);
+    Assert.assertEquals(
+        1,
+        queryFeaturesStatsUpdater.getOperatorTypeCounter(Operator.Type.EXISTS).count(),
+        EPSILON);
+  }
+
   @Test
   public void testQueryHighlight() {
     var queryFeaturesStatsUpdater =
@@ -0,0 +1,78 @@
+package com.xgen.mongot.index;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.opentelemetry.context.Context;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class QueryResourceUsageTest {
+
+  @Test
+  public void testUsageIsCurrentOnlyWhileTracked() {
+    QueryResourceUsage usage = new QueryResourceUsage();
+    assertThat(QueryResourceUsage.current()).isEmpty();
+
+    try (var unused = usage.track()) {
+      assertThat(QueryResourceUsage.current()).hasValue(usage);
+    }
+
+    assertThat(QueryResourceUsage.current()).isEmpty();
+  }
+
+  @Test
+  public void testRecordsDocsAndStoredDocuments() {
+    QueryResourceUsage usage = new QueryResourceUsage();
+
+    try (var unused = usage.track()) {
+      QueryResourceUsage.current().orElseThrow().recordDocsScanned(10);
+      QueryResourceUsage.current().orElseThrow().recordStoredDocument(100);
+      QueryResourceUsage.current().orElseThrow().recordStoredDocument(0);
+    }
+
+    QueryResourceUsage.Snapshot snapshot = usage.snapshot();
+    assertThat(snapshot.docsScanned()).isEqualTo(10);
+    assertThat(snapshot.storedDocuments()).isEqualTo(2);
+    assertThat(snapshot.storedBytes()).isEqualTo(100);
+    assertThat(snapshot.cpuNanos()).isAtLeast(0);
+    assertThat(snapshot.allocatedBytes()).isAtLeast(0);
+  }
+
+  @Test
+  public void testSnapshotWhileTrackedIncludesTrackedThread() {
+    QueryResourceUsage usage = new QueryResourceUsage();
+
+    try (var unused = usage.track()) {
+      byte[] allocated = new byte[1 << 20];
+      assertThat(usage.snapshot().allocatedBytes()).isAtLeast((long) allocated.length);
+    }
+  }
+
+  @Test
+  public void testWrappedExecutorAccountsToTrackedQuery() throws Exception {
+    QueryResourceUsage usage = new QueryResourceUsage();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (var unused = usage.track()) {
+      Context.current()
+          .wrap(QueryResourceUsage.wrap(executor))
+          .execute(() -> QueryResourceUsage.current().orElseThrow().recordDocsScanned(5));
+    } finally {
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    assertThat(usage.snapshot().docsScanned()).isEqualTo(5);
+  }
+
+  @Test
+  public void testWrapWithoutTrackedQueryReturnsExecutor() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertThat(QueryResourceUsage.wrap(executor)).isSameInstanceAs(executor);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
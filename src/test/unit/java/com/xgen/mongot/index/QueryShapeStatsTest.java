@@ -0,0 +1,184 @@
+package com.xgen.mongot.index;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.xgen.mongot.util.bson.FloatVector.OriginalType.NATIVE;
+import static com.xgen.testing.mongot.mock.index.SearchIndex.MOCK_INDEX_NAME;
+import static org.junit.Assert.assertThrows;
+
+import com.xgen.mongot.index.query.Query;
+import com.xgen.mongot.index.query.operators.Operator;
+import com.xgen.mongot.util.FieldPath;
+import com.xgen.mongot.util.bson.Vector;
+import com.xgen.testing.mongot.index.query.ExactVectorCriteriaBuilder;
+import com.xgen.testing.mongot.index.query.OperatorQueryBuilder;
+import com.xgen.testing.mongot.index.query.VectorQueryBuilder;
+import com.xgen.testing.mongot.index.query.highlights.UnresolvedHighlightBuilder;
+import com.xgen.testing.mongot.index.query.operators.OperatorBuilder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class QueryShapeStatsTest {
+
+  @Test
+  public void testQueriesWithSameShapeShareEntry() {
+    QueryShapeStats stats = new QueryShapeStats();
+
+    stats.record(operatorQuery(text("title", "godfather")), millis(2));
+    stats.record(operatorQuery(text("plot", "space")), millis(4));
+
+    List<QueryShapeStats.ShapeStats> shapes = stats.getTopShapes(10);
+    assertThat(shapes).hasSize(1);
+    assertThat(shapes.get(0).shape()).isEqualTo("$search text");
+    assertThat(shapes.get(0).count()).isEqualTo(2);
+    assertThat(shapes.get(0).totalLatencyNanos()).isEqualTo(millis(6));
+    assertThat(shapes.get(0).maxLatencyNanos()).isEqualTo(millis(4));
+  }
+
+  @Test
+  public void testShapeDescribesOperatorTreeAndOptions() {
+    QueryShapeStats stats = new QueryShapeStats();
+    Query query =
+        OperatorQueryBuilder.builder()
+            .operator(
+                OperatorBuilder.compound()
+                    .must(text("title", "godfather"))
+                    .filter(OperatorBuilder.exists().path("year").build())
+                    .build())
+            .index(MOCK_INDEX_NAME)
+            .highlight(UnresolvedHighlightBuilder.builder().path("title").build())
+            .returnStoredSource(false)
+            .build();
+
+    stats.record(query, millis(1));
+
+    assertThat(stats.getTopShapes(1).get(0).shape())
+        .isEqualTo("$search compound(filter: [exists], must: [text]) +highlight");
+  }
+
+  @Test
+  public void testDifferentShapesAreTrackedSeparately() {
+    QueryShapeStats stats = new QueryShapeStats();
+
+    stats.record(operatorQuery(text("title", "godfather")), millis(1));
+    stats.record(operatorQuery(OperatorBuilder.exists().path("title").build()), millis(1));
+    stats.record(vectorQuery(), millis(1));
+
+    assertThat(stats.size()).isEqualTo(3);
+    assertThat(stats.getTopShapes(10).stream().map(QueryShapeStats.ShapeStats::shape).toList())
+        .containsExactly("$search text", "$search exists", "$vectorSearch exact");
+  }
+
+  @Test
+  public void testTopShapesAreOrderedByTotalLatency() {
+    QueryShapeStats stats = new QueryShapeStats();
+
+    stats.record(operatorQuery(text("title", "godfather")), millis(1));
+    stats.record(operatorQuery(OperatorBuilder.exists().path("title").build()), millis(50));
+    stats.record(vectorQuery(), millis(10));
+
+    assertThat(stats.getTopShapes(2).stream().map(QueryShapeStats.ShapeStats::shape).toList())
+        .containsExactly("$search exists", "$vectorSearch exact")
+        .inOrder();
+  }
+
+  @Test
+  public void testLeastRecentlyRecordedShapeIsEvictedWhenFull() {
+    QueryShapeStats stats = new QueryShapeStats(2);
+
+    stats.record(operatorQuery(text("title", "godfather")), millis(100));
+    stats.record(operatorQuery(OperatorBuilder.exists().path("title").build()), millis(1));
+    stats.record(operatorQuery(text("plot", "space")), millis(1));
+    stats.record(vectorQuery(), millis(5));
+
+    assertThat(stats.size()).isEqualTo(2);
+    assertThat(stats.getTopShapes(10).stream().map(QueryShapeStats.ShapeStats::shape).toList())
+        .containsExactly("$search text", "$vectorSearch exact")
+        .inOrder();
+  }
+
+  @Test
+  public void testRecurringNewShapesAreRetainedWhenFull() {
+    QueryShapeStats stats = new QueryShapeStats(2);
+    Query compound =
+        operatorQuery(OperatorBuilder.compound().must(text("title", "godfather")).build());
+
+    stats.record(operatorQuery(text("title", "godfather")), millis(100));
+    stats.record(operatorQuery(OperatorBuilder.exists().path("title").build()), millis(50));
+    for (int i = 0; i < 2; i++) {
+      stats.record(vectorQuery(), millis(1));
+      stats.record(compound, millis(1));
+    }
+
+    // Evicting the shape with the lowest total latency would have made the new shapes replace
+    // each other, rather than the shapes that are no longer recorded.
+    assertThat(stats.getTopShapes(10).stream().map(QueryShapeStats.ShapeStats::count).toList())
+        .containsExactly(2L, 2L);
+    assertThat(stats.getTopShapes(10).stream().map(QueryShapeStats.ShapeStats::shape).toList())
+        .containsExactly("$vectorSearch exact", "$search compound(must: [text])");
+  }
+
+  @Test
+  public void testLatencyHistogram() {
+    QueryShapeStats stats = new QueryShapeStats();
+    Query query = operatorQuery(text("title", "godfather"));
+
+    stats.record(query, TimeUnit.MICROSECONDS.toNanos(500));
+    stats.record(query, millis(3));
+    stats.record(query, millis(3));
+    stats.record(query, TimeUnit.SECONDS.toNanos(10));
+
+    assertThat(stats.getTopShapes(1).get(0).latencyHistogram())
+        .containsExactly(1L, 2L, 0L, 0L, 0L, 0L, 0L, 0L, 1L)
+        .inOrder();
+  }
+
+  @Test
+  public void testResourceUsageIsOnlyRecordedForTrackedShapes() {
+    QueryShapeStats stats = new QueryShapeStats();
+    Query tracked = operatorQuery(text("title", "godfather"));
+    stats.record(tracked, millis(1));
+
+    stats.recordResourceUsage(tracked, 10, 1024);
+    stats.recordResourceUsage(operatorQuery(text("plot", "space")), 5, 512);
+    stats.recordResourceUsage(vectorQuery(), 100, 4096);
+
+    QueryShapeStats.ShapeStats shape = stats.getTopShapes(1).get(0);
+    assertThat(stats.size()).isEqualTo(1);
+    assertThat(shape.docsScanned()).isEqualTo(15);
+    assertThat(shape.storedBytes()).isEqualTo(1536);
+  }
+
+  @Test
+  public void testInvalidCapacityThrows() {
+    assertThrows(IllegalArgumentException.class, () -> new QueryShapeStats(0));
+  }
+
+  private static Operator text(String path, String query) {
+    return OperatorBuilder.text().path(path).query(query).build();
+  }
+
+  private static Query operatorQuery(Operator operator) {
+    return OperatorQueryBuilder.builder()
+        .operator(operator)
+        .index(MOCK_INDEX_NAME)
+        .returnStoredSource(false)
+        .build();
+  }
+
+  private static Query vectorQuery() {
+    return VectorQueryBuilder.builder()
+        .index(MOCK_INDEX_NAME)
+        .criteria(
+            ExactVectorCriteriaBuilder.builder()
+                .path(FieldPath.newRoot("vector"))
+                .queryVector(Vector.fromFloats(new float[] {1.f, 2.f}, NATIVE))
+                .limit(10)
+                .build())
+        .build();
+  }
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
@@ -0,0 +1,82 @@
+package com.xgen.mongot.index;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.xgen.testing.mongot.mock.index.SearchIndex.MOCK_INDEX_DEFINITION;
+import static com.xgen.testing.mongot.mock.index.SearchIndex.MOCK_INDEX_NAME;
+
+import com.xgen.mongot.index.query.Query;
+import com.xgen.mongot.index.query.operators.Operator;
+import com.xgen.testing.mongot.index.query.OperatorQueryBuilder;
+import com.xgen.testing.mongot.index.query.operators.OperatorBuilder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonDocument;
+import org.junit.Test;
+
+public class SlowQueryLogTest {
+
+  private static final QueryResourceUsage.Snapshot USAGE =
+      new QueryResourceUsage.Snapshot(1_000, 2_000, 30, 4, 500);
+
+  @Test
+  public void testQueriesBelowThresholdAreNotKept() {
+    SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100));
+
+    log.record(MOCK_INDEX_DEFINITION, operatorQuery(text()), millis(99), USAGE);
+
+    assertThat(log.getSlowQueries()).isEmpty();
+  }
+
+  @Test
+  public void testSlowQueryIsKeptWithShapeAndUsage() {
+    SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100));
+
+    log.record(MOCK_INDEX_DEFINITION, operatorQuery(text()), millis(100), USAGE);
+
+    assertThat(log.getSlowQueries()).hasSize(1);
+    SlowQueryLog.SlowQuery slowQuery = log.getSlowQueries().get(0);
+    assertThat(slowQuery.indexId()).isEqualTo(MOCK_INDEX_DEFINITION.getIndexId());
+    assertThat(slowQuery.indexName()).isEqualTo(MOCK_INDEX_DEFINITION.getName());
+    assertThat(slowQuery.shape()).isEqualTo("$search text");
+    assertThat(slowQuery.latencyNanos()).isEqualTo(millis(100));
+    assertThat(slowQuery.resourceUsage()).isEqualTo(USAGE);
+
+    BsonDocument document = slowQuery.toBson();
+    assertThat(document.getDouble("latencyMillis").getValue()).isEqualTo(100.0);
+    assertThat(document.getDocument("resourceUsage").getInt64("docsScanned").getValue())
+        .isEqualTo(30);
+  }
+
+  @Test
+  public void testOldestSlowQueriesAreDroppedWhenFull() {
+    SlowQueryLog log = new SlowQueryLog(Duration.ZERO, 2);
+
+    log.record(MOCK_INDEX_DEFINITION, operatorQuery(text()), millis(1), USAGE);
+    log.record(MOCK_INDEX_DEFINITION, operatorQuery(exists()), millis(2), USAGE);
+    log.record(MOCK_INDEX_DEFINITION, operatorQuery(text()), millis(3), USAGE);
+
+    assertThat(log.getSlowQueries().stream().map(SlowQueryLog.SlowQuery::latencyNanos).toList())
+        .containsExactly(millis(3), millis(2))
+        .inOrder();
+  }
+
+  private static Operator text() {
+    return OperatorBuilder.text().path("title").query("godfather").build();
+  }
+
+  private static Operator exists() {
+    return OperatorBuilder.exists().path("title").build();
+  }
+
+  private static Query operatorQuery(Operator operator) {
+    return OperatorQueryBuilder.builder()
+        .operator(operator)
+        .index(MOCK_INDEX_NAME)
+        .returnStoredSource(false)
+        .build();
+  }
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
@@ -54,6 +54,7 @@ public class StringFieldDefinitionTest {
           explicitOffsetsIndexOptions(),
           explicitStore(),
           explicitNorms(),
+          withTermVectors(),
           withMulti());
     }
 
@@ -134,6 +135,15 @@ public class StringFieldDefinitionTest {
               .build());
     }
 
+    private static BsonDeserializationTestSuite.ValidSpec<StringFieldDefinition>
+        withTermVectors() {
+      return BsonDeserializationTestSuite.TestSpec.valid(
+          "with termVectors",
+          StringFieldDefinitionBuilder.builder()
+              .termVectors(StringFieldDefinition.TermVectorOptions.WITH_POSITIONS_OFFSETS)
+              .build());
+    }
+
     private static BsonDeserializationTestSuite.ValidSpec<StringFieldDefinition> withMulti() {
       return BsonDeserializationTestSuite.TestSpec.valid(
           "with multi",
@@ -182,6 +192,7 @@ public class StringFieldDefinitionTest {
           withSearchAnalyzer(),
           withIgnoreAbove(),
           withNonDefaultIndexOption(),
+          withTermVectors(),
           withMulti());
     }
 
@@ -221,6 +232,14 @@ public class StringFieldDefinitionTest {
               .build());
     }
 
+    private static BsonSerializationTestSuite.TestSpec<StringFieldDefinition> withTermVectors() {
+      return BsonSerializationTestSuite.TestSpec.create(
+          "with termVectors",
+          StringFieldDefinitionBuilder.builder()
+              .termVectors(StringFieldDefinition.TermVectorOptions.WITH_POSITIONS_OFFSETS)
+              .build());
+    }
+
     private static BsonSerializationTestSuite.TestSpec<StringFieldDefinition> withMulti() {
       return BsonSerializationTestSuite.TestSpec.create(
           "with multi",
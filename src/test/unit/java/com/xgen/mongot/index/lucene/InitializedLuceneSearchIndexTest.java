@@ -94,6 +94,7 @@ public class InitializedLuceneSearchIndexTest {
             new InstrumentedConcurrentMergeScheduler(meterRegistry),
             new TieredMergePolicy(),
             new QueryCacheProvider.DefaultQueryCacheProvider(),
+            new HighlightAnalysisCache(),
             Executors.namedExecutor(
                 "refresh", TestingExecutors.noOpScheduledExecutor(), meterRegistry),
             Optional.of(
@@ -230,6 +231,7 @@ public class InitializedLuceneSearchIndexTest {
             new InstrumentedConcurrentMergeScheduler(meterRegistry),
             new TieredMergePolicy(),
             new QueryCacheProvider.DefaultQueryCacheProvider(),
+            new HighlightAnalysisCache(),
             Executors.namedExecutor(
                 "refresh", TestingExecutors.noOpScheduledExecutor(), meterRegistry),
             Optional.of(
@@ -295,6 +297,7 @@ public class InitializedLuceneSearchIndexTest {
                 new InstrumentedConcurrentMergeScheduler(meterRegistry),
                 new TieredMergePolicy(),
                 new QueryCacheProvider.DefaultQueryCacheProvider(),
+                new HighlightAnalysisCache(),
                 Executors.namedExecutor(
                     "refresh", TestingExecutors.noOpScheduledExecutor(), meterRegistry),
                 Optional.of(
@@ -359,6 +362,7 @@ public class InitializedLuceneSearchIndexTest {
                 new InstrumentedConcurrentMergeScheduler(meterRegistry),
                 new TieredMergePolicy(),
                 new QueryCacheProvider.DefaultQueryCacheProvider(),
+                new HighlightAnalysisCache(),
                 Executors.namedExecutor(
                     "refresh", TestingExecutors.noOpScheduledExecutor(), meterRegistry),
                 Optional.of(
@@ -419,6 +423,7 @@ public class InitializedLuceneSearchIndexTest {
                 new InstrumentedConcurrentMergeScheduler(meterRegistry),
                 new TieredMergePolicy(),
                 new QueryCacheProvider.DefaultQueryCacheProvider(),
+                new HighlightAnalysisCache(),
                 Executors.namedExecutor(
                     "refresh", TestingExecutors.noOpScheduledExecutor(), meterRegistry),
                 Optional.of(
@@ -488,6 +493,7 @@ public class InitializedLuceneSearchIndexTest {
                 new InstrumentedConcurrentMergeScheduler(meterRegistry),
                 new TieredMergePolicy(),
                 new QueryCacheProvider.DefaultQueryCacheProvider(),
+                new HighlightAnalysisCache(),
                 Executors.namedExecutor(
                     "refresh", TestingExecutors.noOpScheduledExecutor(), meterRegistry),
                 Optional.of(
@@ -545,6 +551,7 @@ public class InitializedLuceneSearchIndexTest {
             new InstrumentedConcurrentMergeScheduler(meterRegistry),
             new TieredMergePolicy(),
             new QueryCacheProvider.DefaultQueryCacheProvider(),
+            new HighlightAnalysisCache(),
             Mockito.mock(NamedScheduledExecutorService.class),
             Optional.of(Mockito.mock(NamedExecutorService.class)),
             Optional.of(Mockito.mock(NamedExecutorService.class)),
@@ -628,6 +635,7 @@ public class InitializedLuceneSearchIndexTest {
                 new InstrumentedConcurrentMergeScheduler(meterRegistry),
                 new TieredMergePolicy(),
                 new QueryCacheProvider.DefaultQueryCacheProvider(),
+                new HighlightAnalysisCache(),
                 Executors.namedExecutor(
                     "refresh", TestingExecutors.noOpScheduledExecutor(), meterRegistry),
                 Optional.of(
@@ -722,6 +730,7 @@ public class InitializedLuceneSearchIndexTest {
         new InstrumentedConcurrentMergeScheduler(meterRegistry),
         new TieredMergePolicy(),
         new QueryCacheProvider.DefaultQueryCacheProvider(),
+        new HighlightAnalysisCache(),
         Mockito.mock(NamedScheduledExecutorService.class),
         Optional.of(Mockito.mock(NamedExecutorService.class)),
         Optional.of(Mockito.mock(NamedExecutorService.class)),
@@ -761,6 +770,7 @@ public class InitializedLuceneSearchIndexTest {
         mock(InstrumentedConcurrentMergeScheduler.class),
         mock(MergePolicy.class),
         mock(QueryCacheProvider.class),
+        new HighlightAnalysisCache(),
         10.0,
         Optional.empty(),
         Optional.empty(),
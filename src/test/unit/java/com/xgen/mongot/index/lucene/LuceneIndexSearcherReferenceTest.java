@@ -0,0 +1,82 @@
+package com.xgen.mongot.index.lucene;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.xgen.mongot.featureflag.FeatureFlags;
+import com.xgen.mongot.index.QueryResourceUsage;
+import com.xgen.mongot.index.definition.IndexDefinition;
+import com.xgen.mongot.index.lucene.searcher.LuceneSearcherFactory;
+import com.xgen.mongot.index.lucene.searcher.LuceneSearcherManager;
+import com.xgen.mongot.index.lucene.searcher.QueryCacheProvider.DefaultQueryCacheProvider;
+import com.xgen.testing.mongot.mock.index.SearchIndex;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.Test;
+
+public class LuceneIndexSearcherReferenceTest {
+
+  private static final int NUM_SEGMENTS = 12;
+  private static final int DOCS_PER_SEGMENT = 10;
+
+  /**
+   * Slices searched on the concurrent search executor account their documents to the query, along
+   * with the slices searched on the command thread.
+   */
+  @Test
+  public void testConcurrentSearchAccountsResourceUsageToQuery() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (var directory = new ByteBuffersDirectory();
+        var writer =
+            new IndexWriter(
+                directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+      // Lucene puts at most 5 segments into a slice, so the search is split into several slices.
+      for (int segment = 0; segment < NUM_SEGMENTS; segment++) {
+        for (int i = 0; i < DOCS_PER_SEGMENT; i++) {
+          Document document = new Document();
+          document.add(new StringField("_id", segment + "-" + i, StringField.Store.NO));
+          writer.addDocument(document);
+        }
+        writer.flush();
+      }
+      var manager =
+          LuceneSearcherManager.create(
+              writer,
+              new LuceneSearcherFactory(
+                  SearchIndex.MOCK_INDEX_DEFINITION,
+                  false,
+                  new DefaultQueryCacheProvider(),
+                  Optional.empty(),
+                  SearchIndex.mockQueryMetricsUpdater(IndexDefinition.Type.SEARCH)),
+              SearchIndex.mockMetricsFactory());
+
+      QueryResourceUsage usage = new QueryResourceUsage();
+      try (var unused = usage.track();
+          var searcherReference =
+              LuceneIndexSearcherReference.create(
+                  manager,
+                  executor,
+                  SearchIndex.mockQueryMetricsUpdater(IndexDefinition.Type.SEARCH),
+                  FeatureFlags.getDefault())) {
+        var topDocs =
+            searcherReference.getIndexSearcher().search(new MatchAllDocsQuery(), 1_000);
+        assertThat(topDocs.scoreDocs).hasLength(NUM_SEGMENTS * DOCS_PER_SEGMENT);
+      }
+
+      QueryResourceUsage.Snapshot snapshot = usage.snapshot();
+      assertThat(snapshot.docsScanned()).isEqualTo(NUM_SEGMENTS * DOCS_PER_SEGMENT);
+      assertThat(snapshot.cpuNanos()).isAtLeast(0);
+    } finally {
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+  }
+}
@@ -12,6 +12,7 @@ import com.xgen.mongot.index.lucene.query.sort.LuceneSortFactory;
 import com.xgen.mongot.index.lucene.searcher.LuceneSearcherFactory;
 import com.xgen.mongot.index.lucene.searcher.LuceneSearcherManager;
 import com.xgen.mongot.index.lucene.searcher.QueryCacheProvider;
+import com.xgen.mongot.index.query.counts.Count;
 import com.xgen.mongot.index.query.sort.MongotSortField;
 import com.xgen.mongot.index.query.sort.SequenceToken;
 import com.xgen.mongot.index.query.sort.SortSpec;
@@ -33,10 +34,13 @@ import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
 import org.apache.lucene.store.ByteBuffersDirectory;
 import org.apache.lucene.store.Directory;
 import org.bson.BsonString;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -268,4 +272,43 @@ public class LuceneOperatorSearchManagerTest {
     TestUtils.assertHasDocIds(nextPageDocs, 2, 3);
     TestUtils.assertHasValidScores(nextPageDocs);
   }
+
+  @Test
+  public void testTotalCountWithoutCollectingEveryHit() throws Exception {
+    FieldPath fieldPath = FieldPath.newRoot("field");
+    String luceneFieldName = TypeField.TOKEN.getLuceneFieldName(fieldPath, Optional.empty());
+    SortSpec sortSpec =
+        SortSpecBuilder.builder()
+            .sortField(new MongotSortField(fieldPath, UserFieldSortOptions.DEFAULT_ASC))
+            .buildSort();
+
+    for (String value : new String[] {"D", "C", "B", "A"}) {
+      this.indexWriter.addDocument(createSimpleDoc(luceneFieldName, value));
+    }
+    this.indexWriter.commit();
+    var searcherReference = getSearcherReference();
+
+    var sort =
+        new LuceneSortFactory(this.queryFactoryContext)
+            .createLuceneSort(
+                sortSpec,
+                Optional.empty(),
+                searcherReference.getIndexSearcher().getFieldToSortableTypesMapping(),
+                Optional.empty(),
+                Optional.empty());
+    // A threshold below the number of hits, which a total count must not be limited by.
+    LuceneOperatorSearchManager manager =
+        new LuceneOperatorSearchManager(
+            new MatchAllDocsQuery(),
+            CountBuilder.builder().type(Count.Type.TOTAL).threshold(1).build(),
+            Optional.of(sort),
+            Optional.empty());
+
+    var info = manager.initialSearch(searcherReference, 2);
+    Assert.assertEquals(new TotalHits(4, TotalHits.Relation.EQUAL_TO), info.topDocs.totalHits);
+    Assert.assertTrue(info.topDocs instanceof TopFieldDocs);
+    TestUtils.assertHasDocIds(info.topDocs.scoreDocs, 3, 2);
+    TestUtils.assertHasValidScores(info.topDocs.scoreDocs);
+    Assert.assertFalse(info.luceneExhausted);
+  }
 }
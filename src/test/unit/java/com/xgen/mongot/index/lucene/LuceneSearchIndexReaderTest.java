@@ -6,8 +6,6 @@ import static com.xgen.testing.mongot.mock.index.SearchIndex.MOCK_INDEX_NAME;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -167,6 +165,7 @@ public class LuceneSearchIndexReaderTest {
             new InstrumentedConcurrentMergeScheduler(meterRegistry),
             new TieredMergePolicy(),
             new QueryCacheProvider.DefaultQueryCacheProvider(),
+            new HighlightAnalysisCache(),
             mock(NamedScheduledExecutorService.class),
             Optional.of(this.concurrentSearchExecutor),
             Optional.of(this.concurrentRescoringExecutor),
@@ -266,13 +265,11 @@ public class LuceneSearchIndexReaderTest {
     DynamicFeatureFlagRegistry registry = mock(DynamicFeatureFlagRegistry.class);
 
     // Everything else: return default
-    Mockito.when(registry.evaluateClusterInvariant(any(), anyBoolean()))
-        .thenAnswer(invocation -> invocation.getArgument(1));
+    Mockito.when(registry.evaluateClusterInvariant(any(DynamicFeatureFlags.class)))
+        .thenAnswer(invocation -> invocation.<DynamicFeatureFlags>getArgument(0).getFallback());
 
     // Always enable drill-sideways, regardless of default
-    Mockito.when(registry.evaluateClusterInvariant(
-            eq(DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING.getName()),
-            anyBoolean()))
+    Mockito.when(registry.evaluateClusterInvariant(DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING))
         .thenReturn(true);
 
     return registry;
@@ -643,6 +640,7 @@ public class LuceneSearchIndexReaderTest {
             false,
             Optional.empty(),
             Optional.empty(),
+            Optional.empty(),
             Optional.empty());
 
     readerSpy.collectorQuery(
@@ -64,6 +64,7 @@ public class LuceneSearchIndexTest {
             new InstrumentedConcurrentMergeScheduler(meterRegistry),
             new TieredMergePolicy(),
             new QueryCacheProvider.DefaultQueryCacheProvider(),
+            new HighlightAnalysisCache(),
             Executors.namedExecutor(
                 "refresh", TestingExecutors.noOpScheduledExecutor(), meterRegistry),
             Optional.of(
@@ -105,6 +106,7 @@ public class LuceneSearchIndexTest {
             new InstrumentedConcurrentMergeScheduler(meterRegistry),
             new TieredMergePolicy(),
             new QueryCacheProvider.DefaultQueryCacheProvider(),
+            new HighlightAnalysisCache(),
             Mockito.mock(NamedScheduledExecutorService.class),
             Optional.of(Mockito.mock(NamedExecutorService.class)),
             Optional.of(Mockito.mock(NamedExecutorService.class)),
@@ -201,6 +203,7 @@ public class LuceneSearchIndexTest {
             new InstrumentedConcurrentMergeScheduler(meterRegistry),
             new TieredMergePolicy(),
             new QueryCacheProvider.DefaultQueryCacheProvider(),
+            new HighlightAnalysisCache(),
             Mockito.mock(NamedScheduledExecutorService.class),
             Optional.of(Mockito.mock(NamedExecutorService.class)),
             Optional.of(Mockito.mock(NamedExecutorService.class)),
@@ -21,8 +21,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
@@ -36,6 +42,7 @@ import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.util.BytesRef;
@@ -54,7 +61,8 @@ import org.mockito.junit.MockitoJUnitRunner;
       LuceneUnifiedHighlighterTest.TestMongotHighlightTransposition.class,
       LuceneUnifiedHighlighterTest.TestQueryValidation.class,
       LuceneUnifiedHighlighterTest.TestUnitLogic.class,
-      LuceneUnifiedHighlighterTest.TestComputeStoredFieldsAndRemap.class
+      LuceneUnifiedHighlighterTest.TestComputeStoredFieldsAndRemap.class,
+      LuceneUnifiedHighlighterTest.TestAnalysisCache.class
     })
 public class LuceneUnifiedHighlighterTest {
 
@@ -201,8 +209,8 @@ public class LuceneUnifiedHighlighterTest {
           new IndexSearcher(reader),
           new StandardAnalyzer(),
           highlight,
-
           query,
+          new HighlightAnalysisCache(),
           explainer);
     }
 
@@ -414,4 +422,117 @@ public class LuceneUnifiedHighlighterTest {
       Assert.assertArrayEquals(new int[] { 1, 0 }, remapOut);
     }
   }
+
+  public static class TestAnalysisCache {
+    private static final String FIELD = "$type:string/title";
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private Directory directory;
+    private IndexReader reader;
+
+    /** Set up an index whose title is stored, but indexed without offsets. */
+    @Before
+    public void setUp() throws IOException {
+      TemporaryFolder temporaryFolder = TestUtils.getTempFolder();
+      this.directory = new MMapDirectory(temporaryFolder.getRoot().toPath());
+      try (IndexWriter writer = new IndexWriter(this.directory, new IndexWriterConfig())) {
+        FieldType docsOnly = new FieldType(TextField.TYPE_STORED);
+        docsOnly.setIndexOptions(IndexOptions.DOCS);
+        Document document = new Document();
+        document.add(new Field(FIELD, "the quick brown fox", docsOnly));
+        writer.addDocument(document);
+      }
+      this.reader = DirectoryReader.open(this.directory);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+      this.reader.close();
+      this.directory.close();
+    }
+
+    @Test
+    public void testReusesAnalysisAcrossQueries() throws IOException {
+      HighlightAnalysisCache cache = new HighlightAnalysisCache();
+      Highlight highlight = HighlightBuilder.builder().path("title").storedPath("title").build();
+
+      List<SearchHighlightText> termHits =
+          highlightHits(cache, highlight, new TermQuery(new Term(FIELD, "quick")));
+      Truth.assertThat(termHits)
+          .containsExactly(new SearchHighlightText("quick", SearchHighlightText.Type.HIT));
+      Truth.assertThat(cache.size()).isEqualTo(1L);
+
+      List<SearchHighlightText> wildcardHits =
+          highlightHits(cache, highlight, new WildcardQuery(new Term(FIELD, "b*")));
+      Truth.assertThat(wildcardHits)
+          .containsExactly(new SearchHighlightText("brown", SearchHighlightText.Type.HIT));
+      Truth.assertThat(cache.size()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testKeysAnalysesByExaminedChars() throws IOException {
+      HighlightAnalysisCache cache = new HighlightAnalysisCache();
+      Query query = new TermQuery(new Term(FIELD, "quick"));
+
+      highlightHits(
+          cache, HighlightBuilder.builder().path("title").storedPath("title").build(), query);
+      List<SearchHighlightText> truncatedHits =
+          highlightHits(
+              cache,
+              HighlightBuilder.builder()
+                  .path("title")
+                  .storedPath("title")
+                  .maxCharsToExamine(3)
+                  .build(),
+              query);
+
+      Truth.assertThat(truncatedHits).isEmpty();
+      Truth.assertThat(cache.size()).isEqualTo(2L);
+    }
+
+    @Test
+    public void testKeysAnalysesByAnalyzer() throws IOException {
+      HighlightAnalysisCache cache = new HighlightAnalysisCache();
+      Highlight highlight = HighlightBuilder.builder().path("title").storedPath("title").build();
+      Query query = new TermQuery(new Term(FIELD, "quick"));
+
+      highlightHits(cache, this.analyzer, highlight, query);
+      highlightHits(cache, new StandardAnalyzer(), highlight, query);
+
+      Truth.assertThat(cache.size()).isEqualTo(2L);
+    }
+
+    @Test
+    public void testDoesNotCacheAnalysesOverMaxBytes() throws IOException {
+      HighlightAnalysisCache cache = new HighlightAnalysisCache(1);
+      Highlight highlight = HighlightBuilder.builder().path("title").storedPath("title").build();
+
+      List<SearchHighlightText> hits =
+          highlightHits(cache, highlight, new TermQuery(new Term(FIELD, "quick")));
+
+      Truth.assertThat(hits)
+          .containsExactly(new SearchHighlightText("quick", SearchHighlightText.Type.HIT));
+      Truth.assertThat(cache.size()).isEqualTo(0L);
+    }
+
+    private List<SearchHighlightText> highlightHits(
+        HighlightAnalysisCache cache, Highlight highlight, Query query) throws IOException {
+      return highlightHits(cache, this.analyzer, highlight, query);
+    }
+
+    private List<SearchHighlightText> highlightHits(
+        HighlightAnalysisCache cache, Analyzer analyzer, Highlight highlight, Query query)
+        throws IOException {
+      IndexSearcher searcher = new IndexSearcher(this.reader);
+      TopDocs topDocs = searcher.search(new MatchAllDocsQuery(), 1);
+      List<List<SearchHighlight>> highlights =
+          LuceneUnifiedHighlighter.create(
+                  searcher, analyzer, highlight, query, cache, Optional.empty())
+              .highlightsAsSearchHighlightsArray(topDocs);
+      return highlights.get(0).stream()
+          .flatMap(searchHighlight -> searchHighlight.texts().stream())
+          .filter(text -> text.type() == SearchHighlightText.Type.HIT)
+          .toList();
+    }
+  }
 }
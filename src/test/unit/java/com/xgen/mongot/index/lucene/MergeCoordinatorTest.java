@@ -0,0 +1,225 @@
+package com.xgen.mongot.index.lucene;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Ticker;
+import com.xgen.mongot.index.lucene.merge.MergeCoordinator;
+import com.xgen.mongot.index.lucene.merge.ThrottledDirectory;
+import com.xgen.mongot.index.version.Generation;
+import com.xgen.mongot.index.version.GenerationId;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.index.SegmentInfo;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.tests.util.TestUtil;
+import org.apache.lucene.util.StringHelper;
+import org.apache.lucene.util.Version;
+import org.bson.types.ObjectId;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MergeCoordinatorTest {
+
+  /** A ticker that never advances, so that adjustments only happen when the test asks for them. */
+  private static final Ticker FROZEN_TICKER =
+      new Ticker() {
+        @Override
+        public long read() {
+          return 0;
+        }
+      };
+
+  private static final long FAST_QUERY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long SLOW_QUERY_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  @Test
+  public void testBenefitCountsRemovedSegmentsAndReclaimedDeletes() {
+    assertEquals(3, MergeCoordinator.benefit(cleanMerge(4)), 0.0);
+    assertEquals(0.5, MergeCoordinator.benefit(merge(segment(100, 50))), 0.0);
+    assertEquals(1.5, MergeCoordinator.benefit(merge(segment(100, 50), segment(100, 25))), 0.0);
+  }
+
+  @Test
+  public void testOnlyHighestBenefitMergesRun() {
+    MergeCoordinator coordinator = new MergeCoordinator(() -> 1, FROZEN_TICKER);
+    GenerationId generationId = generationId();
+    MergePolicy.OneMerge small = cleanMerge(2);
+    MergePolicy.OneMerge large = cleanMerge(5);
+
+    var smallMerge = coordinator.register(generationId, small);
+    assertFalse(smallMerge.isPaused());
+
+    var largeMerge = coordinator.register(generationId, large);
+    assertTrue(smallMerge.isPaused());
+    assertFalse(largeMerge.isPaused());
+
+    coordinator.unregister(large);
+    assertFalse(smallMerge.isPaused());
+  }
+
+  @Test
+  public void testMergesOfQueriedIndexesRunFirst() {
+    MergeCoordinator coordinator = new MergeCoordinator(() -> 1, FROZEN_TICKER);
+    GenerationId idle = generationId();
+    GenerationId queried = generationId();
+
+    var idleMerge = coordinator.register(idle, cleanMerge(2));
+    var queriedMerge = coordinator.register(queried, cleanMerge(2));
+    // Ties go to the merge that started first.
+    assertFalse(idleMerge.isPaused());
+    assertTrue(queriedMerge.isPaused());
+
+    IntStream.range(0, 10).forEach(i -> coordinator.recordQuery(queried, FAST_QUERY_NANOS));
+    coordinator.adjust();
+
+    assertTrue(idleMerge.isPaused());
+    assertFalse(queriedMerge.isPaused());
+  }
+
+  @Test
+  public void testMergesAreThrottledWhileQueryLatencyIsHigh() {
+    MergeCoordinator coordinator = new MergeCoordinator(() -> 2, FROZEN_TICKER);
+    GenerationId generationId = generationId();
+    recordQueriesAndAdjust(coordinator, generationId, FAST_QUERY_NANOS);
+    assertTrue(Double.isInfinite(coordinator.getMbPerSec()));
+
+    var merge = coordinator.register(generationId, cleanMerge(2));
+    assertFalse(merge.isThrottled());
+
+    recordQueriesAndAdjust(coordinator, generationId, SLOW_QUERY_NANOS);
+    assertEquals(MergeCoordinator.MAX_THROTTLED_MB_PER_SEC, coordinator.getMbPerSec(), 0.0);
+    assertTrue(merge.isThrottled());
+
+    recordQueriesAndAdjust(coordinator, generationId, SLOW_QUERY_NANOS);
+    assertEquals(MergeCoordinator.MAX_THROTTLED_MB_PER_SEC / 2, coordinator.getMbPerSec(), 0.0);
+
+    recordQueriesAndAdjust(coordinator, generationId, FAST_QUERY_NANOS);
+    assertEquals(MergeCoordinator.MAX_THROTTLED_MB_PER_SEC, coordinator.getMbPerSec(), 0.0);
+
+    recordQueriesAndAdjust(coordinator, generationId, FAST_QUERY_NANOS);
+    assertTrue(Double.isInfinite(coordinator.getMbPerSec()));
+    assertFalse(merge.isThrottled());
+  }
+
+  @Test
+  public void testQueryLatencyDoesNotThrottleWithoutMerges() {
+    MergeCoordinator coordinator = new MergeCoordinator(() -> 2, FROZEN_TICKER);
+    GenerationId generationId = generationId();
+    recordQueriesAndAdjust(coordinator, generationId, FAST_QUERY_NANOS);
+
+    recordQueriesAndAdjust(coordinator, generationId, SLOW_QUERY_NANOS);
+
+    assertTrue(Double.isInfinite(coordinator.getMbPerSec()));
+  }
+
+  @Test
+  public void testThrottledDirectoryBlocksPausedMerge() throws Exception {
+    MergeCoordinator coordinator = new MergeCoordinator(() -> 1, FROZEN_TICKER);
+    GenerationId generationId = generationId();
+    MergePolicy.OneMerge large = cleanMerge(5);
+    coordinator.register(generationId, large);
+    var pausedMerge = coordinator.register(generationId, cleanMerge(2));
+    assertTrue(pausedMerge.isPaused());
+
+    ByteBuffersDirectory baseDir = new ByteBuffersDirectory();
+    ThrottledDirectory directory = new ThrottledDirectory(baseDir, coordinator, pausedMerge);
+    CompletableFuture<Void> write =
+        CompletableFuture.runAsync(
+            () -> {
+              try (IndexOutput output = directory.createOutput("test.dat", IOContext.DEFAULT)) {
+                byte[] bytes = new byte[(int) ThrottledDirectory.CHECK_INTERVAL_BYTES];
+                output.writeBytes(bytes, 0, bytes.length);
+              } catch (Exception e) {
+                throw new RuntimeException(e);
+              }
+            });
+
+    Assert.assertThrows(TimeoutException.class, () -> write.get(200, TimeUnit.MILLISECONDS));
+
+    coordinator.unregister(large);
+    write.get(5, TimeUnit.SECONDS);
+    assertEquals(ThrottledDirectory.CHECK_INTERVAL_BYTES, baseDir.fileLength("test.dat"));
+  }
+
+  @Test
+  public void testAbortingPausedMergeFailsItsWrites() throws Exception {
+    MergeCoordinator coordinator = new MergeCoordinator(() -> 1, FROZEN_TICKER);
+    GenerationId generationId = generationId();
+    coordinator.register(generationId, cleanMerge(5));
+    MergePolicy.OneMerge small = cleanMerge(2);
+    var pausedMerge = coordinator.register(generationId, small);
+    assertTrue(pausedMerge.isPaused());
+
+    ThrottledDirectory directory =
+        new ThrottledDirectory(new ByteBuffersDirectory(), coordinator, pausedMerge);
+    CompletableFuture<Void> write =
+        CompletableFuture.runAsync(
+            () -> {
+              try (IndexOutput output = directory.createOutput("test.dat", IOContext.DEFAULT)) {
+                byte[] bytes = new byte[(int) ThrottledDirectory.CHECK_INTERVAL_BYTES];
+                output.writeBytes(bytes, 0, bytes.length);
+              } catch (Exception e) {
+                throw new CompletionException(e);
+              }
+            });
+    Assert.assertThrows(TimeoutException.class, () -> write.get(200, TimeUnit.MILLISECONDS));
+
+    // The merge is still paused behind the larger merge, but notices the abort when it wakes up.
+    small.setAborted();
+    ExecutionException exception =
+        Assert.assertThrows(
+            ExecutionException.class,
+            () -> write.get(MergeCoordinator.ADJUST_INTERVAL_NANOS * 5, TimeUnit.NANOSECONDS));
+    assertTrue(exception.getCause() instanceof MergePolicy.MergeAbortedException);
+  }
+
+  private static void recordQueriesAndAdjust(
+      MergeCoordinator coordinator, GenerationId generationId, long latencyNanos) {
+    IntStream.range(0, 100).forEach(i -> coordinator.recordQuery(generationId, latencyNanos));
+    coordinator.adjust();
+  }
+
+  private static GenerationId generationId() {
+    return new GenerationId(new ObjectId(), Generation.CURRENT);
+  }
+
+  private static MergePolicy.OneMerge merge(SegmentCommitInfo... segments) {
+    return new MergePolicy.OneMerge(List.of(segments));
+  }
+
+  private static MergePolicy.OneMerge cleanMerge(int numSegments) {
+    return new MergePolicy.OneMerge(
+        IntStream.range(0, numSegments).mapToObj(i -> segment(100, 0)).toList());
+  }
+
+  private static SegmentCommitInfo segment(int maxDoc, int numDeletedDocs) {
+    SegmentInfo info =
+        new SegmentInfo(
+            new ByteBuffersDirectory(),
+            Version.LATEST,
+            Version.LATEST,
+            "_" + new ObjectId(),
+            maxDoc,
+            false,
+            false,
+            TestUtil.getDefaultCodec(),
+            Collections.emptyMap(),
+            StringHelper.randomId(),
+            Collections.singletonMap(IndexWriter.SOURCE, IndexWriter.SOURCE_MERGE),
+            null);
+    return new SegmentCommitInfo(info, numDeletedDocs, 0, 0, 0, 0, StringHelper.randomId());
+  }
+}
@@ -0,0 +1,113 @@
+package com.xgen.mongot.index.lucene;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.xgen.mongot.index.FacetBucket;
+import com.xgen.mongot.index.IntermediateFacetBucket;
+import java.util.List;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.junit.Test;
+
+public class MergedFacetCountsTest {
+
+  @Test
+  public void testMergeStringFacetSumsCountsAcrossPartitions() {
+    MergedFacetCounts merged =
+        MergedFacetCounts.mergeStringFacet(
+            List.of(
+                List.of(stringBucket("a", 1), stringBucket("c", 3)),
+                List.of(stringBucket("b", 2), stringBucket("c", 4)),
+                List.of()));
+
+    assertThat(merged.allBuckets())
+        .containsExactly(
+            new FacetBucket(new BsonString("a"), 1),
+            new FacetBucket(new BsonString("b"), 2),
+            new FacetBucket(new BsonString("c"), 7))
+        .inOrder();
+  }
+
+  @Test
+  public void testMergeStringFacetSortsPartitionsNotInLabelOrder() {
+    MergedFacetCounts merged =
+        MergedFacetCounts.mergeStringFacet(
+            List.of(
+                List.of(stringBucket("c", 3), stringBucket("a", 1)),
+                List.of(stringBucket("a", 1))));
+
+    assertThat(merged.allBuckets())
+        .containsExactly(
+            new FacetBucket(new BsonString("a"), 2), new FacetBucket(new BsonString("c"), 3))
+        .inOrder();
+  }
+
+  @Test
+  public void testLabelOrderComparesUtf16CodeUnits() {
+    // U+FF5E sorts before the supplementary U+1F600 in UTF-8, but after its surrogates in UTF-16.
+    String halfwidth = "\uFF5E";
+    String emoji = new String(Character.toChars(0x1F600));
+
+    assertThat(MergedFacetCounts.LABEL_ORDER.compare(emoji, halfwidth)).isLessThan(0);
+    assertThat(MergedFacetCounts.LABEL_ORDER.compare("ab", "abc")).isLessThan(0);
+    assertThat(MergedFacetCounts.LABEL_ORDER.compare("abc", "abc")).isEqualTo(0);
+  }
+
+  @Test
+  public void testMergeStringFacetReturnsUtf16OrderForPartitionsInUtf8Order() {
+    String halfwidth = "\uFF5E";
+    String emoji = new String(Character.toChars(0x1F600));
+    MergedFacetCounts merged =
+        MergedFacetCounts.mergeStringFacet(
+            List.of(
+                List.of(stringBucket(halfwidth, 1), stringBucket(emoji, 2)),
+                List.of(stringBucket(emoji, 3))));
+
+    assertThat(merged.allBuckets())
+        .containsExactly(
+            new FacetBucket(new BsonString(emoji), 5),
+            new FacetBucket(new BsonString(halfwidth), 1))
+        .inOrder();
+  }
+
+  @Test
+  public void testTopStringBucketsBreaksTiesByLabel() {
+    MergedFacetCounts merged =
+        MergedFacetCounts.mergeStringFacet(
+            List.of(
+                List.of(stringBucket("a", 1), stringBucket("b", 5), stringBucket("d", 5)),
+                List.of(stringBucket("c", 5), stringBucket("e", 9))));
+
+    assertThat(merged.topStringBuckets(3))
+        .containsExactly(
+            new FacetBucket(new BsonString("e"), 9),
+            new FacetBucket(new BsonString("b"), 5),
+            new FacetBucket(new BsonString("c"), 5))
+        .inOrder();
+    assertThat(merged.topStringBuckets(10)).hasSize(5);
+    assertThat(merged.topStringBuckets(0)).isEmpty();
+  }
+
+  @Test
+  public void testMergeBoundaryFacetKeepsFirstSeenOrder() {
+    MergedFacetCounts merged =
+        MergedFacetCounts.mergeBoundaryFacet(
+            List.of(
+                List.of(bucket(new BsonInt64(10), 1), bucket(new BsonInt64(0), 2)),
+                List.of(bucket(new BsonInt64(0), 3), bucket(new BsonInt64(10), 4))));
+
+    assertThat(merged.allBuckets())
+        .containsExactly(
+            new FacetBucket(new BsonInt64(10), 5), new FacetBucket(new BsonInt64(0), 5))
+        .inOrder();
+  }
+
+  private static IntermediateFacetBucket stringBucket(String label, long count) {
+    return bucket(new BsonString(label), count);
+  }
+
+  private static IntermediateFacetBucket bucket(BsonValue value, long count) {
+    return new IntermediateFacetBucket(IntermediateFacetBucket.Type.FACET, "tag", value, count);
+  }
+}
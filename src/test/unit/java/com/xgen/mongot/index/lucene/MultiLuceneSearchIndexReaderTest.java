@@ -7,8 +7,6 @@ import static com.xgen.testing.mongot.mock.index.SearchIndex.NUM_PARTITIONS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -207,18 +205,15 @@ public class MultiLuceneSearchIndexReaderTest {
     DynamicFeatureFlagRegistry registry = mock(DynamicFeatureFlagRegistry.class);
 
     // Everything else: return default
-    Mockito.when(registry.evaluateClusterInvariant(any(), anyBoolean()))
-        .thenAnswer(invocation -> invocation.getArgument(1));
+    Mockito.when(registry.evaluateClusterInvariant(any(DynamicFeatureFlags.class)))
+        .thenAnswer(invocation -> invocation.<DynamicFeatureFlags>getArgument(0).getFallback());
 
     // Always enable drill-sideways, regardless of default
-    Mockito.when(
-            registry.evaluateClusterInvariant(
-                eq(DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING.getName()), anyBoolean()))
+    Mockito.when(registry.evaluateClusterInvariant(DynamicFeatureFlags.DRILL_SIDEWAYS_FACETING))
         .thenReturn(true);
     Mockito.when(
             registry.evaluateClusterInvariant(
-                eq(DynamicFeatureFlags.COLLECT_MULTI_PARTITION_EMPTY_SEARCH_PRODUCER.getName()),
-                anyBoolean()))
+                DynamicFeatureFlags.COLLECT_MULTI_PARTITION_EMPTY_SEARCH_PRODUCER))
         .thenReturn(true);
 
     return registry;
@@ -254,6 +249,7 @@ public class MultiLuceneSearchIndexReaderTest {
             mergeScheduler,
             new TieredMergePolicy(),
             new QueryCacheProvider.DefaultQueryCacheProvider(),
+            new HighlightAnalysisCache(),
             mock(NamedScheduledExecutorService.class),
             Optional.of(concurrentSearchExecutor),
             Optional.of(concurrentRescoringExecutor),
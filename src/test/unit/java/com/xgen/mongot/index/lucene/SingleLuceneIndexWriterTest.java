@@ -383,6 +383,35 @@ public class SingleLuceneIndexWriterTest {
     }
   }
 
+  @Test
+  public void testGuaranteedNewInsertIsDeduplicatedByLaterEvents() throws Exception {
+    // Create a temporary directory we can make an index in.
+    TemporaryFolder temporaryFolder = TestUtils.getTempFolder();
+
+    try (Directory directory = new MMapDirectory(temporaryFolder.getRoot().toPath())) {
+      AnalyzerRegistry analyzerRegistry = AnalyzerRegistryBuilder.empty();
+      SingleLuceneIndexWriter writer = getWriter(directory, analyzerRegistry);
+
+      ObjectId indexId = new ObjectId();
+      RawBsonDocument document =
+          BsonUtils.documentToRaw(
+              new BsonDocument(indexId.toString(), new BsonDocument("_id", new BsonInt32(1))));
+      DocumentMetadata metadata =
+          DocumentMetadata.fromMetadataNamespace(Optional.of(document), indexId);
+
+      // A collection scan insert is appended without replacing anything.
+      writer.updateIndex(DocumentEvent.createGuaranteedNewInsert(metadata, document));
+      writer.commit(EncodedUserData.EMPTY);
+      assertEquals(1, writer.getNumDocs());
+
+      // A change stream re-insert of the same document replaces it rather than duplicating it.
+      writer.updateIndex(DocumentEvent.createInsert(metadata, document));
+      writer.commit(EncodedUserData.EMPTY);
+      assertEquals(1, writer.getNumDocs());
+      writer.close();
+    }
+  }
+
   @Test
   public void testNumDocsAfterClose() throws Exception {
     var indexWriter = getWriter();
@@ -2,14 +2,19 @@ package com.xgen.mongot.index.lucene.document;
 
 import static com.xgen.mongot.index.definition.StoredSourceDefinition.Mode.INCLUSION;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import com.xgen.mongot.index.IndexMetricsUpdater.IndexingMetricsUpdater;
+import com.xgen.mongot.index.definition.IndexDefinition;
 import com.xgen.mongot.index.definition.StoredSourceDefinition;
 import com.xgen.mongot.index.ingestion.BsonDocumentProcessor;
 import com.xgen.mongot.index.lucene.document.block.VectorEmbeddedDocumentBuilder;
 import com.xgen.mongot.index.lucene.document.builder.DocumentBlockBuilder;
+import com.xgen.mongot.index.lucene.document.context.IndexingPolicyBuilderContext;
 import com.xgen.mongot.index.lucene.field.FieldName;
 import com.xgen.mongot.index.lucene.util.LuceneDocumentIdEncoder;
 import com.xgen.mongot.index.version.IndexFormatVersion;
@@ -18,7 +23,10 @@ import com.xgen.testing.mongot.index.definition.VectorIndexDefinitionBuilder;
 import com.xgen.testing.mongot.mock.index.SearchIndex;
 import java.io.IOException;
 import java.util.List;
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
 import org.apache.lucene.document.Document;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.index.IndexableField;
 import org.bson.BsonArray;
 import org.bson.BsonDocument;
 import org.bson.BsonDouble;
@@ -295,4 +303,71 @@ public class DefaultIndexingPolicyTest {
         rootDocument.getField(storedSourceFieldName));
   }
 
+  @Test
+  public void createBuilder_reuseDocumentBuilders_reusesBuilderAndFieldsOnSameThread()
+      throws IOException {
+    DefaultIndexingPolicy.RootDocumentIndexingPolicy policy = searchPolicy();
+    IndexingPolicyBuilderContext context =
+        IndexingPolicyBuilderContext.builder().reuseDocumentBuilders(true).build();
+
+    DocumentBlockBuilder firstBuilder = policy.createBuilder(encodedId(1), context);
+    Document firstDocument = buildSingle(firstBuilder, 1);
+    List<IndexableField> firstDocValues = numericDocValuesFields(firstDocument);
+
+    DocumentBlockBuilder secondBuilder = policy.createBuilder(encodedId(2), context);
+    Document secondDocument = buildSingle(secondBuilder, 2);
+    List<IndexableField> secondDocValues = numericDocValuesFields(secondDocument);
+
+    assertSame(firstBuilder, secondBuilder);
+    assertSame(firstDocument, secondDocument);
+    assertEquals(
+        new BsonInt32(2), LuceneDocumentIdEncoder.documentIdFromLuceneDocument(secondDocument));
+    assertFalse(firstDocValues.isEmpty());
+    assertEquals(firstDocValues.size(), secondDocValues.size());
+    for (int i = 0; i < firstDocValues.size(); i++) {
+      assertSame(firstDocValues.get(i), secondDocValues.get(i));
+    }
+  }
+
+  @Test
+  public void createBuilder_withoutReuse_createsNewBuilderPerDocument() throws IOException {
+    DefaultIndexingPolicy.RootDocumentIndexingPolicy policy = searchPolicy();
+    IndexingPolicyBuilderContext context = IndexingPolicyBuilderContext.builder().build();
+
+    DocumentBlockBuilder firstBuilder = policy.createBuilder(encodedId(1), context);
+    Document firstDocument = buildSingle(firstBuilder, 1);
+    DocumentBlockBuilder secondBuilder = policy.createBuilder(encodedId(2), context);
+    Document secondDocument = buildSingle(secondBuilder, 2);
+
+    assertNotSame(firstBuilder, secondBuilder);
+    assertNotSame(firstDocument, secondDocument);
+    assertEquals(
+        new BsonInt32(1), LuceneDocumentIdEncoder.documentIdFromLuceneDocument(firstDocument));
+  }
+
+  private static DefaultIndexingPolicy.RootDocumentIndexingPolicy searchPolicy() {
+    return DefaultIndexingPolicy.RootDocumentIndexingPolicy.create(
+        new KeywordAnalyzer(),
+        SearchIndex.MOCK_INDEX_DEFINITION.createFieldDefinitionResolver(IndexFormatVersion.CURRENT),
+        new IndexingMetricsUpdater(SearchIndex.mockMetricsFactory(), IndexDefinition.Type.SEARCH));
+  }
+
+  private static byte[] encodedId(int id) {
+    return LuceneDocumentIdEncoder.encodeDocumentId(new BsonInt32(id));
+  }
+
+  private static Document buildSingle(DocumentBlockBuilder builder, int value) throws IOException {
+    BsonDocument doc =
+        new BsonDocument().append("_id", new BsonInt32(value)).append("n", new BsonInt32(value));
+    BsonDocumentProcessor.process(BsonUtils.documentToRaw(doc), builder);
+    List<Document> block = builder.buildBlock();
+    assertEquals(1, block.size());
+    return block.get(0);
+  }
+
+  private static List<IndexableField> numericDocValuesFields(Document document) {
+    return document.getFields().stream()
+        .filter(field -> field instanceof NumericDocValuesField)
+        .toList();
+  }
 }
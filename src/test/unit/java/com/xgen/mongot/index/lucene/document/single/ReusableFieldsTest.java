@@ -0,0 +1,90 @@
+package com.xgen.mongot.index.lucene.document.single;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.util.BytesRef;
+import org.junit.Test;
+
+public class ReusableFieldsTest {
+
+  @Test
+  public void testSameNameWithinDocumentReturnsDistinctFields() {
+    ReusableFields fields = ReusableFields.create();
+
+    Field first = fields.longPoint("a", 1);
+    Field second = fields.longPoint("a", 2);
+
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void testResetReusesFieldsWithNewValues() {
+    ReusableFields fields = ReusableFields.create();
+    Field point = fields.longPoint("a", 1);
+    Field docValues = fields.numericDocValuesField("a", 1);
+    Field keyword = fields.keywordField("b", "x");
+    Field sortedSet = fields.sortedSetDocValuesField("c", new BytesRef("x"));
+
+    fields.reset();
+
+    assertSame(point, fields.longPoint("a", 2));
+    assertSame(docValues, fields.numericDocValuesField("a", 2));
+    assertSame(keyword, fields.keywordField("b", "y"));
+    assertSame(sortedSet, fields.sortedSetDocValuesField("c", new BytesRef("y")));
+    assertEquals(2L, docValues.numericValue().longValue());
+    assertEquals("y", keyword.stringValue());
+    assertEquals(new BytesRef("y"), sortedSet.binaryValue());
+  }
+
+  @Test
+  public void testKindsAreReusedSeparately() {
+    ReusableFields fields = ReusableFields.create();
+    Field point = fields.longPoint("a", 1);
+
+    fields.reset();
+
+    assertNotSame(point, fields.numericDocValuesField("a", 1));
+    assertSame(point, fields.longPoint("a", 1));
+  }
+
+  @Test
+  public void testStringFieldIsNotReusedWithOtherFieldType() {
+    ReusableFields fields = ReusableFields.create();
+    Field first = fields.stringField("a", "x", StringField.TYPE_NOT_STORED);
+
+    fields.reset();
+    FieldType otherType = new FieldType(StringField.TYPE_NOT_STORED);
+    Field second = fields.stringField("a", "y", otherType);
+    fields.reset();
+
+    assertNotSame(first, second);
+    assertSame(second, fields.stringField("a", "z", otherType));
+  }
+
+  @Test
+  public void testDisabledNeverReusesFields() {
+    ReusableFields fields = ReusableFields.disabled();
+    Field first = fields.longPoint("a", 1);
+
+    fields.reset();
+
+    assertNotSame(first, fields.longPoint("a", 1));
+  }
+
+  @Test
+  public void testPooledFieldsAreBounded() {
+    ReusableFields fields = new ReusableFields(1);
+    Field pooled = fields.longPoint("a", 1);
+    Field notPooled = fields.longPoint("b", 1);
+
+    fields.reset();
+
+    assertSame(pooled, fields.longPoint("a", 2));
+    assertNotSame(notPooled, fields.longPoint("b", 2));
+  }
+}
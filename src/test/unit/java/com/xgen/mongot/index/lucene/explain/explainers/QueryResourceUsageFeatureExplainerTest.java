@@ -0,0 +1,47 @@
+package com.xgen.mongot.index.lucene.explain.explainers;
+
+import com.google.common.truth.Truth;
+import com.xgen.mongot.index.QueryResourceUsage;
+import com.xgen.mongot.index.lucene.explain.information.QueryResourceUsageStats;
+import com.xgen.mongot.index.lucene.explain.tracing.Explain;
+import java.util.Optional;
+import org.junit.Test;
+
+public class QueryResourceUsageFeatureExplainerTest {
+  @Test
+  public void testExplainsUsageOfTrackedQuery() throws Exception {
+    QueryResourceUsage usage = new QueryResourceUsage();
+    try (var unusedUsage = usage.track();
+        var unusedExplain =
+            Explain.setup(Optional.of(Explain.Verbosity.EXECUTION_STATS), Optional.empty())) {
+      Explain.getQueryInfo()
+          .orElseThrow()
+          .getFeatureExplainer(
+              QueryResourceUsageFeatureExplainer.class,
+              () -> new QueryResourceUsageFeatureExplainer(usage));
+      usage.recordDocsScanned(10);
+      usage.recordStoredDocument(100);
+
+      QueryResourceUsageStats stats = Explain.collect().get().queryResourceUsage().get();
+      Truth.assertThat(stats.docsScanned()).isEqualTo(10);
+      Truth.assertThat(stats.storedDocuments()).isEqualTo(1);
+      Truth.assertThat(stats.storedBytes()).isEqualTo(100);
+      Truth.assertThat(stats.cpuNanos()).isAtLeast(0);
+    }
+  }
+
+  @Test
+  public void testQueryPlannerDoesNotExplainUsage() throws Exception {
+    QueryResourceUsage usage = new QueryResourceUsage();
+    try (var unusedExplain =
+        Explain.setup(Optional.of(Explain.Verbosity.QUERY_PLANNER), Optional.empty())) {
+      Explain.getQueryInfo()
+          .orElseThrow()
+          .getFeatureExplainer(
+              QueryResourceUsageFeatureExplainer.class,
+              () -> new QueryResourceUsageFeatureExplainer(usage));
+
+      Truth.assertThat(Explain.collect().get().queryResourceUsage()).isEmpty();
+    }
+  }
+}
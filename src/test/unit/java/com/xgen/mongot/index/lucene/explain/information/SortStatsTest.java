@@ -37,6 +37,7 @@ public class SortStatsTest {
               .fieldInfos(
                   Map.of("foo", List.of(FieldName.TypeField.DATE, FieldName.TypeField.TOKEN)))
               .canBenefitFromIndexSort(true)
+              .remainingDocIdsAtEarlyTermination(10)
               .build();
 
       SortStats result =
@@ -48,7 +49,8 @@ public class SortStatsTest {
                   FieldName.TypeField.DATE,
                   FieldPath.parse("foo"),
                   FieldName.TypeField.TOKEN),
-              Optional.of(true));
+              Optional.of(true),
+              Optional.of(10L));
 
       Assert.assertEquals(expected, result);
     }
@@ -101,6 +103,7 @@ public class SortStatsTest {
               .fieldInfos(
                   Map.of("foo", List.of(FieldName.TypeField.DATE, FieldName.TypeField.TOKEN)))
               .canBenefitFromIndexSort(true)
+              .remainingDocIdsAtEarlyTermination(10)
               .build());
     }
   }
@@ -152,6 +155,7 @@ public class SortStatsTest {
               .fieldInfos(
                   Map.of("foo", List.of(FieldName.TypeField.DATE, FieldName.TypeField.TOKEN)))
               .canBenefitFromIndexSort(true)
+              .remainingDocIdsAtEarlyTermination(10)
               .build());
     }
   }
@@ -0,0 +1,118 @@
+package com.xgen.mongot.index.lucene.facet;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.xgen.testing.LuceneIndexRule;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentSortedSetDocValuesFacetCountsTest {
+  private static final String GROUP_FIELD = "group";
+  private static final String FACET_FIELD = "foo";
+  private static final int NUM_SEGMENTS = 4;
+  private static final int DOCS_PER_SEGMENT = 1000;
+
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    this.executor = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void tearDown() {
+    this.executor.shutdownNow();
+  }
+
+  @Test
+  public void testSparseCountsMatchSequentialCounts() throws Exception {
+    // 40 hits out of 4000 docs over 2000 values is counted sparsely.
+    assertMatchesSequentialCounts(100);
+  }
+
+  @Test
+  public void testDenseCountsMatchSequentialCounts() throws Exception {
+    // 2000 hits out of 4000 docs is counted densely.
+    assertMatchesSequentialCounts(2);
+  }
+
+  @Test
+  public void testSegmentCountsAreReusedByThread() {
+    int[] counts = ConcurrentSortedSetDocValuesFacetCounts.segmentCounts(10);
+    assertThat(counts.length).isAtLeast(10);
+    assertThat(ConcurrentSortedSetDocValuesFacetCounts.segmentCounts(5)).isSameInstanceAs(counts);
+
+    int tooLarge = ConcurrentSortedSetDocValuesFacetCounts.MAX_REUSED_SEGMENT_COUNTS + 1;
+    assertThat(ConcurrentSortedSetDocValuesFacetCounts.segmentCounts(tooLarge))
+        .isNotSameInstanceAs(ConcurrentSortedSetDocValuesFacetCounts.segmentCounts(tooLarge));
+  }
+
+  private void assertMatchesSequentialCounts(int hitEvery) throws Exception {
+    try (Directory directory = createIndex(hitEvery);
+        IndexReader reader = DirectoryReader.open(directory)) {
+      assertThat(reader.leaves()).hasSize(NUM_SEGMENTS);
+      IndexSearcher searcher = new IndexSearcher(reader);
+      FacetsCollector collector = new FacetsCollector();
+      FacetsCollector.search(searcher, new TermQuery(new Term(GROUP_FIELD, "hit")), 10, collector);
+      SortedSetDocValuesReaderState state =
+          TokenSsdvFacetState.create(reader, FACET_FIELD, Optional.empty()).get();
+
+      FacetResult expected =
+          new SortedSetDocValuesFacetCounts(state, collector).getTopChildren(10, FACET_FIELD);
+      ConcurrentSortedSetDocValuesFacetCounts concurrent =
+          new ConcurrentSortedSetDocValuesFacetCounts(state, collector, this.executor);
+
+      assertThat(concurrent.getTopChildren(10, FACET_FIELD)).isEqualTo(expected);
+      FacetResult all = concurrent.getAllChildren(FACET_FIELD);
+      assertThat(all.childCount).isEqualTo(expected.childCount);
+      assertThat(all.value).isEqualTo(expected.value);
+      for (int i = 1; i < all.labelValues.length; i++) {
+        assertThat(all.labelValues[i - 1].label).isLessThan(all.labelValues[i].label);
+      }
+    }
+  }
+
+  private static Directory createIndex(int hitEvery) throws Exception {
+    Directory directory = new ByteBuffersDirectory();
+    try (IndexWriter writer =
+        new IndexWriter(
+            directory,
+            LuceneIndexRule.getIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+      for (int segment = 0; segment < NUM_SEGMENTS; segment++) {
+        for (int i = 0; i < DOCS_PER_SEGMENT; i++) {
+          int docId = segment * DOCS_PER_SEGMENT + i;
+          Document doc = new Document();
+          doc.add(
+              new StringField(GROUP_FIELD, docId % hitEvery == 0 ? "hit" : "miss", Field.Store.NO));
+          doc.add(
+              new SortedSetDocValuesField(
+                  FACET_FIELD, new BytesRef(String.format("%05d", docId % 2000))));
+          writer.addDocument(doc);
+        }
+        writer.commit();
+      }
+    }
+    return directory;
+  }
+}
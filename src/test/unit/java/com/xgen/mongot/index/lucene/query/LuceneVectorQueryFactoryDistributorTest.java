@@ -46,6 +46,7 @@ import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.FieldExistsQuery;
 import org.apache.lucene.search.IndexOrDocValuesQuery;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.store.Directory;
@@ -216,7 +217,7 @@ public class LuceneVectorQueryFactoryDistributorTest {
           factory.createExplainQuery(
               new MaterializedVectorSearchQuery(
                   mongotQuery, mongotQuery.criteria().queryVector().get()),
-              reader);
+              new IndexSearcher(reader));
       Assert.assertEquals("VectorQuery should be wrapped", expected, result);
       Assert.assertEquals("Queries should be equal", expected, result);
     }
@@ -357,7 +358,7 @@ public class LuceneVectorQueryFactoryDistributorTest {
           factory.createExplainQuery(
               new MaterializedVectorSearchQuery(
                   mongotQuery, mongotQuery.criteria().queryVector().get()),
-              reader);
+              new IndexSearcher(reader));
       Assert.assertEquals("VectorQuery should be wrapped", expected, result);
       Assert.assertEquals("Queries should be equal", expected, result);
     }
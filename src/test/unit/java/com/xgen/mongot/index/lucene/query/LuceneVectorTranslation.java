@@ -19,6 +19,7 @@ import java.util.Map;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.MMapDirectory;
@@ -97,7 +98,7 @@ class LuceneVectorTranslation {
       return factory.createQuery(
           new MaterializedVectorSearchQuery(
               query, query.criteria().queryVector().get(), this.autoEmbeddingFieldsMapping),
-          reader);
+          new IndexSearcher(reader));
     } finally {
       tearDown();
     }
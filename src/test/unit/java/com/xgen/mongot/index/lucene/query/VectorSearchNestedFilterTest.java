@@ -514,11 +514,11 @@ public class VectorSearchNestedFilterTest {
     var factory = LuceneVectorQueryFactoryDistributor.create(context);
 
     try (var reader = DirectoryReader.open(this.directory)) {
+      IndexSearcher searcher = new IndexSearcher(reader);
       Query luceneQuery =
           factory.createQuery(
               new MaterializedVectorSearchQuery(query, query.criteria().queryVector().get()),
-              reader);
-      IndexSearcher searcher = new IndexSearcher(reader);
+              searcher);
       TopDocs results = searcher.search(luceneQuery, 10);
 
       Assert.assertEquals(
@@ -545,11 +545,11 @@ public class VectorSearchNestedFilterTest {
     var factory = LuceneVectorQueryFactoryDistributor.create(context);
 
     try (var reader = DirectoryReader.open(this.directory)) {
+      IndexSearcher searcher = new IndexSearcher(reader);
       Query luceneQuery =
           factory.createQuery(
               new MaterializedVectorSearchQuery(query, query.criteria().queryVector().get()),
-              reader);
-      IndexSearcher searcher = new IndexSearcher(reader);
+              searcher);
       TopDocs results = searcher.search(luceneQuery, 10);
 
       Assert.assertEquals(
@@ -576,11 +576,11 @@ public class VectorSearchNestedFilterTest {
     var factory = LuceneVectorQueryFactoryDistributor.create(context);
 
     try (var reader = DirectoryReader.open(this.directory)) {
+      IndexSearcher searcher = new IndexSearcher(reader);
       Query luceneQuery =
           factory.createQuery(
               new MaterializedVectorSearchQuery(query, query.criteria().queryVector().get()),
-              reader);
-      IndexSearcher searcher = new IndexSearcher(reader);
+              searcher);
       TopDocs results = searcher.search(luceneQuery, 10);
 
       Assert.assertEquals(
@@ -618,11 +618,11 @@ public class VectorSearchNestedFilterTest {
     var factory = LuceneVectorQueryFactoryDistributor.create(context);
 
     try (var reader = DirectoryReader.open(this.directory)) {
+      IndexSearcher searcher = new IndexSearcher(reader);
       Query luceneQuery =
           factory.createQuery(
               new MaterializedVectorSearchQuery(query, query.criteria().queryVector().get()),
-              reader);
-      IndexSearcher searcher = new IndexSearcher(reader);
+              searcher);
       TopDocs results = searcher.search(luceneQuery, 10);
 
       Assert.assertEquals(
@@ -657,7 +657,8 @@ public class VectorSearchNestedFilterTest {
     var factory = LuceneVectorQueryFactoryDistributor.create(context);
     try (var reader = DirectoryReader.open(this.directory)) {
       return factory.createQuery(
-          new MaterializedVectorSearchQuery(query, query.criteria().queryVector().get()), reader);
+          new MaterializedVectorSearchQuery(query, query.criteria().queryVector().get()),
+          new IndexSearcher(reader));
     }
   }
 
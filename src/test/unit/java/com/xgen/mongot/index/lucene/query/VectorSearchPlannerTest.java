@@ -0,0 +1,145 @@
+package com.xgen.mongot.index.lucene.query;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.xgen.mongot.index.lucene.explain.information.VectorSearchPlanSpec;
+import com.xgen.mongot.index.lucene.query.custom.VectorSearchCostModel;
+import java.io.IOException;
+import java.util.Optional;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class VectorSearchPlannerTest {
+
+  private static final String VECTOR_FIELD = "vector";
+  private static final String FILTER_FIELD = "bucket";
+  private static final int NUM_DOCS = 10_000;
+
+  private static Directory directory;
+  private static IndexReader reader;
+
+  @BeforeClass
+  public static void setUpClass() throws IOException {
+    directory = new ByteBuffersDirectory();
+    try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+      for (int i = 0; i < NUM_DOCS; i++) {
+        Document document = new Document();
+        document.add(new KnnFloatVectorField(VECTOR_FIELD, new float[] {i, 1}));
+        // "rare" matches 0.1% of documents, "common" matches 90%.
+        document.add(
+            new StringField(FILTER_FIELD, i % 1000 == 0 ? "rare" : "other", Field.Store.NO));
+        if (i % 10 != 0) {
+          document.add(new StringField(FILTER_FIELD, "common", Field.Store.NO));
+        }
+        writer.addDocument(document);
+      }
+    }
+    reader = DirectoryReader.open(directory);
+  }
+
+  @AfterClass
+  public static void tearDownClass() throws IOException {
+    reader.close();
+    directory.close();
+  }
+
+  @Test
+  public void testSelectiveFilterPlansExactScan() throws IOException {
+    VectorSearchPlanSpec plan =
+        new VectorSearchPlanner()
+            .plan(planned(filter("rare")), VECTOR_FIELD, 100, new VectorSearchCostModel(16));
+
+    assertThat(plan.strategy()).isEqualTo(VectorSearchPlanSpec.Strategy.EXACT);
+    assertThat(plan.numVectors()).isEqualTo(NUM_DOCS);
+    assertThat(plan.estimatedFilterMatchedDocsCount()).isEqualTo(10);
+    assertThat(plan.numCandidates()).isEqualTo(100);
+    assertThat(plan.estimatedPostFilterCost()).isEmpty();
+  }
+
+  @Test
+  public void testPermissiveFilterPlansPostFilterWithOverFetch() throws IOException {
+    VectorSearchPlanSpec plan =
+        new VectorSearchPlanner()
+            .plan(planned(filter("common")), VECTOR_FIELD, 10, new VectorSearchCostModel(16));
+
+    assertThat(plan.strategy()).isEqualTo(VectorSearchPlanSpec.Strategy.HNSW_POST_FILTER);
+    assertThat(plan.estimatedFilterMatchedDocsCount()).isEqualTo(9_000);
+    assertThat(plan.numCandidates()).isEqualTo(17);
+    assertThat(plan.estimatedCost()).isLessThan(plan.estimatedFilteredHnswCost());
+    assertThat(plan.estimatedCost()).isLessThan(plan.estimatedExactCost());
+  }
+
+  @Test
+  public void testMissingVectorFieldPlansNothingToScan() throws IOException {
+    VectorSearchPlanSpec plan =
+        new VectorSearchPlanner()
+            .plan(planned(filter("common")), "missing", 10, new VectorSearchCostModel(16));
+
+    assertThat(plan.numVectors()).isEqualTo(0);
+    assertThat(plan.estimatedExactCost()).isEqualTo(0);
+  }
+
+  @Test
+  public void testCostModelIsSharedPerField() {
+    VectorSearchPlanner planner = new VectorSearchPlanner();
+
+    VectorSearchCostModel costModel = planner.getCostModel(VECTOR_FIELD, 32);
+
+    assertThat(planner.getCostModel(VECTOR_FIELD, 32)).isSameInstanceAs(costModel);
+    assertThat(costModel.getMaxEdges()).isEqualTo(32);
+    assertThat(planner.getCostModel("other", 16)).isNotSameInstanceAs(costModel);
+  }
+
+  @Test
+  public void testPlannedFilterWeightIsReusedBySameSearcher() throws IOException {
+    IndexSearcher searcher = new IndexSearcher(reader);
+    PlannedFilterQuery filter = PlannedFilterQuery.create(searcher, filter("common"));
+
+    assertThat(filter.createWeight(searcher, ScoreMode.COMPLETE_NO_SCORES, 1))
+        .isSameInstanceAs(filter.getWeight());
+    assertThat(filter.createWeight(searcher, ScoreMode.COMPLETE, 1))
+        .isNotSameInstanceAs(filter.getWeight());
+    assertThat(
+            filter.createWeight(new IndexSearcher(reader), ScoreMode.COMPLETE_NO_SCORES, 1))
+        .isNotSameInstanceAs(filter.getWeight());
+  }
+
+  @Test
+  public void testPlannedFilterMatchesSameDocumentsAsFilter() throws IOException {
+    IndexSearcher searcher = new IndexSearcher(reader);
+
+    assertThat(searcher.count(PlannedFilterQuery.create(searcher, filter("rare"))))
+        .isEqualTo(searcher.count(filter("rare")));
+  }
+
+  @Test
+  public void testPostFilterCandidates() {
+    assertThat(VectorSearchPlanner.postFilterCandidates(100, 1)).hasValue(150);
+    assertThat(VectorSearchPlanner.postFilterCandidates(100, .75)).hasValue(200);
+    assertThat(VectorSearchPlanner.postFilterCandidates(100, .49)).isEqualTo(Optional.empty());
+  }
+
+  private static PlannedFilterQuery planned(Query filter) throws IOException {
+    return PlannedFilterQuery.create(new IndexSearcher(reader), filter);
+  }
+
+  private static TermQuery filter(String value) {
+    return new TermQuery(new Term(FILTER_FIELD, value));
+  }
+}
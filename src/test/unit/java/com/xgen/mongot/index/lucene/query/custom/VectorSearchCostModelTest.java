@@ -0,0 +1,78 @@
+package com.xgen.mongot.index.lucene.query.custom;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+public class VectorSearchCostModelTest {
+
+  @Test
+  public void expectedGraphVisits_defaultMaxEdges_matchesKnnQueryHeuristic() {
+    VectorSearchCostModel costModel = VectorSearchCostModel.withDefaults();
+
+    assertThat(costModel.expectedGraphVisits(1_000, 10, .5))
+        .isEqualTo(MongotKnnFloatQuery.expectedVectorsVisited(1_000, 10, .5));
+  }
+
+  @Test
+  public void expectedGraphVisits_increasingMaxEdges_increasesVisits() {
+    assertThat(new VectorSearchCostModel(64).expectedGraphVisits(100_000, 10, .5))
+        .isGreaterThan(new VectorSearchCostModel(16).expectedGraphVisits(100_000, 10, .5));
+  }
+
+  @Test
+  public void graphToScanCostRatio_withoutEnoughSamples_isOne() {
+    VectorSearchCostModel costModel = new VectorSearchCostModel(16);
+    for (int i = 0; i < VectorSearchCostModel.MIN_LATENCY_SAMPLES; i++) {
+      costModel.recordGraphSearch(100, 400);
+    }
+    costModel.recordScan(100, 100);
+
+    assertThat(costModel.getGraphToScanCostRatio()).isEqualTo(1);
+    assertThat(costModel.graphCost(1_000, 10, .5))
+        .isEqualTo(costModel.expectedGraphVisits(1_000, 10, .5));
+  }
+
+  @Test
+  public void graphToScanCostRatio_withSamples_reflectsObservedLatency() {
+    VectorSearchCostModel costModel = new VectorSearchCostModel(16);
+    for (int i = 0; i < VectorSearchCostModel.MIN_LATENCY_SAMPLES; i++) {
+      costModel.recordGraphSearch(100, 400);
+      costModel.recordScan(1_000, 1_000);
+    }
+
+    assertThat(costModel.getGraphToScanCostRatio()).isWithin(1e-9).of(4);
+    assertThat(costModel.graphCost(1_000, 10, .5))
+        .isWithin(1e-9)
+        .of(4 * costModel.expectedGraphVisits(1_000, 10, .5));
+  }
+
+  @Test
+  public void graphToScanCostRatio_isClamped() {
+    VectorSearchCostModel costModel = new VectorSearchCostModel(16);
+    for (int i = 0; i < VectorSearchCostModel.MIN_LATENCY_SAMPLES; i++) {
+      costModel.recordGraphSearch(1, 1_000_000);
+      costModel.recordScan(1, 1);
+    }
+
+    assertThat(costModel.getGraphToScanCostRatio())
+        .isEqualTo(VectorSearchCostModel.MAX_GRAPH_TO_SCAN_RATIO);
+  }
+
+  @Test
+  public void emptySearchesAreIgnored() {
+    VectorSearchCostModel costModel = new VectorSearchCostModel(16);
+    for (int i = 0; i < VectorSearchCostModel.MIN_LATENCY_SAMPLES; i++) {
+      costModel.recordGraphSearch(0, 1_000);
+      costModel.recordScan(100, 100);
+    }
+
+    assertThat(costModel.getGraphToScanCostRatio()).isEqualTo(1);
+  }
+
+  @Test
+  public void invalidMaxEdgesThrows() {
+    assertThrows(IllegalArgumentException.class, () -> new VectorSearchCostModel(1));
+  }
+}
@@ -0,0 +1,132 @@
+package com.xgen.mongot.index.lucene.query.pushdown.match;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.xgen.mongot.index.lucene.field.FieldName;
+import com.xgen.mongot.index.query.operators.mql.Clause;
+import com.xgen.mongot.util.BsonUtils;
+import com.xgen.mongot.util.FieldPath;
+import com.xgen.mongot.util.bson.ByteUtils;
+import com.xgen.mongot.util.bson.parser.BsonParseException;
+import com.xgen.testing.mongot.index.query.operators.mql.EqOperatorBuilder;
+import com.xgen.testing.mongot.index.query.operators.mql.ExistsOperatorBuilder;
+import com.xgen.testing.mongot.index.query.operators.mql.GtOperatorBuilder;
+import com.xgen.testing.mongot.index.query.operators.mql.OrClauseBuilder;
+import com.xgen.testing.mongot.index.query.operators.mql.SimpleClauseBuilder;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.junit.Test;
+
+public class StoredSourceMatchQueryTest {
+
+  @Test
+  public void testFiltersHitsByStoredSource() throws Exception {
+    Clause clause =
+        new SimpleClauseBuilder()
+            .path("rating")
+            .addOperator(new GtOperatorBuilder().value(2))
+            .build();
+
+    try (Directory directory = createIndex();
+        DirectoryReader reader = DirectoryReader.open(directory)) {
+      IndexSearcher searcher = new IndexSearcher(reader);
+      Query query =
+          StoredSourceMatchQuery.filter(new TermQuery(new Term("genre", "fiction")), clause);
+
+      // Documents 0 and 2 are fiction, but only document 2 has a rating above 2.
+      assertThat(hits(searcher, query)).containsExactly(2);
+    }
+  }
+
+  @Test
+  public void testDocumentsWithoutStoredSourceMatchAsEmpty() throws Exception {
+    Clause missing =
+        new SimpleClauseBuilder()
+            .path("rating")
+            .addOperator(new ExistsOperatorBuilder().value(false))
+            .build();
+
+    try (Directory directory = createIndex();
+        DirectoryReader reader = DirectoryReader.open(directory)) {
+      IndexSearcher searcher = new IndexSearcher(reader);
+      Query query =
+          StoredSourceMatchQuery.filter(new TermQuery(new Term("genre", "poetry")), missing);
+
+      assertThat(hits(searcher, query)).containsExactly(3);
+    }
+  }
+
+  @Test
+  public void testPaths() throws BsonParseException {
+    Clause clause =
+        new OrClauseBuilder()
+            .addClause(
+                new SimpleClauseBuilder()
+                    .path("a.b")
+                    .addOperator(new EqOperatorBuilder().value(1))
+                    .build())
+            .addClause(
+                new SimpleClauseBuilder()
+                    .path("c")
+                    .addOperator(new GtOperatorBuilder().value(2))
+                    .build())
+            .build();
+
+    assertThat(StoredSourceMatchQuery.paths(clause).toList())
+        .containsExactly(FieldPath.parse("a.b"), FieldPath.parse("c"))
+        .inOrder();
+  }
+
+  private static List<Integer> hits(IndexSearcher searcher, Query query) throws IOException {
+    return Arrays.stream(searcher.search(query, 10).scoreDocs)
+        .map(scoreDoc -> scoreDoc.doc)
+        .sorted()
+        .toList();
+  }
+
+  private static Directory createIndex() throws IOException {
+    Directory directory = new ByteBuffersDirectory();
+    try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+      writer.addDocument(document("fiction", 1));
+      writer.addDocument(document("history", 5));
+      writer.addDocument(document("fiction", 4));
+
+      Document withoutSource = new Document();
+      withoutSource.add(new StringField("genre", "poetry", Field.Store.NO));
+      writer.addDocument(withoutSource);
+    }
+    return directory;
+  }
+
+  private static Document document(String genre, int rating) {
+    RawBsonDocument source =
+        BsonUtils.documentToRaw(
+            new BsonDocument("genre", new BsonString(genre))
+                .append("rating", new BsonInt32(rating)));
+    Document document = new Document();
+    document.add(new StringField("genre", genre, Field.Store.NO));
+    document.add(
+        new StoredField(
+            FieldName.StaticField.STORED_SOURCE.getLuceneFieldName(),
+            ByteUtils.toBytesRef(source)));
+    return document;
+  }
+}
@@ -0,0 +1,118 @@
+package com.xgen.mongot.index.lucene.query.sort;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableSetMultimap;
+import com.xgen.mongot.index.lucene.explain.explainers.SortFeatureExplainer;
+import com.xgen.mongot.index.lucene.explain.information.SearchExplainInformationBuilder;
+import com.xgen.mongot.index.lucene.explain.information.SortStats;
+import com.xgen.mongot.index.lucene.explain.tracing.Explain;
+import com.xgen.mongot.index.query.sort.MongotSortField;
+import com.xgen.mongot.index.query.sort.UserFieldSortOptions;
+import com.xgen.mongot.util.FieldPath;
+import com.xgen.testing.mongot.index.query.sort.SortSpecBuilder;
+import java.io.IOException;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollectorManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.junit.Test;
+
+public class EarlyTerminationCollectorManagerTest {
+
+  private static final int NUM_DOCS = 100;
+  private static final int NUM_HITS = 10;
+
+  @Test
+  public void testRecordsRemainingDocIdsWhenSortIsPrefixOfIndexSort() throws IOException {
+    Sort sort = new Sort(new SortField("x", SortField.Type.LONG));
+    try (Directory directory = createSortedIndex(sort);
+        IndexReader reader = DirectoryReader.open(directory)) {
+      SortFeatureExplainer explainer = createExplainer();
+
+      TopDocs topDocs = search(reader, sort, explainer);
+
+      assertThat(topDocs.scoreDocs).hasLength(NUM_HITS);
+      assertThat(((FieldDoc) topDocs.scoreDocs[NUM_HITS - 1]).fields[0])
+          .isEqualTo((long) NUM_HITS - 1);
+      // The hit after the last collected one terminates the segment, and is not counted.
+      assertThat(explainer.getRemainingDocIdsAtEarlyTermination())
+          .isEqualTo((long) NUM_DOCS - NUM_HITS - 1);
+    }
+  }
+
+  @Test
+  public void testExplainsRemainingDocIdsAtEarlyTermination() throws IOException {
+    Sort sort = new Sort(new SortField("x", SortField.Type.LONG));
+    try (Directory directory = createSortedIndex(sort);
+        IndexReader reader = DirectoryReader.open(directory)) {
+      SortFeatureExplainer explainer = createExplainer();
+      explainer.setCanBenefitFromIndexSort(true);
+
+      search(reader, sort, explainer);
+      SearchExplainInformationBuilder builder = SearchExplainInformationBuilder.newBuilder();
+      explainer.emitExplanation(Explain.Verbosity.EXECUTION_STATS, builder);
+
+      SortStats sortStats = builder.build().collectStats().orElseThrow().sortStats().orElseThrow();
+      assertThat(sortStats.remainingDocIdsAtEarlyTermination()).hasValue(89L);
+    }
+  }
+
+  @Test
+  public void testRecordsNothingWhenSortDiffersFromIndexSort() throws IOException {
+    Sort indexSort = new Sort(new SortField("x", SortField.Type.LONG));
+    Sort querySort = new Sort(new SortField("x", SortField.Type.LONG, true));
+    try (Directory directory = createSortedIndex(indexSort);
+        IndexReader reader = DirectoryReader.open(directory)) {
+      SortFeatureExplainer explainer = createExplainer();
+
+      TopDocs topDocs = search(reader, querySort, explainer);
+
+      assertThat(topDocs.scoreDocs).hasLength(NUM_HITS);
+      assertThat(explainer.getRemainingDocIdsAtEarlyTermination()).isEqualTo(0);
+    }
+  }
+
+  private static TopDocs search(IndexReader reader, Sort sort, SortFeatureExplainer explainer)
+      throws IOException {
+    return new IndexSearcher(reader)
+        .search(
+            new MatchAllDocsQuery(),
+            new EarlyTerminationCollectorManager<>(
+                new TopFieldCollectorManager(sort, NUM_HITS, null, NUM_HITS), explainer));
+  }
+
+  private static Directory createSortedIndex(Sort indexSort) throws IOException {
+    Directory directory = new ByteBuffersDirectory();
+    try (IndexWriter writer =
+        new IndexWriter(directory, new IndexWriterConfig().setIndexSort(indexSort))) {
+      for (int i = NUM_DOCS - 1; i >= 0; i--) {
+        Document doc = new Document();
+        doc.add(new NumericDocValuesField("x", i));
+        writer.addDocument(doc);
+      }
+      writer.forceMerge(1);
+    }
+    return directory;
+  }
+
+  private static SortFeatureExplainer createExplainer() {
+    return new SortFeatureExplainer(
+        SortSpecBuilder.builder()
+            .sortField(
+                new MongotSortField(FieldPath.newRoot("x"), UserFieldSortOptions.DEFAULT_ASC))
+            .buildSort(),
+        ImmutableSetMultimap.of());
+  }
+}
@@ -0,0 +1,93 @@
+package com.xgen.mongot.index.lucene.query.sort.mixed;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.List;
+import org.bson.BsonBoolean;
+import org.bson.BsonDateTime;
+import org.bson.BsonDecimal128;
+import org.bson.BsonDouble;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.types.Decimal128;
+import org.junit.Test;
+
+public class MixedSortKeyTest {
+
+  private static final List<BsonValue> NUMBERS =
+      List.of(
+          new BsonDouble(Double.NaN),
+          new BsonDouble(Double.NEGATIVE_INFINITY),
+          new BsonInt64(Long.MIN_VALUE),
+          new BsonDouble(-1.5),
+          new BsonInt64(-1),
+          new BsonDouble(-0.0),
+          new BsonInt64(0),
+          new BsonDouble(0.0),
+          new BsonDouble(1.0),
+          new BsonInt64(1),
+          new BsonInt64(Long.MAX_VALUE - 1),
+          new BsonInt64(Long.MAX_VALUE),
+          new BsonDouble(Double.POSITIVE_INFINITY));
+
+  @Test
+  public void testKeysRoundTrip() {
+    List<BsonValue> values =
+        List.of(
+            new BsonInt64(-42),
+            new BsonDouble(Double.NaN),
+            new BsonDouble(-0.0),
+            new BsonDateTime(1_700_000_000_000L),
+            BsonBoolean.TRUE,
+            BsonBoolean.FALSE);
+
+    for (BsonValue value : values) {
+      MixedSortKey.Kind kind = MixedSortKey.kindOf(value);
+      assertEquals(value, MixedSortKey.toBsonValue(kind, MixedSortKey.keyOf(value)));
+    }
+  }
+
+  @Test
+  public void testValuesWithoutKeys() {
+    assertEquals(MixedSortKey.Kind.NONE, MixedSortKey.kindOf(new BsonString("a")));
+  }
+
+  @Test
+  public void testDecimal128IsRejected() {
+    BsonDecimal128 value = new BsonDecimal128(Decimal128.parse("0.1"));
+    assertThrows(UnsupportedOperationException.class, () -> MixedSortKey.kindOf(value));
+    assertThrows(UnsupportedOperationException.class, () -> MixedSortKey.keyOf(value));
+  }
+
+  @Test
+  public void testNumberKeysCompareLikeBsonValues() {
+    for (BsonValue left : NUMBERS) {
+      for (BsonValue right : NUMBERS) {
+        assertCompareLikeBsonValues(left, right);
+      }
+    }
+  }
+
+  @Test
+  public void testDateAndBooleanKeysCompareLikeBsonValues() {
+    assertCompareLikeBsonValues(new BsonDateTime(-1), new BsonDateTime(1));
+    assertCompareLikeBsonValues(new BsonDateTime(5), new BsonDateTime(5));
+    assertCompareLikeBsonValues(BsonBoolean.FALSE, BsonBoolean.TRUE);
+    assertCompareLikeBsonValues(BsonBoolean.TRUE, BsonBoolean.FALSE);
+  }
+
+  private static void assertCompareLikeBsonValues(BsonValue left, BsonValue right) {
+    int expected = Integer.signum(SortUtil.compareWithinBracketUnsafe(left, right));
+    int actual =
+        Integer.signum(
+            MixedSortKey.compare(
+                MixedSortKey.kindOf(left),
+                MixedSortKey.keyOf(left),
+                MixedSortKey.kindOf(right),
+                MixedSortKey.keyOf(right)));
+    assertThat(actual).isEqualTo(expected);
+  }
+}
@@ -9,9 +9,14 @@ import com.xgen.mongot.util.FieldPath;
 import com.xgen.testing.mongot.mock.index.SearchIndex;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.document.StringField;
 import org.apache.lucene.facet.FacetsConfig;
 import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
 import org.apache.lucene.index.DirectoryReader;
@@ -19,6 +24,12 @@ import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.ByteBuffersDirectory;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.BytesRef;
@@ -413,4 +424,169 @@ public class LuceneIndexSearcherTest {
           .containsEntry(FieldPath.newRoot("three"), FieldName.TypeField.NUMBER_INT64_V2);
     }
   }
+
+  @Test
+  public void testCountWithoutCollecting() throws IOException {
+    try (Directory directory = new ByteBuffersDirectory()) {
+      try (IndexWriter writer =
+          new IndexWriter(
+              directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+        for (int i = 0; i < 3; i++) {
+          writer.addDocument(stringFieldDocument("foo", "bar"));
+          writer.addDocument(stringFieldDocument("foo", "baz"));
+          writer.flush();
+        }
+      }
+      try (IndexReader reader = DirectoryReader.open(directory)) {
+        LuceneIndexSearcher searcher = createSearcher(reader);
+        TermQuery query = new TermQuery(new Term("foo", "bar"));
+
+        Assert.assertEquals(
+            OptionalInt.of(6), searcher.countWithoutCollecting(new MatchAllDocsQuery()));
+        Assert.assertEquals(OptionalInt.of(3), searcher.countWithoutCollecting(query));
+        // Copies of the searcher share its counts.
+        Assert.assertEquals(
+            OptionalInt.of(3), new LuceneIndexSearcher(searcher).countWithoutCollecting(query));
+      }
+    }
+  }
+
+  @Test
+  public void testCountWithoutCollectingWithDeletions() throws IOException {
+    try (Directory directory = new ByteBuffersDirectory()) {
+      try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+        writer.addDocument(stringFieldDocument("foo", "bar"));
+        writer.addDocument(stringFieldDocument("foo", "baz"));
+        writer.commit();
+        writer.deleteDocuments(new Term("foo", "baz"));
+        writer.commit();
+      }
+      try (IndexReader reader = DirectoryReader.open(directory)) {
+        LuceneIndexSearcher searcher = createSearcher(reader);
+
+        // Term statistics include deleted documents, so the segment's matches are iterated.
+        Assert.assertEquals(
+            OptionalInt.of(1),
+            searcher.countWithoutCollecting(new TermQuery(new Term("foo", "bar"))));
+        Assert.assertEquals(
+            OptionalInt.of(1), searcher.countWithoutCollecting(new MatchAllDocsQuery()));
+        // Queries that expand terms when rewritten are collected instead.
+        Assert.assertEquals(
+            OptionalInt.empty(),
+            searcher.countWithoutCollecting(new WildcardQuery(new Term("foo", "ba*"))));
+      }
+    }
+  }
+
+  @Test
+  public void testCountWithoutCollectingFallsBackPerSegment() throws IOException {
+    try (Directory directory = new ByteBuffersDirectory()) {
+      try (IndexWriter writer =
+          new IndexWriter(
+              directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+        writer.addDocument(stringFieldDocument("foo", "bar"));
+        writer.addDocument(stringFieldDocument("foo", "baz"));
+        writer.flush();
+        writer.addDocument(stringFieldDocument("foo", "bar"));
+        writer.addDocument(stringFieldDocument("foo", "bar"));
+        writer.flush();
+        writer.deleteDocuments(new Term("foo", "baz"));
+        writer.commit();
+      }
+      try (IndexReader reader = DirectoryReader.open(directory)) {
+        LuceneIndexSearcher searcher = createSearcher(reader);
+        BooleanQuery query =
+            new BooleanQuery.Builder()
+                .add(new TermQuery(new Term("foo", "bar")), BooleanClause.Occur.SHOULD)
+                .add(new TermQuery(new Term("foo", "baz")), BooleanClause.Occur.SHOULD)
+                .build();
+
+        Assert.assertEquals(
+            OptionalInt.of(3),
+            searcher.countWithoutCollecting(new TermQuery(new Term("foo", "bar"))));
+        Assert.assertEquals(OptionalInt.of(3), searcher.countWithoutCollecting(query));
+      }
+    }
+  }
+
+  @Test
+  public void testCountWithoutCollectingIsRecomputedAfterRefresh() throws IOException {
+    try (Directory directory = new ByteBuffersDirectory();
+        IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+      writer.addDocument(stringFieldDocument("foo", "bar"));
+      writer.commit();
+      TermQuery query = new TermQuery(new Term("foo", "bar"));
+
+      try (DirectoryReader reader = DirectoryReader.open(writer)) {
+        LuceneIndexSearcher searcher = createSearcher(reader);
+        Assert.assertEquals(OptionalInt.of(1), searcher.countWithoutCollecting(query));
+
+        writer.addDocument(stringFieldDocument("foo", "bar"));
+        writer.commit();
+        try (DirectoryReader refreshed = DirectoryReader.openIfChanged(reader, writer)) {
+          LuceneIndexSearcher refreshedSearcher =
+              LuceneIndexSearcher.create(
+                  refreshed,
+                  new QueryCacheProvider.DefaultQueryCacheProvider(),
+                  Optional.of(searcher),
+                  Optional.empty(),
+                  true,
+                  false,
+                  Optional.empty());
+
+          Assert.assertEquals(OptionalInt.of(2), refreshedSearcher.countWithoutCollecting(query));
+          // The previous searcher keeps counting its own reader.
+          Assert.assertEquals(OptionalInt.of(1), searcher.countWithoutCollecting(query));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCountWithoutCollectingOnExecutor() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (Directory directory = new ByteBuffersDirectory()) {
+      try (IndexWriter writer =
+          new IndexWriter(
+              directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+        // More segments than fit in one slice, so the count is split into several tasks.
+        for (int i = 0; i < 12; i++) {
+          writer.addDocument(stringFieldDocument("foo", "bar"));
+          writer.addDocument(stringFieldDocument("foo", "baz"));
+          writer.flush();
+        }
+        writer.deleteDocuments(new Term("foo", "baz"));
+        writer.commit();
+      }
+      try (IndexReader reader = DirectoryReader.open(directory)) {
+        LuceneIndexSearcher searcher = new LuceneIndexSearcher(createSearcher(reader), executor);
+
+        Assert.assertEquals(
+            OptionalInt.of(12),
+            searcher.countWithoutCollecting(new TermQuery(new Term("foo", "bar"))));
+        Assert.assertEquals(
+            OptionalInt.of(12), searcher.countWithoutCollecting(new MatchAllDocsQuery()));
+      }
+    } finally {
+      executor.shutdown();
+      Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+  }
+
+  private static Document stringFieldDocument(String field, String value) {
+    Document doc = new Document();
+    doc.add(new StringField(field, value, StringField.Store.NO));
+    return doc;
+  }
+
+  private static LuceneIndexSearcher createSearcher(IndexReader reader) throws IOException {
+    return LuceneIndexSearcher.create(
+        reader,
+        new QueryCacheProvider.DefaultQueryCacheProvider(),
+        Optional.empty(),
+        Optional.empty(),
+        true,
+        false,
+        Optional.empty());
+  }
 }
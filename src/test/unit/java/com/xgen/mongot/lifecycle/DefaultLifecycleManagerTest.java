@@ -3,6 +3,7 @@ package com.xgen.mongot.lifecycle;
 import static com.xgen.testing.mongot.mock.index.IndexGeneration.mockIndexGeneration;
 import static com.xgen.testing.mongot.mock.index.IndexGeneration.uniqueMockGenerationDefinition;
 import static com.xgen.testing.mongot.mock.index.SearchIndex.MOCK_INDEX_GENERATION_ID;
+import static com.xgen.testing.mongot.mock.index.SearchIndex.mockReplicationLag;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -11,9 +12,11 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
@@ -45,9 +48,14 @@ import com.xgen.testing.mongot.index.definition.DocumentFieldDefinitionBuilder;
 import com.xgen.testing.mongot.index.definition.SearchIndexDefinitionBuilder;
 import com.xgen.testing.mongot.index.version.GenerationIdBuilder;
 import com.xgen.testing.mongot.mock.index.IndexFactory;
+import com.xgen.testing.util.ManuallyUpdatedClock;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -56,11 +64,16 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.bson.types.ObjectId;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InOrder;
 
 public class DefaultLifecycleManagerTest {
   public static final SyncSourceConfig MOCK_SYNC_SOURCE_CONFIG = createMockSyncSourceConfig();
 
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
   private static SyncSourceConfig createMockSyncSourceConfig() {
     ConnectionInfo c = ConnectionStringUtil.toConnectionInfoUnchecked("mongodb://localhost");
     return new SyncSourceConfig(c, c, Optional.empty(), Optional.empty());
@@ -136,6 +149,7 @@ public class DefaultLifecycleManagerTest {
 
         when(replicationManager.dropIndex(any()))
             .thenReturn(CompletableFuture.completedFuture(null));
+        when(replicationManager.unload(any())).thenReturn(CompletableFuture.completedFuture(null));
         when(replicationManager.shutdown()).thenReturn(CompletableFuture.completedFuture(null));
         when(replicationManager.getSyncSourceConfig()).thenReturn(syncSourceConfig);
         when(replicationManager.isReplicationSupported()).thenReturn(true);
@@ -437,6 +451,191 @@ public class DefaultLifecycleManagerTest {
     verify(mocks.snapshotterManager, timeout(10000)).scheduleUpload(index1);
   }
 
+  @Test
+  public void testSweepUnloadsIdleIndexes() throws Exception {
+    Mocks mocks = Mocks.create();
+    ManuallyUpdatedClock clock = new ManuallyUpdatedClock(Clock.systemUTC());
+    InitializedIndexCatalog catalog = new InitializedIndexCatalog(clock);
+    DefaultLifecycleManager lifecycleManager =
+        createColdIndexLifecycleManager(mocks, catalog, clock, Duration.ofMinutes(30));
+
+    IndexGeneration idle = mockIndexGeneration(new ObjectId());
+    IndexGeneration queried = mockIndexGeneration(new ObjectId());
+    lifecycleManager.add(idle);
+    lifecycleManager.add(queried);
+    IndexLifecycleManager idleManager =
+        lifecycleManager.getIndexLifecycleManager(idle.getGenerationId());
+    IndexLifecycleManager queriedManager =
+        lifecycleManager.getIndexLifecycleManager(queried.getGenerationId());
+    waitForState(idleManager, IndexLifecycleManager.State.RUNNING);
+    waitForState(queriedManager, IndexLifecycleManager.State.RUNNING);
+
+    clock.update(Duration.ofMinutes(20));
+    assertTrue(catalog.getIndexForQuery(queried.getGenerationId()).isPresent());
+    clock.update(Duration.ofMinutes(20));
+    lifecycleManager.sweepColdIndexes();
+
+    waitForState(idleManager, IndexLifecycleManager.State.UNLOADED);
+    assertEquals(IndexLifecycleManager.State.RUNNING, queriedManager.getState());
+    assertFalse(catalog.getIndex(idle.getGenerationId()).isPresent());
+    verify(lifecycleManager.getReplicationManager()).unload(idle.getGenerationId());
+
+    // A query against the unloaded index reopens it, and is served once it caught up.
+    assertFalse(catalog.getIndexForQuery(idle.getGenerationId()).isPresent());
+    waitForState(idleManager, IndexLifecycleManager.State.RUNNING);
+    mockReplicationLag(
+        catalog.getIndex(idle.getGenerationId()).orElseThrow(), clock.instant(), Duration.ZERO);
+    assertTrue(catalog.getIndexForQuery(idle.getGenerationId()).isPresent());
+    lifecycleManager.shutdown().get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testSweepReopensLongUnloadedIndexes() throws Exception {
+    Mocks mocks = Mocks.create();
+    ManuallyUpdatedClock clock = new ManuallyUpdatedClock(Clock.systemUTC());
+    InitializedIndexCatalog catalog = new InitializedIndexCatalog(clock);
+    DefaultLifecycleManager lifecycleManager =
+        createColdIndexLifecycleManager(mocks, catalog, clock, Duration.ofMinutes(30));
+
+    IndexGeneration generation = mockIndexGeneration(new ObjectId());
+    lifecycleManager.add(generation);
+    IndexLifecycleManager indexManager =
+        lifecycleManager.getIndexLifecycleManager(generation.getGenerationId());
+    waitForState(indexManager, IndexLifecycleManager.State.RUNNING);
+    clock.update(Duration.ofHours(1));
+    lifecycleManager.sweepColdIndexes();
+    waitForState(indexManager, IndexLifecycleManager.State.UNLOADED);
+
+    // Unloaded indexes are reopened to catch up on replication.
+    clock.update(DefaultLifecycleManager.MAX_UNLOADED_DURATION.plusMinutes(1));
+    lifecycleManager.sweepColdIndexes();
+    waitForState(indexManager, IndexLifecycleManager.State.RUNNING);
+    assertTrue(catalog.getIndex(generation.getGenerationId()).isPresent());
+
+    // The reopened index is not unloaded again until it has been idle for the timeout.
+    lifecycleManager.sweepColdIndexes();
+    assertEquals(IndexLifecycleManager.State.RUNNING, indexManager.getState());
+    lifecycleManager.shutdown().get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testSweepWithoutIdleTimeoutDoesNothing() {
+    Mocks mocks = Mocks.create();
+    IndexGeneration generation = mockIndexGeneration(new ObjectId());
+    mocks.lifecycleManager.add(generation);
+    IndexLifecycleManager indexManager =
+        mocks.lifecycleManager.getIndexLifecycleManager(generation.getGenerationId());
+    waitForState(indexManager, IndexLifecycleManager.State.RUNNING);
+
+    mocks.lifecycleManager.sweepColdIndexes();
+    assertEquals(IndexLifecycleManager.State.RUNNING, indexManager.getState());
+  }
+
+  private static DefaultLifecycleManager createColdIndexLifecycleManager(
+      Mocks mocks, InitializedIndexCatalog catalog, Clock clock, Duration idleTimeout) {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    return new DefaultLifecycleManager(
+        mocks.replicationManagerFactory,
+        Optional.of(MOCK_SYNC_SOURCE_CONFIG),
+        catalog,
+        IndexFactory.mockIndexFactory(ig -> {}, () -> IndexStatus.steady()),
+        Optional.empty(),
+        (syncConfig) -> Optional.empty(),
+        meterRegistry,
+        mocks.replicationGate,
+        Executors.fixedSizeThreadPool("init", 1, meterRegistry),
+        Executors.fixedSizeThreadPool("lifecycle", 1, meterRegistry),
+        Executors.fixedSizeThreadPool("blobstore", 1, meterRegistry),
+        Optional.of(idleTimeout),
+        clock,
+        Optional.empty());
+  }
+
+  @Test
+  public void testIndexUsageJournalPrioritizesInitialization() throws Exception {
+    Mocks mocks = Mocks.create();
+    Path journalPath = this.tempFolder.getRoot().toPath().resolve("indexUsageJournal.json");
+    IndexGeneration cold = mockIndexGeneration(new ObjectId());
+    IndexGeneration hot = mockIndexGeneration(new ObjectId());
+
+    InitializedIndexCatalog catalog = new InitializedIndexCatalog();
+    DefaultLifecycleManager lifecycleManager =
+        createJournalingLifecycleManager(
+            mocks,
+            catalog,
+            IndexFactory.mockIndexFactory(ig -> {}, () -> IndexStatus.steady()),
+            createInitExecutor(),
+            journalPath);
+    lifecycleManager.add(cold);
+    lifecycleManager.add(hot);
+    waitForState(
+        lifecycleManager.getIndexLifecycleManager(hot.getGenerationId()),
+        IndexLifecycleManager.State.RUNNING);
+    for (int i = 0; i < 3; i++) {
+      assertTrue(catalog.getIndexForQuery(hot.getGenerationId()).isPresent());
+    }
+    lifecycleManager.shutdown().get(5, TimeUnit.SECONDS);
+
+    IndexUsageJournal journal = IndexUsageJournal.fromFileIfExists(journalPath).orElseThrow();
+    assertEquals(3, journal.indexes().get(hot.getGenerationId().indexId).queries());
+    assertEquals(0, journal.indexes().get(cold.getGenerationId().indexId).queries());
+
+    // On the next startup, the queried index is initialized first, although it is added last.
+    var indexFactory = IndexFactory.mockIndexFactory(ig -> {}, () -> IndexStatus.steady());
+    DefaultLifecycleManager restarted =
+        createJournalingLifecycleManager(
+            mocks, new InitializedIndexCatalog(), indexFactory, createInitExecutor(), journalPath);
+    IndexGeneration coldRestarted = mockIndexGeneration(cold.getGenerationId().indexId);
+    IndexGeneration hotRestarted = mockIndexGeneration(hot.getGenerationId().indexId);
+    restarted.addInitialIndexes(List.of(coldRestarted, hotRestarted));
+
+    waitForState(
+        restarted.getIndexLifecycleManager(coldRestarted.getGenerationId()),
+        IndexLifecycleManager.State.RUNNING);
+    waitForState(
+        restarted.getIndexLifecycleManager(hotRestarted.getGenerationId()),
+        IndexLifecycleManager.State.RUNNING);
+    InOrder initializationOrder = inOrder(indexFactory);
+    initializationOrder
+        .verify(indexFactory)
+        .getInitializedIndex(eq(hotRestarted.getIndex()), any());
+    initializationOrder
+        .verify(indexFactory)
+        .getInitializedIndex(eq(coldRestarted.getIndex()), any());
+    assertEquals(2, restarted.getInitializationProgress().queryableIndexes());
+    assertTrue(restarted.getInitializationProgress().pendingIndexes().isEmpty());
+    restarted.shutdown().get(5, TimeUnit.SECONDS);
+  }
+
+  private static NamedExecutorService createInitExecutor() {
+    return Executors.fixedSizeThreadPool("init", 1, new SimpleMeterRegistry());
+  }
+
+  private static DefaultLifecycleManager createJournalingLifecycleManager(
+      Mocks mocks,
+      InitializedIndexCatalog catalog,
+      com.xgen.mongot.index.IndexFactory indexFactory,
+      NamedExecutorService initExecutor,
+      Path journalPath)
+      throws Exception {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    return new DefaultLifecycleManager(
+        mocks.replicationManagerFactory,
+        Optional.of(MOCK_SYNC_SOURCE_CONFIG),
+        catalog,
+        indexFactory,
+        Optional.empty(),
+        (syncConfig) -> Optional.empty(),
+        meterRegistry,
+        mocks.replicationGate,
+        initExecutor,
+        Executors.fixedSizeThreadPool("lifecycle", 1, meterRegistry),
+        Executors.fixedSizeThreadPool("blobstore", 1, meterRegistry),
+        Optional.empty(),
+        Clock.systemUTC(),
+        Optional.of(journalPath));
+  }
+
   // ==================== MaterializedViewManager Propagation Tests ====================
 
   private DefaultLifecycleManager createLifecycleManagerWithMatViewManager(
@@ -3,7 +3,9 @@ package com.xgen.mongot.lifecycle;
 import static com.xgen.mongot.util.FunctionalUtils.nopConsumer;
 import static com.xgen.testing.mongot.mock.index.IndexFactory.mockIndexFactory;
 import static com.xgen.testing.mongot.mock.index.IndexGeneration.mockIndexGeneration;
+import static com.xgen.testing.mongot.mock.index.SearchIndex.mockReplicationLag;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -28,11 +30,15 @@ import com.xgen.mongot.index.InitializedIndex;
 import com.xgen.mongot.index.blobstore.BlobstoreSnapshotterManager;
 import com.xgen.mongot.index.blobstore.IndexBlobstoreSnapshotter;
 import com.xgen.mongot.index.status.IndexStatus;
+import com.xgen.mongot.index.version.GenerationId;
 import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.mongot.replication.ReplicationManager;
 import com.xgen.mongot.replication.mongodb.MongoDbReplicationManager;
+import com.xgen.mongot.util.FutureUtils;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
@@ -309,6 +315,72 @@ public class IndexLifecycleManagerTest {
     assertEquals(0, mocks.metrics.indexesInInitializedState.get());
   }
 
+  @Test
+  public void testUnloadAndReopen() throws Exception {
+    Mocks mocks = Mocks.create();
+    GenerationId generationId = mocks.indexGeneration.getGenerationId();
+    when(mocks.replicationManager.unload(generationId)).thenReturn(FutureUtils.COMPLETED_FUTURE);
+    assertTrue(waitForState(mocks.indexLifecycleManager, IndexLifecycleManager.State.RUNNING));
+    InitializedIndex initializedIndex =
+        mocks.initializedIndexCatalog.getIndex(generationId).orElseThrow();
+
+    mocks.indexLifecycleManager.unload().get();
+    assertEquals(IndexLifecycleManager.State.UNLOADED, mocks.indexLifecycleManager.getState());
+    assertEquals(1, mocks.metrics.indexesInUnloadedState.get());
+    assertFalse(mocks.initializedIndexCatalog.getIndex(generationId).isPresent());
+    assertTrue(mocks.initializedIndexCatalog.getUnloadedSince(generationId).isPresent());
+    verify(mocks.replicationManager).unload(generationId);
+    verify(initializedIndex).unload();
+
+    // A query starts reopening the index and restarting its replication, without waiting for it.
+    assertFalse(mocks.initializedIndexCatalog.getIndexForQuery(generationId).isPresent());
+    assertTrue(waitForState(mocks.indexLifecycleManager, IndexLifecycleManager.State.RUNNING));
+    assertEquals(0, mocks.metrics.indexesInUnloadedState.get());
+    assertEquals(0, mocks.metrics.indexesInInitializedState.get());
+
+    // Queries are served once the replication of the reopened index caught up.
+    InitializedIndex reopenedIndex =
+        mocks.initializedIndexCatalog.getIndex(generationId).orElseThrow();
+    assertTrue(mocks.initializedIndexCatalog.isUnloaded(generationId));
+    mockReplicationLag(reopenedIndex, Instant.now(), Duration.ZERO);
+    assertEquals(
+        Optional.of(reopenedIndex), mocks.initializedIndexCatalog.getIndexForQuery(generationId));
+    assertFalse(mocks.initializedIndexCatalog.getUnloadedSince(generationId).isPresent());
+    verify(mocks.replicationManager, times(2)).add(mocks.indexGeneration);
+    verify(mocks.snapshotterManager, times(1)).add(mocks.indexGeneration);
+  }
+
+  @Test
+  public void testUnloadRequiresSteadyState() {
+    Mocks mocks = Mocks.create();
+    GenerationId generationId = mocks.indexGeneration.getGenerationId();
+    assertTrue(waitForState(mocks.indexLifecycleManager, IndexLifecycleManager.State.RUNNING));
+    mocks.indexGeneration.getIndex().setStatus(IndexStatus.initialSync());
+
+    mocks.indexLifecycleManager.unload();
+    assertEquals(IndexLifecycleManager.State.RUNNING, mocks.indexLifecycleManager.getState());
+    assertTrue(mocks.initializedIndexCatalog.getIndex(generationId).isPresent());
+    verify(mocks.replicationManager, never()).unload(any());
+  }
+
+  @Test
+  public void testDropUnloaded() throws Exception {
+    Mocks mocks = Mocks.create();
+    GenerationId generationId = mocks.indexGeneration.getGenerationId();
+    when(mocks.replicationManager.unload(generationId)).thenReturn(FutureUtils.COMPLETED_FUTURE);
+    assertTrue(waitForState(mocks.indexLifecycleManager, IndexLifecycleManager.State.RUNNING));
+    mocks.indexLifecycleManager.unload().get();
+
+    mocks.indexLifecycleManager.drop().get();
+    assertEquals(IndexLifecycleManager.State.DROPPED, mocks.indexLifecycleManager.getState());
+    assertEquals(0, mocks.metrics.indexesInUnloadedState.get());
+    assertFalse(mocks.initializedIndexCatalog.getUnloadedSince(generationId).isPresent());
+    assertFalse(mocks.initializedIndexCatalog.getIndexForQuery(generationId).isPresent());
+    // The index is not replicated while unloaded, so it is dropped by the lifecycle manager.
+    verify(mocks.replicationManager, never()).dropIndex(any());
+    verify(mocks.indexGeneration.getIndex()).drop();
+  }
+
   @Test
   public void testBlobstoreSnapshotter() throws BlobstoreException {
     {
@@ -0,0 +1,95 @@
+package com.xgen.mongot.lifecycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.xgen.mongot.metrics.MetricsFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.Test;
+
+public class InitializationSchedulerTest {
+
+  private static final InitializationScheduler.Priority UNUSED =
+      new InitializationScheduler.Priority(0, false, 0);
+
+  @Test
+  public void testRunsTasksInPriorityOrder() {
+    List<Runnable> submitted = new ArrayList<>();
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    InitializationScheduler scheduler =
+        new InitializationScheduler(
+            submitted::add, new MetricsFactory("lifecycle", meterRegistry));
+
+    List<String> ran = new ArrayList<>();
+    scheduler.withPriority(UNUSED).execute(() -> ran.add("new"));
+    scheduler
+        .withPriority(new InitializationScheduler.Priority(0, true, 100))
+        .execute(() -> ran.add("large"));
+    scheduler
+        .withPriority(new InitializationScheduler.Priority(0, true, 10))
+        .execute(() -> ran.add("small"));
+    scheduler
+        .withPriority(new InitializationScheduler.Priority(5, false, 100))
+        .execute(() -> ran.add("queried"));
+    scheduler.withPriority(UNUSED).execute(() -> ran.add("last"));
+    assertEquals(
+        5.0,
+        meterRegistry.get("lifecycle.indexesPendingInitialization").gauge().value(),
+        0.0);
+
+    submitted.forEach(Runnable::run);
+    assertEquals(List.of("queried", "small", "large", "new", "last"), ran);
+    assertEquals(
+        0.0,
+        meterRegistry.get("lifecycle.indexesPendingInitialization").gauge().value(),
+        0.0);
+  }
+
+  @Test
+  public void testHeldTasksRunInPriorityOrderOnRelease() {
+    InitializationScheduler scheduler =
+        new InitializationScheduler(
+            Runnable::run, new MetricsFactory("lifecycle", new SimpleMeterRegistry()));
+
+    List<String> ran = new ArrayList<>();
+    scheduler.withPriority(UNUSED).execute(() -> ran.add("unheld"));
+    assertEquals(List.of("unheld"), ran);
+
+    scheduler.hold();
+    scheduler.withPriority(UNUSED).execute(() -> ran.add("new"));
+    scheduler
+        .withPriority(new InitializationScheduler.Priority(0, true, 10))
+        .execute(() -> ran.add("small"));
+    scheduler
+        .withPriority(new InitializationScheduler.Priority(5, false, 100))
+        .execute(() -> ran.add("queried"));
+    assertEquals(List.of("unheld"), ran);
+
+    scheduler.release();
+    assertEquals(List.of("unheld", "queried", "small", "new"), ran);
+  }
+
+  @Test
+  public void testRejectedTaskIsNotQueued() {
+    Executor rejecting =
+        runnable -> {
+          throw new RejectedExecutionException();
+        };
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    InitializationScheduler scheduler =
+        new InitializationScheduler(rejecting, new MetricsFactory("lifecycle", meterRegistry));
+
+    assertThrows(
+        RejectedExecutionException.class,
+        () -> scheduler.withPriority(UNUSED).execute(() -> {}));
+    assertEquals(
+        0.0,
+        meterRegistry.get("lifecycle.indexesPendingInitialization").gauge().value(),
+        0.0);
+  }
+}
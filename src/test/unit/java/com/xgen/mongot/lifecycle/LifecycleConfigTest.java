@@ -33,12 +33,13 @@ public class LifecycleConfigTest {
 
     private static BsonSerializationTestSuite.TestSpec<LifecycleConfig> fullConfig() {
       return BsonSerializationTestSuite.TestSpec.create(
-          "full config", LifecycleConfig.create(true, Optional.of(4)));
+          "full config", LifecycleConfig.create(true, Optional.of(4), Optional.of(30)));
     }
 
     private static BsonSerializationTestSuite.TestSpec<LifecycleConfig> noInitializationThreads() {
       return BsonSerializationTestSuite.TestSpec.create(
-          "no init executor threads", LifecycleConfig.create(true, Optional.empty()));
+          "no init executor threads",
+          LifecycleConfig.create(true, Optional.empty(), Optional.empty()));
     }
 
     @Test
@@ -52,6 +53,7 @@ public class LifecycleConfigTest {
     public void testConfigDefault() {
       var config = LifecycleConfig.getDefault();
       Assert.assertEquals(true, config.useLifecycleManager);
+      Assert.assertEquals(Optional.empty(), config.coldIndexIdleMinutes);
     }
   }
 }
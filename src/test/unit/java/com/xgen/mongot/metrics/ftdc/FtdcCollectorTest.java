@@ -94,13 +94,78 @@ public class FtdcCollectorTest {
   }
 
   /**
-   * We we add a sample with a new schema, we expect the collector to return the previous chunk, so
-   * we can flush it.
+   * When we add a sample with a new metric, we expect the collector to append the metric to the
+   * current chunk, with its first value for the samples collected before it appeared.
    */
   @Test
-  public void testSchemaChangesOnCollectNeedsFlush() {
+  public void testAddedMetricIsAppendedToChunk() {
     BsonDocument firstDocument = docWithFoo(4);
-    BsonDocument secondDocument = docWithBar(5);
+    addSample(firstDocument);
+    var needsFlush = addSample(docWithFoo(5).append("bar", new BsonInt32(30)));
+    Assert.assertTrue(needsFlush.isEmpty());
+    addSample(docWithFoo(6).append("bar", new BsonInt32(31)));
+
+    var chunk = getCurrentChunk();
+
+    Assert.assertEquals(
+        Map.of("foo", List.of(4L, 5L, 6L), "bar", List.of(30L, 30L, 31L)), chunk.metrics());
+    Assert.assertEquals(
+        firstDocument
+            .clone()
+            .append("bar", new BsonInt32(30))
+            .append(
+                FtdcCollector.SAMPLE_RANGES_KEY, new BsonDocument("bar", new BsonString("1-3"))),
+        chunk.schema());
+    Assert.assertEquals(List.of("foo", "bar"), List.copyOf(chunk.metrics().keySet()));
+  }
+
+  /** A metric missing from a sample repeats its last value for the rest of the chunk. */
+  @Test
+  public void testRemovedMetricRepeatsLastValue() {
+    BsonDocument firstDocument = docWithFoo(4).append("bar", new BsonInt64(30));
+    addSample(firstDocument);
+    var needsFlush = addSample(docWithBar(31));
+    Assert.assertTrue(needsFlush.isEmpty());
+    addSample(docWithBar(32));
+
+    var chunk = getCurrentChunk();
+
+    Assert.assertEquals(
+        Map.of("foo", List.of(4L, 4L, 4L), "bar", List.of(30L, 31L, 32L)), chunk.metrics());
+    Assert.assertEquals(
+        firstDocument
+            .clone()
+            .append(
+                FtdcCollector.SAMPLE_RANGES_KEY, new BsonDocument("foo", new BsonString("0-1"))),
+        chunk.schema());
+  }
+
+  /** A metric that is sampled again after missing from samples has a range per sampled run. */
+  @Test
+  public void testReappearingMetricHasSampleRangePerRun() {
+    addSample(docWithFoo(4).append("bar", new BsonInt64(30)));
+    addSample(docWithBar(31));
+    addSample(docWithFoo(5).append("bar", new BsonInt64(32)));
+    addSample(docWithBar(33));
+
+    var chunk = getCurrentChunk();
+
+    Assert.assertEquals(
+        Map.of("foo", List.of(4L, 4L, 5L, 5L), "bar", List.of(30L, 31L, 32L, 33L)),
+        chunk.metrics());
+    Assert.assertEquals(
+        new BsonDocument("foo", new BsonString("0-1,2-3")),
+        chunk.schema().getDocument(FtdcCollector.SAMPLE_RANGES_KEY));
+  }
+
+  /**
+   * When we add a sample with a new metric that can't be appended to the schema, we expect the
+   * collector to return the previous chunk, so we can flush it.
+   */
+  @Test
+  public void testConflictingSchemaChangeOnCollectNeedsFlush() {
+    BsonDocument firstDocument = docWithFoo(4).append("bar", new BsonString("not a metric"));
+    BsonDocument secondDocument = docWithFoo(5).append("bar", new BsonInt64(30));
 
     addSample(firstDocument);
     var chunk =
@@ -112,6 +177,100 @@ public class FtdcCollectorTest {
 
     MetricChunk secondChunk = getCurrentChunk();
     Assert.assertEquals(secondDocument, secondChunk.schema());
+    Assert.assertEquals(Map.of("foo", List.of(5L), "bar", List.of(30L)), secondChunk.metrics());
+  }
+
+  /** A written sample is collected like the document with the same values. */
+  @Test
+  public void testWrittenSampleIsCollectedLikeDocument() {
+    FtdcCollector.Sample firstSample =
+        writer -> {
+          writer.putInt64("start", 1L);
+          writer.putDouble("foo", 4.5);
+          writer.putValue("name", new BsonString("not a metric"));
+        };
+    this.collector.collect(firstSample, EPOCH_TIME);
+    this.collector.collect(
+        writer -> {
+          writer.putInt64("start", 2L);
+          writer.putDouble("foo", 5.5);
+          writer.putInt32("bar", 30);
+          writer.putValue("baz", new BsonDocument("qux", new BsonInt32(40)));
+        },
+        EPOCH_TIME);
+
+    var chunk = getCurrentChunk();
+
+    Assert.assertEquals(
+        Map.of(
+            "start", List.of(1L, 2L),
+            "foo", List.of(4L, 5L),
+            "bar", List.of(30L, 30L),
+            "baz.qux", List.of(40L, 40L)),
+        chunk.metrics());
+    Assert.assertEquals(
+        FtdcTestUtil.toDocument(firstSample)
+            .append("bar", new BsonInt32(30))
+            .append("baz.qux", new BsonInt32(40)),
+        chunk.schema());
+  }
+
+  /** A written sample that conflicts with the schema is written again into the new chunk. */
+  @Test
+  public void testConflictingWrittenSampleStartsNewChunk() {
+    addSample(docWithFoo(4).append("bar", new BsonString("not a metric")));
+    FtdcCollector.Sample secondSample =
+        writer -> {
+          writer.putInt32("foo", 5);
+          writer.putInt64("bar", 30L);
+        };
+
+    var chunk = this.collector.collect(secondSample, EPOCH_TIME);
+
+    Assert.assertEquals(Map.of("foo", List.of(4L)), chunk.orElseThrow().metrics());
+    MetricChunk secondChunk = getCurrentChunk();
+    Assert.assertEquals(FtdcTestUtil.toDocument(secondSample), secondChunk.schema());
+    Assert.assertEquals(Map.of("foo", List.of(5L), "bar", List.of(30L)), secondChunk.metrics());
+  }
+
+  @Test
+  public void testNewChunkOnlyContainsMetricsOfFirstSample() {
+    addSample(docWithFoo(4));
+    addSample(docWithBar(30));
+    this.collector.clear();
+
+    BsonDocument firstDocument = docWithBar(31);
+    addSample(firstDocument);
+
+    var chunk = getCurrentChunk();
+    Assert.assertEquals(Map.of("bar", List.of(31L)), chunk.metrics());
+    Assert.assertEquals(firstDocument, chunk.schema());
+  }
+
+  @Test
+  public void testManySamplesAndMetrics() {
+    int numMetrics = 100;
+    int numSamples = 40;
+    for (int sample = 0; sample < numSamples; sample++) {
+      BsonDocument doc = new BsonDocument();
+      // every sample adds a metric, beyond the initial capacity of the collector.
+      for (int metric = 0; metric < numMetrics / 2 + sample; metric++) {
+        doc.append("metric" + metric, new BsonInt64((long) sample * metric));
+      }
+      addSample(doc);
+    }
+
+    var metrics = getCurrentChunk().metrics();
+    Assert.assertEquals(numMetrics / 2 + numSamples - 1, metrics.size());
+    for (int metric = 0; metric < metrics.size(); metric++) {
+      List<Long> samples = metrics.get("metric" + metric);
+      Assert.assertEquals(numSamples, samples.size());
+      int firstSample = Math.max(0, metric - numMetrics / 2 + 1);
+      for (int sample = 0; sample < numSamples; sample++) {
+        long expected = (long) Math.max(sample, firstSample) * metric;
+        Assert.assertEquals(expected, (long) samples.get(sample));
+      }
+    }
   }
 
   @Test
@@ -125,8 +284,8 @@ public class FtdcCollectorTest {
     Assert.assertEquals(2, this.collector.getNumSamples());
 
     addSample(docWithBar(0));
-    // schema has changed now we have 1 sample
-    Assert.assertEquals(1, this.collector.getNumSamples());
+    // bar was appended to the current chunk
+    Assert.assertEquals(3, this.collector.getNumSamples());
 
     this.collector.clear();
     Assert.assertEquals(0, this.collector.getNumSamples());
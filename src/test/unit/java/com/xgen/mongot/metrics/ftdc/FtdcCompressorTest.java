@@ -3,9 +3,12 @@ package com.xgen.mongot.metrics.ftdc;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.bson.BsonDocument;
+import org.bson.BsonDouble;
 import org.bson.BsonInt32;
 import org.bson.BsonInt64;
+import org.bson.BsonTimestamp;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -53,6 +56,53 @@ public class FtdcCompressorTest {
     addSampleAndRoundTrip(collector, -2, -2);
   }
 
+  @Test
+  public void testAppendedAndRemovedMetricsRoundTrip() throws Exception {
+    FtdcCollector collector = new FtdcCollector();
+    collector.collect(new BsonDocument("foo", new BsonInt32(1)), 42);
+    collector.collect(
+        new BsonDocument("foo", new BsonInt32(2))
+            .append("nested", new BsonDocument("bar", new BsonDouble(3.5)))
+            .append("timestamp", new BsonTimestamp(7, 8)),
+        43);
+    collector.collect(new BsonDocument("nested", new BsonDocument("bar", new BsonInt64(5))), 44);
+
+    MetricChunk chunk = collector.getCurrentChunk().orElseThrow();
+    Assert.assertEquals(
+        List.of("foo", "nested.bar", "timestamp", "timestamp.inc"),
+        List.copyOf(chunk.metrics().keySet()));
+    assertRoundTrips(chunk);
+
+    // Only the sampled values are decoded, without the values repeated for the other samples.
+    MetricChunk decoded = FtdcDecoder.decodeMetricChunk(FtdcCompressor.compressChunk(chunk));
+    Assert.assertEquals(
+        Map.of(
+            "foo", List.of(1L, 2L),
+            "nested.bar", List.of(3L, 5L),
+            "timestamp", List.of(7L),
+            "timestamp.inc", List.of(8L)),
+        FtdcDecoder.sampledMetrics(decoded));
+  }
+
+  @Test
+  public void testReappearingMetricRoundTrip() throws Exception {
+    FtdcCollector collector = new FtdcCollector();
+    collector.collect(
+        new BsonDocument("foo", new BsonInt32(1)).append("bar", new BsonInt32(1)), 42);
+    collector.collect(new BsonDocument("bar", new BsonInt32(2)), 43);
+    collector.collect(new BsonDocument("bar", new BsonInt32(3)), 44);
+    collector.collect(
+        new BsonDocument("foo", new BsonInt32(4)).append("bar", new BsonInt32(4)), 45);
+
+    MetricChunk chunk = collector.getCurrentChunk().orElseThrow();
+    assertRoundTrips(chunk);
+
+    MetricChunk decoded = FtdcDecoder.decodeMetricChunk(FtdcCompressor.compressChunk(chunk));
+    Assert.assertEquals(
+        Map.of("foo", List.of(1L, 4L), "bar", List.of(1L, 2L, 3L, 4L)),
+        FtdcDecoder.sampledMetrics(decoded));
+  }
+
   private void addSampleAndRoundTrip(FtdcCollector collector, int foo, int bar) throws Exception {
     BsonDocument sample =
         new BsonDocument("foo", new BsonInt32(foo)).append("bar", new BsonInt64(bar));
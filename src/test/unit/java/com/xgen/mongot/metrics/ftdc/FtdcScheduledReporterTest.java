@@ -8,6 +8,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -93,7 +94,7 @@ public class FtdcScheduledReporterTest {
   }
 
   @Test
-  public void createMeterName_gauge_sortsTags() {
+  public void createMeterName_gauge_sortsTags() throws IOException {
     Ftdc ftdc = mockFtdc();
     var meterRegistry = new SimpleMeterRegistry();
     var reporter = new FtdcScheduledReporter.Reporter(meterRegistry, meterRegistry, ftdc);
@@ -115,7 +116,7 @@ public class FtdcScheduledReporterTest {
   }
 
   @Test
-  public void createMeterName_counter_sortsTags() {
+  public void createMeterName_counter_sortsTags() throws IOException {
     Ftdc ftdc = mockFtdc();
     var meterRegistry = new SimpleMeterRegistry();
     var reporter = new FtdcScheduledReporter.Reporter(meterRegistry, meterRegistry, ftdc);
@@ -128,7 +129,7 @@ public class FtdcScheduledReporterTest {
   }
 
   @Test
-  public void createMeterName_returnsCachedValue() {
+  public void createMeterName_returnsCachedValue() throws IOException {
     Ftdc ftdc = mockFtdc();
     var meterRegistry = new SimpleMeterRegistry();
     var reporter = new FtdcScheduledReporter.Reporter(meterRegistry, meterRegistry, ftdc);
@@ -160,6 +161,26 @@ public class FtdcScheduledReporterTest {
             anyLong());
   }
 
+  @Test
+  public void testReportsMetersAddedAndRemovedBetweenReports() throws Exception {
+    var ftdc = mockFtdc();
+    var meterRegistry = new SimpleMeterRegistry();
+    var reporter = new FtdcScheduledReporter.Reporter(meterRegistry, meterRegistry, ftdc);
+
+    Counter foo = meterRegistry.counter("foo");
+    reporter.report();
+    meterRegistry.counter("bar");
+    meterRegistry.remove(foo);
+    reporter.report();
+
+    ArgumentCaptor<BsonDocument> docCaptor = ArgumentCaptor.forClass(BsonDocument.class);
+    verify(ftdc, times(2)).addSample(docCaptor.capture(), anyLong());
+    String fooKey = getFormattedKey("foo", Optional.empty());
+    String barKey = getFormattedKey("bar", Optional.empty());
+    assertEquals(List.of("start", fooKey), List.copyOf(docCaptor.getAllValues().get(0).keySet()));
+    assertEquals(List.of("start", barKey), List.copyOf(docCaptor.getAllValues().get(1).keySet()));
+  }
+
   @Test
   public void testReportsGauge() throws IOException {
     var ftdc = mockFtdc();
@@ -1068,11 +1089,21 @@ public class FtdcScheduledReporterTest {
     verify(registryWithCustomMeter, times(1)).getMeters();
 
     // Verify that ftdc.addSample was NOT called (because AssertionError was thrown)
-    verifyNoInteractions(ftdc);
+    verify(ftdc, never()).addSample(any(), anyLong());
   }
 
-  private Ftdc mockFtdc() {
-    return Mockito.mock(Ftdc.class);
+  private Ftdc mockFtdc() throws IOException {
+    Ftdc ftdc = Mockito.mock(Ftdc.class);
+    // Samples written into the collector are verified as the documents they stand for.
+    Mockito.doAnswer(
+            invocation -> {
+              ftdc.addSample(
+                  FtdcTestUtil.toDocument(invocation.getArgument(0)), invocation.getArgument(1));
+              return null;
+            })
+        .when(ftdc)
+        .writeSample(any(), anyLong());
+    return ftdc;
   }
 
   private String getFormattedKey(String meterName, Optional<Tags> tags) {
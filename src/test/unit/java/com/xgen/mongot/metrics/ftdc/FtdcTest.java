@@ -14,16 +14,23 @@ import com.xgen.mongot.util.Bytes;
 import com.xgen.testing.TestUtils;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
+import jdk.jfr.Recording;
 import org.bson.BsonDocument;
 import org.bson.BsonInt32;
 import org.bson.BsonInt64;
+import org.bson.BsonString;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -57,17 +64,30 @@ public class FtdcTest {
   }
 
   @Test
-  public void testWritesSamplesOnSchemaChanged() throws Exception {
+  public void testAppendsSchemaChangesToCurrentChunk() throws Exception {
     var f = getFtdc();
-    samples(f, 3, 6);
+    samples(f, 3, 5);
 
-    // schema changing:
+    // schema changing, we write an interim file every 3 samples:
     f.addSample(new BsonDocument("bar", new BsonInt32(1)), TIME);
 
-    // should have flushed "foo" metric
-    MetricChunk chunk = chunkForSamples(3, 6);
-    assertMetricChunksWritten(List.of(chunk), FtdcFileType.ARCHIVE);
-    assertInterimFileDoesNotExist();
+    // should not have flushed "foo" metric to the archive
+    assertMetricChunksWritten(List.of(), FtdcFileType.ARCHIVE);
+
+    LinkedHashMap<String, List<Long>> samples = new LinkedHashMap<>();
+    samples.put("foo", List.of(3L, 4L, 4L));
+    samples.put("bar", List.of(1L, 1L, 1L));
+    MetricChunk chunk =
+        new MetricChunk(
+            new BsonDocument("foo", new BsonInt32(3))
+                .append("bar", new BsonInt32(1))
+                .append(
+                    FtdcCollector.SAMPLE_RANGES_KEY,
+                    new BsonDocument("foo", new BsonString("0-2"))
+                        .append("bar", new BsonString("2-3"))),
+            samples,
+            TIME);
+    assertMetricChunksWritten(List.of(chunk), FtdcFileType.INTERIM);
   }
 
   @Test
@@ -80,14 +100,13 @@ public class FtdcTest {
     // the delta between (MAX_VALUE - MIN_VALUE) overflows to -1. But we will overflow when we
     // decode the chunk too (because MIN_VALUE + (-1) == MAX_VALUE) so we should be consistent.
 
-    // change schema to force a flush:
-    f.addSample(new BsonDocument("bar", new BsonInt32(1)), TIME);
+    // a third sample forces an interim flush:
+    f.addSample(new BsonDocument("foo", new BsonInt64(Long.MIN_VALUE)), TIME);
 
-    // should have flushed "foo" metric
     LinkedHashMap<String, List<Long>> samples = new LinkedHashMap<>();
-    samples.put("foo", List.of(Long.MIN_VALUE, Long.MAX_VALUE));
+    samples.put("foo", List.of(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE));
     MetricChunk chunk = new MetricChunk(firstDocument, samples, TIME);
-    assertMetricChunksWritten(List.of(chunk), FtdcFileType.ARCHIVE);
+    assertMetricChunksWritten(List.of(chunk), FtdcFileType.INTERIM);
   }
 
   @Test
@@ -170,14 +189,14 @@ public class FtdcTest {
     FtdcCollector ftdcCollector = spy(new FtdcCollector());
     var f = new Ftdc(cfg, fileManager, ftdcCollector);
 
-    f.addSample(new BsonDocument("foo", new BsonInt32(1)), 42);
+    samples(f, 0, MAX_NUM_INTERIM_SAMPLES - 1);
 
-    doThrow(new IOException("boom")).when(fileManager).writeAndClearInterim(any());
+    doThrow(new IOException("boom")).when(fileManager).replaceInterim(any());
 
     clearInvocations(ftdcCollector);
-    // we cause an archive flush due to a schema change
+    // we cause an interim flush
     Assert.assertThrows(
-        IOException.class, () -> f.addSample(new BsonDocument("changed", new BsonInt32(1)), 42));
+        IOException.class, () -> f.addSample(new BsonDocument("foo", new BsonInt32(1)), 42));
 
     // make sure we cleaned the ftdcCollector due to the exception.
     verify(ftdcCollector).clear();
@@ -202,6 +221,92 @@ public class FtdcTest {
     verify(ftdcCollector, atLeastOnce()).clear();
   }
 
+  @Test
+  public void testWritesChunksOnWriteExecutor() throws Exception {
+    List<Runnable> writes = new ArrayList<>();
+    var f =
+        Ftdc.initialize(
+            getConfig(), new FtdcMetadata.Builder().build(), Optional.empty(), writes::add);
+
+    samples(f, 0, MAX_NUM_INTERIM_SAMPLES);
+    // the chunk is only compressed and written by the executor.
+    Assert.assertEquals(1, writes.size());
+    assertInterimFileDoesNotExist();
+
+    // an interim chunk is not queued behind another one.
+    samples(f, MAX_NUM_INTERIM_SAMPLES, 2 * MAX_NUM_INTERIM_SAMPLES);
+    Assert.assertEquals(1, writes.size());
+
+    writes.remove(0).run();
+    assertMetricChunksWritten(
+        List.of(chunkForSamples(0, MAX_NUM_INTERIM_SAMPLES)), FtdcFileType.INTERIM);
+  }
+
+  @Test
+  public void testWriteExceptionIsThrownByNextSample() throws Exception {
+    List<Runnable> writes = new ArrayList<>();
+    FtdcFileManager fileManager = mock(FtdcFileManager.class);
+    FtdcCollector ftdcCollector = spy(new FtdcCollector());
+    var f = new Ftdc(getConfig(), fileManager, ftdcCollector, Optional.empty(), writes::add);
+    doThrow(new IOException("boom")).when(fileManager).replaceInterim(any());
+
+    samples(f, 0, MAX_NUM_INTERIM_SAMPLES);
+    writes.remove(0).run();
+
+    clearInvocations(ftdcCollector);
+    IOException exception = Assert.assertThrows(IOException.class, () -> samples(f, 0, 1));
+    Assert.assertEquals("boom", exception.getCause().getMessage());
+    verify(ftdcCollector).clear();
+
+    // the exception is only thrown once.
+    samples(f, 0, 1);
+  }
+
+  @Test
+  public void testDumpsProfileIntoFtdcDirectoryWhenDue() throws Exception {
+    var config =
+        new FtdcConfig(
+            this.dir.getRoot().toPath(),
+            Bytes.ofMebi(100),
+            Bytes.ofMebi(10),
+            MAX_NUM_INTERIM_SAMPLES,
+            MAX_NUM_ARCHIVE_SAMPLES,
+            MAX_NUM_FILES);
+    Duration interval = Duration.ofMinutes(5);
+    try (FtdcProfiler profiler =
+        new FtdcProfiler(
+            () -> new Recording(FtdcProfiler.settings()), interval, Bytes.ofMebi(10), 2, 0)) {
+      var f = Ftdc.initialize(config, new FtdcMetadata.Builder().build(), Optional.of(profiler));
+
+      f.addSample(new BsonDocument("foo", new BsonInt32(0)), interval.toMillis() - 1);
+      Assert.assertEquals(List.of(), profileFiles());
+
+      f.addSample(new BsonDocument("foo", new BsonInt32(1)), interval.toMillis());
+      Assert.assertEquals(1, profileFiles().size());
+      // FTDC archives are still decoded without the profiles in the directory.
+      Assert.assertEquals(
+          List.of(),
+          FtdcDecoder.decodeChunks(
+              FtdcDecoder.readDocs(this.dir.getRoot().toPath(), FtdcFileType.ARCHIVE)));
+
+      // Only the profiler's file limit applies to the profiles, and the oldest one is removed.
+      List<String> firstProfiles = profileFiles();
+      f.addSample(new BsonDocument("foo", new BsonInt32(2)), 2 * interval.toMillis());
+      f.addSample(new BsonDocument("foo", new BsonInt32(3)), 3 * interval.toMillis());
+      Assert.assertEquals(2, profileFiles().size());
+      Assert.assertFalse(profileFiles().containsAll(firstProfiles));
+      Assert.assertTrue(
+          Arrays.stream(Objects.requireNonNull(this.dir.getRoot().list()))
+              .anyMatch(name -> name.startsWith("metrics.")));
+    }
+  }
+
+  private List<String> profileFiles() {
+    return Arrays.stream(Objects.requireNonNull(this.dir.getRoot().list()))
+        .filter(name -> name.startsWith(FtdcProfiler.PROFILE_FILE_PREFIX))
+        .collect(Collectors.toList());
+  }
+
   private void assertMetricChunksWritten(List<MetricChunk> expected, FtdcFileType files)
       throws Exception {
     List<BsonDocument> allDocs = FtdcDecoder.readDocs(this.dir.getRoot().toPath(), files);
@@ -4,7 +4,11 @@ import java.util.Date;
 import org.apache.commons.lang3.time.DateUtils;
 import org.bson.BsonDateTime;
 import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
 import org.bson.BsonString;
+import org.bson.BsonValue;
 import org.junit.Assert;
 
 class FtdcTestUtil {
@@ -33,6 +37,34 @@ class FtdcTestUtil {
     Assert.assertEquals(message, expectedBson, resultBson);
   }
 
+  /** Returns the document a sample stands for, with every value it writes. */
+  static BsonDocument toDocument(FtdcCollector.Sample sample) {
+    BsonDocument document = new BsonDocument();
+    sample.writeTo(
+        new FtdcCollector.SampleWriter() {
+          @Override
+          public void putInt32(String name, int value) {
+            document.append(name, new BsonInt32(value));
+          }
+
+          @Override
+          public void putInt64(String name, long value) {
+            document.append(name, new BsonInt64(value));
+          }
+
+          @Override
+          public void putDouble(String name, double value) {
+            document.append(name, new BsonDouble(value));
+          }
+
+          @Override
+          public void putValue(String name, BsonValue value) {
+            document.append(name, value);
+          }
+        });
+    return document;
+  }
+
   static BsonDocument defaultMetadata() {
     return new BsonDocument()
         .append("_id", new BsonDateTime(new Date().getTime()))
@@ -86,7 +86,8 @@ public class AutoEmbeddingMaterializedViewConfigTest {
               Optional.of(60),
               Optional.of(1000L),
               Optional.of(2000L),
-              Optional.of(3000L)));
+              Optional.of(3000L),
+              Optional.empty()));
     }
 
     @Test
@@ -194,6 +195,7 @@ public class AutoEmbeddingMaterializedViewConfigTest {
               Optional.empty(),
               Optional.empty(),
               Optional.empty(),
+              Optional.empty(),
               Optional.empty());
       assertEquals(Optional.of(50), customConfig.getMvWriteRateLimitRps());
 
@@ -225,9 +227,48 @@ public class AutoEmbeddingMaterializedViewConfigTest {
                   Optional.empty(),
                   Optional.empty(),
                   Optional.empty(),
+                  Optional.empty(),
                   Optional.empty()));
     }
 
+    @Test
+    public void testEmbeddingReuseStoreCapacityBytes_disabledByDefaultAndValidated() {
+      assertEquals(
+          Optional.empty(),
+          AutoEmbeddingMaterializedViewConfig.getDefault().embeddingReuseStoreCapacityBytes);
+
+      assertThrows(
+          IllegalArgumentException.class,
+          () ->
+              AutoEmbeddingMaterializedViewConfig.create(
+                  CommonReplicationConfig.defaultGlobalReplicationConfig(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.empty(),
+                  Optional.of(0L)));
+    }
+
     @Test
     public void testToBson_withAndWithoutMvWriteRateLimitRps() {
       AutoEmbeddingMaterializedViewConfig configWith =
@@ -256,6 +297,7 @@ public class AutoEmbeddingMaterializedViewConfigTest {
               Optional.empty(),
               Optional.empty(),
               Optional.empty(),
+              Optional.empty(),
               Optional.empty());
       BsonDocument bsonWith = configWith.toBson();
       assertTrue(
@@ -303,6 +345,7 @@ public class AutoEmbeddingMaterializedViewConfigTest {
               Optional.empty(),
               Optional.empty(),
               Optional.empty(),
+              Optional.empty(),
               Optional.empty());
       assertEquals(8, config.matViewWriterMaxConnections);
     }
@@ -339,6 +382,7 @@ public class AutoEmbeddingMaterializedViewConfigTest {
               Optional.empty(),
               Optional.empty(),
               Optional.empty(),
+              Optional.empty(),
               Optional.empty());
       assertEquals(4, config.matViewWriterMaxConnections);
     }
@@ -371,7 +415,8 @@ public class AutoEmbeddingMaterializedViewConfigTest {
               Optional.empty(),
               Optional.of(5000L),
               Optional.of(15000L),
-              Optional.of(3000L));
+              Optional.of(3000L),
+              Optional.empty());
       assertEquals(5000L, config.leaseManagerHeartbeatIntervalMs);
       assertEquals(15000L, config.materializedViewStatusRefreshIntervalMs);
       assertEquals(3000L, config.materializedViewOptimeUpdateIntervalMs);
@@ -405,7 +450,8 @@ public class AutoEmbeddingMaterializedViewConfigTest {
               Optional.empty(),
               Optional.of(0L),
               Optional.of(0L),
-              Optional.of(0L));
+              Optional.of(0L),
+              Optional.empty());
       assertEquals(30_000L, config.leaseManagerHeartbeatIntervalMs);
       assertEquals(30_000L, config.materializedViewStatusRefreshIntervalMs);
       assertEquals(10_000L, config.materializedViewOptimeUpdateIntervalMs);
@@ -439,7 +485,8 @@ public class AutoEmbeddingMaterializedViewConfigTest {
               Optional.empty(),
               Optional.of(-1L),
               Optional.of(-100L),
-              Optional.of(-50L));
+              Optional.of(-50L),
+              Optional.empty());
       assertEquals(30_000L, config.leaseManagerHeartbeatIntervalMs);
       assertEquals(30_000L, config.materializedViewStatusRefreshIntervalMs);
       assertEquals(10_000L, config.materializedViewOptimeUpdateIntervalMs);
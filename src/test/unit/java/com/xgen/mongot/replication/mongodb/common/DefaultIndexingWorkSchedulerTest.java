@@ -6,6 +6,7 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
@@ -814,6 +815,83 @@ public class DefaultIndexingWorkSchedulerTest {
     verify(indexer, timeout(500).times(0)).updateCommitUserData(any());
   }
 
+  @Test
+  public void testChunkSplitsBatchAcrossThreads() {
+    List<DocumentEvent> events = deleteEvents(100);
+
+    List<List<DocumentEvent>> chunks = DefaultIndexingWorkScheduler.chunk(events, 4);
+
+    assertEquals(List.of(25, 25, 25, 25), chunks.stream().map(List::size).toList());
+    assertEquals(events, chunks.stream().flatMap(List::stream).toList());
+  }
+
+  @Test
+  public void testChunkKeepsSmallBatchesInOneTask() {
+    List<DocumentEvent> events = deleteEvents(DefaultIndexingWorkScheduler.MIN_EVENTS_PER_TASK);
+
+    assertEquals(List.of(events), DefaultIndexingWorkScheduler.chunk(events, 4));
+    assertEquals(List.of(), DefaultIndexingWorkScheduler.chunk(List.of(), 4));
+  }
+
+  @Test
+  public void testLargeBatchIndexesEveryEvent() throws Exception {
+    DefaultIndexingWorkScheduler scheduler = scheduler();
+    DocumentIndexer indexer = indexer();
+    List<DocumentEvent> batch = deleteEvents(1000);
+
+    scheduler
+        .schedule(
+            batch,
+            SchedulerQueue.Priority.STEADY_STATE_CHANGE_STREAM,
+            indexer,
+            new GenerationId(new ObjectId(), Generation.CURRENT),
+            Optional.of(new ObjectId()),
+            Optional.of(COMMIT_USER_DATA),
+            IGNORE_METRICS)
+        .get(5, TimeUnit.SECONDS);
+
+    for (DocumentEvent event : batch) {
+      verify(indexer).indexDocumentEvent(event);
+    }
+  }
+
+  @Test
+  public void testFailedEventDoesNotSkipRestOfChunk() throws Exception {
+    DefaultIndexingWorkScheduler scheduler = scheduler();
+    DocumentIndexer indexer = indexer();
+    // Small enough to be indexed by a single task.
+    List<DocumentEvent> batch = deleteEvents(DefaultIndexingWorkScheduler.MIN_EVENTS_PER_TASK);
+    doThrow(new FieldExceededLimitsException("first"))
+        .when(indexer)
+        .indexDocumentEvent(batch.get(0));
+    doThrow(new FieldExceededLimitsException("second"))
+        .when(indexer)
+        .indexDocumentEvent(batch.get(1));
+
+    CompletableFuture<Void> indexingFuture =
+        scheduler.schedule(
+            batch,
+            SchedulerQueue.Priority.STEADY_STATE_CHANGE_STREAM,
+            indexer,
+            new GenerationId(new ObjectId(), Generation.CURRENT),
+            Optional.of(new ObjectId()),
+            Optional.of(COMMIT_USER_DATA),
+            IGNORE_METRICS);
+
+    var e = assertThrows(ExecutionException.class, () -> indexingFuture.get(5, TimeUnit.SECONDS));
+    assertThat(e.getCause()).isInstanceOf(FieldExceededLimitsException.class);
+    assertEquals("first", e.getCause().getMessage());
+    for (DocumentEvent event : batch) {
+      verify(indexer).indexDocumentEvent(event);
+    }
+  }
+
+  private static List<DocumentEvent> deleteEvents(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(id -> DocumentEvent.createDelete(new BsonInt32(id)))
+        .toList();
+  }
+
   private DefaultIndexingWorkScheduler singleIndexingThreadScheduler() {
     MeterRegistry meterRegistry = new SimpleMeterRegistry();
     return new DefaultIndexingWorkScheduler(
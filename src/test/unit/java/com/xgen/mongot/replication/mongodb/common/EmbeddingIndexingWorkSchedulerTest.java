@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.mongodb.MongoNamespace;
 import com.xgen.mongot.embedding.AutoEmbeddingMemoryBudget;
+import com.xgen.mongot.embedding.EmbeddingReuseStore;
 import com.xgen.mongot.embedding.config.MaterializedViewCollectionMetadata;
 import com.xgen.mongot.embedding.config.MaterializedViewCollectionMetadataCatalog;
 import com.xgen.mongot.embedding.exceptions.EmbeddingProviderNonTransientException;
@@ -28,6 +29,7 @@ import com.xgen.mongot.embedding.providers.EmbeddingServiceRegistry;
 import com.xgen.mongot.embedding.providers.configs.EmbeddingModelCatalog;
 import com.xgen.mongot.embedding.providers.configs.EmbeddingModelConfig;
 import com.xgen.mongot.embedding.providers.configs.EmbeddingServiceConfig;
+import com.xgen.mongot.embedding.providers.configs.EmbeddingServiceConfig.ServiceTier;
 import com.xgen.mongot.embedding.utils.AutoEmbeddingDocumentUtils;
 import com.xgen.mongot.index.DocumentEvent;
 import com.xgen.mongot.index.DocumentMetadata;
@@ -68,10 +70,14 @@ import org.bson.BsonString;
 import org.bson.RawBsonDocument;
 import org.bson.types.ObjectId;
 import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class EmbeddingIndexingWorkSchedulerTest {
 
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
   private static final IndexCommitUserData COMMIT_USER_DATA =
       getCommitUserData(new MongoNamespace("db", "collection"), 0);
 
@@ -514,6 +520,107 @@ public class EmbeddingIndexingWorkSchedulerTest {
         .embedAsync(argThat(strings -> strings.size() == 1), any(), any(), any());
   }
 
+  @Test
+  public void testReuseStoreServesRepeatedTextsWithoutEmbedding() throws Exception {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ObjectId indexId = new ObjectId();
+    var generationId =
+        new MaterializedViewGenerationId(
+            indexId, new MaterializedViewGeneration(Generation.CURRENT));
+    var embeddingServiceManager =
+        spy(
+            new EmbeddingServiceManager(
+                List.of(TEST_EMBEDDING_CONFIG_V3_LARGE),
+                new FakeEmbeddingClientFactory(),
+                Executors.singleThreadScheduledExecutor("indexing", meterRegistry),
+                meterRegistry,
+                Optional.empty()));
+    EmbeddingReuseStore reuseStore =
+        EmbeddingReuseStore.open(this.tempFolder.getRoot().toPath(), 1024 * 1024, meterRegistry);
+    EmbeddingIndexingWorkScheduler scheduler =
+        schedulerForMaterializedViewIndexWithReuseStore(
+            Suppliers.ofInstance(embeddingServiceManager), generationId, reuseStore);
+
+    VectorIndexDefinition vectorIndexDefinition =
+        VectorIndexDefinitionBuilder.builder()
+            .withAutoEmbedField(indexId + ".a")
+            .withAutoEmbedField(indexId + ".b")
+            .build();
+    DocumentIndexer indexer = mockDocumentRequiresAutoEmbedding(vectorIndexDefinition);
+    RawBsonDocument rawBsonDoc =
+        BsonUtils.documentToRaw(new BsonDocument(indexId.toString(), createBasicBson()));
+    DocumentEvent event =
+        DocumentEvent.createInsert(
+            DocumentMetadata.fromMetadataNamespace(Optional.of(rawBsonDoc), indexId), rawBsonDoc);
+    DocumentEvent expected =
+        AutoEmbeddingDocumentUtils.buildMaterializedViewDocumentEvent(
+            event,
+            vectorIndexDefinition,
+            expectedAutoEmbeddingsPerField(vectorIndexDefinition.getMappings()),
+            VERSION_ZERO);
+
+    // The store is empty, so both texts miss and are embedded, then stored.
+    scheduleSteadyState(scheduler, event, indexer, generationId).get(5, TimeUnit.SECONDS);
+    verify(indexer, times(1)).indexDocumentEvent(expected);
+    verify(embeddingServiceManager, times(1))
+        .embedAsync(argThat(strings -> strings.size() == 2), any(), any(), any());
+    assertThat(reuseStore.size()).isEqualTo(2);
+
+    // Both texts hit, so the same document is indexed again without calling the provider.
+    scheduleSteadyState(scheduler, event, indexer, generationId).get(5, TimeUnit.SECONDS);
+    verify(indexer, times(2)).indexDocumentEvent(expected);
+    verify(embeddingServiceManager, times(1)).embedAsync(any(), any(), any(), any());
+    reuseStore.close();
+  }
+
+  @Test
+  public void testReuseStoreModelConfigHashIncludesVectorAffectingInputs() {
+    EmbeddingModelConfig base = EmbeddingModelConfig.DEFAULT_EMBEDDING_MODEL_CONFIG;
+    EmbeddingModelConfig.ConsolidatedWorkloadParams params = base.changeStream();
+    var untruncatedParams =
+        new EmbeddingModelConfig.ConsolidatedWorkloadParams(
+            new EmbeddingServiceConfig.VoyageModelConfig(
+                Optional.of(1024),
+                Optional.of(EmbeddingServiceConfig.TruncationOption.NONE),
+                Optional.of(1000),
+                Optional.of(120_000)),
+            params.errorHandlingConfig(),
+            params.credentials(),
+            params.providerEndpoint(),
+            params.rpsPerProvider(),
+            params.tenantCredentials(),
+            params.perTenantCredentials(),
+            params.isDedicatedCluster());
+    EmbeddingModelConfig untruncated =
+        new EmbeddingModelConfig(
+            base.name(),
+            base.provider(),
+            base.useFlexTier(),
+            base.query(),
+            untruncatedParams,
+            untruncatedParams);
+    var baseKey =
+        new EmbeddingIndexingWorkScheduler.EmbedConfigurationForBatch(
+            base, 1024, VectorAutoEmbedQuantization.FLOAT);
+    var untruncatedKey =
+        new EmbeddingIndexingWorkScheduler.EmbedConfigurationForBatch(
+            untruncated, 1024, VectorAutoEmbedQuantization.FLOAT);
+
+    // Change stream and collection scan documents are embedded alike, and share vectors.
+    assertThat(baseKey.reuseStoreModelConfigHash(ServiceTier.CHANGE_STREAM))
+        .isEqualTo(baseKey.reuseStoreModelConfigHash(ServiceTier.COLLECTION_SCAN));
+    // Queries are embedded with a different input type.
+    assertThat(baseKey.reuseStoreModelConfigHash(ServiceTier.QUERY))
+        .isNotEqualTo(baseKey.reuseStoreModelConfigHash(ServiceTier.CHANGE_STREAM));
+    assertThat(untruncatedKey.reuseStoreModelConfigHash(ServiceTier.CHANGE_STREAM))
+        .isNotEqualTo(baseKey.reuseStoreModelConfigHash(ServiceTier.CHANGE_STREAM));
+    assertThat(
+            new EmbeddingIndexingWorkScheduler.EmbedConfigurationForBatch(
+                    base, 512, VectorAutoEmbedQuantization.FLOAT)
+                .reuseStoreModelConfigHash(ServiceTier.CHANGE_STREAM))
+        .isNotEqualTo(baseKey.reuseStoreModelConfigHash(ServiceTier.CHANGE_STREAM));
+  }
+
   @Test
   public void testFilterOnlyUpdateSkipsEmbeddingTransformation()
       throws ExecutionException,
@@ -1226,6 +1333,41 @@ public class EmbeddingIndexingWorkSchedulerTest {
         executor, supplier, matViewCollectionMetadataCatalog, globalBudget, perBatchBudgetBytes);
   }
 
+  private EmbeddingIndexingWorkScheduler schedulerForMaterializedViewIndexWithReuseStore(
+      Supplier<EmbeddingServiceManager> supplier,
+      MaterializedViewGenerationId generationId,
+      EmbeddingReuseStore reuseStore) {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    NamedExecutorService executor = Executors.fixedSizeThreadPool("indexing", 2, meterRegistry);
+    var matViewCollectionMetadataCatalog = new MaterializedViewCollectionMetadataCatalog();
+    matViewCollectionMetadataCatalog.addMetadata(
+        generationId,
+        new MaterializedViewCollectionMetadata(
+            VERSION_ZERO, UUID.randomUUID(), generationId.indexId.toHexString()));
+    return EmbeddingIndexingWorkScheduler.createForMaterializedViewIndex(
+        executor,
+        supplier,
+        matViewCollectionMetadataCatalog,
+        AutoEmbeddingMemoryBudget.createDefault(),
+        EmbeddingIndexingWorkScheduler.PER_BATCH_AUTO_EMBEDDING_MEMORY_BUDGET_BYTES,
+        Optional.of(reuseStore));
+  }
+
+  private static CompletableFuture<Void> scheduleSteadyState(
+      EmbeddingIndexingWorkScheduler scheduler,
+      DocumentEvent event,
+      DocumentIndexer indexer,
+      MaterializedViewGenerationId generationId) {
+    return scheduler.schedule(
+        new ArrayList<>(List.of(event)),
+        SchedulerQueue.Priority.STEADY_STATE_CHANGE_STREAM,
+        indexer,
+        generationId,
+        Optional.of(new ObjectId()),
+        Optional.of(COMMIT_USER_DATA),
+        IGNORE_METRICS);
+  }
+
   private static IndexCommitUserData getCommitUserData(MongoNamespace namespace, int token) {
     return IndexCommitUserData.createChangeStreamResume(
         ChangeStreamResumeInfo.create(namespace, new BsonDocument("token", new BsonInt32(token))),
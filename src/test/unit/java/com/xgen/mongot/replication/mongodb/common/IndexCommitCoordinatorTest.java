@@ -0,0 +1,163 @@
+package com.xgen.mongot.replication.mongodb.common;
+
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.Futures;
+import com.xgen.mongot.index.Index;
+import com.xgen.mongot.index.status.IndexStatus;
+import com.xgen.mongot.util.concurrent.Executors;
+import com.xgen.mongot.util.concurrent.NamedScheduledExecutorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class IndexCommitCoordinatorTest {
+
+  /** Long enough that groups are only committed when the test asks for it. */
+  private static final Duration COMMIT_INTERVAL = Duration.ofHours(1);
+
+  private SimpleMeterRegistry meterRegistry;
+  private NamedScheduledExecutorService executor;
+  private IndexCommitCoordinator coordinator;
+
+  @Before
+  public void setUp() {
+    this.meterRegistry = new SimpleMeterRegistry();
+    this.executor = Executors.singleThreadScheduledExecutor("test", this.meterRegistry);
+    this.coordinator =
+        new IndexCommitCoordinator(this.executor, COMMIT_INTERVAL, this.meterRegistry);
+  }
+
+  @After
+  public void tearDown() {
+    this.coordinator.close();
+    Executors.shutdownOrFail(this.executor);
+  }
+
+  @Test
+  public void testNewIndexesAreCommittedImmediately() throws Exception {
+    DocumentIndexer indexer = mockIndexer(false, 0, false);
+    new PeriodicIndexCommitter(mockIndex(), indexer, this.coordinator);
+
+    awaitCommits();
+
+    verify(indexer).commit();
+  }
+
+  @Test
+  public void testCommittersAreSpreadAcrossGroups() throws Exception {
+    List<DocumentIndexer> indexers =
+        IntStream.range(0, IndexCommitCoordinator.NUM_COMMIT_GROUPS)
+            .mapToObj(i -> register(true, 0, false))
+            .toList();
+
+    this.coordinator.commitNextGroup().get(5, TimeUnit.SECONDS);
+    verify(indexers.get(0)).commit();
+    verify(indexers.get(1), never()).commit();
+
+    for (int i = 1; i < IndexCommitCoordinator.NUM_COMMIT_GROUPS; i++) {
+      this.coordinator.commitNextGroup().get(5, TimeUnit.SECONDS);
+    }
+    for (DocumentIndexer indexer : indexers) {
+      verify(indexer).commit();
+    }
+    Assert.assertEquals(
+        IndexCommitCoordinator.NUM_COMMIT_GROUPS,
+        this.meterRegistry.get("indexCommitCoordinator.groupCommitSize").summary().count());
+  }
+
+  @Test
+  public void testIndexesWithoutUncommittedChangesAreSkipped() throws Exception {
+    DocumentIndexer indexer = register(false, 0, false);
+
+    this.coordinator.commitNextGroup().get(5, TimeUnit.SECONDS);
+
+    verify(indexer, never()).commit();
+    Assert.assertEquals(
+        1.0,
+        this.meterRegistry.get("indexCommitCoordinator.skippedCommits").counter().count(),
+        0.0);
+  }
+
+  @Test
+  public void testCommitsArePrioritisedByUncommittedBytesThenReplicationProgress()
+      throws Exception {
+    // Every group gets one committer before any group gets a second one, so with three full
+    // rounds the first group holds the first committer of every round.
+    DocumentIndexer progressed = register(true, 10, true);
+    registerOtherGroups();
+    DocumentIndexer idle = register(true, 10, false);
+    registerOtherGroups();
+    DocumentIndexer largest = register(true, 1000, false);
+    registerOtherGroups();
+
+    this.coordinator.commitNextGroup().get(5, TimeUnit.SECONDS);
+
+    InOrder inOrder = inOrder(largest, progressed, idle);
+    inOrder.verify(largest).commit();
+    inOrder.verify(progressed).commit();
+    inOrder.verify(idle).commit();
+  }
+
+  @Test
+  public void testClosedCommittersAreNotCommitted() throws Exception {
+    DocumentIndexer indexer = mockIndexer(true, 0, false);
+    PeriodicIndexCommitter committer =
+        new PeriodicIndexCommitter(mockIndex(), indexer, this.coordinator);
+    awaitCommits();
+    clearInvocations(indexer);
+
+    committer.close();
+    this.coordinator.commitNextGroup().get(5, TimeUnit.SECONDS);
+
+    verify(indexer, never()).commit();
+  }
+
+  private void registerOtherGroups() {
+    IntStream.range(1, IndexCommitCoordinator.NUM_COMMIT_GROUPS)
+        .forEach(i -> register(false, 0, false));
+  }
+
+  private DocumentIndexer register(
+      boolean hasUncommittedChanges, long uncommittedBytes, boolean hasReplicationProgress) {
+    DocumentIndexer indexer =
+        mockIndexer(hasUncommittedChanges, uncommittedBytes, hasReplicationProgress);
+    new PeriodicIndexCommitter(mockIndex(), indexer, this.coordinator);
+    // Tests only observe the commits of groups, not the initial commit of every index.
+    awaitCommits();
+    clearInvocations(indexer);
+    return indexer;
+  }
+
+  /** Waits for the commits already submitted to the single commit thread. */
+  private void awaitCommits() {
+    Futures.getUnchecked(this.executor.submit(() -> {}));
+  }
+
+  private static DocumentIndexer mockIndexer(
+      boolean hasUncommittedChanges, long uncommittedBytes, boolean hasReplicationProgress) {
+    DocumentIndexer indexer = mock(DocumentIndexer.class);
+    when(indexer.hasUncommittedChanges()).thenReturn(hasUncommittedChanges);
+    when(indexer.getUncommittedBytes()).thenReturn(uncommittedBytes);
+    when(indexer.hasUncommittedCommitUserData()).thenReturn(hasReplicationProgress);
+    return indexer;
+  }
+
+  private static Index mockIndex() {
+    Index index = mock(Index.class);
+    when(index.getStatus()).thenReturn(new IndexStatus(IndexStatus.StatusCode.STEADY));
+    return index;
+  }
+}
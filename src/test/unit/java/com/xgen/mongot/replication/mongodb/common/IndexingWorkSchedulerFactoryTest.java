@@ -21,6 +21,7 @@ import com.xgen.mongot.util.FieldPath;
 import com.xgen.testing.mongot.index.definition.VectorIndexDefinitionBuilder;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.bson.types.ObjectId;
 import org.junit.Test;
@@ -72,7 +73,8 @@ public class IndexingWorkSchedulerFactoryTest {
             new MaterializedViewCollectionMetadataCatalog(),
             new SimpleMeterRegistry(),
             100,
-            100);
+            100,
+            Optional.empty());
     for (IndexingWorkSchedulerFactory.IndexingStrategy strategy :
         IndexingWorkSchedulerFactory.IndexingStrategy.values()) {
       assertThat(indexingWorkSchedulerFactory.getIndexingWorkSchedulers()).containsKey(strategy);
@@ -48,6 +48,7 @@ public class InitialSyncResumeInfoTest {
           changeStream(),
           changeStreamWithoutResumeToken(),
           bufferless(),
+          bufferlessWithScanRanges(),
           bufferlessNaturalOrder());
     }
 
@@ -87,6 +88,12 @@ public class InitialSyncResumeInfoTest {
                   new BsonTimestamp(1234567890L), new BsonString("a"))));
     }
 
+    private static BsonDeserializationTestSuite.ValidSpec<Optional<InitialSyncResumeInfo>>
+        bufferlessWithScanRanges() {
+      return BsonDeserializationTestSuite.TestSpec.valid(
+          "bufferless with scan ranges", Optional.of(scanRangesResumeInfo()));
+    }
+
     private static BsonDeserializationTestSuite.ValidSpec<Optional<InitialSyncResumeInfo>>
         bufferlessNaturalOrder() {
       return BsonDeserializationTestSuite.TestSpec.valid(
@@ -121,7 +128,7 @@ public class InitialSyncResumeInfoTest {
     /** Test data. */
     @Parameterized.Parameters(name = "{0}")
     public static Iterable<BsonSerializationTestSuite.TestSpec<InitialSyncResumeInfo>> data() {
-      return List.of(bufferless(), bufferlessNaturalOrder());
+      return List.of(bufferless(), bufferlessWithScanRanges(), bufferlessNaturalOrder());
     }
 
     @Test
@@ -136,6 +143,12 @@ public class InitialSyncResumeInfoTest {
               new BsonTimestamp(1234567890L), new BsonString("a")));
     }
 
+    private static BsonSerializationTestSuite.TestSpec<InitialSyncResumeInfo>
+        bufferlessWithScanRanges() {
+      return BsonSerializationTestSuite.TestSpec.create(
+          "bufferless with scan ranges", scanRangesResumeInfo());
+    }
+
     private static BsonSerializationTestSuite.TestSpec<InitialSyncResumeInfo>
         bufferlessNaturalOrder() {
       return BsonSerializationTestSuite.TestSpec.create(
@@ -152,4 +165,14 @@ public class InitialSyncResumeInfoTest {
               Optional.of("testHost")));
     }
   }
+
+  private static BufferlessIdOrderInitialSyncResumeInfo scanRangesResumeInfo() {
+    return new BufferlessIdOrderInitialSyncResumeInfo(
+        new BsonTimestamp(1234567890L),
+        new BsonString("a"),
+        Optional.of(
+            List.of(
+                new IdScanRange(new BsonString("a"), Optional.of(new BsonString("m"))),
+                new IdScanRange(new BsonString("p"), Optional.empty()))));
+  }
 }
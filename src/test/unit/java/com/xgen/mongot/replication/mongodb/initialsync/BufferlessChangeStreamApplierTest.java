@@ -198,6 +198,38 @@ public class BufferlessChangeStreamApplierTest {
     }
   }
 
+  @Test
+  public void testFreshStartRecordsAppliedDocumentsForBulkLoad() throws Exception {
+    BsonTimestamp highWaterMark = new BsonTimestamp(1, 0);
+    BsonTimestamp eventOpTime = new BsonTimestamp(1, 1);
+    IndexDefinition indexDefinition = MOCK_INDEX_DEFINITION_GENERATION.getIndexDefinition();
+    BsonDocument postBatchResumeToken = ChangeStreamUtils.resumeToken(eventOpTime);
+
+    try (Mocks mocks =
+        Mocks.createMocksWithOptime(
+            highWaterMark, Optional.empty(), IGNORE_METRICS, /* isFreshStart= */ true)) {
+      ChangeStreamBatch batch1 =
+          new ChangeStreamBatch(
+              toRawBsonDocuments(
+                  Arrays.asList(
+                      createEventWithOpTime(1, eventOpTime, indexDefinition),
+                      createEventWithOpTime(2, eventOpTime, indexDefinition))),
+              postBatchResumeToken,
+              eventOpTime);
+      ChangeStreamBatch batch2 =
+          new ChangeStreamBatch(Collections.emptyList(), postBatchResumeToken, STOP_AFTER_OP_TIME);
+      when(mocks.changeStreamMongoClient.getNext()).thenReturn(batch1, batch2);
+
+      BsonValue lastScannedToken =
+          enableNaturalOrderScan ? POST_BATCH_RESUME_TOKEN : LAST_SCANNED_ID;
+      mocks.applier.applyEvents(lastScannedToken, STOP_AFTER_OP_TIME, /* continue_sync= */ false);
+
+      Assert.assertFalse(mocks.bulkLoadTracker.isGuaranteedNew(new BsonInt32(1)));
+      Assert.assertFalse(mocks.bulkLoadTracker.isGuaranteedNew(new BsonInt32(2)));
+      Assert.assertTrue(mocks.bulkLoadTracker.isGuaranteedNew(new BsonInt32(3)));
+    }
+  }
+
   // Test that for a resume (isFreshStart=false), the change stream starts at highWaterMark
   // (inclusive) to ensure no events are missed from multi-document transactions.
   @Test
@@ -288,6 +320,8 @@ public class BufferlessChangeStreamApplierTest {
 
     private final BufferlessChangeStreamApplier applier;
 
+    private final BulkLoadTracker bulkLoadTracker = BulkLoadTracker.create();
+
     private final ArgumentCaptor<ChangeStreamAggregateCommand> commandCaptor =
         ArgumentCaptor.forClass(ChangeStreamAggregateCommand.class);
 
@@ -335,7 +369,8 @@ public class BufferlessChangeStreamApplierTest {
                   highWaterMark,
                   metricsFactory,
                   enableNaturalOrderScan,
-                  isFreshStart));
+                  isFreshStart,
+                  isFreshStart ? Optional.of(this.bulkLoadTracker) : Optional.empty()));
     }
 
     @Override
@@ -407,6 +407,65 @@ public class BufferlessCollectionScannerTest {
     Assert.assertFalse(result.getContinueSync());
   }
 
+  @Test
+  public void testScanIndexesInsertsThatMayBeReinserted() throws Exception {
+    Mocks mocks = Mocks.threeDocuments();
+
+    mocks.collectionScanner.scanWithTimeLimit(DEFAULT_SCAN_TIME);
+
+    verify(mocks.documentIndexer, times(3))
+        .indexDocumentEvent(argThat(event -> !event.isGuaranteedNew()));
+  }
+
+  @Test
+  public void testBulkLoadScanIndexesGuaranteedNewInserts() throws Exception {
+    Mocks mocks = Mocks.threeDocuments();
+    BufferlessCollectionScanner bulkLoadScanner =
+        new BufferlessCollectionScanner(
+            Clock.systemUTC(),
+            mocks.context,
+            mocks.mongoClient,
+            enableNaturalOrderScan ? new BsonDocument() : BsonUtils.MIN_KEY,
+            new MetricsFactory("test", new SimpleMeterRegistry()),
+            enableNaturalOrderScan,
+            Optional.of(BulkLoadTracker.create()));
+
+    bulkLoadScanner.scanWithTimeLimit(DEFAULT_SCAN_TIME);
+
+    verify(mocks.documentIndexer, times(3))
+        .indexDocumentEvent(
+            argThat(
+                event ->
+                    event.isGuaranteedNew()
+                        && event.getEventType() == DocumentEvent.EventType.INSERT));
+  }
+
+  @Test
+  public void testBulkLoadScanIndexesAppliedDocumentsAsRegularInserts() throws Exception {
+    Mocks mocks = Mocks.threeDocuments();
+    BulkLoadTracker tracker = BulkLoadTracker.create();
+    tracker.recordApplied(List.of(DocumentEvent.createDelete(new BsonInt32(2))));
+    BufferlessCollectionScanner bulkLoadScanner =
+        new BufferlessCollectionScanner(
+            Clock.systemUTC(),
+            mocks.context,
+            mocks.mongoClient,
+            enableNaturalOrderScan ? new BsonDocument() : BsonUtils.MIN_KEY,
+            new MetricsFactory("test", new SimpleMeterRegistry()),
+            enableNaturalOrderScan,
+            Optional.of(tracker));
+
+    bulkLoadScanner.scanWithTimeLimit(DEFAULT_SCAN_TIME);
+
+    verify(mocks.documentIndexer, times(2))
+        .indexDocumentEvent(argThat(DocumentEvent::isGuaranteedNew));
+    verify(mocks.documentIndexer)
+        .indexDocumentEvent(
+            argThat(
+                event ->
+                    !event.isGuaranteedNew() && event.getDocumentId().equals(new BsonInt32(2))));
+  }
+
   @Test
   public void testDocumentIsSkippedWhenMetadataIsEmptyAndIndexIsCreatedOnView() throws Exception {
 
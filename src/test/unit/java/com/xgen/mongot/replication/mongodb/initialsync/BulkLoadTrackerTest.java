@@ -0,0 +1,35 @@
+package com.xgen.mongot.replication.mongodb.initialsync;
+
+import com.xgen.mongot.index.DocumentEvent;
+import java.util.List;
+import org.bson.BsonInt32;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BulkLoadTrackerTest {
+
+  @Test
+  public void testAppliedDocumentsAreNotGuaranteedNew() {
+    BulkLoadTracker tracker = BulkLoadTracker.create();
+
+    tracker.recordApplied(List.of(DocumentEvent.createDelete(new BsonInt32(1))));
+
+    Assert.assertFalse(tracker.isGuaranteedNew(new BsonInt32(1)));
+    Assert.assertTrue(tracker.isGuaranteedNew(new BsonInt32(2)));
+  }
+
+  @Test
+  public void testNoDocumentIsGuaranteedNewAfterTooManyAppliedDocuments() {
+    BulkLoadTracker tracker = new BulkLoadTracker(2);
+
+    tracker.recordApplied(
+        List.of(
+            DocumentEvent.createDelete(new BsonInt32(1)),
+            DocumentEvent.createDelete(new BsonInt32(2))));
+    Assert.assertTrue(tracker.isGuaranteedNew(new BsonInt32(3)));
+
+    tracker.recordApplied(List.of(DocumentEvent.createDelete(new BsonInt32(3))));
+
+    Assert.assertFalse(tracker.isGuaranteedNew(new BsonInt32(4)));
+  }
+}
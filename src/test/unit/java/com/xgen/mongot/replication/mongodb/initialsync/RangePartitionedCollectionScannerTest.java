@@ -0,0 +1,207 @@
+package com.xgen.mongot.replication.mongodb.initialsync;
+
+import static com.xgen.testing.mongot.mock.index.SearchIndex.IGNORE_METRICS;
+import static com.xgen.testing.mongot.mock.index.SearchIndex.MOCK_INDEX_DEFINITION_GENERATION;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.xgen.mongot.index.DocumentEvent;
+import com.xgen.mongot.metrics.MetricsFactory;
+import com.xgen.mongot.monitor.ToggleGate;
+import com.xgen.mongot.replication.mongodb.common.AggregateCommandCollectionScanMongoClient;
+import com.xgen.mongot.replication.mongodb.common.CollectionScanMongoClient;
+import com.xgen.mongot.replication.mongodb.common.DocumentIndexer;
+import com.xgen.mongot.replication.mongodb.common.IdScanRange;
+import com.xgen.mongot.replication.mongodb.common.IndexCommitUserData;
+import com.xgen.mongot.replication.mongodb.common.IndexingWorkScheduler;
+import com.xgen.mongot.replication.mongodb.common.InitialSyncException;
+import com.xgen.mongot.util.BsonUtils;
+import com.xgen.mongot.util.mongodb.CollectionScanAggregateCommand;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RangePartitionedCollectionScannerTest {
+
+  private static final BsonTimestamp START_OPTIME = new BsonTimestamp(0, 1);
+  private static final Duration DEFAULT_SCAN_TIME = Duration.ofMinutes(5);
+
+  @Test
+  public void testSplitUsesSampleQuantiles() {
+    List<IdScanRange> ranges =
+        RangePartitionedCollectionScanner.split(BsonUtils.MIN_KEY, ids(100, 1), 4);
+
+    Assert.assertEquals(
+        List.of(
+            new IdScanRange(BsonUtils.MIN_KEY, Optional.of(new BsonInt32(26))),
+            new IdScanRange(new BsonInt32(26), Optional.of(new BsonInt32(51))),
+            new IdScanRange(new BsonInt32(51), Optional.of(new BsonInt32(76))),
+            new IdScanRange(new BsonInt32(76), Optional.empty())),
+        ranges);
+  }
+
+  @Test
+  public void testSplitIgnoresScannedAndDuplicateIds() {
+    List<BsonValue> sampledIds = List.of(new BsonInt32(1), new BsonInt32(7), new BsonInt32(7));
+
+    List<IdScanRange> ranges =
+        RangePartitionedCollectionScanner.split(new BsonInt32(5), sampledIds, 4);
+
+    Assert.assertEquals(
+        List.of(
+            new IdScanRange(new BsonInt32(5), Optional.of(new BsonInt32(7))),
+            new IdScanRange(new BsonInt32(7), Optional.empty())),
+        ranges);
+  }
+
+  @Test
+  public void testSplitWithoutSamplesScansSingleRange() {
+    Assert.assertEquals(
+        List.of(new IdScanRange(BsonUtils.MIN_KEY, Optional.empty())),
+        RangePartitionedCollectionScanner.split(BsonUtils.MIN_KEY, List.of(), 4));
+  }
+
+  @Test
+  public void testScanRangesConcurrentlyAndCommitsRangePositions() throws Exception {
+    InitialSyncMongoClient mongoClient = mock(InitialSyncMongoClient.class);
+    when(mongoClient.sampleIds(any(), anyInt())).thenReturn(ids(64, 1));
+    when(mongoClient.getCollectionAggregateCommandMongoClient(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              CollectionScanAggregateCommand command = invocation.getArgument(0);
+              // Only the first range is bounded above, by the median sampled _id.
+              int id = command.getIdUpperBound().isPresent() ? 10 : 40;
+              return singleBatchClient(id);
+            });
+
+    DocumentIndexer documentIndexer =
+        com.xgen.testing.mongot.mock.replication.mongodb.common.DocumentIndexer
+            .mockDocumentIndexer();
+    IndexingWorkScheduler indexingWorkScheduler = mock(IndexingWorkScheduler.class);
+    when(indexingWorkScheduler.schedule(any(), any(), any(), any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              List<DocumentEvent> batch = invocation.getArgument(0);
+              for (DocumentEvent event : batch) {
+                documentIndexer.indexDocumentEvent(event);
+              }
+              Optional<IndexCommitUserData> commitUserData = invocation.getArgument(5);
+              commitUserData.ifPresent(documentIndexer::updateCommitUserData);
+              return CompletableFuture.completedFuture(null);
+            });
+
+    InitialSyncContext context =
+        InitialSyncContext.create(
+                MOCK_INDEX_DEFINITION_GENERATION,
+                indexingWorkScheduler,
+                documentIndexer,
+                IGNORE_METRICS,
+                Optional.empty(),
+                false,
+                false,
+                ToggleGate.opened())
+            .withProgress(START_OPTIME);
+
+    BufferlessCollectionScanner.Result result =
+        new RangePartitionedCollectionScanner(
+                Clock.systemUTC(),
+                context,
+                mongoClient,
+                BsonUtils.MIN_KEY,
+                Optional.empty(),
+                2,
+                new MetricsFactory("test", new SimpleMeterRegistry()),
+                Optional.of(BulkLoadTracker.create()))
+            .scanWithTimeLimit(DEFAULT_SCAN_TIME);
+
+    verify(mongoClient, times(2)).getCollectionAggregateCommandMongoClient(any(), any(), any());
+    verify(documentIndexer, times(2)).indexDocumentEvent(any());
+    verify(documentIndexer, times(2)).updateCommitUserData(any());
+    Assert.assertFalse(result.getContinueSync());
+    Assert.assertEquals(Optional.of(List.of()), result.getScanRanges());
+  }
+
+  @Test
+  public void testResumedRangesAreScannedFromTheirPositions() throws Exception {
+    InitialSyncMongoClient mongoClient = mock(InitialSyncMongoClient.class);
+    CollectionScanMongoClient<InitialSyncException> client = singleBatchClient(20);
+    when(mongoClient.getCollectionAggregateCommandMongoClient(any(), any(), any()))
+        .thenReturn(client);
+    IndexingWorkScheduler indexingWorkScheduler = mock(IndexingWorkScheduler.class);
+    when(indexingWorkScheduler.schedule(any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    InitialSyncContext context =
+        InitialSyncContext.create(
+                MOCK_INDEX_DEFINITION_GENERATION,
+                indexingWorkScheduler,
+                com.xgen.testing.mongot.mock.replication.mongodb.common.DocumentIndexer
+                    .mockDocumentIndexer(),
+                IGNORE_METRICS,
+                Optional.empty(),
+                false,
+                false,
+                ToggleGate.opened())
+            .withProgress(START_OPTIME);
+    IdScanRange resumedRange = new IdScanRange(new BsonInt32(15), Optional.of(new BsonInt32(30)));
+
+    new RangePartitionedCollectionScanner(
+            Clock.systemUTC(),
+            context,
+            mongoClient,
+            new BsonInt32(15),
+            Optional.of(List.of(resumedRange)),
+            4,
+            new MetricsFactory("test", new SimpleMeterRegistry()),
+            Optional.empty())
+        .scanWithTimeLimit(DEFAULT_SCAN_TIME);
+
+    verify(mongoClient, times(0)).sampleIds(any(), anyInt());
+    verify(mongoClient)
+        .getCollectionAggregateCommandMongoClient(
+            argThat(
+                command ->
+                    command.getLastScannedId().equals(Optional.of(new BsonInt32(15)))
+                        && command.getIdUpperBound().equals(Optional.of(new BsonInt32(30)))),
+            any(),
+            any());
+  }
+
+  private static List<BsonValue> ids(int count, int first) {
+    return IntStream.range(first, first + count)
+        .mapToObj(id -> (BsonValue) new BsonInt32(id))
+        .toList();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static CollectionScanMongoClient<InitialSyncException> singleBatchClient(int id)
+      throws InitialSyncException {
+    CollectionScanMongoClient<InitialSyncException> client =
+        mock(AggregateCommandCollectionScanMongoClient.class);
+    when(client.hasNext()).thenReturn(true).thenReturn(false);
+    when(client.getNext())
+        .thenReturn(
+            List.of(
+                BsonUtils.documentToRaw(
+                    new BsonDocument("_id", new BsonInt32(id))
+                        .append(
+                            MOCK_INDEX_DEFINITION_GENERATION.getIndexId().toString(),
+                            new BsonDocument("_id", new BsonInt32(id))))));
+    when(client.getPostBatchResumeToken()).thenReturn(Optional.empty());
+    return client;
+  }
+}
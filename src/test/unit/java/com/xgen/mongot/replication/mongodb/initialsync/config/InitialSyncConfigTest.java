@@ -42,7 +42,8 @@ public class InitialSyncConfigTest {
           bufferlessWithCollectionScanTime(),
           bufferlessWithChangeStreamCatchupTimeout(),
           bufferlessWithChangeStreamLagTime(),
-          bufferlessWithEnableNaturalOrderScan());
+          bufferlessWithEnableNaturalOrderScan(),
+          bufferlessWithCollectionScanRanges());
     }
 
     private static BsonDeserializationTestSuite.ValidSpec<InitialSyncConfig> bufferless() {
@@ -78,6 +79,13 @@ public class InitialSyncConfigTest {
           InitialSyncConfigTest.createWithEnableNaturalOrderScan(true));
     }
 
+    private static BsonDeserializationTestSuite.ValidSpec<InitialSyncConfig>
+        bufferlessWithCollectionScanRanges() {
+      return BsonDeserializationTestSuite.TestSpec.valid(
+          "bufferless with collection scan ranges",
+          InitialSyncConfigTest.createWithNumCollectionScanRanges(4));
+    }
+
     @Test
     public void runTest() throws Exception {
       TEST_SUITE.runTest(this.testSpec);
@@ -105,7 +113,8 @@ public class InitialSyncConfigTest {
           bufferlessWithCollectionScanTimeMs(),
           bufferlessWithChangeStreamCatchupTimeoutMs(),
           bufferlessWithChangeStreamLagTimeMs(),
-          bufferlessWithEnableNaturalOrderScan());
+          bufferlessWithEnableNaturalOrderScan(),
+          bufferlessWithCollectionScanRanges());
     }
 
     private static BsonSerializationTestSuite.TestSpec<InitialSyncConfig> bufferless() {
@@ -141,6 +150,13 @@ public class InitialSyncConfigTest {
           InitialSyncConfigTest.createWithEnableNaturalOrderScan(true));
     }
 
+    private static BsonSerializationTestSuite.TestSpec<InitialSyncConfig>
+        bufferlessWithCollectionScanRanges() {
+      return BsonSerializationTestSuite.TestSpec.create(
+          "bufferless with collection scan ranges",
+          InitialSyncConfigTest.createWithNumCollectionScanRanges(4));
+    }
+
     @Test
     public void runTest() throws Exception {
       TEST_SUITE.runTest(this.testSpec);
@@ -154,7 +170,8 @@ public class InitialSyncConfigTest {
         Optional.empty(),
         Optional.empty(),
         Optional.of(false),
-        Optional.of(false));
+        Optional.of(false),
+        Optional.empty());
   }
 
   public static InitialSyncConfig createWithChangeStreamCatchupTimeout(
@@ -165,6 +182,7 @@ public class InitialSyncConfigTest {
         Optional.empty(),
         Optional.empty(),
         Optional.empty(),
+        Optional.empty(),
         Optional.empty());
   }
 
@@ -175,6 +193,7 @@ public class InitialSyncConfigTest {
         Optional.of(changeStreamLagTime),
         Optional.empty(),
         Optional.empty(),
+        Optional.empty(),
         Optional.empty());
   }
 
@@ -185,6 +204,18 @@ public class InitialSyncConfigTest {
         Optional.empty(),
         Optional.empty(),
         Optional.of(enableNaturalOrderScan),
-        Optional.of(true));
+        Optional.of(true),
+        Optional.empty());
+  }
+
+  public static InitialSyncConfig createWithNumCollectionScanRanges(int numCollectionScanRanges) {
+    return new InitialSyncConfig(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.of(numCollectionScanRanges));
   }
 }
@@ -601,7 +601,7 @@ public class DeprecatedVectorSearchCommandTest {
             Optional.empty(),
             indexDefinition.getName()))
         .thenReturn(Optional.of(indexGeneration));
-    when(initializedIndexCatalog.getIndex(indexGeneration.getGenerationId()))
+    when(initializedIndexCatalog.getIndexForQuery(indexGeneration.getGenerationId()))
         .thenReturn(Optional.of(initializedIndex));
 
     var definition =
@@ -658,7 +658,7 @@ public class DeprecatedVectorSearchCommandTest {
 
     when(catalog.getIndex(DATABASE_NAME, COLLECTION_UUID, Optional.empty(), INDEX_NAME))
         .thenReturn(Optional.of(indexGeneration));
-    when(initializedIndexCatalog.getIndex(indexGeneration.getGenerationId()))
+    when(initializedIndexCatalog.getIndexForQuery(indexGeneration.getGenerationId()))
         .thenReturn(Optional.empty());
 
     var definition =
@@ -786,6 +786,7 @@ public class DeprecatedVectorSearchCommandTest {
 
     InitializedIndexCatalog initializedIndexCatalog = mock(InitializedIndexCatalog.class);
     when(initializedIndexCatalog.getIndex(any())).thenReturn(Optional.of(index));
+    when(initializedIndexCatalog.getIndexForQuery(any())).thenReturn(Optional.of(index));
     return initializedIndexCatalog;
   }
 }
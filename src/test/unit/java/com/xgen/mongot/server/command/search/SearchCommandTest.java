@@ -37,6 +37,7 @@ import com.xgen.mongot.featureflag.dynamic.DynamicFeatureFlagRegistry;
 import com.xgen.mongot.featureflag.dynamic.DynamicFeatureFlags;
 import com.xgen.mongot.index.CountResult;
 import com.xgen.mongot.index.IndexGeneration;
+import com.xgen.mongot.index.IndexMetricValuesSupplier;
 import com.xgen.mongot.index.InitializedSearchIndex;
 import com.xgen.mongot.index.MetaResults;
 import com.xgen.mongot.index.definition.SearchIndexCapabilities;
@@ -57,6 +58,7 @@ import com.xgen.mongot.metrics.MetricsFactory;
 import com.xgen.mongot.util.Check;
 import com.xgen.mongot.util.mongodb.MongoDbServerInfo;
 import com.xgen.mongot.util.mongodb.MongoDbVersion;
+import com.xgen.testing.mongot.index.IndexMetricsUpdaterBuilder;
 import com.xgen.testing.mongot.index.definition.SearchIndexDefinitionBuilder;
 import com.xgen.testing.mongot.index.lucene.explain.information.QueryExplainInformationBuilder;
 import com.xgen.testing.mongot.index.lucene.explain.information.TermQueryBuilder;
@@ -68,13 +70,17 @@ import com.xgen.testing.mongot.server.command.search.definition.request.SearchCo
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
+import org.bson.BsonArray;
 import org.bson.BsonDocument;
 import org.bson.BsonInt32;
 import org.bson.BsonString;
@@ -874,6 +880,46 @@ public class SearchCommandTest {
     Assert.assertEquals(IO_ERROR_RESPONSE, result);
   }
 
+  @Test
+  public void testResourceUsageFailureDoesNotHideQueryError() throws Exception {
+    IndexCatalog catalog = mock(IndexCatalog.class);
+    InitializedIndexCatalog initializedIndexCatalog = mock(InitializedIndexCatalog.class);
+    InitializedSearchIndex initializedIndex = Mockito.mock(InitializedSearchIndex.class);
+    var indexGeneration = mockIndexGeneration();
+
+    when(initializedIndex.getDefinition())
+        .thenReturn(
+            SearchIndexDefinitionBuilder.builder()
+                .defaultMetadata()
+                .dynamicMapping()
+                .indexFeatureVersion(SearchIndexCapabilities.CURRENT_FEATURE_VERSION)
+                .build());
+    when(initializedIndex.getMetricsUpdater())
+        .thenThrow(new IllegalStateException("metrics unavailable"));
+    when(catalog.getIndex(DATABASE_NAME, COLLECTION_UUID, Optional.empty(), INDEX_NAME))
+        .thenReturn(Optional.of(indexGeneration));
+    when(initializedIndexCatalog.getIndexForQuery(indexGeneration.getGenerationId()))
+        .thenReturn(Optional.of(initializedIndex));
+
+    SearchCommand command =
+        new SearchCommand(
+            new SearchCommand.Metrics(mockMetricsFactory()),
+            getThrowableCursorManager(() -> new IOException("IO error")),
+            catalog,
+            initializedIndexCatalog,
+            SearchCommandDefinitionBuilder.builder()
+                .db(DATABASE_NAME)
+                .collectionName(COLLECTION_NAME)
+                .collectionUuid(COLLECTION_UUID)
+                .query(VALID_OPERATOR_QUERY)
+                .build(),
+            BOOTSTRAPPER_METADATA,
+            CursorConfig.DEFAULT_BSON_SIZE_SOFT_LIMIT);
+
+    BsonDocument result = command.run();
+    Assert.assertEquals(IO_ERROR_RESPONSE, result);
+  }
+
   // Test to prove that a RunTimeException that is wrapping an InvalidQueryException results in
   // the system treating it as an invalid query (user error) and not an internal failure
   // (system failure).
@@ -1140,9 +1186,15 @@ public class SearchCommandTest {
     var indexGeneration = mockIndexGeneration();
 
     when(initializedIndex.getDefinition()).thenReturn(indexDefinition);
+    when(initializedIndex.getMetricsUpdater())
+        .thenReturn(
+            IndexMetricsUpdaterBuilder.builder()
+                .metricsFactory(SearchIndex.mockMetricsFactory())
+                .indexMetricsSupplier(Mockito.mock(IndexMetricValuesSupplier.class))
+                .build());
     when(catalog.getIndex(DATABASE_NAME, COLLECTION_UUID, Optional.empty(), INDEX_NAME))
         .thenReturn(Optional.of(indexGeneration));
-    when(initializedIndexCatalog.getIndex(indexGeneration.getGenerationId()))
+    when(initializedIndexCatalog.getIndexForQuery(indexGeneration.getGenerationId()))
         .thenReturn(Optional.of(initializedIndex));
 
     SearchCommand command =
@@ -1398,7 +1450,7 @@ public class SearchCommandTest {
 
     when(catalog.getIndex(DATABASE_NAME, COLLECTION_UUID, Optional.empty(), INDEX_NAME))
         .thenReturn(Optional.of(indexGeneration));
-    when(initializedIndexCatalog.getIndex(indexGeneration.getGenerationId()))
+    when(initializedIndexCatalog.getIndexForQuery(indexGeneration.getGenerationId()))
         .thenReturn(Optional.empty());
 
     SearchCommand command =
@@ -1426,6 +1478,56 @@ public class SearchCommandTest {
     verify(mockSearchIndex).throwIfUnavailableForQuerying();
   }
 
+  @Test
+  public void testUnloadedIndexReturnsRetryableErrorResponse() throws Exception {
+    IndexCatalog catalog = mock(IndexCatalog.class);
+    InitializedIndexCatalog initializedIndexCatalog =
+        new InitializedIndexCatalog(Clock.systemUTC(), Duration.ofMillis(50));
+
+    var searchIndexDefinition = SearchIndex.mockSearchDefinition(new ObjectId());
+    var definitionGeneration = mockDefinitionGeneration(searchIndexDefinition);
+    com.xgen.mongot.index.SearchIndex mockSearchIndex = SearchIndex.mockIndex(definitionGeneration);
+    mockSearchIndex.setStatus(IndexStatus.steady());
+    var indexGeneration = new IndexGeneration(mockSearchIndex, definitionGeneration);
+    when(catalog.getIndex(DATABASE_NAME, COLLECTION_UUID, Optional.empty(), INDEX_NAME))
+        .thenReturn(Optional.of(indexGeneration));
+
+    // The index was unloaded while idle, and reopening it takes longer than the query waits.
+    AtomicInteger reopened = new AtomicInteger();
+    CompletableFuture<Void> reopen = new CompletableFuture<>();
+    initializedIndexCatalog.markUnloaded(
+        indexGeneration.getGenerationId(),
+        () -> {
+          reopened.incrementAndGet();
+          return reopen;
+        });
+
+    SearchCommand command =
+        new SearchCommand(
+            new SearchCommand.Metrics(mockMetricsFactory()),
+            getCursorManager(),
+            catalog,
+            initializedIndexCatalog,
+            SearchCommandDefinitionBuilder.builder()
+                .db(DATABASE_NAME)
+                .collectionName(COLLECTION_NAME)
+                .collectionUuid(COLLECTION_UUID)
+                .query(VALID_OPERATOR_QUERY)
+                .build(),
+            BOOTSTRAPPER_METADATA,
+            CursorConfig.DEFAULT_BSON_SIZE_SOFT_LIMIT);
+
+    BsonDocument result = command.run();
+    Assert.assertEquals(0, result.getInt32("ok").getValue());
+    Assert.assertEquals(
+        String.format("Index %s is being reloaded, retry the query", INDEX_NAME),
+        result.getString("errmsg").getValue());
+    Assert.assertEquals(
+        new BsonArray(List.of(new BsonString("RetryableError"))), result.getArray("errorLabels"));
+    Assert.assertTrue(reopened.get() > 0);
+    Assert.assertTrue(initializedIndexCatalog.isUnloaded(indexGeneration.getGenerationId()));
+  }
+
   private static MongotCursorManager getCursorManager() throws Exception {
     return getCursorManager((timer) -> {});
   }
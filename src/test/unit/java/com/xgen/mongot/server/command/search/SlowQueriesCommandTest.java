@@ -0,0 +1,87 @@
+package com.xgen.mongot.server.command.search;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.xgen.testing.mongot.mock.index.SearchIndex.MOCK_INDEX_DEFINITION;
+import static com.xgen.testing.mongot.mock.index.SearchIndex.MOCK_INDEX_NAME;
+
+import com.xgen.mongot.index.QueryResourceUsage;
+import com.xgen.mongot.index.SlowQueryLog;
+import com.xgen.mongot.index.query.Query;
+import com.xgen.mongot.index.query.operators.Operator;
+import com.xgen.mongot.server.command.Command;
+import com.xgen.testing.mongot.index.query.OperatorQueryBuilder;
+import com.xgen.testing.mongot.index.query.operators.OperatorBuilder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.junit.Test;
+
+public class SlowQueriesCommandTest {
+
+  private static final QueryResourceUsage.Snapshot USAGE =
+      new QueryResourceUsage.Snapshot(1_000, 2_000, 30, 4, 500);
+
+  @Test
+  public void testListsSlowQueriesNewestFirst() {
+    SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(100));
+    slowQueryLog.record(
+        MOCK_INDEX_DEFINITION,
+        query(OperatorBuilder.exists().path("title").build()),
+        millis(150),
+        USAGE);
+    slowQueryLog.record(
+        MOCK_INDEX_DEFINITION,
+        query(OperatorBuilder.text().path("title").query("godfather").build()),
+        millis(200),
+        USAGE);
+
+    Command command = new SlowQueriesCommand.Factory(slowQueryLog).create(new BsonDocument());
+    BsonDocument result = command.run();
+
+    assertThat(command.name()).isEqualTo(SlowQueriesCommand.NAME);
+    assertThat(result.getInt32("ok").getValue()).isEqualTo(1);
+    assertThat(result.getInt64("thresholdMillis").getValue()).isEqualTo(100);
+    BsonArray queries = result.getArray("queries");
+    assertThat(queries).hasSize(2);
+    assertThat(queries.get(0).asDocument().getString("shape").getValue())
+        .isEqualTo("$search text");
+    assertThat(queries.get(1).asDocument().getString("shape").getValue())
+        .isEqualTo("$search exists");
+    assertThat(
+            queries
+                .get(0)
+                .asDocument()
+                .getDocument("resourceUsage")
+                .getInt64("storedBytes")
+                .getValue())
+        .isEqualTo(500);
+  }
+
+  @Test
+  public void testListsNoQueriesBelowThreshold() {
+    SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(100));
+    slowQueryLog.record(
+        MOCK_INDEX_DEFINITION,
+        query(OperatorBuilder.exists().path("title").build()),
+        millis(50),
+        USAGE);
+
+    BsonDocument result =
+        new SlowQueriesCommand.Factory(slowQueryLog).create(new BsonDocument()).run();
+
+    assertThat(result.getArray("queries")).isEmpty();
+  }
+
+  private static Query query(Operator operator) {
+    return OperatorQueryBuilder.builder()
+        .operator(operator)
+        .index(MOCK_INDEX_NAME)
+        .returnStoredSource(false)
+        .build();
+  }
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
@@ -998,7 +998,7 @@ public class VectorSearchCommandAutoEmbedTest {
     // Override catalog stubs
     when(mocks.catalog.getIndex(DATABASE_NAME, COLLECTION_UUID, Optional.empty(), INDEX_NAME))
         .thenReturn(Optional.of(autoEmbeddingIndexGeneration));
-    when(mocks.initializedIndexCatalog.getIndex(matViewGenId))
+    when(mocks.initializedIndexCatalog.getIndexForQuery(matViewGenId))
         .thenReturn(Optional.of(matViewIndex));
   }
 
@@ -1172,7 +1172,7 @@ public class VectorSearchCommandAutoEmbedTest {
               DATABASE_NAME, COLLECTION_UUID, Optional.empty(), MAT_VIEW_INDEX_NAME))
           .thenReturn(Optional.of(indexGeneration2));
 
-      when(this.initializedIndexCatalog.getIndex(MOCK_INDEX_GENERATION_ID))
+      when(this.initializedIndexCatalog.getIndexForQuery(MOCK_INDEX_GENERATION_ID))
           .thenReturn(Optional.of(initializedIndex));
       this.reader = Mockito.mock(LuceneVectorIndexReader.class);
       when(initializedIndex.getReader()).thenReturn(this.reader);
@@ -828,7 +828,7 @@ public class VectorSearchCommandIndexSizeMetricsTest {
       when(this.catalog.getIndex(DATABASE_NAME, COLLECTION_UUID, Optional.empty(), INDEX_NAME))
           .thenReturn(Optional.of(this.indexGeneration));
 
-      when(this.initializedIndexCatalog.getIndex(MOCK_INDEX_GENERATION_ID))
+      when(this.initializedIndexCatalog.getIndexForQuery(MOCK_INDEX_GENERATION_ID))
           .thenReturn(Optional.of(this.initializedIndex));
 
       this.reader = Mockito.mock(LuceneVectorIndexReader.class);
@@ -454,7 +454,7 @@ public class VectorSearchCommandTest {
 
     when(catalog.getIndex(DATABASE_NAME, COLLECTION_UUID, Optional.empty(), INDEX_NAME))
         .thenReturn(Optional.of(indexGeneration));
-    when(initializedIndexCatalog.getIndex(indexGeneration.getGenerationId()))
+    when(initializedIndexCatalog.getIndexForQuery(indexGeneration.getGenerationId()))
         .thenReturn(Optional.empty());
 
     var mocks = new Mocks();
@@ -731,6 +731,8 @@ public class VectorSearchCommandTest {
         Optional.empty(),
         Optional.empty(),
         Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
         Optional.empty());
   }
 
@@ -1871,7 +1873,7 @@ public class VectorSearchCommandTest {
       when(this.catalog.getIndex(DATABASE_NAME, COLLECTION_UUID, Optional.empty(), INDEX_NAME))
           .thenReturn(Optional.of(indexGeneration1));
 
-      when(this.initializedIndexCatalog.getIndex(MOCK_INDEX_GENERATION_ID))
+      when(this.initializedIndexCatalog.getIndexForQuery(MOCK_INDEX_GENERATION_ID))
           .thenReturn(Optional.of(initializedIndex));
       this.reader = Mockito.mock(LuceneVectorIndexReader.class);
       when(initializedIndex.getReader()).thenReturn(this.reader);
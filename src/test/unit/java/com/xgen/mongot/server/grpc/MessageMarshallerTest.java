@@ -2,9 +2,12 @@ package com.xgen.mongot.server.grpc;
 
 import static org.junit.Assert.assertThrows;
 
+import com.xgen.mongot.server.message.CompressedMessage;
+import com.xgen.mongot.server.message.MessageCompressor;
 import com.xgen.mongot.server.message.MessageMessage;
 import com.xgen.mongot.server.message.OpCode;
 import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import java.io.ByteArrayInputStream;
@@ -13,8 +16,10 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Optional;
 import org.bson.BsonBoolean;
 import org.bson.BsonDocument;
+import org.bson.BsonString;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -41,6 +46,47 @@ public class MessageMarshallerTest {
     }
   }
 
+  @Test
+  public void testCompressedRequestGetsCompressedReply() throws IOException {
+    ByteBuf request =
+        MessageMessage.forResponse(233, 0, new ArrayList<>())
+            .getOutboundMessage(new BsonDocument().append("search", BsonBoolean.TRUE))
+            .toByteBuf(ByteBufAllocator.DEFAULT);
+    ByteBuf compressed =
+        CompressedMessage.compress(request, MessageCompressor.SNAPPY, ByteBufAllocator.DEFAULT);
+    byte[] compressedBytes = new byte[compressed.readableBytes()];
+    compressed.readBytes(compressedBytes);
+    request.release();
+    compressed.release();
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    MessageMarshaller messageMarshaller =
+        new MessageMarshaller(
+            new MessageCompressionMetrics(meterRegistry),
+            MessageMarshaller.DEFAULT_MAX_MESSAGE_SIZE_BYTES);
+    MessageMessage message = messageMarshaller.parse(new ByteArrayInputStream(compressedBytes));
+    Assert.assertEquals(Optional.of(MessageCompressor.SNAPPY), message.compressor());
+    Assert.assertEquals(
+        compressedBytes.length,
+        meterRegistry
+            .get("messageCompression.compressedBytesReceived")
+            .tag("compressor", "snappy")
+            .counter()
+            .count(),
+        0.0);
+
+    // Small replies are not worth compressing.
+    MessageMessage smallReply =
+        (MessageMessage) message.getOutboundMessage(new BsonDocument("ok", BsonBoolean.TRUE));
+    Assert.assertEquals(OpCode.MSG.code, readOpCode(messageMarshaller.stream(smallReply)));
+
+    BsonString largeValue =
+        new BsonString("x".repeat(MessageMarshaller.COMPRESSION_THRESHOLD_BYTES));
+    MessageMessage largeReply =
+        (MessageMessage) message.getOutboundMessage(new BsonDocument("docs", largeValue));
+    Assert.assertEquals(OpCode.COMPRESSED.code, readOpCode(messageMarshaller.stream(largeReply)));
+  }
+
   @Test
   public void testNotEnoughBytes() {
     var buffer = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
@@ -68,6 +114,33 @@ public class MessageMarshallerTest {
         () -> messageMarshaller.parse(new ByteArrayInputStream(msgBytes)));
   }
 
+  @Test
+  public void testCompressedMessageOverSizeLimitIsRejected() throws Exception {
+    // The header claims 1 GiB of uncompressed data, in a frame of a few bytes.
+    var buffer = ByteBuffer.allocate(26).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(26);
+    buffer.putInt(0xCAFE);
+    buffer.putInt(0);
+    buffer.putInt(OpCode.COMPRESSED.code);
+    buffer.putInt(OpCode.MSG.code);
+    buffer.putInt(1 << 30);
+    buffer.put((byte) MessageCompressor.SNAPPY.id);
+    buffer.put((byte) 0);
+    MessageMarshaller messageMarshaller =
+        new MessageMarshaller(new MessageCompressionMetrics(new SimpleMeterRegistry()), 1024);
+    StatusRuntimeException exception =
+        assertThrows(
+            StatusRuntimeException.class,
+            () -> messageMarshaller.parse(new ByteArrayInputStream(buffer.array())));
+    Assert.assertTrue(exception.getCause() instanceof IllegalArgumentException);
+  }
+
+  private static int readOpCode(InputStream stream) throws IOException {
+    try (stream) {
+      return ByteBuffer.wrap(stream.readAllBytes()).order(ByteOrder.LITTLE_ENDIAN).getInt(12);
+    }
+  }
+
   @Test
   public void testInvalidOpCode() {
     var buffer = getBytesForExampleOpMsg();
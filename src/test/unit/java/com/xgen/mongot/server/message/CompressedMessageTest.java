@@ -0,0 +1,162 @@
+package com.xgen.mongot.server.message;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+@RunWith(Theories.class)
+public class CompressedMessageTest {
+
+  private static final int MAX_MESSAGE_SIZE_BYTES = 48_000_000;
+
+  @DataPoints
+  public static MessageCompressor[] compressors() {
+    return MessageCompressor.values();
+  }
+
+  @Theory
+  public void testRoundTrip(MessageCompressor compressor) throws IOException {
+    MessageMessage message = createMessage();
+    ByteBuf encoded = message.toByteBuf(ByteBufAllocator.DEFAULT);
+    ByteBuf compressed = CompressedMessage.compress(encoded, compressor, ByteBufAllocator.DEFAULT);
+    try {
+      MessageHeader header = readHeader(compressed);
+      assertThat(header.opCode()).isEqualTo(OpCode.COMPRESSED);
+      assertThat(header.messageLength()).isEqualTo(compressed.readableBytes() + 16);
+      assertThat(header.responseTo()).isEqualTo(message.messageHeader().responseTo());
+
+      CompressedMessage.Decompressed decompressed =
+          CompressedMessage.decompress(
+              header, compressed, ByteBufAllocator.DEFAULT, MAX_MESSAGE_SIZE_BYTES);
+      try {
+        assertThat(decompressed.compressor()).isEqualTo(compressor);
+        assertThat(decompressed.header().opCode()).isEqualTo(OpCode.MSG);
+        assertThat(decompressed.header().messageLength()).isEqualTo(encoded.readableBytes());
+        assertThat(decompressed.body())
+            .isEqualTo(encoded.slice(16, encoded.readableBytes() - 16));
+      } finally {
+        decompressed.body().release();
+      }
+    } finally {
+      encoded.release();
+      compressed.release();
+    }
+  }
+
+  @Theory
+  public void testCompressesHeapBuffers(MessageCompressor compressor) throws IOException {
+    ByteBuf direct = createMessage().toByteBuf(ByteBufAllocator.DEFAULT);
+    ByteBuf heap = Unpooled.copiedBuffer(direct);
+    ByteBuf fromDirect = CompressedMessage.compress(direct, compressor, ByteBufAllocator.DEFAULT);
+    ByteBuf fromHeap = CompressedMessage.compress(heap, compressor, ByteBufAllocator.DEFAULT);
+    try {
+      assertThat(fromHeap).isEqualTo(fromDirect);
+    } finally {
+      direct.release();
+      heap.release();
+      fromDirect.release();
+      fromHeap.release();
+    }
+  }
+
+  @Test
+  public void testWrongUncompressedSizeIsRejected() throws IOException {
+    ByteBuf encoded = createMessage().toByteBuf(ByteBufAllocator.DEFAULT);
+    ByteBuf compressed =
+        CompressedMessage.compress(encoded, MessageCompressor.ZSTD, ByteBufAllocator.DEFAULT);
+    try {
+      MessageHeader header = readHeader(compressed);
+      compressed.setIntLE(compressed.readerIndex() + 4, encoded.readableBytes());
+      assertThrows(
+          IOException.class,
+          () ->
+              CompressedMessage.decompress(
+                  header, compressed, ByteBufAllocator.DEFAULT, MAX_MESSAGE_SIZE_BYTES));
+    } finally {
+      encoded.release();
+      compressed.release();
+    }
+  }
+
+  @Test
+  public void testUncompressedSizeOverLimitIsRejected() throws IOException {
+    ByteBuf encoded = createMessage().toByteBuf(ByteBufAllocator.DEFAULT);
+    ByteBuf compressed =
+        CompressedMessage.compress(encoded, MessageCompressor.ZSTD, ByteBufAllocator.DEFAULT);
+    try {
+      MessageHeader header = readHeader(compressed);
+      // A buffer of this size would not be allocated, so the size must be checked up front.
+      compressed.setIntLE(compressed.readerIndex() + 4, Integer.MAX_VALUE);
+      assertThrows(
+          IllegalArgumentException.class,
+          () ->
+              CompressedMessage.decompress(
+                  header,
+                  compressed.duplicate(),
+                  ByteBufAllocator.DEFAULT,
+                  MAX_MESSAGE_SIZE_BYTES));
+
+      // The limit includes the header of the wrapped message.
+      compressed.setIntLE(compressed.readerIndex() + 4, encoded.readableBytes() - 16);
+      assertThrows(
+          IllegalArgumentException.class,
+          () ->
+              CompressedMessage.decompress(
+                  header,
+                  compressed.duplicate(),
+                  ByteBufAllocator.DEFAULT,
+                  encoded.readableBytes() - 1));
+    } finally {
+      encoded.release();
+      compressed.release();
+    }
+  }
+
+  @Test
+  public void testNegotiateKeepsSupportedCompressorsInClientOrder() {
+    BsonDocument hello =
+        new BsonDocument("hello", new BsonString("1"))
+            .append(
+                "compression",
+                new BsonArray(
+                    List.of(
+                        new BsonString("zstd"),
+                        new BsonString("lz4"),
+                        new BsonString("snappy"),
+                        new BsonString("zstd"))));
+
+    assertThat(MessageCompressor.negotiate(hello))
+        .containsExactly(MessageCompressor.ZSTD, MessageCompressor.SNAPPY)
+        .inOrder();
+    assertThat(MessageCompressor.negotiate(new BsonDocument())).isEmpty();
+  }
+
+  private static MessageMessage createMessage() {
+    // Repetitive enough for every compressor to shrink it.
+    BsonDocument body = new BsonDocument("search", new BsonString("x".repeat(10_000)));
+    return (MessageMessage)
+        MessageMessage.forResponse(7, 0, List.of(), Optional.empty()).getOutboundMessage(body);
+  }
+
+  /** Reads the header of an encoded message, leaving the buffer positioned after it. */
+  private static MessageHeader readHeader(ByteBuf buf) {
+    int length = buf.readIntLE();
+    int requestId = buf.readIntLE();
+    int responseTo = buf.readIntLE();
+    return new MessageHeader(length, requestId, responseTo, OpCode.fromCode(buf.readIntLE()));
+  }
+}
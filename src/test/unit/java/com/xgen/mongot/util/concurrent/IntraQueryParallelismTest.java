@@ -0,0 +1,80 @@
+package com.xgen.mongot.util.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.OptionalInt;
+import org.junit.Test;
+
+public class IntraQueryParallelismTest {
+
+  @Test
+  public void testSmallWorkRunsSerially() {
+    var parallelism = new IntraQueryParallelism(executor(0, 8, 0), 100);
+
+    assertEquals(1, parallelism.tasksFor(0));
+    assertEquals(1, parallelism.tasksFor(199));
+  }
+
+  @Test
+  public void testWorkIsSplitAcrossIdleThreads() {
+    var parallelism = new IntraQueryParallelism(executor(0, 8, 0), 100);
+
+    assertEquals(3, parallelism.tasksFor(300));
+    assertEquals(9, parallelism.tasksFor(10_000));
+  }
+
+  @Test
+  public void testBusyExecutorLimitsTasks() {
+    var parallelism = new IntraQueryParallelism(executor(6, 8, 0), 100);
+
+    assertEquals(3, parallelism.tasksFor(10_000));
+  }
+
+  @Test
+  public void testContendedExecutorRunsSerially() {
+    assertEquals(1, new IntraQueryParallelism(executor(8, 8, 0), 100).tasksFor(10_000));
+    assertEquals(1, new IntraQueryParallelism(executor(2, 8, 1), 100).tasksFor(10_000));
+  }
+
+  @Test
+  public void testUnknownLoadUsesDefaultParallelism() {
+    var executor = mock(NamedExecutorService.class);
+    when(executor.getActiveCount()).thenReturn(OptionalInt.empty());
+    when(executor.getMaxPoolSize()).thenReturn(OptionalInt.empty());
+    when(executor.getQueueSize()).thenReturn(OptionalInt.empty());
+
+    assertEquals(4, new IntraQueryParallelism(executor, 100, 4).tasksFor(10_000));
+  }
+
+  @Test
+  public void testSlicesBalanceWeight() {
+    List<Integer> items = List.of(5, 1, 1, 1, 1, 1, 5);
+
+    assertEquals(
+        List.of(List.of(5), List.of(1, 1, 1, 1, 1), List.of(5)),
+        IntraQueryParallelism.slices(items, Integer::longValue, 3));
+    assertEquals(List.of(items), IntraQueryParallelism.slices(items, Integer::longValue, 1));
+    assertEquals(List.of(), IntraQueryParallelism.slices(List.<Integer>of(), Integer::longValue, 3));
+  }
+
+  @Test
+  public void testSlicesNeverExceedRequestedCount() {
+    List<Integer> items = List.of(1, 1, 1, 1, 1, 1, 1, 1, 1, 1);
+
+    List<List<Integer>> slices = IntraQueryParallelism.slices(items, Integer::longValue, 4);
+
+    assertEquals(4, slices.size());
+    assertEquals(items, slices.stream().flatMap(List::stream).toList());
+  }
+
+  private static NamedExecutorService executor(int active, int maxPoolSize, int queued) {
+    var executor = mock(NamedExecutorService.class);
+    when(executor.getActiveCount()).thenReturn(OptionalInt.of(active));
+    when(executor.getMaxPoolSize()).thenReturn(OptionalInt.of(maxPoolSize));
+    when(executor.getQueueSize()).thenReturn(OptionalInt.of(queued));
+    return executor;
+  }
+}